@@ -0,0 +1,235 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.misc;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.managers.encryption.GridEncryptionManager;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageReadWriteManager;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.logger.java.JavaLogger;
+import org.apache.ignite.spi.encryption.noop.NoopEncryptionSpi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Benchmarks {@link PageMemoryImpl#acquirePage(int, long)} and {@link PageMemoryImpl#releasePage(int, long, long)}
+ * of loaded pages with optimistic (lock-free) page table lookup, which is enabled by default, and without it.
+ * Most of the acquired pages are not pinned by other threads, as in a typical workload.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(64)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 3)
+public class JmhPageMemoryAcquireBenchmark {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Segment size. */
+    private static final long SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    /** Segments count. */
+    private static final int SEGMENTS_CNT = 4;
+
+    /** Cache group ID. */
+    private static final int GRP_ID = 1;
+
+    /** Pages count. */
+    private static final int PAGES_CNT = 10_000;
+
+    /** Optimistic lookup flag, {@code true} is the default configuration. */
+    @Param({"true", "false"})
+    private boolean optimistic;
+
+    /** Page memory. */
+    private PageMemoryImpl pageMem;
+
+    /** Allocated page IDs. */
+    private long[] pageIds;
+
+    /**
+     * Setup.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        System.setProperty(IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP, String.valueOf(optimistic));
+
+        try {
+            pageMem = createPageMemory();
+        }
+        finally {
+            System.clearProperty(IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP);
+        }
+
+        pageMem.start();
+
+        pageIds = new long[PAGES_CNT];
+
+        for (int i = 0; i < PAGES_CNT; i++)
+            pageIds[i] = pageMem.allocatePage(GRP_ID, i % 64, PageIdAllocator.FLAG_DATA);
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pageMem.stop(true);
+    }
+
+    /**
+     * Benchmark acquire and release of a random loaded page.
+     */
+    @Benchmark
+    public long acquireRelease() throws Exception {
+        long pageId = pageIds[ThreadLocalRandom.current().nextInt(PAGES_CNT)];
+
+        long page = pageMem.acquirePage(GRP_ID, pageId);
+
+        pageMem.releasePage(GRP_ID, pageId, page);
+
+        return page;
+    }
+
+    /**
+     * @return Page memory over mocked shared context.
+     */
+    private static PageMemoryImpl createPageMemory() {
+        IgniteConfiguration cfg = new IgniteConfiguration()
+            .setDataStorageConfiguration(new DataStorageConfiguration())
+            .setEncryptionSpi(new NoopEncryptionSpi());
+
+        GridKernalContext kctx = mock(GridKernalContext.class);
+
+        when(kctx.config()).thenReturn(cfg);
+        when(kctx.encryption()).thenReturn(mock(GridEncryptionManager.class));
+
+        GridCacheSharedContext<?, ?> sctx = mock(GridCacheSharedContext.class);
+
+        when(sctx.kernalContext()).thenReturn(kctx);
+        when(sctx.gridConfig()).thenReturn(cfg);
+        when(sctx.logger(any(Class.class))).thenReturn(new JavaLogger());
+        when(sctx.wal()).thenReturn(mock(IgniteWriteAheadLogManager.class));
+
+        DataRegionMetricsImpl metrics = mock(DataRegionMetricsImpl.class, withSettings().stubOnly());
+        PageMetrics pageMetrics = mock(PageMetrics.class, withSettings().stubOnly());
+        LongAdderMetric noOpMetric = new LongAdderMetric("foobar", null);
+
+        when(metrics.getName()).thenReturn(DataStorageConfiguration.DFLT_DATA_REG_DEFAULT_NAME);
+        when(metrics.cacheGrpPageMetrics(anyInt())).thenReturn(pageMetrics);
+
+        when(pageMetrics.totalPages()).thenReturn(noOpMetric);
+        when(pageMetrics.indexPages()).thenReturn(noOpMetric);
+        when(pageMetrics.pageHits()).thenReturn(noOpMetric);
+        when(pageMetrics.pageMisses()).thenReturn(noOpMetric);
+
+        long[] sizes = new long[SEGMENTS_CNT + 1];
+
+        for (int i = 0; i < sizes.length; i++)
+            sizes[i] = SEGMENT_SIZE;
+
+        return new PageMemoryImpl(
+            new UnsafeMemoryProvider(new JavaLogger()),
+            sizes,
+            sctx,
+            new InMemoryPageReadWriteManager(),
+            PAGE_SIZE,
+            (fullPageId, buf, tag) -> {
+                throw new AssertionError("No page replacement should happen during the benchmark.");
+            },
+            null,
+            () -> true,
+            metrics,
+            PageMemoryImpl.ThrottlingPolicy.DISABLED,
+            null
+        );
+    }
+
+    /**
+     * Page manager which only allocates page IDs.
+     */
+    private static class InMemoryPageReadWriteManager implements PageReadWriteManager {
+        /** Page index. */
+        private int idx = 1;
+
+        /** {@inheritDoc} */
+        @Override public void read(int grpId, long pageId, ByteBuffer pageBuf, boolean keepCrc) {
+            throw new AssertionError("All pages should be loaded.");
+        }
+
+        /** {@inheritDoc} */
+        @Override public PageStore write(int grpId, long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) {
+            throw new AssertionError("Pages should not be written.");
+        }
+
+        /** {@inheritDoc} */
+        @Override public long allocatePage(int grpId, int partId, byte flags) {
+            return PageIdUtils.pageId(partId, flags, idx++);
+        }
+    }
+
+    /**
+     *
+     * @param args Args.
+     * @throws Exception Exception.
+     */
+    public static void main(String[] args) throws Exception {
+        final Options options = new OptionsBuilder()
+            .include(JmhPageMemoryAcquireBenchmark.class.getSimpleName())
+            .build();
+
+        new Runner(options).run();
+    }
+}
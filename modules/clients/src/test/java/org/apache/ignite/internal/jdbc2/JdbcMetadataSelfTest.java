@@ -328,6 +328,8 @@ public class JdbcMetadataSelfTest extends GridCommonAbstractTest {
             "LOCAL_CACHE_GROUPS_IO",
             "SQL_QUERIES_HISTORY",
             "SQL_QUERIES",
+            "SQL_PARSER_CACHE",
+            "SQL_PLAN_CACHE",
             "SCAN_QUERIES",
             "NODES",
             "NODE_ATTRIBUTES",
@@ -423,6 +423,8 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 sysSchemaName() + ".INDEXES",
                 sysSchemaName() + ".LOCAL_CACHE_GROUPS_IO",
                 sysSchemaName() + ".SQL_QUERIES",
+                sysSchemaName() + ".SQL_PARSER_CACHE",
+                sysSchemaName() + ".SQL_PLAN_CACHE",
                 sysSchemaName() + ".SCAN_QUERIES",
                 sysSchemaName() + ".NODE_ATTRIBUTES",
                 sysSchemaName() + ".TABLES",
@@ -773,6 +775,19 @@ public class JdbcThinMetadataSelfTest extends JdbcThinAbstractSelfTest {
                 sysSchemaName() + ".SQL_QUERIES.DISK_ALLOCATION_MAX.null.19",
                 sysSchemaName() + ".SQL_QUERIES.DISK_ALLOCATION_TOTAL.null.19",
                 sysSchemaName() + ".SQL_QUERIES.INITIATOR_ID.null.2147483647",
+                sysSchemaName() + ".SQL_PARSER_CACHE.SCHEMA_NAME.null.2147483647",
+                sysSchemaName() + ".SQL_PARSER_CACHE.SQL.null.2147483647",
+                sysSchemaName() + ".SQL_PARSER_CACHE.TYPE.null.2147483647",
+                sysSchemaName() + ".SQL_PARSER_CACHE.HITS.null.19",
+                sysSchemaName() + ".SQL_PARSER_CACHE.COLLOCATED.null.1",
+                sysSchemaName() + ".SQL_PARSER_CACHE.DISTRIBUTED_JOINS.null.1",
+                sysSchemaName() + ".SQL_PARSER_CACHE.ENFORCE_JOIN_ORDER.null.1",
+                sysSchemaName() + ".SQL_PARSER_CACHE.LOCAL.null.1",
+                sysSchemaName() + ".SQL_PLAN_CACHE.SCHEMA_NAME.null.2147483647",
+                sysSchemaName() + ".SQL_PLAN_CACHE.SQL.null.2147483647",
+                sysSchemaName() + ".SQL_PLAN_CACHE.SELECTIVITY.null.2147483647",
+                sysSchemaName() + ".SQL_PLAN_CACHE.PLAN.null.2147483647",
+                sysSchemaName() + ".SQL_PLAN_CACHE.HITS.null.19",
                 sysSchemaName() + ".SCAN_QUERIES.START_TIME.null.19",
                 sysSchemaName() + ".SCAN_QUERIES.TRANSFORMER.null.2147483647",
                 sysSchemaName() + ".SCAN_QUERIES.LOCAL.null.1",
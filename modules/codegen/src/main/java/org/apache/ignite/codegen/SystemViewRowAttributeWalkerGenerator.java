@@ -50,6 +50,8 @@ import org.apache.ignite.spi.systemview.view.PagesListView;
 import org.apache.ignite.spi.systemview.view.ScanQueryView;
 import org.apache.ignite.spi.systemview.view.ServiceView;
 import org.apache.ignite.spi.systemview.view.SqlIndexView;
+import org.apache.ignite.spi.systemview.view.SqlParserCacheView;
+import org.apache.ignite.spi.systemview.view.SqlPlanCacheView;
 import org.apache.ignite.spi.systemview.view.SqlQueryHistoryView;
 import org.apache.ignite.spi.systemview.view.SqlQueryView;
 import org.apache.ignite.spi.systemview.view.SqlSchemaView;
@@ -129,6 +131,8 @@ public class SystemViewRowAttributeWalkerGenerator {
         gen.generateAndWrite(SqlIndexView.class, INDEXING_SRC_DIR);
         gen.generateAndWrite(SqlTableColumnView.class, INDEXING_SRC_DIR);
         gen.generateAndWrite(SqlViewColumnView.class, INDEXING_SRC_DIR);
+        gen.generateAndWrite(SqlParserCacheView.class, INDEXING_SRC_DIR);
+        gen.generateAndWrite(SqlPlanCacheView.class, INDEXING_SRC_DIR);
 
         gen.generateAndWrite(StatisticsColumnConfigurationView.class, INDEXING_SRC_DIR);
         gen.generateAndWrite(StatisticsColumnLocalDataView.class, INDEXING_SRC_DIR);
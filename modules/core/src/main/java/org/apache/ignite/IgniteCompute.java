@@ -17,6 +17,7 @@
 package org.apache.ignite;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import org.apache.ignite.cluster.ClusterGroup;
 import org.apache.ignite.compute.ComputeTask;
@@ -28,6 +29,7 @@ import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.lang.IgniteAsyncSupport;
 import org.apache.ignite.lang.IgniteCallable;
 import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.lang.IgniteExperimental;
 import org.apache.ignite.lang.IgniteFuture;
 import org.apache.ignite.lang.IgniteReducer;
 import org.apache.ignite.lang.IgniteRunnable;
@@ -309,6 +311,46 @@ public interface IgniteCompute extends IgniteAsyncSupport {
     public <R> IgniteFuture<R> affinityCallAsync(Collection<String> cacheNames, int partId,
         IgniteCallable<R> job) throws IgniteException;
 
+    /**
+     * Executes given closure for every partition of the cache on the node where the partition is primary and
+     * returns results as they are ready.
+     * <p>
+     * Partitions primary on the same node are processed by a single job, so the amount of jobs doesn't depend on
+     * the amount of partitions. The job reserves partitions of all participating caches the same way as
+     * {@link #affinityCall(Collection, int, IgniteCallable)} does and runs the closure for different partitions
+     * in parallel. Partitions moved to other nodes before they were processed are transparently re-executed on
+     * their new primary nodes.
+     * <p>
+     * Results are returned in order of completion. Not more than {@code 1024} results are buffered locally,
+     * new partitions are not processed until buffered results are consumed. Methods of the returned iterator
+     * block until the next result is ready and throw {@link IgniteException} if the closure failed for
+     * any partition.
+     *
+     * @param cacheNames Names of the caches to reserve partitions. The first cache is used for affinity co-location.
+     * @param job Closure accepting partition number.
+     * @return Iterator over results.
+     * @throws NullPointerException if {@code cacheNames} is {@code null}.
+     * @throws IgniteException If failed.
+     */
+    @IgniteExperimental
+    public <R> Iterator<R> mapPartitions(Collection<String> cacheNames, IgniteClosure<Integer, R> job)
+        throws IgniteException;
+
+    /**
+     * Executes given closure for every partition of the cache on the node where the partition is primary and
+     * returns results as they are ready. See {@link #mapPartitions(Collection, IgniteClosure)} for details.
+     *
+     * @param cacheNames Names of the caches to reserve partitions. The first cache is used for affinity co-location.
+     * @param job Closure accepting partition number.
+     * @param bufSize Maximum amount of results buffered locally including results of partitions in progress.
+     * @return Iterator over results.
+     * @throws NullPointerException if {@code cacheNames} is {@code null}.
+     * @throws IgniteException If failed.
+     */
+    @IgniteExperimental
+    public <R> Iterator<R> mapPartitions(Collection<String> cacheNames, IgniteClosure<Integer, R> job, int bufSize)
+        throws IgniteException;
+
     /**
      * Executes given task on within the cluster group. For step-by-step explanation of task execution process
      * refer to {@link ComputeTask} documentation.
@@ -103,6 +103,20 @@ import org.apache.ignite.services.ServiceDescriptor;
  * <li>{@link org.apache.ignite.resources.SpringResource}</li>
  * </ul>
  * Refer to corresponding resource documentation for more information.
+ * <h1 class="header">Asynchronous Calls</h1>
+ * Methods of a service proxy interface which return {@link IgniteFuture} are invoked asynchronously: the proxy
+ * returns a future right away, and the future is completed with the result of the service method with the same
+ * name and parameter types. Such an interface does not have to be implemented by the service, so any number of calls
+ * to a remote service may be in flight at the same time:
+ * <pre name="code" class="java">
+ * public interface MyServiceAsync {
+ *     IgniteFuture&lt;Integer&gt; add(int a, int b);
+ * }
+ * ...
+ * MyServiceAsync svc = ignite.services().serviceProxy("myService", MyServiceAsync.class, false);
+ *
+ * svc.add(1, 2).listen(fut -&gt; System.out.println(fut.get()));
+ * </pre>
  * <h1 class="header">Service Example</h1>
  * Here is an example of how an distributed service may be implemented and deployed:
  * <pre name="code" class="java">
@@ -79,6 +79,7 @@ import static org.apache.ignite.internal.processors.cache.GridCacheTtlManager.DF
 import static org.apache.ignite.internal.processors.cache.WalStateManager.DFLT_DISABLE_WAL_DURING_REBALANCING;
 import static org.apache.ignite.internal.processors.cache.binary.CacheObjectBinaryProcessorImpl.DFLT_WAIT_SCHEMA_UPDATE;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.CacheDistributedGetFutureAdapter.DFLT_MAX_REMAP_CNT;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicCache.DFLT_ATOMIC_BACKUP_UPDATE_BATCH_SIZE;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicCache.DFLT_ATOMIC_DEFERRED_ACK_BUFFER_SIZE;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicCache.DFLT_ATOMIC_DEFERRED_ACK_TIMEOUT;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPartitionsExchangeFuture.DFLT_PARTITION_RELEASE_FUTURE_DUMP_THRESHOLD;
@@ -90,12 +91,18 @@ import static org.apache.ignite.internal.processors.cache.persistence.GridCacheD
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory.DFLT_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage.DFLT_IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointWorkflow.DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_FILL_FACTOR;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_RATE;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.DFLT_PAGE_LOCK_TRACKER_CAPACITY;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.HEAP_LOG;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.SharedPageLockTracker.DFLT_PAGE_LOCK_TRACKER_CHECK_INTERVAL;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.FullPageIdTable.DFLT_LONG_LONG_HASH_MAP_LOAD_FACTOR;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_PAGE_MEMORY_OPTIMISTIC_LOOKUP;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_PAGE_PREFETCH_MAX_DEPTH;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_PAGE_PREFETCH_THREADS;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteThrottlePolicy.DFLT_THROTTLE_LOG_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT;
 import static org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager.DFLT_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE;
@@ -667,6 +674,16 @@ public final class IgniteSystemProperties {
         defaults = "" + DFLT_ATOMIC_DEFERRED_ACK_BUFFER_SIZE)
     public static final String IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT = "IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT";
 
+    /**
+     * Maximum number of atomic cache backup updates of a partition coalesced into a single message to a backup node.
+     * Updates are coalesced by striped pool threads until the stripe processes the messages which were received before
+     * the first coalesced update. Values less than {@code 2} disable coalescing.
+     */
+    @SystemProperty(value = "Maximum number of atomic cache backup updates coalesced into a single message to " +
+        "a backup node. Values less than 2 disable coalescing", type = Integer.class,
+        defaults = "" + DFLT_ATOMIC_BACKUP_UPDATE_BATCH_SIZE)
+    public static final String IGNITE_ATOMIC_BACKUP_UPDATE_BATCH_SIZE = "IGNITE_ATOMIC_BACKUP_UPDATE_BATCH_SIZE";
+
     /**
      * Atomic cache deferred update timeout.
      */
@@ -857,6 +874,14 @@ public final class IgniteSystemProperties {
     @SystemProperty(value = "SQL retry timeout in milliseconds", type = Long.class, defaults = "30 seconds")
     public static final String IGNITE_SQL_RETRY_TIMEOUT = "IGNITE_SQL_RETRY_TIMEOUT";
 
+    /**
+     * When set to {@code true}, query plans of parameterized queries are shared by all connections of the node,
+     * a separate plan is kept for each selectivity of the query parameters. Default is {@code true}.
+     */
+    @SystemProperty(value = "When set to true, query plans of parameterized queries are shared by all " +
+        "connections of the node", defaults = "true")
+    public static final String IGNITE_SQL_PLAN_CACHE_ENABLED = "IGNITE_SQL_PLAN_CACHE_ENABLED";
+
     /** Enable backward compatible handling of UUID through DDL. */
     @SystemProperty("Enables backward compatible handling of UUID through DDL")
     public static final String IGNITE_SQL_UUID_DDL_BYTE_FORMAT = "IGNITE_SQL_UUID_DDL_BYTE_FORMAT";
@@ -1332,6 +1357,10 @@ public final class IgniteSystemProperties {
     /**
      * If this property is set, {@link DataStorageConfiguration#isWriteThrottlingEnabled()}
      * will be overridden to {@code true} regardless the initial value in the configuration.
+     * <p>
+     * The value is the name of the throttling policy: {@code DISABLED}, {@code CHECKPOINT_BUFFER_ONLY},
+     * {@code TARGET_RATIO_BASED}, {@code SPEED_BASED} or {@code FEEDBACK_BASED}. The latter paces writers with
+     * a closed-loop controller driven by checkpoint write bandwidth, Checkpoint Buffer usage and WAL fsync latency.
      */
     @SystemProperty(value = "Checkpoint throttling policy", type = String.class)
     public static final String IGNITE_OVERRIDE_WRITE_THROTTLING_ENABLED = "IGNITE_OVERRIDE_WRITE_THROTTLING_ENABLED";
@@ -1464,6 +1493,32 @@ public final class IgniteSystemProperties {
         "deletion'", defaults = "" + DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP)
     public static final String IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP = "IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP";
 
+    /**
+     * When set to {@code true}, page memory resolves pages which are already loaded without taking
+     * the segment lock, validating the lookup against concurrent modifications of the segment instead.
+     * Default is {@code true}.
+     */
+    @SystemProperty(value = "When set to true, page memory resolves pages which are already loaded without " +
+        "taking the segment lock", defaults = "" + DFLT_PAGE_MEMORY_OPTIMISTIC_LOOKUP)
+    public static final String IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP = "IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP";
+
+    /**
+     * Number of threads which asynchronously read pages ahead of range scans over persistent data regions.
+     * Cursors hint pages they are going to read next and these threads load them into page memory.
+     * Zero disables prefetching. Default is {@code 0}.
+     */
+    @SystemProperty(value = "Number of threads which asynchronously read pages ahead of range scans over persistent " +
+        "data regions. Zero disables prefetching", type = Integer.class, defaults = "" + DFLT_PAGE_PREFETCH_THREADS)
+    public static final String IGNITE_PAGE_PREFETCH_THREADS = "IGNITE_PAGE_PREFETCH_THREADS";
+
+    /**
+     * Maximum number of pages queued for prefetch in a data region. The actual limit adapts between a small
+     * minimum and this value depending on whether prefetched pages are used in time.
+     */
+    @SystemProperty(value = "Maximum number of pages queued for prefetch in a data region", type = Integer.class,
+        defaults = "" + DFLT_PAGE_PREFETCH_MAX_DEPTH)
+    public static final String IGNITE_PAGE_PREFETCH_MAX_DEPTH = "IGNITE_PAGE_PREFETCH_MAX_DEPTH";
+
     /**
      * Property for setup percentage of archive size for checkpoint trigger. Default value is 0.25
      */
@@ -2151,6 +2206,32 @@ public final class IgniteSystemProperties {
     public static final String IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE =
         "IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE";
 
+    /**
+     * Fill factor of a data page below which online defragmentation moves rows out of the page.
+     */
+    @SystemProperty(value = "Fill factor of a data page below which online defragmentation moves rows out " +
+        "of the page", type = Double.class, defaults = "" + DFLT_ONLINE_DEFRAGMENTATION_FILL_FACTOR)
+    public static final String IGNITE_ONLINE_DEFRAGMENTATION_FILL_FACTOR = "IGNITE_ONLINE_DEFRAGMENTATION_FILL_FACTOR";
+
+    /**
+     * Maximum number of rows moved per second by online defragmentation, {@code 0} for unlimited rate. The actual rate
+     * is paced by checkpoints, see {@link #IGNITE_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE}.
+     */
+    @SystemProperty(value = "Maximum number of rows moved per second by online defragmentation, 0 for unlimited " +
+        "rate", type = Integer.class, defaults = "" + DFLT_ONLINE_DEFRAGMENTATION_RATE)
+    public static final String IGNITE_ONLINE_DEFRAGMENTATION_RATE = "IGNITE_ONLINE_DEFRAGMENTATION_RATE";
+
+    /**
+     * Share of checkpoint write speed in pages per second which online defragmentation uses as its rate of moved rows
+     * per second. The rate is updated after every checkpoint. {@code 0} disables pacing by checkpoints, then rows are
+     * moved at the maximum rate.
+     */
+    @SystemProperty(value = "Share of checkpoint write speed in pages per second which online defragmentation uses " +
+        "as its rate of moved rows per second, 0 to move rows at the maximum rate", type = Double.class,
+        defaults = "" + DFLT_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE)
+    public static final String IGNITE_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE =
+        "IGNITE_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE";
+
     /**
      * There can be background tasks that can be interrupted due to node stop, node fail, or cluster deactivation,
      * but need to be completed, so they start after node start or cluster activation. If this option is set to
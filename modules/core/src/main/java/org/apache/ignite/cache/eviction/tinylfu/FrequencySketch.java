@@ -0,0 +1,157 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.eviction.tinylfu;
+
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Count-min sketch estimating access frequency of entries with 4-bit counters.
+ * <p>
+ * Each entry hash is mapped to one counter in each of the 4 rows, the estimated frequency is the minimum
+ * of these counters. Counters saturate at {@code 15}. All the counters are halved each time the number
+ * of recorded accesses reaches {@code 10} times the sketch width, so the sketch keeps track of recent
+ * frequencies only.
+ * <p>
+ * This class is not thread-safe.
+ */
+class FrequencySketch {
+    /** Seeds of the rows. */
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    /** Mask to halve 16 counters packed to a long. */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    /** Minimum table length. */
+    private static final int MIN_LEN = 16;
+
+    /** Maximum table length. */
+    private static final int MAX_LEN = 1 << 24;
+
+    /** Counters, 16 per long. */
+    private long[] table;
+
+    /** Table index mask. */
+    private int mask;
+
+    /** Number of recorded accesses since the last reset. */
+    private int size;
+
+    /** Number of recorded accesses triggering the reset. */
+    private int sampleSize;
+
+    /**
+     * @param maxSize Expected maximum number of entries.
+     */
+    FrequencySketch(int maxSize) {
+        ensureCapacity(maxSize);
+    }
+
+    /**
+     * Grows the sketch to track the given number of entries. Recorded frequencies are kept: the old counters are
+     * copied to each part of the grown table, since a hash is mapped to the same counter of each part.
+     *
+     * @param maxSize Expected maximum number of entries.
+     */
+    void ensureCapacity(int maxSize) {
+        int len = U.ceilPow2(Math.min(Math.max(maxSize, MIN_LEN), MAX_LEN));
+
+        if (table != null && table.length >= len)
+            return;
+
+        long[] newTable = new long[len];
+
+        if (table != null) {
+            for (int i = 0; i < len; i += table.length)
+                System.arraycopy(table, 0, newTable, i, table.length);
+        }
+
+        table = newTable;
+        mask = len - 1;
+        sampleSize = 10 * len;
+    }
+
+    /**
+     * @param hash Entry hash.
+     * @return Estimated access frequency from {@code 0} to {@code 15}.
+     */
+    int frequency(int hash) {
+        int freq = Integer.MAX_VALUE;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = rowHash(hash, i);
+
+            freq = Math.min(freq, (int)((table[(int)h & mask] >>> counterShift(h)) & 0xF));
+        }
+
+        return freq;
+    }
+
+    /**
+     * Records an access.
+     *
+     * @param hash Entry hash.
+     */
+    void increment(int hash) {
+        boolean added = false;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            long h = rowHash(hash, i);
+
+            int idx = (int)h & mask;
+            int shift = counterShift(h);
+
+            if (((table[idx] >>> shift) & 0xF) != 0xF) {
+                table[idx] += 1L << shift;
+
+                added = true;
+            }
+        }
+
+        if (added && ++size == sampleSize)
+            reset();
+    }
+
+    /**
+     * Halves all the counters.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++)
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+
+        size >>>= 1;
+    }
+
+    /**
+     * @param hash Entry hash.
+     * @param row Row.
+     * @return Hash for the row.
+     */
+    private static long rowHash(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+
+        return h ^ (h >>> 32);
+    }
+
+    /**
+     * @param h Row hash.
+     * @return Shift of the counter in the long.
+     */
+    private static int counterShift(long h) {
+        return (int)(h >>> 60) << 2;
+    }
+}
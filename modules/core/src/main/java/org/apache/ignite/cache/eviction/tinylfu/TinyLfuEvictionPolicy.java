@@ -0,0 +1,825 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.eviction.tinylfu;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import org.apache.ignite.cache.eviction.AbstractEvictionPolicy;
+import org.apache.ignite.cache.eviction.EvictableEntry;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.mxbean.IgniteMBeanAware;
+
+/**
+ * Eviction policy based on {@code W-TinyLFU} algorithm and supports batch eviction.
+ * <p>
+ * Entries are kept in three {@code LRU} queues: a small admission window (1% of the maximum size) for new entries,
+ * and the main space divided into probationary and protected (80% of the main space) segments. An entry accessed in
+ * the probationary segment is promoted to the protected one. When the window overflows, its least recently used
+ * entry is a candidate to enter the main space: it's admitted only if its estimated access frequency is higher than
+ * the frequency of the least recently used entry of the probationary segment (the victim), otherwise the candidate
+ * itself is evicted. Frequencies are estimated with a count-min sketch which keeps the history of recent accesses
+ * including the evicted entries, so entries accessed just once can't flush the frequently used ones. Entries are
+ * identified in the sketch by {@link EvictableEntry#hashCode()}, that is the hash code of the key for cache entries.
+ * <p>
+ * The eviction starts in the following cases:
+ * <ul>
+ *     <li>The cache size becomes {@code batchSize} elements greater than the maximum size.</li>
+ *     <li>
+ *         The size of cache entries in bytes becomes greater than the maximum memory size.
+ *         The size of cache entry calculates as sum of key size and value size.
+ *     </li>
+ * </ul>
+ * <b>Note:</b>Batch eviction is enabled only if maximum memory limit isn't set ({@code maxMemSize == 0}).
+ * {@code batchSize} elements will be evicted in this case. The default {@code batchSize} value is {@code 1}.
+ * <p>
+ * Accesses to entries which are already tracked by the policy don't modify the queues: they are recorded to striped
+ * lossy buffers and replayed in batches under the policy lock, which is also taken to track new entries and to evict.
+ */
+public class TinyLfuEvictionPolicy<K, V> extends AbstractEvictionPolicy<K, V> implements IgniteMBeanAware {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Percentage of the maximum size for the admission window. */
+    private static final int WINDOW_PERCENTAGE = 1;
+
+    /** Percentage of the main space for the protected segment. */
+    private static final int PROTECTED_PERCENTAGE = 80;
+
+    /** Number of read buffers. */
+    private static final int READ_BUFS_CNT = Math.min(64, U.ceilPow2(4 * Runtime.getRuntime().availableProcessors()));
+
+    /** Entry is published to the entry meta, but is not added to the window queue yet. */
+    private static final byte NEW = 0;
+
+    /** Window queue. */
+    private static final byte WINDOW = 1;
+
+    /** Probationary queue. */
+    private static final byte PROBATION = 2;
+
+    /** Protected queue. */
+    private static final byte PROTECTED = 3;
+
+    /** Entry is not tracked anymore. */
+    private static final byte REMOVED = 4;
+
+    /** Lock guarding the queues and the sketch. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Window queue. */
+    private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+
+    /** Probationary queue. */
+    private final AccessOrderQueue<K, V> probation = new AccessOrderQueue<>();
+
+    /** Protected queue. */
+    private final AccessOrderQueue<K, V> protectedQueue = new AccessOrderQueue<>();
+
+    /** Read buffers. */
+    private final ReadBuffer[] readBufs = new ReadBuffer[READ_BUFS_CNT];
+
+    /** Frequency sketch. */
+    private final FrequencySketch sketch = new FrequencySketch(0);
+
+    /** Number of tracked entries. */
+    private volatile int size;
+
+    /** Accesses to tracked entries. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Accesses to entries which were not tracked. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Candidates admitted to the main space. */
+    private final LongAdder admitted = new LongAdder();
+
+    /** Candidates rejected by the frequency filter. */
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Constructs W-TinyLFU eviction policy with all defaults.
+     */
+    public TinyLfuEvictionPolicy() {
+        for (int i = 0; i < readBufs.length; i++)
+            readBufs[i] = new ReadBuffer();
+    }
+
+    /**
+     * Constructs W-TinyLFU eviction policy with maximum size.
+     *
+     * @param max Maximum allowed size of cache before entry will start getting evicted.
+     */
+    public TinyLfuEvictionPolicy(int max) {
+        this();
+
+        setMaxSize(max);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getCurrentSize() {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public TinyLfuEvictionPolicy<K, V> setMaxMemorySize(long maxMemSize) {
+        super.setMaxMemorySize(maxMemSize);
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public TinyLfuEvictionPolicy<K, V> setMaxSize(int max) {
+        super.setMaxSize(max);
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public TinyLfuEvictionPolicy<K, V> setBatchSize(int batchSize) {
+        super.setBatchSize(batchSize);
+
+        return this;
+    }
+
+    /**
+     * Gets number of accesses to entries tracked by the policy.
+     *
+     * @return Number of hits.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Gets number of accesses to entries which were not tracked by the policy.
+     *
+     * @return Number of misses.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Gets ratio of accesses to entries tracked by the policy.
+     *
+     * @return Hit ratio or {@code 0} if there were no accesses.
+     */
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+
+        return total == 0 ? 0 : (double)hits / total;
+    }
+
+    /**
+     * Gets number of entries admitted from the window to the main space.
+     *
+     * @return Number of admitted entries.
+     */
+    public long getAdmittedCount() {
+        return admitted.sum();
+    }
+
+    /**
+     * Gets number of entries evicted from the window because their frequency was too low to be admitted to the
+     * main space.
+     *
+     * @return Number of rejected entries.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Gets read-only snapshot of tracked entries: window, probationary and protected queues, each from the least
+     * to the most recently used entry.
+     *
+     * @return Read-only snapshot of tracked entries.
+     */
+    public Collection<EvictableEntry<K, V>> queue() {
+        lock.lock();
+
+        try {
+            drainReadBuffers();
+
+            List<EvictableEntry<K, V>> res = new ArrayList<>(size);
+
+            window.collect(res);
+            probation.collect(res);
+            protectedQueue.collect(res);
+
+            return Collections.unmodifiableList(res);
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean removeMeta(Object meta) {
+        Node<K, V> node = (Node<K, V>)meta;
+
+        lock.lock();
+
+        try {
+            if (node.queue == REMOVED)
+                return false;
+
+            unlink(node);
+
+            return true;
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @param entry Entry to touch.
+     * @return {@code True} if new node has been added to queue by this call.
+     */
+    @Override protected boolean touch(EvictableEntry<K, V> entry) {
+        Node<K, V> node = entry.meta();
+
+        if (node != null) {
+            byte q = node.queue;
+
+            // Access to a new node is not recorded, since the node is not linked to a queue yet.
+            if (q != REMOVED && q != NEW) {
+                hits.increment();
+
+                ReadBuffer buf = readBufs[(int)(Thread.currentThread().getId() * 0x9E3779B97F4A7C15L >>> 32) &
+                    (readBufs.length - 1)];
+
+                if (buf.offer(node) && lock.tryLock()) {
+                    try {
+                        drainReadBuffers();
+                    }
+                    finally {
+                        lock.unlock();
+                    }
+                }
+            }
+
+            // Entry is already tracked.
+            return false;
+        }
+
+        node = new Node<>(entry);
+
+        int entrySize = entry.size();
+
+        // Account memory size before the node is published, so concurrent removal accounts it back.
+        memSize.add(entrySize);
+
+        if (entry.putMetaIfAbsent(node) != null) {
+            // Was concurrently added.
+            memSize.add(-entrySize);
+
+            return false;
+        }
+
+        lock.lock();
+
+        try {
+            // Was concurrently removed.
+            if (node.queue == REMOVED)
+                return false;
+
+            misses.increment();
+
+            drainReadBuffers();
+
+            int max = getMaxSize();
+
+            sketch.ensureCapacity(max > 0 ? max : size + 1);
+            sketch.increment(node.hash);
+
+            window.addLast(node);
+
+            node.queue = WINDOW;
+
+            size++;
+        }
+        finally {
+            lock.unlock();
+        }
+
+        if (!entry.isCached()) {
+            // Was concurrently evicted, need to clear it from queue.
+            if (entry.removeMeta(node)) {
+                memSize.add(-entrySize);
+
+                removeMeta(node);
+            }
+
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Tries to evict one entry.
+     *
+     * @return number of bytes that was free. {@code -1} if queue is empty.
+     */
+    @Override protected int shrink0() {
+        Node<K, V> victim;
+
+        lock.lock();
+
+        try {
+            drainReadBuffers();
+
+            victim = selectVictim();
+
+            if (victim == null)
+                return -1;
+
+            unlink(victim);
+        }
+        finally {
+            lock.unlock();
+        }
+
+        EvictableEntry<K, V> entry = victim.entry;
+
+        int size = 0;
+
+        // Entry is evicted out of the lock, since eviction takes entry lock which may be held by threads
+        // waiting for the policy lock.
+        if (entry.removeMeta(victim)) {
+            size = entry.size();
+
+            memSize.add(-size);
+
+            if (!entry.evict())
+                touch(entry);
+        }
+
+        return size;
+    }
+
+    /**
+     * Selects entry to evict. Window candidates are moved to the main space while it has free space, then the next
+     * candidate competes with the probationary victim.
+     *
+     * @return Entry to evict or {@code null} if there are no entries.
+     */
+    private Node<K, V> selectVictim() {
+        assert lock.isHeldByCurrentThread();
+
+        int cap = capacity();
+
+        int windowMax = windowMax(cap);
+        int mainMax = Math.max(1, cap - windowMax);
+
+        while (window.size > windowMax) {
+            Node<K, V> candidate = window.head;
+
+            Node<K, V> victim = probation.head != null ? probation.head : protectedQueue.head;
+
+            if (victim == null || probation.size + protectedQueue.size < mainMax) {
+                moveTo(candidate, probation);
+
+                continue;
+            }
+
+            if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                admitted.increment();
+
+                moveTo(candidate, probation);
+
+                return victim;
+            }
+
+            rejected.increment();
+
+            return candidate;
+        }
+
+        if (probation.head != null)
+            return probation.head;
+
+        return protectedQueue.head != null ? protectedQueue.head : window.head;
+    }
+
+    /**
+     * @return Number of entries the policy should keep: the maximum size or the number of entries fitting the maximum
+     *      memory size with the current average entry size, whichever is lower.
+     */
+    private int capacity() {
+        int cap = getMaxSize();
+
+        long maxMem = getMaxMemorySize();
+
+        if (maxMem > 0) {
+            long mem = memSize.sum();
+
+            int memCap = mem > 0 ? (int)Math.min(Integer.MAX_VALUE, maxMem * size / mem) : size;
+
+            cap = cap > 0 ? Math.min(cap, memCap) : memCap;
+        }
+
+        return Math.max(cap, 1);
+    }
+
+    /**
+     * @param cap Capacity.
+     * @return Maximum size of the admission window.
+     */
+    private static int windowMax(int cap) {
+        return Math.max(1, cap * WINDOW_PERCENTAGE / 100);
+    }
+
+    /**
+     * Replays accesses recorded to the read buffers.
+     */
+    private void drainReadBuffers() {
+        assert lock.isHeldByCurrentThread();
+
+        for (ReadBuffer buf : readBufs)
+            buf.drain(this);
+    }
+
+    /**
+     * Applies an access to a tracked entry.
+     *
+     * @param node Entry node.
+     */
+    private void onAccess(Node<K, V> node) {
+        // Entry was removed after the access was recorded. Accesses to new entries are not recorded, but a node
+        // which is not linked to a queue must never be moved anyway.
+        if (!node.linked)
+            return;
+
+        switch (node.queue) {
+            case WINDOW:
+                sketch.increment(node.hash);
+
+                window.moveToLast(node);
+
+                break;
+
+            case PROBATION:
+                sketch.increment(node.hash);
+
+                moveTo(node, protectedQueue);
+
+                demoteProtected();
+
+                break;
+
+            case PROTECTED:
+                sketch.increment(node.hash);
+
+                protectedQueue.moveToLast(node);
+
+                break;
+
+            default:
+                assert false : "Unexpected queue of linked node: " + node.queue;
+        }
+    }
+
+    /**
+     * Moves least recently used protected entries to the probationary queue if the protected queue is too large.
+     */
+    private void demoteProtected() {
+        int cap = capacity();
+
+        int protectedMax = Math.max(1, (cap - windowMax(cap)) * PROTECTED_PERCENTAGE / 100);
+
+        while (protectedQueue.size > protectedMax)
+            moveTo(protectedQueue.head, probation);
+    }
+
+    /**
+     * @param node Node.
+     * @param dst Destination queue.
+     */
+    private void moveTo(Node<K, V> node, AccessOrderQueue<K, V> dst) {
+        queue(node.queue).remove(node);
+
+        dst.addLast(node);
+
+        node.queue = dst == window ? WINDOW : dst == probation ? PROBATION : PROTECTED;
+    }
+
+    /**
+     * Stops tracking the entry.
+     *
+     * @param node Node.
+     */
+    private void unlink(Node<K, V> node) {
+        assert lock.isHeldByCurrentThread();
+
+        if (node.queue == REMOVED)
+            return;
+
+        // Node could be published but not linked yet.
+        if (node.linked) {
+            queue(node.queue).remove(node);
+
+            size--;
+        }
+
+        node.queue = REMOVED;
+    }
+
+    /**
+     * @param q Queue ID.
+     * @return Queue.
+     */
+    private AccessOrderQueue<K, V> queue(byte q) {
+        switch (q) {
+            case WINDOW:
+                return window;
+
+            case PROBATION:
+                return probation;
+
+            case PROTECTED:
+                return protectedQueue;
+
+            default:
+                throw new IllegalStateException("Unexpected queue: " + q);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public Object getMBean() {
+        return new TinyLfuEvictionPolicyMBeanImpl();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(TinyLfuEvictionPolicy.class, this, "size", getCurrentSize(),
+            "hitRatio", getHitRatio(), "admitted", getAdmittedCount(), "rejected", getRejectedCount());
+    }
+
+    /**
+     * Entry node, fields except {@link #entry} and {@link #hash} are guarded by the policy lock.
+     */
+    private static class Node<K, V> {
+        /** Entry. */
+        private final EvictableEntry<K, V> entry;
+
+        /** Entry hash. */
+        private final int hash;
+
+        /** Previous node. */
+        private Node<K, V> prev;
+
+        /** Next node. */
+        private Node<K, V> next;
+
+        /** Queue ID, volatile since it's checked out of the lock on access. */
+        private volatile byte queue = NEW;
+
+        /** Linked flag. */
+        private boolean linked;
+
+        /**
+         * @param entry Entry.
+         */
+        private Node(EvictableEntry<K, V> entry) {
+            this.entry = entry;
+
+            hash = entry.hashCode();
+        }
+    }
+
+    /**
+     * Doubly linked queue of nodes from the least to the most recently used one.
+     */
+    private static class AccessOrderQueue<K, V> {
+        /** Head. */
+        private Node<K, V> head;
+
+        /** Tail. */
+        private Node<K, V> tail;
+
+        /** Size. */
+        private int size;
+
+        /**
+         * @param node Node.
+         */
+        private void addLast(Node<K, V> node) {
+            node.prev = tail;
+            node.next = null;
+
+            if (tail == null)
+                head = node;
+            else
+                tail.next = node;
+
+            tail = node;
+
+            node.linked = true;
+
+            size++;
+        }
+
+        /**
+         * @param node Node.
+         */
+        private void remove(Node<K, V> node) {
+            assert node.linked;
+
+            if (node.prev == null)
+                head = node.next;
+            else
+                node.prev.next = node.next;
+
+            if (node.next == null)
+                tail = node.prev;
+            else
+                node.next.prev = node.prev;
+
+            node.prev = null;
+            node.next = null;
+            node.linked = false;
+
+            size--;
+        }
+
+        /**
+         * @param node Node.
+         */
+        private void moveToLast(Node<K, V> node) {
+            if (node != tail) {
+                remove(node);
+
+                addLast(node);
+            }
+        }
+
+        /**
+         * @param res Collection to add entries to.
+         */
+        private void collect(Collection<EvictableEntry<K, V>> res) {
+            for (Node<K, V> node = head; node != null; node = node.next)
+                res.add(node.entry);
+        }
+    }
+
+    /**
+     * Lossy buffer of accesses. Accesses are dropped if the buffer is full or contended.
+     */
+    private static class ReadBuffer {
+        /** Buffer size. */
+        private static final int SIZE = 16;
+
+        /** Number of buffered accesses which triggers the drain. */
+        private static final int DRAIN_THRESHOLD = SIZE / 2;
+
+        /** Buffer. */
+        private final AtomicReferenceArray<Node<?, ?>> buf = new AtomicReferenceArray<>(SIZE);
+
+        /** Write counter. */
+        private final AtomicLong writeCnt = new AtomicLong();
+
+        /** Read counter, updated under the policy lock only. */
+        private volatile long readCnt;
+
+        /**
+         * @param node Accessed node.
+         * @return {@code True} if the buffer should be drained.
+         */
+        private boolean offer(Node<?, ?> node) {
+            long head = readCnt;
+            long tail = writeCnt.get();
+
+            long cnt = tail - head;
+
+            if (cnt >= SIZE)
+                return true;
+
+            if (writeCnt.compareAndSet(tail, tail + 1)) {
+                buf.lazySet((int)tail & (SIZE - 1), node);
+
+                return cnt + 1 >= DRAIN_THRESHOLD;
+            }
+
+            return false;
+        }
+
+        /**
+         * @param plc Policy.
+         */
+        private <K, V> void drain(TinyLfuEvictionPolicy<K, V> plc) {
+            long head = readCnt;
+            long tail = writeCnt.get();
+
+            for (; head < tail; head++) {
+                int idx = (int)head & (SIZE - 1);
+
+                Node<K, V> node = (Node<K, V>)buf.get(idx);
+
+                // Not published yet.
+                if (node == null)
+                    break;
+
+                buf.lazySet(idx, null);
+
+                plc.onAccess(node);
+            }
+
+            readCnt = head;
+        }
+    }
+
+    /**
+     * MBean implementation for TinyLfuEvictionPolicy.
+     */
+    private class TinyLfuEvictionPolicyMBeanImpl implements TinyLfuEvictionPolicyMBean {
+        /** {@inheritDoc} */
+        @Override public long getCurrentMemorySize() {
+            return TinyLfuEvictionPolicy.this.getCurrentMemorySize();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getCurrentSize() {
+            return TinyLfuEvictionPolicy.this.getCurrentSize();
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getMaxSize() {
+            return TinyLfuEvictionPolicy.this.getMaxSize();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void setMaxSize(int max) {
+            TinyLfuEvictionPolicy.this.setMaxSize(max);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int getBatchSize() {
+            return TinyLfuEvictionPolicy.this.getBatchSize();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void setBatchSize(int batchSize) {
+            TinyLfuEvictionPolicy.this.setBatchSize(batchSize);
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getMaxMemorySize() {
+            return TinyLfuEvictionPolicy.this.getMaxMemorySize();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void setMaxMemorySize(long maxMemSize) {
+            TinyLfuEvictionPolicy.this.setMaxMemorySize(maxMemSize);
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getHitCount() {
+            return TinyLfuEvictionPolicy.this.getHitCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getMissCount() {
+            return TinyLfuEvictionPolicy.this.getMissCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override public double getHitRatio() {
+            return TinyLfuEvictionPolicy.this.getHitRatio();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getAdmittedCount() {
+            return TinyLfuEvictionPolicy.this.getAdmittedCount();
+        }
+
+        /** {@inheritDoc} */
+        @Override public long getRejectedCount() {
+            return TinyLfuEvictionPolicy.this.getRejectedCount();
+        }
+    }
+}
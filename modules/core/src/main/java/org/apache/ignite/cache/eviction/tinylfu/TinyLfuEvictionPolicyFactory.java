@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.eviction.tinylfu;
+
+import org.apache.ignite.cache.eviction.AbstractEvictionPolicyFactory;
+
+/**
+ * Factory class for {@link TinyLfuEvictionPolicy}.
+ *
+ * Creates cache Eviction policy based on {@code W-TinyLFU} algorithm and supports batch eviction.
+ * <p>
+ * The eviction starts in the following cases:
+ * <ul>
+ *     <li>The cache size becomes {@code batchSize} elements greater than the maximum size.</li>
+ *     <li>
+ *         The size of cache entries in bytes becomes greater than the maximum memory size.
+ *         The size of cache entry calculates as sum of key size and value size.
+ *     </li>
+ * </ul>
+ * <b>Note:</b>Batch eviction is enabled only if maximum memory limit isn't set ({@code maxMemSize == 0}).
+ * {@code batchSize} elements will be evicted in this case. The default {@code batchSize} value is {@code 1}.
+ * <p>
+ * {@link TinyLfuEvictionPolicy} keeps frequently used entries in cache regardless of one-time accesses to other
+ * entries, since new entries are admitted to the main space only if they are accessed more frequently than the
+ * entries they replace.
+ */
+public class TinyLfuEvictionPolicyFactory<K, V> extends AbstractEvictionPolicyFactory<TinyLfuEvictionPolicy<K, V>> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** */
+    public TinyLfuEvictionPolicyFactory() {
+    }
+
+    /** */
+    public TinyLfuEvictionPolicyFactory(int maxSize) {
+        setMaxSize(maxSize);
+    }
+
+    /** */
+    public TinyLfuEvictionPolicyFactory(int maxSize, int batchSize, long maxMemSize) {
+        setMaxSize(maxSize);
+        setBatchSize(batchSize);
+        setMaxMemorySize(maxMemSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public TinyLfuEvictionPolicy<K, V> create() {
+        TinyLfuEvictionPolicy<K, V> policy = new TinyLfuEvictionPolicy<>();
+
+        policy.setBatchSize(getBatchSize());
+        policy.setMaxMemorySize(getMaxMemorySize());
+        policy.setMaxSize(getMaxSize());
+
+        return policy;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.eviction.tinylfu;
+
+import org.apache.ignite.mxbean.MXBeanDescription;
+
+/**
+ * MBean for {@code W-TinyLFU} eviction policy.
+ */
+@MXBeanDescription("MBean for W-TinyLFU cache eviction policy.")
+public interface TinyLfuEvictionPolicyMBean {
+    /**
+     * Gets maximum allowed cache size.
+     *
+     * @return Maximum allowed cache size.
+     */
+    @MXBeanDescription("Maximum allowed cache size.")
+    public int getMaxSize();
+
+    /**
+     * Sets maximum allowed cache size.
+     *
+     * @param max Maximum allowed cache size.
+     */
+    @MXBeanDescription("Sets maximum allowed cache size.")
+    public void setMaxSize(int max);
+
+    /**
+     * Gets batch size.
+     *
+     * @return batch size.
+     */
+    @MXBeanDescription("Batch size.")
+    public int getBatchSize();
+
+    /**
+     * Sets batch size.
+     *
+     * @param batchSize Batch size.
+     */
+    @MXBeanDescription("Set batch size.")
+    public void setBatchSize(int batchSize);
+
+    /**
+     * Gets current queue size.
+     *
+     * @return Current queue size.
+     */
+    @MXBeanDescription("Current queue size.")
+    public int getCurrentSize();
+
+    /**
+     * Gets maximum allowed cache size in bytes.
+     *
+     * @return maximum allowed cache size in bytes.
+     */
+    @MXBeanDescription("Maximum allowed cache size in bytes.")
+    public long getMaxMemorySize();
+
+    /**
+     * Sets maximum allowed cache size in bytes.
+     */
+    @MXBeanDescription("Set maximum allowed cache size in bytes.")
+    public void setMaxMemorySize(long maxMemSize);
+
+    /**
+     * Gets current queue size in bytes.
+     *
+     * @return current queue size in bytes.
+     */
+    @MXBeanDescription("Current queue size in bytes.")
+    public long getCurrentMemorySize();
+
+    /**
+     * Gets number of accesses to entries tracked by the policy.
+     *
+     * @return Number of hits.
+     */
+    @MXBeanDescription("Number of accesses to entries tracked by the policy.")
+    public long getHitCount();
+
+    /**
+     * Gets number of accesses to entries which were not tracked by the policy.
+     *
+     * @return Number of misses.
+     */
+    @MXBeanDescription("Number of accesses to entries which were not tracked by the policy.")
+    public long getMissCount();
+
+    /**
+     * Gets ratio of accesses to entries tracked by the policy.
+     *
+     * @return Hit ratio.
+     */
+    @MXBeanDescription("Ratio of accesses to entries tracked by the policy.")
+    public double getHitRatio();
+
+    /**
+     * Gets number of entries admitted from the window to the main space.
+     *
+     * @return Number of admitted entries.
+     */
+    @MXBeanDescription("Number of entries admitted from the window to the main space.")
+    public long getAdmittedCount();
+
+    /**
+     * Gets number of entries rejected by the frequency filter.
+     *
+     * @return Number of rejected entries.
+     */
+    @MXBeanDescription("Number of entries evicted from the window because of low access frequency.")
+    public long getRejectedCount();
+}
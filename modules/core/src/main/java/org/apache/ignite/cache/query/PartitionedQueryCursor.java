@@ -0,0 +1,40 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.query;
+
+import org.apache.ignite.lang.IgniteExperimental;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cursor of a scan query whose results may be consumed partition by partition.
+ * <p>
+ * Partitions are handed out by {@link #nextPartition()} one at a time, each partition exactly once, so several
+ * threads may share a cursor and process different partitions in parallel. Iteration over the cursor itself
+ * takes the remaining partitions one after another.
+ *
+ * @see ScanQuery#setPartitionCursors(boolean)
+ */
+@IgniteExperimental
+public interface PartitionedQueryCursor<T> extends QueryCursor<T> {
+    /**
+     * Takes the next partition which was not taken yet and starts a query over it.
+     *
+     * @return Cursor over entries of the partition or {@code null} if all partitions are taken
+     *      or this cursor is closed.
+     */
+    @Nullable public PartitionQueryCursor<T> nextPartition();
+}
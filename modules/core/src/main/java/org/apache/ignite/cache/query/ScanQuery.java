@@ -18,8 +18,10 @@ package org.apache.ignite.cache.query;
 
 import javax.cache.Cache;
 import org.apache.ignite.IgniteCache;
+import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteExperimental;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -37,6 +39,12 @@ public final class ScanQuery<K, V> extends Query<Cache.Entry<K, V>> {
     /** */
     private Integer part;
 
+    /** */
+    private int parallelism = 1;
+
+    /** */
+    private boolean partCursors;
+
     /**
      * Create scan query returning all entries.
      */
@@ -117,6 +125,65 @@ public final class ScanQuery<K, V> extends Query<Cache.Entry<K, V>> {
         return part;
     }
 
+    /**
+     * Sets maximum number of local partitions each node scans in parallel. Pages sent by a node are filled with
+     * entries of several partitions as they are scanned. Applies only to queries without an explicit partition.
+     * The filter and the transformer of the query may be invoked concurrently if the parallelism is greater
+     * than {@code 1}.
+     * <p>
+     * Partitions are scanned by the threads of the query pool, so the actual parallelism is also limited by the
+     * size of the pool. Default value is {@code 1}, which means that local partitions are scanned one by one.
+     * The setting is ignored if some of the queried nodes don't support it.
+     *
+     * @param parallelism Scan parallelism.
+     * @return {@code this} for chaining.
+     */
+    @IgniteExperimental
+    public ScanQuery<K, V> setParallelism(int parallelism) {
+        A.ensure(parallelism > 0, "parallelism > 0");
+
+        this.parallelism = parallelism;
+
+        return this;
+    }
+
+    /**
+     * Gets maximum number of local partitions each node scans in parallel.
+     *
+     * @return Scan parallelism.
+     */
+    @IgniteExperimental
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets whether results of this query may be consumed partition by partition. If {@code true}, the cursor
+     * returned by {@link IgniteCache#query(Query)} implements {@link PartitionedQueryCursor}, and each call to
+     * {@link PartitionedQueryCursor#nextPartition()} hands out a cursor over a single partition which was not
+     * handed out before, so several threads can process partitions independently. Applies only to non-local
+     * queries without an explicit partition.
+     *
+     * @param partCursors Partition cursors flag.
+     * @return {@code this} for chaining.
+     */
+    @IgniteExperimental
+    public ScanQuery<K, V> setPartitionCursors(boolean partCursors) {
+        this.partCursors = partCursors;
+
+        return this;
+    }
+
+    /**
+     * Gets whether results of this query may be consumed partition by partition.
+     *
+     * @return Partition cursors flag.
+     */
+    @IgniteExperimental
+    public boolean isPartitionCursors() {
+        return partCursors;
+    }
+
     /** {@inheritDoc} */
     @Override public ScanQuery<K, V> setPageSize(int pageSize) {
         return (ScanQuery<K, V>)super.setPageSize(pageSize);
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.cache.store;
+
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+import javax.cache.Cache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.lang.IgniteExperimental;
+
+/**
+ * Cache store which can write and delete entries without blocking the calling thread.
+ * <p>
+ * If write-behind is enabled (see {@link CacheConfiguration#isWriteBehindEnabled()}) for a cache with such a store,
+ * buffered updates are flushed with {@link #writeAllAsync(Collection)} and {@link #deleteAllAsync(Collection)}
+ * instead of {@link #writeAll(Collection)} and {@link #deleteAll(Collection)}. Updates are kept in per-partition
+ * queues, so batches of different partitions are written concurrently, while updates of the same key are always
+ * passed to the store in the order they were made. {@link CacheConfiguration#getWriteBehindFlushThreadCount()}
+ * limits the number of batches being written at the same time, and
+ * {@link CacheConfiguration#getWriteBehindBatchSize()} limits the number of entries in a batch. The actual batch
+ * size is chosen depending on the observed store latency.
+ * <p>
+ * Methods of this interface are called from a single write-behind thread and must not block it: the actual
+ * work should be done by the store's own asynchronous driver or executor. Cache store session is available
+ * only until the method returns.
+ */
+@IgniteExperimental
+public interface AsyncCacheStore<K, V> extends CacheStore<K, V> {
+    /**
+     * Asynchronously writes the entries to the store.
+     *
+     * @param entries Entries to write.
+     * @return Stage completed when the entries are written or completed exceptionally if the write failed,
+     *      in which case all entries are retried later.
+     */
+    public CompletionStage<Void> writeAllAsync(Collection<Cache.Entry<? extends K, ? extends V>> entries);
+
+    /**
+     * Asynchronously deletes the keys from the store.
+     *
+     * @param keys Keys to delete.
+     * @return Stage completed when the keys are deleted or completed exceptionally if the delete failed,
+     *      in which case all keys are retried later.
+     */
+    public CompletionStage<Void> deleteAllAsync(Collection<?> keys);
+}
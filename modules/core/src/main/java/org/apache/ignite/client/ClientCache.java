@@ -32,6 +32,9 @@ import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCursor;
 import org.apache.ignite.cache.query.ScanQuery;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Thin client cache.
@@ -716,6 +719,14 @@ public interface ClientCache<K, V> {
      */
     public <K1, V1> ClientCache<K1, V1> withExpiryPolicy(ExpiryPolicy expiryPlc);
 
+    /**
+     * Gets metrics of near cache configured for this cache by
+     * {@link ClientConfiguration#setNearCacheConfigurations(ClientNearCacheConfiguration...)}.
+     *
+     * @return Near cache metrics or {@code null} if near cache is not configured for this cache.
+     */
+    @Nullable public ClientNearCacheMetrics nearCacheMetrics();
+
     /**
      * Queries cache. Supports {@link ScanQuery}, {@link SqlFieldsQuery} and {@link ContinuousQuery}.
      * <p>
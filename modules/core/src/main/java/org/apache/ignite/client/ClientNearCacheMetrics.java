@@ -0,0 +1,43 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.client;
+
+/**
+ * Thin client near cache metrics.
+ */
+public interface ClientNearCacheMetrics {
+    /**
+     * @return Number of reads served by near cache.
+     */
+    public long getHits();
+
+    /**
+     * @return Number of reads sent to the server.
+     */
+    public long getMisses();
+
+    /**
+     * @return Number of entries invalidated by server notifications and by updates made through this client.
+     */
+    public long getInvalidations();
+
+    /**
+     * @return Current number of entries in near cache.
+     */
+    public int getSize();
+}
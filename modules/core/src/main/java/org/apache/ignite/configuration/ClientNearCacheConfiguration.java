@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.configuration;
+
+import java.io.Serializable;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Thin client near cache configuration.
+ * <p>
+ * Near cache keeps entries of the cache read by the client on the client side, so repeated reads of the same
+ * keys are served locally. Entries are invalidated by notifications sent by the server on updates of the keys.
+ * After reconnect, the client compares partition update counters of the cache with the ones it has observed and drops
+ * the near cache if some of the updates were missed.
+ * <p>
+ * Near cache is not used by transactional operations and by cache facades working with binary objects or with expiry
+ * policy.
+ */
+public class ClientNearCacheConfiguration implements Serializable {
+    /** Serial version uid. */
+    private static final long serialVersionUID = 0L;
+
+    /** Default maximum number of entries in near cache. */
+    public static final int DFLT_MAX_SIZE = 10_000;
+
+    /** Cache name. */
+    private String cacheName;
+
+    /** Maximum number of entries. */
+    private int maxSize = DFLT_MAX_SIZE;
+
+    /**
+     * Empty constructor.
+     */
+    public ClientNearCacheConfiguration() {
+        // No-op.
+    }
+
+    /**
+     * @param cacheName Cache name.
+     */
+    public ClientNearCacheConfiguration(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /**
+     * @return Cache name.
+     */
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @return {@code this} for chaining.
+     */
+    public ClientNearCacheConfiguration setCacheName(String cacheName) {
+        this.cacheName = cacheName;
+
+        return this;
+    }
+
+    /**
+     * Gets maximum number of entries kept in near cache. When the limit is exceeded, the oldest entries are evicted.
+     * Default value is defined by {@link #DFLT_MAX_SIZE}.
+     *
+     * @return Maximum number of entries.
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets maximum number of entries kept in near cache.
+     *
+     * @param maxSize Maximum number of entries.
+     * @return {@code this} for chaining.
+     */
+    public ClientNearCacheConfiguration setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientNearCacheConfiguration.class, this);
+    }
+}
@@ -21,6 +21,7 @@ import org.apache.ignite.cache.CacheAtomicityMode;
 import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteExperimental;
 import org.apache.ignite.lang.IgnitePredicate;
 
 import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
@@ -33,6 +34,9 @@ public class CollectionConfiguration implements Serializable {
     /** */
     private static final long serialVersionUID = 0L;
 
+    /** Default number of queue shards. */
+    public static final int DFLT_SHARDS = 1;
+
     /** Cache atomicity mode. */
     private CacheAtomicityMode atomicityMode = ATOMIC;
 
@@ -55,6 +59,12 @@ public class CollectionConfiguration implements Serializable {
     /** Group name. */
     private String grpName;
 
+    /** Number of queue shards. */
+    private int shards = DFLT_SHARDS;
+
+    /** Relaxed order flag. */
+    private boolean relaxedOrder;
+
     /**
      * @return {@code True} if all items within the same collection will be collocated on the same node.
      */
@@ -181,6 +191,62 @@ public class CollectionConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * @return Number of sub-queues a queue is split into.
+     */
+    @IgniteExperimental
+    public int getShards() {
+        return shards;
+    }
+
+    /**
+     * Sets number of sub-queues a queue is split into. Every sub-queue has its own header, headers of different
+     * sub-queues are stored in different partitions, so offers and polls of a sharded queue are spread across
+     * the cluster instead of contending on a single cache entry. Consumers poll sub-queues whose headers are
+     * stored on the local node first.
+     * <p>
+     * Items of a sharded queue are polled in FIFO order within a sub-queue only. Each node offers items to its own
+     * sub-queue while it is not full, so items offered by the same node are polled in the order they were offered,
+     * unless {@link #setRelaxedOrder(boolean) relaxed order} is enabled. Capacity of a bounded queue is split evenly
+     * between its sub-queues.
+     * <p>
+     * This parameter applies to queues only. Default is {@link #DFLT_SHARDS}.
+     *
+     * @param shards Number of sub-queues.
+     * @return {@code this} for chaining.
+     */
+    @IgniteExperimental
+    public CollectionConfiguration setShards(int shards) {
+        this.shards = shards;
+
+        return this;
+    }
+
+    /**
+     * @return {@code True} if items offered by the same node may be polled from a sharded queue in any order.
+     */
+    @IgniteExperimental
+    public boolean isRelaxedOrder() {
+        return relaxedOrder;
+    }
+
+    /**
+     * Sets relaxed order flag of a sharded queue. If {@code true}, each node offers items to all sub-queues in
+     * round-robin fashion, so items are spread evenly between sub-queues even with a single producer, but items
+     * offered by the same node may be polled in any order.
+     * <p>
+     * This parameter applies to queues with more than one {@link #setShards(int) shard} only.
+     *
+     * @param relaxedOrder Relaxed order flag.
+     * @return {@code this} for chaining.
+     */
+    @IgniteExperimental
+    public CollectionConfiguration setRelaxedOrder(boolean relaxedOrder) {
+        this.relaxedOrder = relaxedOrder;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(CollectionConfiguration.class, this);
@@ -18,6 +18,7 @@ package org.apache.ignite.configuration;
 
 import java.io.Serializable;
 import javax.cache.configuration.Factory;
+import org.apache.ignite.cache.CacheAtomicityMode;
 import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cache.eviction.EvictionPolicy;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -36,6 +37,9 @@ public class NearCacheConfiguration<K, V> implements Serializable {
     /** */
     private static final long serialVersionUID = 0L;
 
+    /** Default partition versions refresh interval (value is {@code 0} which means that readers are tracked). */
+    public static final long DFLT_PART_VER_REFRESH_INTERVAL = 0;
+
     /** Near cache eviction policy. */
     @Deprecated
     private EvictionPolicy<K, V> nearEvictPlc;
@@ -46,6 +50,9 @@ public class NearCacheConfiguration<K, V> implements Serializable {
     /** Default near cache start size. */
     private int nearStartSize = DFLT_NEAR_START_SIZE;
 
+    /** Partition versions refresh interval. */
+    private long partVerRefreshInterval = DFLT_PART_VER_REFRESH_INTERVAL;
+
     /**
      * Empty constructor.
      */
@@ -62,6 +69,7 @@ public class NearCacheConfiguration<K, V> implements Serializable {
         nearEvictPlcFactory = ccfg.getNearEvictionPolicyFactory();
         nearEvictPlc = ccfg.getNearEvictionPolicy();
         nearStartSize = ccfg.getNearStartSize();
+        partVerRefreshInterval = ccfg.getPartitionVersionsRefreshInterval();
     }
 
     /**
@@ -140,6 +148,38 @@ public class NearCacheConfiguration<K, V> implements Serializable {
         return this;
     }
 
+    /**
+     * Gets partition versions refresh interval in milliseconds.
+     *
+     * @return Partition versions refresh interval or {@code 0} if readers are tracked.
+     * @see #setPartitionVersionsRefreshInterval(long)
+     */
+    public long getPartitionVersionsRefreshInterval() {
+        return partVerRefreshInterval;
+    }
+
+    /**
+     * Sets partition versions refresh interval in milliseconds.
+     * <p>
+     * By default, a primary node registers every near node which reads a key as a reader of the key and sends
+     * updates of the key to all its readers. With many near nodes reading the same keys, the readers sets and
+     * the update fan-out become costly for the primary nodes. If the interval is positive, near nodes are not
+     * registered as readers. Instead, every near node periodically pulls the update counters of the partitions
+     * from the data nodes and invalidates near entries of the partitions which were updated since the entries
+     * were loaded. Updates made by other nodes become visible in the near cache with a delay bounded by the
+     * interval, updates made by the near node itself are visible immediately.
+     * <p>
+     * Supported for {@link CacheAtomicityMode#ATOMIC} caches only.
+     *
+     * @param partVerRefreshInterval Partition versions refresh interval or {@code 0} to track readers.
+     * @return {@code this} for chaining.
+     */
+    public NearCacheConfiguration<K, V> setPartitionVersionsRefreshInterval(long partVerRefreshInterval) {
+        this.partVerRefreshInterval = partVerRefreshInterval;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(NearCacheConfiguration.class, this, super.toString());
@@ -69,7 +69,25 @@ public enum PageReplacementMode {
      * This algorithm has near to zero maintenance cost and replacement policy efficiency between random-LRU and
      * segmented-LRU.
      */
-    CLOCK;
+    CLOCK,
+
+    /**
+     * 2Q algorithm.
+     *
+     * 2Q is a scan-resistant and frequency-aware variation of the LRU algorithm. Resident pages are kept in two
+     * queues: a FIFO queue (A1in) of pages accessed once recently, and an LRU queue (Am) of pages accessed repeatedly.
+     * New pages are added to the tail of A1in, and repeated accesses to a page in A1in do not promote it, so a burst
+     * of correlated accesses (e.g. a one-time scan) can't flush frequently used pages. When a page is replaced from
+     * A1in, its identifier is remembered in a bounded ghost queue (A1out), kept off-heap. A page which is loaded
+     * again while it's still remembered in A1out has been accessed at least twice with a long enough interval, so it
+     * is added to Am. Pages are replaced from the head of A1in while A1in holds more than a quarter of the pages,
+     * otherwise from the least recently accessed end of Am.
+     *
+     * This algorithm requires more additional memory than segmented-LRU to keep the ghost queue and needs to update
+     * the queues on each page access, but it's more effective for workloads mixing one-time scans with a hot working
+     * set which is accessed with intervals longer than the time a page stays in A1in.
+     */
+    TWO_QUEUE;
 
     /** Enumerated values. */
     private static final PageReplacementMode[] VALS = values();
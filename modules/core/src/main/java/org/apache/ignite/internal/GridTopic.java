@@ -160,7 +160,10 @@ public enum GridTopic {
     TOPIC_DISTRIBUTED_PROCESS,
 
     /** Statistics related messages topic. */
-    TOPIC_STATISTICS;
+    TOPIC_STATISTICS,
+
+    /** Direct service calls topic. */
+    TOPIC_SERVICE_CALL;
 
     /** Enum values. */
     private static final GridTopic[] VALS = values();
@@ -23,6 +23,7 @@ import java.io.ObjectOutput;
 import java.io.ObjectStreamException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.Callable;
@@ -35,6 +36,7 @@ import org.apache.ignite.compute.ComputeTask;
 import org.apache.ignite.compute.ComputeTaskFuture;
 import org.apache.ignite.internal.cluster.ClusterGroupAdapter;
 import org.apache.ignite.internal.managers.deployment.GridDeployment;
+import org.apache.ignite.internal.processors.closure.MapPartitionsIterator;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.CU;
@@ -451,6 +453,34 @@ public class IgniteComputeImpl extends AsyncSupportAdapter<IgniteCompute>
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public <R> Iterator<R> mapPartitions(@NotNull Collection<String> cacheNames,
+        IgniteClosure<Integer, R> job) throws IgniteException {
+        return mapPartitions(cacheNames, job, MapPartitionsIterator.DFLT_BUF_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <R> Iterator<R> mapPartitions(@NotNull Collection<String> cacheNames,
+        IgniteClosure<Integer, R> job, int bufSize) throws IgniteException {
+        CU.validateCacheNames(cacheNames);
+
+        A.notNull(job, "job");
+        A.ensure(!cacheNames.isEmpty(), "cachesNames mustn't be empty");
+        A.ensure(bufSize > 0, "bufSize > 0");
+
+        guard();
+
+        try {
+            return ctx.closure().mapPartitions(cacheNames, job, prj.nodes(), execName, bufSize);
+        }
+        catch (IgniteCheckedException e) {
+            throw U.convertException(e);
+        }
+        finally {
+            unguard();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public <T, R> R execute(String taskName, @Nullable T arg) {
         try {
@@ -254,7 +254,19 @@ public enum IgniteFeatures {
     MUTABLE_CACHE_AFFINITY_CHANGE_MESSAGE(66),
 
     /** New DR FST commands handling approach. */
-    NEW_DR_FST_COMMANDS(67);
+    NEW_DR_FST_COMMANDS(67),
+
+    /** Remote service methods are invoked with direct service call messages instead of compute jobs. */
+    SERVICE_DIRECT_CALL(68),
+
+    /** Sharded queues and batched polls of queue items. */
+    SHARDED_QUEUE(69),
+
+    /** Coalesced DHT backup update requests of atomic caches. */
+    ATOMIC_BACKUP_UPDATE_BATCH(70),
+
+    /** Scan query requests with the number of partitions scanned in parallel. */
+    SCAN_QUERY_PARALLELISM(71);
 
     /**
      * Unique feature identifier.
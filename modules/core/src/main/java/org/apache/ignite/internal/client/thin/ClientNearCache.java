@@ -0,0 +1,385 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.client.thin;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientFeatureNotSupportedByServerException;
+import org.apache.ignite.client.ClientNearCacheMetrics;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
+import org.apache.ignite.internal.binary.streams.BinaryByteBufferInputStream;
+import org.apache.ignite.internal.binary.streams.BinaryInputStream;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.client.thin.ClientNotificationType.NEAR_CACHE_INVALIDATION;
+
+/**
+ * Thin client near cache.
+ * <p>
+ * Entries are invalidated by notifications of a server side continuous query. Each notification carries partition
+ * update counters of the invalidated keys, the highest observed counter of each partition is kept. When the
+ * subscription is lost, near cache isn't used until the client subscribes again. The new subscription returns the
+ * current partition update counters, if some of them are greater than the observed ones, updates were missed and
+ * near cache is cleared.
+ * <p>
+ * Values loaded from the server are put to near cache only if no invalidation of their keys was received while they
+ * were loaded. This is tracked by the striped stamps which are incremented on each invalidation.
+ */
+class ClientNearCache<K, V> implements NotificationListener, ClientNearCacheMetrics {
+    /** Number of stamps. */
+    private static final int STAMPS = 1024;
+
+    /** Pause between subscription attempts. */
+    private static final long RESUBSCRIBE_THROTTLING_PERIOD = 1000L;
+
+    /** Cache ID. */
+    private final int cacheId;
+
+    /** Cache name. */
+    private final String cacheName;
+
+    /** Channel. */
+    private final ReliableChannel ch;
+
+    /** Serializer/deserializer. */
+    private final ClientUtils utils;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Entries. */
+    private final Map<K, V> entries;
+
+    /** Striped invalidation stamps. */
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMPS);
+
+    /** */
+    private final LongAdder hits = new LongAdder();
+
+    /** */
+    private final LongAdder misses = new LongAdder();
+
+    /** */
+    private final LongAdder invalidations = new LongAdder();
+
+    /** Highest observed partition update counters, guarded by this near cache. */
+    private long[] cntrs;
+
+    /** Channel of the current subscription. */
+    private volatile ClientChannel clientCh;
+
+    /** Resource ID of the current subscription. */
+    private volatile Long rsrcId;
+
+    /** Subscription is active. */
+    private volatile boolean active;
+
+    /** Near cache isn't supported by the server. */
+    private volatile boolean disabled;
+
+    /** Time of the next subscription attempt. */
+    private volatile long nextSubscribeTime;
+
+    /**
+     * @param cfg Configuration.
+     * @param ch Channel.
+     * @param marsh Marshaller.
+     * @param log Logger.
+     */
+    ClientNearCache(ClientNearCacheConfiguration cfg, ReliableChannel ch, ClientBinaryMarshaller marsh,
+        IgniteLogger log) {
+        cacheName = cfg.getCacheName();
+        cacheId = ClientUtils.cacheId(cacheName);
+
+        this.ch = ch;
+        this.log = log;
+
+        utils = new ClientUtils(marsh);
+        entries = new GridBoundedConcurrentLinkedHashMap<>(cfg.getMaxSize());
+    }
+
+    /**
+     * Ensures invalidation notifications are received.
+     *
+     * @return {@code True} if near cache can be used.
+     */
+    boolean ensureActive() {
+        if (active)
+            return true;
+
+        if (disabled || U.currentTimeMillis() < nextSubscribeTime)
+            return false;
+
+        subscribe();
+
+        return active;
+    }
+
+    /**
+     * Subscribes to invalidation notifications.
+     */
+    private synchronized void subscribe() {
+        if (active || disabled || U.currentTimeMillis() < nextSubscribeTime)
+            return;
+
+        nextSubscribeTime = U.currentTimeMillis() + RESUBSCRIBE_THROTTLING_PERIOD;
+
+        try {
+            T2<ClientChannel, Long> res = ch.service(
+                ClientOperation.QUERY_NEAR_INVALIDATION,
+                req -> {
+                    if (!req.clientChannel().protocolCtx().isFeatureSupported(
+                        ProtocolBitmaskFeature.NEAR_CACHE_INVALIDATION))
+                        throw new ClientFeatureNotSupportedByServerException(
+                            ProtocolBitmaskFeature.NEAR_CACHE_INVALIDATION);
+
+                    req.out().writeInt(cacheId);
+                    req.out().writeByte((byte)0);
+                },
+                res0 -> {
+                    ClientChannel clientCh = res0.clientChannel();
+                    long rsrcId = res0.in().readLong();
+                    long[] srvCntrs = res0.in().readLongArray(res0.in().readInt());
+
+                    onSubscribed(srvCntrs);
+
+                    this.clientCh = clientCh;
+                    this.rsrcId = rsrcId;
+
+                    active = true;
+
+                    clientCh.addNotificationListener(NEAR_CACHE_INVALIDATION, rsrcId, this);
+
+                    return new T2<>(clientCh, rsrcId);
+                });
+
+            // Channel could be closed before the listener was added.
+            if (res.get1().closed())
+                active = false;
+        }
+        catch (ClientFeatureNotSupportedByServerException e) {
+            disabled = true;
+
+            clear();
+
+            U.warn(log, "Near cache is disabled, the server doesn't support it [cache=" + cacheName + ']');
+        }
+        catch (ClientException | ClientError e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to subscribe near cache [cache=" + cacheName + ", err=" + e + ']');
+        }
+    }
+
+    /**
+     * Compares partition update counters of the new subscription with the observed ones and clears near cache if
+     * some updates were missed.
+     *
+     * @param srvCntrs Partition update counters.
+     */
+    private synchronized void onSubscribed(long[] srvCntrs) {
+        if (cntrs != null) {
+            boolean missed = cntrs.length != srvCntrs.length;
+
+            for (int p = 0; !missed && p < srvCntrs.length; p++)
+                missed = srvCntrs[p] > cntrs[p];
+
+            if (missed)
+                clear();
+        }
+
+        cntrs = srvCntrs;
+    }
+
+    /**
+     * @param key Key.
+     * @return Value or {@code null} if there is no value in near cache.
+     */
+    @Nullable V get(K key) {
+        V val = entries.get(key);
+
+        if (val != null)
+            hits.increment();
+        else
+            misses.increment();
+
+        return val;
+    }
+
+    /**
+     * Gets invalidation stamp of the key. Should be taken before the value is requested from the server.
+     *
+     * @param key Key.
+     * @return Stamp.
+     */
+    long stamp(K key) {
+        return stamps.get(stripe(key));
+    }
+
+    /**
+     * Puts value loaded from the server.
+     *
+     * @param key Key.
+     * @param val Value.
+     * @param stamp Stamp taken before the value was requested.
+     */
+    void put(K key, V val, long stamp) {
+        if (val == null || stamps.get(stripe(key)) != stamp)
+            return;
+
+        entries.put(key, val);
+
+        // Key could be invalidated concurrently.
+        if (stamps.get(stripe(key)) != stamp)
+            entries.remove(key, val);
+    }
+
+    /**
+     * @param key Key.
+     */
+    void invalidate(Object key) {
+        stamps.incrementAndGet(stripe(key));
+
+        if (entries.remove(key) != null)
+            invalidations.increment();
+    }
+
+    /**
+     * @param keys Keys.
+     */
+    void invalidateAll(Collection<?> keys) {
+        for (Object key : keys)
+            invalidate(key);
+    }
+
+    /**
+     * Removes all entries.
+     */
+    void clear() {
+        for (int i = 0; i < STAMPS; i++)
+            stamps.incrementAndGet(i);
+
+        // Bounded map doesn't support clear().
+        for (K key : entries.keySet()) {
+            if (entries.remove(key) != null)
+                invalidations.increment();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void acceptNotification(ByteBuffer payload, Exception err) {
+        if (err != null || payload == null)
+            return;
+
+        BinaryInputStream in = BinaryByteBufferInputStream.create(payload);
+
+        int cnt = in.readInt();
+
+        int[] parts = new int[cnt];
+        long[] updCntrs = new long[cnt];
+
+        for (int i = 0; i < cnt; i++) {
+            parts[i] = in.readInt();
+            updCntrs[i] = in.readLong();
+
+            invalidate(utils.readObject(in, false));
+        }
+
+        onInvalidated(parts, updCntrs);
+    }
+
+    /**
+     * @param parts Partitions.
+     * @param updCntrs Update counters.
+     */
+    private synchronized void onInvalidated(int[] parts, long[] updCntrs) {
+        if (cntrs == null)
+            return;
+
+        for (int i = 0; i < parts.length; i++) {
+            int p = parts[i];
+
+            if (p >= cntrs.length)
+                cntrs = Arrays.copyOf(cntrs, p + 1);
+
+            cntrs[p] = Math.max(cntrs[p], updCntrs[i]);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onChannelClosed(Exception reason) {
+        active = false;
+    }
+
+    /**
+     * Stops receiving invalidation notifications.
+     */
+    void close() {
+        active = false;
+
+        ClientChannel clientCh = this.clientCh;
+
+        if (clientCh != null && !clientCh.closed()) {
+            clientCh.removeNotificationListener(NEAR_CACHE_INVALIDATION, rsrcId);
+
+            try {
+                clientCh.service(ClientOperation.RESOURCE_CLOSE, ch -> ch.out().writeLong(rsrcId), null);
+            }
+            catch (ClientException | ClientError e) {
+                if (log.isDebugEnabled())
+                    log.debug("Failed to unsubscribe near cache [cache=" + cacheName + ", err=" + e + ']');
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getHits() {
+        return hits.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getMisses() {
+        return misses.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getInvalidations() {
+        return invalidations.sum();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @param key Key.
+     * @return Stamp index.
+     */
+    private static int stripe(Object key) {
+        return U.hash(key) & (STAMPS - 1);
+    }
+}
@@ -24,7 +24,10 @@ enum ClientNotificationType {
     CONTINUOUS_QUERY_EVENT(false),
 
     /** Compute task finished. */
-    COMPUTE_TASK_FINISHED(true);
+    COMPUTE_TASK_FINISHED(true),
+
+    /** Near cache invalidation. */
+    NEAR_CACHE_INVALIDATION(true);
 
     /** */
     private final boolean keepNotificationsWithoutListener;
@@ -143,6 +143,12 @@ public enum ClientOperation {
     /** Continuous query event. */
     QUERY_CONTINUOUS_EVENT(2007, ClientNotificationType.CONTINUOUS_QUERY_EVENT),
 
+    /** Near cache invalidation subscription. */
+    QUERY_NEAR_INVALIDATION(2008),
+
+    /** Near cache invalidation event. */
+    QUERY_NEAR_INVALIDATION_EVENT(2009, ClientNotificationType.NEAR_CACHE_INVALIDATION),
+
     /** Get binary type name. */
     GET_BINARY_TYPE_NAME(3000),
 
@@ -386,6 +392,7 @@ public enum ClientOperation {
                 return ClientOperationType.QUERY_SQL;
 
             case QUERY_CONTINUOUS:
+            case QUERY_NEAR_INVALIDATION:
                 return ClientOperationType.QUERY_CONTINUOUS;
 
             case TX_START:
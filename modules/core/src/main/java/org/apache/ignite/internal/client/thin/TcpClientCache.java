@@ -42,6 +42,7 @@ import org.apache.ignite.client.ClientCache;
 import org.apache.ignite.client.ClientCacheConfiguration;
 import org.apache.ignite.client.ClientDisconnectListener;
 import org.apache.ignite.client.ClientException;
+import org.apache.ignite.client.ClientNearCacheMetrics;
 import org.apache.ignite.client.IgniteClientFuture;
 import org.apache.ignite.internal.binary.GridBinaryMarshaller;
 import org.apache.ignite.internal.binary.streams.BinaryInputStream;
@@ -120,23 +121,28 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
     /** JCache adapter. */
     private final Cache<K, V> jCacheAdapter;
 
+    /** Near cache. */
+    private final ClientNearCache<K, V> nearCache;
+
     /** Constructor. */
     TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh, TcpClientTransactions transactions,
-        ClientCacheEntryListenersRegistry lsnrsRegistry) {
-        this(name, ch, marsh, transactions, lsnrsRegistry, false, null);
+        ClientCacheEntryListenersRegistry lsnrsRegistry, @Nullable ClientNearCache<K, V> nearCache) {
+        this(name, ch, marsh, transactions, lsnrsRegistry, false, null, nearCache);
     }
 
     /**
      * Constructor.
      */
     TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh, TcpClientTransactions transactions,
-        ClientCacheEntryListenersRegistry lsnrsRegistry, boolean keepBinary, ExpiryPolicy expiryPlc) {
+        ClientCacheEntryListenersRegistry lsnrsRegistry, boolean keepBinary, ExpiryPolicy expiryPlc,
+        @Nullable ClientNearCache<K, V> nearCache) {
         this.name = name;
         this.cacheId = ClientUtils.cacheId(name);
         this.ch = ch;
         this.marsh = marsh;
         this.transactions = transactions;
         this.lsnrsRegistry = lsnrsRegistry;
+        this.nearCache = nearCache;
 
         serDes = new ClientUtils(marsh);
 
@@ -151,12 +157,34 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (key == null)
             throw new NullPointerException("key");
 
-        return cacheSingleKeyOperation(
+        ClientNearCache<K, V> nearCache = readNearCache();
+
+        if (nearCache == null) {
+            return cacheSingleKeyOperation(
+                key,
+                ClientOperation.CACHE_GET,
+                null,
+                this::readObject
+            );
+        }
+
+        V val = nearCache.get(key);
+
+        if (val != null)
+            return val;
+
+        long stamp = nearCache.stamp(key);
+
+        val = cacheSingleKeyOperation(
             key,
             ClientOperation.CACHE_GET,
             null,
             this::readObject
         );
+
+        nearCache.put(key, val, stamp);
+
+        return val;
     }
 
     /** {@inheritDoc} */
@@ -313,7 +341,38 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return new HashMap<>();
 
-        return ch.service(ClientOperation.CACHE_GET_ALL, req -> writeKeys(keys, req), this::readEntries);
+        ClientNearCache<K, V> nearCache = readNearCache();
+
+        if (nearCache == null)
+            return ch.service(ClientOperation.CACHE_GET_ALL, req -> writeKeys(keys, req), this::readEntries);
+
+        Map<K, V> res = new HashMap<>();
+        Map<K, Long> stamps = new HashMap<>();
+
+        for (K key : keys) {
+            V val = nearCache.get(key);
+
+            if (val != null)
+                res.put(key, val);
+            else
+                stamps.put(key, nearCache.stamp(key));
+        }
+
+        if (stamps.isEmpty())
+            return res;
+
+        Map<K, V> loaded = ch.service(
+            ClientOperation.CACHE_GET_ALL,
+            req -> writeKeys(stamps.keySet(), req),
+            this::readEntries
+        );
+
+        for (Map.Entry<K, V> e : loaded.entrySet())
+            nearCache.put(e.getKey(), e.getValue(), stamps.get(e.getKey()));
+
+        res.putAll(loaded);
+
+        return res;
     }
 
     /** {@inheritDoc} */
@@ -335,12 +394,20 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (map.isEmpty())
             return;
 
-        ch.request(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req));
+        try {
+            ch.request(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req));
+        }
+        finally {
+            if (nearCache != null)
+                nearCache.invalidateAll(map.keySet());
+        }
     }
 
     /** {@inheritDoc} */
     @Override public IgniteClientFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) throws ClientException {
-        return ch.requestAsync(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req));
+        IgniteClientFuture<Void> fut = ch.requestAsync(ClientOperation.CACHE_PUT_ALL, req -> writeEntries(map, req));
+
+        return nearCache == null ? fut : onComplete(fut, () -> nearCache.invalidateAll(map.keySet()));
     }
 
     /** {@inheritDoc} */
@@ -485,12 +552,18 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return;
 
-        ch.request(
-            ClientOperation.CACHE_REMOVE_KEYS,
-            req -> {
-                writeKeys(keys, req);
-            }
-        );
+        try {
+            ch.request(
+                ClientOperation.CACHE_REMOVE_KEYS,
+                req -> {
+                    writeKeys(keys, req);
+                }
+            );
+        }
+        finally {
+            if (nearCache != null)
+                nearCache.invalidateAll(keys);
+        }
     }
 
     /** {@inheritDoc} */
@@ -501,22 +574,32 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return IgniteClientFutureImpl.completedFuture(null);
 
-        return ch.requestAsync(
+        IgniteClientFuture<Void> fut = ch.requestAsync(
                 ClientOperation.CACHE_REMOVE_KEYS,
                 req -> {
                     writeKeys(keys, req);
                 }
         );
+
+        return nearCache == null ? fut : onComplete(fut, () -> nearCache.invalidateAll(keys));
     }
 
     /** {@inheritDoc} */
     @Override public void removeAll() throws ClientException {
-        ch.request(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
+        try {
+            ch.request(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
+        }
+        finally {
+            if (nearCache != null)
+                nearCache.clear();
+        }
     }
 
     /** {@inheritDoc} */
     @Override public IgniteClientFuture<Void> removeAllAsync() throws ClientException {
-        return ch.requestAsync(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
+        IgniteClientFuture<Void> fut = ch.requestAsync(ClientOperation.CACHE_REMOVE_ALL, this::writeCacheInfo);
+
+        return nearCache == null ? fut : onComplete(fut, nearCache::clear);
     }
 
     /** {@inheritDoc} */
@@ -677,14 +760,22 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
 
     /** {@inheritDoc} */
     @Override public void clear() throws ClientException {
-        ch.request(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+        try {
+            ch.request(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+        }
+        finally {
+            if (nearCache != null)
+                nearCache.clear();
+        }
     }
 
     /**
      * {@inheritDoc}
      */
     @Override public IgniteClientFuture<Void> clearAsync() throws ClientException {
-        return ch.requestAsync(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+        IgniteClientFuture<Void> fut = ch.requestAsync(ClientOperation.CACHE_CLEAR, this::writeCacheInfo);
+
+        return nearCache == null ? fut : onComplete(fut, nearCache::clear);
     }
 
     /** {@inheritDoc} */
@@ -721,10 +812,16 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return;
 
-        ch.request(
-            ClientOperation.CACHE_CLEAR_KEYS,
-            req -> writeKeys(keys, req)
-        );
+        try {
+            ch.request(
+                ClientOperation.CACHE_CLEAR_KEYS,
+                req -> writeKeys(keys, req)
+            );
+        }
+        finally {
+            if (nearCache != null)
+                nearCache.invalidateAll(keys);
+        }
     }
 
     /** {@inheritDoc} */
@@ -735,16 +832,23 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return IgniteClientFutureImpl.completedFuture(null);
 
-        return ch.requestAsync(
+        IgniteClientFuture<Void> fut = ch.requestAsync(
             ClientOperation.CACHE_CLEAR_KEYS,
             req -> writeKeys(keys, req)
         );
+
+        return nearCache == null ? fut : onComplete(fut, () -> nearCache.invalidateAll(keys));
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public ClientNearCacheMetrics nearCacheMetrics() {
+        return nearCache;
     }
 
     /** {@inheritDoc} */
     @Override public <K1, V1> ClientCache<K1, V1> withKeepBinary() {
         return keepBinary ? (ClientCache<K1, V1>)this :
-            new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, true, expiryPlc);
+            new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, true, expiryPlc, (ClientNearCache)nearCache);
     }
 
     /**
@@ -758,7 +862,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
      * {@inheritDoc}
      */
     @Override public <K1, V1> ClientCache<K1, V1> withExpiryPolicy(ExpiryPolicy expiryPlc) {
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, keepBinary, expiryPlc);
+        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, keepBinary, expiryPlc,
+            (ClientNearCache)nearCache);
     }
 
     /**
@@ -973,10 +1078,16 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
                 additionalPayloadWriter.accept(req);
         };
 
-        // Transactional operation cannot be executed on affinity node, it should be executed on node started
-        // the transaction.
-        return transactions.tx() == null ? ch.affinityService(cacheId, key, op, payloadWriter, payloadReader) :
-                ch.service(op, payloadWriter, payloadReader);
+        try {
+            // Transactional operation cannot be executed on affinity node, it should be executed on node started
+            // the transaction.
+            return transactions.tx() == null ? ch.affinityService(cacheId, key, op, payloadWriter, payloadReader) :
+                    ch.service(op, payloadWriter, payloadReader);
+        }
+        finally {
+            if (nearCache != null && isUpdate(op))
+                nearCache.invalidate(key);
+        }
     }
 
     /**
@@ -998,9 +1109,36 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
 
         // Transactional operation cannot be executed on affinity node, it should be executed on node started
         // the transaction.
-        return transactions.tx() == null
+        IgniteClientFuture<T> fut = transactions.tx() == null
                 ? ch.affinityServiceAsync(cacheId, key, op, payloadWriter, payloadReader)
                 : ch.serviceAsync(op, payloadWriter, payloadReader);
+
+        return nearCache != null && isUpdate(op) ? onComplete(fut, () -> nearCache.invalidate(key)) : fut;
+    }
+
+    /**
+     * @param op Single key operation.
+     * @return {@code True} if the operation can update the key.
+     */
+    private static boolean isUpdate(ClientOperation op) {
+        return op != ClientOperation.CACHE_GET && op != ClientOperation.CACHE_CONTAINS_KEY;
+    }
+
+    /**
+     * @return Near cache to serve reads or {@code null} if reads should be sent to the server.
+     */
+    @Nullable private ClientNearCache<K, V> readNearCache() {
+        return nearCache != null && !keepBinary && expiryPlc == null && transactions.tx() == null &&
+            nearCache.ensureActive() ? nearCache : null;
+    }
+
+    /**
+     * @param fut Future.
+     * @param lsnr Action to run when the future completes, before the result is available to the caller.
+     * @return Future completed after the action.
+     */
+    private static <T> IgniteClientFuture<T> onComplete(IgniteClientFuture<T> fut, Runnable lsnr) {
+        return new IgniteClientFutureImpl<>(fut.whenComplete((res, err) -> lsnr.run()));
     }
 
     /** Write cache ID and flags. */
@@ -19,6 +19,7 @@ package org.apache.ignite.internal.client.thin;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -50,6 +51,7 @@ import org.apache.ignite.client.IgniteClient;
 import org.apache.ignite.client.IgniteClientFuture;
 import org.apache.ignite.configuration.BinaryConfiguration;
 import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
 import org.apache.ignite.configuration.ClientTransactionConfiguration;
 import org.apache.ignite.internal.MarshallerPlatformIds;
 import org.apache.ignite.internal.binary.BinaryCachingMetadataHandler;
@@ -105,6 +107,9 @@ public class TcpIgniteClient implements IgniteClient {
     /** Serializer/deserializer. */
     private final ClientUtils serDes;
 
+    /** Near caches by cache name. */
+    private final Map<String, ClientNearCache<?, ?>> nearCaches = new HashMap<>();
+
     /**
      * Private constructor. Use {@link TcpIgniteClient#start(ClientConfiguration)} to create an instance of
      * {@code TcpIgniteClient}.
@@ -160,6 +165,13 @@ public class TcpIgniteClient implements IgniteClient {
             services = new ClientServicesImpl(ch, marsh, cluster.defaultClusterGroup());
 
             lsnrsRegistry = new ClientCacheEntryListenersRegistry();
+
+            if (cfg.getNearCacheConfigurations() != null) {
+                IgniteLogger log = NullLogger.whenNull(cfg.getLogger());
+
+                for (ClientNearCacheConfiguration nearCfg : cfg.getNearCacheConfigurations())
+                    nearCaches.put(nearCfg.getCacheName(), new ClientNearCache<>(nearCfg, ch, marsh, log));
+            }
         }
         catch (Exception e) {
             ch.close();
@@ -178,7 +190,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         ch.request(ClientOperation.CACHE_GET_OR_CREATE_WITH_NAME, req -> writeString(name, req.out()));
 
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry);
+        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, nearCache(name));
     }
 
     /** {@inheritDoc} */
@@ -187,7 +199,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_GET_OR_CREATE_WITH_NAME, req -> writeString(name, req.out()))
-                        .thenApply(x -> new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, nearCache(name))));
     }
 
     /** {@inheritDoc} */
@@ -198,7 +210,7 @@ public class TcpIgniteClient implements IgniteClient {
         ch.request(ClientOperation.CACHE_GET_OR_CREATE_WITH_CONFIGURATION,
             req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()));
 
-        return new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry);
+        return new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry, nearCache(cfg.getName()));
     }
 
     /** {@inheritDoc} */
@@ -209,14 +221,14 @@ public class TcpIgniteClient implements IgniteClient {
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_GET_OR_CREATE_WITH_CONFIGURATION,
                         req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()))
-                        .thenApply(x -> new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry, nearCache(cfg.getName()))));
     }
 
     /** {@inheritDoc} */
     @Override public <K, V> ClientCache<K, V> cache(String name) {
         ensureCacheName(name);
 
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry);
+        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, nearCache(name));
     }
 
     /** {@inheritDoc} */
@@ -235,6 +247,8 @@ public class TcpIgniteClient implements IgniteClient {
     @Override public void destroyCache(String name) throws ClientException {
         ensureCacheName(name);
 
+        onDestroyCache(name);
+
         ch.request(ClientOperation.CACHE_DESTROY, req -> req.out().writeInt(ClientUtils.cacheId(name)));
     }
 
@@ -242,6 +256,8 @@ public class TcpIgniteClient implements IgniteClient {
     @Override public IgniteClientFuture<Void> destroyCacheAsync(String name) throws ClientException {
         ensureCacheName(name);
 
+        onDestroyCache(name);
+
         return ch.requestAsync(ClientOperation.CACHE_DESTROY, req -> req.out().writeInt(ClientUtils.cacheId(name)));
     }
 
@@ -251,7 +267,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         ch.request(ClientOperation.CACHE_CREATE_WITH_NAME, req -> writeString(name, req.out()));
 
-        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry);
+        return new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, nearCache(name));
     }
 
     /** {@inheritDoc} */
@@ -260,7 +276,7 @@ public class TcpIgniteClient implements IgniteClient {
 
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_CREATE_WITH_NAME, req -> writeString(name, req.out()))
-                        .thenApply(x -> new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> new TcpClientCache<>(name, ch, marsh, transactions, lsnrsRegistry, nearCache(name))));
     }
 
     /** {@inheritDoc} */
@@ -270,7 +286,7 @@ public class TcpIgniteClient implements IgniteClient {
         ch.request(ClientOperation.CACHE_CREATE_WITH_CONFIGURATION,
             req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()));
 
-        return new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry);
+        return new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry, nearCache(cfg.getName()));
     }
 
     /** {@inheritDoc} */
@@ -281,7 +297,7 @@ public class TcpIgniteClient implements IgniteClient {
         return new IgniteClientFutureImpl<>(
                 ch.requestAsync(ClientOperation.CACHE_CREATE_WITH_CONFIGURATION,
                         req -> serDes.cacheConfiguration(cfg, req.out(), req.clientChannel().protocolCtx()))
-                        .thenApply(x -> new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry)));
+                        .thenApply(x -> new TcpClientCache<>(cfg.getName(), ch, marsh, transactions, lsnrsRegistry, nearCache(cfg.getName()))));
     }
 
     /** {@inheritDoc} */
@@ -415,6 +431,29 @@ public class TcpIgniteClient implements IgniteClient {
         return new TcpIgniteClient(cfg);
     }
 
+    /**
+     * @param name Cache name.
+     * @return Near cache or {@code null} if near cache isn't configured for the cache.
+     */
+    @SuppressWarnings("unchecked")
+    private <K, V> ClientNearCache<K, V> nearCache(String name) {
+        return (ClientNearCache<K, V>)nearCaches.get(name);
+    }
+
+    /**
+     * Stops near cache of the destroyed cache.
+     *
+     * @param name Cache name.
+     */
+    private void onDestroyCache(String name) {
+        ClientNearCache<?, ?> nearCache = nearCaches.get(name);
+
+        if (nearCache != null) {
+            nearCache.close();
+            nearCache.clear();
+        }
+    }
+
     /** @throws IllegalArgumentException if the specified cache name is invalid. */
     private static void ensureCacheName(String name) {
         if (name == null || name.isEmpty())
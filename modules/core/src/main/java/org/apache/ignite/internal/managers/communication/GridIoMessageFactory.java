@@ -78,6 +78,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtTxQuer
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtUnlockRequest;
 import org.apache.ignite.internal.processors.cache.distributed.dht.GridInvokeValue;
 import org.apache.ignite.internal.processors.cache.distributed.dht.PartitionUpdateCountersMessage;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicBatchUpdateRequest;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicDeferredUpdateResponse;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicNearResponse;
 import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicSingleUpdateRequest;
@@ -139,6 +140,7 @@ import org.apache.ignite.internal.processors.cache.mvcc.msg.MvccTxSnapshotReques
 import org.apache.ignite.internal.processors.cache.mvcc.msg.PartitionCountersNeighborcastRequest;
 import org.apache.ignite.internal.processors.cache.mvcc.msg.PartitionCountersNeighborcastResponse;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryRequest;
+import org.apache.ignite.internal.processors.cache.query.GridCacheQueryRequestV2;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryResponse;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.cache.query.continuous.CacheContinuousQueryBatchAck;
@@ -170,6 +172,8 @@ import org.apache.ignite.internal.processors.query.messages.GridQueryKillRespons
 import org.apache.ignite.internal.processors.query.schema.message.SchemaOperationStatusMessage;
 import org.apache.ignite.internal.processors.rest.handlers.task.GridTaskResultRequest;
 import org.apache.ignite.internal.processors.rest.handlers.task.GridTaskResultResponse;
+import org.apache.ignite.internal.processors.service.ServiceCallRequest;
+import org.apache.ignite.internal.processors.service.ServiceCallResponse;
 import org.apache.ignite.internal.processors.service.ServiceDeploymentProcessId;
 import org.apache.ignite.internal.processors.service.ServiceSingleNodeDeploymentResult;
 import org.apache.ignite.internal.processors.service.ServiceSingleNodeDeploymentResultBatch;
@@ -209,6 +213,8 @@ public class GridIoMessageFactory implements MessageFactoryProvider {
         factory.register((short)-45, GridChangeGlobalStateMessageResponse::new);
         factory.register((short)-44, HandshakeMessage2::new);
         factory.register((short)-43, IgniteIoTestMessage::new);
+        factory.register((short)-38, GridCacheQueryRequestV2::new);
+        factory.register((short)-37, GridDhtAtomicBatchUpdateRequest::new);
         factory.register((short)-36, GridDhtAtomicSingleUpdateRequest::new);
         factory.register((short)-27, GridDhtTxOnePhaseCommitAckRequest::new);
         factory.register((short)-26, TxLockList::new);
@@ -376,10 +382,13 @@ public class GridIoMessageFactory implements MessageFactoryProvider {
         factory.register(SingleNodeMessage.TYPE_CODE, SingleNodeMessage::new); // TDE
         // [177, 178] - Incremental DR
         factory.register(TombstoneCacheObject.TYPE_CODE, TombstoneCacheObject::new);
+        factory.register(ServiceCallRequest.TYPE_CODE, ServiceCallRequest::new);
+        factory.register(ServiceCallResponse.TYPE_CODE, ServiceCallResponse::new);
 
         // [-3..119] [124..129] [-23..-28] [-36..-55] - this
         // [120..123] [177, 178] - DR
         // [180..188] - Statistics
+        // [189, 190] - Service calls
         // [-4..-22, -30..-35] - SQL
         // [2048..2053] - Snapshots
     }
@@ -33,6 +33,7 @@ import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
 import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
+import org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.processors.metric.impl.LongGauge;
 import org.apache.ignite.internal.processors.metric.impl.MetricUtils;
@@ -45,8 +46,11 @@ import org.apache.ignite.internal.util.typedef.internal.SB;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl.DFLT_SUB_BUCKET_BITS;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
 
 /**
@@ -80,6 +84,12 @@ public class CacheMetricsImpl implements CacheMetrics {
         NANOSECONDS.convert(1000, MILLISECONDS)
     };
 
+    /** Lowest value distinguished by log-linear latency histograms in nanoseconds. */
+    public static final long LATENCY_HISTOGRAM_LOWEST = NANOSECONDS.convert(1, MICROSECONDS);
+
+    /** Highest value tracked by log-linear latency histograms in nanoseconds. */
+    public static final long LATENCY_HISTOGRAM_HIGHEST = NANOSECONDS.convert(1, MINUTES);
+
     /** Number of reads. */
     private final AtomicLongMetric reads;
 
@@ -200,6 +210,18 @@ public class CacheMetricsImpl implements CacheMetrics {
     /** Rollback time. */
     private final HistogramMetricImpl rollbackTime;
 
+    /** Get latency. */
+    private final LogLinearHistogramMetricImpl getLatency;
+
+    /** Put latency. */
+    private final LogLinearHistogramMetricImpl putLatency;
+
+    /** Remove latency. */
+    private final LogLinearHistogramMetricImpl rmvLatency;
+
+    /** Commit latency. */
+    private final LogLinearHistogramMetricImpl commitLatency;
+
     /** Cache metrics. */
     @GridToStringExclude
     private transient CacheMetricsImpl delegate;
@@ -387,6 +409,18 @@ public class CacheMetricsImpl implements CacheMetrics {
 
         rollbackTime = mreg.histogram("RollbackTime", HISTOGRAM_BUCKETS, "Rollback time in nanoseconds.");
 
+        getLatency = mreg.logLinearHistogram("GetLatency", LATENCY_HISTOGRAM_LOWEST, LATENCY_HISTOGRAM_HIGHEST,
+            DFLT_SUB_BUCKET_BITS, "High-resolution histogram of get time in nanoseconds.");
+
+        putLatency = mreg.logLinearHistogram("PutLatency", LATENCY_HISTOGRAM_LOWEST, LATENCY_HISTOGRAM_HIGHEST,
+            DFLT_SUB_BUCKET_BITS, "High-resolution histogram of put time in nanoseconds.");
+
+        rmvLatency = mreg.logLinearHistogram("RemoveLatency", LATENCY_HISTOGRAM_LOWEST, LATENCY_HISTOGRAM_HIGHEST,
+            DFLT_SUB_BUCKET_BITS, "High-resolution histogram of remove time in nanoseconds.");
+
+        commitLatency = mreg.logLinearHistogram("CommitLatency", LATENCY_HISTOGRAM_LOWEST, LATENCY_HISTOGRAM_HIGHEST,
+            DFLT_SUB_BUCKET_BITS, "High-resolution histogram of commit time in nanoseconds.");
+
         mreg.registerOrReplace("TxKeyCollisions", this::getTxKeyCollisions, String.class, "Tx key collisions. " +
             "Show keys and collisions queue size. Due transactional payload some keys become hot. Metric shows " +
             "corresponding keys.");
@@ -717,6 +751,11 @@ public class CacheMetricsImpl implements CacheMetrics {
         commitTime.reset();
         rollbackTime.reset();
 
+        getLatency.reset();
+        putLatency.reset();
+        rmvLatency.reset();
+        commitLatency.reset();
+
         clearRebalanceCounters();
 
         if (delegate != null)
@@ -1095,6 +1134,7 @@ public class CacheMetricsImpl implements CacheMetrics {
         commitTimeTotal.add(duration);
 
         commitTime.value(duration);
+        commitLatency.value(duration);
 
         if (delegate != null)
             delegate.onTxCommit(duration);
@@ -1124,6 +1164,7 @@ public class CacheMetricsImpl implements CacheMetrics {
         getTimeTotal.add(duration);
 
         getTime.value(duration);
+        getLatency.value(duration);
 
         if (delegate != null)
             delegate.addGetTimeNanos(duration);
@@ -1138,6 +1179,7 @@ public class CacheMetricsImpl implements CacheMetrics {
         putTimeTotal.add(duration);
 
         putTime.value(duration);
+        putLatency.value(duration);
 
         if (delegate != null)
             delegate.addPutTimeNanos(duration);
@@ -1152,6 +1194,7 @@ public class CacheMetricsImpl implements CacheMetrics {
         rmvTimeTotal.add(duration);
 
         rmvTime.value(duration);
+        rmvLatency.value(duration);
 
         if (delegate != null)
             delegate.addRemoveTimeNanos(duration);
@@ -24,9 +24,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import javax.cache.Cache;
 import javax.cache.expiry.ExpiryPolicy;
@@ -159,6 +159,25 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
     /** */
     private static final byte IS_EVICT_DISABLED = 0x02;
 
+    /** Mask of the entry lock holds count in {@link #lockState}. */
+    private static final int LOCK_HOLDS_MASK = 0x3FFFFFFF;
+
+    /** Entry lock state flag set when some threads wait for the lock. */
+    private static final int LOCK_PARKED = 0x40000000;
+
+    /** Number of attempts to acquire a held entry lock before waiting. */
+    private static final int LOCK_SPINS = 64;
+
+    /** Entry lock state updater. */
+    private static final AtomicIntegerFieldUpdater<GridCacheMapEntry> LOCK_STATE_UPD =
+        AtomicIntegerFieldUpdater.newUpdater(GridCacheMapEntry.class, "lockState");
+
+    /**
+     * Monitors threads wait on for held entry locks. Entries share monitors by key hash, so entries don't allocate
+     * lock objects.
+     */
+    private static final Object[] LOCK_MONITORS = createLockMonitors();
+
     /**
      * NOTE
      * <br/>
@@ -180,12 +199,13 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      *         <li>8 : {@link #val}</li>
      *         <li>8 : {@link #ver}</li>
      *         <li>8 : {@link #extras}</li>
-     *         <li>8 : {@link #lock}</li>
+     *         <li>8 : {@link #lockOwner}</li>
      *         <li>8 : {@link #listenerLock}</li>
      *         <li>8 : {@link GridMetadataAwareAdapter#data}</li>
      *     </ul></li>
      *     <li>Primitive fields:<ul>
      *         <li>4 : {@link #hash}</li>
+     *         <li>4 : {@link #lockState}</li>
      *         <li>1 : {@link #flags}</li>
      *     </ul></li>
      *     <li>Extras:<ul>
@@ -208,7 +228,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      *     </ul></li>
      * </ul>
      */
-    private static final int SIZE_OVERHEAD = 8 * 8 /* references */ + 5 /* primitives */ + 16 /* extras */
+    private static final int SIZE_OVERHEAD = 8 * 8 /* references */ + 9 /* primitives */ + 16 /* extras */
         + 16 /* version */ + 20 /* key */ + 16 /* value */;
 
     /** Static logger to avoid re-creation. Made static for test purpose. */
@@ -241,9 +261,13 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
     @GridToStringInclude
     private GridCacheEntryExtras extras;
 
-    /** */
+    /** Entry lock state: holds count of the owner thread and {@link #LOCK_PARKED} flag. */
     @GridToStringExclude
-    private final ReentrantLock lock = new ReentrantLock();
+    private volatile int lockState;
+
+    /** Thread holding the entry lock. */
+    @GridToStringExclude
+    private Thread lockOwner;
 
     /** Read Lock for continuous query listener */
     @GridToStringExclude
@@ -293,7 +317,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @param val Value to store.
      */
     protected void value(@Nullable CacheObject val) {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         this.val = val;
     }
@@ -369,7 +393,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
 
     /** {@inheritDoc} */
     @Override public boolean isNew() throws GridCacheEntryRemovedException {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         checkObsolete();
 
@@ -607,7 +631,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @return Value bytes and flag indicating whether value is byte array.
      */
     protected IgniteBiTuple<byte[], Byte> valueBytes0() {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         assert val != null;
 
@@ -2773,7 +2797,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @return {@code True} if entry is obsolete, {@code false} if entry is still used by other threads or nodes.
      */
     protected final boolean markObsolete0(GridCacheVersion ver, boolean clear, GridCacheObsoleteEntryExtras extras) {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         if (evictionDisabled()) {
             assert !obsolete() : this;
@@ -2880,7 +2904,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      */
     protected final void update(@Nullable CacheObject val, long expireTime, long ttl, GridCacheVersion ver, boolean addTracked) {
         assert ver != null;
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
         assert ttl != CU.TTL_ZERO && ttl != CU.TTL_NOT_CHANGED && ttl >= 0 : ttl;
 
         boolean trackNear = addTracked && isNear() && cctx.config().isEagerTtl();
@@ -2942,7 +2966,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      */
     private void updateTtl(long ttl) throws IgniteCheckedException, GridCacheEntryRemovedException {
         assert ttl >= 0 || ttl == CU.TTL_ZERO : ttl;
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         long expireTime;
 
@@ -2969,7 +2993,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @throws GridCacheEntryRemovedException If entry is obsolete.
      */
     protected void checkObsolete() throws GridCacheEntryRemovedException {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         if (obsoleteVersionExtras() != null)
             throw new GridCacheEntryRemovedException();
@@ -3155,7 +3179,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @return {@code True} if this entry has value.
      */
     protected final boolean hasValueUnlocked() {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         return val != null;
     }
@@ -3523,7 +3547,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
     private void addReaderIfNeed(@Nullable ReaderArguments readerArgs) {
         if (readerArgs != null) {
             assert this instanceof GridDhtCacheEntry : this;
-            assert lock.isHeldByCurrentThread();
+            assert lockedByCurrentThread();
 
             try {
                 ((GridDhtCacheEntry)this).addReader(readerArgs.reader(),
@@ -3866,7 +3890,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
 
     /** {@inheritDoc} */
     @Override public long expireTimeUnlocked() {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         return expireTimeExtras();
     }
@@ -4156,7 +4180,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
         GridCacheVersion ver,
         @Nullable IgniteBiPredicate<CacheObject, GridCacheVersion> p
     ) throws IgniteCheckedException {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
         assert localPartition() == null || localPartition().state() != RENTING : localPartition();
 
         UpdateClosure c = new UpdateClosure(this, val, ver, expireTime, p);
@@ -4335,7 +4359,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @throws IgniteCheckedException If failed.
      */
     protected void removeValue(GridCacheVersion clearVer) throws IgniteCheckedException {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         cctx.offheap().remove(cctx, key, partition(), localPartition());
     }
@@ -4347,7 +4371,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      * @throws IgniteCheckedException If failed.
      */
     protected void removeExpiredValue(GridCacheVersion clearVer) throws IgniteCheckedException {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         cctx.offheap().remove(cctx, key, partition(), localPartition());
     }
@@ -4463,7 +4487,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      */
     private void ensureFreeSpace() throws IgniteCheckedException {
         // Deadlock alert: evicting data page causes removing (and locking) all entries on the page one by one.
-        assert !lock.isHeldByCurrentThread();
+        assert !lockedByCurrentThread();
 
         cctx.shared().database().ensureFreeSpace(cctx.dataRegion());
     }
@@ -4682,7 +4706,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
      */
     @SuppressWarnings("SimplifiableIfStatement")
     protected final boolean deletedUnlocked() {
-        assert lock.isHeldByCurrentThread();
+        assert lockedByCurrentThread();
 
         return !isStartVersion() && !hasValueUnlocked();
     }
@@ -4803,7 +4827,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
         CacheObject val,
         boolean inThreadChain
     ) {
-        assert !lock.isHeldByCurrentThread();
+        assert !lockedByCurrentThread();
 
         if (prevOwners != null && owners == null) {
             cctx.mvcc().callback().onOwnerChanged(this, null);
@@ -4935,24 +4959,153 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
 
     /** {@inheritDoc} */
     @Override public void lockEntry() {
-        lock.lock();
+        if (LOCK_STATE_UPD.compareAndSet(this, 0, 1))
+            lockOwner = Thread.currentThread();
+        else
+            acquireLock(false, 0L);
     }
 
     /** {@inheritDoc} */
     @Override public boolean tryLockEntry(long timeout) {
-        try {
-            return lock.tryLock(timeout, TimeUnit.MILLISECONDS);
-        }
-        catch (InterruptedException ignite) {
+        if (Thread.interrupted()) {
             Thread.currentThread().interrupt();
 
             return false;
         }
+
+        if (LOCK_STATE_UPD.compareAndSet(this, 0, 1)) {
+            lockOwner = Thread.currentThread();
+
+            return true;
+        }
+
+        return acquireLock(true, TimeUnit.MILLISECONDS.toNanos(timeout));
     }
 
     /** {@inheritDoc} */
     @Override public void unlockEntry() {
-        lock.unlock();
+        if (lockOwner != Thread.currentThread())
+            throw new IllegalMonitorStateException();
+
+        // Holds count is changed by the owner only, other threads may only set the parked flag.
+        if ((lockState & LOCK_HOLDS_MASK) > 1) {
+            LOCK_STATE_UPD.decrementAndGet(this);
+
+            return;
+        }
+
+        lockOwner = null;
+
+        if ((LOCK_STATE_UPD.getAndSet(this, 0) & LOCK_PARKED) != 0) {
+            Object mon = lockMonitor();
+
+            synchronized (mon) {
+                mon.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Acquires the entry lock which is held by this or another thread. Waiting thread sets {@link #LOCK_PARKED}
+     * flag and waits on the entry's lock monitor which is notified by the lock owner on release.
+     *
+     * @param timed {@code True} if wait time is limited.
+     * @param timeout Wait timeout in nanoseconds, used if {@code timed} is {@code true}.
+     * @return {@code True} if the lock is acquired, {@code false} if the timeout elapsed or the thread was
+     *      interrupted while waiting for a timed lock.
+     */
+    private boolean acquireLock(boolean timed, long timeout) {
+        Thread t = Thread.currentThread();
+
+        if (lockOwner == t) {
+            if ((lockState & LOCK_HOLDS_MASK) == LOCK_HOLDS_MASK)
+                throw new Error("Maximum lock count exceeded");
+
+            LOCK_STATE_UPD.incrementAndGet(this);
+
+            return true;
+        }
+
+        long deadline = timed ? System.nanoTime() + timeout : 0L;
+
+        int spins = LOCK_SPINS;
+
+        boolean interrupted = false;
+
+        try {
+            while (true) {
+                int state = lockState;
+
+                if ((state & LOCK_HOLDS_MASK) == 0) {
+                    if (LOCK_STATE_UPD.compareAndSet(this, state, (state & LOCK_PARKED) | 1)) {
+                        lockOwner = t;
+
+                        return true;
+                    }
+
+                    continue;
+                }
+
+                if (spins > 0) {
+                    spins--;
+
+                    continue;
+                }
+
+                Object mon = lockMonitor();
+
+                synchronized (mon) {
+                    // Owner notifies the monitor after release, so the flag must be set before waiting.
+                    state = lockState;
+
+                    if ((state & LOCK_HOLDS_MASK) == 0 ||
+                        (state & LOCK_PARKED) == 0 && !LOCK_STATE_UPD.compareAndSet(this, state, state | LOCK_PARKED))
+                        continue;
+
+                    try {
+                        if (timed) {
+                            long nanos = deadline - System.nanoTime();
+
+                            if (nanos <= 0)
+                                return false;
+
+                            TimeUnit.NANOSECONDS.timedWait(mon, nanos);
+                        }
+                        else
+                            mon.wait();
+                    }
+                    catch (InterruptedException ignored) {
+                        interrupted = true;
+
+                        if (timed)
+                            return false;
+                    }
+                }
+            }
+        }
+        finally {
+            if (interrupted)
+                t.interrupt();
+        }
+    }
+
+    /**
+     * @return Monitor threads wait on for this entry lock.
+     */
+    private Object lockMonitor() {
+        return LOCK_MONITORS[(hash ^ (hash >>> 16)) & (LOCK_MONITORS.length - 1)];
+    }
+
+    /**
+     * @return Monitors for entry locks.
+     */
+    private static Object[] createLockMonitors() {
+        Object[] mons = new Object[U.ceilPow2(Math.max(256, Runtime.getRuntime().availableProcessors() * 16))];
+
+        for (int i = 0; i < mons.length; i++)
+            mons[i] = new Object();
+
+        return mons;
     }
 
     /**
@@ -4977,7 +5130,7 @@ public abstract class GridCacheMapEntry extends GridMetadataAwareAdapter impleme
 
     /** {@inheritDoc} */
     @Override public boolean lockedByCurrentThread() {
-        return lock.isHeldByCurrentThread();
+        return lockOwner == Thread.currentThread();
     }
 
     /** {@inheritDoc} */
@@ -808,6 +808,18 @@ public interface IgniteCacheOffheapManager {
             long expireTime,
             @Nullable CacheDataRow oldRow) throws IgniteCheckedException;
 
+        /**
+         * Moves the row to a data page chosen by the free list. Key, value, version and expire time of the row
+         * are not changed, indexes referencing the row are updated with its new link. Caller must hold the lock
+         * of the entry and the checkpoint read lock.
+         *
+         * @param cctx Cache context.
+         * @param oldRow Row to move, should be the current row of its key.
+         * @return New link of the row.
+         * @throws IgniteCheckedException If failed.
+         */
+        public long relocate(GridCacheContext cctx, CacheDataRow oldRow) throws IgniteCheckedException;
+
         /**
          * @param cctx Cache context.
          * @param key Key.
@@ -2731,6 +2731,41 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             }
         }
 
+        /** {@inheritDoc} */
+        @Override public long relocate(GridCacheContext cctx, CacheDataRow oldRow) throws IgniteCheckedException {
+            assert oldRow.link() != 0L : oldRow;
+            assert !oldRow.tombstone() : oldRow;
+            assert !grp.mvccEnabled();
+
+            if (!busyLock.enterBusy())
+                throw new NodeStoppingException("Operation has been cancelled (node is stopping).");
+
+            try {
+                int cacheId = grp.storeCacheIdInDataPage() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+                DataRow dataRow = makeDataRow(oldRow.key(), oldRow.value(), oldRow.version(), oldRow.expireTime(),
+                    cacheId);
+
+                assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+                rowStore.addRow(dataRow, grp.statisticsHolderData());
+
+                assert dataRow.link() != 0 : dataRow;
+
+                if (grp.sharedGroup() && dataRow.cacheId() == CU.UNDEFINED_CACHE_ID)
+                    dataRow.cacheId(cctx.cacheId());
+
+                dataTree.putx(dataRow);
+
+                finishUpdate(cctx, dataRow, oldRow);
+
+                return dataRow.link();
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public void mvccApplyUpdate(GridCacheContext cctx,
             KeyCacheObject key,
@@ -90,6 +90,7 @@ import org.apache.ignite.internal.util.future.IgniteFinishedFutureImpl;
 import org.apache.ignite.internal.util.future.IgniteFutureImpl;
 import org.apache.ignite.internal.util.lang.GridCloseableIterator;
 import org.apache.ignite.internal.util.lang.GridClosureException;
+import org.apache.ignite.internal.util.lang.IgniteClosureX;
 import org.apache.ignite.internal.util.lang.IgniteOutClosureX;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
@@ -497,11 +498,50 @@ public class IgniteCacheProxyImpl<K, V> extends AsyncSupportAdapter<IgniteCache<
 
         IgniteBiPredicate<K, V> p = scanQry.getFilter();
 
-        final CacheQuery<R> qry = ctx.queries().createScanQuery(
-            p, transformer, scanQry.getPartition(), isKeepBinary, scanQry.isLocal(), null);
+        if (scanQry.isPartitionCursors() && scanQry.getPartition() == null && !scanQry.isLocal()) {
+            // Keep binary flag is taken here, since partitions are queried outside of this call.
+            return new PartitionedScanQueryCursor<>(ctx.affinity().partitions(),
+                new IgniteClosureX<Integer, QueryCursor<R>>() {
+                    @Override public QueryCursor<R> applyx(Integer part) throws IgniteCheckedException {
+                        return query(ctx, p, transformer, part, scanQry.getPageSize(), 1, false, isKeepBinary, grp);
+                    }
+                });
+        }
+
+        return query(ctx, p, transformer, scanQry.getPartition(), scanQry.getPageSize(), scanQry.getParallelism(),
+            scanQry.isLocal(), isKeepBinary, grp);
+    }
+
+    /**
+     * @param ctx Cache context.
+     * @param p Filter.
+     * @param transformer Transformer
+     * @param part Partition.
+     * @param pageSize Page size.
+     * @param parallelism Scan parallelism.
+     * @param loc Local query flag.
+     * @param isKeepBinary Keep binary flag.
+     * @param grp Optional cluster group.
+     * @return Cursor.
+     * @throws IgniteCheckedException If failed.
+     */
+    private <T, R> QueryCursor<R> query(
+        GridCacheContext<K, V> ctx,
+        @Nullable IgniteBiPredicate<K, V> p,
+        @Nullable IgniteClosure<T, R> transformer,
+        @Nullable Integer part,
+        int pageSize,
+        int parallelism,
+        boolean loc,
+        boolean isKeepBinary,
+        @Nullable ClusterGroup grp
+    ) throws IgniteCheckedException {
+        final CacheQuery<R> qry = ctx.queries().createScanQuery(p, transformer, part, isKeepBinary, loc, null);
+
+        if (pageSize > 0)
+            qry.pageSize(pageSize);
 
-        if (scanQry.getPageSize() > 0)
-            qry.pageSize(scanQry.getPageSize());
+        qry.parallelism(parallelism);
 
         if (grp != null)
             qry.projection(grp);
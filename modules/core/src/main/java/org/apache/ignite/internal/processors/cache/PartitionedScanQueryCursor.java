@@ -0,0 +1,220 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.PartitionQueryCursor;
+import org.apache.ignite.cache.query.PartitionedQueryCursor;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.apache.ignite.internal.util.lang.IgniteClosureX;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cursor of a scan query which hands out partitions of the cache one by one. Every partition is queried
+ * by its own partition scan query, which is started when the partition is taken.
+ */
+public class PartitionedScanQueryCursor<T> implements PartitionedQueryCursor<T> {
+    /** Number of partitions. */
+    private final int parts;
+
+    /** Partition query factory. */
+    private final IgniteClosureX<Integer, QueryCursor<T>> qryFactory;
+
+    /** Next partition. */
+    private final AtomicInteger nextPart = new AtomicInteger();
+
+    /** Taken partitions which are not closed yet. */
+    private final GridConcurrentHashSet<PartitionCursor> open = new GridConcurrentHashSet<>();
+
+    /** */
+    private final AtomicBoolean iterTaken = new AtomicBoolean();
+
+    /** */
+    private volatile boolean closed;
+
+    /**
+     * @param parts Number of partitions.
+     * @param qryFactory Partition query factory.
+     */
+    public PartitionedScanQueryCursor(int parts, IgniteClosureX<Integer, QueryCursor<T>> qryFactory) {
+        this.parts = parts;
+        this.qryFactory = qryFactory;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public PartitionQueryCursor<T> nextPartition() {
+        if (closed)
+            return null;
+
+        int part = nextPart.getAndIncrement();
+
+        if (part >= parts)
+            return null;
+
+        PartitionCursor cur;
+
+        try {
+            cur = new PartitionCursor(part, qryFactory.applyx(part));
+        }
+        catch (IgniteCheckedException e) {
+            throw CU.convertToCacheException(e);
+        }
+
+        open.add(cur);
+
+        // Handle race with close.
+        if (closed) {
+            cur.close();
+
+            return null;
+        }
+
+        return cur;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Iterator<T> iterator() {
+        if (!iterTaken.compareAndSet(false, true))
+            throw new IgniteException("Iterator is already fetched or query was cancelled.");
+
+        return new Iterator<T>() {
+            /** */
+            private PartitionQueryCursor<T> cur;
+
+            /** */
+            private Iterator<T> it;
+
+            /** {@inheritDoc} */
+            @Override public boolean hasNext() {
+                while (it == null || !it.hasNext()) {
+                    if (cur != null)
+                        cur.close();
+
+                    cur = nextPartition();
+
+                    if (cur == null) {
+                        it = null;
+
+                        return false;
+                    }
+
+                    it = cur.iterator();
+                }
+
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public T next() {
+                if (!hasNext())
+                    throw new NoSuchElementException();
+
+                return it.next();
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<T> getAll() {
+        List<T> all = new ArrayList<>();
+
+        try {
+            for (T t : this)
+                all.add(t);
+        }
+        finally {
+            close();
+        }
+
+        return all;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        closed = true;
+
+        for (PartitionCursor cur : open)
+            cur.close();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(PartitionedScanQueryCursor.class, this);
+    }
+
+    /**
+     * Cursor over a single partition.
+     */
+    private class PartitionCursor implements PartitionQueryCursor<T> {
+        /** */
+        private final int part;
+
+        /** */
+        private final QueryCursor<T> delegate;
+
+        /**
+         * @param part Partition.
+         * @param delegate Partition query cursor.
+         */
+        PartitionCursor(int part, QueryCursor<T> delegate) {
+            this.part = part;
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int partition() {
+            return part;
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<T> getAll() {
+            try {
+                return delegate.getAll();
+            }
+            finally {
+                open.remove(this);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public Iterator<T> iterator() {
+            return delegate.iterator();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            delegate.close();
+
+            open.remove(this);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(PartitionCursor.class, this);
+        }
+    }
+}
@@ -43,6 +43,7 @@ import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.DeploymentMode;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.configuration.MemoryConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
 import org.apache.ignite.configuration.TransactionConfiguration;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.IgniteFeatures;
@@ -256,6 +257,16 @@ public class ValidationOnNodeJoinUtils {
             }
         }
 
+        NearCacheConfiguration nearCfg = cc.getNearConfiguration();
+
+        if (nearCfg != null && nearCfg.getPartitionVersionsRefreshInterval() != 0) {
+            apply(assertParam, nearCfg.getPartitionVersionsRefreshInterval() > 0,
+                "nearConfiguration.partitionVersionsRefreshInterval >= 0");
+
+            apply(assertParam, cc.getAtomicityMode() == ATOMIC,
+                "near cache partition versions can be used with ATOMIC atomicity mode only");
+        }
+
         if (storesLocallyOnClient(c, cc, ctx))
             throw new IgniteCheckedException("DataRegion for client caches must be explicitly configured " +
                 "on client node startup. Use DataStorageConfiguration to configure DataRegion.");
@@ -41,6 +41,7 @@ import org.apache.ignite.binary.BinaryObject;
 import org.apache.ignite.cache.CacheEntryEventSerializableFilter;
 import org.apache.ignite.cache.CachePeekMode;
 import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.IgniteKernal;
 import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
@@ -51,6 +52,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheManagerAdapter;
 import org.apache.ignite.internal.processors.cache.IgniteInternalCache;
 import org.apache.ignite.internal.processors.datastructures.DataStructuresProcessor;
 import org.apache.ignite.internal.processors.datastructures.GridAtomicCacheQueueImpl;
+import org.apache.ignite.internal.processors.datastructures.GridCacheQueueBase;
 import org.apache.ignite.internal.processors.datastructures.GridCacheQueueHeader;
 import org.apache.ignite.internal.processors.datastructures.GridCacheQueueHeaderKey;
 import org.apache.ignite.internal.processors.datastructures.GridCacheQueueProxy;
@@ -58,6 +60,8 @@ import org.apache.ignite.internal.processors.datastructures.GridCacheSetHeader;
 import org.apache.ignite.internal.processors.datastructures.GridCacheSetHeaderKey;
 import org.apache.ignite.internal.processors.datastructures.GridCacheSetImpl;
 import org.apache.ignite.internal.processors.datastructures.GridCacheSetProxy;
+import org.apache.ignite.internal.processors.datastructures.GridCacheShardedQueueHeader;
+import org.apache.ignite.internal.processors.datastructures.GridCacheShardedQueueImpl;
 import org.apache.ignite.internal.processors.datastructures.GridTransactionalCacheQueueImpl;
 import org.apache.ignite.internal.processors.datastructures.SetItemKey;
 import org.apache.ignite.internal.processors.task.GridInternal;
@@ -73,6 +77,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static javax.cache.event.EventType.REMOVED;
 import static org.apache.ignite.internal.GridClosureCallMode.BROADCAST;
+import static org.apache.ignite.internal.IgniteFeatures.SHARDED_QUEUE;
 
 /**
  *
@@ -238,16 +243,39 @@ public class CacheDataStructuresManager extends GridCacheManagerAdapter {
         boolean colloc,
         final boolean create)
         throws IgniteCheckedException
+    {
+        return queue(name, cap, colloc, 1, false, create);
+    }
+
+    /**
+     * @param name Queue name.
+     * @param cap Capacity.
+     * @param colloc Collocated flag.
+     * @param shards Number of sub-queues.
+     * @param relaxedOrder Relaxed order flag of sharded queue.
+     * @param create Create flag.
+     * @return Queue header.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public <T> GridCacheQueueProxy<T> queue(final String name,
+        final int cap,
+        boolean colloc,
+        int shards,
+        boolean relaxedOrder,
+        final boolean create)
+        throws IgniteCheckedException
     {
         waitInitialization();
 
-        return queue0(name, cap, colloc, create);
+        return queue0(name, cap, colloc, shards, relaxedOrder, create);
     }
 
     /**
      * @param name Queue name.
      * @param cap Capacity.
      * @param colloc Collocated flag.
+     * @param shards Number of sub-queues.
+     * @param relaxedOrder Relaxed order flag of sharded queue.
      * @param create Create flag.
      * @return Queue header.
      * @throws IgniteCheckedException If failed.
@@ -256,6 +284,8 @@ public class CacheDataStructuresManager extends GridCacheManagerAdapter {
     @Nullable public <T> GridCacheQueueProxy<T> queue0(final String name,
         final int cap,
         boolean colloc,
+        int shards,
+        boolean relaxedOrder,
         final boolean create)
         throws IgniteCheckedException
     {
@@ -267,12 +297,25 @@ public class CacheDataStructuresManager extends GridCacheManagerAdapter {
             GridCacheQueueHeader hdr;
 
             if (create) {
-                hdr = new GridCacheQueueHeader(IgniteUuid.randomUuid(), cap, colloc, 0, 0, null);
+                if (shards > 1) {
+                    if (!IgniteFeatures.allNodesSupport(cctx.kernalContext(), SHARDED_QUEUE))
+                        throw new IgniteCheckedException("Failed to create sharded queue, not all nodes in the " +
+                            "cluster support sharded queues [name=" + name + ']');
+
+                    hdr = new GridCacheShardedQueueHeader(IgniteUuid.randomUuid(), cap, colloc, shards, relaxedOrder);
+
+                    // Headers of sub-queues are created first, so they exist once the queue header is visible.
+                    if (queueHdrView.get(key) == null)
+                        createShardHeaders(name, (GridCacheShardedQueueHeader)hdr);
+                }
+                else
+                    hdr = new GridCacheQueueHeader(IgniteUuid.randomUuid(), cap, colloc, 0, 0, null);
 
                 GridCacheQueueHeader old = queueHdrView.withNoRetries().getAndPutIfAbsent(key, hdr);
 
                 if (old != null) {
-                    if (old.capacity() != cap || old.collocated() != colloc)
+                    if (old.capacity() != cap || old.collocated() != colloc || shards(old) != shards ||
+                        shards > 1 && ((GridCacheShardedQueueHeader)old).relaxedOrder() != relaxedOrder)
                         throw new IgniteCheckedException("Failed to create queue, queue with the same name but " +
                             "different configuration already exists [name=" + name + ']');
 
@@ -298,7 +341,7 @@ public class CacheDataStructuresManager extends GridCacheManagerAdapter {
                                     GridCacheQueueHeader hdr = (GridCacheQueueHeader)e.getValue();
 
                                     for (final GridCacheQueueProxy queue : queuesMap.values()) {
-                                        if (queue.name().equals(key.queueName())) {
+                                        if (queue.delegate().hasHeader(key.queueName())) {
                                             if (e.getEventType() == REMOVED) {
                                                 GridCacheQueueHeader oldHdr = (GridCacheQueueHeader)e.getOldValue();
 
@@ -331,8 +374,23 @@ public class CacheDataStructuresManager extends GridCacheManagerAdapter {
             GridCacheQueueProxy queue = queuesMap.get(hdr.id());
 
             if (queue == null) {
-                queue = new GridCacheQueueProxy(cctx, cctx.atomic() ? new GridAtomicCacheQueueImpl<>(name, hdr, cctx) :
-                    new GridTransactionalCacheQueueImpl<>(name, hdr, cctx));
+                GridCacheQueueBase<T> delegate;
+
+                if (hdr instanceof GridCacheShardedQueueHeader) {
+                    GridCacheQueueHeader[] shardHdrs = shardHeaders(name, (GridCacheShardedQueueHeader)hdr);
+
+                    // Queue is being removed.
+                    if (shardHdrs == null)
+                        return null;
+
+                    delegate = new GridCacheShardedQueueImpl<>(name, (GridCacheShardedQueueHeader)hdr, shardHdrs, cctx);
+                }
+                else {
+                    delegate = cctx.atomic() ? new GridAtomicCacheQueueImpl<>(name, hdr, cctx) :
+                        new GridTransactionalCacheQueueImpl<>(name, hdr, cctx);
+                }
+
+                queue = new GridCacheQueueProxy(cctx, delegate);
 
                 GridCacheQueueProxy old = queuesMap.putIfAbsent(hdr.id(), queue);
 
@@ -347,6 +405,62 @@ public class CacheDataStructuresManager extends GridCacheManagerAdapter {
         }
     }
 
+    /**
+     * @param hdr Queue header.
+     * @return Number of sub-queues.
+     */
+    private static int shards(GridCacheQueueHeader hdr) {
+        return hdr instanceof GridCacheShardedQueueHeader ? ((GridCacheShardedQueueHeader)hdr).shards() : 1;
+    }
+
+    /**
+     * @param name Queue name.
+     * @param hdr Queue header.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void createShardHeaders(String name, GridCacheShardedQueueHeader hdr) throws IgniteCheckedException {
+        for (int i = 0; i < hdr.shards(); i++) {
+            GridCacheQueueHeader shardHdr = new GridCacheQueueHeader(IgniteUuid.randomUuid(),
+                hdr.shardCapacity(i),
+                hdr.collocated(),
+                0,
+                0,
+                null);
+
+            queueHdrView.withNoRetries().getAndPutIfAbsent(
+                new GridCacheQueueHeaderKey(GridCacheShardedQueueImpl.shardName(name, i)), shardHdr);
+        }
+    }
+
+    /**
+     * @param name Queue name.
+     * @param hdr Queue header.
+     * @return Headers of sub-queues or {@code null} if some of them are removed.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private GridCacheQueueHeader[] shardHeaders(String name, GridCacheShardedQueueHeader hdr)
+        throws IgniteCheckedException {
+        Collection<GridCacheQueueHeaderKey> keys = new ArrayList<>(hdr.shards());
+
+        for (int i = 0; i < hdr.shards(); i++)
+            keys.add(new GridCacheQueueHeaderKey(GridCacheShardedQueueImpl.shardName(name, i)));
+
+        Map<GridCacheQueueHeaderKey, GridCacheQueueHeader> hdrs = queueHdrView.getAll(keys);
+
+        GridCacheQueueHeader[] res = new GridCacheQueueHeader[hdr.shards()];
+
+        int i = 0;
+
+        for (GridCacheQueueHeaderKey key : keys) {
+            res[i] = hdrs.get(key);
+
+            if (res[i++] == null)
+                return null;
+        }
+
+        return res;
+    }
+
     /**
      * @param name Set name.
      * @param colloc Collocated flag.
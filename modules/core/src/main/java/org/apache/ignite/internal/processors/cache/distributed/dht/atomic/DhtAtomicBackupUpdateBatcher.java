@@ -0,0 +1,256 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.atomic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.util.StripedExecutor;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+
+import static org.apache.ignite.internal.IgniteFeatures.ATOMIC_BACKUP_UPDATE_BATCH;
+
+/**
+ * Coalesces DHT atomic backup update requests of the same partition sent by striped pool threads to the same node
+ * into {@link GridDhtAtomicBatchUpdateRequest}s.
+ * <p>
+ * Requests are buffered per thread, destination node and partition. A buffer is sent when it reaches the maximum batch
+ * size or when the stripe has processed the tasks queued before the buffer was created, so coalescing doesn't delay
+ * updates on an idle stripe. Requests sent by a thread to a node keep their order: before a request which can't be
+ * coalesced is sent, the buffers of its node are sent. A batch holds requests of a single partition, so the receiver
+ * processes it by the stripe of the partition regardless of the number of stripes on both nodes.
+ * <p>
+ * Requests to nodes which don't support {@link IgniteFeatures#ATOMIC_BACKUP_UPDATE_BATCH} are sent separately.
+ */
+class DhtAtomicBackupUpdateBatcher {
+    /** Cache context. */
+    private final GridCacheContext<?, ?> ctx;
+
+    /** Logger. */
+    private final IgniteLogger msgLog;
+
+    /** Maximum number of requests in a batch. */
+    private final int maxBatchSize;
+
+    /**
+     * Per-thread buffers by node and partition, guarded by the map monitor since buffers may be sent by other
+     * threads.
+     */
+    private final ThreadLocal<Map<UUID, Map<Integer, GridDhtAtomicBatchUpdateRequest>>> bufs =
+        ThreadLocal.withInitial(HashMap::new);
+
+    /**
+     * @param ctx Cache context.
+     * @param maxBatchSize Maximum number of requests in a batch.
+     */
+    DhtAtomicBackupUpdateBatcher(GridCacheContext<?, ?> ctx, int maxBatchSize) {
+        assert maxBatchSize > 1 : maxBatchSize;
+
+        this.ctx = ctx;
+        this.maxBatchSize = maxBatchSize;
+
+        msgLog = ctx.shared().atomicMessageLogger();
+    }
+
+    /**
+     * Sends the request or adds it to the buffer of its node.
+     *
+     * @param req Request.
+     * @throws IgniteCheckedException If the request failed to be sent.
+     */
+    void send(GridDhtAtomicAbstractUpdateRequest req) throws IgniteCheckedException {
+        StripedExecutor stripedExec = ctx.kernalContext().pools().getStripedExecutorService();
+
+        int stripe = currentStripe(stripedExec);
+
+        UUID nodeId = req.nodeId();
+
+        if (stripe < 0 || !nodeSupportsBatches(nodeId)) {
+            ctx.io().send(nodeId, req, ctx.ioPolicy());
+
+            return;
+        }
+
+        Map<UUID, Map<Integer, GridDhtAtomicBatchUpdateRequest>> nodeBufs = bufs.get();
+
+        synchronized (nodeBufs) {
+            if (!canCoalesce(req)) {
+                Map<Integer, GridDhtAtomicBatchUpdateRequest> partBufs = nodeBufs.remove(nodeId);
+
+                if (partBufs != null) {
+                    for (GridDhtAtomicBatchUpdateRequest batch : partBufs.values())
+                        sendBatch(nodeId, batch);
+                }
+
+                ctx.io().send(nodeId, req, ctx.ioPolicy());
+
+                return;
+            }
+
+            Map<Integer, GridDhtAtomicBatchUpdateRequest> partBufs = nodeBufs.computeIfAbsent(nodeId,
+                n -> new HashMap<>());
+
+            int part = req.partition();
+
+            GridDhtAtomicBatchUpdateRequest batch = partBufs.get(part);
+
+            if (batch == null) {
+                batch = new GridDhtAtomicBatchUpdateRequest(ctx.cacheId(), maxBatchSize);
+
+                partBufs.put(part, batch);
+
+                GridDhtAtomicBatchUpdateRequest batch0 = batch;
+
+                // Sent after the stripe has processed the tasks which are already queued.
+                stripedExec.execute(stripe, () -> flush(nodeBufs, nodeId, part, batch0));
+            }
+
+            batch.add(req);
+
+            if (batch.size() >= maxBatchSize) {
+                removeBuffer(nodeBufs, nodeId, part);
+
+                sendBatch(nodeId, batch);
+            }
+        }
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @return {@code True} if the node processes batches of update requests.
+     */
+    private boolean nodeSupportsBatches(UUID nodeId) {
+        ClusterNode node = ctx.discovery().node(nodeId);
+
+        return node != null && IgniteFeatures.nodeSupports(ctx.kernalContext(), node, ATOMIC_BACKUP_UPDATE_BATCH);
+    }
+
+    /**
+     * @param stripedExec Striped executor.
+     * @return Stripe of the current thread or {@code -1} if the current thread is not a striped pool thread.
+     */
+    private static int currentStripe(StripedExecutor stripedExec) {
+        IgniteThread thread = IgniteThread.current();
+
+        if (thread == null)
+            return -1;
+
+        int stripe = thread.stripe();
+
+        // Data streamer stripes have own indexes.
+        if (stripe < 0 || stripe >= stripedExec.stripesCount() || stripedExec.stripes()[stripe].runner() != thread)
+            return -1;
+
+        return stripe;
+    }
+
+    /**
+     * @param req Request.
+     * @return {@code True} if the request can be sent within a batch.
+     */
+    private boolean canCoalesce(GridDhtAtomicAbstractUpdateRequest req) {
+        // Near reader updates and requests with deployment info have special handling on receiver side.
+        return req instanceof GridDhtAtomicSingleUpdateRequest && req.nearSize() == 0 && !req.addDeploymentInfo();
+    }
+
+    /**
+     * @param nodeBufs Buffers of the thread which created the batch.
+     * @param nodeId Node ID.
+     * @param part Partition.
+     * @param batch Batch to send if it wasn't sent yet.
+     */
+    private void flush(Map<UUID, Map<Integer, GridDhtAtomicBatchUpdateRequest>> nodeBufs, UUID nodeId, int part,
+        GridDhtAtomicBatchUpdateRequest batch) {
+        synchronized (nodeBufs) {
+            Map<Integer, GridDhtAtomicBatchUpdateRequest> partBufs = nodeBufs.get(nodeId);
+
+            if (partBufs != null && partBufs.get(part) == batch) {
+                removeBuffer(nodeBufs, nodeId, part);
+
+                sendBatch(nodeId, batch);
+            }
+        }
+    }
+
+    /**
+     * @param nodeBufs Buffers of the thread, the caller must hold the map monitor.
+     * @param nodeId Node ID.
+     * @param part Partition.
+     */
+    private static void removeBuffer(Map<UUID, Map<Integer, GridDhtAtomicBatchUpdateRequest>> nodeBufs, UUID nodeId,
+        int part) {
+        Map<Integer, GridDhtAtomicBatchUpdateRequest> partBufs = nodeBufs.get(nodeId);
+
+        partBufs.remove(part);
+
+        if (partBufs.isEmpty())
+            nodeBufs.remove(nodeId);
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @param batch Batch.
+     */
+    private void sendBatch(UUID nodeId, GridDhtAtomicBatchUpdateRequest batch) {
+        try {
+            if (batch.size() == 1)
+                ctx.io().send(nodeId, batch.requests().get(0), ctx.ioPolicy());
+            else
+                ctx.io().send(nodeId, batch, ctx.ioPolicy());
+
+            if (msgLog.isDebugEnabled()) {
+                msgLog.debug("Sent DHT atomic batch update request [size=" + batch.size() +
+                    ", node=" + nodeId + ']');
+            }
+        }
+        catch (ClusterTopologyCheckedException ignored) {
+            if (msgLog.isDebugEnabled()) {
+                msgLog.debug("Failed to send DHT atomic batch update request, node left [size=" + batch.size() +
+                    ", node=" + nodeId + ']');
+            }
+
+            onSendFailed(nodeId, batch);
+        }
+        catch (IgniteCheckedException e) {
+            U.error(msgLog, "Failed to send DHT atomic batch update request [size=" + batch.size() +
+                ", node=" + nodeId + ']', e);
+
+            onSendFailed(nodeId, batch);
+        }
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @param batch Batch which failed to be sent.
+     */
+    private void onSendFailed(UUID nodeId, GridDhtAtomicBatchUpdateRequest batch) {
+        for (GridDhtAtomicAbstractUpdateRequest req : batch.requests()) {
+            GridDhtAtomicAbstractUpdateFuture fut =
+                (GridDhtAtomicAbstractUpdateFuture)ctx.mvcc().atomicFuture(req.futureId());
+
+            if (fut != null)
+                fut.onSendFailed(nodeId);
+        }
+    }
+}
@@ -351,6 +351,15 @@ public abstract class GridDhtAtomicAbstractUpdateFuture extends GridCacheFutureA
         return res;
     }
 
+    /**
+     * Called when a coalesced request to the node failed to be sent.
+     *
+     * @param nodeId Node ID.
+     */
+    final void onSendFailed(UUID nodeId) {
+        registerResponse(nodeId);
+    }
+
     /**
      * @param nodeId Node ID.
      * @return {@code True} if request found.
@@ -486,7 +495,7 @@ public abstract class GridDhtAtomicAbstractUpdateFuture extends GridCacheFutureA
                 if (cntQryClsrs != null)
                     req.replyWithoutDelay(true);
 
-                cctx.io().send(req.nodeId(), req, cctx.ioPolicy());
+                ((GridDhtAtomicCache<?, ?>)cctx.dht()).sendDhtRequest(req);
 
                 if (msgLog.isDebugEnabled()) {
                     msgLog.debug("DTH update fut, sent request [futId=" + futId +
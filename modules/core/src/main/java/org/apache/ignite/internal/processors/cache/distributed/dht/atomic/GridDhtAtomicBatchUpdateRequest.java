@@ -0,0 +1,208 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.atomic;
+
+import java.io.Externalizable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.GridDirectCollection;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheIdMessage;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.MessageCollectionItemType;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * DHT atomic update requests sent to the same backup node in a single message.
+ */
+public class GridDhtAtomicBatchUpdateRequest extends GridCacheIdMessage {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Message index. */
+    public static final int CACHE_MSG_IDX = nextIndexId();
+
+    /** Update requests. */
+    @GridToStringInclude
+    @GridDirectCollection(GridDhtAtomicAbstractUpdateRequest.class)
+    private List<GridDhtAtomicAbstractUpdateRequest> reqs;
+
+    /**
+     * Empty constructor required by {@link Externalizable}.
+     */
+    public GridDhtAtomicBatchUpdateRequest() {
+        // No-op.
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param cap Expected number of requests.
+     */
+    GridDhtAtomicBatchUpdateRequest(int cacheId, int cap) {
+        this.cacheId = cacheId;
+
+        reqs = new ArrayList<>(cap);
+    }
+
+    /**
+     * @param req Update request.
+     */
+    void add(GridDhtAtomicAbstractUpdateRequest req) {
+        assert req.cacheId() == cacheId : req;
+
+        reqs.add(req);
+    }
+
+    /**
+     * @return Update requests.
+     */
+    public List<GridDhtAtomicAbstractUpdateRequest> requests() {
+        return reqs;
+    }
+
+    /**
+     * @return Number of update requests.
+     */
+    int size() {
+        return reqs.size();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int partition() {
+        return reqs.get(0).partition();
+    }
+
+    /** {@inheritDoc} */
+    @Override public AffinityTopologyVersion topologyVersion() {
+        AffinityTopologyVersion topVer = AffinityTopologyVersion.NONE;
+
+        for (GridDhtAtomicAbstractUpdateRequest req : reqs) {
+            if (req.topologyVersion().after(topVer))
+                topVer = req.topologyVersion();
+        }
+
+        return topVer;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int lookupIndex() {
+        return CACHE_MSG_IDX;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean addDeploymentInfo() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteLogger messageLogger(GridCacheSharedContext ctx) {
+        return ctx.atomicMessageLogger();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void prepareMarshal(GridCacheSharedContext ctx) throws IgniteCheckedException {
+        super.prepareMarshal(ctx);
+
+        for (GridDhtAtomicAbstractUpdateRequest req : reqs)
+            req.prepareMarshal(ctx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void finishUnmarshal(GridCacheSharedContext ctx, ClassLoader ldr) throws IgniteCheckedException {
+        super.finishUnmarshal(ctx, ldr);
+
+        for (GridDhtAtomicAbstractUpdateRequest req : reqs)
+            req.finishUnmarshal(ctx, ldr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onAckReceived() {
+        for (GridDhtAtomicAbstractUpdateRequest req : reqs)
+            req.onAckReceived();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!super.writeTo(buf, writer))
+            return false;
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 4:
+                if (!writer.writeCollection("reqs", reqs, MessageCollectionItemType.MSG))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        if (!super.readFrom(buf, reader))
+            return false;
+
+        switch (reader.state()) {
+            case 4:
+                reqs = reader.readCollection("reqs", MessageCollectionItemType.MSG);
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(GridDhtAtomicBatchUpdateRequest.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return -37;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 5;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridDhtAtomicBatchUpdateRequest.class, this, "size", reqs.size());
+    }
+}
@@ -34,6 +34,7 @@ import org.apache.ignite.IgniteCacheRestartingException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.binary.BinaryInvalidTypeException;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.failure.FailureContext;
@@ -123,6 +124,7 @@ import org.apache.ignite.transactions.TransactionIsolation;
 import org.jetbrains.annotations.Nullable;
 
 import static java.lang.String.format;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_BACKUP_UPDATE_BATCH_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DEFERRED_ACK_BUFFER_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT;
 import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_ASYNC;
@@ -160,6 +162,9 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
     /** @see IgniteSystemProperties#IGNITE_ATOMIC_DEFERRED_ACK_TIMEOUT */
     public static final int DFLT_ATOMIC_DEFERRED_ACK_TIMEOUT = 500;
 
+    /** @see IgniteSystemProperties#IGNITE_ATOMIC_BACKUP_UPDATE_BATCH_SIZE */
+    public static final int DFLT_ATOMIC_BACKUP_UPDATE_BATCH_SIZE = 0;
+
     /** Deferred update response buffer size. */
     private static final int DEFERRED_UPDATE_RESPONSE_BUFFER_SIZE =
         Integer.getInteger(IGNITE_ATOMIC_DEFERRED_ACK_BUFFER_SIZE, DFLT_ATOMIC_DEFERRED_ACK_BUFFER_SIZE);
@@ -183,6 +188,10 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
     @GridToStringExclude
     private UpdateReplyClosure updateReplyClos;
 
+    /** Backup update requests batcher, {@code null} if coalescing is disabled. */
+    @GridToStringExclude
+    private DhtAtomicBackupUpdateBatcher backupUpdBatcher;
+
     /** */
     private GridNearAtomicCache<K, V> near;
 
@@ -255,6 +264,12 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         if (ctx.dht().near() != null)
             metrics.delegate(ctx.dht().near().metrics0());
 
+        int backupUpdBatchSize = IgniteSystemProperties.getInteger(IGNITE_ATOMIC_BACKUP_UPDATE_BATCH_SIZE,
+            DFLT_ATOMIC_BACKUP_UPDATE_BATCH_SIZE);
+
+        if (backupUpdBatchSize > 1)
+            backupUpdBatcher = new DhtAtomicBackupUpdateBatcher(ctx, backupUpdBatchSize);
+
         ctx.io().addCacheHandler(
             ctx.cacheId(),
             GridNearGetRequest.class,
@@ -340,6 +355,25 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
                 }
             });
 
+        ctx.io().addCacheHandler(
+            ctx.cacheId(),
+            GridDhtAtomicBatchUpdateRequest.class,
+            new CI2<UUID, GridDhtAtomicBatchUpdateRequest>() {
+                @Override public void apply(
+                    UUID nodeId,
+                    GridDhtAtomicBatchUpdateRequest req
+                ) {
+                    processDhtAtomicBatchUpdateRequest(
+                        nodeId,
+                        req);
+                }
+
+                @Override public String toString() {
+                    return "GridDhtAtomicBatchUpdateRequest handler " +
+                        "[msgIdx=" + GridDhtAtomicBatchUpdateRequest.CACHE_MSG_IDX + ']';
+                }
+            });
+
         ctx.io().addCacheHandler(
             ctx.cacheId(),
             GridDhtAtomicUpdateResponse.class,
@@ -3207,6 +3241,40 @@ public class GridDhtAtomicCache<K, V> extends GridDhtCacheAdapter<K, V> {
         }
     }
 
+    /**
+     * Sends DHT update request to backup or near reader node, the request may be coalesced with other requests
+     * sent to the same node by the current thread.
+     *
+     * @param req DHT update request.
+     * @throws IgniteCheckedException If failed.
+     */
+    void sendDhtRequest(GridDhtAtomicAbstractUpdateRequest req) throws IgniteCheckedException {
+        if (backupUpdBatcher != null)
+            backupUpdBatcher.send(req);
+        else
+            ctx.io().send(req.nodeId(), req, ctx.ioPolicy());
+    }
+
+    /**
+     * Processes requests of the batch. All requests of the batch belong to the same partition, so they are processed
+     * by the stripe of the partition in the order they were sent.
+     *
+     * @param nodeId Sender node ID.
+     * @param batch Batch of DHT atomic update requests.
+     */
+    private void processDhtAtomicBatchUpdateRequest(UUID nodeId, GridDhtAtomicBatchUpdateRequest batch) {
+        if (msgLog.isDebugEnabled()) {
+            msgLog.debug("Received DHT atomic batch update request [size=" + batch.size() +
+                ", part=" + batch.partition() + ", node=" + nodeId + ']');
+        }
+
+        for (GridDhtAtomicAbstractUpdateRequest req : batch.requests()) {
+            assert req.partition() == batch.partition() : req;
+
+            processDhtAtomicUpdateRequest(nodeId, req);
+        }
+    }
+
     /**
      * @param nodeId Sender node ID.
      * @param req Dht atomic update request.
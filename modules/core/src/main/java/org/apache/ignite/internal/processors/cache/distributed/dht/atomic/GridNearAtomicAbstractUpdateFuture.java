@@ -45,6 +45,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheMvccManager;
 import org.apache.ignite.internal.processors.cache.GridCacheOperation;
 import org.apache.ignite.internal.processors.cache.GridCacheReturn;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearPartitionVersions;
 import org.apache.ignite.internal.processors.tracing.MTC;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
@@ -123,6 +124,10 @@ public abstract class GridNearAtomicAbstractUpdateFuture extends GridCacheFuture
     /** Near cache flag. */
     protected final boolean nearEnabled;
 
+    /** Near cache partition versions, not {@code null} if the near node is not registered as a reader. */
+    @GridToStringExclude
+    private final GridNearPartitionVersions nearPartVers;
+
     /** Deployment class loader id which will be used for deserialization of entries on a distributed task. */
     @GridToStringExclude
     protected final IgniteUuid deploymentLdrId;
@@ -210,7 +215,10 @@ public abstract class GridNearAtomicAbstractUpdateFuture extends GridCacheFuture
         this.recovery = recovery;
         this.deploymentLdrId = U.contextDeploymentClassLoaderId(cctx.kernalContext());
 
-        nearEnabled = CU.isNearEnabled(cctx);
+        nearPartVers = CU.isNearEnabled(cctx) ? cctx.dht().near().partitionVersions() : null;
+
+        // Near entries of the updated partitions are invalidated instead of being updated with the primary response.
+        nearEnabled = CU.isNearEnabled(cctx) && nearPartVers == null;
 
         this.remapCnt = remapCnt;
     }
@@ -286,6 +294,11 @@ public abstract class GridNearAtomicAbstractUpdateFuture extends GridCacheFuture
      */
     protected abstract void mapOnTopology();
 
+    /**
+     * @return Updated keys.
+     */
+    protected abstract Collection<?> updatedKeys();
+
     /** {@inheritDoc} */
     @Override public IgniteUuid futureId() {
         throw new UnsupportedOperationException();
@@ -381,6 +394,9 @@ public abstract class GridNearAtomicAbstractUpdateFuture extends GridCacheFuture
         if (futId != null)
             cctx.mvcc().removeAtomicFuture(futId);
 
+        if (nearPartVers != null)
+            nearPartVers.invalidateKeys(updatedKeys());
+
         super.onDone(retval, err);
     }
 
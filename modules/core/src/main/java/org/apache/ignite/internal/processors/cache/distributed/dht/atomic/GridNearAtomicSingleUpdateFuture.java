@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.cache.distributed.dht.atomic;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -687,6 +688,11 @@ public class GridNearAtomicSingleUpdateFuture extends GridNearAtomicAbstractUpda
         completeFuture(opRes, err, futId);
     }
 
+    /** {@inheritDoc} */
+    @Override protected Collection<?> updatedKeys() {
+        return Collections.singleton(key);
+    }
+
     /**
      * @return {@code True} can use 'single' update requests.
      */
@@ -1170,6 +1170,11 @@ public class GridNearAtomicUpdateFuture extends GridNearAtomicAbstractUpdateFutu
         return new PrimaryRequestState(req, nodes, true);
     }
 
+    /** {@inheritDoc} */
+    @Override protected Collection<?> updatedKeys() {
+        return keys;
+    }
+
     /** {@inheritDoc} */
     @Override public synchronized String toString() {
         return S.toString(GridNearAtomicUpdateFuture.class, this, super.toString());
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.topology;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.Callable;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.GridCacheAdapter;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.resources.IgniteInstanceResource;
+
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Collects update counters of local owning partitions of a cache. Counters of partitions which are not owned by
+ * the node are zero.
+ */
+@GridInternal
+public class PartitionUpdateCountersCallable implements Callable<long[]>, Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Cache name. */
+    private final String cacheName;
+
+    /** */
+    @IgniteInstanceResource
+    private transient Ignite ignite;
+
+    /**
+     * @param cacheName Cache name.
+     */
+    public PartitionUpdateCountersCallable(String cacheName) {
+        this.cacheName = cacheName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] call() {
+        GridCacheAdapter<?, ?> cache = ((IgniteEx)ignite).context().cache().internalCache(cacheName);
+
+        if (cache == null)
+            return new long[0];
+
+        GridCacheContext<?, ?> cctx = cache.context();
+
+        long[] cntrs = new long[cctx.affinity().partitions()];
+
+        for (GridDhtLocalPartition part : cctx.topology().currentLocalPartitions()) {
+            if (part.state() == OWNING)
+                cntrs[part.id()] = part.updateCounter();
+        }
+
+        return cntrs;
+    }
+
+    /**
+     * @param res Counters collected from the data nodes.
+     * @return Maximum counter of every partition.
+     */
+    public static long[] merge(Collection<long[]> res) {
+        long[] cntrs = new long[0];
+
+        for (long[] nodeCntrs : res) {
+            if (nodeCntrs.length > cntrs.length)
+                cntrs = Arrays.copyOf(cntrs, nodeCntrs.length);
+
+            for (int p = 0; p < nodeCntrs.length; p++)
+                cntrs[p] = Math.max(cntrs[p], nodeCntrs[p]);
+        }
+
+        return cntrs;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(PartitionUpdateCountersCallable.class, this);
+    }
+}
@@ -86,6 +86,9 @@ public class GridNearAtomicCache<K, V> extends GridNearCacheAdapter<K, V> {
     /** Remove queue. */
     private FastSizeDeque<T2<KeyCacheObject, GridCacheVersion>> rmvQueue;
 
+    /** Partition versions, {@code null} if readers are tracked. */
+    private GridNearPartitionVersions partVers;
+
     /**
      * Empty constructor required for {@link Externalizable}.
      */
@@ -113,6 +116,27 @@ public class GridNearAtomicCache<K, V> extends GridNearCacheAdapter<K, V> {
                 processGetResponse(nodeId, res);
             }
         });
+
+        long refreshInterval = ctx.config().getNearConfiguration().getPartitionVersionsRefreshInterval();
+
+        if (refreshInterval > 0) {
+            partVers = new GridNearPartitionVersions(ctx, refreshInterval);
+
+            partVers.start();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void stop() {
+        super.stop();
+
+        if (partVers != null)
+            partVers.stop();
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public GridNearPartitionVersions partitionVersions() {
+        return partVers;
     }
 
     /**
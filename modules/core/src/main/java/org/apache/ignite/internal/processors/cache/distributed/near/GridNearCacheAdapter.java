@@ -116,6 +116,13 @@ public abstract class GridNearCacheAdapter<K, V> extends GridDistributedCacheAda
      */
     public abstract GridDhtCacheAdapter<K, V> dht();
 
+    /**
+     * @return Partition versions if near entries are validated by partition versions instead of reader tracking.
+     */
+    @Nullable public GridNearPartitionVersions partitionVersions() {
+        return null;
+    }
+
     /** {@inheritDoc} */
     @Override public void onReconnected() {
         map = new GridCacheLocalConcurrentMap(
@@ -62,6 +62,9 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
     /** */
     private short evictReservations;
 
+    /** Partition versions stamp taken before the value was requested. */
+    private long partVerStamp = -1;
+
     /**
      * @param ctx Cache context.
      * @param key Cache key.
@@ -94,6 +97,11 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
     @Override public boolean valid(AffinityTopologyVersion topVer) {
         assert topVer.topologyVersion() > 0 : "Topology version is invalid: " + topVer;
 
+        GridNearPartitionVersions partVers = cctx.near().partitionVersions();
+
+        if (partVers != null && !partVers.valid(part, partVerStamp))
+            return false;
+
         AffinityTopologyVersion topVer0 = this.topVer;
 
         if (topVer0.equals(topVer))
@@ -355,6 +363,7 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
      * @param expireTime Expiration time.
      * @param evt Event flag.
      * @param topVer Topology version.
+     * @param partVerStamp Partition versions stamp taken before the value was requested.
      * @param subjId Subject ID.
      * @return {@code True} if initial value was set.
      * @throws IgniteCheckedException In case of error.
@@ -370,6 +379,7 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
         boolean evt,
         boolean keepBinary,
         AffinityTopologyVersion topVer,
+        long partVerStamp,
         UUID subjId)
         throws IgniteCheckedException, GridCacheEntryRemovedException {
         assert dhtVer != null;
@@ -396,6 +406,7 @@ public class GridNearCacheEntry extends GridDistributedCacheEntry {
                 updatePlatformCache(val, topVer);
 
                 this.dhtVer = dhtVer;
+                this.partVerStamp = partVerStamp;
 
                 ret = true;
             }
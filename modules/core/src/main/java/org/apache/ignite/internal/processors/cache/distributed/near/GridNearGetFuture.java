@@ -70,6 +70,9 @@ public final class GridNearGetFuture<K, V> extends CacheDistributedGetFutureAdap
     /** */
     private GridCacheVersion ver;
 
+    /** Partition versions stamp, {@code -1} if readers are tracked. */
+    private final long partVerStamp;
+
     /**
      * @param cctx Context.
      * @param keys Keys.
@@ -121,6 +124,10 @@ public final class GridNearGetFuture<K, V> extends CacheDistributedGetFutureAdap
 
         ver = tx == null ? cctx.cache().nextVersion() : tx.xidVersion();
 
+        GridNearPartitionVersions partVers = cctx.near().partitionVersions();
+
+        partVerStamp = partVers != null ? partVers.stamp() : -1;
+
         initLogger(GridNearGetFuture.class);
     }
 
@@ -672,6 +679,7 @@ public final class GridNearGetFuture<K, V> extends CacheDistributedGetFutureAdap
                             true,
                             !deserializeBinary,
                             topVer,
+                            partVerStamp,
                             subjId);
                     }
 
@@ -773,7 +781,7 @@ public final class GridNearGetFuture<K, V> extends CacheDistributedGetFutureAdap
                 taskName == null ? 0 : taskName.hashCode(),
                 expiryPlc != null ? expiryPlc.forCreate() : -1L,
                 expiryPlc != null ? expiryPlc.forAccess() : -1L,
-                true,
+                partVerStamp < 0,
                 skipVals,
                 cctx.deploymentEnabled(),
                 recovery,
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.distributed.near;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.PartitionUpdateCountersCallable;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutProcessor;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+import static org.apache.ignite.internal.GridClosureCallMode.BROADCAST;
+
+/**
+ * Partition versions of a near cache which doesn't register itself as a reader on primary nodes.
+ * <p>
+ * A near entry remembers the {@link #stamp() stamp} taken before its value was requested from a data node and
+ * is valid while the version of its partition doesn't exceed the stamp. The version of a partition is moved
+ * forward when the partition is updated by this node and when a periodic refresh finds out that the update
+ * counter of the partition on the data nodes has changed since the previous refresh.
+ */
+public class GridNearPartitionVersions {
+    /** Cache context. */
+    private final GridCacheContext<?, ?> cctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Refresh interval. */
+    private final long refreshInterval;
+
+    /** Sequence to generate stamps and versions. */
+    private final AtomicLong seq = new AtomicLong();
+
+    /** Partition versions. */
+    private final AtomicLongArray vers;
+
+    /** Update counters of the previous refresh, accessed by one refresh at a time. */
+    private final long[] lastCntrs;
+
+    /** Refresh in progress flag. */
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /** Refresh task. */
+    private volatile GridTimeoutProcessor.CancelableTask refreshTask;
+
+    /**
+     * @param cctx Cache context.
+     * @param refreshInterval Refresh interval.
+     */
+    GridNearPartitionVersions(GridCacheContext<?, ?> cctx, long refreshInterval) {
+        assert refreshInterval > 0 : refreshInterval;
+
+        this.cctx = cctx;
+        this.refreshInterval = refreshInterval;
+
+        log = cctx.logger(GridNearPartitionVersions.class);
+
+        int parts = cctx.affinity().partitions();
+
+        vers = new AtomicLongArray(parts);
+        lastCntrs = new long[parts];
+    }
+
+    /**
+     * Starts periodic refresh.
+     */
+    void start() {
+        refreshTask = cctx.kernalContext().timeout().schedule(this::refresh, refreshInterval, refreshInterval);
+    }
+
+    /**
+     * Stops periodic refresh.
+     */
+    void stop() {
+        GridTimeoutProcessor.CancelableTask task = refreshTask;
+
+        if (task != null)
+            task.close();
+    }
+
+    /**
+     * @return Stamp to take before a value is requested from a data node.
+     */
+    public long stamp() {
+        return seq.get();
+    }
+
+    /**
+     * @param part Partition.
+     * @param stamp Stamp taken before the value of a near entry was requested.
+     * @return {@code True} if the partition wasn't updated since the stamp was taken.
+     */
+    public boolean valid(int part, long stamp) {
+        return vers.get(part) <= stamp;
+    }
+
+    /**
+     * Invalidates near entries of the partition loaded before this call.
+     *
+     * @param part Partition.
+     */
+    public void invalidate(int part) {
+        long ver = seq.incrementAndGet();
+
+        vers.accumulateAndGet(part, ver, Math::max);
+    }
+
+    /**
+     * Invalidates near entries of partitions of the keys.
+     *
+     * @param keys Keys.
+     */
+    public void invalidateKeys(Collection<?> keys) {
+        for (Object key : keys)
+            invalidate(cctx.affinity().partition(key));
+    }
+
+    /**
+     * Pulls update counters from the data nodes and invalidates partitions updated since the previous refresh.
+     */
+    void refresh() {
+        if (!refreshing.compareAndSet(false, true))
+            return;
+
+        IgniteInternalFuture<Collection<long[]>> fut;
+
+        try {
+            Collection<ClusterNode> nodes = cctx.discovery().cacheGroupAffinityNodes(cctx.groupId(),
+                cctx.affinity().affinityTopologyVersion());
+
+            if (F.isEmpty(nodes)) {
+                refreshing.set(false);
+
+                return;
+            }
+
+            fut = cctx.kernalContext().closure().callAsync(BROADCAST,
+                Collections.singletonList(new PartitionUpdateCountersCallable(cctx.name())), nodes, true, null);
+        }
+        catch (Throwable e) {
+            refreshing.set(false);
+
+            U.warn(log, "Failed to refresh near cache partition versions [cache=" + cctx.name() +
+                ", err=" + e + ']');
+
+            return;
+        }
+
+        fut.listen(f -> {
+            try {
+                onCounters(PartitionUpdateCountersCallable.merge(f.get()));
+            }
+            catch (Throwable e) {
+                // Counters are pulled again on the next refresh.
+                if (log.isDebugEnabled())
+                    log.debug("Failed to refresh near cache partition versions [cache=" + cctx.name() +
+                        ", err=" + e + ']');
+            }
+            finally {
+                refreshing.set(false);
+            }
+        });
+    }
+
+    /**
+     * @param cntrs Maximum update counters of the partitions over the data nodes.
+     */
+    void onCounters(long[] cntrs) {
+        for (int p = 0; p < Math.min(cntrs.length, lastCntrs.length); p++) {
+            if (cntrs[p] != lastCntrs[p]) {
+                lastCntrs[p] = cntrs[p];
+
+                invalidate(p);
+            }
+        }
+    }
+}
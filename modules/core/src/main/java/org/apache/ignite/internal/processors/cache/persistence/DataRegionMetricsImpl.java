@@ -116,6 +116,18 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /** */
     private final LongAdderMetric replacedPages;
 
+    /** Number of pages read by prefetch. */
+    private final LongAdderMetric prefetchedPages;
+
+    /** Number of prefetched pages accessed before replacement. */
+    private final LongAdderMetric prefetchHits;
+
+    /** Number of prefetched pages replaced without being accessed. */
+    private final LongAdderMetric prefetchWasted;
+
+    /** Number of pages loaded by readers while they were queued for prefetch. */
+    private final LongAdderMetric prefetchLate;
+
     /** */
     private final AtomicLongMetric offHeapSize;
 
@@ -235,6 +247,18 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         replacedPages = mreg.longAdderMetric("PagesReplaced",
             "Number of pages replaced from last restart.");
 
+        prefetchedPages = mreg.longAdderMetric("PagesPrefetched",
+            "Number of pages read ahead of use by prefetch from last restart.");
+
+        prefetchHits = mreg.longAdderMetric("PrefetchHits",
+            "Number of prefetched pages which were accessed before being replaced.");
+
+        prefetchWasted = mreg.longAdderMetric("PrefetchWasted",
+            "Number of prefetched pages which were replaced without being accessed.");
+
+        prefetchLate = mreg.longAdderMetric("PrefetchLate",
+            "Number of pages read by a reader while they were still queued for prefetch.");
+
         offHeapSize = mreg.longMetric("OffHeapSize",
             "Offheap size in bytes.");
 
@@ -256,6 +280,9 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         mreg.longMetric("MaxSize", "Maximum memory region size in bytes defined by its data region.")
             .value(dataRegionCfg.getMaxSize());
 
+        mreg.register("PageReplacementMode", () -> dataRegionCfg.getPageReplacementMode().name(), String.class,
+            "Page replacement mode defined by its data region.");
+
         dataRegionPageMetrics = PageMetricsImpl.builder(mreg)
             .totalPagesCallback(new LongAdderWithDelegateMetric.Delegate() {
                 @Override public void increment() {
@@ -513,6 +540,56 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
             readPages.increment();
     }
 
+    /**
+     * Updates prefetched pages.
+     */
+    public void onPagePrefetched() {
+        if (metricsEnabled)
+            prefetchedPages.increment();
+    }
+
+    /**
+     * Updates prefetch hits.
+     */
+    public void onPrefetchHit() {
+        if (metricsEnabled)
+            prefetchHits.increment();
+    }
+
+    /**
+     * Updates prefetched pages replaced without being accessed.
+     */
+    public void onPrefetchWasted() {
+        if (metricsEnabled)
+            prefetchWasted.increment();
+    }
+
+    /**
+     * Updates pages read by a reader while they were queued for prefetch.
+     */
+    public void onPrefetchLate() {
+        if (metricsEnabled)
+            prefetchLate.increment();
+    }
+
+    /**
+     * Updates page hits or misses of the cache group.
+     *
+     * @param grpId Cache group ID.
+     * @param hit {@code True} if the page was found in memory.
+     */
+    public void onPageAccess(int grpId, boolean hit) {
+        if (!metricsEnabled)
+            return;
+
+        PageMetrics metrics = cacheGrpPageMetrics(grpId);
+
+        if (hit)
+            metrics.pageHits().increment();
+        else
+            metrics.pageMisses().increment();
+    }
+
     /**
      * Updates page written.
      */
@@ -591,6 +668,8 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         return PageMetricsImpl.builder(registry)
             .totalPagesCallback(delegate(dataRegionPageMetrics.totalPages()))
             .indexPagesCallback(delegate(dataRegionPageMetrics.indexPages()))
+            .pageHitsCallback(delegate(dataRegionPageMetrics.pageHits()))
+            .pageMissesCallback(delegate(dataRegionPageMetrics.pageMisses()))
             .build();
     }
 
@@ -753,6 +832,10 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         readPages.reset();
         writtenPages.reset();
         replacedPages.reset();
+        prefetchedPages.reset();
+        prefetchHits.reset();
+        prefetchWasted.reset();
+        prefetchLate.reset();
         offHeapSize.reset();
         checkpointBufSize.reset();
         allocRate.reset();
@@ -24,6 +24,7 @@ import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
 import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
+import org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -31,6 +32,10 @@ import org.apache.ignite.lang.IgniteOutClosure;
 import org.apache.ignite.mxbean.DataStorageMetricsMXBean;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.cache.CacheMetricsImpl.LATENCY_HISTOGRAM_HIGHEST;
+import static org.apache.ignite.internal.processors.cache.CacheMetricsImpl.LATENCY_HISTOGRAM_LOWEST;
+import static org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl.DFLT_SUB_BUCKET_BITS;
+
 /**
  *
  */
@@ -38,6 +43,9 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** Prefix for all data storage metrics. */
     public static final String DATASTORAGE_METRIC_PREFIX = "io.datastorage";
 
+    /** Weight of the previous value in the moving average of WAL fsync duration. */
+    private static final int WAL_FSYNC_AVG_WEIGHT = 8;
+
     /** */
     private final HitRateMetric walLoggingRate;
 
@@ -53,6 +61,9 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** */
     private final HitRateMetric walBuffPollSpinsNum;
 
+    /** */
+    private final LogLinearHistogramMetricImpl walFsyncLatency;
+
     /** */
     private final AtomicLongMetric lastCpBeforeLockDuration;
 
@@ -107,6 +118,9 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
     /** */
     private volatile boolean metricsEnabled;
 
+    /** Exponential moving average of WAL fsync duration in nanoseconds, tracked regardless of metrics enabled. */
+    private volatile long walFsyncAvg;
+
     /** WAL manager. */
     @Nullable private volatile IgniteWriteAheadLogManager wal;
 
@@ -208,6 +222,13 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
             rateTimeInterval,
             subInts);
 
+        walFsyncLatency = mreg.logLinearHistogram(
+            "WalFsyncLatency",
+            LATENCY_HISTOGRAM_LOWEST,
+            LATENCY_HISTOGRAM_HIGHEST,
+            DFLT_SUB_BUCKET_BITS,
+            "High-resolution histogram of WAL fsync durations in nanoseconds.");
+
         walBuffPollSpinsNum = mreg.hitRateMetric(
             "WalBuffPollSpinsRate",
             "WAL buffer poll spins number over the last time interval.",
@@ -825,10 +846,26 @@ public class DataStorageMetricsImpl implements DataStorageMetricsMXBean {
      * @param nanoTime Fsync nano time.
      */
     public void onFsync(long nanoTime) {
+        long avg = walFsyncAvg;
+
+        walFsyncAvg = avg == 0 ? nanoTime : avg + (nanoTime - avg) / WAL_FSYNC_AVG_WEIGHT;
+
+        if (!metricsEnabled)
+            return;
+
         long microseconds = nanoTime / 1_000;
 
         walFsyncTimeDuration.add(microseconds);
         walFsyncTimeNum.increment();
+
+        walFsyncLatency.value(nanoTime);
+    }
+
+    /**
+     * @return Moving average of WAL fsync duration in nanoseconds, {@code 0} if there was no fsync yet.
+     */
+    public long walFsyncAverage() {
+        return walFsyncAvg;
     }
 
     /**
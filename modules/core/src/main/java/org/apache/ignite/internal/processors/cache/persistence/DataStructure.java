@@ -28,6 +28,7 @@ import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.pagemem.wal.record.delta.RecycleRecord;
 import org.apache.ignite.internal.pagemem.wal.record.delta.RotatedIdPartRecord;
 import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManager;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIoResolver;
@@ -216,6 +217,24 @@ public abstract class DataStructure {
         pageMem.releasePage(grpId, pageId, page);
     }
 
+    /**
+     * @return {@code True} if page memory supports asynchronous prefetch and it is enabled.
+     */
+    protected final boolean prefetchEnabled() {
+        return pageMem instanceof PageMemoryEx && ((PageMemoryEx)pageMem).prefetchEnabled();
+    }
+
+    /**
+     * Hints page memory that the given pages are going to be read soon.
+     *
+     * @param pageIds Page IDs.
+     * @param cnt Number of page IDs to use.
+     */
+    protected final void prefetchPages(long[] pageIds, int cnt) {
+        if (pageMem instanceof PageMemoryEx)
+            ((PageMemoryEx)pageMem).prefetchPages(grpId, pageIds, cnt);
+    }
+
     /**
      * @param pageId Page ID
      * @param page Page pointer.
@@ -2913,6 +2913,15 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             delegate.update(cctx, key, val, ver, expireTime, oldRow);
         }
 
+        /** {@inheritDoc} */
+        @Override public long relocate(GridCacheContext cctx, CacheDataRow oldRow) throws IgniteCheckedException {
+            assert grp.shared().database().checkpointLockIsHeldByThread();
+
+            CacheDataStore delegate = init0(false);
+
+            return delegate.relocate(cctx, oldRow);
+        }
+
         /** {@inheritDoc} */
         @Override public boolean mvccInitialValue(
             GridCacheContext cctx,
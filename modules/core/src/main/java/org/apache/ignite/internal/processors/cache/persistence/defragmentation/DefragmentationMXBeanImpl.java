@@ -79,4 +79,25 @@ public class DefragmentationMXBeanImpl implements DefragmentationMXBean {
     @Override public long startTime() {
         return defragmentation.startTime();
     }
+
+    /** {@inheritDoc} */
+    @Override public boolean startOnline(String cacheNames) {
+        final List<String> caches = Arrays.stream(cacheNames.split(","))
+            .filter(s -> !s.isEmpty())
+            .collect(Collectors.toList());
+
+        try {
+            defragmentation.startOnline(caches);
+
+            return true;
+        }
+        catch (IgniteCheckedException e) {
+            return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean cancelOnline() {
+        return defragmentation.cancelOnline();
+    }
 }
@@ -23,6 +23,8 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Defragmentation operation service.
@@ -71,6 +73,29 @@ public interface IgniteDefragmentation {
      */
     long startTime();
 
+    /**
+     * Starts online defragmentation of persistent partitions of this node. Unlike {@link #schedule(List)}, it
+     * doesn't require maintenance mode and runs while the node serves requests. Only data pages are compacted,
+     * partition files are not truncated, so disk usage is not reduced. See {@link OnlineDefragmentation} for details.
+     *
+     * @param cacheNames Names of caches to run defragmentation on, all persistent caches if empty.
+     * @return Future completed when online defragmentation is finished or cancelled.
+     * @throws IgniteCheckedException If online defragmentation is already in progress or can't be started.
+     */
+    IgniteInternalFuture<Void> startOnline(List<String> cacheNames) throws IgniteCheckedException;
+
+    /**
+     * Cancels online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was in progress.
+     */
+    boolean cancelOnline();
+
+    /**
+     * @return The last started online defragmentation or {@code null} if it has never been started.
+     */
+    @Nullable OnlineDefragmentation onlineDefragmentation();
+
     /** Result of the scheduling. */
     public enum ScheduleResult {
         /**
@@ -16,22 +16,35 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.Status;
 import org.apache.ignite.maintenance.MaintenanceAction;
 import org.apache.ignite.maintenance.MaintenanceRegistry;
 import org.apache.ignite.maintenance.MaintenanceTask;
+import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_FILL_FACTOR;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_RATE;
 import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.DEFRAGMENTATION_MNTC_TASK_NAME;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_FILL_FACTOR;
+import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentation.DFLT_ONLINE_DEFRAGMENTATION_RATE;
 import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.maintenance.DefragmentationParameters.toStore;
 
 /**
@@ -41,6 +54,9 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
     /** Kernal context. */
     private final GridKernalContext ctx;
 
+    /** The last started online defragmentation. */
+    private volatile OnlineDefragmentation online;
+
     public IgniteDefragmentationImpl(GridKernalContext ctx) {
         this.ctx = ctx;
     }
@@ -196,6 +212,56 @@ public class IgniteDefragmentationImpl implements IgniteDefragmentation {
         return status.getStartTs();
     }
 
+    /** {@inheritDoc} */
+    @Override public synchronized IgniteInternalFuture<Void> startOnline(List<String> cacheNames)
+        throws IgniteCheckedException {
+        if (ctx.maintenanceRegistry().isMaintenanceMode())
+            throw new IgniteCheckedException("Online defragmentation can't be started in maintenance mode.");
+
+        OnlineDefragmentation online0 = online;
+
+        if (online0 != null && online0.inProgress())
+            throw new IgniteCheckedException("Online defragmentation is already in progress.");
+
+        Set<String> names = new HashSet<>(cacheNames);
+
+        List<CacheGroupContext> grps = new ArrayList<>();
+
+        for (CacheGroupContext grp : ctx.cache().cacheGroups()) {
+            if (!grp.userCache() || !grp.persistenceEnabled() || grp.mvccEnabled() || grp.isLocal())
+                continue;
+
+            if (!names.isEmpty() && grp.caches().stream().noneMatch(cctx -> names.contains(cctx.name())))
+                continue;
+
+            grps.add(grp);
+        }
+
+        online = online0 = new OnlineDefragmentation(
+            ctx.cache().context(),
+            grps,
+            IgniteSystemProperties.getDouble(IGNITE_ONLINE_DEFRAGMENTATION_FILL_FACTOR,
+                DFLT_ONLINE_DEFRAGMENTATION_FILL_FACTOR),
+            IgniteSystemProperties.getInteger(IGNITE_ONLINE_DEFRAGMENTATION_RATE, DFLT_ONLINE_DEFRAGMENTATION_RATE),
+            IgniteSystemProperties.getDouble(IGNITE_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE,
+                DFLT_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE)
+        );
+
+        return online0.start();
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean cancelOnline() {
+        OnlineDefragmentation online0 = online;
+
+        return online0 != null && online0.cancel();
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public OnlineDefragmentation onlineDefragmentation() {
+        return online;
+    }
+
     /**
      * Get defragmentation status.
      * @return Defragmentation status or {@code null} if there is no ongoing defragmentation.
@@ -0,0 +1,477 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointListener;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.AbstractDataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Defragmentation of persistent partitions which runs while the node serves requests.
+ * <p>
+ * Partitions are processed one by one. Rows located in sparsely filled data pages are moved to data pages chosen
+ * by the free list, which prefers the fullest pages with enough free space. Indexes, pending entries and the update
+ * log referencing a moved row are updated with its new link the same way as on a regular update. Data pages
+ * left without rows are returned to the reuse list.
+ * <p>
+ * Every row is moved under the lock of its entry and the checkpoint read lock, so moves are logged and
+ * checkpointed as regular updates. Moves are paced by checkpoints: after every checkpoint the rate of moves is set to
+ * a share of the checkpoint write speed in pages per second, bounded by the maximum rate. Moves are also suspended
+ * while page memory waits for a checkpoint to free dirty pages.
+ * <p>
+ * Online defragmentation doesn't reduce disk usage: partition files are never truncated and keep their size.
+ * Releasing the file tail would require relocating index and meta pages located there, which is not supported.
+ * Index pages are not compacted either, B+ trees merge sparse pages on remove only. Use maintenance mode
+ * defragmentation, see {@link IgniteDefragmentation#schedule(List)}, to shrink partition files.
+ */
+public class OnlineDefragmentation {
+    /** Default fill factor of a data page below which rows are moved out of the page. */
+    public static final double DFLT_ONLINE_DEFRAGMENTATION_FILL_FACTOR = 0.5;
+
+    /** Default maximum number of rows moved per second. */
+    public static final int DFLT_ONLINE_DEFRAGMENTATION_RATE = 10_000;
+
+    /** Default share of checkpoint write speed used as the rate of moves. */
+    public static final double DFLT_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE = 0.1;
+
+    /** Maximum number of data pages remembered as sparse or dense while a partition is processed. */
+    private static final int MAX_CHECKED_PAGES = 64 * 1024;
+
+    /** Shared context. */
+    private final GridCacheSharedContext<?, ?> sctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Cache groups. */
+    private final List<CacheGroupContext> grps;
+
+    /** Fill factor. */
+    private final double fillFactor;
+
+    /** Maximum number of rows moved per second, {@code 0} for unlimited rate. */
+    private final int maxRate;
+
+    /** Share of checkpoint write speed used as the rate of moves, {@code 0} if moves are not paced by checkpoints. */
+    private final double cpShare;
+
+    /** Rate limiter. */
+    private final BasicRateLimiter rateLimiter;
+
+    /** Checkpoint listener which adjusts the rate of moves. */
+    private final CheckpointListener cpLsnr = new CheckpointPacer();
+
+    /** Completion future. */
+    private final GridFutureAdapter<Void> fut = new GridFutureAdapter<>();
+
+    /** Start timestamp. */
+    private final long startTs = U.currentTimeMillis();
+
+    /** Total number of partitions. */
+    private volatile int totalParts;
+
+    /** Number of processed partitions. */
+    private final AtomicInteger processedParts = new AtomicInteger();
+
+    /** Number of sparse data pages found. */
+    private final LongAdder sparsePages = new LongAdder();
+
+    /** Number of moved rows. */
+    private final LongAdder movedRows = new LongAdder();
+
+    /** Cancelled flag. */
+    private volatile boolean cancelled;
+
+    /**
+     * @param sctx Shared context.
+     * @param grps Cache groups.
+     * @param fillFactor Fill factor of a data page below which rows are moved out of the page.
+     * @param maxRate Maximum number of rows moved per second, {@code 0} for unlimited rate.
+     * @param cpShare Share of checkpoint write speed used as the rate of moves, {@code 0} if moves are not paced by
+     *      checkpoints.
+     */
+    public OnlineDefragmentation(
+        GridCacheSharedContext<?, ?> sctx,
+        Collection<CacheGroupContext> grps,
+        double fillFactor,
+        int maxRate,
+        double cpShare
+    ) {
+        assert fillFactor > 0 && fillFactor <= 1 : fillFactor;
+        assert maxRate >= 0 : maxRate;
+        assert cpShare >= 0 : cpShare;
+
+        this.sctx = sctx;
+        this.grps = new ArrayList<>(grps);
+        this.fillFactor = fillFactor;
+        this.maxRate = maxRate;
+        this.cpShare = cpShare;
+
+        log = sctx.logger(OnlineDefragmentation.class);
+        rateLimiter = new BasicRateLimiter(maxRate);
+    }
+
+    /**
+     * Starts defragmentation in a separate thread.
+     *
+     * @return Future completed when all partitions are processed or defragmentation is cancelled.
+     */
+    public IgniteInternalFuture<Void> start() {
+        new IgniteThread(sctx.igniteInstanceName(), "online-defragmentation", this::run).start();
+
+        return fut;
+    }
+
+    /**
+     * Cancels defragmentation. Rows which are already moved stay in their new pages.
+     *
+     * @return {@code True} if defragmentation was in progress.
+     */
+    public boolean cancel() {
+        cancelled = true;
+
+        return !fut.isDone();
+    }
+
+    /** */
+    private void run() {
+        GridCacheDatabaseSharedManager db = cpShare > 0 && sctx.database() instanceof GridCacheDatabaseSharedManager ?
+            (GridCacheDatabaseSharedManager)sctx.database() : null;
+
+        if (db != null)
+            db.addCheckpointListener(cpLsnr);
+
+        try {
+            totalParts = grps.stream().mapToInt(grp -> grp.topology().localPartitions().size()).sum();
+
+            if (log.isInfoEnabled())
+                log.info("Online defragmentation started [grps=" + grps.size() + ", parts=" + totalParts +
+                    ", fillFactor=" + fillFactor + ", maxRate=" + maxRate + ", cpShare=" + cpShare + ']');
+
+            for (CacheGroupContext grp : grps) {
+                for (GridDhtLocalPartition part : grp.topology().localPartitions()) {
+                    if (stopped())
+                        break;
+
+                    if (part.state() == OWNING && part.reserve()) {
+                        try {
+                            if (part.state() == OWNING)
+                                defragmentPartition(grp, part);
+                        }
+                        finally {
+                            part.release();
+                        }
+                    }
+
+                    processedParts.incrementAndGet();
+                }
+            }
+
+            if (log.isInfoEnabled())
+                log.info("Online defragmentation " + (stopped() ? "cancelled" : "finished") +
+                    " [parts=" + processedParts.get() + ", sparsePages=" + sparsePages.sum() +
+                    ", movedRows=" + movedRows.sum() + ", time=" + (U.currentTimeMillis() - startTs) + "ms]");
+
+            fut.onDone();
+        }
+        catch (NodeStoppingException e) {
+            fut.onDone(e);
+        }
+        catch (Throwable e) {
+            U.error(log, "Online defragmentation failed.", e);
+
+            fut.onDone(e);
+        }
+        finally {
+            if (db != null)
+                db.removeCheckpointListener(cpLsnr);
+        }
+    }
+
+    /**
+     * @param grp Cache group.
+     * @param part Reserved partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void defragmentPartition(CacheGroupContext grp, GridDhtLocalPartition part) throws IgniteCheckedException {
+        CacheDataStore store = part.dataStore();
+
+        PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+
+        int maxFree = (int)(pageMem.realPageSize(grp.groupId()) * (1 - fillFactor));
+
+        Map<Long, Boolean> checkedPages = new HashMap<>();
+
+        GridCursor<? extends CacheDataRow> cur = store.cursor(CacheDataRowAdapter.RowData.KEY_ONLY);
+
+        while (cur.next()) {
+            if (stopped() || part.state() != OWNING)
+                return;
+
+            CacheDataRow row = cur.get();
+
+            long pageId = PageIdUtils.pageId(row.link());
+
+            Boolean sparse = checkedPages.get(pageId);
+
+            if (sparse == null) {
+                if (checkedPages.size() == MAX_CHECKED_PAGES)
+                    checkedPages.clear();
+
+                sparse = freeSpace(pageMem, grp.groupId(), pageId) > maxFree;
+
+                if (sparse)
+                    sparsePages.increment();
+
+                checkedPages.put(pageId, sparse);
+            }
+
+            if (!sparse)
+                continue;
+
+            GridCacheContext<?, ?> cctx = grp.sharedGroup() ? sctx.cacheContext(row.cacheId()) :
+                grp.singleCacheContext();
+
+            if (cctx == null || cctx.cacheObjectContext().compressionStrategy() != null)
+                continue;
+
+            if (cctx.isNear())
+                cctx = cctx.near().dht().context();
+
+            rateLimiter.acquire(1);
+
+            while (!pageMem.safeToUpdate() && !stopped())
+                U.sleep(10);
+
+            if (move(cctx, store, row.key(), row.link()))
+                movedRows.increment();
+        }
+    }
+
+    /**
+     * @param cctx Cache context.
+     * @param store Data store.
+     * @param key Key.
+     * @param link Link of the row seen by the cursor.
+     * @return {@code True} if the row was moved.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean move(GridCacheContext<?, ?> cctx, CacheDataStore store, KeyCacheObject key, long link)
+        throws IgniteCheckedException {
+        GridCacheEntryEx entry = cctx.cache().entryEx(key);
+
+        sctx.database().checkpointReadLock();
+
+        try {
+            entry.lockEntry();
+
+            try {
+                if (entry.obsolete())
+                    return false;
+
+                CacheDataRow row = store.find(cctx, key);
+
+                // The row was updated or removed after the cursor had seen it.
+                if (row == null || row.link() != link || row.tombstone())
+                    return false;
+
+                store.relocate(cctx, row);
+
+                return true;
+            }
+            finally {
+                entry.unlockEntry();
+            }
+        }
+        finally {
+            sctx.database().checkpointReadUnlock();
+
+            entry.touch();
+        }
+    }
+
+    /**
+     * @param pageMem Page memory.
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @return Free space of the data page or {@code 0} if the page is not a data page anymore.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static int freeSpace(PageMemoryEx pageMem, int grpId, long pageId) throws IgniteCheckedException {
+        long page = pageMem.acquirePage(grpId, pageId);
+
+        try {
+            long pageAddr = pageMem.readLock(grpId, pageId, page);
+
+            if (pageAddr == 0L)
+                return 0;
+
+            try {
+                if (PageIO.getType(pageAddr) != PageIO.T_DATA)
+                    return 0;
+
+                AbstractDataPageIO<?> io = PageIO.getPageIO(pageAddr);
+
+                return io.getFreeSpace(pageAddr);
+            }
+            finally {
+                pageMem.readUnlock(grpId, pageId, page);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, pageId, page);
+        }
+    }
+
+    /**
+     * @return {@code True} if defragmentation is cancelled or the node is stopping.
+     */
+    private boolean stopped() {
+        return cancelled || sctx.kernalContext().isStopping();
+    }
+
+    /**
+     * @return {@code True} if defragmentation is in progress.
+     */
+    public boolean inProgress() {
+        return !fut.isDone();
+    }
+
+    /**
+     * @return Start timestamp.
+     */
+    public long startTime() {
+        return startTs;
+    }
+
+    /**
+     * @return Total number of partitions.
+     */
+    public int totalPartitions() {
+        return totalParts;
+    }
+
+    /**
+     * @return Number of processed partitions.
+     */
+    public int processedPartitions() {
+        return processedParts.get();
+    }
+
+    /**
+     * @return Number of sparse data pages found.
+     */
+    public long sparsePages() {
+        return sparsePages.sum();
+    }
+
+    /**
+     * @return Number of moved rows.
+     */
+    public long movedRows() {
+        return movedRows.sum();
+    }
+
+    /**
+     * @return Current rate of moves in rows per second, {@code 0} for unlimited rate.
+     */
+    public double rate() {
+        return rateLimiter.getRate();
+    }
+
+    /**
+     * Sets the rate of moves to a share of the write speed of the last checkpoint.
+     */
+    private class CheckpointPacer implements CheckpointListener {
+        /** Number of pages written by the current checkpoint. */
+        private volatile int cpPages;
+
+        /** Start time of writing pages of the current checkpoint in nanoseconds. */
+        private volatile long cpStartNanos;
+
+        /** {@inheritDoc} */
+        @Override public void beforeCheckpointBegin(Context ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onMarkCheckpointBegin(Context ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onCheckpointBegin(Context ctx) {
+            cpPages = ctx.progress().currentCheckpointPagesCount();
+            cpStartNanos = System.nanoTime();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void afterCheckpointEnd(Context ctx) {
+            int pages = cpPages;
+
+            // Nothing was written, checkpoint speed is unknown.
+            if (pages == 0)
+                return;
+
+            cpPages = 0;
+
+            long nanos = Math.max(System.nanoTime() - cpStartNanos, 1);
+
+            double rate = Math.max(1, cpShare * pages * 1_000_000_000 / nanos);
+
+            if (maxRate > 0)
+                rate = Math.min(rate, maxRate);
+
+            rateLimiter.setRate(rate);
+
+            if (log.isDebugEnabled())
+                log.debug("Online defragmentation rate is updated [cpPages=" + pages + ", cpTime=" +
+                    U.nanosToMillis(nanos) + "ms, rate=" + rate + ']');
+        }
+    }
+}
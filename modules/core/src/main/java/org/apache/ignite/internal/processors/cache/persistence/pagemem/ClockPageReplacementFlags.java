@@ -52,7 +52,8 @@ public class ClockPageReplacementFlags {
      * @return Page index to replace.
      */
     public int poll() {
-        // This method is always executed under exclusive lock, no other synchronization or CAS required.
+        // This method is always executed under exclusive lock, but hit flags can be set concurrently without
+        // the segment lock (see PageMemoryImpl optimistic lookup), so flags are cleared by CAS.
         while (true) {
             if (curIdx >= pagesCnt)
                 curIdx = 0;
@@ -62,7 +63,8 @@ public class ClockPageReplacementFlags {
             long flags = GridUnsafe.getLong(ptr);
 
             if (((curIdx & 63) == 0) && (flags == ~0L)) {
-                GridUnsafe.putLong(ptr, 0L);
+                if (!GridUnsafe.compareAndSwapLong(null, ptr, flags, 0L))
+                    continue;
 
                 curIdx += 64;
 
@@ -74,14 +76,16 @@ public class ClockPageReplacementFlags {
             int bitIdx = Long.numberOfTrailingZeros(~flags & mask);
 
             if (bitIdx == 64) {
-                GridUnsafe.putLong(ptr, flags & ~mask);
+                if (!GridUnsafe.compareAndSwapLong(null, ptr, flags, flags & ~mask))
+                    continue;
 
                 curIdx = (curIdx & ~63) + 64;
             }
             else {
                 mask &= ~(~0L << bitIdx);
 
-                GridUnsafe.putLong(ptr, flags & ~mask);
+                if (!GridUnsafe.compareAndSwapLong(null, ptr, flags, flags & ~mask))
+                    continue;
 
                 curIdx = (curIdx & ~63) + bitIdx + 1;
 
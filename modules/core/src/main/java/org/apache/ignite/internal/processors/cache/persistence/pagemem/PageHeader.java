@@ -29,6 +29,9 @@ class PageHeader {
     /** Dirty flag. */
     private static final long DIRTY_FLAG = 0x0100000000000000L;
 
+    /** Flag of a page loaded by prefetch and not accessed yet, shares the byte with page marker. */
+    private static final long PREFETCHED_FLAG = 0x0000000000000002L;
+
     /** Page relative pointer. Does not change once a page is allocated. */
     private static final int RELATIVE_PTR_OFFSET = 8;
 
@@ -44,6 +47,15 @@ class PageHeader {
     /** Page temp copy buffer relative pointer offset. */
     private static final int PAGE_TMP_BUF_OFFSET = 40;
 
+    /**
+     * Pin counter increment of a page pinned by an optimistic lookup which is not validated yet. Such pins are kept
+     * in the high bits of the counter, so they are never confused with the pins of the page users.
+     */
+    private static final int OPTIMISTIC_PIN = 1 << 20;
+
+    /** Mask of the pin counter bits which count the pins of the page users. */
+    private static final int PIN_CNT_MASK = OPTIMISTIC_PIN - 1;
+
     /**
      * @param absPtr Absolute pointer to initialize.
      * @param relative Relative pointer to write.
@@ -119,7 +131,17 @@ class PageHeader {
      * @return If page is pinned.
      */
     public static boolean isAcquired(long absPtr) {
-        return GridUnsafe.getInt(absPtr + PAGE_PIN_CNT_OFFSET) > 0;
+        long ptr = absPtr + PAGE_PIN_CNT_OFFSET;
+
+        while (true) {
+            int cnt = GridUnsafe.getIntVolatile(null, ptr);
+
+            // An optimistic pin is either confirmed or undone by its lookup without blocking, so it's waited for.
+            if ((cnt & ~PIN_CNT_MASK) == 0)
+                return cnt > 0;
+
+            Thread.yield();
+        }
     }
 
     /**
@@ -129,6 +151,35 @@ class PageHeader {
         GridUnsafe.incrementAndGetInt(absPtr + PAGE_PIN_CNT_OFFSET);
     }
 
+    /**
+     * Pins the page by a lookup made without the segment lock. The pin must be either confirmed by
+     * {@link #confirmOptimisticPin(long)} or undone by {@link #releaseOptimisticPin(long)} once the lookup
+     * is validated.
+     *
+     * @param absPtr Absolute pointer.
+     */
+    public static void acquirePageOptimistically(long absPtr) {
+        GridUnsafe.addAndGetInt(absPtr + PAGE_PIN_CNT_OFFSET, OPTIMISTIC_PIN);
+    }
+
+    /**
+     * Turns an optimistic pin into a regular one.
+     *
+     * @param absPtr Absolute pointer.
+     */
+    public static void confirmOptimisticPin(long absPtr) {
+        GridUnsafe.addAndGetInt(absPtr + PAGE_PIN_CNT_OFFSET, 1 - OPTIMISTIC_PIN);
+    }
+
+    /**
+     * Undoes an optimistic pin.
+     *
+     * @param absPtr Absolute pointer.
+     */
+    public static void releaseOptimisticPin(long absPtr) {
+        GridUnsafe.addAndGetInt(absPtr + PAGE_PIN_CNT_OFFSET, -OPTIMISTIC_PIN);
+    }
+
     /**
      * @param absPtr Absolute pointer.
      */
@@ -188,6 +239,38 @@ class PageHeader {
         return markerAndTs & ~0xFF;
     }
 
+    /**
+     * Marks page as loaded by prefetch. The mark is reset by the next timestamp update.
+     *
+     * @param absPtr Absolute page address.
+     */
+    public static void markPrefetched(long absPtr) {
+        while (true) {
+            long markerAndTs = GridUnsafe.getLongVolatile(null, absPtr);
+
+            if (GridUnsafe.compareAndSwapLong(null, absPtr, markerAndTs, markerAndTs | PREFETCHED_FLAG))
+                return;
+        }
+    }
+
+    /**
+     * Clears prefetch mark of the page.
+     *
+     * @param absPtr Absolute page address.
+     * @return {@code True} if the page was marked as prefetched.
+     */
+    public static boolean clearPrefetched(long absPtr) {
+        while (true) {
+            long markerAndTs = GridUnsafe.getLong(absPtr);
+
+            if ((markerAndTs & PREFETCHED_FLAG) == 0)
+                return false;
+
+            if (GridUnsafe.compareAndSwapLong(null, absPtr, markerAndTs, markerAndTs & ~PREFETCHED_FLAG))
+                return true;
+        }
+    }
+
     /**
      * Sets pointer to checkpoint buffer.
      *
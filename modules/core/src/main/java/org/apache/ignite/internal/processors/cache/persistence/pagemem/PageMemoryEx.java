@@ -99,6 +99,21 @@ public interface PageMemoryEx extends PageMemory {
     public long acquirePage(int grpId, long pageId, IoStatisticsHolder statHldr,
         boolean restore) throws IgniteCheckedException;
 
+    /**
+     * @return {@code True} if asynchronous page prefetch is enabled.
+     */
+    public boolean prefetchEnabled();
+
+    /**
+     * Hints that the given pages are going to be acquired soon, so they may be asynchronously loaded to memory.
+     * The method never blocks on I/O, pages which can not be prefetched right away are skipped.
+     *
+     * @param grpId Cache group ID.
+     * @param pageIds Page IDs.
+     * @param cnt Number of page IDs to use.
+     */
+    public void prefetchPages(int grpId, long[] pageIds, int cnt);
+
     /**
      * Heuristic method which allows a thread to check if it safe to start memory struture modifications
      * in regard with checkpointing. May return false-negative result during or after partition eviction.
@@ -20,11 +20,11 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadLocalRandom;
@@ -67,6 +67,9 @@ import org.apache.ignite.internal.pagemem.wal.record.delta.PageDeltaRecord;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.persistence.CheckpointLockStateChecker;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
@@ -100,6 +103,9 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_PREFETCH_MAX_DEPTH;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_PREFETCH_THREADS;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
 import static org.apache.ignite.internal.pagemem.FullPageId.NULL_PAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
@@ -163,6 +169,15 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** @see IgniteSystemProperties#IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP */
     public static final boolean DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP = true;
 
+    /** @see IgniteSystemProperties#IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP */
+    public static final boolean DFLT_PAGE_MEMORY_OPTIMISTIC_LOOKUP = true;
+
+    /** @see IgniteSystemProperties#IGNITE_PAGE_PREFETCH_THREADS */
+    public static final int DFLT_PAGE_PREFETCH_THREADS = 0;
+
+    /** @see IgniteSystemProperties#IGNITE_PAGE_PREFETCH_MAX_DEPTH */
+    public static final int DFLT_PAGE_PREFETCH_MAX_DEPTH = 512;
+
     /** Tracking io. */
     private static final TrackingPageIO trackingIO = TrackingPageIO.VERSIONS.latest();
 
@@ -186,12 +201,19 @@ public class PageMemoryImpl implements PageMemoryEx {
     private final boolean useBackwardShiftMap = IgniteSystemProperties.getBoolean(
         IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP, DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP);
 
+    /** Resolve loaded pages without taking the segment lock. */
+    private final boolean optimisticLookup = IgniteSystemProperties.getBoolean(
+        IGNITE_PAGE_MEMORY_OPTIMISTIC_LOOKUP, DFLT_PAGE_MEMORY_OPTIMISTIC_LOOKUP);
+
     /** Page replacement policy factory. */
     private final PageReplacementPolicyFactory pageReplacementPolicyFactory;
 
     /** */
     private final ExecutorService asyncRunner;
 
+    /** Page prefetcher, {@code null} if prefetch is disabled. */
+    @Nullable private final PagePrefetcher prefetcher;
+
     /** Page manager. */
     private final PageReadWriteManager pmPageMgr;
 
@@ -338,6 +360,18 @@ public class PageMemoryImpl implements PageMemoryEx {
             new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors()),
             new IgniteThreadFactory(ctx.igniteInstanceName(), "page-mem-op"));
 
+        int prefetchThreads = IgniteSystemProperties.getInteger(IGNITE_PAGE_PREFETCH_THREADS,
+            DFLT_PAGE_PREFETCH_THREADS);
+
+        prefetcher = prefetchThreads > 0 ? new PagePrefetcher(
+            this,
+            dataRegionMetrics,
+            prefetchThreads,
+            IgniteSystemProperties.getInteger(IGNITE_PAGE_PREFETCH_MAX_DEPTH, DFLT_PAGE_PREFETCH_MAX_DEPTH),
+            ctx.igniteInstanceName(),
+            log
+        ) : null;
+
         DataRegionConfiguration memCfg = getDataRegionConfiguration();
 
         PageReplacementMode pageReplacementMode = memCfg == null ? DataRegionConfiguration.DFLT_PAGE_REPLACEMENT_MODE :
@@ -355,6 +389,10 @@ public class PageMemoryImpl implements PageMemoryEx {
             case CLOCK:
                 pageReplacementPolicyFactory = new ClockPageReplacementPolicyFactory();
 
+                break;
+            case TWO_QUEUE:
+                pageReplacementPolicyFactory = new TwoQueuePageReplacementPolicyFactory();
+
                 break;
             default:
                 throw new IgniteException("Unexpected page replacement mode: " + pageReplacementMode);
@@ -438,12 +476,33 @@ public class PageMemoryImpl implements PageMemoryEx {
                 log,
                 ctx.kernalContext().metric().registry(MetricUtils.metricName(DATAREGION_METRICS_PREFIX, metrics().getName()))
             );
+        else if (throttlingPlc == ThrottlingPolicy.FEEDBACK_BASED)
+            writeThrottle = new PagesWriteFeedbackThrottle(
+                this,
+                cpProgressProvider,
+                stateChecker,
+                this::walFsyncLatency,
+                log,
+                ctx.kernalContext().metric().registry(MetricUtils.metricName(DATAREGION_METRICS_PREFIX, metrics().getName()))
+            );
         else if (throttlingPlc == ThrottlingPolicy.TARGET_RATIO_BASED)
             writeThrottle = new PagesWriteThrottle(this, cpProgressProvider, stateChecker, false, log);
         else if (throttlingPlc == ThrottlingPolicy.CHECKPOINT_BUFFER_ONLY)
             writeThrottle = new PagesWriteThrottle(this, null, stateChecker, true, log);
     }
 
+    /**
+     * @return Average WAL fsync latency in nanoseconds, {@code 0} if it's unknown.
+     */
+    private long walFsyncLatency() {
+        IgniteCacheDatabaseSharedManager db = ctx.database();
+
+        DataStorageMetricsImpl storageMetrics = db instanceof GridCacheDatabaseSharedManager ?
+            ((GridCacheDatabaseSharedManager)db).persistentStoreMetricsImpl() : null;
+
+        return storageMetrics == null ? 0 : storageMetrics.walFsyncAverage();
+    }
+
     /** {@inheritDoc} */
     @Override public void stop(boolean deallocate) throws IgniteException {
         synchronized (segmentsLock) {
@@ -453,6 +512,9 @@ public class PageMemoryImpl implements PageMemoryEx {
             if (log.isDebugEnabled())
                 log.debug("Stopping page memory.");
 
+            if (prefetcher != null)
+                prefetcher.stop();
+
             U.shutdownNow(getClass(), asyncRunner, log);
 
             if (segments != null) {
@@ -472,6 +534,13 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         Segment seg = segment(grpId, pageId);
 
+        // Pinned page can't be replaced, so pin counter can be decremented without the segment lock.
+        if (optimisticLookup) {
+            seg.releasePage(page);
+
+            return;
+        }
+
         seg.readLock().lock();
 
         try {
@@ -729,13 +798,85 @@ public class PageMemoryImpl implements PageMemoryEx {
 
     /** {@inheritDoc} */
     @Override public long acquirePage(int grpId, long pageId, AtomicBoolean pageAllocated) throws IgniteCheckedException {
-        return acquirePage(grpId, pageId, IoStatisticsHolderNoOp.INSTANCE, false, pageAllocated);
+        return acquirePage(grpId, pageId, IoStatisticsHolderNoOp.INSTANCE, false, pageAllocated, false);
     }
 
     /** {@inheritDoc} */
     @Override public long acquirePage(int grpId, long pageId, IoStatisticsHolder statHolder,
         boolean restore) throws IgniteCheckedException {
-        return acquirePage(grpId, pageId, statHolder, restore, null);
+        return acquirePage(grpId, pageId, statHolder, restore, null, false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean prefetchEnabled() {
+        return prefetcher != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void prefetchPages(int grpId, long[] pageIds, int cnt) {
+        if (prefetcher != null && cnt > 0)
+            prefetcher.prefetch(grpId, pageIds, cnt);
+    }
+
+    /**
+     * Loads the page to memory if it is not loaded yet. Page is marked as prefetched until the first access.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @throws IgniteCheckedException If failed.
+     */
+    void prefetchPage(int grpId, long pageId) throws IgniteCheckedException {
+        long page = acquirePage(grpId, pageId, IoStatisticsHolderNoOp.INSTANCE, false, null, true);
+
+        releasePage(grpId, pageId, page);
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @return {@code True} if the page is loaded to memory.
+     */
+    boolean isLoaded(int grpId, long pageId) {
+        Segment seg = segment(grpId, pageId);
+
+        seg.readLock().lock();
+
+        try {
+            return seg.loadedPages.get(
+                grpId,
+                PageIdUtils.effectivePageId(pageId),
+                seg.partGeneration(grpId, PageIdUtils.partId(pageId)),
+                INVALID_REL_PTR,
+                INVALID_REL_PTR
+            ) != INVALID_REL_PTR;
+        }
+        finally {
+            seg.readLock().unlock();
+        }
+    }
+
+    /**
+     * Accounts the first access to a prefetched page.
+     *
+     * @param absPtr Absolute page pointer.
+     * @param prefetch {@code True} if the page is acquired by prefetch.
+     */
+    private void onPrefetchedPageAccess(long absPtr, boolean prefetch) {
+        if (prefetcher != null && !prefetch && PageHeader.clearPrefetched(absPtr))
+            prefetcher.onHit();
+    }
+
+    /**
+     * Updates page hit ratio metrics. Accesses by prefetch are not counted, the following access by a reader
+     * is counted as a hit instead.
+     *
+     * @param grpId Cache group ID.
+     * @param hit {@code True} if the page was found in memory.
+     * @param prefetch {@code True} if the page is acquired by prefetch.
+     */
+    private void onPageAccess(int grpId, boolean hit, boolean prefetch) {
+        if (!prefetch)
+            dataRegionMetrics.onPageAccess(grpId, hit);
     }
 
     /**
@@ -744,15 +885,34 @@ public class PageMemoryImpl implements PageMemoryEx {
      * @param statHolder Stat holder.
      * @param restore Restore.
      * @param pageAllocated Page allocated.
+     * @param prefetch {@code True} if the page is acquired by prefetch.
      */
     private long acquirePage(int grpId, long pageId, IoStatisticsHolder statHolder,
-        boolean restore, @Nullable AtomicBoolean pageAllocated) throws IgniteCheckedException {
+        boolean restore, @Nullable AtomicBoolean pageAllocated, boolean prefetch) throws IgniteCheckedException {
         assert started;
 
         int partId = PageIdUtils.partId(pageId);
 
         Segment seg = segment(grpId, pageId);
 
+        if (optimisticLookup) {
+            long relPtr = seg.tryAcquireLoadedPage(grpId, PageIdUtils.effectivePageId(pageId), partId);
+
+            if (relPtr != INVALID_REL_PTR) {
+                long absPtr = seg.absolute(relPtr);
+
+                seg.pageReplacementPolicy.onHit(relPtr);
+
+                onPrefetchedPageAccess(absPtr, prefetch);
+
+                onPageAccess(grpId, true, prefetch);
+
+                statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
+
+                return absPtr;
+            }
+        }
+
         seg.readLock().lock();
 
         try {
@@ -772,6 +932,10 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 seg.pageReplacementPolicy.onHit(relPtr);
 
+                onPrefetchedPageAccess(absPtr, prefetch);
+
+                onPageAccess(grpId, true, prefetch);
+
                 statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
 
                 return absPtr;
@@ -787,6 +951,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         long lockedPageAbsPtr = -1;
         boolean readPageFromStore = false;
+        boolean hit = false;
 
         try {
             // Double-check.
@@ -814,6 +979,13 @@ public class PageMemoryImpl implements PageMemoryEx {
                 PageHeader.fullPageId(absPtr, fullId);
                 PageHeader.writeTimestamp(absPtr, U.currentTimeMillis());
 
+                if (prefetcher != null) {
+                    if (prefetch)
+                        PageHeader.markPrefetched(absPtr);
+                    else
+                        prefetcher.onMiss(fullId);
+                }
+
                 assert !PageHeader.isAcquired(absPtr) :
                     "Pin counter must be 0 for a new page [relPtr=" + U.hexLong(relPtr) +
                         ", absPtr=" + U.hexLong(absPtr) + ']';
@@ -883,6 +1055,10 @@ public class PageMemoryImpl implements PageMemoryEx {
                 absPtr = seg.absolute(relPtr);
 
                 seg.pageReplacementPolicy.onHit(relPtr);
+
+                onPrefetchedPageAccess(absPtr, prefetch);
+
+                hit = true;
             }
 
             seg.acquirePage(absPtr);
@@ -893,7 +1069,9 @@ public class PageMemoryImpl implements PageMemoryEx {
             return absPtr;
         }
         catch (IgniteOutOfMemoryException oom) {
-            ctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, oom));
+            // Prefetch is just a hint, the reader will fail by itself if memory is really exhausted.
+            if (!prefetch)
+                ctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, oom));
 
             throw oom;
         }
@@ -903,6 +1081,8 @@ public class PageMemoryImpl implements PageMemoryEx {
             if (delayedPageReplacementTracker != null)
                 delayedPageReplacementTracker.delayedPageWrite().finishReplacement();
 
+            onPageAccess(grpId, hit, prefetch);
+
             if (readPageFromStore) {
                 assert lockedPageAbsPtr != -1 : "Page is expected to have a valid address [pageId=" + fullId +
                     ", lockedPageAbsPtr=" + U.hexLong(lockedPageAbsPtr) + ']';
@@ -924,6 +1104,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                     dataRegionMetrics.onPageRead();
 
+                    if (prefetch)
+                        dataRegionMetrics.onPagePrefetched();
+
                     if (PageIO.isIndexPage(PageIO.getType(buf)))
                         dataRegionMetrics.cacheGrpPageMetrics(grpId).indexPages().increment();
                 }
@@ -2024,8 +2207,20 @@ public class PageMemoryImpl implements PageMemoryEx {
         /** Initial partition generation. */
         private static final int INIT_PART_GENERATION = 1;
 
-        /** Maps partition (grpId, partId) to its generation. Generation is 1-based incrementing partition counter. */
-        private final Map<GroupPartitionId, Integer> partGenerationMap = new HashMap<>();
+        /**
+         * Maps partition (grpId, partId) to its generation. Generation is 1-based incrementing partition counter.
+         * Concurrent map is used since it is read by optimistic lookups without the segment lock.
+         */
+        private final Map<GroupPartitionId, Integer> partGenerationMap = new ConcurrentHashMap<>();
+
+        /**
+         * Modification stamp, odd while the write lock is held. Lookups made without the segment lock are valid
+         * only if the stamp is even and didn't change while they were made.
+         */
+        private volatile long modStamp;
+
+        /** Write lock which maintains {@link #modStamp}. */
+        private final StampedWriteLock stampedWriteLock = new StampedWriteLock();
 
         /** */
         private boolean closed;
@@ -2071,6 +2266,62 @@ public class PageMemoryImpl implements PageMemoryEx {
                 : Math.min(pool.pages() * 2L / 3, cpPoolPages);
         }
 
+        /** {@inheritDoc} */
+        @Override public WriteLock writeLock() {
+            return stampedWriteLock;
+        }
+
+        /**
+         * Resolves a page which is already loaded and pins it without taking the segment lock.
+         *
+         * @param grpId Cache group ID.
+         * @param effectivePageId Effective page ID.
+         * @param partId Partition ID.
+         * @return Relative pointer of the pinned page or {@link #INVALID_REL_PTR} if the page is not loaded
+         *      or the segment was modified concurrently, so the lookup should be repeated under the lock.
+         */
+        private long tryAcquireLoadedPage(int grpId, long effectivePageId, int partId) {
+            long stamp = modStamp;
+
+            if ((stamp & 1) != 0)
+                return INVALID_REL_PTR;
+
+            Integer gen = partGenerationMap.get(new GroupPartitionId(grpId, partId));
+
+            long relPtr = loadedPages.get(
+                grpId,
+                effectivePageId,
+                gen == null ? INIT_PART_GENERATION : gen,
+                INVALID_REL_PTR,
+                INVALID_REL_PTR
+            );
+
+            // Table reads must complete before the stamp is validated.
+            GridUnsafe.loadFence();
+
+            if (relPtr == INVALID_REL_PTR || modStamp != stamp)
+                return INVALID_REL_PTR;
+
+            long absPtr = absolute(relPtr);
+
+            // The page could be replaced or released since the stamp was validated, so it's pinned optimistically
+            // first. Both the pin and the stamp are volatile, so either a writer which locks the segment later sees
+            // the pin and waits until it is confirmed or undone, or the writer's stamp is seen here.
+            PageHeader.acquirePageOptimistically(absPtr);
+
+            if (modStamp != stamp) {
+                PageHeader.releaseOptimisticPin(absPtr);
+
+                return INVALID_REL_PTR;
+            }
+
+            PageHeader.confirmOptimisticPin(absPtr);
+
+            updateAtomicInt(acquiredPagesPtr, 1);
+
+            return relPtr;
+        }
+
         /**
          * Closes the segment.
          */
@@ -2085,6 +2336,74 @@ public class PageMemoryImpl implements PageMemoryEx {
             }
         }
 
+        /**
+         * Write lock which makes {@link #modStamp} odd while held.
+         */
+        private class StampedWriteLock extends WriteLock {
+            /** */
+            private static final long serialVersionUID = 0L;
+
+            /** */
+            StampedWriteLock() {
+                super(Segment.this);
+            }
+
+            /** {@inheritDoc} */
+            @Override public void lock() {
+                super.lock();
+
+                onLock();
+            }
+
+            /** {@inheritDoc} */
+            @Override public void lockInterruptibly() throws InterruptedException {
+                super.lockInterruptibly();
+
+                onLock();
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean tryLock() {
+                if (!super.tryLock())
+                    return false;
+
+                onLock();
+
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public boolean tryLock(long timeout, TimeUnit unit) throws InterruptedException {
+                if (!super.tryLock(timeout, unit))
+                    return false;
+
+                onLock();
+
+                return true;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void unlock() {
+                if (getHoldCount() == 1) {
+                    // Modifications must be visible before the stamp becomes even.
+                    modStamp++;
+                }
+
+                super.unlock();
+            }
+
+            /** */
+            private void onLock() {
+                if (getHoldCount() == 1) {
+                    modStamp++;
+
+                    // Modifications must not be visible before the stamp becomes odd, and pin counters
+                    // must be read after it, see tryAcquireLoadedPage().
+                    GridUnsafe.fullFence();
+                }
+            }
+        }
+
         /**
          * @param dirtyRatioThreshold Throttle threshold.
          */
@@ -2211,6 +2530,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                     removeIdxPageFromStat(absPtr, fullPageId);
 
+                    onPageEvicted(absPtr);
+
                     return true;
                 }
 
@@ -2223,11 +2544,23 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 removeIdxPageFromStat(absPtr, fullPageId);
 
+                onPageEvicted(absPtr);
+
                 // Page was not modified, ok to evict.
                 return true;
             }
         }
 
+        /**
+         * Accounts replacement of a prefetched page which was never accessed.
+         *
+         * @param absPtr Absolute pointer of the evicted page.
+         */
+        private void onPageEvicted(long absPtr) {
+            if (prefetcher != null && PageHeader.clearPrefetched(absPtr))
+                prefetcher.onWasted();
+        }
+
         /** Change index page usage statistic. */
         private void removeIdxPageFromStat(long absPtr, FullPageId fullPageId) {
             if (PageIO.isIndexPage(PageIO.getType(absPtr + PAGE_OVERHEAD))) {
@@ -2626,6 +2959,11 @@ public class PageMemoryImpl implements PageMemoryEx {
         /** Target ratio based: CP progress is used as border. */
         TARGET_RATIO_BASED,
         /** Speed based. CP writting speed and estimated ideal speed are used as border */
-        SPEED_BASED
+        SPEED_BASED,
+        /**
+         * Feedback based. A closed-loop controller paces writers using CP write bandwidth, projected dirty pages,
+         * CP buffer usage and WAL fsync latency.
+         */
+        FEEDBACK_BASED
     }
 }
@@ -32,6 +32,16 @@ public interface PageMetrics {
      */
     public LongAdderMetric indexPages();
 
+    /**
+     * Number of page acquisitions which found the page in memory.
+     */
+    public LongAdderMetric pageHits();
+
+    /**
+     * Number of page acquisitions which had to load the page into memory.
+     */
+    public LongAdderMetric pageMisses();
+
     /**
      * Resets all metric counters.
      */
@@ -29,11 +29,19 @@ public class PageMetricsImpl implements PageMetrics {
     /** Index pages in memory. */
     private final LongAdderMetric idxPages;
 
+    /** Page hits. */
+    private final LongAdderMetric pageHits;
+
+    /** Page misses. */
+    private final LongAdderMetric pageMisses;
+
     /** */
     private PageMetricsImpl(
         MetricRegistry metricRegistry,
         @Nullable LongAdderWithDelegateMetric.Delegate totalPagesCb,
-        @Nullable LongAdderWithDelegateMetric.Delegate idxPagesCb
+        @Nullable LongAdderWithDelegateMetric.Delegate idxPagesCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate pageHitsCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate pageMissesCb
     ) {
         totalPages = createMetricWithOptionalDelegate(
             metricRegistry, "TotalAllocatedPages", "Total allocated pages.", totalPagesCb
@@ -42,6 +50,28 @@ public class PageMetricsImpl implements PageMetrics {
         idxPages = createMetricWithOptionalDelegate(
             metricRegistry, "InMemoryIndexPages", "Amount of index pages loaded into memory.", idxPagesCb
         );
+
+        pageHits = createMetricWithOptionalDelegate(
+            metricRegistry, "PageHits", "Number of page acquisitions which found the page in memory.", pageHitsCb
+        );
+
+        pageMisses = createMetricWithOptionalDelegate(
+            metricRegistry, "PageMisses", "Number of page acquisitions which had to load the page into memory.",
+            pageMissesCb
+        );
+
+        metricRegistry.register("PageHitRatio", this::hitRatio,
+            "Ratio of page acquisitions which found the page in memory, depends on the page replacement mode.");
+    }
+
+    /**
+     * @return Page hit ratio or {@code 0} if there were no page acquisitions.
+     */
+    private double hitRatio() {
+        long hits = pageHits.value();
+        long total = hits + pageMisses.value();
+
+        return total == 0 ? 0 : (double)hits / total;
     }
 
     /**
@@ -57,6 +87,12 @@ public class PageMetricsImpl implements PageMetrics {
         /** Index pages callback. */
         private LongAdderWithDelegateMetric.Delegate idxPagesCb;
 
+        /** Page hits callback. */
+        private LongAdderWithDelegateMetric.Delegate pageHitsCb;
+
+        /** Page misses callback. */
+        private LongAdderWithDelegateMetric.Delegate pageMissesCb;
+
         /**
          * @param metricRegistry Metric registry.
          */
@@ -80,12 +116,30 @@ public class PageMetricsImpl implements PageMetrics {
             return this;
         }
 
+        /**
+         * @param cb Callback.
+         */
+        public Builder pageHitsCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            pageHitsCb = cb;
+            return this;
+        }
+
+        /**
+         * @param cb Callback.
+         */
+        public Builder pageMissesCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            pageMissesCb = cb;
+            return this;
+        }
+
         /** */
         public PageMetricsImpl build() {
             return new PageMetricsImpl(
                 metricRegistry,
                 totalPagesCb,
-                idxPagesCb
+                idxPagesCb,
+                pageHitsCb,
+                pageMissesCb
             );
         }
     }
@@ -124,9 +178,21 @@ public class PageMetricsImpl implements PageMetrics {
         return idxPages;
     }
 
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric pageHits() {
+        return pageHits;
+    }
+
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric pageMisses() {
+        return pageMisses;
+    }
+
     /** {@inheritDoc} */
     @Override public void reset() {
         totalPages.reset();
         idxPages.reset();
+        pageHits.reset();
+        pageMisses.reset();
     }
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThreadFactory;
+
+/**
+ * Asynchronously loads pages to {@link PageMemoryImpl} ahead of their use.
+ * <p>
+ * Cursors hint pages they are going to read next (see {@link PageMemoryEx#prefetchPages(int, long[], int)}).
+ * Hinted pages which are not loaded yet are sorted and split into runs of adjacent pages of the same partition,
+ * each run is read sequentially by one of the prefetch threads, different runs are read in parallel.
+ * <p>
+ * Number of queued pages is limited by the prefetch depth which adapts to the workload: it is doubled each time
+ * a reader has to load a page queued for prefetch by itself, and decremented each time a prefetched page is
+ * replaced before it was accessed.
+ */
+class PagePrefetcher {
+    /** Minimum prefetch depth. */
+    static final int MIN_DEPTH = 16;
+
+    /** Maximum number of pages read by a single task. */
+    static final int MAX_RUN = 16;
+
+    /** Maximum number of page IDs in a single hint. */
+    private static final int MAX_HINT = 1 << 16;
+
+    /** Page memory. */
+    private final PageMemoryImpl pageMem;
+
+    /** Data region metrics. */
+    private final DataRegionMetricsImpl metrics;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Prefetch executor. */
+    private final ThreadPoolExecutor exec;
+
+    /** Pages queued for prefetch. */
+    private final ConcurrentMap<FullPageId, Boolean> queued = new ConcurrentHashMap<>();
+
+    /** Number of queued pages. */
+    private final AtomicInteger queuedCnt = new AtomicInteger();
+
+    /** Maximum prefetch depth. */
+    private final int maxDepth;
+
+    /** Current prefetch depth. */
+    private volatile int depth;
+
+    /**
+     * @param pageMem Page memory.
+     * @param metrics Data region metrics.
+     * @param threads Number of prefetch threads.
+     * @param maxDepth Maximum number of queued pages.
+     * @param igniteInstanceName Ignite instance name.
+     * @param log Logger.
+     */
+    PagePrefetcher(
+        PageMemoryImpl pageMem,
+        DataRegionMetricsImpl metrics,
+        int threads,
+        int maxDepth,
+        String igniteInstanceName,
+        IgniteLogger log
+    ) {
+        assert threads > 0 : threads;
+
+        this.pageMem = pageMem;
+        this.metrics = metrics;
+        this.log = log;
+        this.maxDepth = Math.max(maxDepth, MIN_DEPTH);
+
+        depth = Math.max(this.maxDepth / 4, MIN_DEPTH);
+
+        exec = new ThreadPoolExecutor(
+            threads,
+            threads,
+            30L,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new IgniteThreadFactory(igniteInstanceName, "page-prefetch"));
+
+        exec.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues pages for prefetch. Pages which are already loaded or queued are skipped, as well as pages which
+     * exceed current prefetch depth.
+     *
+     * @param grpId Cache group ID.
+     * @param pageIds Page IDs.
+     * @param cnt Number of page IDs to use.
+     */
+    void prefetch(int grpId, long[] pageIds, int cnt) {
+        cnt = Math.min(cnt, MAX_HINT);
+
+        // Effective page ID in high bits and index of the hinted page ID in low bits.
+        long[] toLoad = null;
+        int loadCnt = 0;
+
+        for (int i = 0; i < cnt; i++) {
+            long pageId = pageIds[i];
+
+            if (pageMem.isLoaded(grpId, pageId))
+                continue;
+
+            if (queuedCnt.get() >= depth)
+                break;
+
+            if (queued.putIfAbsent(new FullPageId(pageId, grpId), Boolean.TRUE) != null)
+                continue;
+
+            queuedCnt.incrementAndGet();
+
+            if (toLoad == null)
+                toLoad = new long[cnt - i];
+
+            toLoad[loadCnt++] = PageIdUtils.effectivePageId(pageId) << 16 | i;
+        }
+
+        if (loadCnt == 0)
+            return;
+
+        Arrays.sort(toLoad, 0, loadCnt);
+
+        int runStart = 0;
+
+        for (int i = 1; i <= loadCnt; i++) {
+            if (i == loadCnt || i - runStart == MAX_RUN || (toLoad[i] >>> 16) != (toLoad[i - 1] >>> 16) + 1) {
+                long[] run = new long[i - runStart];
+
+                for (int j = 0; j < run.length; j++)
+                    run[j] = pageIds[(int)(toLoad[runStart + j] & 0xFFFF)];
+
+                submit(grpId, run);
+
+                runStart = i;
+            }
+        }
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param run Adjacent page IDs.
+     */
+    private void submit(int grpId, long[] run) {
+        try {
+            exec.execute(() -> load(grpId, run));
+        }
+        catch (RejectedExecutionException ignore) {
+            for (long pageId : run)
+                dequeue(new FullPageId(pageId, grpId));
+        }
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param run Adjacent page IDs.
+     */
+    private void load(int grpId, long[] run) {
+        for (long pageId : run) {
+            FullPageId fullId = new FullPageId(pageId, grpId);
+
+            try {
+                if (!exec.isShutdown())
+                    pageMem.prefetchPage(grpId, pageId);
+            }
+            catch (Throwable e) {
+                if (log.isDebugEnabled())
+                    log.debug("Failed to prefetch page [fullId=" + fullId + ", err=" + e + ']');
+            }
+            finally {
+                dequeue(fullId);
+            }
+        }
+    }
+
+    /**
+     * @param fullId Full page ID.
+     */
+    private void dequeue(FullPageId fullId) {
+        if (queued.remove(fullId) != null)
+            queuedCnt.decrementAndGet();
+    }
+
+    /**
+     * Called when a reader is going to load a page which is not in memory.
+     *
+     * @param fullId Full page ID.
+     */
+    void onMiss(FullPageId fullId) {
+        if (queued.containsKey(fullId)) {
+            metrics.onPrefetchLate();
+
+            depth = Math.min(depth * 2, maxDepth);
+        }
+    }
+
+    /**
+     * Called when a reader accesses a prefetched page for the first time.
+     */
+    void onHit() {
+        metrics.onPrefetchHit();
+    }
+
+    /**
+     * Called when a prefetched page is replaced before it was accessed.
+     */
+    void onWasted() {
+        metrics.onPrefetchWasted();
+
+        int depth0 = depth;
+
+        if (depth0 > MIN_DEPTH)
+            depth = depth0 - 1;
+    }
+
+    /**
+     * @return Current prefetch depth.
+     */
+    int depth() {
+        return depth;
+    }
+
+    /**
+     * Stops prefetch threads.
+     */
+    void stop() {
+        U.shutdownNow(getClass(), exec, log);
+
+        queued.clear();
+        queuedCnt.set(0);
+    }
+}
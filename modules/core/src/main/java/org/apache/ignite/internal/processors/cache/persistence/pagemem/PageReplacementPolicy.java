@@ -35,7 +35,10 @@ public abstract class PageReplacementPolicy {
     /**
      * Existing page touched.
      *
-     * Note: This method can be invoked under segment write lock or segment read lock.
+     * Note: This method can be invoked under segment write lock or segment read lock, or without segment lock
+     * if optimistic page lookup is enabled. In the latter case the page is pinned, so it can't be replaced, but
+     * the method can run concurrently with any method invoked under the segment write lock, so implementations
+     * must keep their structures consistent in this case (synchronize or update them atomically).
      */
     public void onHit(long relPtr) {
         // No-op.
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.processors.cache.persistence.CheckpointLockStateChecker;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteOutClosure;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.TestOnly;
+
+/**
+ * Throttles threads that generate dirty pages with a closed-loop controller (see {@link PidThrottlingStrategy}).
+ * <p>
+ * Every {@link #TICK_NANOS} the throttle measures:
+ * <ul>
+ *     <li>disk write bandwidth of the checkpointer, pages written per second;</li>
+ *     <li>speed of marking pages dirty;</li>
+ *     <li>memory pressure: dirty pages ratio projected to the end of the running checkpoint and Checkpoint Buffer
+ *     usage, both normalized to their limits;</li>
+ *     <li>WAL fsync latency relative to its baseline.</li>
+ * </ul>
+ * The controller turns the pressure into the rate writers may mark pages dirty at, starting from the disk write
+ * bandwidth reduced in proportion to the growth of WAL fsync latency. Writers are paced evenly at this rate: each
+ * page modification reserves the next time slot and parks until it, so delays are short and spread over the whole
+ * checkpoint instead of accumulating near its end.
+ * <p>
+ * Exponential backoff protecting Checkpoint Buffer from overflow is kept as the last resort.
+ */
+public class PagesWriteFeedbackThrottle implements PagesWriteThrottlePolicy {
+    /** Interval between controller updates. */
+    static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /** Maximum dirty pages ratio, writers are stopped when it's reached. */
+    static final double MAX_DIRTY_RATIO = 3.0 / 4;
+
+    /** Minimum allowed rate, pages per second. */
+    static final double MIN_RATE = 100;
+
+    /** Time a thread may run ahead of the pacing after an idle period. */
+    private static final long BURST_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    /** Maximum pacing park time of a single page modification. */
+    static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+
+    /** Weight of a new measurement in the disk write bandwidth average. */
+    private static final double BANDWIDTH_SMOOTHING = 0.3;
+
+    /** Weight of the previous value in the WAL fsync latency baseline. */
+    private static final int FSYNC_BASELINE_WEIGHT = 256;
+
+    /** Lower bound of the rate reduction caused by WAL fsync latency growth. */
+    static final double MIN_FSYNC_FACTOR = 0.25;
+
+    /** Page memory. */
+    private final PageMemoryImpl pageMemory;
+
+    /** Checkpoint progress provider. */
+    @Nullable private final IgniteOutClosure<CheckpointProgress> cpProgress;
+
+    /** Checkpoint lock state checker. */
+    private final CheckpointLockStateChecker stateChecker;
+
+    /** Average WAL fsync latency provider, nanoseconds. */
+    private final LongSupplier walFsyncLatency;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Controller. */
+    private final PidThrottlingStrategy controller = new PidThrottlingStrategy();
+
+    /** Checkpoint Buffer protection logic. */
+    private final ExponentialBackoffThrottlingStrategy cpBufferProtector = new ExponentialBackoffThrottlingStrategy();
+
+    /** Checkpoint Buffer-related logic used to keep it safe. */
+    private final CheckpointBufferOverflowWatchdog cpBufferWatchdog;
+
+    /** Threads parked because of Checkpoint Buffer overflow. */
+    private final GridConcurrentHashSet<Thread> cpBufThrottledThreads = new GridConcurrentHashSet<>();
+
+    /** Number of pages marked dirty. */
+    private final LongAdder markedPages = new LongAdder();
+
+    /** Time of the next controller update. */
+    private final AtomicLong nextTick;
+
+    /** Next free pacing slot. */
+    private final AtomicLong nextSlot = new AtomicLong();
+
+    /** Park time applied during the last second, nanoseconds. */
+    private final HitRateMetric delay;
+
+    /** Number of throttled page modifications during the last second. */
+    private final HitRateMetric throttled;
+
+    /** Interval between page modifications allowed by the controller, {@code 0} if writers are not throttled. */
+    private volatile long pageIntervalNanos;
+
+    /** Time of the last controller update. */
+    private long lastTick;
+
+    /** Number of pages marked dirty on the last controller update. */
+    private long lastMarked;
+
+    /** Checkpoint progress seen on the last controller update. */
+    private CheckpointProgress lastProgress;
+
+    /** Checkpoint written pages seen on the last controller update. */
+    private int lastWritten;
+
+    /** WAL fsync latency baseline, nanoseconds. */
+    private long fsyncBaseline;
+
+    /** Disk write bandwidth, pages per second. */
+    private volatile double writeBandwidth;
+
+    /** Speed of marking pages dirty, pages per second. */
+    private volatile double markSpeed;
+
+    /** Memory pressure. */
+    private volatile double pressure;
+
+    /** Rate reduction caused by WAL fsync latency growth. */
+    private volatile double fsyncFactor = 1;
+
+    /**
+     * @param pageMemory Page memory.
+     * @param cpProgress Checkpoint progress provider.
+     * @param stateChecker Checkpoint lock state checker.
+     * @param walFsyncLatency Average WAL fsync latency provider, nanoseconds.
+     * @param log Logger.
+     * @param mreg Data region metric registry.
+     */
+    public PagesWriteFeedbackThrottle(
+        PageMemoryImpl pageMemory,
+        @Nullable IgniteOutClosure<CheckpointProgress> cpProgress,
+        CheckpointLockStateChecker stateChecker,
+        LongSupplier walFsyncLatency,
+        IgniteLogger log,
+        MetricRegistry mreg
+    ) {
+        this.pageMemory = pageMemory;
+        this.cpProgress = cpProgress;
+        this.stateChecker = stateChecker;
+        this.walFsyncLatency = walFsyncLatency;
+        this.log = log;
+
+        cpBufferWatchdog = new CheckpointBufferOverflowWatchdog(pageMemory);
+
+        lastTick = System.nanoTime();
+        nextTick = new AtomicLong(lastTick + TICK_NANOS);
+
+        delay = mreg.hitRateMetric("ThrottlingDelay",
+            "Total time writer threads were parked by throttling during the last second, nanoseconds.", 1000, 5);
+        throttled = mreg.hitRateMetric("ThrottledPages",
+            "Number of page modifications delayed by throttling during the last second.", 1000, 5);
+
+        mreg.register("ThrottlingAllowedRate", this::allowedRate,
+            "Rate of marking pages dirty allowed by throttling, 0 if writers are not throttled. Pages/second.");
+        mreg.register("ThrottlingPressure", this::pressure,
+            "Memory pressure kept by throttling: the larger of projected dirty pages and Checkpoint Buffer usage " +
+                "normalized to their limits.");
+        mreg.register("ThrottlingControllerOutput", controller::output,
+            "Number of halvings applied by throttling to the checkpoint write bandwidth.");
+        mreg.register("MarkDirtySpeed", () -> (long)markSpeed, "Speed of marking pages dirty. Pages/second.");
+        mreg.register("CpWriteBandwidth", () -> (long)writeBandwidth,
+            "Disk write bandwidth of the checkpointer. Pages/second.");
+        mreg.register("WalFsyncFactor", () -> fsyncFactor,
+            "Rate reduction applied by throttling because of WAL fsync latency growth.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMarkDirty(boolean isPageInCheckpoint) {
+        assert stateChecker.checkpointLockIsHeldByThread();
+
+        if (isPageInCheckpoint) {
+            if (isCpBufferOverflowThresholdExceeded()) {
+                parkForCheckpointBuffer(cpBufferProtector.protectionParkTime());
+
+                return;
+            }
+
+            cpBufferProtector.resetBackoff();
+        }
+
+        markedPages.increment();
+
+        long now = System.nanoTime();
+
+        long nextTick0 = nextTick.get();
+
+        if (now - nextTick0 >= 0 && nextTick.compareAndSet(nextTick0, now + TICK_NANOS))
+            tick(now);
+
+        long interval = pageIntervalNanos;
+
+        if (interval == 0)
+            return;
+
+        long parkNanos = reserveSlot(now, interval);
+
+        if (parkNanos > 0)
+            park(parkNanos);
+    }
+
+    /**
+     * Reserves the next pacing slot.
+     *
+     * @param now Current time.
+     * @param interval Interval between page modifications.
+     * @return Time to park until the reserved slot.
+     */
+    private long reserveSlot(long now, long interval) {
+        while (true) {
+            long slot = nextSlot.get();
+
+            long start = slot - (now - BURST_NANOS) > 0 ? slot : now - BURST_NANOS;
+
+            // Don't let writers fall too far behind, the controller will lower the rate if it's not enough.
+            if (start - now > MAX_PARK_NANOS)
+                start = now + MAX_PARK_NANOS;
+
+            if (nextSlot.compareAndSet(slot, start + interval))
+                return start - now;
+        }
+    }
+
+    /**
+     * Updates measurements and the controller.
+     *
+     * @param now Current time.
+     */
+    private synchronized void tick(long now) {
+        double dt = (now - lastTick) / 1e9;
+
+        if (dt <= 0)
+            return;
+
+        lastTick = now;
+
+        long marked = markedPages.sum();
+
+        double markSpeed0 = (marked - lastMarked) / dt;
+
+        lastMarked = marked;
+
+        CheckpointProgress progress = cpProgress == null ? null : cpProgress.apply();
+
+        AtomicInteger writtenCntr = progress == null ? null : progress.writtenPagesCounter();
+
+        int remaining = 0;
+
+        if (writtenCntr != null) {
+            int written = writtenCntr.get();
+
+            if (progress != lastProgress)
+                lastProgress = progress;
+            else if (written > lastWritten)
+                onWritten((written - lastWritten) / dt);
+
+            lastWritten = written;
+
+            remaining = Math.max(0, progress.currentCheckpointPagesCount() - written);
+        }
+
+        updateFsyncFactor(walFsyncLatency.getAsLong());
+
+        int cpBufSize = pageMemory.checkpointBufferPagesSize();
+
+        double cpBufUsage = cpBufSize == 0 ? 0 :
+            (double)pageMemory.checkpointBufferPagesCount() / cpBufSize / CP_BUF_FILL_THRESHOLD;
+
+        update(dt, markSpeed0, pageMemory.getDirtyPagesRatio(), cpBufUsage, remaining, pageMemory.totalPages());
+    }
+
+    /**
+     * @param bandwidth Disk write bandwidth measured since the previous update, pages per second.
+     */
+    void onWritten(double bandwidth) {
+        double bandwidth0 = writeBandwidth;
+
+        writeBandwidth = bandwidth0 == 0 ? bandwidth : bandwidth0 + (bandwidth - bandwidth0) * BANDWIDTH_SMOOTHING;
+    }
+
+    /**
+     * @param latency Average WAL fsync latency, nanoseconds.
+     */
+    void updateFsyncFactor(long latency) {
+        if (latency <= 0)
+            return;
+
+        if (fsyncBaseline == 0 || latency < fsyncBaseline)
+            fsyncBaseline = latency;
+        else
+            fsyncBaseline += (latency - fsyncBaseline) / FSYNC_BASELINE_WEIGHT;
+
+        fsyncFactor = Math.max(MIN_FSYNC_FACTOR, Math.min(1, (double)fsyncBaseline / latency));
+    }
+
+    /**
+     * Updates the controller and the allowed rate.
+     *
+     * @param dt Time passed since the previous update, seconds.
+     * @param markSpeed Speed of marking pages dirty, pages per second.
+     * @param dirtyRatio Dirty pages ratio.
+     * @param cpBufUsage Checkpoint Buffer usage normalized to its limit.
+     * @param cpRemainingPages Number of pages the running checkpoint has to write.
+     * @param totalPages Total number of pages.
+     */
+    void update(
+        double dt,
+        double markSpeed,
+        double dirtyRatio,
+        double cpBufUsage,
+        int cpRemainingPages,
+        long totalPages
+    ) {
+        this.markSpeed = markSpeed;
+
+        double bandwidth = writeBandwidth;
+
+        // Dirty pages ratio the running checkpoint ends with if writers keep the current speed.
+        double projectedDirtyRatio = dirtyRatio;
+
+        if (cpRemainingPages > 0 && bandwidth > 0 && totalPages > 0)
+            projectedDirtyRatio += markSpeed * (cpRemainingPages / bandwidth) / totalPages;
+
+        double pressure0 = Math.min(2, Math.max(projectedDirtyRatio / MAX_DIRTY_RATIO, cpBufUsage));
+
+        pressure = pressure0;
+
+        double base = (bandwidth > 0 ? bandwidth : markSpeed) * fsyncFactor;
+
+        if (!controller.update(pressure0, dt) || base <= 0) {
+            pageIntervalNanos = 0;
+
+            return;
+        }
+
+        double rate = Math.max(MIN_RATE, controller.rate(base));
+
+        pageIntervalNanos = (long)(1e9 / rate);
+    }
+
+    /**
+     * @param parkNanos Park time.
+     */
+    private void park(long parkNanos) {
+        long start = System.nanoTime();
+
+        LockSupport.parkNanos(parkNanos);
+
+        onParked(System.nanoTime() - start);
+    }
+
+    /**
+     * @param parkNanos Park time.
+     */
+    private void parkForCheckpointBuffer(long parkNanos) {
+        Thread curThread = Thread.currentThread();
+
+        if (parkNanos > LOGGING_THRESHOLD) {
+            U.warn(log, "Parking thread=" + curThread.getName()
+                + " for timeout(ms)=" + (parkNanos / 1_000_000));
+        }
+
+        long start = System.nanoTime();
+
+        cpBufThrottledThreads.add(curThread);
+
+        try {
+            LockSupport.parkNanos(parkNanos);
+        }
+        finally {
+            cpBufThrottledThreads.remove(curThread);
+        }
+
+        onParked(System.nanoTime() - start);
+    }
+
+    /**
+     * @param parkedNanos Time the thread was parked.
+     */
+    private void onParked(long parkedNanos) {
+        delay.add(parkedNanos);
+        throttled.increment();
+
+        pageMemory.metrics().addThrottlingTime(U.nanosToMillis(parkedNanos));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void wakeupThrottledThreads() {
+        if (!isCpBufferOverflowThresholdExceeded()) {
+            cpBufferProtector.resetBackoff();
+
+            cpBufThrottledThreads.forEach(LockSupport::unpark);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onBeginCheckpoint() {
+        // No-op: the controller keeps its state across checkpoints to pace writers smoothly.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onFinishCheckpoint() {
+        cpBufferProtector.resetBackoff();
+
+        cpBufThrottledThreads.forEach(LockSupport::unpark);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isCpBufferOverflowThresholdExceeded() {
+        return cpBufferWatchdog.isInDangerZone();
+    }
+
+    /**
+     * @return Rate of marking pages dirty allowed by the controller, {@code 0} if writers are not throttled.
+     */
+    public long allowedRate() {
+        long interval = pageIntervalNanos;
+
+        return interval == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / interval;
+    }
+
+    /**
+     * @return Memory pressure.
+     */
+    public double pressure() {
+        return pressure;
+    }
+
+    /**
+     * @return Rate reduction caused by WAL fsync latency growth.
+     */
+    @TestOnly
+    double fsyncFactor() {
+        return fsyncFactor;
+    }
+
+    /**
+     * @return Disk write bandwidth, pages per second.
+     */
+    @TestOnly
+    double writeBandwidth() {
+        return writeBandwidth;
+    }
+}
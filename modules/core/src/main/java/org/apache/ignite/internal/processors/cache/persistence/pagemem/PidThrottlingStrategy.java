@@ -0,0 +1,138 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+/**
+ * Closed-loop (PID) controller of the rate at which writers may mark pages dirty.
+ * <p>
+ * The controlled variable is the memory pressure: the larger of dirty pages and Checkpoint Buffer usage, both
+ * normalized to their limits, so {@code 1} means that writers are about to be stopped. The controller keeps the
+ * pressure at the setpoint. Its output is the number of halvings applied to the feed-forward rate, which is the
+ * disk write bandwidth of the checkpointer: when the pressure stays at the setpoint, pages are dirtied as fast as
+ * they are written to disk.
+ * <p>
+ * Unlike the threshold based strategies, the output changes continuously, so writers are slowed down early and
+ * gradually instead of being stopped near the end of a checkpoint.
+ */
+class PidThrottlingStrategy {
+    /** Pressure the controller keeps. */
+    static final double SETPOINT = 0.75;
+
+    /** Pressure below which throttling is not applied while the integral term is not positive. */
+    static final double ACTIVATION_PRESSURE = 0.5;
+
+    /** Proportional gain, halvings per unit of error. */
+    static final double KP = 4;
+
+    /** Integral gain, halvings per unit of error per second. */
+    static final double KI = 2;
+
+    /** Derivative gain, halvings per unit of pressure change per second. */
+    static final double KD = 0.5;
+
+    /** Bound of the integral term, halvings. */
+    static final double MAX_INTEGRAL = 4;
+
+    /** Bound of the controller output, halvings. */
+    static final double MAX_OUTPUT = 10;
+
+    /** Weight of a new pressure change in the smoothed derivative. */
+    private static final double DERIVATIVE_SMOOTHING = 0.3;
+
+    /** Integral term, halvings. */
+    private double integral;
+
+    /** Smoothed pressure change rate, per second. */
+    private double derivative;
+
+    /** Pressure of the previous update, negative if there was no update. */
+    private double prevPressure = -1;
+
+    /** Last controller output, halvings. */
+    private double output;
+
+    /**
+     * Updates the controller with a new measurement.
+     *
+     * @param pressure Memory pressure.
+     * @param dt Time passed since the previous update, seconds.
+     * @return {@code True} if writers should be throttled.
+     */
+    synchronized boolean update(double pressure, double dt) {
+        assert dt > 0 : dt;
+
+        double err = pressure - SETPOINT;
+
+        if (prevPressure >= 0) {
+            double rate = (pressure - prevPressure) / dt;
+
+            derivative += (rate - derivative) * DERIVATIVE_SMOOTHING;
+        }
+
+        prevPressure = pressure;
+
+        if (pressure < ACTIVATION_PRESSURE && integral <= 0) {
+            integral = 0;
+            output = 0;
+
+            return false;
+        }
+
+        double out = KP * err + KI * integral + KD * derivative;
+
+        // Conditional integration: don't wind up while the output is saturated in the direction of the error.
+        if (!(out >= MAX_OUTPUT && err > 0) && !(out <= -MAX_OUTPUT && err < 0))
+            integral = Math.max(-MAX_INTEGRAL, Math.min(MAX_INTEGRAL, integral + err * dt));
+
+        output = Math.max(-MAX_OUTPUT, Math.min(MAX_OUTPUT, KP * err + KI * integral + KD * derivative));
+
+        return true;
+    }
+
+    /**
+     * @param baseRate Feed-forward rate, pages per second.
+     * @return Allowed rate, pages per second.
+     */
+    synchronized double rate(double baseRate) {
+        return baseRate * Math.pow(2, -output);
+    }
+
+    /**
+     * @return Last controller output, halvings applied to the feed-forward rate.
+     */
+    synchronized double output() {
+        return output;
+    }
+
+    /**
+     * @return Integral term.
+     */
+    synchronized double integral() {
+        return integral;
+    }
+
+    /**
+     * Resets the controller state.
+     */
+    synchronized void reset() {
+        integral = 0;
+        derivative = 0;
+        prevPressure = -1;
+        output = 0;
+    }
+}
@@ -221,6 +221,10 @@ public class SegmentedLruPageList {
         if (tailIdx == pageIdx)
             return;
 
+        // Page is not in the list, e.g. it's being replaced.
+        if (prev(pageIdx) == NULL_IDX && headIdx != pageIdx)
+            return;
+
         remove0(pageIdx, false);
 
         if (protectedPage(pageIdx)) {
@@ -0,0 +1,592 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Pages 2Q lists implementation: FIFO queue of pages accessed once (A1in), LRU queue of pages accessed
+ * repeatedly (Am) and ghost queue of page fingerprints recently replaced from A1in (A1out).
+ * <p>
+ * All the queues are stored off-heap: A1in and Am are doubly linked lists of page indexes sharing the same links
+ * region, A1out is a ring buffer of fingerprints with an open addressing hash table of ring positions on top of it.
+ *
+ * @see PageReplacementMode#TWO_QUEUE
+ */
+public class TwoQueuePageList {
+    /** Ratio of A1in queue size to total pages count. */
+    private static final double IN_TO_TOTAL_PAGES_RATIO = 0.25;
+
+    /** Ratio of A1out queue size to total pages count. */
+    private static final double OUT_TO_TOTAL_PAGES_RATIO = 0.5;
+
+    /** Null page index. */
+    static final int NULL_IDX = -1;
+
+    /** A1in queue. */
+    static final int IN = 0;
+
+    /** Am queue. */
+    static final int MAIN = 1;
+
+    /** Head page indexes of the queues. */
+    private final int[] headIdx = {NULL_IDX, NULL_IDX};
+
+    /** Tail page indexes of the queues. */
+    private final int[] tailIdx = {NULL_IDX, NULL_IDX};
+
+    /** Pages count in the queues. */
+    private final int[] cnt = new int[2];
+
+    /** A1in queue size limit. */
+    private final int inLimit;
+
+    /** A1out queue capacity. */
+    private final int ghostCap;
+
+    /** A1out hash table mask. */
+    private final int ghostMask;
+
+    /** Next A1out ring position to write. */
+    private int ghostPos;
+
+    /** Fingerprints count in A1out queue. */
+    private int ghostCnt;
+
+    /** Pointer to memory region to store links. */
+    private final long linksPtr;
+
+    /** Pointer to memory region to store Am flags. */
+    private final long flagsPtr;
+
+    /** Pointer to memory region to store A1out ring. */
+    private final long ringPtr;
+
+    /** Pointer to memory region to store A1out hash table. */
+    private final long tblPtr;
+
+    /**
+     * @param totalPagesCnt Total pages count.
+     * @param memPtr Pointer to memory region.
+     */
+    public TwoQueuePageList(int totalPagesCnt, long memPtr) {
+        inLimit = inLimit(totalPagesCnt);
+        ghostCap = ghostCapacity(totalPagesCnt);
+        ghostMask = ghostTableSize(totalPagesCnt) - 1;
+
+        linksPtr = memPtr;
+        flagsPtr = linksPtr + (((long)totalPagesCnt) << 3);
+        ringPtr = flagsPtr + flagsSize(totalPagesCnt);
+        tblPtr = ringPtr + (((long)ghostCap) << 3);
+
+        GridUnsafe.setMemory(linksPtr, ((long)totalPagesCnt) << 3, (byte)0xFF);
+        GridUnsafe.setMemory(flagsPtr, flagsSize(totalPagesCnt), (byte)0);
+        GridUnsafe.setMemory(ringPtr, ((long)ghostCap) << 3, (byte)0);
+        GridUnsafe.setMemory(tblPtr, ((long)ghostMask + 1) << 2, (byte)0);
+    }
+
+    /**
+     * Adds a new page to the tail of Am queue if its fingerprint is found in A1out queue (the fingerprint is removed
+     * from A1out in this case), or to the tail of A1in queue otherwise.
+     *
+     * @param pageIdx Page index.
+     * @param fingerprint Page fingerprint.
+     * @return {@code True} if the page was added to Am queue.
+     */
+    public synchronized boolean add(int pageIdx, long fingerprint) {
+        boolean main = ghostRemove(fingerprint);
+
+        addToTail(pageIdx, main ? MAIN : IN);
+
+        return main;
+    }
+
+    /**
+     * Moves a page of Am queue to its tail. Pages of A1in queue and pages which are not in the queues (e.g. pages
+     * being replaced) are not affected.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void touch(int pageIdx) {
+        if (!mainPage(pageIdx) || tailIdx[MAIN] == pageIdx || !linked(pageIdx, MAIN))
+            return;
+
+        remove0(pageIdx, MAIN);
+
+        addToTail(pageIdx, MAIN);
+    }
+
+    /**
+     * Removes a page from the queue it belongs to.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void remove(int pageIdx) {
+        int q = queue(pageIdx);
+
+        if (linked(pageIdx, q))
+            remove0(pageIdx, q);
+    }
+
+    /**
+     * Removes a page to replace from the head of A1in queue if it's over the limit (or Am queue is empty),
+     * or from the head of Am queue otherwise. The queue flag of the page is kept, so the page can be returned
+     * to its queue with {@link #addBack(int)}.
+     *
+     * @return Page index or {@code -1} if the queues are empty.
+     */
+    public synchronized int poll() {
+        int q = cnt[IN] > inLimit || headIdx[MAIN] == NULL_IDX ? IN : MAIN;
+
+        int idx = headIdx[q];
+
+        if (idx != NULL_IDX)
+            remove0(idx, q);
+
+        return idx;
+    }
+
+    /**
+     * Returns a page which was polled but can't be replaced to the tail of its queue.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void addBack(int pageIdx) {
+        addToTail(pageIdx, queue(pageIdx));
+    }
+
+    /**
+     * Completes replacement of a polled page: fingerprints of pages replaced from A1in queue are remembered
+     * in A1out queue.
+     *
+     * @param pageIdx Page index.
+     * @param fingerprint Page fingerprint or {@code 0} if the page should not be remembered.
+     */
+    public synchronized void onReplaced(int pageIdx, long fingerprint) {
+        if (mainPage(pageIdx))
+            mainPage(pageIdx, false);
+        else if (fingerprint != 0L)
+            ghostAdd(fingerprint);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param q Queue.
+     */
+    private void addToTail(int pageIdx, int q) {
+        assert prev(pageIdx) == NULL_IDX : prev(pageIdx);
+        assert next(pageIdx) == NULL_IDX : next(pageIdx);
+
+        int tail = tailIdx[q];
+
+        if (tail == NULL_IDX) {
+            assert headIdx[q] == NULL_IDX : headIdx[q];
+
+            headIdx[q] = pageIdx;
+        }
+        else
+            link(tail, pageIdx);
+
+        tailIdx[q] = pageIdx;
+
+        cnt[q]++;
+
+        mainPage(pageIdx, q == MAIN);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param q Queue.
+     */
+    private void remove0(int pageIdx, int q) {
+        assert pageIdx != NULL_IDX;
+
+        int prevIdx = prev(pageIdx);
+        int nextIdx = next(pageIdx);
+
+        if (prevIdx == NULL_IDX) {
+            assert headIdx[q] == pageIdx : "Unexpected 2Q page index [headIdx=" + headIdx[q] +
+                ", pageIdx=" + pageIdx + ']';
+
+            headIdx[q] = nextIdx;
+        }
+        else
+            next(prevIdx, nextIdx);
+
+        if (nextIdx == NULL_IDX) {
+            assert tailIdx[q] == pageIdx : "Unexpected 2Q page index [tailIdx=" + tailIdx[q] +
+                ", pageIdx=" + pageIdx + ']';
+
+            tailIdx[q] = prevIdx;
+        }
+        else
+            prev(nextIdx, prevIdx);
+
+        clearLinks(pageIdx);
+
+        cnt[q]--;
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param q Queue of the page.
+     * @return {@code True} if the page is linked to the queue.
+     */
+    private boolean linked(int pageIdx, int q) {
+        return prev(pageIdx) != NULL_IDX || headIdx[q] == pageIdx;
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return Queue of the page.
+     */
+    private int queue(int pageIdx) {
+        return mainPage(pageIdx) ? MAIN : IN;
+    }
+
+    /**
+     * Adds a fingerprint to A1out queue, the oldest fingerprint is dropped if the queue is full.
+     *
+     * @param fingerprint Page fingerprint.
+     */
+    private void ghostAdd(long fingerprint) {
+        int pos = ghostPos;
+
+        long old = ring(pos);
+
+        if (old != 0L)
+            tableRemove(old, pos);
+        else
+            ghostCnt++;
+
+        ring(pos, fingerprint);
+
+        int slot = home(fingerprint);
+
+        while (table(slot) != 0)
+            slot = (slot + 1) & ghostMask;
+
+        table(slot, pos + 1);
+
+        ghostPos = pos + 1 == ghostCap ? 0 : pos + 1;
+    }
+
+    /**
+     * Removes a fingerprint from A1out queue.
+     *
+     * @param fingerprint Page fingerprint.
+     * @return {@code True} if the fingerprint was found.
+     */
+    private boolean ghostRemove(long fingerprint) {
+        for (int slot = home(fingerprint); ; slot = (slot + 1) & ghostMask) {
+            int e = table(slot);
+
+            if (e == 0)
+                return false;
+
+            if (ring(e - 1) == fingerprint) {
+                tableRemoveSlot(slot);
+
+                ring(e - 1, 0L);
+
+                ghostCnt--;
+
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes hash table entry pointing to the given ring position.
+     *
+     * @param fingerprint Fingerprint stored at the ring position.
+     * @param pos Ring position.
+     */
+    private void tableRemove(long fingerprint, int pos) {
+        for (int slot = home(fingerprint); ; slot = (slot + 1) & ghostMask) {
+            int e = table(slot);
+
+            assert e != 0 : "Ghost entry not found [pos=" + pos + ']';
+
+            if (e == pos + 1) {
+                tableRemoveSlot(slot);
+
+                return;
+            }
+        }
+    }
+
+    /**
+     * Clears hash table slot shifting back the following entries of the probe sequence.
+     *
+     * @param slot Slot.
+     */
+    private void tableRemoveSlot(int slot) {
+        int free = slot;
+
+        for (int cur = (slot + 1) & ghostMask; ; cur = (cur + 1) & ghostMask) {
+            int e = table(cur);
+
+            if (e == 0)
+                break;
+
+            int home = home(ring(e - 1));
+
+            // Move the entry to the free slot if its home slot is not between the free slot and the current one.
+            if (((cur - home) & ghostMask) >= ((cur - free) & ghostMask)) {
+                table(free, e);
+
+                free = cur;
+            }
+        }
+
+        table(free, 0);
+    }
+
+    /**
+     * @param fingerprint Page fingerprint.
+     * @return Home slot of the fingerprint in A1out hash table.
+     */
+    private int home(long fingerprint) {
+        return (int)(fingerprint ^ (fingerprint >>> 32)) & ghostMask;
+    }
+
+    /**
+     * Link two pages.
+     *
+     * @param prevIdx Previous page index.
+     * @param nextIdx Next page index.
+     */
+    private void link(int prevIdx, int nextIdx) {
+        prev(nextIdx, prevIdx);
+        next(prevIdx, nextIdx);
+    }
+
+    /**
+     * Clear page links.
+     *
+     * @param pageIdx Page index.
+     */
+    private void clearLinks(int pageIdx) {
+        GridUnsafe.putLong(linksPtr + (((long)pageIdx) << 3), -1L);
+    }
+
+    /**
+     * Gets link to the previous page in the queue.
+     *
+     * @param pageIdx Page index.
+     */
+    int prev(int pageIdx) {
+        return GridUnsafe.getInt(linksPtr + (((long)pageIdx) << 3));
+    }
+
+    /**
+     * Gets link to the next page in the queue.
+     *
+     * @param pageIdx Page index.
+     */
+    int next(int pageIdx) {
+        return GridUnsafe.getInt(linksPtr + (((long)pageIdx) << 3) + 4);
+    }
+
+    /**
+     * Sets link to the previous page in the queue.
+     *
+     * @param pageIdx Page index.
+     * @param prevIdx Previous page index.
+     */
+    private void prev(int pageIdx, int prevIdx) {
+        GridUnsafe.putInt(linksPtr + (((long)pageIdx) << 3), prevIdx);
+    }
+
+    /**
+     * Sets link to the next page in the queue.
+     *
+     * @param pageIdx Page index.
+     * @param nextIdx Next page index.
+     */
+    private void next(int pageIdx, int nextIdx) {
+        GridUnsafe.putInt(linksPtr + (((long)pageIdx) << 3) + 4, nextIdx);
+    }
+
+    /**
+     * Gets Am queue page flag.
+     *
+     * @param pageIdx Page index.
+     */
+    boolean mainPage(int pageIdx) {
+        long flags = GridUnsafe.getLong(flagsPtr + ((pageIdx >> 3) & (~7)));
+
+        return (flags & (1L << pageIdx)) != 0L;
+    }
+
+    /**
+     * Sets Am queue page flag.
+     *
+     * @param pageIdx Page index.
+     * @param mainPage Am queue page flag.
+     */
+    private void mainPage(int pageIdx, boolean mainPage) {
+        long ptr = flagsPtr + ((pageIdx >> 3) & (~7));
+
+        if (mainPage)
+            GridUnsafe.putLong(ptr, GridUnsafe.getLong(ptr) | (1L << pageIdx));
+        else
+            GridUnsafe.putLong(ptr, GridUnsafe.getLong(ptr) & ~(1L << pageIdx));
+    }
+
+    /**
+     * @param pos Ring position.
+     * @return Fingerprint or {@code 0} if the position is empty.
+     */
+    private long ring(int pos) {
+        return GridUnsafe.getLong(ringPtr + (((long)pos) << 3));
+    }
+
+    /**
+     * @param pos Ring position.
+     * @param fingerprint Fingerprint.
+     */
+    private void ring(int pos, long fingerprint) {
+        GridUnsafe.putLong(ringPtr + (((long)pos) << 3), fingerprint);
+    }
+
+    /**
+     * @param slot Hash table slot.
+     * @return Ring position plus one or {@code 0} if the slot is empty.
+     */
+    private int table(int slot) {
+        return GridUnsafe.getInt(tblPtr + (((long)slot) << 2));
+    }
+
+    /**
+     * @param slot Hash table slot.
+     * @param e Ring position plus one or {@code 0} to clear the slot.
+     */
+    private void table(int slot, int e) {
+        GridUnsafe.putInt(tblPtr + (((long)slot) << 2), e);
+    }
+
+    /**
+     * Gets the index of the head page of the queue.
+     *
+     * @param q Queue.
+     */
+    synchronized int headIdx(int q) {
+        return headIdx[q];
+    }
+
+    /**
+     * Gets the index of the tail page of the queue.
+     *
+     * @param q Queue.
+     */
+    synchronized int tailIdx(int q) {
+        return tailIdx[q];
+    }
+
+    /**
+     * Gets pages count of the queue.
+     *
+     * @param q Queue.
+     */
+    synchronized int size(int q) {
+        return cnt[q];
+    }
+
+    /**
+     * Gets fingerprints count of A1out queue.
+     */
+    synchronized int ghostSize() {
+        return ghostCnt;
+    }
+
+    /**
+     * Gets A1out queue capacity.
+     */
+    int ghostCapacity() {
+        return ghostCap;
+    }
+
+    /**
+     * Gets A1in queue size limit.
+     */
+    int inLimit() {
+        return inLimit;
+    }
+
+    /**
+     * Computes page fingerprint stored in A1out queue.
+     *
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     * @return Non-zero fingerprint.
+     */
+    public static long fingerprint(int grpId, long effectivePageId) {
+        long h = effectivePageId * 0x9E3779B97F4A7C15L + grpId;
+
+        h = (h ^ (h >>> 33)) * 0xFF51AFD7ED558CCDL;
+        h = (h ^ (h >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+
+        return h == 0L ? 1L : h;
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     */
+    private static int inLimit(int pagesCnt) {
+        return Math.max(1, (int)(pagesCnt * IN_TO_TOTAL_PAGES_RATIO));
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     */
+    private static int ghostCapacity(int pagesCnt) {
+        return Math.max(1, (int)(pagesCnt * OUT_TO_TOTAL_PAGES_RATIO));
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return A1out hash table size, load factor is kept not greater than 0.5.
+     */
+    private static int ghostTableSize(int pagesCnt) {
+        return U.ceilPow2(ghostCapacity(pagesCnt) * 2);
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Am flags size: 1 bit per page + 8 byte align.
+     */
+    private static long flagsSize(int pagesCnt) {
+        return ((pagesCnt + 63L) / 8) & (~7L);
+    }
+
+    /**
+     * Memory required to service {@code pagesCnt} pages.
+     *
+     * @param pagesCnt Pages count.
+     */
+    public static long requiredMemory(int pagesCnt) {
+        return pagesCnt * 8L /* links = 2 ints per page */ +
+            flagsSize(pagesCnt) /* Am flags */ +
+            ghostCapacity(pagesCnt) * 8L /* A1out ring = 1 long per fingerprint */ +
+            ghostTableSize(pagesCnt) * 4L /* A1out hash table = 1 int per slot */;
+    }
+}
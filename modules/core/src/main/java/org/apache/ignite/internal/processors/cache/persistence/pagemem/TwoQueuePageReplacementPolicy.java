@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.OUTDATED_REL_PTR;
+
+/**
+ * 2Q page replacement policy implementation.
+ *
+ * @see PageReplacementMode#TWO_QUEUE
+ */
+public class TwoQueuePageReplacementPolicy extends PageReplacementPolicy {
+    /** 2Q queues. */
+    private final TwoQueuePageList queues;
+
+    /**
+     * @param seg Page memory segment.
+     * @param ptr Pointer to memory region.
+     * @param pagesCnt Pages count.
+     */
+    protected TwoQueuePageReplacementPolicy(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
+        super(seg);
+
+        queues = new TwoQueuePageList(pagesCnt, ptr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onHit(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        queues.touch(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMiss(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        queues.add(pageIdx, fingerprint(PageHeader.fullPageId(seg.absolute(relPtr))));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemove(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        queues.remove(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace() throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        for (int i = 0; i < loadedPages.size(); i++) {
+            int pageIdx = queues.poll();
+
+            long relPtr = seg.relative(pageIdx);
+            long absPtr = seg.absolute(relPtr);
+
+            FullPageId fullId = PageHeader.fullPageId(absPtr);
+
+            // Check loaded pages map for outdated page.
+            relPtr = loadedPages.get(
+                fullId.groupId(),
+                fullId.effectivePageId(),
+                seg.partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId())),
+                INVALID_REL_PTR,
+                OUTDATED_REL_PTR
+            );
+
+            assert relPtr != INVALID_REL_PTR;
+
+            if (relPtr == OUTDATED_REL_PTR) {
+                // Pages of destroyed partitions are not going to be accessed again.
+                queues.onReplaced(pageIdx, 0L);
+
+                return seg.refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
+            }
+
+            if (seg.tryToRemovePage(fullId, absPtr)) {
+                queues.onReplaced(pageIdx, fingerprint(fullId));
+
+                return relPtr;
+            }
+
+            // Return page to its queue.
+            queues.addBack(pageIdx);
+        }
+
+        throw seg.oomException("no pages to replace");
+    }
+
+    /**
+     * @param fullId Full page ID.
+     * @return Page fingerprint.
+     */
+    private static long fingerprint(FullPageId fullId) {
+        return TwoQueuePageList.fingerprint(fullId.groupId(), fullId.effectivePageId());
+    }
+}
@@ -5608,6 +5608,23 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
      */
     public abstract T getRow(BPlusIO<L> io, long pageAddr, int idx, Object x) throws IgniteCheckedException;
 
+    /**
+     * Hints page memory about pages a forward cursor is going to read after it fetches the given rows of a leaf page.
+     * By default, only the next leaf page is hinted, trees with rows referencing other pages may hint them as well.
+     * Called only if page memory prefetch is enabled.
+     *
+     * @param io Leaf page IO.
+     * @param pageAddr Leaf page address.
+     * @param startIdx Index of the first row to fetch.
+     * @param endIdx Index after the last row to fetch.
+     * @param fwdId ID of the next leaf page the cursor is going to read or {@code 0} if there is none.
+     * @param x Implementation specific argument passed to {@link #getRow(BPlusIO, long, int, Object)}.
+     */
+    protected void prefetchOnLeaf(BPlusIO<L> io, long pageAddr, int startIdx, int endIdx, long fwdId, Object x) {
+        if (fwdId != 0L)
+            prefetchPages(new long[] {fwdId}, 1);
+    }
+
     /**
      *
      */
@@ -5986,6 +6003,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
             if (cnt0 == 0)
                 return false;
 
+            if (prefetchEnabled())
+                prefetchOnLeaf(io, pageAddr, startIdx, cnt, nextPageId, x);
+
             if (rows == EMPTY)
                 rows = (T[])new Object[cnt0];
 
@@ -394,9 +394,7 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
                 // Fsync position must be behind.
                 assert lastFsyncPos0 < written0 : "lastFsyncPos=" + lastFsyncPos0 + ", written=" + written0;
 
-                boolean metricsEnabled = metrics.metricsEnabled();
-
-                long start = metricsEnabled ? System.nanoTime() : 0;
+                long start = System.nanoTime();
 
                 if (mmap) {
                     long pos = ptr == null ? -1 : ptr.fileOffset();
@@ -424,10 +422,7 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
                 if (fsyncDelay > 0)
                     fsync.signalAll();
 
-                long end = metricsEnabled ? System.nanoTime() : 0;
-
-                if (metricsEnabled)
-                    metrics.onFsync(end - start);
+                metrics.onFsync(System.nanoTime() - start);
             }
         }
         finally {
@@ -194,6 +194,15 @@ public interface CacheQuery<T> {
      */
     public CacheQuery<T> pageSize(int pageSize);
 
+    /**
+     * Sets maximum number of local partitions a node scans in parallel for a scan query
+     * without an explicit partition. Default value is {@code 1}.
+     *
+     * @param parallelism Scan parallelism.
+     * @return {@code this} query instance for chaining.
+     */
+    public CacheQuery<T> parallelism(int parallelism);
+
     /**
      * Sets query timeout. {@code 0} means there is no timeout (this
      * is a default value).
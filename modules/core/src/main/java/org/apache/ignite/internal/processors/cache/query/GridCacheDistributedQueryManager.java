@@ -28,6 +28,7 @@ import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.events.Event;
 import org.apache.ignite.internal.IgniteClientDisconnectedCheckedException;
+import org.apache.ignite.internal.IgniteFeatures;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
@@ -57,6 +58,7 @@ import static org.apache.ignite.cache.CacheMode.LOCAL;
 import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
 import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
 import static org.apache.ignite.internal.GridTopic.TOPIC_CACHE;
+import static org.apache.ignite.internal.IgniteFeatures.SCAN_QUERY_PARALLELISM;
 
 /**
  * Distributed query manager (for cache in REPLICATED / PARTITIONED cache mode).
@@ -110,6 +112,13 @@ public class GridCacheDistributedQueryManager<K, V> extends GridCacheQueryManage
             }
         });
 
+        cctx.io().addCacheHandler(cctx.cacheId(), GridCacheQueryRequestV2.class,
+            new CI2<UUID, GridCacheQueryRequestV2>() {
+                @Override public void apply(UUID nodeId, GridCacheQueryRequestV2 req) {
+                    processQueryRequest(nodeId, req);
+                }
+            });
+
         lsnr = new GridLocalEventListener() {
             @Override public void onEvent(Event evt) {
                 DiscoveryEvent discoEvt = (DiscoveryEvent)evt;
@@ -285,6 +294,8 @@ public class GridCacheDistributedQueryManager<K, V> extends GridCacheQueryManage
                 req.isDataPageScanEnabled()
             );
 
+        qry.parallelism(req.parallelism());
+
         return new GridCacheQueryInfo(
             false,
             trans,
@@ -541,30 +552,61 @@ public class GridCacheDistributedQueryManager<K, V> extends GridCacheQueryManage
             boolean deployFilterOrTransformer = (qry.query().scanFilter() != null || qry.query().transform() != null)
                 && cctx.gridDeploy().enabled();
 
-            final GridCacheQueryRequest req = new GridCacheQueryRequest(
-                cctx.cacheId(),
-                reqId,
-                cctx.name(),
-                qry.query().type(),
-                false,
-                qry.query().clause(),
-                clsName,
-                qry.query().scanFilter(),
-                qry.query().partition(),
-                qry.reducer(),
-                qry.transform(),
-                qry.query().pageSize(),
-                qry.query().includeBackups(),
-                qry.arguments(),
-                false,
-                qry.query().keepBinary(),
-                qry.query().subjectId(),
-                qry.query().taskHash(),
-                queryTopologyVersion(),
-                mvccSnapshot,
-                // Force deployment anyway if scan query is used.
-                cctx.deploymentEnabled() || deployFilterOrTransformer,
-                dataPageScanEnabled);
+            final GridCacheQueryRequest req;
+
+            // Nodes which don't know the parallelism field scan partitions sequentially.
+            if (qry.query().parallelism() > 1 &&
+                IgniteFeatures.allNodesSupports(cctx.kernalContext(), nodes, SCAN_QUERY_PARALLELISM)) {
+                req = new GridCacheQueryRequestV2(
+                    cctx.cacheId(),
+                    reqId,
+                    cctx.name(),
+                    qry.query().type(),
+                    qry.query().clause(),
+                    clsName,
+                    qry.query().scanFilter(),
+                    qry.query().partition(),
+                    qry.reducer(),
+                    qry.transform(),
+                    qry.query().pageSize(),
+                    qry.query().includeBackups(),
+                    qry.arguments(),
+                    qry.query().keepBinary(),
+                    qry.query().subjectId(),
+                    qry.query().taskHash(),
+                    queryTopologyVersion(),
+                    mvccSnapshot,
+                    // Force deployment anyway if scan query is used.
+                    cctx.deploymentEnabled() || deployFilterOrTransformer,
+                    dataPageScanEnabled,
+                    qry.query().parallelism());
+            }
+            else {
+                req = new GridCacheQueryRequest(
+                    cctx.cacheId(),
+                    reqId,
+                    cctx.name(),
+                    qry.query().type(),
+                    false,
+                    qry.query().clause(),
+                    clsName,
+                    qry.query().scanFilter(),
+                    qry.query().partition(),
+                    qry.reducer(),
+                    qry.transform(),
+                    qry.query().pageSize(),
+                    qry.query().includeBackups(),
+                    qry.arguments(),
+                    false,
+                    qry.query().keepBinary(),
+                    qry.query().subjectId(),
+                    qry.query().taskHash(),
+                    queryTopologyVersion(),
+                    mvccSnapshot,
+                    // Force deployment anyway if scan query is used.
+                    cctx.deploymentEnabled() || deployFilterOrTransformer,
+                    dataPageScanEnabled);
+            }
 
             addQueryFuture(req.id(), fut);
 
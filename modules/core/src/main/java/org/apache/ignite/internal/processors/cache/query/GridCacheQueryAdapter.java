@@ -113,6 +113,9 @@ public class GridCacheQueryAdapter<T> implements CacheQuery<T> {
     /** */
     private volatile int pageSize = Query.DFLT_PAGE_SIZE;
 
+    /** */
+    private volatile int parallelism = 1;
+
     /** */
     private volatile long timeout;
 
@@ -425,6 +428,22 @@ public class GridCacheQueryAdapter<T> implements CacheQuery<T> {
         return pageSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public CacheQuery<T> parallelism(int parallelism) {
+        A.ensure(parallelism > 0, "parallelism > 0");
+
+        this.parallelism = parallelism;
+
+        return this;
+    }
+
+    /**
+     * @return Maximum number of partitions scanned in parallel on a node.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
     /** {@inheritDoc} */
     @Override public CacheQuery<T> timeout(long timeout) {
         A.ensure(timeout >= 0, "timeout >= 0");
@@ -93,6 +93,7 @@ import org.apache.ignite.internal.util.GridBoundedPriorityQueue;
 import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
 import org.apache.ignite.internal.util.GridConcurrentHashSet;
 import org.apache.ignite.internal.util.GridEmptyCloseableIterator;
+import org.apache.ignite.internal.util.GridIntList;
 import org.apache.ignite.internal.util.GridLeanMap;
 import org.apache.ignite.internal.util.GridSpiCloseableIteratorWrapper;
 import org.apache.ignite.internal.util.GridSpinBusyLock;
@@ -431,7 +432,7 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
      */
     public void remove(KeyCacheObject key, @Nullable CacheDataRow prevRow)
         throws IgniteCheckedException {
-        if (!qryProcEnabled)
+        if (!enabled)
             return; // No-op.
 
         if (!enterBusy())
@@ -866,6 +867,10 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
                     }
                 }
 
+                if (qry.parallelism() > 1 && !cctx.isLocal() && qry.mvccSnapshot() == null &&
+                    !(keyValFilter instanceof PlatformCacheEntryFilter))
+                    return parallelScanIterator(qry, transformer, locNode, backups, topVer);
+
                 it = cctx.offheap().cacheIterator(cctx.cacheId(), true, backups, topVer,
                     qry.mvccSnapshot(), qry.isDataPageScanEnabled());
             }
@@ -889,6 +894,56 @@ public abstract class GridCacheQueryManager<K, V> extends GridCacheManagerAdapte
         }
     }
 
+    /**
+     * Creates an iterator which scans local partitions in parallel on the query pool. Partitions are the same
+     * as the ones scanned by the sequential iterator, and every partition is scanned without reservation
+     * the same way as well.
+     *
+     * @param qry Query.
+     * @param transformer Transformer.
+     * @param locNode Local node.
+     * @param backups Whether to scan backup partitions.
+     * @param topVer Topology version.
+     * @return Full-scan row iterator.
+     */
+    private GridCloseableIterator parallelScanIterator(
+        GridCacheQueryAdapter<?> qry,
+        IgniteClosure transformer,
+        boolean locNode,
+        boolean backups,
+        AffinityTopologyVersion topVer
+    ) {
+        GridDhtCacheAdapter dht = cctx.isNear() ? cctx.near().dht() : cctx.dht();
+
+        Set<Integer> primary = backups ? null : cctx.affinity().primaryPartitions(cctx.localNodeId(), topVer);
+
+        GridIntList parts = new GridIntList();
+
+        for (GridDhtLocalPartition locPart : dht.topology().currentLocalPartitions()) {
+            if (primary == null || primary.contains(locPart.id()))
+                parts.add(locPart.id());
+        }
+
+        return new ParallelScanQueryIterator(
+            parts.array(),
+            qry.parallelism(),
+            qry.pageSize(),
+            cctx.kernalContext().pools().getQueryExecutorService(),
+            part -> new ScanQueryIterator(
+                cctx.offheap().cachePartitionIterator(cctx.cacheId(), part, null, qry.isDataPageScanEnabled()),
+                qry,
+                topVer,
+                null,
+                qry.scanFilter(),
+                transformer,
+                locNode,
+                locNode ? locIters : null,
+                cctx,
+                log),
+            cctx.kernalContext().security(),
+            log);
+    }
+
     /**
      * @param o Object to inject resources to.
      * @throws IgniteCheckedException If failure occurred while injecting resources.
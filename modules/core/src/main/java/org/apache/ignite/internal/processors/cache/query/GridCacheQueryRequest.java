@@ -248,6 +248,7 @@ public class GridCacheQueryRequest extends GridCacheIdMessage implements GridCac
      * @param topVer Topology version.
      * @param mvccSnapshot Mvcc snapshot.
      * @param addDepInfo Deployment info flag.
+     * @param dataPageScanEnabled Flag to enable data page scan.
      */
     public GridCacheQueryRequest(
         int cacheId,
@@ -544,6 +545,13 @@ public class GridCacheQueryRequest extends GridCacheIdMessage implements GridCac
         return null;
     }
 
+    /**
+     * @return Maximum number of partitions scanned in parallel.
+     */
+    public int parallelism() {
+        return 1;
+    }
+
     /**
      * @return partition.
      */
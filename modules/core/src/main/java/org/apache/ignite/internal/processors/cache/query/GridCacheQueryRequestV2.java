@@ -0,0 +1,173 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.query;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.lang.IgniteReducer;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Query request with the scan parallelism. Sent only to nodes which support
+ * {@link org.apache.ignite.internal.IgniteFeatures#SCAN_QUERY_PARALLELISM}.
+ */
+public class GridCacheQueryRequestV2 extends GridCacheQueryRequest {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Maximum number of partitions scanned in parallel. */
+    private int parallelism;
+
+    /**
+     * Default constructor.
+     */
+    public GridCacheQueryRequestV2() {
+        // No-op.
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param id Request id.
+     * @param cacheName Cache name.
+     * @param type Query type.
+     * @param clause Query clause.
+     * @param clsName Query class name.
+     * @param keyValFilter Key-value filter.
+     * @param part Partition.
+     * @param rdc Reducer.
+     * @param trans Transformer.
+     * @param pageSize Page size.
+     * @param incBackups {@code true} if need to include backups.
+     * @param args Query arguments.
+     * @param keepBinary Keep binary flag.
+     * @param subjId Subject ID.
+     * @param taskHash Task name hash code.
+     * @param topVer Topology version.
+     * @param mvccSnapshot Mvcc snapshot.
+     * @param addDepInfo Deployment info flag.
+     * @param dataPageScanEnabled Flag to enable data page scan.
+     * @param parallelism Maximum number of partitions scanned in parallel.
+     */
+    public GridCacheQueryRequestV2(
+        int cacheId,
+        long id,
+        String cacheName,
+        GridCacheQueryType type,
+        String clause,
+        String clsName,
+        IgniteBiPredicate<Object, Object> keyValFilter,
+        @Nullable Integer part,
+        IgniteReducer<Object, Object> rdc,
+        IgniteClosure<?, ?> trans,
+        int pageSize,
+        boolean incBackups,
+        Object[] args,
+        boolean keepBinary,
+        UUID subjId,
+        int taskHash,
+        AffinityTopologyVersion topVer,
+        MvccSnapshot mvccSnapshot,
+        boolean addDepInfo,
+        Boolean dataPageScanEnabled,
+        int parallelism
+    ) {
+        super(cacheId, id, cacheName, type, false, clause, clsName, keyValFilter, part, rdc, trans, pageSize,
+            incBackups, args, false, keepBinary, subjId, taskHash, topVer, mvccSnapshot, addDepInfo,
+            dataPageScanEnabled);
+
+        assert parallelism > 0 : parallelism;
+
+        this.parallelism = parallelism;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int parallelism() {
+        return parallelism;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!super.writeTo(buf, writer))
+            return false;
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 26:
+                if (!writer.writeInt("parallelism", parallelism))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        if (!super.readFrom(buf, reader))
+            return false;
+
+        switch (reader.state()) {
+            case 26:
+                parallelism = reader.readInt("parallelism");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(GridCacheQueryRequestV2.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return -38;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 27;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheQueryRequestV2.class, this, super.toString());
+    }
+}
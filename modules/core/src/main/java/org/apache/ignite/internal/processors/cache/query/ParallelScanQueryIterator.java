@@ -0,0 +1,384 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.query;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.processors.cache.query.GridCacheQueryManager.ScanQueryIterator;
+import org.apache.ignite.internal.processors.security.IgniteSecurity;
+import org.apache.ignite.internal.processors.security.OperationSecurityContext;
+import org.apache.ignite.internal.processors.security.SecurityContext;
+import org.apache.ignite.internal.util.GridCloseableIteratorAdapterEx;
+import org.apache.ignite.internal.util.function.ThrowableFunction;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Scan query iterator which scans several local partitions in parallel.
+ * <p>
+ * Every partition is scanned by its own {@link ScanQueryIterator}. A scan task takes a partition, moves up to
+ * a page of its entries to the buffer of ready batches and returns the partition for the next task, so batches
+ * of different partitions are returned in the order they are scanned. Tasks run on the given executor, their
+ * number and the number of buffered batches are limited by the parallelism, so the scan is suspended rather than
+ * holding pool threads while the consumer does not request pages. The consumer scans partitions itself when
+ * no batch is ready, so the iterator makes progress even when the pool is busy. Scan tasks run in the security
+ * context of the thread which created the iterator.
+ */
+class ParallelScanQueryIterator extends GridCloseableIteratorAdapterEx<Object> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Partitions which are not started yet. */
+    private final Queue<Integer> parts = new ArrayDeque<>();
+
+    /** Started partitions which are not scanned by any thread now. */
+    @GridToStringExclude
+    private final Queue<ScanQueryIterator> started = new ArrayDeque<>();
+
+    /** Scanned batches. */
+    @GridToStringExclude
+    private final Queue<List<Object>> ready = new ArrayDeque<>();
+
+    /** Partition scan iterator factory. */
+    @GridToStringExclude
+    private final ThrowableFunction<ScanQueryIterator, Integer, IgniteCheckedException> factory;
+
+    /** Executor of scan tasks. */
+    @GridToStringExclude
+    private final Executor exec;
+
+    /** */
+    @GridToStringExclude
+    private final IgniteLogger log;
+
+    /** Security processor. */
+    @GridToStringExclude
+    private final IgniteSecurity security;
+
+    /** Security context of the query, {@code null} if security is disabled. */
+    @GridToStringExclude
+    private final SecurityContext secCtx;
+
+    /** Maximum number of partitions scanned in parallel. */
+    private final int parallelism;
+
+    /** Maximum number of entries in a batch. */
+    private final int batchSize;
+
+    /** Number of submitted scan tasks. */
+    private int tasks;
+
+    /** Number of submitted scan tasks which have not taken a partition yet. */
+    private int pendingTasks;
+
+    /** Number of partitions which are scanned now. */
+    private int active;
+
+    /** First scan error. */
+    private Throwable err;
+
+    /** */
+    private boolean closed;
+
+    /** Current batch. */
+    @GridToStringExclude
+    private Iterator<Object> cur = Collections.emptyIterator();
+
+    /**
+     * @param parts Partitions to scan.
+     * @param parallelism Maximum number of partitions scanned in parallel.
+     * @param batchSize Maximum number of entries in a batch.
+     * @param exec Executor of scan tasks.
+     * @param factory Partition scan iterator factory.
+     * @param security Security processor.
+     * @param log Logger.
+     */
+    ParallelScanQueryIterator(
+        int[] parts,
+        int parallelism,
+        int batchSize,
+        Executor exec,
+        ThrowableFunction<ScanQueryIterator, Integer, IgniteCheckedException> factory,
+        IgniteSecurity security,
+        IgniteLogger log
+    ) {
+        assert parallelism > 1 : parallelism;
+        assert batchSize > 0 : batchSize;
+
+        for (int part : parts)
+            this.parts.add(part);
+
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.exec = exec;
+        this.factory = factory;
+        this.security = security;
+        this.log = log;
+
+        secCtx = security.securityContext();
+
+        synchronized (this) {
+            schedule();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Object onNext() throws IgniteCheckedException {
+        if (!onHasNext())
+            throw new NoSuchElementException();
+
+        return cur.next();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean onHasNext() throws IgniteCheckedException {
+        while (!cur.hasNext()) {
+            List<Object> batch = nextBatch();
+
+            if (batch == null)
+                return false;
+
+            cur = batch.iterator();
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Next batch or {@code null} if all partitions are scanned.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<Object> nextBatch() throws IgniteCheckedException {
+        while (true) {
+            synchronized (this) {
+                checkError();
+
+                List<Object> batch = ready.poll();
+
+                if (batch != null) {
+                    schedule();
+
+                    return batch;
+                }
+
+                if (closed || (parts.isEmpty() && started.isEmpty() && active == 0))
+                    return null;
+
+                if (parts.isEmpty() && started.isEmpty()) {
+                    try {
+                        wait();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+
+                        throw new IgniteInterruptedCheckedException(e);
+                    }
+
+                    continue;
+                }
+            }
+
+            scanBatch();
+        }
+    }
+
+    /**
+     * Submits scan tasks if there are partitions to scan and room for their batches.
+     */
+    private void schedule() {
+        assert Thread.holdsLock(this);
+
+        while (!closed && err == null && tasks < parallelism && ready.size() + tasks < 2 * parallelism &&
+            pendingTasks < parts.size() + started.size()) {
+            tasks++;
+            pendingTasks++;
+
+            try {
+                exec.execute(this::runTask);
+            }
+            catch (RejectedExecutionException e) {
+                tasks--;
+                pendingTasks--;
+
+                if (log.isDebugEnabled())
+                    log.debug("Failed to submit scan task, partitions will be scanned by the consumer: " + e);
+
+                break;
+            }
+        }
+    }
+
+    /**
+     * Scan task.
+     */
+    private void runTask() {
+        synchronized (this) {
+            pendingTasks--;
+        }
+
+        try (OperationSecurityContext ignored = security.withContext(secCtx)) {
+            scanBatch();
+        }
+        finally {
+            synchronized (this) {
+                tasks--;
+
+                schedule();
+            }
+        }
+    }
+
+    /**
+     * Takes a partition and moves a batch of its entries to the buffer.
+     */
+    private void scanBatch() {
+        ScanQueryIterator it;
+        Integer part = null;
+
+        synchronized (this) {
+            if (closed || err != null)
+                return;
+
+            it = started.poll();
+
+            if (it == null) {
+                part = parts.poll();
+
+                if (part == null)
+                    return;
+            }
+
+            active++;
+        }
+
+        List<Object> batch = new ArrayList<>();
+
+        boolean finished = false;
+
+        try {
+            if (it == null)
+                it = factory.apply(part);
+
+            while (batch.size() < batchSize) {
+                if (!it.hasNextX()) {
+                    finished = true;
+
+                    break;
+                }
+
+                batch.add(it.nextX());
+            }
+        }
+        catch (Throwable e) {
+            finished = true;
+
+            synchronized (this) {
+                if (err == null)
+                    err = e;
+            }
+
+            if (e instanceof Error)
+                throw (Error)e;
+        }
+        finally {
+            boolean close;
+
+            synchronized (this) {
+                active--;
+
+                if (!batch.isEmpty() && !closed && err == null)
+                    ready.add(batch);
+
+                close = finished || closed || err != null;
+
+                if (!close)
+                    started.add(it);
+
+                notifyAll();
+            }
+
+            if (close && it != null)
+                closePartition(it);
+        }
+    }
+
+    /**
+     * @throws IgniteCheckedException If a partition scan failed.
+     */
+    private void checkError() throws IgniteCheckedException {
+        assert Thread.holdsLock(this);
+
+        if (err == null)
+            return;
+
+        if (err instanceof RuntimeException)
+            throw (RuntimeException)err;
+
+        if (err instanceof Error)
+            throw (Error)err;
+
+        throw U.cast(err);
+    }
+
+    /**
+     * @param it Partition scan iterator.
+     */
+    private void closePartition(ScanQueryIterator it) {
+        try {
+            it.close();
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to close partition scan iterator.", e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onClose() {
+        List<ScanQueryIterator> toClose;
+
+        synchronized (this) {
+            closed = true;
+
+            toClose = new ArrayList<>(started);
+
+            started.clear();
+            parts.clear();
+            ready.clear();
+
+            notifyAll();
+        }
+
+        for (ScanQueryIterator it : toClose)
+            closePartition(it);
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized String toString() {
+        return S.toString(ParallelScanQueryIterator.class, this);
+    }
+}
@@ -0,0 +1,958 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.store;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.cache.integration.CacheWriterException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cache.affinity.AffinityFunction;
+import org.apache.ignite.cache.store.AsyncCacheStore;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.LT;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static javax.cache.Cache.Entry;
+import static org.apache.ignite.internal.processors.cache.CacheMetricsImpl.LATENCY_HISTOGRAM_HIGHEST;
+import static org.apache.ignite.internal.processors.cache.CacheMetricsImpl.LATENCY_HISTOGRAM_LOWEST;
+import static org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl.DFLT_SUB_BUCKET_BITS;
+
+/**
+ * Write-behind store for an {@link AsyncCacheStore}.
+ * <p/>
+ * Operations are kept in ordered queues, one per partition of the cache affinity function. A single flusher
+ * thread collects due operations of several queues into a batch and passes it to the store without waiting
+ * for the result, so up to {@link #getWriteBehindFlushThreadCount()} batches are written concurrently. A queue
+ * takes part in at most one batch at a time, so operations on the same key are never reordered.
+ * <p/>
+ * The number of entries in a batch is adapted to keep the duration of a store call close to
+ * {@link #DFLT_TARGET_BATCH_LATENCY}, never exceeding {@link #getWriteBehindStoreBatchSize()}. Failed batches are
+ * returned to the head of their queues and retried after the flush frequency, unless the buffer is full or
+ * the store is stopping, in which case the values are lost as in {@link GridCacheWriteBehindStore}.
+ * <p/>
+ * Writers are blocked while the buffer size is not less than the critical size.
+ */
+public class GridCacheAsyncWriteBehindStore<K, V> extends GridCacheWriteBehindStore<K, V> {
+    /** Default target duration of a store call in milliseconds. */
+    public static final long DFLT_TARGET_BATCH_LATENCY = 100;
+
+    /** Delay before a failed batch is retried if flush frequency is not set, in milliseconds. */
+    private static final long DFLT_RETRY_DELAY = 1000;
+
+    /** Weight of the last batch in the per-entry latency estimate. */
+    private static final double LATENCY_SMOOTHING = 0.2;
+
+    /** Highest tracked batch size. */
+    private static final long BATCH_SIZE_HISTOGRAM_HIGHEST = 64 * 1024;
+
+    /** Ignite instance name. */
+    private final String igniteInstanceName;
+
+    /** Cache name. */
+    private final String cacheName;
+
+    /** Underlying store. */
+    private final AsyncCacheStore<K, V> store;
+
+    /** Store manager. */
+    private final CacheStoreManager storeMgr;
+
+    /** Affinity function mapping keys to queues. */
+    private final AffinityFunction aff;
+
+    /** Log. */
+    private final IgniteLogger log;
+
+    /** Target duration of a store call in milliseconds. */
+    private long targetBatchLatency = DFLT_TARGET_BATCH_LATENCY;
+
+    /** Queues. */
+    private PartitionQueue[] queues;
+
+    /** Buffer size at which flush starts regardless of the age of operations, {@code 0} if not set. */
+    private int flushSize;
+
+    /** Buffer size at which writers are blocked. */
+    private int criticalSize;
+
+    /** Age in nanoseconds at which operations are flushed, {@code 0} if not set. */
+    private long flushFreqNanos;
+
+    /** Delay before a failed batch is retried in nanoseconds. */
+    private long retryDelayNanos;
+
+    /** Maximum number of batches being written concurrently. */
+    private int maxInFlight;
+
+    /** Maximum batch size. */
+    private int maxBatchSize;
+
+    /** Write coalescing flag. */
+    private boolean coalescing;
+
+    /** Flusher. */
+    private Flusher flusher;
+
+    /** Number of buffered operations including operations being written. */
+    private final AtomicInteger size = new AtomicInteger();
+
+    /** Number of batches being written. */
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /** Current batch size. */
+    private volatile int curBatchSize;
+
+    /** Estimated store latency per entry in nanoseconds. */
+    private double entryLatency;
+
+    /** Mutex for the latency estimate. */
+    private final Object latencyMux = new Object();
+
+    /** Stopping flag. */
+    private final AtomicBoolean stopping = new AtomicBoolean(true);
+
+    /** Force flush request flag. */
+    private volatile boolean flushReq;
+
+    /** Flusher wake up request flag. */
+    private volatile boolean wakeUpReq;
+
+    /** Lock. */
+    private final Lock lock = new ReentrantLock();
+
+    /** Condition signalled when the flusher has work. */
+    private final Condition canFlush = lock.newCondition();
+
+    /** Condition signalled when buffer space is freed. */
+    private final Condition canWrite = lock.newCondition();
+
+    /** Total number of overflow events. */
+    private final AtomicInteger totalOverflowCntr = new AtomicInteger();
+
+    /** Number of writers waiting for buffer space. */
+    private final AtomicInteger overflowCntr = new AtomicInteger();
+
+    /** Number of operations waiting for retry. */
+    private final AtomicInteger retryCntr = new AtomicInteger();
+
+    /** Sizes of batches. */
+    private final LogLinearHistogramMetricImpl batchSizes;
+
+    /** Durations of store calls in nanoseconds. */
+    private final LogLinearHistogramMetricImpl batchLatency;
+
+    /** Time operations spend in queues before they are passed to the store, in nanoseconds. */
+    private final LogLinearHistogramMetricImpl queueAge;
+
+    /**
+     * @param storeMgr Store manager.
+     * @param igniteInstanceName Ignite instance name.
+     * @param cacheName Cache name.
+     * @param log Grid logger.
+     * @param store Store that need to be wrapped.
+     * @param aff Affinity function mapping keys to queues.
+     * @param mreg Registry for the write-behind metrics.
+     */
+    public GridCacheAsyncWriteBehindStore(
+        CacheStoreManager storeMgr,
+        String igniteInstanceName,
+        String cacheName,
+        IgniteLogger log,
+        AsyncCacheStore<K, V> store,
+        AffinityFunction aff,
+        MetricRegistry mreg
+    ) {
+        super(storeMgr, igniteInstanceName, cacheName, log, store);
+
+        this.storeMgr = storeMgr;
+        this.igniteInstanceName = igniteInstanceName;
+        this.cacheName = cacheName;
+        this.log = log;
+        this.store = store;
+        this.aff = aff;
+
+        batchSizes = mreg.logLinearHistogram("WriteBehindBatchSize", 1, BATCH_SIZE_HISTOGRAM_HIGHEST,
+            DFLT_SUB_BUCKET_BITS, "Number of entries in batches passed to the store by write-behind.");
+
+        batchLatency = mreg.logLinearHistogram("WriteBehindBatchLatency", LATENCY_HISTOGRAM_LOWEST,
+            LATENCY_HISTOGRAM_HIGHEST, DFLT_SUB_BUCKET_BITS,
+            "Time in nanoseconds the store takes to complete a write-behind batch.");
+
+        queueAge = mreg.logLinearHistogram("WriteBehindQueueAge", LATENCY_HISTOGRAM_LOWEST,
+            LATENCY_HISTOGRAM_HIGHEST, DFLT_SUB_BUCKET_BITS,
+            "Time in nanoseconds operations wait in the write-behind queue before they are passed to the store.");
+
+        mreg.register("WriteBehindOldestQueuedAge", this::oldestQueuedAge,
+            "Age in milliseconds of the oldest operation waiting in the write-behind queue.");
+
+        mreg.register("WriteBehindCurrentBatchSize", this::currentBatchSize,
+            "Maximum number of entries in the next write-behind batch chosen according to the store latency.");
+
+        mreg.register("WriteBehindInFlightBatches", inFlight::get,
+            "Number of write-behind batches being written to the store.");
+    }
+
+    /**
+     * Sets the target duration of a store call. Batch size is decreased if the store takes longer
+     * to write a batch and increased otherwise.
+     *
+     * @param targetBatchLatency Target duration of a store call in milliseconds.
+     */
+    public void setTargetBatchLatency(long targetBatchLatency) {
+        A.ensure(targetBatchLatency > 0, "targetBatchLatency > 0");
+
+        this.targetBatchLatency = targetBatchLatency;
+    }
+
+    /**
+     * @return Target duration of a store call in milliseconds.
+     */
+    public long getTargetBatchLatency() {
+        return targetBatchLatency;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getWriteBehindBufferSize() {
+        return size.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getWriteBehindTotalCriticalOverflowCount() {
+        return totalOverflowCntr.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getWriteBehindCriticalOverflowCount() {
+        return overflowCntr.get();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getWriteBehindErrorRetryCount() {
+        return retryCntr.get();
+    }
+
+    /**
+     * @return Maximum number of entries in the next batch.
+     */
+    public int currentBatchSize() {
+        return curBatchSize;
+    }
+
+    /**
+     * @return Age in milliseconds of the oldest operation waiting in a queue, {@code 0} if queues are empty.
+     */
+    public long oldestQueuedAge() {
+        PartitionQueue[] queues0 = queues;
+
+        if (queues0 == null)
+            return 0;
+
+        long now = System.nanoTime();
+        long oldest = now;
+
+        for (PartitionQueue q : queues0) {
+            synchronized (q) {
+                Operation<K, V> head = q.ops.peekFirst();
+
+                if (head != null && head.time - oldest < 0)
+                    oldest = head.time;
+            }
+        }
+
+        return U.nanosToMillis(now - oldest);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void start() {
+        assert getWriteBehindFlushFrequency() != 0 || getWriteBehindFlushSize() != 0;
+
+        if (stopping.compareAndSet(true, false)) {
+            if (log.isDebugEnabled())
+                log.debug("Starting asynchronous write-behind store for cache '" + cacheName + '\'');
+
+            flushSize = getWriteBehindFlushSize();
+            criticalSize = (int)(flushSize * CACHE_OVERFLOW_RATIO);
+
+            if (criticalSize == 0)
+                criticalSize = CacheConfiguration.DFLT_WRITE_BEHIND_CRITICAL_SIZE;
+
+            flushFreqNanos = U.millisToNanos(getWriteBehindFlushFrequency());
+            retryDelayNanos = flushFreqNanos > 0 ? flushFreqNanos : U.millisToNanos(DFLT_RETRY_DELAY);
+            maxInFlight = getWriteBehindFlushThreadCount();
+            maxBatchSize = getWriteBehindStoreBatchSize();
+            coalescing = getWriteCoalescing();
+            curBatchSize = maxBatchSize;
+
+            PartitionQueue[] queues0 = new GridCacheAsyncWriteBehindStore.PartitionQueue[aff.partitions()];
+
+            for (int i = 0; i < queues0.length; i++)
+                queues0[i] = new PartitionQueue();
+
+            queues = queues0;
+
+            flusher = new Flusher(igniteInstanceName, "async-flusher", log);
+
+            new IgniteThread(flusher).start();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void stop() {
+        if (stopping.compareAndSet(false, true)) {
+            if (log.isDebugEnabled())
+                log.debug("Stopping asynchronous write-behind store for cache '" + cacheName + '\'');
+
+            wakeUp();
+
+            if (!U.join(flusher, log))
+                log.warning("Write behind store shutdown was aborted.");
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void forceFlush() {
+        flushReq = true;
+
+        wakeUp();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Map<K, V> loadAll(Iterable<? extends K> keys) {
+        if (log.isDebugEnabled())
+            log.debug(S.toString("Store load all",
+                "keys", keys, true));
+
+        Map<K, V> loaded = new HashMap<>();
+
+        Collection<K> remaining = null;
+
+        for (K key : keys) {
+            PartitionQueue q = queue(key);
+
+            synchronized (q) {
+                Operation<K, V> op = q.latest.get(key);
+
+                if (op != null) {
+                    if (op.entry != null)
+                        loaded.put(key, op.entry.getValue());
+
+                    continue;
+                }
+            }
+
+            if (remaining == null)
+                remaining = new ArrayList<>();
+
+            remaining.add(key);
+        }
+
+        if (remaining != null) {
+            Map<K, V> loaded0 = store.loadAll(remaining);
+
+            if (loaded0 != null)
+                loaded.putAll(loaded0);
+        }
+
+        return loaded;
+    }
+
+    /** {@inheritDoc} */
+    @Override public V load(K key) {
+        if (log.isDebugEnabled())
+            log.debug(S.toString("Store load",
+                "key", key, true));
+
+        PartitionQueue q = queue(key);
+
+        synchronized (q) {
+            Operation<K, V> op = q.latest.get(key);
+
+            if (op != null)
+                return op.entry != null ? op.entry.getValue() : null;
+        }
+
+        return store.load(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(Entry<? extends K, ? extends V> entry) {
+        try {
+            if (log.isDebugEnabled())
+                log.debug(S.toString("Store put",
+                    "key", entry.getKey(), true,
+                    "val", entry.getValue(), true));
+
+            update(entry.getKey(), entry);
+        }
+        catch (IgniteInterruptedCheckedException e) {
+            throw new CacheWriterException(U.convertExceptionNoWrap(e));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void delete(Object key) {
+        try {
+            if (log.isDebugEnabled())
+                log.debug(S.toString("Store remove",
+                    "key", key, true));
+
+            update((K)key, null);
+        }
+        catch (IgniteInterruptedCheckedException e) {
+            throw new CacheWriterException(U.convertExceptionNoWrap(e));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheAsyncWriteBehindStore.class, this,
+            "size", size.get(),
+            "inFlight", inFlight.get());
+    }
+
+    /**
+     * @param key Key.
+     * @return Queue of the key.
+     */
+    private PartitionQueue queue(Object key) {
+        return queues[aff.partition(key)];
+    }
+
+    /**
+     * Adds an operation to the queue of the key.
+     *
+     * @param key Key.
+     * @param entry Entry to write or {@code null} to delete the key.
+     * @throws IgniteInterruptedCheckedException If interrupted while waiting for buffer space.
+     */
+    private void update(K key, @Nullable Entry<? extends K, ? extends V> entry)
+        throws IgniteInterruptedCheckedException {
+        if (size.get() >= criticalSize)
+            awaitSpace();
+
+        int part = aff.partition(key);
+
+        PartitionQueue q = queues[part];
+
+        int newSize;
+
+        synchronized (q) {
+            Operation<K, V> prev = q.latest.get(key);
+
+            if (coalescing && prev != null && !prev.inFlight) {
+                prev.entry = entry;
+
+                return;
+            }
+
+            Operation<K, V> op = new Operation<>(key, part, entry, System.nanoTime());
+
+            q.ops.addLast(op);
+            q.latest.put(key, op);
+
+            newSize = size.incrementAndGet();
+        }
+
+        if (flushSize > 0 && newSize > flushSize && !wakeUpReq)
+            wakeUp();
+    }
+
+    /**
+     * Blocks until the buffer size gets less than the critical size.
+     *
+     * @throws IgniteInterruptedCheckedException If interrupted.
+     */
+    private void awaitSpace() throws IgniteInterruptedCheckedException {
+        totalOverflowCntr.incrementAndGet();
+        overflowCntr.incrementAndGet();
+
+        try {
+            wakeUp();
+
+            lock.lock();
+
+            try {
+                while (size.get() >= criticalSize && !stopping.get())
+                    canWrite.await();
+            }
+            catch (InterruptedException e) {
+                throw new IgniteInterruptedCheckedException(e);
+            }
+            finally {
+                lock.unlock();
+            }
+        }
+        finally {
+            overflowCntr.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wakes up the flusher and the writers waiting for buffer space.
+     */
+    private void wakeUp() {
+        lock.lock();
+
+        try {
+            wakeUpReq = true;
+
+            canFlush.signal();
+            canWrite.signalAll();
+        }
+        finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Passes a batch to the store.
+     *
+     * @param b Batch.
+     */
+    private void submit(Batch b) {
+        batchSizes.value(b.ops.size());
+
+        b.startTime = System.nanoTime();
+
+        boolean submitted = false;
+
+        try {
+            if (storeMgr != null)
+                storeMgr.writeBehindSessionInit();
+
+            try {
+                CompletionStage<Void> stage = b.rmv ? store.deleteAllAsync(b.keys()) :
+                    store.writeAllAsync(b.entries());
+
+                stage.whenComplete((res, err) -> onBatchFinished(b, err));
+
+                submitted = true;
+            }
+            finally {
+                if (storeMgr != null)
+                    storeMgr.writeBehindSessionEnd(!submitted);
+            }
+        }
+        catch (Exception e) {
+            if (submitted)
+                U.error(log, "Failed to end write-behind store session.", e);
+            else
+                onBatchFinished(b, e);
+        }
+    }
+
+    /**
+     * Removes written operations from the queues or returns failed ones back.
+     *
+     * @param b Batch.
+     * @param err Error or {@code null} if the batch is written.
+     */
+    private void onBatchFinished(Batch b, @Nullable Throwable err) {
+        long now = System.nanoTime();
+
+        if (err == null)
+            onBatchWritten(b.ops.size(), now - b.startTime);
+        else {
+            if (err instanceof CompletionException && err.getCause() != null)
+                err = err.getCause();
+
+            LT.error(log, err, "Unable to update underlying store: " + store);
+        }
+
+        boolean retry = err != null && size.get() < criticalSize && !stopping.get();
+
+        int removed = 0;
+
+        // Failed operations are returned in reverse order to keep their order in queues.
+        for (int i = b.ops.size() - 1; i >= 0; i--) {
+            Operation<K, V> op = b.ops.get(i);
+
+            PartitionQueue q = queues[op.part];
+
+            synchronized (q) {
+                if (retry && (!coalescing || q.latest.get(op.key) == op)) {
+                    op.inFlight = false;
+
+                    if (!op.retry) {
+                        op.retry = true;
+
+                        retryCntr.incrementAndGet();
+                    }
+
+                    q.ops.addFirst(op);
+
+                    continue;
+                }
+
+                q.latest.remove(op.key, op);
+            }
+
+            if (op.retry)
+                retryCntr.decrementAndGet();
+
+            if (err != null && !retry) {
+                log.warning("Failed to update store (value will be lost as current buffer size is greater " +
+                    "than 'cacheCriticalSize' or node has been stopped before store was repaired) [key=" +
+                    op.key + ", val=" + (op.entry != null ? op.entry.getValue() : null) +
+                    ", op=" + (b.rmv ? "RMV" : "PUT") + "]");
+            }
+
+            removed++;
+        }
+
+        for (PartitionQueue q : b.queues) {
+            synchronized (q) {
+                q.flushing = false;
+                q.retryTime = retry ? now + retryDelayNanos : 0;
+            }
+        }
+
+        size.addAndGet(-removed);
+        inFlight.decrementAndGet();
+
+        wakeUp();
+    }
+
+    /**
+     * Updates the latency estimate and the batch size.
+     *
+     * @param entries Number of entries in the batch.
+     * @param nanos Duration of the store call in nanoseconds.
+     */
+    private void onBatchWritten(int entries, long nanos) {
+        batchLatency.value(nanos);
+
+        synchronized (latencyMux) {
+            double latency = Math.max(nanos, 1) / (double)entries;
+
+            entryLatency = entryLatency == 0 ? latency : entryLatency + LATENCY_SMOOTHING * (latency - entryLatency);
+
+            double size = U.millisToNanos(targetBatchLatency) / entryLatency;
+
+            curBatchSize = (int)Math.max(1, Math.min(maxBatchSize, size));
+        }
+    }
+
+    /**
+     * Queue of operations mapped to the same partition.
+     */
+    private class PartitionQueue {
+        /** Operations waiting to be passed to the store, in the order they were made. */
+        private final ArrayDeque<Operation<K, V>> ops = new ArrayDeque<>();
+
+        /** Latest operation of each key, either waiting or being written. */
+        private final Map<K, Operation<K, V>> latest = new HashMap<>();
+
+        /** Whether operations of this queue are being written. */
+        private boolean flushing;
+
+        /** Time before which a failed batch is not retried, {@code 0} if there is no failed batch. */
+        private long retryTime;
+
+        /**
+         * Moves leading operations of the same kind as the batch to the batch.
+         *
+         * @param b Batch.
+         * @param max Maximum number of operations in the batch.
+         * @param now Current time.
+         */
+        private void poll(Batch b, int max, long now) {
+            assert Thread.holdsLock(this);
+            assert !flushing;
+
+            Set<K> keys = coalescing ? null : new HashSet<>();
+
+            while (b.ops.size() < max) {
+                Operation<K, V> op = ops.peekFirst();
+
+                // Without coalescing a key may have several operations, only the first one is taken.
+                if (op == null || (op.entry == null) != b.rmv || (keys != null && !keys.add(op.key)))
+                    break;
+
+                ops.pollFirst();
+
+                op.inFlight = true;
+
+                b.ops.add(op);
+
+                queueAge.value(now - op.time);
+            }
+
+            flushing = true;
+
+            b.queues.add(this);
+        }
+    }
+
+    /**
+     * Store operation.
+     */
+    private static class Operation<K, V> {
+        /** Key. */
+        private final K key;
+
+        /** Partition. */
+        private final int part;
+
+        /** Time the operation was made. */
+        private final long time;
+
+        /** Entry to write or {@code null} to delete the key. */
+        @Nullable private Entry<? extends K, ? extends V> entry;
+
+        /** Whether the operation is being written. */
+        private boolean inFlight;
+
+        /** Whether the operation failed at least once. */
+        private boolean retry;
+
+        /**
+         * @param key Key.
+         * @param part Partition.
+         * @param entry Entry to write or {@code null} to delete the key.
+         * @param time Time the operation was made.
+         */
+        private Operation(K key, int part, @Nullable Entry<? extends K, ? extends V> entry, long time) {
+            this.key = key;
+            this.part = part;
+            this.entry = entry;
+            this.time = time;
+        }
+    }
+
+    /**
+     * Operations of the same kind passed to the store in one call.
+     */
+    private class Batch {
+        /** Delete flag. */
+        private final boolean rmv;
+
+        /** Operations. */
+        private final List<Operation<K, V>> ops = new ArrayList<>();
+
+        /** Queues of the operations. */
+        private final List<PartitionQueue> queues = new ArrayList<>();
+
+        /** Time the batch was passed to the store. */
+        private long startTime;
+
+        /**
+         * @param rmv Delete flag.
+         */
+        private Batch(boolean rmv) {
+            this.rmv = rmv;
+        }
+
+        /**
+         * @return Entries to write.
+         */
+        private Collection<Entry<? extends K, ? extends V>> entries() {
+            List<Entry<? extends K, ? extends V>> entries = new ArrayList<>(ops.size());
+
+            for (Operation<K, V> op : ops)
+                entries.add(op.entry);
+
+            return entries;
+        }
+
+        /**
+         * @return Keys to delete.
+         */
+        private Collection<K> keys() {
+            List<K> keys = new ArrayList<>(ops.size());
+
+            for (Operation<K, V> op : ops)
+                keys.add(op.key);
+
+            return keys;
+        }
+    }
+
+    /**
+     * Thread that collects due operations into batches and passes them to the store.
+     */
+    private class Flusher extends GridWorker {
+        /** Index of the queue to start the next scan from. */
+        private int nextQueue;
+
+        /**
+         * @param igniteInstanceName Ignite instance name.
+         * @param name Thread name.
+         * @param log Logger.
+         */
+        private Flusher(String igniteInstanceName, String name, IgniteLogger log) {
+            super(igniteInstanceName, name, log);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void body() throws InterruptedException {
+            boolean drain = false;
+
+            while (true) {
+                boolean stop = stopping.get();
+
+                if (stop && size.get() == 0)
+                    break;
+
+                if (flushReq) {
+                    flushReq = false;
+
+                    drain = true;
+                }
+
+                long wait = flush(drain || stop);
+
+                // Force flush is over once all queues are checked.
+                if (wait >= 0)
+                    drain = false;
+
+                lock.lock();
+
+                try {
+                    if (!wakeUpReq) {
+                        if (wait < 0 || wait == Long.MAX_VALUE)
+                            canFlush.await();
+                        else
+                            canFlush.awaitNanos(wait);
+                    }
+
+                    wakeUpReq = false;
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        /**
+         * Collects due operations into batches and passes them to the store.
+         *
+         * @param drain Whether operations should be flushed regardless of their age.
+         * @return Time in nanoseconds until the next operation gets due, {@link Long#MAX_VALUE} if there is no such
+         *      operation, or {@code -1} if the scan was interrupted since the limit of concurrent batches was reached.
+         */
+        private long flush(boolean drain) {
+            long now = System.nanoTime();
+
+            boolean overflow = flushSize > 0 && size.get() > flushSize;
+
+            int batchSize = curBatchSize;
+
+            long wait = Long.MAX_VALUE;
+
+            Batch puts = null;
+            Batch rmvs = null;
+
+            int cnt = queues.length;
+            int i = 0;
+
+            for (; i < cnt; i++) {
+                PartitionQueue q = queues[(nextQueue + i) % cnt];
+
+                Batch b;
+
+                synchronized (q) {
+                    Operation<K, V> head = q.ops.peekFirst();
+
+                    if (head == null || q.flushing)
+                        continue;
+
+                    if (!drain) {
+                        if (q.retryTime != 0 && q.retryTime - now > 0) {
+                            wait = Math.min(wait, q.retryTime - now);
+
+                            continue;
+                        }
+
+                        if (!overflow && q.ops.size() < batchSize) {
+                            if (flushFreqNanos == 0)
+                                continue;
+
+                            long age = now - head.time;
+
+                            if (age < flushFreqNanos) {
+                                wait = Math.min(wait, flushFreqNanos - age);
+
+                                continue;
+                            }
+                        }
+                    }
+
+                    boolean rmv = head.entry == null;
+
+                    b = rmv ? rmvs : puts;
+
+                    if (b == null) {
+                        if (inFlight.get() >= maxInFlight)
+                            break;
+
+                        inFlight.incrementAndGet();
+
+                        b = new Batch(rmv);
+
+                        if (rmv)
+                            rmvs = b;
+                        else
+                            puts = b;
+                    }
+
+                    q.poll(b, batchSize, now);
+                }
+
+                if (b.ops.size() >= batchSize) {
+                    if (b == puts)
+                        puts = null;
+                    else
+                        rmvs = null;
+
+                    submit(b);
+                }
+            }
+
+            nextQueue = (nextQueue + i) % cnt;
+
+            if (puts != null)
+                submit(puts);
+
+            if (rmvs != null)
+                submit(rmvs);
+
+            return i < cnt ? -1 : wait;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import javax.cache.integration.CacheLoaderException;
 import javax.cache.integration.CacheWriterException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.store.AsyncCacheStore;
 import org.apache.ignite.cache.store.CacheStore;
 import org.apache.ignite.cache.store.CacheStoreSession;
 import org.apache.ignite.cache.store.CacheStoreSessionListener;
@@ -75,6 +76,8 @@ import org.apache.ignite.transactions.TransactionState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+
 /**
  * Store manager.
  */
@@ -169,8 +172,8 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
      * @param ctx Kernal context.
      * @param cfgStore Store provided in configuration.
      * @param cfg Cache configuration.
-     * @return Instance if {@link GridCacheWriteBehindStore} if write-behind store is configured,
-     *         or user-defined cache store.
+     * @return Instance if {@link GridCacheWriteBehindStore} if write-behind store is configured
+     *         ({@link GridCacheAsyncWriteBehindStore} for {@link AsyncCacheStore}), or user-defined cache store.
      */
     @SuppressWarnings({"unchecked"})
     private CacheStore cacheStoreWrapper(GridKernalContext ctx,
@@ -179,11 +182,24 @@ public abstract class GridCacheStoreManagerAdapter extends GridCacheManagerAdapt
         if (cfgStore == null || !cfg.isWriteBehindEnabled())
             return cfgStore;
 
-        GridCacheWriteBehindStore store = new GridCacheWriteBehindStore(this,
-            ctx.igniteInstanceName(),
-            cfg.getName(),
-            ctx.log(GridCacheWriteBehindStore.class),
-            cfgStore);
+        GridCacheWriteBehindStore store;
+
+        if (cfgStore instanceof AsyncCacheStore) {
+            store = new GridCacheAsyncWriteBehindStore(this,
+                ctx.igniteInstanceName(),
+                cfg.getName(),
+                ctx.log(GridCacheAsyncWriteBehindStore.class),
+                (AsyncCacheStore)cfgStore,
+                cfg.getAffinity(),
+                ctx.metric().registry(cacheMetricsRegistryName(cfg.getName(), false)));
+        }
+        else {
+            store = new GridCacheWriteBehindStore(this,
+                ctx.igniteInstanceName(),
+                cfg.getName(),
+                ctx.log(GridCacheWriteBehindStore.class),
+                cfgStore);
+        }
 
         store.setFlushSize(cfg.getWriteBehindFlushSize());
         store.setFlushThreadCount(cfg.getWriteBehindFlushThreadCount());
@@ -64,6 +64,12 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
     /** */
     private static final CacheDataRow[] EMPTY_ROWS = {};
 
+    /** Initial number of pages read ahead by data page scan. */
+    private static final int MIN_READ_AHEAD = 8;
+
+    /** Maximum number of pages read ahead by data page scan. */
+    private static final int MAX_READ_AHEAD = 256;
+
     /** */
     private static Boolean lastFindWithDataPageScan;
 
@@ -192,10 +198,18 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
 
         long startPageId = ((PageMemoryEx)pageMem).partitionMetaPageId(grp.groupId(), partId);
 
+        boolean readAhead = prefetchEnabled();
+
         final class DataPageScanCursor implements GridCursor<CacheDataRow> {
             /** */
             int pagesCnt = pageStore.pages();
 
+            /** Index of the page after the last one hinted for prefetch. */
+            int readAheadEnd;
+
+            /** Read ahead window, grows while the scan proceeds. */
+            int readAheadWnd = MIN_READ_AHEAD;
+
             /** */
             int curPage = -1;
 
@@ -236,6 +250,9 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
                         pagesCnt = newPagesCnt;
                     }
 
+                    if (readAhead)
+                        readAhead();
+
                     long pageId = startPageId + curPage;
                     long page = pageMem.acquirePage(grpId, pageId);
 
@@ -299,6 +316,30 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
                 }
             }
 
+            /**
+             * Hints next pages of the partition when the scan passes half of the previously hinted window.
+             */
+            private void readAhead() {
+                if (curPage + readAheadWnd / 2 < readAheadEnd)
+                    return;
+
+                int from = Math.max(readAheadEnd, curPage + 1);
+                int to = Math.min(pagesCnt, from + readAheadWnd);
+
+                if (from >= to)
+                    return;
+
+                long[] pageIds = new long[to - from];
+
+                for (int i = 0; i < pageIds.length; i++)
+                    pageIds[i] = startPageId + from + i;
+
+                prefetchPages(pageIds, pageIds.length);
+
+                readAheadEnd = to;
+                readAheadWnd = Math.min(readAheadWnd * 2, MAX_READ_AHEAD);
+            }
+
             /** {@inheritDoc} */
             @Override public CacheDataRow get() {
                 return rows[curRow];
@@ -428,6 +469,35 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
             return rowStore.dataRow(cacheId, hash, link, x);
     }
 
+    /** {@inheritDoc} */
+    @Override protected void prefetchOnLeaf(BPlusIO<CacheSearchRow> io, long pageAddr, int startIdx, int endIdx,
+        long fwdId, Object x) {
+        if (asRowData(x) == CacheDataRowAdapter.RowData.LINK_ONLY) {
+            super.prefetchOnLeaf(io, pageAddr, startIdx, endIdx, fwdId, x);
+
+            return;
+        }
+
+        RowLinkIO rowIo = (RowLinkIO)io;
+
+        long[] pageIds = new long[endIdx - startIdx + 1];
+        int cnt = 0;
+
+        if (fwdId != 0L)
+            pageIds[cnt++] = fwdId;
+
+        long prevPageId = 0L;
+
+        for (int idx = startIdx; idx < endIdx; idx++) {
+            long pageId = pageId(rowIo.getLink(pageAddr, idx));
+
+            if (pageId != prevPageId)
+                pageIds[cnt++] = prevPageId = pageId;
+        }
+
+        prefetchPages(pageIds, cnt);
+    }
+
     /** {@inheritDoc} */
     @Override protected IoStatisticsHolder statisticsHolder() {
         return grp.statisticsHolderIdx();
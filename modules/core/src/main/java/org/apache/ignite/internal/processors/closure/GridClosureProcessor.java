@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.closure;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
@@ -518,6 +519,37 @@ public class GridClosureProcessor extends GridProcessorAdapter {
         }
     }
 
+    /**
+     * @param cacheNames Cache names.
+     * @param job Closure accepting partition number.
+     * @param nodes Grid nodes.
+     * @param execName Custom executor name.
+     * @param bufSize Maximum amount of buffered results.
+     * @return Iterator over results.
+     * @throws IgniteCheckedException If failed.
+     */
+    public <R> Iterator<R> mapPartitions(@NotNull Collection<String> cacheNames,
+        IgniteClosure<Integer, R> job,
+        @Nullable Collection<ClusterNode> nodes,
+        @Nullable String execName,
+        int bufSize) throws IgniteCheckedException {
+        busyLock.readLock();
+
+        try {
+            if (F.isEmpty(nodes))
+                throw U.emptyTopologyException();
+
+            MapPartitionsIterator<R> it = new MapPartitionsIterator<>(ctx, cacheNames, job, nodes, execName, bufSize);
+
+            it.submit();
+
+            return it;
+        }
+        finally {
+            busyLock.readUnlock();
+        }
+    }
+
     /**
      * @param cacheNames Cache names.
      * @param partId Partition.
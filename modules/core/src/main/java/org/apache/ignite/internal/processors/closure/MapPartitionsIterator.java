@@ -0,0 +1,646 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.closure;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.compute.ComputeJob;
+import org.apache.ignite.compute.ComputeJobResult;
+import org.apache.ignite.internal.GridInternalWrapper;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheUtils;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridReservable;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.task.GridTaskThreadContextKey.TC_SUBGRID;
+
+/**
+ * Iterator over results of a closure executed for every partition of a cache.
+ * <p>
+ * Partitions are grouped by their primary nodes. Every node executes at most one job at a time, the job covers
+ * a chunk of partitions primary on the node, reserves them one by one and runs the closure for different partitions
+ * in parallel in the node's pool. Partitions which are not primary on the node anymore are returned by the job
+ * and are re-executed on their new primary nodes as soon as the new affinity is ready.
+ * <p>
+ * Results are buffered in order of completion. The amount of buffered results and results of jobs in progress is
+ * limited by the buffer size, so new jobs are not started until the results are consumed.
+ */
+public class MapPartitionsIterator<R> implements Iterator<R> {
+    /** Default size of results buffer. */
+    public static final int DFLT_BUF_SIZE = 1024;
+
+    /** Marker of a {@code null} result in the buffer. */
+    private static final Object NULL = new Object();
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Cache names, the first cache is used for affinity co-location. */
+    private final Collection<String> cacheNames;
+
+    /** Closure. */
+    private final IgniteClosure<Integer, R> job;
+
+    /** Nodes to execute jobs on. */
+    private final Collection<ClusterNode> nodes;
+
+    /** Custom executor name. */
+    private final String execName;
+
+    /** Maximum amount of buffered results and results of jobs in progress. */
+    private final int bufSize;
+
+    /** Maximum amount of partitions processed by a single job. */
+    private final int chunkSize;
+
+    /** Mutex. */
+    private final Object mux = new Object();
+
+    /** Partitions which are not processed yet. */
+    private final Set<Integer> pending = new LinkedHashSet<>();
+
+    /** Results which are not consumed yet. */
+    private final ArrayDeque<Object> buf = new ArrayDeque<>();
+
+    /** Nodes executing jobs. */
+    private final Set<UUID> busyNodes = new HashSet<>();
+
+    /** Amount of partitions processed by jobs in progress. */
+    private int inFlight;
+
+    /** Amount of remapped partitions chunks waiting for the new affinity. */
+    private int remapping;
+
+    /** Error. */
+    private Throwable err;
+
+    /**
+     * @param ctx Kernal context.
+     * @param cacheNames Cache names, the first cache is used for affinity co-location.
+     * @param job Closure.
+     * @param nodes Nodes to execute jobs on.
+     * @param execName Custom executor name.
+     * @param bufSize Maximum amount of buffered results.
+     */
+    MapPartitionsIterator(
+        GridKernalContext ctx,
+        Collection<String> cacheNames,
+        IgniteClosure<Integer, R> job,
+        Collection<ClusterNode> nodes,
+        @Nullable String execName,
+        int bufSize
+    ) {
+        this.ctx = ctx;
+        this.cacheNames = cacheNames;
+        this.job = job;
+        this.nodes = nodes;
+        this.execName = execName;
+        this.bufSize = bufSize;
+
+        chunkSize = Math.max(1, bufSize / nodes.size());
+
+        int parts = ctx.grid().affinity(F.first(cacheNames)).partitions();
+
+        for (int p = 0; p < parts; p++)
+            pending.add(p);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean hasNext() {
+        while (true) {
+            synchronized (mux) {
+                if (!buf.isEmpty())
+                    return true;
+
+                if (err != null)
+                    throw err instanceof IgniteCheckedException ? U.convertException((IgniteCheckedException)err) :
+                        new IgniteException(err);
+
+                if (pending.isEmpty() && inFlight == 0 && remapping == 0)
+                    return false;
+            }
+
+            if (submit())
+                continue;
+
+            synchronized (mux) {
+                // Jobs in progress and remapped partitions submit new jobs on completion.
+                if (buf.isEmpty() && err == null && (inFlight > 0 || remapping > 0)) {
+                    try {
+                        U.wait(mux);
+                    }
+                    catch (IgniteCheckedException e) {
+                        throw U.convertException(e);
+                    }
+                }
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public R next() {
+        if (!hasNext())
+            throw new NoSuchElementException();
+
+        Object res;
+
+        synchronized (mux) {
+            res = buf.poll();
+        }
+
+        submit();
+
+        return res == NULL ? null : (R)res;
+    }
+
+    /**
+     * Starts jobs for pending partitions on nodes which don't execute jobs if there is enough room in the buffer.
+     *
+     * @return {@code True} if at least one job was started.
+     */
+    boolean submit() {
+        Map<ClusterNode, int[]> chunks = new LinkedHashMap<>();
+
+        synchronized (mux) {
+            int free = bufSize - buf.size() - inFlight;
+
+            if (err != null || pending.isEmpty() || free < Math.min(chunkSize, pending.size()))
+                return false;
+
+            Map<ClusterNode, List<Integer>> parts = new LinkedHashMap<>();
+
+            try {
+                AffinityTopologyVersion topVer = ctx.cache().context().exchange().readyAffinityVersion();
+
+                for (Integer part : pending) {
+                    ClusterNode node = ctx.affinity().mapPartitionToNode(F.first(cacheNames), part, topVer);
+
+                    if (node == null)
+                        throw U.emptyTopologyException();
+
+                    if (!busyNodes.contains(node.id()))
+                        parts.computeIfAbsent(node, n -> new ArrayList<>()).add(part);
+                }
+            }
+            catch (IgniteCheckedException e) {
+                err = e;
+
+                mux.notifyAll();
+
+                return false;
+            }
+
+            for (Map.Entry<ClusterNode, List<Integer>> e : parts.entrySet()) {
+                int cnt = Math.min(Math.min(chunkSize, free), e.getValue().size());
+
+                if (cnt == 0)
+                    break;
+
+                int[] chunk = new int[cnt];
+
+                for (int i = 0; i < cnt; i++) {
+                    chunk[i] = e.getValue().get(i);
+
+                    pending.remove(chunk[i]);
+                }
+
+                free -= cnt;
+                inFlight += cnt;
+
+                busyNodes.add(e.getKey().id());
+
+                chunks.put(e.getKey(), chunk);
+            }
+        }
+
+        for (Map.Entry<ClusterNode, int[]> e : chunks.entrySet()) {
+            ClusterNode node = e.getKey();
+            int[] chunk = e.getValue();
+
+            ctx.task().setThreadContext(TC_SUBGRID, nodes);
+
+            IgniteInternalFuture<MapPartitionsResult> fut = ctx.task().execute(
+                new MapPartitionsTask(node, new MapPartitionsJob<>(job, cacheNames, chunk, execName)),
+                null,
+                false,
+                execName
+            );
+
+            fut.listen(f -> onJobDone(node.id(), chunk, f));
+        }
+
+        return !chunks.isEmpty();
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @param chunk Partitions processed by the job.
+     * @param fut Job future.
+     */
+    private void onJobDone(UUID nodeId, int[] chunk, IgniteInternalFuture<MapPartitionsResult> fut) {
+        MapPartitionsResult res = null;
+        IgniteInternalFuture<AffinityTopologyVersion> readyFut = null;
+
+        synchronized (mux) {
+            busyNodes.remove(nodeId);
+            inFlight -= chunk.length;
+
+            try {
+                res = fut.get();
+            }
+            catch (IgniteCheckedException e) {
+                if (err == null)
+                    err = e;
+            }
+
+            if (res != null) {
+                for (Object r : res.results)
+                    buf.add(r == null ? NULL : r);
+
+                if (res.remapped.length > 0) {
+                    remapping++;
+
+                    // Partitions are not primary on the node on this version, they are mapped to other nodes
+                    // as soon as the affinity of this version is ready locally.
+                    readyFut = ctx.cache().context().exchange().affinityReadyFuture(res.topVer);
+                }
+            }
+
+            mux.notifyAll();
+        }
+
+        if (readyFut != null) {
+            int[] remapped = res.remapped;
+
+            readyFut.listen(f -> {
+                synchronized (mux) {
+                    remapping--;
+
+                    for (int part : remapped)
+                        pending.add(part);
+
+                    mux.notifyAll();
+                }
+
+                submit();
+            });
+        }
+        else
+            submit();
+    }
+
+    /**
+     * Task executing a single job on the given node.
+     */
+    private static class MapPartitionsTask extends GridPeerDeployAwareTaskAdapter<Void, MapPartitionsResult> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Node. */
+        private final ClusterNode node;
+
+        /** Job. */
+        private final MapPartitionsJob<?> job;
+
+        /**
+         * @param node Node.
+         * @param job Job.
+         */
+        private MapPartitionsTask(ClusterNode node, MapPartitionsJob<?> job) {
+            super(U.peerDeployAware(job.c));
+
+            this.node = node;
+            this.job = job;
+        }
+
+        /** {@inheritDoc} */
+        @NotNull @Override public Map<? extends ComputeJob, ClusterNode> map(List<ClusterNode> subgrid,
+            @Nullable Void arg) {
+            return Collections.singletonMap(job, node);
+        }
+
+        /** {@inheritDoc} */
+        @Override public MapPartitionsResult reduce(List<ComputeJobResult> res) {
+            return F.first(res).getData();
+        }
+    }
+
+    /**
+     * Job running a closure for a chunk of partitions primary on the node.
+     */
+    private static class MapPartitionsJob<R> implements ComputeJob, GridInternalWrapper<IgniteClosure<Integer, R>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Closure. */
+        @GridToStringInclude
+        private final IgniteClosure<Integer, R> c;
+
+        /** Cache names. */
+        private final Collection<String> cacheNames;
+
+        /** Partitions. */
+        private final int[] parts;
+
+        /** Custom executor name. */
+        private final String execName;
+
+        /** Ignite instance. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** Index of the next partition to process. */
+        private transient AtomicInteger nextIdx;
+
+        /** Results. */
+        private transient Object[] results;
+
+        /** Flags of partitions which are not primary on the node. */
+        private transient boolean[] remapped;
+
+        /** Amount of helper threads processing partitions. */
+        private transient int activeHelpers;
+
+        /** Whether partitions processing is finished by the job thread. */
+        private transient boolean done;
+
+        /** Latest topology version partitions were found not primary on. */
+        private transient AffinityTopologyVersion remapTopVer;
+
+        /** Error. */
+        private transient volatile Throwable err;
+
+        /** Cancelled flag. */
+        private transient volatile boolean cancelled;
+
+        /**
+         * @param c Closure.
+         * @param cacheNames Cache names.
+         * @param parts Partitions.
+         * @param execName Custom executor name.
+         */
+        private MapPartitionsJob(IgniteClosure<Integer, R> c, Collection<String> cacheNames, int[] parts,
+            @Nullable String execName) {
+            this.c = c;
+            this.cacheNames = cacheNames;
+            this.parts = parts;
+            this.execName = execName;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Object execute() {
+            GridKernalContext ctx = ignite.context();
+
+            int[] cacheIds = new int[cacheNames.size()];
+            int i = 0;
+
+            for (String cacheName : cacheNames)
+                cacheIds[i++] = GridCacheUtils.cacheId(cacheName);
+
+            nextIdx = new AtomicInteger();
+            results = new Object[parts.length];
+            remapped = new boolean[parts.length];
+
+            Executor exec = execName != null ? ctx.pools().customExecutor(execName) : null;
+
+            if (exec == null)
+                exec = ctx.pools().getExecutorService();
+
+            int helpers = Math.min(parts.length, ctx.config().getPublicThreadPoolSize()) - 1;
+
+            try {
+                for (int h = 0; h < helpers; h++)
+                    exec.execute(() -> helper(ctx, cacheIds));
+            }
+            catch (RejectedExecutionException ignored) {
+                // Rest partitions are processed by started threads.
+            }
+
+            process(ctx, cacheIds);
+
+            synchronized (this) {
+                done = true;
+
+                // Helpers which are not started yet don't process partitions, so the job doesn't wait for them.
+                while (activeHelpers > 0) {
+                    try {
+                        wait();
+                    }
+                    catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+
+                        throw new IgniteException(e);
+                    }
+                }
+            }
+
+            if (err != null)
+                throw err instanceof IgniteException ? (IgniteException)err : new IgniteException(err);
+
+            if (cancelled)
+                throw new IgniteException("Job was cancelled.");
+
+            return new MapPartitionsResult(parts, results, remapped, remapTopVer);
+        }
+
+        /**
+         * Processes partitions in a helper thread.
+         *
+         * @param ctx Kernal context.
+         * @param cacheIds Cache IDs.
+         */
+        private void helper(GridKernalContext ctx, int[] cacheIds) {
+            synchronized (this) {
+                if (done)
+                    return;
+
+                activeHelpers++;
+            }
+
+            try {
+                process(ctx, cacheIds);
+            }
+            finally {
+                synchronized (this) {
+                    activeHelpers--;
+
+                    notifyAll();
+                }
+            }
+        }
+
+        /**
+         * Processes partitions until there are no unprocessed ones.
+         *
+         * @param ctx Kernal context.
+         * @param cacheIds Cache IDs.
+         */
+        private void process(GridKernalContext ctx, int[] cacheIds) {
+            int idx;
+
+            while (err == null && !cancelled && (idx = nextIdx.getAndIncrement()) < parts.length) {
+                int part = parts[idx];
+
+                // Partitions are checked on the latest affinity, so moved partitions are not processed here.
+                AffinityTopologyVersion topVer = ctx.cache().context().exchange().readyAffinityVersion();
+
+                GridReservable reservation = ctx.job().new PartitionsReservation(cacheIds, part, topVer);
+
+                boolean reserved = false;
+
+                try {
+                    try {
+                        reserved = reservation.reserve();
+                    }
+                    catch (IgniteException ignored) {
+                        // Partition is not primary on the node, it is checked below.
+                    }
+
+                    // Reservation doesn't fail for a partition which is owned by the node as a backup.
+                    if (!primary(ctx, cacheIds[0], part, topVer)) {
+                        remapped[idx] = true;
+
+                        synchronized (this) {
+                            if (remapTopVer == null || remapTopVer.compareTo(topVer) < 0)
+                                remapTopVer = topVer;
+                        }
+
+                        continue;
+                    }
+
+                    if (!reserved)
+                        throw new IgniteException("Failed partition reservation [part=" + part +
+                            ", caches=" + cacheNames + ", nodeId=" + ctx.localNodeId() + ']');
+
+                    results[idx] = c.apply(part);
+                }
+                catch (Throwable e) {
+                    err = e;
+
+                    if (e instanceof Error)
+                        throw (Error)e;
+                }
+                finally {
+                    if (reserved)
+                        reservation.release();
+                }
+            }
+        }
+
+        /**
+         * @param ctx Kernal context.
+         * @param cacheId Cache ID.
+         * @param part Partition.
+         * @param topVer Topology version.
+         * @return {@code True} if the partition is primary on the local node.
+         */
+        private static boolean primary(GridKernalContext ctx, int cacheId, int part, AffinityTopologyVersion topVer) {
+            GridCacheContext<?, ?> cctx = ctx.cache().context().cacheContext(cacheId);
+
+            return cctx == null || cctx.isLocal() || cctx.affinity().primaryByPartition(part, topVer).isLocal();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void cancel() {
+            cancelled = true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteClosure<Integer, R> userObject() {
+            return c;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(MapPartitionsJob.class, this);
+        }
+    }
+
+    /**
+     * Results of a job.
+     */
+    private static class MapPartitionsResult implements Serializable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Results of processed partitions. */
+        private final Object[] results;
+
+        /** Partitions which are not primary on the node. */
+        private final int[] remapped;
+
+        /** Topology version partitions were found not primary on. */
+        private final AffinityTopologyVersion topVer;
+
+        /**
+         * @param parts Partitions.
+         * @param results Results.
+         * @param remapped Flags of partitions which are not primary on the node.
+         * @param topVer Topology version partitions were found not primary on.
+         */
+        private MapPartitionsResult(int[] parts, Object[] results, boolean[] remapped,
+            @Nullable AffinityTopologyVersion topVer) {
+            int remappedCnt = 0;
+
+            for (boolean r : remapped) {
+                if (r)
+                    remappedCnt++;
+            }
+
+            this.results = new Object[parts.length - remappedCnt];
+            this.remapped = new int[remappedCnt];
+            this.topVer = topVer;
+
+            for (int i = 0, j = 0, k = 0; i < parts.length; i++) {
+                if (remapped[i])
+                    this.remapped[k++] = parts[i];
+                else
+                    this.results[j++] = results[i];
+            }
+        }
+    }
+}
@@ -106,6 +106,7 @@ import org.apache.ignite.spi.systemview.view.datastructures.SetView;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+import static org.apache.ignite.cache.CacheMode.LOCAL;
 import static org.apache.ignite.cache.CacheMode.PARTITIONED;
 import static org.apache.ignite.cache.CacheRebalanceMode.SYNC;
 import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
@@ -1047,15 +1048,27 @@ public final class DataStructuresProcessor extends GridProcessorAdapter implemen
         if (cfg != null) {
             if (cap <= 0)
                 cap = Integer.MAX_VALUE;
+
+            A.ensure(cfg.getShards() > 0, "Number of queue shards must be positive: " + cfg.getShards());
+
+            if (cfg.getShards() > 1) {
+                A.ensure(cfg.getCacheMode() != LOCAL, "Sharded queues are not supported for LOCAL cache mode.");
+                A.ensure(cap >= cfg.getShards(), "Capacity of sharded queue cannot be less than number of shards " +
+                    "[cap=" + cap + ", shards=" + cfg.getShards() + ']');
+            }
         }
 
         final int cap0 = cap;
 
         final boolean create = cfg != null;
 
+        final int shards = create ? cfg.getShards() : 1;
+
+        final boolean relaxedOrder = create && cfg.isRelaxedOrder();
+
         return getCollection(new IgniteClosureX<GridCacheContext, IgniteQueue<T>>() {
             @Override public IgniteQueue<T> applyx(GridCacheContext ctx) throws IgniteCheckedException {
-                return ctx.dataStructures().queue(name, cap0, isCollocated(cfg), create);
+                return ctx.dataStructures().queue(name, cap0, isCollocated(cfg), shards, relaxedOrder, create);
             }
         }, cfg, name, grpName, QUEUE, create, false);
     }
@@ -1205,6 +1218,25 @@ public final class DataStructuresProcessor extends GridProcessorAdapter implemen
             @Override public void applyx(GridCacheQueueHeader hdr) throws IgniteCheckedException {
                 hdr = (GridCacheQueueHeader) cctx.cache().withNoRetries().getAndRemove(new GridCacheQueueHeaderKey(name));
 
+                if (hdr instanceof GridCacheShardedQueueHeader) {
+                    for (int i = 0; i < ((GridCacheShardedQueueHeader)hdr).shards(); i++) {
+                        String shardName = GridCacheShardedQueueImpl.shardName(name, i);
+
+                        GridCacheQueueHeader shardHdr = (GridCacheQueueHeader)cctx.cache().withNoRetries()
+                            .getAndRemove(new GridCacheQueueHeaderKey(shardName));
+
+                        if (shardHdr != null && !shardHdr.empty()) {
+                            GridCacheQueueAdapter.removeKeys(cctx.cache(),
+                                shardHdr.id(),
+                                shardName,
+                                shardHdr.collocated(),
+                                shardHdr.head(),
+                                shardHdr.tail(),
+                                0);
+                        }
+                    }
+                }
+
                 if (hdr == null || hdr.empty())
                     return;
 
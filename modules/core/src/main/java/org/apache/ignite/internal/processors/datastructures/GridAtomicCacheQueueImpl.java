@@ -16,13 +16,16 @@
 
 package org.apache.ignite.internal.processors.datastructures;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.cache.processor.EntryProcessor;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
@@ -162,6 +165,50 @@ public class GridAtomicCacheQueueImpl<T> extends GridCacheQueueAdapter<T> {
         }
     }
 
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override protected int pollAll(Collection<? super T> c, int max) throws IgniteCheckedException {
+        long[] idxs = (long[])cache.invoke(queueKey, new PollAllProcessor(id, max)).get();
+
+        if (idxs.length == 0)
+            return 0;
+
+        checkRemoved(idxs[0]);
+
+        List<QueueItemKey> keys = new ArrayList<>(idxs.length);
+
+        for (long idx : idxs)
+            keys.add(itemKey(idx));
+
+        Map<QueueItemKey, T> items = new HashMap<>(cache.getAll(keys));
+
+        long stop = U.currentTimeMillis() + RETRY_TIMEOUT;
+
+        // Items are put after their indexes are reserved in the header, so some of them may be not visible yet.
+        while (items.size() < keys.size()) {
+            if (U.currentTimeMillis() >= stop) {
+                U.warn(log, "Failed to get items due to poll timeout [queue=" + queueName +
+                    ", cnt=" + (keys.size() - items.size()) + "]. Poll timeout can be redefined by " +
+                    "'IGNITE_ATOMIC_CACHE_QUEUE_RETRY_TIMEOUT' system property.");
+
+                break;
+            }
+
+            items.putAll(cache.getAll(F.view(keys, key -> !items.containsKey(key))));
+        }
+
+        cache.removeAll(items.keySet());
+
+        for (QueueItemKey key : keys) {
+            T item = items.get(key);
+
+            if (item != null)
+                c.add(item);
+        }
+
+        return items.size();
+    }
+
     /**
      * @param c EntryProcessor to be applied for queue header.
      * @return Value computed by the entry processor.
@@ -20,135 +20,36 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
-import java.util.AbstractCollection;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.Semaphore;
-import java.util.concurrent.TimeUnit;
 import javax.cache.processor.EntryProcessor;
 import javax.cache.processor.MutableEntry;
 import org.apache.ignite.IgniteCheckedException;
-import org.apache.ignite.IgniteCompute;
 import org.apache.ignite.IgniteException;
-import org.apache.ignite.IgniteInterruptedException;
-import org.apache.ignite.IgniteLogger;
-import org.apache.ignite.IgniteQueue;
 import org.apache.ignite.binary.BinaryObject;
-import org.apache.ignite.internal.processors.cache.CacheOperationContext;
 import org.apache.ignite.internal.processors.cache.GridCacheAdapter;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
-import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.A;
-import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteBiTuple;
-import org.apache.ignite.lang.IgniteCallable;
-import org.apache.ignite.lang.IgniteRunnable;
 import org.apache.ignite.lang.IgniteUuid;
 import org.jetbrains.annotations.Nullable;
 
-import static java.util.concurrent.TimeUnit.MILLISECONDS;
-import static org.apache.ignite.internal.processors.cache.CacheOperationContext.DFLT_ALLOW_ATOMIC_OPS_IN_TX;
-
 /**
- * Common code for {@link IgniteQueue} implementation.
+ * Common code for {@link org.apache.ignite.IgniteQueue} implementations which store items in the cache
+ * under keys made of sequential item indices.
  */
-public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> implements IgniteQueue<T> {
-    /** Value returned by closure updating queue header indicating that queue was removed. */
-    protected static final long QUEUE_REMOVED_IDX = Long.MIN_VALUE;
-
-    /** */
-    private static final int DFLT_CLEAR_BATCH_SIZE = 100;
-
-    /** Logger. */
-    protected final IgniteLogger log;
-
-    /** Cache context. */
-    protected final GridCacheContext<?, ?> cctx;
-
-    /** Cache. */
-    protected final GridCacheAdapter cache;
-
-    /** Queue name. */
-    protected final String queueName;
-
-    /** Queue header key. */
-    protected final GridCacheQueueHeaderKey queueKey;
-
-    /** Queue unique ID. */
-    protected final IgniteUuid id;
-
-    /** Queue capacity. */
-    private final int cap;
-
-    /** Collocation flag. */
-    private final boolean collocated;
-
-    /** Removed flag. */
-    private volatile boolean rmvd;
-
-    /** Read blocking operations semaphore. */
-    @GridToStringExclude
-    private final Semaphore readSem;
-
-    /** Write blocking operations semaphore. */
-    @GridToStringExclude
-    private final Semaphore writeSem;
-
-    /** Access to affinityRun() and affinityCall() functions. */
-    private final IgniteCompute compute;
-
+public abstract class GridCacheQueueAdapter<T> extends GridCacheQueueBase<T> {
     /**
      * @param queueName Queue name.
      * @param hdr Queue hdr.
      * @param cctx Cache context.
      */
     protected GridCacheQueueAdapter(String queueName, GridCacheQueueHeader hdr, GridCacheContext<?, ?> cctx) {
-        this.cctx = cctx;
-        this.queueName = queueName;
-        id = hdr.id();
-        cap = hdr.capacity();
-        collocated = hdr.collocated();
-        queueKey = new GridCacheQueueHeaderKey(queueName);
-        cache = cctx.kernalContext().cache().internalCache(cctx.name());
-        this.compute = cctx.kernalContext().grid().compute();
-
-        log = cctx.logger(getClass());
-
-        readSem = new Semaphore(hdr.size(), true);
-
-        writeSem = bounded() ? new Semaphore(hdr.capacity() - hdr.size(), true) : null;
-    }
-
-    /** {@inheritDoc} */
-    @Override public String name() {
-        return queueName;
-    }
-
-    /** {@inheritDoc} */
-    @Override public boolean add(T item) {
-        A.notNull(item, "item");
-
-        return offer(item);
-    }
-
-    /** {@inheritDoc} */
-    @Override public boolean collocated() {
-        return collocated;
-    }
-
-    /** {@inheritDoc} */
-    @Override public int capacity() {
-        return cap;
-    }
-
-    /** {@inheritDoc} */
-    @Override public boolean bounded() {
-        return cap < Integer.MAX_VALUE;
+        super(queueName, hdr, cctx);
     }
 
     /** {@inheritDoc} */
@@ -192,26 +93,6 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
         }
     }
 
-    /** {@inheritDoc} */
-    @Override public T remove() {
-        T res = poll();
-
-        if (res == null)
-            throw new NoSuchElementException();
-
-        return res;
-    }
-
-    /** {@inheritDoc} */
-    @Override public T element() {
-        T el = peek();
-
-        if (el == null)
-            throw new NoSuchElementException();
-
-        return el;
-    }
-
     /** {@inheritDoc} */
     @SuppressWarnings("unchecked")
     @Override public Iterator<T> iterator() {
@@ -227,138 +108,6 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
         }
     }
 
-    /** {@inheritDoc} */
-    @Override public void put(T item) throws IgniteException {
-        A.notNull(item, "item");
-
-        if (!bounded()) {
-            boolean offer = offer(item);
-
-            assert offer;
-
-            return;
-        }
-
-        while (true) {
-            try {
-                writeSem.acquire();
-            }
-            catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-
-                throw new IgniteInterruptedException("Queue put interrupted.", e);
-            }
-
-            checkStopping();
-
-            if (offer(item))
-                return;
-        }
-    }
-
-    /** {@inheritDoc} */
-    @Override public boolean offer(T item, long timeout, TimeUnit unit) throws IgniteException {
-        A.notNull(item, "item");
-        A.ensure(timeout >= 0, "Timeout cannot be negative: " + timeout);
-
-        if (!bounded()) {
-            boolean offer = offer(item);
-
-            assert offer;
-
-            return true;
-        }
-
-        long end = U.currentTimeMillis() + MILLISECONDS.convert(timeout, unit);
-
-        while (U.currentTimeMillis() < end) {
-            boolean retVal = false;
-
-            try {
-                if (writeSem.tryAcquire(end - U.currentTimeMillis(), MILLISECONDS)) {
-                    checkStopping();
-
-                    retVal = offer(item);
-                }
-            }
-            catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-
-                throw new IgniteInterruptedException("Queue put interrupted.", e);
-            }
-
-            if (retVal)
-                return true;
-        }
-
-        return false;
-    }
-
-    /** {@inheritDoc} */
-    @Nullable @Override public T take() throws IgniteException {
-        while (true) {
-            try {
-                readSem.acquire();
-            }
-            catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-
-                throw new IgniteInterruptedException("Queue take interrupted.", e);
-            }
-
-            checkStopping();
-
-            T e = poll();
-
-            if (e != null)
-                return e;
-        }
-    }
-
-    /** {@inheritDoc} */
-    @Nullable @Override public T poll(long timeout, TimeUnit unit) throws IgniteException {
-        A.ensure(timeout >= 0, "Timeout cannot be negative: " + timeout);
-
-        long end = U.currentTimeMillis() + MILLISECONDS.convert(timeout, unit);
-
-        while (U.currentTimeMillis() < end) {
-            T retVal = null;
-
-            try {
-                if (readSem.tryAcquire(end - U.currentTimeMillis(), MILLISECONDS)) {
-                    checkStopping();
-
-                    retVal = poll();
-                }
-            }
-            catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-
-                throw new IgniteInterruptedException("Queue poll interrupted.", e);
-            }
-
-            if (retVal != null)
-                return retVal;
-        }
-
-        return null;
-    }
-
-    /** {@inheritDoc} */
-    @Override public int remainingCapacity() {
-        if (!bounded())
-            return Integer.MAX_VALUE;
-
-        int remaining = cap - size();
-
-        return remaining > 0 ? remaining : 0;
-    }
-
-    /** {@inheritDoc} */
-    @Override public void clear() {
-        clear(DFLT_CLEAR_BATCH_SIZE);
-    }
-
     /** {@inheritDoc} */
     @SuppressWarnings("unchecked")
     @Override public void clear(int batchSize) throws IgniteException {
@@ -375,80 +124,13 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
 
             checkRemoved(t.get1());
 
-            removeKeys(cache, id, queueName, collocated, t.get1(), t.get2(), batchSize);
+            removeKeys(cache, id, queueName, collocated(), t.get1(), t.get2(), batchSize);
         }
         catch (IgniteCheckedException e) {
             throw U.convertException(e);
         }
     }
 
-    /** {@inheritDoc} */
-    @Override public int drainTo(Collection<? super T> c) {
-        return drainTo(c, Integer.MAX_VALUE);
-    }
-
-    /** {@inheritDoc} */
-    @Override public int drainTo(Collection<? super T> c, int maxElements) {
-        int max = Math.min(maxElements, size());
-
-        for (int i = 0; i < max; i++) {
-            T el = poll();
-
-            if (el == null)
-                return i;
-
-            c.add(el);
-        }
-
-        return max;
-    }
-
-    /** {@inheritDoc} */
-    @Override public boolean removed() {
-        return rmvd;
-    }
-
-    /** {@inheritDoc} */
-    @Override public void affinityRun(IgniteRunnable job) {
-        if (!collocated)
-            throw new IgniteException("Failed to execute affinityRun() for non-collocated queue: " + name() +
-                ". This operation is supported only for collocated queues.");
-
-        compute.affinityRun(cache.name(), queueKey, job);
-    }
-
-    /** {@inheritDoc} */
-    @Override public <R> R affinityCall(IgniteCallable<R> job) {
-        if (!collocated)
-            throw new IgniteException("Failed to execute affinityCall() for non-collocated queue: " + name() +
-                ". This operation is supported only for collocated queues.");
-
-        return compute.affinityCall(cache.name(), queueKey, job);
-    }
-
-    /** {@inheritDoc} */
-    @Override public <V1> IgniteQueue<V1> withKeepBinary() {
-        CacheOperationContext opCtx = cctx.operationContextPerCall();
-
-        if (opCtx != null && opCtx.isKeepBinary())
-            return (GridCacheQueueAdapter<V1>)this;
-
-        opCtx = opCtx == null ? new CacheOperationContext(
-            false,
-            null,
-            true,
-            null,
-            false,
-            null,
-            false,
-            DFLT_ALLOW_ATOMIC_OPS_IN_TX)
-            : opCtx.keepBinary();
-
-        cctx.operationContextPerCall(opCtx);
-
-        return (GridCacheQueueAdapter<V1>)this;
-    }
-
     /**
      * @param cache Queue cache.
      * @param id Queue unique ID.
@@ -485,97 +167,6 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
             cache.removeAll(keys);
     }
 
-    /**
-     * Checks result of closure modifying queue header, throws {@link IllegalStateException} if queue was removed.
-     *
-     * @param idx Result of closure execution.
-     */
-    protected final void checkRemoved(Long idx) {
-        if (idx == QUEUE_REMOVED_IDX)
-            onRemoved(true);
-    }
-
-    /**
-     * Checks queue state, throws {@link IllegalStateException} if queue was removed.
-     *
-     * @param hdr Queue hdr.
-     */
-    protected final void checkRemoved(@Nullable GridCacheQueueHeader hdr) {
-        if (queueRemoved(hdr, id))
-            onRemoved(true);
-    }
-
-    /** Release all semaphores used in blocking operations in case of client disconnect. */
-    public void onClientDisconnected() {
-        releaseSemaphores();
-    }
-
-    /**
-     * Marks queue as removed.
-     *
-     * @param throw0 If {@code true} then throws {@link IllegalStateException}.
-     */
-    public void onRemoved(boolean throw0) {
-        rmvd = true;
-
-        releaseSemaphores();
-
-        if (throw0)
-            throw new IllegalStateException("Queue has been removed from cache: " + this);
-    }
-
-    /**
-     * Release all semaphores used in blocking operations (used in case queue was removed or grid is stopping).
-     */
-    private void releaseSemaphores() {
-        if (bounded()) {
-            writeSem.drainPermits();
-            writeSem.release(1_000_000); // Let all blocked threads to proceed (operation will fail with exception).
-        }
-
-        readSem.drainPermits();
-        readSem.release(1_000_000); // Let all blocked threads to proceed (operation will fail with exception).
-    }
-
-    /**
-     * @param hdr Queue header.
-     */
-    public void onHeaderChanged(GridCacheQueueHeader hdr) {
-        if (!hdr.empty()) {
-            readSem.drainPermits();
-            readSem.release(hdr.size());
-        }
-
-        if (bounded()) {
-            writeSem.drainPermits();
-
-            if (!hdr.full())
-                writeSem.release(hdr.capacity() - hdr.size());
-        }
-    }
-
-    /**
-     * Grid stop callback.
-     */
-    public void onKernalStop() {
-        releaseSemaphores();
-    }
-
-    /**
-     * Throws {@link IgniteException} in case if grid is stopping.
-     */
-    private void checkStopping() {
-        if (cctx.kernalContext().isStopping())
-            throw new IgniteException("Ignite is stopping");
-    }
-
-    /**
-     * @return Queue unique ID.
-     */
-    public IgniteUuid id() {
-        return id;
-    }
-
     /**
      * Removes item with given index from queue.
      *
@@ -592,19 +183,6 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
         return itemKey(id, queueName, collocated(), idx);
     }
 
-    /** {@inheritDoc} */
-    @Override public void close() {
-        if (rmvd)
-            return;
-
-        try {
-            cctx.kernalContext().dataStructures().removeQueue(queueName, cctx);
-        }
-        catch (IgniteCheckedException e) {
-            throw U.convertException(e);
-        }
-    }
-
     /**
      * @param id Queue unique ID.
      * @param queueName Queue name.
@@ -620,15 +198,6 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
             new CollocatedQueueItemKey(id, queueName, idx) : new GridCacheQueueItemKey(id, queueName, idx);
     }
 
-    /**
-     * @param hdr Queue header.
-     * @param id Expected queue unique ID.
-     * @return {@code True} if queue was removed.
-     */
-    private static boolean queueRemoved(@Nullable GridCacheQueueHeader hdr, IgniteUuid id) {
-        return hdr == null || !id.equals(hdr.id());
-    }
-
     /**
      *
      */
@@ -866,6 +435,91 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
         }
     }
 
+    /**
+     */
+    protected static class PollAllProcessor implements
+        EntryProcessor<GridCacheQueueHeaderKey, GridCacheQueueHeader, long[]>, Externalizable {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private IgniteUuid id;
+
+        /** */
+        private int max;
+
+        /**
+         * Required by {@link Externalizable}.
+         */
+        public PollAllProcessor() {
+            // No-op.
+        }
+
+        /**
+         * @param id Queue unique ID.
+         * @param max Maximum number of items to poll.
+         */
+        public PollAllProcessor(IgniteUuid id, int max) {
+            this.id = id;
+            this.max = max;
+        }
+
+        /**
+         * @return Indexes of polled items, or single {@link #QUEUE_REMOVED_IDX} if queue was removed.
+         */
+        @Override public long[] process(
+            MutableEntry<GridCacheQueueHeaderKey, GridCacheQueueHeader> e, Object... args) {
+            GridCacheQueueHeader hdr = e.getValue();
+
+            if (queueRemoved(hdr, id))
+                return new long[] {QUEUE_REMOVED_IDX};
+
+            if (hdr.empty())
+                return U.EMPTY_LONGS;
+
+            Set<Long> rmvdIdxs = hdr.removedIndexes();
+
+            if (rmvdIdxs != null)
+                rmvdIdxs = new HashSet<>(rmvdIdxs);
+
+            long[] idxs = new long[Math.min(max, hdr.size())];
+
+            long next = hdr.head();
+
+            for (int i = 0; i < idxs.length; next++) {
+                if (rmvdIdxs == null || !rmvdIdxs.remove(next))
+                    idxs[i++] = next;
+            }
+
+            // Keep head pointing to an item which is not removed.
+            while (rmvdIdxs != null && rmvdIdxs.remove(next))
+                next++;
+
+            GridCacheQueueHeader newHdr = new GridCacheQueueHeader(hdr.id(),
+                hdr.capacity(),
+                hdr.collocated(),
+                next,
+                hdr.tail(),
+                F.isEmpty(rmvdIdxs) ? null : rmvdIdxs);
+
+            e.setValue(newHdr);
+
+            return idxs;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void writeExternal(ObjectOutput out) throws IOException {
+            U.writeGridUuid(out, id);
+            out.writeInt(max);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+            id = U.readGridUuid(in);
+            max = in.readInt();
+        }
+    }
+
     /**
      */
     protected static class AddProcessor implements
@@ -1052,28 +706,4 @@ public abstract class GridCacheQueueAdapter<T> extends AbstractCollection<T> imp
             idx = (Long)in.readObject();
         }
     }
-
-    /** {@inheritDoc} */
-    @Override public boolean equals(Object o) {
-        if (this == o)
-            return true;
-
-        if (o == null || getClass() != o.getClass())
-            return false;
-
-        GridCacheQueueAdapter that = (GridCacheQueueAdapter)o;
-
-        return id.equals(that.id);
-
-    }
-
-    /** {@inheritDoc} */
-    @Override public int hashCode() {
-        return id.hashCode();
-    }
-
-    /** {@inheritDoc} */
-    @Override public String toString() {
-        return S.toString(GridCacheQueueAdapter.class, this);
-    }
 }
@@ -0,0 +1,539 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.datastructures;
+
+import java.util.AbstractCollection;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteCompute;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteInterruptedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteQueue;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.processors.cache.CacheOperationContext;
+import org.apache.ignite.internal.processors.cache.GridCacheAdapter;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.lang.IgniteRunnable;
+import org.apache.ignite.lang.IgniteUuid;
+import org.jetbrains.annotations.Nullable;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.ignite.internal.IgniteFeatures.SHARDED_QUEUE;
+import static org.apache.ignite.internal.processors.cache.CacheOperationContext.DFLT_ALLOW_ATOMIC_OPS_IN_TX;
+
+/**
+ * Common code for {@link IgniteQueue} implementations: queue header, blocking operations and lifecycle callbacks.
+ */
+public abstract class GridCacheQueueBase<T> extends AbstractCollection<T> implements IgniteQueue<T> {
+    /** Value returned by closure updating queue header indicating that queue was removed. */
+    protected static final long QUEUE_REMOVED_IDX = Long.MIN_VALUE;
+
+    /** */
+    private static final int DFLT_CLEAR_BATCH_SIZE = 100;
+
+    /** Logger. */
+    protected final IgniteLogger log;
+
+    /** Cache context. */
+    protected final GridCacheContext<?, ?> cctx;
+
+    /** Cache. */
+    protected final GridCacheAdapter cache;
+
+    /** Queue name. */
+    protected final String queueName;
+
+    /** Queue header key. */
+    protected final GridCacheQueueHeaderKey queueKey;
+
+    /** Queue unique ID. */
+    protected final IgniteUuid id;
+
+    /** Queue capacity. */
+    private final int cap;
+
+    /** Collocation flag. */
+    private final boolean collocated;
+
+    /** Removed flag. */
+    private volatile boolean rmvd;
+
+    /** Read blocking operations semaphore. */
+    @GridToStringExclude
+    private final Semaphore readSem;
+
+    /** Write blocking operations semaphore. */
+    @GridToStringExclude
+    private final Semaphore writeSem;
+
+    /** Access to affinityRun() and affinityCall() functions. */
+    private final IgniteCompute compute;
+
+    /**
+     * @param queueName Queue name.
+     * @param hdr Queue hdr.
+     * @param cctx Cache context.
+     */
+    protected GridCacheQueueBase(String queueName, GridCacheQueueHeader hdr, GridCacheContext<?, ?> cctx) {
+        this.cctx = cctx;
+        this.queueName = queueName;
+        id = hdr.id();
+        cap = hdr.capacity();
+        collocated = hdr.collocated();
+        queueKey = new GridCacheQueueHeaderKey(queueName);
+        cache = cctx.kernalContext().cache().internalCache(cctx.name());
+        this.compute = cctx.kernalContext().grid().compute();
+
+        log = cctx.logger(getClass());
+
+        readSem = new Semaphore(hdr.size(), true);
+
+        writeSem = bounded() ? new Semaphore(hdr.capacity() - hdr.size(), true) : null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String name() {
+        return queueName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean add(T item) {
+        A.notNull(item, "item");
+
+        return offer(item);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean collocated() {
+        return collocated;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int capacity() {
+        return cap;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean bounded() {
+        return cap < Integer.MAX_VALUE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public T remove() {
+        T res = poll();
+
+        if (res == null)
+            throw new NoSuchElementException();
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public T element() {
+        T el = peek();
+
+        if (el == null)
+            throw new NoSuchElementException();
+
+        return el;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void put(T item) throws IgniteException {
+        A.notNull(item, "item");
+
+        if (!bounded()) {
+            boolean offer = offer(item);
+
+            assert offer;
+
+            return;
+        }
+
+        while (true) {
+            try {
+                writeSem.acquire();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedException("Queue put interrupted.", e);
+            }
+
+            checkStopping();
+
+            if (offer(item))
+                return;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean offer(T item, long timeout, TimeUnit unit) throws IgniteException {
+        A.notNull(item, "item");
+        A.ensure(timeout >= 0, "Timeout cannot be negative: " + timeout);
+
+        if (!bounded()) {
+            boolean offer = offer(item);
+
+            assert offer;
+
+            return true;
+        }
+
+        long end = U.currentTimeMillis() + MILLISECONDS.convert(timeout, unit);
+
+        while (U.currentTimeMillis() < end) {
+            boolean retVal = false;
+
+            try {
+                if (writeSem.tryAcquire(end - U.currentTimeMillis(), MILLISECONDS)) {
+                    checkStopping();
+
+                    retVal = offer(item);
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedException("Queue put interrupted.", e);
+            }
+
+            if (retVal)
+                return true;
+        }
+
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public T take() throws IgniteException {
+        while (true) {
+            try {
+                readSem.acquire();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedException("Queue take interrupted.", e);
+            }
+
+            checkStopping();
+
+            T e = poll();
+
+            if (e != null)
+                return e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public T poll(long timeout, TimeUnit unit) throws IgniteException {
+        A.ensure(timeout >= 0, "Timeout cannot be negative: " + timeout);
+
+        long end = U.currentTimeMillis() + MILLISECONDS.convert(timeout, unit);
+
+        while (U.currentTimeMillis() < end) {
+            T retVal = null;
+
+            try {
+                if (readSem.tryAcquire(end - U.currentTimeMillis(), MILLISECONDS)) {
+                    checkStopping();
+
+                    retVal = poll();
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedException("Queue poll interrupted.", e);
+            }
+
+            if (retVal != null)
+                return retVal;
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int remainingCapacity() {
+        if (!bounded())
+            return Integer.MAX_VALUE;
+
+        int remaining = cap - size();
+
+        return remaining > 0 ? remaining : 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() {
+        clear(DFLT_CLEAR_BATCH_SIZE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int drainTo(Collection<? super T> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int drainTo(Collection<? super T> c, int maxElements) {
+        if (maxElements <= 0)
+            return 0;
+
+        if (IgniteFeatures.allNodesSupport(cctx.kernalContext(), SHARDED_QUEUE)) {
+            try {
+                return pollAll(c, maxElements);
+            }
+            catch (IgniteCheckedException e) {
+                throw U.convertException(e);
+            }
+        }
+
+        int max = Math.min(maxElements, size());
+
+        for (int i = 0; i < max; i++) {
+            T el = poll();
+
+            if (el == null)
+                return i;
+
+            c.add(el);
+        }
+
+        return max;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean removed() {
+        return rmvd;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void affinityRun(IgniteRunnable job) {
+        if (!collocated)
+            throw new IgniteException("Failed to execute affinityRun() for non-collocated queue: " + name() +
+                ". This operation is supported only for collocated queues.");
+
+        compute.affinityRun(cache.name(), queueKey, job);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <R> R affinityCall(IgniteCallable<R> job) {
+        if (!collocated)
+            throw new IgniteException("Failed to execute affinityCall() for non-collocated queue: " + name() +
+                ". This operation is supported only for collocated queues.");
+
+        return compute.affinityCall(cache.name(), queueKey, job);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <V1> IgniteQueue<V1> withKeepBinary() {
+        CacheOperationContext opCtx = cctx.operationContextPerCall();
+
+        if (opCtx != null && opCtx.isKeepBinary())
+            return (GridCacheQueueBase<V1>)this;
+
+        opCtx = opCtx == null ? new CacheOperationContext(
+            false,
+            null,
+            true,
+            null,
+            false,
+            null,
+            false,
+            DFLT_ALLOW_ATOMIC_OPS_IN_TX)
+            : opCtx.keepBinary();
+
+        cctx.operationContextPerCall(opCtx);
+
+        return (GridCacheQueueBase<V1>)this;
+    }
+
+    /**
+     * Checks result of closure modifying queue header, throws {@link IllegalStateException} if queue was removed.
+     *
+     * @param idx Result of closure execution.
+     */
+    protected final void checkRemoved(Long idx) {
+        if (idx == QUEUE_REMOVED_IDX)
+            onRemoved(true);
+    }
+
+    /**
+     * Checks queue state, throws {@link IllegalStateException} if queue was removed.
+     *
+     * @param hdr Queue hdr.
+     */
+    protected final void checkRemoved(@Nullable GridCacheQueueHeader hdr) {
+        if (queueRemoved(hdr, id))
+            onRemoved(true);
+    }
+
+    /** Release all semaphores used in blocking operations in case of client disconnect. */
+    public void onClientDisconnected() {
+        releaseSemaphores();
+    }
+
+    /**
+     * Marks queue as removed.
+     *
+     * @param throw0 If {@code true} then throws {@link IllegalStateException}.
+     */
+    public void onRemoved(boolean throw0) {
+        rmvd = true;
+
+        releaseSemaphores();
+
+        if (throw0)
+            throw new IllegalStateException("Queue has been removed from cache: " + this);
+    }
+
+    /**
+     * Release all semaphores used in blocking operations (used in case queue was removed or grid is stopping).
+     */
+    private void releaseSemaphores() {
+        if (bounded()) {
+            writeSem.drainPermits();
+            writeSem.release(1_000_000); // Let all blocked threads to proceed (operation will fail with exception).
+        }
+
+        readSem.drainPermits();
+        readSem.release(1_000_000); // Let all blocked threads to proceed (operation will fail with exception).
+    }
+
+    /**
+     * @param hdr Queue header.
+     */
+    public void onHeaderChanged(GridCacheQueueHeader hdr) {
+        updatePermits(hdr.size(), hdr.capacity() - hdr.size());
+    }
+
+    /**
+     * Updates permits of semaphores used in blocking operations.
+     *
+     * @param size Queue size.
+     * @param free Number of items which can be added to bounded queue.
+     */
+    protected final void updatePermits(int size, int free) {
+        if (size > 0) {
+            readSem.drainPermits();
+            readSem.release(size);
+        }
+
+        if (bounded()) {
+            writeSem.drainPermits();
+
+            if (free > 0)
+                writeSem.release(free);
+        }
+    }
+
+    /**
+     * @param hdrName Queue name in the key of a changed queue header.
+     * @return {@code True} if header with the given name belongs to this queue.
+     */
+    public boolean hasHeader(String hdrName) {
+        return queueName.equals(hdrName);
+    }
+
+    /**
+     * Grid stop callback.
+     */
+    public void onKernalStop() {
+        releaseSemaphores();
+    }
+
+    /**
+     * Throws {@link IgniteException} in case if grid is stopping.
+     */
+    private void checkStopping() {
+        if (cctx.kernalContext().isStopping())
+            throw new IgniteException("Ignite is stopping");
+    }
+
+    /**
+     * @return Queue unique ID.
+     */
+    public IgniteUuid id() {
+        return id;
+    }
+
+    /**
+     * Polls several items from queue head at once.
+     *
+     * @param c Collection to add polled items to.
+     * @param max Maximum number of items to poll.
+     * @return Number of polled items.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected abstract int pollAll(Collection<? super T> c, int max) throws IgniteCheckedException;
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (rmvd)
+            return;
+
+        try {
+            cctx.kernalContext().dataStructures().removeQueue(queueName, cctx);
+        }
+        catch (IgniteCheckedException e) {
+            throw U.convertException(e);
+        }
+    }
+
+    /**
+     * @param hdr Queue header.
+     * @param id Expected queue unique ID.
+     * @return {@code True} if queue was removed.
+     */
+    protected static boolean queueRemoved(@Nullable GridCacheQueueHeader hdr, IgniteUuid id) {
+        return hdr == null || !id.equals(hdr.id());
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean equals(Object o) {
+        if (this == o)
+            return true;
+
+        if (o == null || getClass() != o.getClass())
+            return false;
+
+        GridCacheQueueBase that = (GridCacheQueueBase)o;
+
+        return id.equals(that.id);
+
+    }
+
+    /** {@inheritDoc} */
+    @Override public int hashCode() {
+        return id.hashCode();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheQueueBase.class, this);
+    }
+}
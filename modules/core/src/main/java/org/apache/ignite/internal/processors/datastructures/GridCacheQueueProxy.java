@@ -52,7 +52,7 @@ public class GridCacheQueueProxy<T> implements IgniteQueue<T>, Externalizable {
         };
 
     /** Delegate queue. */
-    private GridCacheQueueAdapter<T> delegate;
+    private GridCacheQueueBase<T> delegate;
 
     /** Cache context. */
     private GridCacheContext cctx;
@@ -71,7 +71,7 @@ public class GridCacheQueueProxy<T> implements IgniteQueue<T>, Externalizable {
      * @param cctx Cache context.
      * @param delegate Delegate queue.
      */
-    public GridCacheQueueProxy(GridCacheContext cctx, GridCacheQueueAdapter<T> delegate) {
+    public GridCacheQueueProxy(GridCacheContext cctx, GridCacheQueueBase<T> delegate) {
         this.cctx = cctx;
         this.delegate = delegate;
 
@@ -81,7 +81,7 @@ public class GridCacheQueueProxy<T> implements IgniteQueue<T>, Externalizable {
     /**
      * @return Delegate queue.
      */
-    public GridCacheQueueAdapter<T> delegate() {
+    public GridCacheQueueBase<T> delegate() {
         return delegate;
     }
 
@@ -460,7 +460,7 @@ public class GridCacheQueueProxy<T> implements IgniteQueue<T>, Externalizable {
         gate.enter();
 
         try {
-            return new GridCacheQueueProxy<>(cctx, (GridCacheQueueAdapter<V1>)delegate.withKeepBinary());
+            return new GridCacheQueueProxy<>(cctx, (GridCacheQueueBase<V1>)delegate.withKeepBinary());
         }
         finally {
             gate.leave();
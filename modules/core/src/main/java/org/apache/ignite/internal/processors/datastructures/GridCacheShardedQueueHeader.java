@@ -0,0 +1,109 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.datastructures;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteUuid;
+
+/**
+ * Header of a queue split into several sub-queues. Items are stored in sub-queues only, each of them has its own
+ * {@link GridCacheQueueHeader}, so this header is never updated after the queue is created.
+ */
+public class GridCacheShardedQueueHeader extends GridCacheQueueHeader {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** */
+    private int shards;
+
+    /** */
+    private boolean relaxedOrder;
+
+    /**
+     * Required by {@link Externalizable}.
+     */
+    public GridCacheShardedQueueHeader() {
+        // No-op.
+    }
+
+    /**
+     * @param id Queue unique ID.
+     * @param cap Capacity.
+     * @param collocated Collocation flag.
+     * @param shards Number of sub-queues.
+     * @param relaxedOrder Relaxed order flag.
+     */
+    public GridCacheShardedQueueHeader(IgniteUuid id, int cap, boolean collocated, int shards, boolean relaxedOrder) {
+        super(id, cap, collocated, 0, 0, null);
+
+        assert shards > 1 : shards;
+
+        this.shards = shards;
+        this.relaxedOrder = relaxedOrder;
+    }
+
+    /**
+     * @return Number of sub-queues.
+     */
+    public int shards() {
+        return shards;
+    }
+
+    /**
+     * @return Relaxed order flag.
+     */
+    public boolean relaxedOrder() {
+        return relaxedOrder;
+    }
+
+    /**
+     * @param shard Sub-queue index.
+     * @return Capacity of the sub-queue.
+     */
+    public int shardCapacity(int shard) {
+        if (!bounded())
+            return capacity();
+
+        return capacity() / shards + (shard < capacity() % shards ? 1 : 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        super.writeExternal(out);
+
+        out.writeInt(shards);
+        out.writeBoolean(relaxedOrder);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException, ClassNotFoundException {
+        super.readExternal(in);
+
+        shards = in.readInt();
+        relaxedOrder = in.readBoolean();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheShardedQueueHeader.class, this, "super", super.toString());
+    }
+}
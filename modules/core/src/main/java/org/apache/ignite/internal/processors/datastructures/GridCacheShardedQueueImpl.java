@@ -0,0 +1,437 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.datastructures;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CollectionConfiguration;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.lang.IgniteRunnable;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * {@link org.apache.ignite.IgniteQueue} implementation which splits items between several sub-queues,
+ * see {@link CollectionConfiguration#setShards(int)}. Every sub-queue is a regular queue with its own header.
+ */
+public class GridCacheShardedQueueImpl<T> extends GridCacheQueueBase<T> {
+    /** Suffix of sub-queue names. */
+    private static final String SHARD_SUFFIX = "#shard-";
+
+    /** Sub-queues. */
+    @GridToStringExclude
+    private final GridCacheQueueAdapter<T>[] shards;
+
+    /** Sizes of sub-queues known from their headers updates. */
+    @GridToStringExclude
+    private final AtomicIntegerArray sizes;
+
+    /** Relaxed order flag. */
+    private final boolean relaxedOrder;
+
+    /** Sub-queue the local node offers items to if order is not relaxed. */
+    private final int homeShard;
+
+    /** Counter rotating sub-queues between operations. */
+    @GridToStringExclude
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    /** Flags of sub-queues with headers stored on the local node and topology version they are computed for. */
+    @GridToStringExclude
+    private volatile IgniteBiTuple<AffinityTopologyVersion, boolean[]> locShards;
+
+    /**
+     * @param queueName Queue name.
+     * @param hdr Queue header.
+     * @param shardHdrs Headers of sub-queues.
+     * @param cctx Cache context.
+     */
+    @SuppressWarnings("unchecked")
+    public GridCacheShardedQueueImpl(
+        String queueName,
+        GridCacheShardedQueueHeader hdr,
+        GridCacheQueueHeader[] shardHdrs,
+        GridCacheContext<?, ?> cctx
+    ) {
+        super(queueName, hdr, cctx);
+
+        assert shardHdrs.length == hdr.shards() : shardHdrs.length;
+
+        relaxedOrder = hdr.relaxedOrder();
+        shards = new GridCacheQueueAdapter[shardHdrs.length];
+        sizes = new AtomicIntegerArray(shardHdrs.length);
+
+        for (int i = 0; i < shards.length; i++) {
+            String shardName = shardName(queueName, i);
+
+            shards[i] = cctx.atomic() ? new GridAtomicCacheQueueImpl<>(shardName, shardHdrs[i], cctx) :
+                new GridTransactionalCacheQueueImpl<>(shardName, shardHdrs[i], cctx);
+
+            sizes.set(i, shardHdrs[i].size());
+        }
+
+        boolean[] loc = localShards();
+
+        int home = U.safeAbs(cctx.localNodeId().hashCode()) % shards.length;
+
+        for (int i = 0; i < loc.length; i++) {
+            if (loc[i]) {
+                home = i;
+
+                break;
+            }
+        }
+
+        homeShard = home;
+
+        onSizesChanged();
+    }
+
+    /**
+     * @param queueName Queue name.
+     * @param shard Sub-queue index.
+     * @return Sub-queue name.
+     */
+    public static String shardName(String queueName, int shard) {
+        return queueName + SHARD_SUFFIX + shard;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean offer(T item) throws IgniteException {
+        A.notNull(item, "item");
+
+        for (int shard : order(true)) {
+            if (shards[shard].offer(item))
+                return true;
+        }
+
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean addAll(Collection<? extends T> items) {
+        A.notNull(items, "items");
+
+        // Whole batch goes to a single sub-queue to update one header only.
+        for (int shard : order(true)) {
+            if (shards[shard].addAll(items))
+                return true;
+        }
+
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public T poll() throws IgniteException {
+        for (int shard : order(false)) {
+            T item = shards[shard].poll();
+
+            if (item != null)
+                return item;
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public T peek() throws IgniteException {
+        for (int shard : order(false)) {
+            T item = shards[shard].peek();
+
+            if (item != null)
+                return item;
+        }
+
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected int pollAll(Collection<? super T> c, int max) throws IgniteCheckedException {
+        int cnt = 0;
+
+        for (int shard : order(false)) {
+            if (cnt == max)
+                break;
+
+            cnt += shards[shard].pollAll(c, max - cnt);
+        }
+
+        return cnt;
+    }
+
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override public int size() {
+        try {
+            List<GridCacheQueueHeaderKey> keys = new ArrayList<>(shards.length + 1);
+
+            keys.add(queueKey);
+
+            for (GridCacheQueueAdapter<T> shard : shards)
+                keys.add(shard.queueKey);
+
+            Map<GridCacheQueueHeaderKey, GridCacheQueueHeader> hdrs = cache.getAll(keys);
+
+            checkRemoved(hdrs.get(queueKey));
+
+            int size = 0;
+
+            for (GridCacheQueueAdapter<T> shard : shards) {
+                GridCacheQueueHeader hdr = hdrs.get(shard.queueKey);
+
+                // Headers of sub-queues are removed after the queue header.
+                if (hdr == null)
+                    onRemoved(true);
+
+                size += hdr.size();
+            }
+
+            return size;
+        }
+        catch (IgniteCheckedException e) {
+            throw U.convertException(e);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public Iterator<T> iterator() {
+        return new ShardsIterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear(int batchSize) throws IgniteException {
+        A.ensure(batchSize >= 0, "Batch size cannot be negative: " + batchSize);
+
+        for (GridCacheQueueAdapter<T> shard : shards)
+            shard.clear(batchSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void affinityRun(IgniteRunnable job) {
+        throw new IgniteException("Failed to execute affinityRun() for sharded queue: " + name() +
+            ". This operation is supported only for collocated queues with single shard.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public <R> R affinityCall(IgniteCallable<R> job) {
+        throw new IgniteException("Failed to execute affinityCall() for sharded queue: " + name() +
+            ". This operation is supported only for collocated queues with single shard.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean hasHeader(String hdrName) {
+        if (super.hasHeader(hdrName))
+            return true;
+
+        for (GridCacheQueueAdapter<T> shard : shards) {
+            if (shard.hasHeader(hdrName))
+                return true;
+        }
+
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onHeaderChanged(GridCacheQueueHeader hdr) {
+        for (int i = 0; i < shards.length; i++) {
+            if (shards[i].id().equals(hdr.id())) {
+                sizes.set(i, hdr.size());
+
+                onSizesChanged();
+
+                return;
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemoved(boolean throw0) {
+        for (GridCacheQueueAdapter<T> shard : shards)
+            shard.onRemoved(false);
+
+        super.onRemoved(throw0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onClientDisconnected() {
+        for (GridCacheQueueAdapter<T> shard : shards)
+            shard.onClientDisconnected();
+
+        super.onClientDisconnected();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onKernalStop() {
+        for (GridCacheQueueAdapter<T> shard : shards)
+            shard.onKernalStop();
+
+        super.onKernalStop();
+    }
+
+    /**
+     * Updates permits of blocking operations with total size of sub-queues.
+     */
+    private void onSizesChanged() {
+        int size = 0;
+        int free = 0;
+
+        for (int i = 0; i < shards.length; i++) {
+            int shardSize = sizes.get(i);
+
+            size += shardSize;
+
+            if (bounded())
+                free += Math.max(shards[i].capacity() - shardSize, 0);
+        }
+
+        updatePermits(size, free);
+    }
+
+    /**
+     * Gets order sub-queues are tried in. Offers go to the home sub-queue of the local node first, or to all
+     * sub-queues in turn if order is relaxed. Polls try sub-queues which are not known to be empty first,
+     * preferring sub-queues with headers stored on the local node, and start from different sub-queues
+     * to spread concurrent consumers.
+     *
+     * @param offer {@code True} if order is used to offer items, {@code false} if it is used to poll them.
+     * @return Indexes of sub-queues.
+     */
+    private int[] order(boolean offer) {
+        int n = shards.length;
+
+        int[] order = new int[n];
+
+        int first = offer && !relaxedOrder ? homeShard : U.safeAbs(rotation.getAndIncrement()) % n;
+
+        if (offer) {
+            for (int i = 0; i < n; i++)
+                order[i] = (first + i) % n;
+
+            return order;
+        }
+
+        boolean[] loc = localShards();
+
+        boolean[] empty = new boolean[n];
+
+        for (int i = 0; i < n; i++)
+            empty[i] = sizes.get(i) == 0;
+
+        int pos = 0;
+
+        for (int pass = 0; pass < 3; pass++) {
+            for (int i = 0; i < n; i++) {
+                int shard = (first + i) % n;
+
+                boolean match = pass == 2 ? empty[shard] : !empty[shard] && loc[shard] == (pass == 0);
+
+                if (match)
+                    order[pos++] = shard;
+            }
+        }
+
+        assert pos == n : pos;
+
+        return order;
+    }
+
+    /**
+     * @return Flags of sub-queues with headers stored on the local node.
+     */
+    private boolean[] localShards() {
+        AffinityTopologyVersion topVer = cctx.affinity().affinityTopologyVersion();
+
+        IgniteBiTuple<AffinityTopologyVersion, boolean[]> locShards0 = locShards;
+
+        if (locShards0 != null && locShards0.get1().equals(topVer))
+            return locShards0.get2();
+
+        ClusterNode locNode = cctx.localNode();
+
+        boolean[] loc = new boolean[shards.length];
+
+        for (int i = 0; i < shards.length; i++)
+            loc[i] = cctx.affinity().primaryByKey(locNode, shards[i].queueKey, topVer);
+
+        locShards = new IgniteBiTuple<>(topVer, loc);
+
+        return loc;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(GridCacheShardedQueueImpl.class, this, "super", super.toString());
+    }
+
+    /**
+     * Iterator over items of all sub-queues.
+     */
+    private class ShardsIterator implements Iterator<T> {
+        /** Index of the current sub-queue. */
+        private int shard;
+
+        /** Iterator over the current sub-queue. */
+        private Iterator<T> it = shards[0].iterator();
+
+        /** Iterator which returned the last item. */
+        private Iterator<T> last;
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            while (!it.hasNext() && shard < shards.length - 1)
+                it = shards[++shard].iterator();
+
+            return it.hasNext();
+        }
+
+        /** {@inheritDoc} */
+        @Override public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+
+            last = it;
+
+            return it.next();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void remove() {
+            if (last == null)
+                throw new IllegalStateException();
+
+            last.remove();
+
+            last = null;
+        }
+    }
+}
@@ -16,8 +16,10 @@
 
 package org.apache.ignite.internal.processors.datastructures;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
 import org.apache.ignite.IgniteCheckedException;
@@ -181,6 +183,56 @@ public class GridTransactionalCacheQueueImpl<T> extends GridCacheQueueAdapter<T>
         }
     }
 
+    /** {@inheritDoc} */
+    @SuppressWarnings("unchecked")
+    @Override protected int pollAll(Collection<? super T> c, final int max) throws IgniteCheckedException {
+        try {
+            List<T> items = retryTopologySafe(new Callable<List<T>>() {
+                @Override public List<T> call() throws Exception {
+                    try (GridNearTxLocal tx = cache.txStartEx(PESSIMISTIC, REPEATABLE_READ)) {
+                        long[] idxs = (long[])cache.invoke(queueKey, new PollAllProcessor(id, max)).get();
+
+                        List<T> retVal = new ArrayList<>(idxs.length);
+
+                        if (idxs.length > 0) {
+                            checkRemoved(idxs[0]);
+
+                            List<QueueItemKey> keys = new ArrayList<>(idxs.length);
+
+                            for (long idx : idxs)
+                                keys.add(itemKey(idx));
+
+                            Map<QueueItemKey, T> vals = cache.getAll(keys);
+
+                            cache.removeAll(keys);
+
+                            for (QueueItemKey key : keys) {
+                                T val = vals.get(key);
+
+                                if (val != null) // Possible if data was lost.
+                                    retVal.add(val);
+                            }
+                        }
+
+                        tx.commit();
+
+                        return retVal;
+                    }
+                }
+            });
+
+            c.addAll(items);
+
+            return items.size();
+        }
+        catch (IgniteCheckedException | RuntimeException e) {
+            throw e;
+        }
+        catch (Exception e) {
+            throw new IgniteCheckedException(e);
+        }
+    }
+
     /** {@inheritDoc} */
     @SuppressWarnings("unchecked")
     @Override protected void removeItem(final long rmvIdx) throws IgniteCheckedException {
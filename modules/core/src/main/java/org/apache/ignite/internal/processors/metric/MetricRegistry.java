@@ -36,6 +36,7 @@ import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
 import org.apache.ignite.internal.processors.metric.impl.IntGauge;
 import org.apache.ignite.internal.processors.metric.impl.IntMetricImpl;
+import org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderWithDelegateMetric;
 import org.apache.ignite.internal.processors.metric.impl.LongGauge;
@@ -500,6 +501,24 @@ public class MetricRegistry implements ReadOnlyMetricRegistry {
         return metric;
     }
 
+    /**
+     * Creates and register named log-linear histogram.
+     * Bounds of such histogram can't be reconfigured, so histograms from different nodes can always be merged.
+     * This method does nothing in case a metric with the given name already exists.
+     *
+     * @param name Name.
+     * @param lowest Lowest value that should be distinguished from zero.
+     * @param highest Highest value that should be tracked.
+     * @param subBucketBits Number of bits of precision within each power of two interval.
+     * @param desc Description.
+     * @return {@link LogLinearHistogramMetricImpl}
+     */
+    public LogLinearHistogramMetricImpl logLinearHistogram(String name, long lowest, long highest, int subBucketBits,
+        @Nullable String desc) {
+        return addMetric(name,
+            new LogLinearHistogramMetricImpl(metricName(regName, name), desc, lowest, highest, subBucketBits));
+    }
+
     /**
      * Adds metrics if not exists already.
      *
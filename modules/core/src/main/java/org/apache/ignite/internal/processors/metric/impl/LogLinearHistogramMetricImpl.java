@@ -0,0 +1,171 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.metric.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.apache.ignite.internal.processors.metric.AbstractMetric;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.spi.metric.HistogramMetric;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Log-linear (HDR-style) histogram metric implementation.
+ * <p>
+ * Value range is split into power of two intervals, each of which is split into {@code 2^subBucketBits} buckets
+ * of equal width. This gives a relative error not exceeding {@code 2^-subBucketBits} over the whole range with
+ * memory proportional to the logarithm of the range. Bucket index is computed in constant time and recording is
+ * a single atomic increment, so the metric is safe to update from hot paths.
+ * <p>
+ * Bounds depend only on the constructor parameters, so histograms created with the same parameters on different
+ * nodes can be merged by summing bucket counts (see {@link MetricUtils#mergeHistograms(long[], long[])}) and
+ * percentiles can be computed from the merged counts (see {@link MetricUtils#percentile(long[], long[], double)}).
+ */
+public class LogLinearHistogramMetricImpl extends AbstractMetric implements HistogramMetric {
+    /** Default number of sub-bucket bits, gives relative error not exceeding 12.5%. */
+    public static final int DFLT_SUB_BUCKET_BITS = 3;
+
+    /** Maximum supported number of sub-bucket bits. */
+    public static final int MAX_SUB_BUCKET_BITS = 8;
+
+    /** Bounds of measurements. */
+    private final long[] bounds;
+
+    /** Number of sub-bucket bits. */
+    private final int subBucketBits;
+
+    /** Exponent of the first bound. */
+    private final int lowestExp;
+
+    /** Count of measurement for each bound. */
+    private volatile AtomicLongArray measurements;
+
+    /**
+     * @param name Name.
+     * @param desc Description.
+     * @param lowest Lowest value that should be distinguished from zero, all values less or equal fall
+     * into the first bucket. The first bound is the smallest power of two which is not less than both
+     * {@code lowest} and {@code 2^subBucketBits}, so {@code lowest} should be well above {@code 2^subBucketBits}
+     * to keep precision for small values.
+     * @param highest Highest value that should be tracked, all values above fall into the last bucket.
+     * @param subBucketBits Number of bits of precision within each power of two interval.
+     */
+    public LogLinearHistogramMetricImpl(String name, @Nullable String desc, long lowest, long highest,
+        int subBucketBits) {
+        super(name, desc);
+
+        A.ensure(subBucketBits > 0 && subBucketBits <= MAX_SUB_BUCKET_BITS,
+            "subBucketBits should be in range [1, " + MAX_SUB_BUCKET_BITS + ']');
+        A.ensure(lowest > 0, "lowest should be positive");
+        A.ensure(highest > lowest, "highest should be greater than lowest");
+        A.ensure(highest <= Long.MAX_VALUE / 2, "highest is too big");
+
+        this.subBucketBits = subBucketBits;
+
+        lowestExp = Math.max(subBucketBits, 64 - Long.numberOfLeadingZeros(lowest - 1));
+
+        int highestExp = 64 - Long.numberOfLeadingZeros(highest - 1);
+
+        int subBuckets = 1 << subBucketBits;
+
+        bounds = new long[1 + Math.max(highestExp - lowestExp, 1) * subBuckets];
+
+        bounds[0] = 1L << lowestExp;
+
+        for (int exp = lowestExp, i = 1; i < bounds.length; exp++) {
+            long step = 1L << (exp - subBucketBits);
+
+            for (int sub = 1; sub <= subBuckets; sub++)
+                bounds[i++] = (1L << exp) + sub * step;
+        }
+
+        measurements = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /**
+     * Sets value.
+     *
+     * @param x Value.
+     */
+    public void value(long x) {
+        assert x >= 0;
+
+        measurements.incrementAndGet(bucket(x));
+    }
+
+    /**
+     * @param x Value.
+     * @return Index of the bucket the value belongs to.
+     */
+    int bucket(long x) {
+        if (x <= bounds[0])
+            return 0;
+
+        if (x > bounds[bounds.length - 1])
+            return bounds.length;
+
+        long w = x - 1;
+
+        int exp = 63 - Long.numberOfLeadingZeros(w);
+
+        int sub = (int)((w - (1L << exp)) >>> (exp - subBucketBits));
+
+        return 1 + ((exp - lowestExp) << subBucketBits) + sub;
+    }
+
+    /**
+     * Calculates value at the given percentile.
+     *
+     * @param p Percentile in range {@code [0, 1]}.
+     * @return Upper bound of the bucket containing requested percentile or {@code 0} if histogram is empty.
+     */
+    public long percentile(double p) {
+        return MetricUtils.percentile(bounds, value(), p);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void reset() {
+        measurements = new AtomicLongArray(bounds.length + 1);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] value() {
+        AtomicLongArray m = measurements;
+
+        long[] res = new long[m.length()];
+
+        for (int i = 0; i < m.length(); i++)
+            res[i] = m.get(i);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public @Nullable String getAsString() {
+        return Arrays.toString(value());
+    }
+
+    /** {@inheritDoc} */
+    @Override public long[] bounds() {
+        return bounds;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Class<long[]> type() {
+        return long[].class;
+    }
+}
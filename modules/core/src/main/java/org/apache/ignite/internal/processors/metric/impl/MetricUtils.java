@@ -171,4 +171,59 @@ public class MetricUtils {
 
         return names;
     }
+
+    /**
+     * Calculates value at the given percentile of the histogram.
+     * Bucket that contains the requested percentile is reported by its upper bound, overflow bucket is reported
+     * by the last bound.
+     *
+     * @param bounds Histogram bounds.
+     * @param cnts Histogram bucket counts, length should be {@code bounds.length + 1}.
+     * @param p Percentile in range {@code [0, 1]}.
+     * @return Value at the given percentile or {@code 0} if histogram is empty.
+     */
+    public static long percentile(long[] bounds, long[] cnts, double p) {
+        assert cnts.length == bounds.length + 1;
+        assert p >= 0 && p <= 1 : p;
+
+        long total = 0;
+
+        for (long cnt : cnts)
+            total += cnt;
+
+        if (total == 0)
+            return 0;
+
+        long rank = Math.max(1, (long)Math.ceil(p * total));
+
+        long acc = 0;
+
+        for (int i = 0; i < bounds.length; i++) {
+            acc += cnts[i];
+
+            if (acc >= rank)
+                return bounds[i];
+        }
+
+        return bounds[bounds.length - 1];
+    }
+
+    /**
+     * Merges bucket counts of two histograms with the same bounds, for example, the same histogram
+     * collected from different nodes.
+     *
+     * @param cnts1 First histogram bucket counts.
+     * @param cnts2 Second histogram bucket counts.
+     * @return Merged bucket counts.
+     */
+    public static long[] mergeHistograms(long[] cnts1, long[] cnts2) {
+        assert cnts1.length == cnts2.length : "Histograms with different bounds can't be merged.";
+
+        long[] res = new long[cnts1.length];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = cnts1[i] + cnts2[i];
+
+        return res;
+    }
 }
@@ -57,7 +57,10 @@ public enum ClientBitmaskFeature implements ThinProtocolFeature {
     SERVICE_INVOKE_CALLCTX(10),
 
     /** Handle OP_HEARTBEAT and OP_GET_IDLE_TIMEOUT. */
-    HEARTBEAT(11);
+    HEARTBEAT(11),
+
+    /** Near cache invalidation notifications. */
+    NEAR_CACHE_INVALIDATION(12);
 
     /** */
     private static final EnumSet<ClientBitmaskFeature> ALL_FEATURES_AS_ENUM_SET =
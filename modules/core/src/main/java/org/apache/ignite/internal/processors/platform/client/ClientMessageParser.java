@@ -53,6 +53,7 @@ import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheGe
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheGetRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheGetSizeRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheLocalPeekRequest;
+import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheNearInvalidationRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheNodePartitionsRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePartitionsRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePutAllRequest;
@@ -243,6 +244,12 @@ public class ClientMessageParser implements ClientListenerMessageParser {
     /** */
     public static final short OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION = 2007;
 
+    /** */
+    private static final short OP_QUERY_NEAR_INVALIDATION = 2008;
+
+    /** */
+    public static final short OP_QUERY_NEAR_INVALIDATION_NOTIFICATION = 2009;
+
     /* Binary metadata operations. */
     /** */
     private static final short OP_BINARY_TYPE_NAME_GET = 3000;
@@ -564,6 +571,9 @@ public class ClientMessageParser implements ClientListenerMessageParser {
             case OP_QUERY_CONTINUOUS:
                 return new ClientCacheQueryContinuousRequest(reader);
 
+            case OP_QUERY_NEAR_INVALIDATION:
+                return new ClientCacheNearInvalidationRequest(reader);
+
             case OP_TX_START:
                 return new ClientTxStartRequest(reader);
 
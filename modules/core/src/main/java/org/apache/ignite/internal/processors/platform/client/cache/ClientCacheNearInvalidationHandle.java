@@ -0,0 +1,182 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryUpdatedListener;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cache.query.CacheQueryEntryEvent;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.processors.platform.client.ClientCloseableResource;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientMessageParser;
+
+/**
+ * Near cache invalidation handle. Unlike {@link ClientCacheQueryContinuousHandle}, events received before the client
+ * is ready to receive notifications are kept and sent after, since a lost invalidation leaves a stale near entry.
+ */
+public class ClientCacheNearInvalidationHandle implements CacheEntryUpdatedListener<Object, Object>,
+    ClientCloseableResource {
+    /** */
+    private final ClientConnectionContext ctx;
+
+    /** Cache affinity. */
+    private final Affinity<Object> aff;
+
+    /** */
+    private final AtomicBoolean closeGuard = new AtomicBoolean();
+
+    /** Events received before notifications are started, guarded by this handle. */
+    private List<Notification> pending = new ArrayList<>();
+
+    /** */
+    private volatile Long id;
+
+    /** */
+    private volatile QueryCursor<?> cur;
+
+    /**
+     * Ctor.
+     *
+     * @param ctx Context.
+     * @param aff Cache affinity.
+     */
+    public ClientCacheNearInvalidationHandle(ClientConnectionContext ctx, Affinity<Object> aff) {
+        assert ctx != null;
+
+        this.ctx = ctx;
+        this.aff = aff;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onUpdated(Iterable<CacheEntryEvent<?, ?>> iterable) throws CacheEntryListenerException {
+        Notification notification = new Notification(iterable);
+
+        Long id0 = id;
+
+        if (id0 == null) {
+            synchronized (this) {
+                id0 = id;
+
+                if (id0 == null) {
+                    pending.add(notification);
+
+                    return;
+                }
+            }
+        }
+
+        ctx.notifyClient(notification.toClientNotification(id0));
+    }
+
+    /**
+     * Sets the cursor.
+     *
+     * @param cur Cursor.
+     */
+    public void setCursor(QueryCursor<?> cur) {
+        this.cur = cur;
+    }
+
+    /**
+     * Starts notifications and sends events received before.
+     *
+     * @param id Resource id.
+     */
+    public synchronized void startNotifications(long id) {
+        this.id = id;
+
+        for (Notification notification : pending)
+            ctx.notifyClient(notification.toClientNotification(id));
+
+        pending = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (closeGuard.compareAndSet(false, true)) {
+            assert cur != null;
+            cur.close();
+
+            ctx.decrementCursors();
+        }
+    }
+
+    /**
+     * Invalidated keys with their partitions and update counters.
+     */
+    private class Notification {
+        /** Partitions. */
+        private final int[] parts;
+
+        /** Update counters. */
+        private final long[] cntrs;
+
+        /** Keys. */
+        private final Object[] keys;
+
+        /** Number of keys. */
+        private int cnt;
+
+        /**
+         * @param evts Events.
+         */
+        Notification(Iterable<CacheEntryEvent<?, ?>> evts) {
+            int cap = evts instanceof Collection ? ((Collection<?>)evts).size() : 16;
+
+            int[] parts = new int[cap];
+            long[] cntrs = new long[cap];
+            Object[] keys = new Object[cap];
+
+            for (CacheEntryEvent<?, ?> evt : evts) {
+                if (cnt == keys.length) {
+                    parts = Arrays.copyOf(parts, cnt * 2 + 1);
+                    cntrs = Arrays.copyOf(cntrs, cnt * 2 + 1);
+                    keys = Arrays.copyOf(keys, cnt * 2 + 1);
+                }
+
+                Object key = evt.getKey();
+
+                parts[cnt] = aff.partition(key);
+                cntrs[cnt] = ((CacheQueryEntryEvent<?, ?>)evt).getPartitionUpdateCounter();
+                keys[cnt] = key;
+
+                cnt++;
+            }
+
+            this.parts = parts;
+            this.cntrs = cntrs;
+            this.keys = keys;
+        }
+
+        /**
+         * @param rsrcId Resource id.
+         * @return Notification to send to the client.
+         */
+        ClientCacheNearInvalidationNotification toClientNotification(long rsrcId) {
+            return new ClientCacheNearInvalidationNotification(
+                ClientMessageParser.OP_QUERY_NEAR_INVALIDATION_NOTIFICATION, rsrcId, parts, cntrs, keys, cnt);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientNotification;
+
+/**
+ * Near cache invalidation notification.
+ */
+public class ClientCacheNearInvalidationNotification extends ClientNotification {
+    /** Partitions. */
+    private final int[] parts;
+
+    /** Partition update counters. */
+    private final long[] cntrs;
+
+    /** Keys. */
+    private final Object[] keys;
+
+    /** Number of keys. */
+    private final int cnt;
+
+    /**
+     * Ctor.
+     *
+     * @param opCode Operation code.
+     * @param rsrcId Resource ID.
+     * @param parts Partitions.
+     * @param cntrs Partition update counters.
+     * @param keys Keys.
+     * @param cnt Number of keys.
+     */
+    public ClientCacheNearInvalidationNotification(short opCode, long rsrcId, int[] parts, long[] cntrs,
+        Object[] keys, int cnt) {
+        super(opCode, rsrcId);
+
+        this.parts = parts;
+        this.cntrs = cntrs;
+        this.keys = keys;
+        this.cnt = cnt;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        super.encode(ctx, writer);
+
+        writer.writeInt(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            writer.writeInt(parts[i]);
+            writer.writeLong(cntrs[i]);
+            writer.writeObjectDetached(keys[i]);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.PartitionUpdateCountersCallable;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+
+import static org.apache.ignite.cache.CacheMode.LOCAL;
+import static org.apache.ignite.internal.GridClosureCallMode.BROADCAST;
+
+/**
+ * Near cache invalidation request. Starts a continuous query which notifies the client about keys updated in the
+ * cache, and returns the partition update counters of the cache after the query is started. The client compares
+ * the counters with the counters of the notifications received before reconnect to find out if it missed updates.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ClientCacheNearInvalidationRequest extends ClientCacheRequest {
+    /**
+     * Ctor.
+     *
+     * @param reader Reader.
+     */
+    public ClientCacheNearInvalidationRequest(BinaryRawReader reader) {
+        super(reader);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        DynamicCacheDescriptor desc = cacheDescriptor(ctx);
+
+        String cacheName = desc.cacheName();
+
+        if (desc.cacheConfiguration().getCacheMode() == LOCAL)
+            throw new IgniteClientException(ClientStatus.FAILED, "Near cache is not supported for LOCAL caches");
+
+        ctx.incrementCursors();
+
+        QueryCursor cur = null;
+
+        try {
+            IgniteCache cache = cache(ctx);
+
+            ClientCacheNearInvalidationHandle handle =
+                new ClientCacheNearInvalidationHandle(ctx, ctx.kernalContext().grid().affinity(cacheName));
+
+            ContinuousQuery qry = new ContinuousQuery().setLocalListener(handle);
+
+            qry.setIncludeExpired(true);
+
+            cur = cache.query(qry);
+
+            handle.setCursor(cur);
+
+            // Updates with greater counters are notified by the started query.
+            long[] cntrs = partitionUpdateCounters(ctx, cacheName);
+
+            long rsrcId = ctx.resources().put(handle);
+
+            return new ClientCacheNearInvalidationResponse(requestId(), handle, rsrcId, cntrs);
+        }
+        catch (Exception e) {
+            if (cur != null)
+                cur.close();
+
+            ctx.decrementCursors();
+
+            throw e;
+        }
+    }
+
+    /**
+     * @param ctx Connection context.
+     * @param cacheName Cache name.
+     * @return Maximum update counters of owning partitions over the data nodes of the cache.
+     */
+    private static long[] partitionUpdateCounters(ClientConnectionContext ctx, String cacheName) {
+        Collection<ClusterNode> nodes = ctx.kernalContext().grid().cluster().forDataNodes(cacheName).nodes();
+
+        Collection<long[]> res;
+
+        try {
+            res = ctx.kernalContext().closure().callAsync(BROADCAST,
+                Collections.singletonList(new PartitionUpdateCountersCallable(cacheName)), nodes).get();
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteClientException(ClientStatus.FAILED, "Failed to collect partition update counters " +
+                "[cache=" + cacheName + ", err=" + e.getMessage() + ']', e);
+        }
+
+        return PartitionUpdateCountersCallable.merge(res);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * Near cache invalidation response.
+ */
+class ClientCacheNearInvalidationResponse extends ClientResponse {
+    /** */
+    private final ClientCacheNearInvalidationHandle handle;
+
+    /** */
+    private final long rsrcId;
+
+    /** Partition update counters. */
+    private final long[] cntrs;
+
+    /**
+     * Ctor.
+     *
+     * @param reqId Request id.
+     * @param handle Handle.
+     * @param rsrcId Handle resource id.
+     * @param cntrs Partition update counters.
+     */
+    ClientCacheNearInvalidationResponse(long reqId, ClientCacheNearInvalidationHandle handle, long rsrcId,
+        long[] cntrs) {
+        super(reqId);
+
+        this.handle = handle;
+        this.rsrcId = rsrcId;
+        this.cntrs = cntrs;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        super.encode(ctx, writer);
+
+        writer.writeLong(rsrcId);
+        writer.writeInt(cntrs.length);
+
+        for (long cntr : cntrs)
+            writer.writeLong(cntr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSent() {
+        super.onSent();
+
+        handle.startNotifications(rsrcId);
+    }
+}
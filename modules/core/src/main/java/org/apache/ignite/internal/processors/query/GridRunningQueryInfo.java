@@ -45,6 +45,9 @@ public class GridRunningQueryInfo {
     /** */
     private final long startTime;
 
+    /** Query start time in nanoseconds, used to measure the query duration. */
+    private final long startTimeNanos;
+
     /** */
     @GridToStringExclude
     private final GridQueryCancel cancel;
@@ -111,6 +114,7 @@ public class GridRunningQueryInfo {
         this.qryType = qryType;
         this.schemaName = schemaName;
         this.startTime = startTime;
+        this.startTimeNanos = System.nanoTime();
         this.cancel = cancel;
         this.loc = loc;
         this.memMetricProvider = memMetricProvider;
@@ -163,6 +167,13 @@ public class GridRunningQueryInfo {
         return startTime;
     }
 
+    /**
+     * @return Query start time in nanoseconds as returned by {@link System#nanoTime()}.
+     */
+    public long startTimeNanos() {
+        return startTimeNanos;
+    }
+
     /** */
     public GridQueryMemoryMetricProvider memoryMetricProvider() {
         return memMetricProvider;
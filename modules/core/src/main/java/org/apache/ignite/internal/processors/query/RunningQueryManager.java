@@ -25,6 +25,7 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import org.apache.ignite.IgniteCheckedException;
@@ -40,6 +41,7 @@ import org.apache.ignite.internal.processors.cache.query.GridCacheQueryType;
 import org.apache.ignite.internal.processors.closure.GridClosureProcessor;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.processors.tracing.Span;
@@ -51,6 +53,7 @@ import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SQL;
 import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SQL_FIELDS;
+import static org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl.DFLT_SUB_BUCKET_BITS;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 import static org.apache.ignite.internal.processors.tracing.SpanTags.ERROR;
 import static org.apache.ignite.internal.processors.tracing.SpanTags.SQL_QRY_ID;
@@ -139,6 +142,9 @@ public class RunningQueryManager {
      */
     private final AtomicLongMetric oomQrsCnt;
 
+    /** Durations of successfully executed queries. */
+    private final LogLinearHistogramMetricImpl qryDuration;
+
     /** */
     private final List<Consumer<GridQueryStartedInfo>> qryStartedListeners = new CopyOnWriteArrayList<>();
 
@@ -172,6 +178,10 @@ public class RunningQueryManager {
         oomQrsCnt = userMetrics.longMetric("failedByOOM", "Number of queries started on this node failed due to " +
             "out of memory protection. This metric number included in the general 'failed' metric.");
 
+        qryDuration = userMetrics.logLinearHistogram("duration", TimeUnit.MICROSECONDS.toNanos(1),
+            TimeUnit.DAYS.toNanos(1), DFLT_SUB_BUCKET_BITS, "High-resolution histogram of durations of successfully " +
+                "executed user queries that have been started on this node in nanoseconds.");
+
         ctx.systemView().registerView(SQL_QRY_VIEW, SQL_QRY_VIEW_DESC,
             new SqlQueryViewWalker(),
             runs.values(),
@@ -345,8 +355,11 @@ public class RunningQueryManager {
 
                 qryHistTracker.collectHistory(qry, failed);
 
-                if (!failed)
+                if (!failed) {
                     successQrsCnt.increment();
+
+                    qryDuration.value(System.nanoTime() - qry.startTimeNanos());
+                }
                 else {
                     failedQrsCnt.increment();
 
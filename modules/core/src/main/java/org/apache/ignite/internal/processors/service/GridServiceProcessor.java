@@ -162,6 +162,9 @@ public class GridServiceProcessor extends ServiceProcessorAdapter implements Ign
     /** Busy lock. */
     private volatile GridSpinBusyLock busyLock = new GridSpinBusyLock();
 
+    /** Service call manager. */
+    private volatile ServiceCallManager callMgr;
+
     /** Uncaught exception handler for thread pools. */
     private final UncaughtExceptionHandler oomeHnd = new OomExceptionHandler(ctx);
 
@@ -217,6 +220,10 @@ public class GridServiceProcessor extends ServiceProcessorAdapter implements Ign
         if (cfg.isPeerClassLoadingEnabled() && (depMode == PRIVATE || depMode == ISOLATED) &&
             !F.isEmpty(cfg.getServiceConfiguration()))
             throw new IgniteCheckedException("Cannot deploy services in PRIVATE or ISOLATED deployment mode: " + depMode);
+
+        // Start is called on every activation, while the manager is created once until the processor is stopped.
+        if (callMgr == null)
+            callMgr = new ServiceCallManager(ctx);
     }
 
     /** {@inheritDoc} */
@@ -373,7 +380,15 @@ public class GridServiceProcessor extends ServiceProcessorAdapter implements Ign
             }
         }
 
-        Exception err = new IgniteCheckedException("Operation has been cancelled (node is stopping).");
+        IgniteCheckedException err = new IgniteCheckedException("Operation has been cancelled (node is stopping).");
+
+        ServiceCallManager callMgr = this.callMgr;
+
+        if (callMgr != null) {
+            callMgr.stopProcessing(err);
+
+            this.callMgr = null;
+        }
 
         cancelFutures(depFuts, err);
         cancelFutures(undepFuts, err);
@@ -998,6 +1013,11 @@ public class GridServiceProcessor extends ServiceProcessorAdapter implements Ign
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public ServiceCallManager calls() {
+        return callMgr;
+    }
+
     /** {@inheritDoc} */
     @Override public ServiceContextImpl serviceContext(String name) {
         Collection<ServiceContextImpl> ctxs;
@@ -1042,7 +1062,8 @@ public class GridServiceProcessor extends ServiceProcessorAdapter implements Ign
                 if (svc != null) {
                     if (srvcCls.isAssignableFrom(svc.getClass()))
                         return (T)svc;
-                    else if (!PlatformService.class.isAssignableFrom(svc.getClass())) {
+                    else if (!PlatformService.class.isAssignableFrom(svc.getClass()) &&
+                        !GridServiceProxy.hasAsyncMethods(srvcCls)) {
                         throw new IgniteException("Service does not implement specified interface [svcItf=" +
                                 srvcCls.getName() + ", svcCls=" + svc.getClass().getName() + ']');
                     }
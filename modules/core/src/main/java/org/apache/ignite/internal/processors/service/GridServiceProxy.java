@@ -43,22 +43,29 @@ import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.GridClosureCallMode;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
 import org.apache.ignite.internal.managers.communication.GridIoPolicy;
 import org.apache.ignite.internal.processors.platform.PlatformNativeException;
 import org.apache.ignite.internal.processors.platform.services.PlatformService;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutObjectAdapter;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.future.IgniteFutureImpl;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.lang.IgniteFuture;
 import org.apache.ignite.platform.PlatformServiceMethod;
 import org.apache.ignite.resources.IgniteInstanceResource;
 import org.apache.ignite.services.Service;
 import org.apache.ignite.services.ServiceCallContext;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.IgniteFeatures.SERVICE_DIRECT_CALL;
 import static org.apache.ignite.internal.processors.task.GridTaskThreadContextKey.TC_IO_POLICY;
 
 /**
@@ -215,20 +222,12 @@ public class GridServiceProxy<T> implements Serializable {
                             Service svc = svcCtx.service();
 
                             if (svc != null)
-                                return callServiceLocally(svc, mtd, args, callCtx);
+                                return callServiceLocally(svcCtx, svc, mtd, args, callCtx);
                         }
                     }
                     else {
-                        ctx.task().setThreadContext(TC_IO_POLICY, GridIoPolicy.SERVICE_POOL);
-
                         // Execute service remotely.
-                        return ctx.closure().callAsyncNoFailover(
-                            GridClosureCallMode.BROADCAST,
-                            new ServiceProxyCallable(methodName(mtd), name, mtd.getParameterTypes(), args, callCtx),
-                            Collections.singleton(node),
-                            false,
-                            waitTimeout,
-                            true).get();
+                        return remoteCall(node, mtd, args, callCtx).get();
                     }
                 }
                 catch (InvocationTargetException e) {
@@ -239,11 +238,7 @@ public class GridServiceProxy<T> implements Serializable {
                     throw e;
                 }
                 catch (IgniteCheckedException e) {
-                    // Check if ignorable exceptions are in the cause chain.
-                    Throwable ignorableCause = X.cause(e, ClusterTopologyCheckedException.class);
-
-                    if (ignorableCause == null && ctx.service() instanceof GridServiceProcessor)
-                        ignorableCause = X.cause(e, GridServiceNotFoundException.class);
+                    Throwable ignorableCause = ignorableCause(e);
 
                     if (ignorableCause != null) {
                         if (log.isDebugEnabled())
@@ -288,6 +283,71 @@ public class GridServiceProxy<T> implements Serializable {
     }
 
     /**
+     * Asynchronously invokes the method.
+     *
+     * @param mtd Method.
+     * @param args Arguments.
+     * @param callCtx Service call context.
+     * @return Future completed with the result.
+     */
+    public IgniteInternalFuture<Object> invokeMethodAsync(
+        Method mtd,
+        Object[] args,
+        @Nullable ServiceCallContext callCtx
+    ) {
+        AsyncCall call = new AsyncCall(mtd, args, callCtx);
+
+        call.run();
+
+        return call;
+    }
+
+    /**
+     * @param node Remote node with deployed service.
+     * @param mtd Method.
+     * @param args Arguments.
+     * @param callCtx Service call context.
+     * @return Future completed with the result.
+     * @throws IgniteCheckedException If failed.
+     */
+    private IgniteInternalFuture<Object> remoteCall(
+        ClusterNode node,
+        Method mtd,
+        Object[] args,
+        @Nullable ServiceCallContext callCtx
+    ) throws IgniteCheckedException {
+        ServiceCallManager callMgr = ctx.service().calls();
+
+        if (callMgr != null && IgniteFeatures.nodeSupports(ctx, node, SERVICE_DIRECT_CALL))
+            return callMgr.call(node, name, methodName(mtd), mtd.getParameterTypes(), args, callCtx, waitTimeout);
+
+        ctx.task().setThreadContext(TC_IO_POLICY, GridIoPolicy.SERVICE_POOL);
+
+        return ctx.closure().callAsyncNoFailover(
+            GridClosureCallMode.BROADCAST,
+            new ServiceProxyCallable(methodName(mtd), name, mtd.getParameterTypes(), args, callCtx),
+            Collections.singleton(node),
+            false,
+            waitTimeout,
+            true);
+    }
+
+    /**
+     * @param e Error of the call.
+     * @return Cause of the error after which the call is retried or {@code null} if the call is failed.
+     */
+    @Nullable private Throwable ignorableCause(Throwable e) {
+        // Check if ignorable exceptions are in the cause chain.
+        Throwable ignorableCause = X.cause(e, ClusterTopologyCheckedException.class);
+
+        if (ignorableCause == null && ctx.service() instanceof GridServiceProcessor)
+            ignorableCause = X.cause(e, GridServiceNotFoundException.class);
+
+        return ignorableCause;
+    }
+
+    /**
+     * @param svcCtx Service context.
      * @param svc Service to be called.
      * @param mtd Method to call.
      * @param args Method args.
@@ -295,6 +355,7 @@ public class GridServiceProxy<T> implements Serializable {
      * @return Invocation result.
      */
     private Object callServiceLocally(
+        ServiceContextImpl svcCtx,
         Service svc,
         Method mtd,
         Object[] args,
@@ -308,8 +369,84 @@ public class GridServiceProxy<T> implements Serializable {
 
             return ((PlatformService)svc).invokeMethod(methodName(mtd), false, true, args, callAttrs);
         }
-        else
+        else if (mtd.getDeclaringClass().isInstance(svc))
+            return callServiceMethod(svc, mtd, args, callCtx);
+        else {
+            // Method of an asynchronous interface which is not implemented by the service.
+            Method svcMtd = svcCtx.method(new GridServiceMethodReflectKey(methodName(mtd), mtd.getParameterTypes()));
+
+            if (svcMtd == null)
+                throw new GridServiceMethodNotFoundException(name, methodName(mtd), mtd.getParameterTypes());
+
+            return callServiceMethod(svc, svcMtd, args, callCtx);
+        }
+    }
+
+    /**
+     * Calls a method of the locally deployed service on behalf of a remote caller.
+     *
+     * @param ctx Kernal context.
+     * @param svcName Service name.
+     * @param key Method key.
+     * @param args Method args.
+     * @param callCtx Service call context.
+     * @return Invocation result.
+     * @throws GridServiceNotFoundException If the service is not deployed on the local node.
+     * @throws ServiceProxyException If the service method failed.
+     */
+    static Object callService(
+        GridKernalContext ctx,
+        String svcName,
+        GridServiceMethodReflectKey key,
+        Object[] args,
+        @Nullable ServiceCallContext callCtx
+    ) throws Exception {
+        ServiceContextImpl svcCtx = ctx.service().serviceContext(svcName);
+
+        Service svc = svcCtx == null ? null : svcCtx.service();
+
+        if (svc == null)
+            throw new GridServiceNotFoundException(svcName);
+
+        Method mtd = svcCtx.method(key);
+
+        if (svc instanceof PlatformService && mtd == null)
+            return callPlatformService((PlatformService)svc, key.methodName(), args, callCtx);
+
+        if (mtd == null)
+            throw new GridServiceMethodNotFoundException(svcName, key.methodName(), key.argTypes());
+
+        try {
             return callServiceMethod(svc, mtd, args, callCtx);
+        }
+        catch (InvocationTargetException e) {
+            throw new ServiceProxyException(e.getCause());
+        }
+    }
+
+    /**
+     * @param svc Platform service.
+     * @param mtdName Method name.
+     * @param args Method args.
+     * @param callCtx Service call context.
+     * @return Invocation result.
+     */
+    private static Object callPlatformService(
+        PlatformService svc,
+        String mtdName,
+        Object[] args,
+        @Nullable ServiceCallContext callCtx
+    ) {
+        try {
+            return svc.invokeMethod(mtdName, false, true, args,
+                callCtx != null ? ((ServiceCallContextImpl)callCtx).values() : null);
+        }
+        catch (PlatformNativeException ne) {
+            throw new ServiceProxyException(U.convertException(ne));
+        }
+        catch (Exception e) {
+            throw new ServiceProxyException(e);
+        }
     }
 
     /**
@@ -447,6 +584,28 @@ public class GridServiceProxy<T> implements Serializable {
         return proxy;
     }
 
+    /**
+     * @param svcItf Service interface.
+     * @return {@code True} if the interface has methods which are invoked asynchronously.
+     */
+    static boolean hasAsyncMethods(Class<?> svcItf) {
+        for (Method mtd : svcItf.getMethods()) {
+            if (isAsync(mtd))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @param mtd Method of service interface.
+     * @return {@code True} if the method is invoked asynchronously, such methods return {@link IgniteFuture}
+     *      completed with the result of the service method with the same name and parameter types.
+     */
+    static boolean isAsync(Method mtd) {
+        return mtd.getReturnType() == IgniteFuture.class;
+    }
+
     /**
      * @param mtd Method to invoke.
      */
@@ -472,7 +631,152 @@ public class GridServiceProxy<T> implements Serializable {
 
         /** {@inheritDoc} */
         @Override public Object invoke(Object proxy, final Method mtd, final Object[] args) throws Throwable {
-            return invokeMethod(mtd, args, callCtxProvider != null ? callCtxProvider.get() : null);
+            ServiceCallContext callCtx = callCtxProvider != null ? callCtxProvider.get() : null;
+
+            if (isAsync(mtd)) {
+                return new IgniteFutureImpl<>(invokeMethodAsync(mtd, args, callCtx),
+                    ctx.getAsyncContinuationExecutor());
+            }
+
+            return invokeMethod(mtd, args, callCtx);
+        }
+    }
+
+    /**
+     * Asynchronous call which is retried the same way as {@link #invokeMethod} until it is completed.
+     */
+    private class AsyncCall extends GridFutureAdapter<Object> {
+        /** Method. */
+        private final Method mtd;
+
+        /** Arguments. */
+        private final Object[] args;
+
+        /** Service call context. */
+        private final ServiceCallContext callCtx;
+
+        /** Start time. */
+        private final long startTime = U.currentTimeMillis();
+
+        /**
+         * @param mtd Method.
+         * @param args Arguments.
+         * @param callCtx Service call context.
+         */
+        AsyncCall(Method mtd, Object[] args, @Nullable ServiceCallContext callCtx) {
+            this.mtd = mtd;
+            this.args = args;
+            this.callCtx = callCtx;
+        }
+
+        /**
+         * Selects a node with deployed service and calls the method.
+         */
+        void run() {
+            ClusterNode node = null;
+
+            try {
+                ctx.gateway().readLock();
+
+                try {
+                    node = nodeForService(name, sticky);
+
+                    if (node == null)
+                        throw new IgniteException("Failed to find deployed service: " + name);
+
+                    if (node.isLocal()) {
+                        ServiceContextImpl svcCtx = ctx.service().serviceContext(name);
+
+                        Service svc = svcCtx == null ? null : svcCtx.service();
+
+                        if (svc != null) {
+                            onDone(callServiceLocally(svcCtx, svc, mtd, args, callCtx));
+
+                            return;
+                        }
+                    }
+                    else {
+                        ClusterNode node0 = node;
+
+                        remoteCall(node, mtd, args, callCtx).listen(fut -> {
+                            try {
+                                onDone(fut.get());
+                            }
+                            catch (IgniteCheckedException e) {
+                                onError(node0, e);
+                            }
+                        });
+
+                        return;
+                    }
+                }
+                finally {
+                    ctx.gateway().readUnlock();
+                }
+            }
+            catch (InvocationTargetException e) {
+                // For local services complete with original exception.
+                onDone(e.getTargetException());
+
+                return;
+            }
+            catch (IgniteCheckedException e) {
+                onError(node, e);
+
+                return;
+            }
+            catch (Throwable e) {
+                onDone(e);
+
+                return;
+            }
+
+            retry(node);
+        }
+
+        /**
+         * @param node Node.
+         * @param e Error.
+         */
+        private void onError(@Nullable ClusterNode node, IgniteCheckedException e) {
+            Throwable ignorableCause = ignorableCause(e);
+
+            if (ignorableCause != null) {
+                if (log.isDebugEnabled())
+                    log.debug("Service was not found or topology changed (will retry): " + ignorableCause.getMessage());
+
+                retry(node);
+
+                return;
+            }
+
+            // Complete with original service method exception so that calling user code can handle it correctly.
+            ServiceProxyException svcProxyE = X.cause(e, ServiceProxyException.class);
+
+            onDone(svcProxyE != null ? svcProxyE.getCause() : e);
+        }
+
+        /**
+         * Erases the previous sticky node and calls the method again after a delay.
+         *
+         * @param node Node.
+         */
+        private void retry(@Nullable ClusterNode node) {
+            rmtNode.compareAndSet(node, null);
+
+            if (waitTimeout > 0 && U.currentTimeMillis() - startTime >= waitTimeout) {
+                onDone(new IgniteException("Service acquire timeout was reached, stopping. [timeout=" +
+                    waitTimeout + "]"));
+
+                return;
+            }
+
+            // Add delay between retries to avoid busy-wait loops.
+            ctx.timeout().addTimeoutObject(new GridTimeoutObjectAdapter(10) {
+                @Override public void onTimeout() {
+                    ctx.closure().runLocalSafe(AsyncCall.this::run, GridIoPolicy.SERVICE_POOL);
+                }
+            });
         }
     }
 
@@ -532,45 +836,8 @@ public class GridServiceProxy<T> implements Serializable {
 
         /** {@inheritDoc} */
         @Override public Object call() throws Exception {
-            ServiceContextImpl ctx = ignite.context().service().serviceContext(svcName);
-
-            if (ctx == null || ctx.service() == null)
-                throw new GridServiceNotFoundException(svcName);
-
-            GridServiceMethodReflectKey key = new GridServiceMethodReflectKey(mtdName, argTypes);
-
-            Method mtd = ctx.method(key);
-
-            if (ctx.service() instanceof PlatformService && mtd == null)
-                return callPlatformService((PlatformService)ctx.service());
-            else
-                return callService(ctx.service(), mtd);
-        }
-
-        /** */
-        private Object callPlatformService(PlatformService srv) {
-            try {
-                return srv.invokeMethod(mtdName, false, true, args, callCtx != null ? ((ServiceCallContextImpl)callCtx).values() : null);
-            }
-            catch (PlatformNativeException ne) {
-                throw new ServiceProxyException(U.convertException(ne));
-            }
-            catch (Exception e) {
-                throw new ServiceProxyException(e);
-            }
-        }
-
-        /** */
-        private Object callService(Service srv, Method mtd) throws Exception {
-            if (mtd == null)
-                throw new GridServiceMethodNotFoundException(svcName, mtdName, argTypes);
-
-            try {
-                return callServiceMethod(srv, mtd, args, callCtx);
-            }
-            catch (InvocationTargetException e) {
-                throw new ServiceProxyException(e.getCause());
-            }
+            return callService(ignite.context(), svcName, new GridServiceMethodReflectKey(mtdName, argTypes), args,
+                callCtx);
         }
 
         /** {@inheritDoc} */
@@ -616,7 +883,7 @@ public class GridServiceProxy<T> implements Serializable {
     /**
      * Exception class that wraps an exception thrown by the service implementation.
      */
-    private static class ServiceProxyException extends RuntimeException {
+    static class ServiceProxyException extends RuntimeException {
         /** */
         private static final long serialVersionUID = 0L;
 
@@ -178,6 +178,9 @@ public class IgniteServiceProcessor extends ServiceProcessorAdapter implements I
     /** Services deployment manager. */
     private volatile ServiceDeploymentManager depMgr = new ServiceDeploymentManager(ctx);
 
+    /** Service call manager. */
+    private volatile ServiceCallManager callMgr = new ServiceCallManager(ctx);
+
     /** Services topologies update mutex. */
     private final Object servicesTopsUpdateMux = new Object();
 
@@ -290,6 +293,8 @@ public class IgniteServiceProcessor extends ServiceProcessorAdapter implements I
 
         depMgr.stopProcessing(stopError);
 
+        callMgr.stopProcessing(stopError);
+
         cancelDeployedServices();
 
         registeredServices.clear();
@@ -487,6 +492,8 @@ public class IgniteServiceProcessor extends ServiceProcessorAdapter implements I
 
             depMgr = new ServiceDeploymentManager(ctx);
 
+            callMgr = new ServiceCallManager(ctx);
+
             onKernalStart(active);
 
             return null;
@@ -983,7 +990,8 @@ public class IgniteServiceProcessor extends ServiceProcessorAdapter implements I
                 if (srvc != null && callCtxProvider == null) {
                     if (srvcCls.isAssignableFrom(srvc.getClass()))
                         return (T)srvc;
-                    else if (!PlatformService.class.isAssignableFrom(srvc.getClass())) {
+                    else if (!PlatformService.class.isAssignableFrom(srvc.getClass()) &&
+                        !GridServiceProxy.hasAsyncMethods(srvcCls)) {
                         throw new IgniteException("Service does not implement specified interface [srvcCls="
                                 + srvcCls.getName() + ", srvcCls=" + srvc.getClass().getName() + ']');
                     }
@@ -1566,6 +1574,11 @@ public class IgniteServiceProcessor extends ServiceProcessorAdapter implements I
         return depMgr;
     }
 
+    /** {@inheritDoc} */
+    @Override public ServiceCallManager calls() {
+        return callMgr;
+    }
+
     /**
      * @param logErrors Whenever it's necessary to log validation failures.
      * @return Statically configured services.
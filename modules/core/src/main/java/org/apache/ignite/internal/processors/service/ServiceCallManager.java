@@ -0,0 +1,446 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.events.DiscoveryEvent;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
+import org.apache.ignite.internal.compute.ComputeTaskTimeoutCheckedException;
+import org.apache.ignite.internal.managers.communication.GridMessageListener;
+import org.apache.ignite.internal.managers.discovery.DiscoCache;
+import org.apache.ignite.internal.managers.eventstorage.DiscoveryEventListener;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
+import org.apache.ignite.internal.processors.timeout.GridTimeoutObjectAdapter;
+import org.apache.ignite.internal.util.GridSpinBusyLock;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.services.ServiceCallContext;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
+import static org.apache.ignite.internal.GridTopic.TOPIC_SERVICE_CALL;
+import static org.apache.ignite.internal.managers.communication.GridIoPolicy.SERVICE_POOL;
+import static org.apache.ignite.internal.managers.communication.GridIoPolicy.SYSTEM_POOL;
+
+/**
+ * Service call manager.
+ * <p/>
+ * Invokes methods of remote services with {@link ServiceCallRequest} messages instead of compute jobs. Requests
+ * are not ordered, so a caller may have any number of calls in flight to the same node, responses are matched
+ * to the calls by request ID. A method is identified by its name and argument types on the first call to a node,
+ * later calls carry the ID assigned to the method by the node.
+ * <p/>
+ * Requests are executed in the service pool of the remote node, the same as compute jobs of service proxies.
+ */
+public class ServiceCallManager {
+    /** Busy lock. */
+    private final GridSpinBusyLock busyLock = new GridSpinBusyLock();
+
+    /** Discovery events listener. */
+    private final DiscoveryEventListener discoLsnr = new ServiceCallDiscoveryListener();
+
+    /** Communication messages listener. */
+    private final GridMessageListener commLsnr = new ServiceCallCommunicationListener();
+
+    /** Request ID generator. */
+    private final AtomicLong reqIdGen = new AtomicLong();
+
+    /** Calls waiting for responses. */
+    private final ConcurrentMap<Long, CallFuture> calls = new ConcurrentHashMap<>();
+
+    /** Method IDs assigned by remote nodes. */
+    private final ConcurrentMap<UUID, ConcurrentMap<GridServiceMethodReflectKey, Integer>> rmtMtdIds =
+        new ConcurrentHashMap<>();
+
+    /** Method ID generator. */
+    private final AtomicInteger mtdIdGen = new AtomicInteger();
+
+    /** IDs of methods called by remote nodes. */
+    private final ConcurrentMap<GridServiceMethodReflectKey, Integer> locMtdIds = new ConcurrentHashMap<>();
+
+    /** Methods called by remote nodes by ID. */
+    private final ConcurrentMap<Integer, GridServiceMethodReflectKey> locMtds = new ConcurrentHashMap<>();
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /**
+     * @param ctx Grid kernal context.
+     */
+    ServiceCallManager(@NotNull GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        log = ctx.log(getClass());
+
+        ctx.event().addDiscoveryEventListener(discoLsnr, EVT_NODE_LEFT, EVT_NODE_FAILED);
+
+        ctx.io().addMessageListener(TOPIC_SERVICE_CALL, commLsnr);
+    }
+
+    /**
+     * Stops processing of service calls.
+     *
+     * @param stopErr Error to complete the calls waiting for responses with.
+     */
+    void stopProcessing(IgniteCheckedException stopErr) {
+        busyLock.block();
+
+        try {
+            ctx.event().removeDiscoveryEventListener(discoLsnr);
+
+            ctx.io().removeMessageListener(TOPIC_SERVICE_CALL, commLsnr);
+
+            for (CallFuture call : calls.values())
+                call.onDone(stopErr);
+
+            calls.clear();
+            rmtMtdIds.clear();
+        }
+        finally {
+            busyLock.unblock();
+        }
+    }
+
+    /**
+     * Invokes a method of the service deployed on the remote node.
+     *
+     * @param node Remote node.
+     * @param svcName Service name.
+     * @param mtdName Method name.
+     * @param argTypes Argument types.
+     * @param args Arguments.
+     * @param callCtx Service call context.
+     * @param timeout If greater than 0 limits the call time.
+     * @return Future completed with the result of the method.
+     */
+    public IgniteInternalFuture<Object> call(
+        ClusterNode node,
+        String svcName,
+        String mtdName,
+        Class<?>[] argTypes,
+        Object[] args,
+        @Nullable ServiceCallContext callCtx,
+        long timeout
+    ) {
+        if (!busyLock.enterBusy())
+            return new GridFinishedFuture<>(new IgniteCheckedException("Failed to call service (node is stopping)."));
+
+        try {
+            GridServiceMethodReflectKey key = new GridServiceMethodReflectKey(mtdName, argTypes);
+
+            Map<GridServiceMethodReflectKey, Integer> mtdIds = rmtMtdIds.get(node.id());
+
+            Integer mtdId = mtdIds != null ? mtdIds.get(key) : null;
+
+            CallFuture call = new CallFuture(reqIdGen.incrementAndGet(), node.id(), mtdId == null ? key : null);
+
+            try {
+                ServiceCallRequest req = new ServiceCallRequest(
+                    call.reqId,
+                    svcName,
+                    mtdId == null ? -1 : mtdId,
+                    mtdId == null ? mtdName : null,
+                    mtdId == null ? U.marshal(ctx, argTypes) : null,
+                    U.marshal(ctx, args),
+                    callCtx == null ? null : U.marshal(ctx, callCtx));
+
+                calls.put(call.reqId, call);
+
+                if (timeout > 0)
+                    call.timeout(timeout);
+
+                // Calls registered after the node had left are not completed by the discovery listener.
+                if (!ctx.discovery().alive(node.id()))
+                    throw new ClusterTopologyCheckedException("Node has left: " + node.id());
+
+                ctx.io().sendToGridTopic(node, TOPIC_SERVICE_CALL, req, SERVICE_POOL);
+            }
+            catch (IgniteCheckedException e) {
+                call.onDone(ctx.discovery().alive(node.id()) ? e :
+                    new ClusterTopologyCheckedException("Failed to call service, node has left: " + node.id(), e));
+            }
+
+            return call;
+        }
+        finally {
+            busyLock.leaveBusy();
+        }
+    }
+
+    /**
+     * @param nodeId Sender node ID.
+     * @param req Service call request.
+     */
+    private void processRequest(UUID nodeId, ServiceCallRequest req) {
+        int mtdId = -1;
+        Object res = null;
+        Throwable err = null;
+
+        try {
+            GridServiceMethodReflectKey key;
+
+            if (req.methodId() < 0) {
+                Class<?>[] argTypes = U.unmarshal(ctx, req.argumentTypesBytes(), U.resolveClassLoader(ctx.config()));
+
+                key = new GridServiceMethodReflectKey(req.methodName(), argTypes);
+
+                mtdId = locMtdIds.computeIfAbsent(key, k -> {
+                    int id = mtdIdGen.getAndIncrement();
+
+                    locMtds.put(id, k);
+
+                    return id;
+                });
+            }
+            else {
+                key = locMtds.get(req.methodId());
+
+                if (key == null)
+                    throw new IgniteCheckedException("Unknown service method ID: " + req.methodId());
+            }
+
+            Object[] args = U.unmarshal(ctx, req.argumentsBytes(), U.resolveClassLoader(ctx.config()));
+
+            ServiceCallContext callCtx = req.callContextBytes() == null ? null :
+                U.unmarshal(ctx, req.callContextBytes(), U.resolveClassLoader(ctx.config()));
+
+            res = GridServiceProxy.callService(ctx, req.serviceName(), key, args, callCtx);
+        }
+        catch (Throwable e) {
+            err = e;
+        }
+
+        sendResponse(nodeId, req.requestId(), mtdId, res, err);
+    }
+
+    /**
+     * @param nodeId Node ID.
+     * @param reqId Request ID.
+     * @param mtdId Assigned method ID.
+     * @param res Result.
+     * @param err Error.
+     */
+    private void sendResponse(UUID nodeId, long reqId, int mtdId, @Nullable Object res, @Nullable Throwable err) {
+        boolean svcErr = err instanceof GridServiceProxy.ServiceProxyException;
+
+        if (svcErr)
+            err = err.getCause();
+
+        ServiceCallResponse resp;
+
+        try {
+            resp = err == null ?
+                new ServiceCallResponse(reqId, mtdId, U.marshal(ctx, res), null, false) :
+                new ServiceCallResponse(reqId, mtdId, null, U.marshal(ctx, err), svcErr);
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to marshal service call " + (err == null ? "result" : "error") +
+                " [nodeId=" + nodeId + ", reqId=" + reqId + ']', e);
+
+            try {
+                resp = new ServiceCallResponse(reqId, mtdId, null, U.marshal(ctx, new IgniteCheckedException(
+                    "Failed to marshal service call " + (err == null ? "result." : "error: " + err))), false);
+            }
+            catch (IgniteCheckedException e0) {
+                U.error(log, "Failed to marshal service call error [nodeId=" + nodeId + ", reqId=" + reqId + ']', e0);
+
+                return;
+            }
+        }
+
+        try {
+            ctx.io().sendToGridTopic(nodeId, TOPIC_SERVICE_CALL, resp, SYSTEM_POOL);
+        }
+        catch (ClusterTopologyCheckedException e) {
+            if (log.isDebugEnabled())
+                log.debug("Failed to send service call response, node has left [nodeId=" + nodeId + ']');
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to send service call response [nodeId=" + nodeId + ", reqId=" + reqId + ']', e);
+        }
+    }
+
+    /**
+     * @param nodeId Sender node ID.
+     * @param resp Service call response.
+     */
+    private void processResponse(UUID nodeId, ServiceCallResponse resp) {
+        CallFuture call = calls.get(resp.requestId());
+
+        if (call == null) {
+            if (log.isDebugEnabled())
+                log.debug("Received response for unknown service call [nodeId=" + nodeId + ", resp=" + resp + ']');
+
+            return;
+        }
+
+        if (call.key != null && resp.methodId() >= 0) {
+            rmtMtdIds.computeIfAbsent(nodeId, id -> new ConcurrentHashMap<>()).put(call.key, resp.methodId());
+
+            // The map of a node which has just left must not be left behind.
+            if (!ctx.discovery().alive(nodeId))
+                rmtMtdIds.remove(nodeId);
+        }
+
+        try {
+            if (resp.errorBytes() == null) {
+                Object res = U.unmarshal(ctx, resp.resultBytes(), U.resolveClassLoader(ctx.config()));
+
+                call.onDone(res);
+            }
+            else {
+                Throwable err = U.unmarshal(ctx, resp.errorBytes(), U.resolveClassLoader(ctx.config()));
+
+                call.onDone(resp.serviceError() ? new GridServiceProxy.ServiceProxyException(err) : err);
+            }
+        }
+        catch (IgniteCheckedException e) {
+            call.onDone(e);
+        }
+    }
+
+    /**
+     * @param nodeId Left node ID.
+     */
+    private void onNodeLeft(UUID nodeId) {
+        rmtMtdIds.remove(nodeId);
+
+        for (CallFuture call : calls.values()) {
+            if (call.nodeId.equals(nodeId))
+                call.onDone(new ClusterTopologyCheckedException("Failed to call service, node has left: " + nodeId));
+        }
+    }
+
+    /**
+     * Future of a call waiting for the response.
+     */
+    private class CallFuture extends GridFutureAdapter<Object> {
+        /** Request ID. */
+        private final long reqId;
+
+        /** Remote node ID. */
+        private final UUID nodeId;
+
+        /** Method key if the request is sent without method ID. */
+        private final GridServiceMethodReflectKey key;
+
+        /** Timeout object. */
+        private volatile GridTimeoutObject timeoutObj;
+
+        /**
+         * @param reqId Request ID.
+         * @param nodeId Remote node ID.
+         * @param key Method key if the request is sent without method ID.
+         */
+        CallFuture(long reqId, UUID nodeId, @Nullable GridServiceMethodReflectKey key) {
+            this.reqId = reqId;
+            this.nodeId = nodeId;
+            this.key = key;
+        }
+
+        /**
+         * @param timeout Call timeout.
+         */
+        void timeout(long timeout) {
+            timeoutObj = new GridTimeoutObjectAdapter(timeout) {
+                @Override public void onTimeout() {
+                    // Same error as for timed out compute job calling the service.
+                    onDone(new ComputeTaskTimeoutCheckedException("Service call timed out [nodeId=" + nodeId +
+                        ", timeout=" + timeout + ']'));
+                }
+            };
+
+            ctx.timeout().addTimeoutObject(timeoutObj);
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean onDone(@Nullable Object res, @Nullable Throwable err) {
+            if (!super.onDone(res, err))
+                return false;
+
+            calls.remove(reqId);
+
+            GridTimeoutObject timeoutObj0 = timeoutObj;
+
+            if (timeoutObj0 != null)
+                ctx.timeout().removeTimeoutObject(timeoutObj0);
+
+            return true;
+        }
+    }
+
+    /**
+     * Completes calls to the nodes which left the cluster.
+     */
+    private class ServiceCallDiscoveryListener implements DiscoveryEventListener {
+        /** {@inheritDoc} */
+        @Override public void onEvent(DiscoveryEvent evt, DiscoCache discoCache) {
+            if (!busyLock.enterBusy())
+                return;
+
+            try {
+                onNodeLeft(evt.eventNode().id());
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+    }
+
+    /**
+     * Processes service call requests and responses.
+     */
+    private class ServiceCallCommunicationListener implements GridMessageListener {
+        /** {@inheritDoc} */
+        @Override public void onMessage(UUID nodeId, Object msg, byte plc) {
+            // Service methods are not called under the busy lock to not delay the node stop.
+            if (msg instanceof ServiceCallRequest) {
+                processRequest(nodeId, (ServiceCallRequest)msg);
+
+                return;
+            }
+
+            if (!busyLock.enterBusy())
+                return;
+
+            try {
+                if (msg instanceof ServiceCallResponse)
+                    processResponse(nodeId, (ServiceCallResponse)msg);
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+    }
+}
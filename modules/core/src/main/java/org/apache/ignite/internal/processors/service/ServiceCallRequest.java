@@ -0,0 +1,291 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.service;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Request to invoke a service method on a remote node.
+ * <p/>
+ * The method is identified by its name and argument types on the first call to a node. The node assigns an ID
+ * to the method and returns it with the response, later requests to the node carry the ID only.
+ */
+public class ServiceCallRequest implements Message {
+    /** Direct type. */
+    public static final short TYPE_CODE = 189;
+
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Serialized argument types, sent until the method ID is known. */
+    @GridToStringExclude
+    private byte[] argTypesBytes;
+
+    /** Serialized arguments. */
+    @GridToStringExclude
+    private byte[] argsBytes;
+
+    /** Serialized service call context. */
+    @GridToStringExclude
+    private byte[] callCtxBytes;
+
+    /** Method ID assigned by the remote node or {@code -1} if it is not known yet. */
+    private int mtdId;
+
+    /** Method name, sent until the method ID is known. */
+    private String mtdName;
+
+    /** Request ID. */
+    private long reqId;
+
+    /** Service name. */
+    private String svcName;
+
+    /**
+     * Empty constructor for marshalling purposes.
+     */
+    public ServiceCallRequest() {
+        // No-op.
+    }
+
+    /**
+     * @param reqId Request ID.
+     * @param svcName Service name.
+     * @param mtdId Method ID assigned by the remote node or {@code -1} if it is not known yet.
+     * @param mtdName Method name, {@code null} if the method ID is known.
+     * @param argTypesBytes Serialized argument types, {@code null} if the method ID is known.
+     * @param argsBytes Serialized arguments.
+     * @param callCtxBytes Serialized service call context.
+     */
+    public ServiceCallRequest(
+        long reqId,
+        String svcName,
+        int mtdId,
+        String mtdName,
+        byte[] argTypesBytes,
+        byte[] argsBytes,
+        byte[] callCtxBytes
+    ) {
+        this.reqId = reqId;
+        this.svcName = svcName;
+        this.mtdId = mtdId;
+        this.mtdName = mtdName;
+        this.argTypesBytes = argTypesBytes;
+        this.argsBytes = argsBytes;
+        this.callCtxBytes = callCtxBytes;
+    }
+
+    /**
+     * @return Request ID.
+     */
+    public long requestId() {
+        return reqId;
+    }
+
+    /**
+     * @return Service name.
+     */
+    public String serviceName() {
+        return svcName;
+    }
+
+    /**
+     * @return Method ID assigned by the remote node or {@code -1} if it is not known yet.
+     */
+    public int methodId() {
+        return mtdId;
+    }
+
+    /**
+     * @return Method name, sent until the method ID is known.
+     */
+    public String methodName() {
+        return mtdName;
+    }
+
+    /**
+     * @return Serialized argument types, sent until the method ID is known.
+     */
+    public byte[] argumentTypesBytes() {
+        return argTypesBytes;
+    }
+
+    /**
+     * @return Serialized arguments.
+     */
+    public byte[] argumentsBytes() {
+        return argsBytes;
+    }
+
+    /**
+     * @return Serialized service call context.
+     */
+    public byte[] callContextBytes() {
+        return callCtxBytes;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 0:
+                if (!writer.writeByteArray("argTypesBytes", argTypesBytes))
+                    return false;
+
+                writer.incrementState();
+
+            case 1:
+                if (!writer.writeByteArray("argsBytes", argsBytes))
+                    return false;
+
+                writer.incrementState();
+
+            case 2:
+                if (!writer.writeByteArray("callCtxBytes", callCtxBytes))
+                    return false;
+
+                writer.incrementState();
+
+            case 3:
+                if (!writer.writeInt("mtdId", mtdId))
+                    return false;
+
+                writer.incrementState();
+
+            case 4:
+                if (!writer.writeString("mtdName", mtdName))
+                    return false;
+
+                writer.incrementState();
+
+            case 5:
+                if (!writer.writeLong("reqId", reqId))
+                    return false;
+
+                writer.incrementState();
+
+            case 6:
+                if (!writer.writeString("svcName", svcName))
+                    return false;
+
+                writer.incrementState();
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        switch (reader.state()) {
+            case 0:
+                argTypesBytes = reader.readByteArray("argTypesBytes");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 1:
+                argsBytes = reader.readByteArray("argsBytes");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 2:
+                callCtxBytes = reader.readByteArray("callCtxBytes");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 3:
+                mtdId = reader.readInt("mtdId");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 4:
+                mtdName = reader.readString("mtdName");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 5:
+                reqId = reader.readLong("reqId");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 6:
+                svcName = reader.readString("svcName");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+        }
+
+        return reader.afterMessageRead(ServiceCallRequest.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return TYPE_CODE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 7;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onAckReceived() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ServiceCallRequest.class, this);
+    }
+}
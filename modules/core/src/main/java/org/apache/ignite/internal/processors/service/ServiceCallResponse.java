@@ -0,0 +1,227 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.service;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Response to {@link ServiceCallRequest}.
+ */
+public class ServiceCallResponse implements Message {
+    /** Direct type. */
+    public static final short TYPE_CODE = 190;
+
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Serialized error. */
+    @GridToStringExclude
+    private byte[] errBytes;
+
+    /** Method ID assigned to the called method or {@code -1} if the request carried an ID. */
+    private int mtdId;
+
+    /** Request ID. */
+    private long reqId;
+
+    /** Serialized result. */
+    @GridToStringExclude
+    private byte[] resBytes;
+
+    /** Whether the error is thrown by the service method. */
+    private boolean svcErr;
+
+    /**
+     * Empty constructor for marshalling purposes.
+     */
+    public ServiceCallResponse() {
+        // No-op.
+    }
+
+    /**
+     * @param reqId Request ID.
+     * @param mtdId Method ID assigned to the called method or {@code -1} if the request carried an ID.
+     * @param resBytes Serialized result.
+     * @param errBytes Serialized error.
+     * @param svcErr Whether the error is thrown by the service method.
+     */
+    public ServiceCallResponse(long reqId, int mtdId, byte[] resBytes, byte[] errBytes, boolean svcErr) {
+        this.reqId = reqId;
+        this.mtdId = mtdId;
+        this.resBytes = resBytes;
+        this.errBytes = errBytes;
+        this.svcErr = svcErr;
+    }
+
+    /**
+     * @return Request ID.
+     */
+    public long requestId() {
+        return reqId;
+    }
+
+    /**
+     * @return Method ID assigned to the called method or {@code -1} if the request carried an ID.
+     */
+    public int methodId() {
+        return mtdId;
+    }
+
+    /**
+     * @return Serialized result.
+     */
+    public byte[] resultBytes() {
+        return resBytes;
+    }
+
+    /**
+     * @return Serialized error.
+     */
+    public byte[] errorBytes() {
+        return errBytes;
+    }
+
+    /**
+     * @return Whether the error is thrown by the service method.
+     */
+    public boolean serviceError() {
+        return svcErr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 0:
+                if (!writer.writeByteArray("errBytes", errBytes))
+                    return false;
+
+                writer.incrementState();
+
+            case 1:
+                if (!writer.writeInt("mtdId", mtdId))
+                    return false;
+
+                writer.incrementState();
+
+            case 2:
+                if (!writer.writeLong("reqId", reqId))
+                    return false;
+
+                writer.incrementState();
+
+            case 3:
+                if (!writer.writeByteArray("resBytes", resBytes))
+                    return false;
+
+                writer.incrementState();
+
+            case 4:
+                if (!writer.writeBoolean("svcErr", svcErr))
+                    return false;
+
+                writer.incrementState();
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        switch (reader.state()) {
+            case 0:
+                errBytes = reader.readByteArray("errBytes");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 1:
+                mtdId = reader.readInt("mtdId");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 2:
+                reqId = reader.readLong("reqId");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 3:
+                resBytes = reader.readByteArray("resBytes");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 4:
+                svcErr = reader.readBoolean("svcErr");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+        }
+
+        return reader.afterMessageRead(ServiceCallResponse.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return TYPE_CODE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 5;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onAckReceived() {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ServiceCallResponse.class, this);
+    }
+}
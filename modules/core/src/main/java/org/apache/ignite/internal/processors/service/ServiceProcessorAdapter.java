@@ -149,6 +149,11 @@ public abstract class ServiceProcessorAdapter extends GridProcessorAdapter {
      */
     public abstract ServiceContextImpl serviceContext(String name);
 
+    /**
+     * @return Manager of direct calls to remote services or {@code null} if the calls are made with compute jobs.
+     */
+    @Nullable public abstract ServiceCallManager calls();
+
     /**
      * @param name Service name.
      * @param timeout If greater than 0 limits task execution time. Cannot be negative.
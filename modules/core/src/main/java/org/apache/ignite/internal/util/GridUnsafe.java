@@ -1383,6 +1383,31 @@ public abstract class GridUnsafe {
         return UNSAFE.getAndAddInt(null, ptr, -1) - 1;
     }
 
+    /**
+     * Atomically adds the given value to an integer pointed by {@code ptr}.
+     *
+     * @param ptr Pointer to an integer.
+     * @param delta Value to add.
+     * @return Updated value.
+     */
+    public static int addAndGetInt(long ptr, int delta) {
+        return UNSAFE.getAndAddInt(null, ptr, delta) + delta;
+    }
+
+    /**
+     * Ensures that loads before the fence will not be reordered with loads and stores after the fence.
+     */
+    public static void loadFence() {
+        UNSAFE.loadFence();
+    }
+
+    /**
+     * Ensures that loads and stores before the fence will not be reordered with loads and stores after the fence.
+     */
+    public static void fullFence() {
+        UNSAFE.fullFence();
+    }
+
     /**
      * Gets byte value with volatile semantic.
      *
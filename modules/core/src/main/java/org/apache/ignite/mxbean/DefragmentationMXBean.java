@@ -71,4 +71,24 @@ public interface DefragmentationMXBean {
      */
     @MXBeanDescription("Start time.")
     public long startTime();
+
+    /**
+     * Start online defragmentation for given caches. Online defragmentation runs while the node serves requests.
+     * It compacts data pages but doesn't truncate partition files, so disk usage is not reduced.
+     *
+     * @param cacheNames Names of caches to run online defragmentation on, comma separated.
+     * @return {@code true} if online defragmentation is started, {@code false} otherwise.
+     */
+    @MXBeanDescription("Start online defragmentation. Compacts data pages, doesn't reduce disk usage.")
+    @MXBeanParametersNames("cacheNames")
+    @MXBeanParametersDescriptions("Names of caches to run online defragmentation on.")
+    public boolean startOnline(String cacheNames);
+
+    /**
+     * Cancel online defragmentation.
+     *
+     * @return {@code true} if online defragmentation was canceled, {@code false} otherwise.
+     */
+    @MXBeanDescription("Cancel online defragmentation.")
+    public boolean cancelOnline();
 }
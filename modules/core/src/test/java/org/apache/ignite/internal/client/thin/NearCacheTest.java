@@ -0,0 +1,239 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.ClientNearCacheMetrics;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientNearCacheConfiguration;
+import org.junit.Test;
+
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Thin client near cache test.
+ */
+public class NearCacheTest extends AbstractThinClientTest {
+    /** Cache with near cache on the client. */
+    private static final String NEAR_CACHE = "near";
+
+    /** Near cache max size. */
+    private static final int MAX_SIZE = 100;
+
+    /** Timeout. */
+    private static final long TIMEOUT = 5_000L;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(3);
+
+        grid(0).getOrCreateCache(NEAR_CACHE);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        grid(0).cache(NEAR_CACHE).clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected ClientConfiguration getClientConfiguration() {
+        return super.getClientConfiguration()
+            .setNearCacheConfigurations(new ClientNearCacheConfiguration(NEAR_CACHE).setMaxSize(MAX_SIZE));
+    }
+
+    /** Tests that repeated reads are served by near cache. */
+    @Test
+    public void testHitsAndMisses() throws Exception {
+        try (IgniteClient client = startClient(0, 1, 2)) {
+            ClientCache<Integer, Integer> cache = client.cache(NEAR_CACHE);
+
+            populate(10, 0);
+
+            for (int i = 0; i < 10; i++) {
+                assertEquals(i, (int)cache.get(i));
+                assertEquals(i, (int)cache.get(i));
+            }
+
+            Map<Integer, Integer> all = cache.getAll(keys(20));
+
+            assertEquals(10, all.size());
+
+            ClientNearCacheMetrics metrics = cache.nearCacheMetrics();
+
+            assertEquals(20, metrics.getHits());
+            assertEquals(20, metrics.getMisses());
+            assertEquals(10, metrics.getSize());
+
+            assertNull(client.cache(DEFAULT_CACHE_NAME).nearCacheMetrics());
+
+            // Near cache is bypassed by binary facades.
+            assertNotNull(cache.withKeepBinary().get(0));
+            assertEquals(40, metrics.getHits() + metrics.getMisses());
+        }
+    }
+
+    /** Tests invalidation of entries updated by the server nodes. */
+    @Test
+    public void testServerUpdateInvalidation() throws Exception {
+        try (IgniteClient client = startClient(0, 1, 2)) {
+            ClientCache<Integer, Integer> cache = client.cache(NEAR_CACHE);
+
+            populate(10, 0);
+
+            assertEquals(10, cache.getAll(keys(10)).size());
+
+            populate(10, 1);
+
+            assertTrue(waitForCondition(() -> cache.getAll(keys(10)).equals(values(10, 1)), TIMEOUT));
+
+            grid(1).cache(NEAR_CACHE).removeAll(keys(5));
+
+            assertTrue(waitForCondition(() -> cache.nearCacheMetrics().getSize() == 5, TIMEOUT));
+
+            for (int i = 0; i < 5; i++)
+                assertNull(cache.get(i));
+
+            assertTrue(cache.nearCacheMetrics().getInvalidations() >= 15);
+        }
+    }
+
+    /** Tests that updates made by the client are visible to the client immediately. */
+    @Test
+    public void testClientUpdateInvalidation() throws Exception {
+        try (IgniteClient client = startClient(0, 1, 2)) {
+            ClientCache<Integer, Integer> cache = client.cache(NEAR_CACHE);
+
+            populate(10, 0);
+
+            assertEquals(values(10, 0), cache.getAll(keys(10)));
+
+            for (int i = 0; i < 5; i++) {
+                cache.put(i, i + 1);
+
+                assertEquals(i + 1, (int)cache.get(i));
+            }
+
+            cache.putAll(values(10, 2));
+
+            assertEquals(values(10, 2), cache.getAll(keys(10)));
+
+            cache.replaceAsync(0, 3).get();
+
+            assertEquals(3, (int)cache.get(0));
+
+            cache.removeAll(keys(5));
+
+            for (int i = 0; i < 5; i++)
+                assertNull(cache.get(i));
+
+            cache.clear();
+
+            assertEquals(0, cache.nearCacheMetrics().getSize());
+            assertTrue(cache.getAll(keys(10)).isEmpty());
+        }
+    }
+
+    /** Tests near cache size limit. */
+    @Test
+    public void testMaxSize() throws Exception {
+        try (IgniteClient client = startClient(0, 1, 2)) {
+            ClientCache<Integer, Integer> cache = client.cache(NEAR_CACHE);
+
+            populate(MAX_SIZE * 3, 0);
+
+            for (int i = 0; i < MAX_SIZE * 3; i++)
+                assertEquals(i, (int)cache.get(i));
+
+            assertTrue(cache.nearCacheMetrics().getSize() <= MAX_SIZE);
+
+            assertEquals(values(MAX_SIZE * 3, 0), cache.getAll(keys(MAX_SIZE * 3)));
+        }
+    }
+
+    /** Tests that updates missed while the client is disconnected aren't served from near cache. */
+    @Test
+    public void testResyncAfterReconnect() throws Exception {
+        try (IgniteClient client = startClient(0, 1, 2)) {
+            ClientCache<Integer, Integer> cache = client.cache(NEAR_CACHE);
+
+            populate(10, 0);
+
+            assertEquals(values(10, 0), cache.getAll(keys(10)));
+
+            dropAllThinClientConnections();
+
+            populate(10, 1);
+
+            assertTrue(waitForCondition(() -> cache.getAll(keys(10)).equals(values(10, 1)), TIMEOUT));
+
+            // Near cache is used again after resubscription.
+            assertTrue(waitForCondition(() -> {
+                long hits = cache.nearCacheMetrics().getHits();
+
+                cache.get(0);
+
+                return cache.nearCacheMetrics().getHits() > hits;
+            }, TIMEOUT));
+
+            populate(10, 2);
+
+            assertTrue(waitForCondition(() -> cache.getAll(keys(10)).equals(values(10, 2)), TIMEOUT));
+        }
+    }
+
+    /**
+     * @param cnt Number of entries.
+     * @param delta Value delta.
+     */
+    private void populate(int cnt, int delta) {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(NEAR_CACHE);
+
+        cache.putAll(values(cnt, delta));
+    }
+
+    /**
+     * @param cnt Number of keys.
+     */
+    private static Set<Integer> keys(int cnt) {
+        return IntStream.range(0, cnt).boxed().collect(Collectors.toSet());
+    }
+
+    /**
+     * @param cnt Number of entries.
+     * @param delta Value delta.
+     */
+    private static Map<Integer, Integer> values(int cnt, int delta) {
+        Map<Integer, Integer> vals = new HashMap<>();
+
+        for (int i = 0; i < cnt; i++)
+            vals.put(i, i + delta);
+
+        return vals;
+    }
+}
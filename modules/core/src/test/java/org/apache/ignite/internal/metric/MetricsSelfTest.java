@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.Spliterators;
+import java.util.stream.LongStream;
 import java.util.stream.StreamSupport;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
@@ -30,6 +31,7 @@ import org.apache.ignite.internal.processors.metric.impl.DoubleMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
 import org.apache.ignite.internal.processors.metric.impl.IntMetricImpl;
+import org.apache.ignite.internal.processors.metric.impl.LogLinearHistogramMetricImpl;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -48,6 +50,8 @@ import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toSet;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.fromFullName;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.histogramBucketNames;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.mergeHistograms;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.percentile;
 import static org.apache.ignite.testframework.GridTestUtils.runAsync;
 import static org.junit.Assert.assertArrayEquals;
 
@@ -266,6 +270,62 @@ public class MetricsSelfTest extends GridCommonAbstractTest {
         assertEquals(cnt * 4, res[3]);
     }
 
+    /** */
+    @Test
+    public void testLogLinearHistogram() throws Exception {
+        LogLinearHistogramMetricImpl h = mreg.logLinearHistogram("llhtest", 1000, 1_000_000, 2, "test");
+
+        long[] bounds = h.bounds();
+
+        assertEquals(1024, bounds[0]);
+        assertEquals(1280, bounds[1]);
+        assertEquals(1536, bounds[2]);
+        assertEquals(1792, bounds[3]);
+        assertEquals(2048, bounds[4]);
+        assertEquals(1L << 20, bounds[bounds.length - 1]);
+        assertEquals(1 + 10 * 4, bounds.length);
+
+        // Log-linear histogram must place values exactly like linear search over its bounds does.
+        HistogramMetricImpl ref = mreg.histogram("llhref", bounds, "test");
+
+        List<IgniteInternalFuture> futs = new ArrayList<>();
+
+        for (int t = 0; t < 4; t++) {
+            int t0 = t;
+
+            futs.add(runAsync(() -> {
+                for (long x = t0; x < 1_100_000; x += 4) {
+                    h.value(x);
+                    ref.value(x);
+                }
+            }));
+        }
+
+        for (IgniteInternalFuture fut : futs)
+            fut.get();
+
+        assertArrayEquals(ref.value(), h.value());
+
+        h.reset();
+
+        for (int i = 1; i <= 1000; i++)
+            h.value(i * 1000);
+
+        assertEquals(1024, h.percentile(0.001));
+        assertEquals(524288, h.percentile(0.5));
+        assertEquals(1L << 20, h.percentile(0.999));
+        assertEquals(1L << 20, h.percentile(1));
+
+        long[] merged = mergeHistograms(h.value(), h.value());
+
+        assertEquals(2000, LongStream.of(merged).sum());
+        assertEquals(h.percentile(0.99), percentile(bounds, merged, 0.99));
+
+        h.reset();
+
+        assertEquals(0, LongStream.of(h.value()).sum());
+    }
+
     /** */
     @Test
     public void testGetMetrics() throws Exception {
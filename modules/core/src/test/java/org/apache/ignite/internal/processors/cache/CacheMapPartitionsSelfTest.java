@@ -0,0 +1,253 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCompute;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.lang.IgniteClosure;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheMode.PARTITIONED;
+
+/**
+ * Test for {@link IgniteCompute#mapPartitions(java.util.Collection, IgniteClosure)}.
+ */
+public class CacheMapPartitionsSelfTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "myCache";
+
+    /** */
+    private static final int SRVS = 3;
+
+    /** */
+    private static final int PARTS = 256;
+
+    /** */
+    private static final int KEYS = 10_000;
+
+    /** Amount of closure executions. */
+    private static final AtomicInteger EXECUTIONS = new AtomicInteger();
+
+    /** Latch blocking closure executions. */
+    private static volatile CountDownLatch latch;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        CacheConfiguration<Integer, Integer> ccfg = new CacheConfiguration<Integer, Integer>(CACHE_NAME)
+            .setCacheMode(PARTITIONED)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS));
+
+        cfg.setCacheConfiguration(ccfg);
+
+        // Jobs process partitions in a few threads, so some partitions are not reserved before remapping.
+        cfg.setPublicThreadPoolSize(2);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        EXECUTIONS.set(0);
+
+        startGridsMultiThreaded(SRVS);
+
+        try (IgniteDataStreamer<Integer, Integer> streamer = grid(0).dataStreamer(CACHE_NAME)) {
+            for (int i = 0; i < KEYS; i++)
+                streamer.addData(i, i);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /** */
+    @Test
+    public void testMapPartitions() {
+        checkAllPartitions(grid(0).compute().mapPartitions(Collections.singleton(CACHE_NAME),
+            new PartitionSize(false)));
+    }
+
+    /** */
+    @Test
+    public void testBackpressure() throws Exception {
+        int bufSize = 8;
+
+        Iterator<IgniteBiTuple<Integer, Long>> it = grid(0).compute().mapPartitions(
+            Collections.singleton(CACHE_NAME), new PartitionSize(false), bufSize);
+
+        for (int i = 0; i < PARTS; i++) {
+            assertTrue(it.hasNext());
+
+            // Let jobs finish to check that they don't process partitions beyond the buffer.
+            if (i % 64 == 0)
+                U.sleep(100);
+
+            assertTrue("Too many partitions processed [consumed=" + i + ", executions=" + EXECUTIONS.get() + ']',
+                EXECUTIONS.get() <= i + bufSize);
+
+            it.next();
+        }
+
+        assertFalse(it.hasNext());
+        assertEquals(PARTS, EXECUTIONS.get());
+    }
+
+    /** */
+    @Test
+    public void testClosureFailure() {
+        Iterator<Object> it = grid(0).compute().mapPartitions(Collections.singleton(CACHE_NAME), part -> {
+            if (part == PARTS / 2)
+                throw new IgniteException("Test failure.");
+
+            return part;
+        });
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> {
+            while (it.hasNext())
+                it.next();
+
+            return null;
+        }, IgniteException.class, "Test failure.");
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemapOnNodeJoin() throws Exception {
+        latch = new CountDownLatch(1);
+
+        Iterator<IgniteBiTuple<Integer, Long>> it = grid(0).compute().mapPartitions(
+            Collections.singleton(CACHE_NAME), new PartitionSize(true), 64);
+
+        IgniteEx newNode = startGrid(SRVS);
+
+        // Wait for partitions to be moved to the new node while jobs on other nodes are blocked.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            for (int i = 0; i < SRVS; i++) {
+                if (grid(i).affinity(CACHE_NAME).primaryPartitions(newNode.localNode()).length == 0)
+                    return false;
+            }
+
+            return true;
+        }, 30_000));
+
+        latch.countDown();
+
+        checkAllPartitions(it);
+
+        awaitPartitionMapExchange();
+
+        checkAllPartitions(grid(SRVS).compute().mapPartitions(Collections.singleton(CACHE_NAME),
+            new PartitionSize(false)));
+    }
+
+    /**
+     * Checks that every partition is processed once on its primary node.
+     *
+     * @param it Results.
+     */
+    private void checkAllPartitions(Iterator<IgniteBiTuple<Integer, Long>> it) {
+        Set<Integer> parts = ConcurrentHashMap.newKeySet();
+        long size = 0;
+
+        while (it.hasNext()) {
+            IgniteBiTuple<Integer, Long> res = it.next();
+
+            assertTrue("Duplicate partition: " + res.get1(), parts.add(res.get1()));
+
+            size += res.get2();
+        }
+
+        assertEquals(PARTS, parts.size());
+        assertEquals(KEYS, size);
+    }
+
+    /**
+     * Returns partition number and amount of primary entries of the partition on the node.
+     */
+    private static class PartitionSize implements IgniteClosure<Integer, IgniteBiTuple<Integer, Long>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Whether to wait for the latch. */
+        private final boolean block;
+
+        /** */
+        @IgniteInstanceResource
+        private Ignite ignite;
+
+        /**
+         * @param block Whether to wait for the latch.
+         */
+        private PartitionSize(boolean block) {
+            this.block = block;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteBiTuple<Integer, Long> apply(Integer part) {
+            EXECUTIONS.incrementAndGet();
+
+            // Public affinity may be ahead of the affinity the partition was reserved on while topology changes.
+            if (!block)
+                assertTrue(ignite.affinity(CACHE_NAME).isPrimary(ignite.cluster().localNode(), part));
+
+            try {
+                if (block)
+                    U.await(latch);
+            }
+            catch (IgniteInterruptedCheckedException e) {
+                throw new IgniteException(e);
+            }
+
+            IgniteCache<Integer, Integer> cache = ignite.cache(CACHE_NAME);
+
+            // Reserved partition may become backup while it is processed, but its data stays on the node.
+            return new IgniteBiTuple<>(part, cache.localSizeLong(part, CachePeekMode.PRIMARY, CachePeekMode.BACKUP));
+        }
+    }
+}
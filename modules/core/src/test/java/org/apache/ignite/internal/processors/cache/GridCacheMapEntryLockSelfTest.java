@@ -0,0 +1,245 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests {@link GridCacheMapEntry} lock.
+ */
+public class GridCacheMapEntryLockSelfTest extends GridCommonAbstractTest {
+    /** Grid. */
+    private static IgniteEx grid;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        grid = startGrid(0);
+
+        grid.createCache(DEFAULT_CACHE_NAME);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        grid = null;
+
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReentrancy() throws Exception {
+        GridCacheEntryEx entry = entry(1);
+
+        assertFalse(entry.lockedByCurrentThread());
+
+        entry.lockEntry();
+        entry.lockEntry();
+
+        assertTrue(entry.tryLockEntry(0));
+        assertTrue(entry.lockedByCurrentThread());
+
+        entry.unlockEntry();
+        entry.unlockEntry();
+
+        assertTrue(entry.lockedByCurrentThread());
+        assertFalse(GridTestUtils.runAsync(() -> entry.tryLockEntry(0)).get());
+
+        entry.unlockEntry();
+
+        assertFalse(entry.lockedByCurrentThread());
+
+        GridTestUtils.assertThrows(log, () -> {
+            entry.unlockEntry();
+
+            return null;
+        }, IllegalMonitorStateException.class, null);
+
+        assertTrue(GridTestUtils.runAsync(() -> {
+            boolean locked = entry.tryLockEntry(0);
+
+            if (locked)
+                entry.unlockEntry();
+
+            return locked;
+        }).get());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTryLockTimeout() throws Exception {
+        GridCacheEntryEx entry = entry(2);
+
+        entry.lockEntry();
+
+        try {
+            long start = System.currentTimeMillis();
+
+            assertFalse(GridTestUtils.runAsync(() -> entry.tryLockEntry(200)).get());
+
+            assertTrue(System.currentTimeMillis() - start >= 200);
+
+            CountDownLatch waiting = new CountDownLatch(1);
+
+            IgniteInternalFuture<Boolean> fut = GridTestUtils.runAsync(() -> {
+                waiting.countDown();
+
+                boolean locked = entry.tryLockEntry(getTestTimeout());
+
+                if (locked)
+                    entry.unlockEntry();
+
+                return locked;
+            });
+
+            waiting.await();
+
+            doSleep(100);
+
+            assertFalse(fut.isDone());
+
+            entry.unlockEntry();
+
+            assertTrue(fut.get());
+        }
+        finally {
+            if (entry.lockedByCurrentThread())
+                entry.unlockEntry();
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInterrupt() throws Exception {
+        GridCacheEntryEx entry = entry(3);
+
+        entry.lockEntry();
+
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        Thread t = new Thread(() -> {
+            // Lock waiting is not interruptible, but the interrupted status is kept.
+            entry.lockEntry();
+
+            interrupted.set(Thread.currentThread().isInterrupted());
+
+            entry.unlockEntry();
+        });
+
+        t.start();
+
+        doSleep(100);
+
+        t.interrupt();
+
+        doSleep(100);
+
+        assertTrue(t.isAlive());
+
+        entry.unlockEntry();
+
+        t.join(getTestTimeout());
+
+        assertTrue(interrupted.get());
+
+        entry.lockEntry();
+
+        try {
+            assertFalse(GridTestUtils.runAsync(() -> {
+                Thread.currentThread().interrupt();
+
+                return entry.tryLockEntry(getTestTimeout());
+            }).get());
+        }
+        finally {
+            entry.unlockEntry();
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMutualExclusion() throws Exception {
+        GridCacheEntryEx[] entries = new GridCacheEntryEx[4];
+
+        for (int i = 0; i < entries.length; i++)
+            entries[i] = entry(10 + i);
+
+        long[] cnts = new long[entries.length];
+
+        int threads = 8;
+        int iters = 50_000;
+
+        GridTestUtils.runMultiThreaded(idx -> {
+            for (int i = 0; i < iters; i++) {
+                int e = (idx + i) % entries.length;
+
+                GridCacheEntryEx entry = entries[e];
+
+                if (i % 3 == 0) {
+                    while (!entry.tryLockEntry(10)) {
+                        // No-op.
+                    }
+                }
+                else
+                    entry.lockEntry();
+
+                try {
+                    assertTrue(entry.lockedByCurrentThread());
+
+                    cnts[e]++;
+                }
+                finally {
+                    entry.unlockEntry();
+                }
+            }
+        }, threads, "entry-lock");
+
+        long total = 0;
+
+        for (long cnt : cnts)
+            total += cnt;
+
+        assertEquals((long)threads * iters, total);
+    }
+
+    /**
+     * @param key Key.
+     * @return Cache entry.
+     */
+    private GridCacheEntryEx entry(int key) {
+        GridCacheContext<?, ?> cctx = grid.cachex(DEFAULT_CACHE_NAME).context();
+
+        return cctx.cache().entryEx(cctx.toCacheKeyObject(key), grid.context().discovery().topologyVersionEx());
+    }
+}
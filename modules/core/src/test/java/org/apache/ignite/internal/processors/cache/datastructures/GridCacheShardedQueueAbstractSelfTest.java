@@ -0,0 +1,374 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.datastructures;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteQueue;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CollectionConfiguration;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.datastructures.GridCacheQueueHeader;
+import org.apache.ignite.internal.processors.datastructures.GridCacheQueueHeaderKey;
+import org.apache.ignite.internal.processors.datastructures.GridCacheShardedQueueImpl;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Sharded queue tests.
+ */
+public abstract class GridCacheShardedQueueAbstractSelfTest extends IgniteCollectionAbstractTest {
+    /** */
+    private static final int SHARDS = 8;
+
+    /** {@inheritDoc} */
+    @Override protected int gridCount() {
+        return 3;
+    }
+
+    /**
+     * @param relaxedOrder Relaxed order flag.
+     * @return Collection configuration of sharded queue.
+     */
+    private CollectionConfiguration shardedConfig(boolean relaxedOrder) {
+        return config(false).setShards(SHARDS).setRelaxedOrder(relaxedOrder);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOfferPoll() throws Exception {
+        String name = UUID.randomUUID().toString();
+
+        IgniteQueue<Integer> queue = grid(0).queue(name, 0, shardedConfig(false));
+
+        for (int i = 0; i < 100; i++)
+            assertTrue(queue.offer(i));
+
+        assertEquals(100, queue.size());
+        assertEquals(100, grid(1).queue(name, 0, null).size());
+
+        // Items offered by the same node go to the same sub-queue.
+        assertEquals(1, nonEmptyShards(queue, name));
+
+        List<Integer> items = new ArrayList<>();
+
+        queue.forEach(items::add);
+
+        assertEquals(100, items.size());
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, (int)items.get(i));
+
+        assertEquals(0, (int)queue.peek());
+
+        IgniteQueue<Integer> queue1 = grid(1).queue(name, 0, null);
+
+        for (int i = 0; i < 100; i++)
+            assertEquals(i, (int)queue1.poll());
+
+        assertNull(queue1.poll());
+        assertNull(queue.peek());
+        assertTrue(queue.isEmpty());
+
+        Set<ClusterNode> primaries = new HashSet<>();
+
+        for (int i = 0; i < SHARDS; i++) {
+            primaries.add(grid(0).affinity(cctx(queue).name()).mapKeyToNode(
+                new GridCacheQueueHeaderKey(GridCacheShardedQueueImpl.shardName(name, i))));
+        }
+
+        assertTrue("Sub-queue headers should be spread between nodes", primaries.size() > 1);
+
+        queue.close();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRelaxedOrder() throws Exception {
+        String name = UUID.randomUUID().toString();
+
+        IgniteQueue<Integer> queue = grid(0).queue(name, 0, shardedConfig(true));
+
+        for (int i = 0; i < SHARDS * 10; i++)
+            assertTrue(queue.offer(i));
+
+        assertEquals(SHARDS, nonEmptyShards(queue, name));
+
+        Set<Integer> items = new HashSet<>();
+
+        IgniteQueue<Integer> queue1 = grid(1).queue(name, 0, null);
+
+        Integer item;
+
+        while ((item = queue1.poll()) != null)
+            assertTrue(items.add(item));
+
+        assertEquals(SHARDS * 10, items.size());
+        assertEquals(0, queue.size());
+
+        queue.close();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAddAllDrainTo() throws Exception {
+        String name = UUID.randomUUID().toString();
+
+        IgniteQueue<Integer> queue = grid(0).queue(name, 0, shardedConfig(true));
+
+        for (int i = 0; i < 10; i++) {
+            List<Integer> batch = new ArrayList<>();
+
+            for (int j = 0; j < 10; j++)
+                batch.add(i * 10 + j);
+
+            assertTrue(grid(i % gridCount()).<Integer>queue(name, 0, null).addAll(batch));
+        }
+
+        assertEquals(100, queue.size());
+
+        List<Integer> items = new ArrayList<>();
+
+        assertEquals(35, grid(1).<Integer>queue(name, 0, null).drainTo(items, 35));
+        assertEquals(65, queue.drainTo(items));
+        assertEquals(0, queue.drainTo(items));
+        assertEquals(0, queue.size());
+
+        assertEquals(100, new HashSet<>(items).size());
+
+        // Batch is added to a single sub-queue and keeps its order.
+        for (int i = 0; i < 10; i++) {
+            for (int j = 1; j < 10; j++)
+                assertTrue(items.indexOf(i * 10 + j) > items.indexOf(i * 10 + j - 1));
+        }
+
+        queue.close();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBounded() throws Exception {
+        String name = UUID.randomUUID().toString();
+
+        IgniteQueue<Integer> queue = grid(0).queue(name, 10, config(false).setShards(4));
+
+        assertTrue(queue.bounded());
+        assertEquals(10, queue.capacity());
+
+        for (int i = 0; i < 10; i++)
+            assertTrue(queue.offer(i));
+
+        assertFalse(queue.offer(10));
+        assertFalse(grid(1).queue(name, 0, null).offer(10));
+        assertEquals(0, queue.remainingCapacity());
+
+        assertNotNull(queue.poll());
+
+        assertTrue(grid(2).queue(name, 0, null).offer(10));
+
+        assertFalse(queue.offer(11, 100, TimeUnit.MILLISECONDS));
+
+        IgniteInternalFuture<?> fut = GridTestUtils.runAsync(() -> queue.put(11));
+
+        doSleep(500);
+
+        assertFalse(fut.isDone());
+
+        assertNotNull(grid(1).queue(name, 0, null).poll());
+
+        fut.get(getTestTimeout());
+
+        assertEquals(10, queue.size());
+
+        queue.close();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTake() throws Exception {
+        String name = UUID.randomUUID().toString();
+
+        IgniteQueue<Integer> queue = grid(0).queue(name, 0, shardedConfig(false));
+
+        IgniteInternalFuture<Integer> fut = GridTestUtils.runAsync(queue::take);
+
+        doSleep(500);
+
+        assertFalse(fut.isDone());
+
+        grid(2).queue(name, 0, null).offer(1);
+
+        assertEquals(1, (int)fut.get(getTestTimeout()));
+
+        assertNull(queue.poll(100, TimeUnit.MILLISECONDS));
+
+        queue.close();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMultithreaded() throws Exception {
+        String name = UUID.randomUUID().toString();
+
+        grid(0).queue(name, 0, shardedConfig(true));
+
+        int itemsPerThread = 500;
+        int producers = 6;
+
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        Collection<Integer> polled = ConcurrentHashMap.newKeySet();
+
+        AtomicInteger cnt = new AtomicInteger();
+
+        IgniteInternalFuture<?> prodFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            int idx = threadIdx.getAndIncrement();
+
+            IgniteQueue<Integer> queue = grid(idx % gridCount()).queue(name, 0, null);
+
+            List<Integer> batch = new ArrayList<>();
+
+            for (int i = 0; i < itemsPerThread; i++) {
+                // Every other hundred of items is added in batches.
+                if (i / 100 % 2 == 0)
+                    assertTrue(queue.offer(idx * itemsPerThread + i));
+                else {
+                    batch.add(idx * itemsPerThread + i);
+
+                    if (batch.size() == 10) {
+                        assertTrue(queue.addAll(batch));
+
+                        batch.clear();
+                    }
+                }
+            }
+        }, producers, "producer");
+
+        IgniteInternalFuture<?> consFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            IgniteQueue<Integer> queue = grid(cnt.getAndIncrement() % gridCount()).queue(name, 0, null);
+
+            List<Integer> batch = new ArrayList<>();
+
+            while (polled.size() < producers * itemsPerThread) {
+                Integer item = queue.poll(10, TimeUnit.MILLISECONDS);
+
+                if (item != null)
+                    assertTrue(polled.add(item));
+
+                batch.clear();
+
+                queue.drainTo(batch, 5);
+
+                for (Integer i : batch)
+                    assertTrue(polled.add(i));
+            }
+        }, 4, "consumer");
+
+        prodFut.get(getTestTimeout());
+        consFut.get(getTestTimeout());
+
+        assertEquals(producers * itemsPerThread, polled.size());
+        assertEquals(0, grid(0).queue(name, 0, null).size());
+
+        grid(0).queue(name, 0, null).close();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemove() throws Exception {
+        String name = UUID.randomUUID().toString();
+
+        IgniteQueue<Integer> queue = grid(0).queue(name, 0, shardedConfig(true));
+
+        for (int i = 0; i < 20; i++)
+            queue.offer(i);
+
+        IgniteQueue<Integer> queue1 = grid(1).queue(name, 0, null);
+
+        GridTestUtils.assertThrows(log, () -> grid(1).queue(name, 0, shardedConfig(true).setShards(2)),
+            IgniteException.class, "different configuration");
+
+        queue.close();
+
+        assertTrue(queue.removed());
+        assertTrue(GridTestUtils.waitForCondition(queue1::removed, getTestTimeout()));
+
+        GridTestUtils.assertThrows(log, () -> queue1.offer(1), IllegalStateException.class, null);
+
+        GridCacheContext cctx = cctx(queue);
+
+        for (int i = 0; i < SHARDS; i++)
+            assertNull(shardHeader(cctx, name, i));
+
+        assertNull(grid(2).queue(name, 0, null));
+    }
+
+    /**
+     * @param queue Queue.
+     * @param name Queue name.
+     * @return Number of sub-queues which are not empty.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int nonEmptyShards(IgniteQueue<?> queue, String name) throws IgniteCheckedException {
+        int cnt = 0;
+
+        for (int i = 0; i < SHARDS; i++) {
+            if (!shardHeader(cctx(queue), name, i).empty())
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * @param cctx Cache context.
+     * @param name Queue name.
+     * @param shard Sub-queue index.
+     * @return Sub-queue header.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static GridCacheQueueHeader shardHeader(GridCacheContext cctx, String name, int shard)
+        throws IgniteCheckedException {
+        return (GridCacheQueueHeader)cctx.cache().get(
+            new GridCacheQueueHeaderKey(GridCacheShardedQueueImpl.shardName(name, shard)));
+    }
+}
@@ -25,7 +25,7 @@ import org.apache.ignite.configuration.CollectionConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.internal.processors.cache.GridCacheAdapter;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
-import org.apache.ignite.internal.processors.datastructures.GridCacheQueueAdapter;
+import org.apache.ignite.internal.processors.datastructures.GridCacheQueueBase;
 import org.apache.ignite.internal.processors.datastructures.GridCacheSetImpl;
 import org.apache.ignite.internal.processors.datastructures.GridCacheSetProxy;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
@@ -107,9 +107,9 @@ public abstract class IgniteCollectionAbstractTest extends GridCommonAbstractTes
      * @return Cache configuration.
      */
     protected CacheConfiguration getQueueCache(IgniteQueue queue) {
-        GridCacheQueueAdapter delegate = GridTestUtils.getFieldValue(queue, "delegate");
+        GridCacheQueueBase delegate = GridTestUtils.getFieldValue(queue, "delegate");
 
-        GridCacheAdapter cache = GridTestUtils.getFieldValue(delegate, GridCacheQueueAdapter.class, "cache");
+        GridCacheAdapter cache = GridTestUtils.getFieldValue(delegate, GridCacheQueueBase.class, "cache");
 
         return cache.configuration();
     }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.atomic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheWriteSynchronizationMode;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ATOMIC_BACKUP_UPDATE_BATCH_SIZE;
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheMode.PARTITIONED;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.PRIMARY_SYNC;
+import static org.apache.ignite.cache.CachePeekMode.BACKUP;
+import static org.apache.ignite.cache.CachePeekMode.PRIMARY;
+
+/**
+ * Tests coalescing of DHT atomic backup update requests.
+ */
+@WithSystemProperty(key = IGNITE_ATOMIC_BACKUP_UPDATE_BATCH_SIZE, value = "16")
+public class GridCacheAtomicBackupUpdateBatchTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES = 3;
+
+    /** Keys count. */
+    private static final int KEYS = 2_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        // Few stripes to get requests queued to a stripe while it processes other requests. Nodes have different
+        // numbers of stripes, so batches of a sender stripe map to different stripes of the receiver.
+        return super.getConfiguration(igniteInstanceName)
+            .setStripedPoolSize(2 + getTestIgniteInstanceIndex(igniteInstanceName))
+            .setCommunicationSpi(new TestRecordingCommunicationSpi());
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(NODES);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        for (Ignite ignite : G.allGrids())
+            ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testFullSync() throws Exception {
+        checkConcurrentUpdates(FULL_SYNC);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPrimarySync() throws Exception {
+        checkConcurrentUpdates(PRIMARY_SYNC);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPutAll() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).createCache(cacheConfiguration(FULL_SYNC));
+
+        for (int i = 0; i < 10; i++) {
+            Map<Integer, Integer> map = new TreeMap<>();
+
+            for (int k = 0; k < KEYS; k++)
+                map.put(k, k + i);
+
+            cache.putAll(map);
+        }
+
+        checkBackups(10 - 1);
+    }
+
+    /**
+     * @param syncMode Write synchronization mode.
+     * @throws Exception If failed.
+     */
+    private void checkConcurrentUpdates(CacheWriteSynchronizationMode syncMode) throws Exception {
+        grid(0).createCache(cacheConfiguration(syncMode));
+
+        for (int i = 0; i < NODES; i++)
+            TestRecordingCommunicationSpi.spi(grid(i)).record(GridDhtAtomicBatchUpdateRequest.class);
+
+        // Updates are sent from a client node, so they are processed by striped pools of primary nodes.
+        IgniteEx client = startClientGrid(NODES);
+
+        try {
+            IgniteCache<Integer, Integer> cache = client.cache(DEFAULT_CACHE_NAME);
+
+            AtomicInteger threadIdx = new AtomicInteger();
+
+            int threads = 16;
+
+            GridTestUtils.runMultiThreaded(() -> {
+                int idx = threadIdx.getAndIncrement();
+
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+                List<IgniteFuture<Void>> futs = new ArrayList<>();
+
+                // Asynchronous updates get requests of the same partition queued to a stripe.
+                for (int i = 0; i < KEYS * 5; i++) {
+                    int key = rnd.nextInt(KEYS);
+
+                    if (key % threads == idx)
+                        futs.add(cache.putAsync(key, i));
+
+                    if (futs.size() == 64) {
+                        futs.forEach(IgniteFuture::get);
+
+                        futs.clear();
+                    }
+                }
+
+                futs.forEach(IgniteFuture::get);
+
+                // Final values.
+                for (int key = idx; key < KEYS; key += threads)
+                    cache.put(key, key);
+
+                return null;
+            }, threads, "update");
+
+            checkBackups(0);
+
+            int batches = 0;
+
+            for (int i = 0; i < NODES; i++) {
+                for (Object msg : TestRecordingCommunicationSpi.spi(grid(i)).recordedMessages(true)) {
+                    GridDhtAtomicBatchUpdateRequest batch = (GridDhtAtomicBatchUpdateRequest)msg;
+
+                    for (GridDhtAtomicAbstractUpdateRequest req : batch.requests())
+                        assertEquals(batch.partition(), req.partition());
+
+                    batches++;
+                }
+            }
+
+            assertTrue("No batches were sent.", batches > 0);
+        }
+        finally {
+            stopGrid(NODES);
+        }
+    }
+
+    /**
+     * @param delta Expected difference between value and key.
+     * @throws Exception If failed.
+     */
+    private void checkBackups(int delta) throws Exception {
+        // All backup updates are acknowledged.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            for (int i = 0; i < NODES; i++) {
+                if (grid(i).context().cache().context().mvcc().atomicFuturesCount() != 0)
+                    return false;
+            }
+
+            return true;
+        }, getTestTimeout()));
+
+        Affinity<Integer> aff = grid(0).affinity(DEFAULT_CACHE_NAME);
+
+        for (int key = 0; key < KEYS; key++) {
+            for (ClusterNode node : aff.mapKeyToPrimaryAndBackups(key)) {
+                IgniteCache<Integer, Integer> cache = G.ignite(node.id()).cache(DEFAULT_CACHE_NAME);
+
+                Integer val = aff.isPrimary(node, key) ? cache.localPeek(key, PRIMARY) : cache.localPeek(key, BACKUP);
+
+                assertEquals("Unexpected value [key=" + key + ", node=" + node.id() + ']', (Integer)(key + delta), val);
+            }
+        }
+    }
+
+    /**
+     * @param syncMode Write synchronization mode.
+     * @return Cache configuration.
+     */
+    private CacheConfiguration<Integer, Integer> cacheConfiguration(CacheWriteSynchronizationMode syncMode) {
+        return new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+            .setCacheMode(PARTITIONED)
+            .setAtomicityMode(ATOMIC)
+            .setBackups(2)
+            .setWriteSynchronizationMode(syncMode)
+            // Batches hold updates of a single partition.
+            .setAffinity(new RendezvousAffinityFunction(false, 16));
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.distributed.near;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.NearCacheConfiguration;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtCacheEntry;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+
+/**
+ * Checks near cache which validates its entries by partition versions instead of reader tracking.
+ */
+public class GridCacheNearPartitionVersionsSelfTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 100;
+
+    /** Refresh interval. */
+    private static final long REFRESH_INTERVAL = 100;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(2);
+
+        startClientGrid(2);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).destroyCache(DEFAULT_CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * @return Near cache on the client node.
+     */
+    private IgniteCache<Integer, Integer> nearCache() {
+        grid(0).getOrCreateCache(new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+            .setAtomicityMode(ATOMIC)
+            .setBackups(1));
+
+        return grid(2).getOrCreateNearCache(DEFAULT_CACHE_NAME,
+            new NearCacheConfiguration<Integer, Integer>().setPartitionVersionsRefreshInterval(REFRESH_INTERVAL));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNoReaders() throws Exception {
+        IgniteCache<Integer, Integer> near = nearCache();
+
+        for (int i = 0; i < KEYS; i++)
+            near.put(i, i);
+
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(i, (int)near.get(i));
+
+            assertEquals(i, (int)near.localPeek(i, CachePeekMode.NEAR));
+        }
+
+        for (int i = 0; i < 2; i++) {
+            Ignite srv = grid(i);
+
+            for (int k = 0; k < KEYS; k++) {
+                GridDhtCacheEntry e = (GridDhtCacheEntry)dht(srv.cache(DEFAULT_CACHE_NAME)).peekEx(k);
+
+                if (e != null)
+                    assertTrue("Unexpected readers [key=" + k + ", readers=" + e.readers() + ']', e.readers().isEmpty());
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testInvalidation() throws Exception {
+        IgniteCache<Integer, Integer> near = nearCache();
+
+        IgniteCache<Integer, Integer> srvCache = grid(0).cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            srvCache.put(i, i);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(i, (int)near.get(i));
+
+        // Own updates are visible immediately.
+        near.put(0, -1);
+
+        assertEquals(-1, (int)near.get(0));
+
+        // Updates made by other nodes are visible after the partition versions are refreshed.
+        for (int i = 0; i < KEYS; i++)
+            srvCache.put(i, i + 1);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            for (int i = 0; i < KEYS; i++) {
+                if (near.get(i) != i + 1)
+                    return false;
+            }
+
+            return true;
+        }, 10_000));
+
+        // Removals are handled the same way.
+        srvCache.remove(1);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> near.get(1) == null, 10_000));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTransactionalCacheRejected() throws Exception {
+        grid(0).getOrCreateCache(new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME + "-tx")
+            .setAtomicityMode(TRANSACTIONAL));
+
+        try {
+            GridTestUtils.assertThrowsWithCause(() -> grid(2).getOrCreateNearCache(DEFAULT_CACHE_NAME + "-tx",
+                new NearCacheConfiguration<Integer, Integer>().setPartitionVersionsRefreshInterval(REFRESH_INTERVAL)),
+                IgniteCheckedException.class);
+        }
+        finally {
+            grid(0).destroyCache(DEFAULT_CACHE_NAME + "-tx");
+        }
+    }
+}
@@ -0,0 +1,355 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.eviction.tinylfu;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.ignite.cache.eviction.EvictableEntry;
+import org.apache.ignite.cache.eviction.tinylfu.TinyLfuEvictionPolicy;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.CacheEvictableEntryImpl;
+import org.apache.ignite.internal.processors.cache.eviction.EvictionAbstractTest;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * W-TinyLFU eviction policy tests.
+ */
+public class TinyLfuEvictionPolicySelfTest extends
+    EvictionAbstractTest<TinyLfuEvictionPolicy<String, String>> {
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testScanResistance() throws Exception {
+        startGrid();
+
+        try {
+            TinyLfuEvictionPolicy<String, String> p = policy();
+
+            int max = 8;
+
+            p.setMaxSize(max);
+
+            MockEntry[] freqUsed = new MockEntry[] {
+                new MockEntry("1", "1"),
+                new MockEntry("2", "2"),
+                new MockEntry("3", "3"),
+                new MockEntry("4", "4")
+            };
+
+            for (int i = 0; i < 10; i++) {
+                for (MockEntry e : freqUsed)
+                    p.onEntryAccessed(false, e);
+            }
+
+            // One-time scan.
+            for (int i = 0; i < 100; i++)
+                p.onEntryAccessed(false, new MockEntry("scan" + i, "scan" + i));
+
+            for (MockEntry e : freqUsed)
+                assertFalse(e.isEvicted());
+
+            info(p);
+
+            assertEquals(max, p.getCurrentSize());
+            assertEquals(104, p.getMissCount());
+            assertEquals(36, p.getHitCount());
+            assertEquals(36d / 140, p.getHitRatio(), 1e-9);
+            assertTrue(p.getRejectedCount() > 0);
+        }
+        finally {
+            stopGrid();
+        }
+    }
+
+    /**
+     * Checks that queues stay consistent when entries are concurrently accessed, added, removed and evicted.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentTouchAndEvict() throws Exception {
+        int max = 64;
+
+        TinyLfuEvictionPolicy<String, String> p = new TinyLfuEvictionPolicy<>(max);
+
+        int keysCnt = 1024;
+
+        AtomicReferenceArray<MockEntry> entries = new AtomicReferenceArray<>(keysCnt);
+
+        for (int i = 0; i < keysCnt; i++)
+            entries.set(i, new MockEntry(String.valueOf(i), String.valueOf(i)));
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> fut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                // Skewed access, so both hits of tracked entries and additions of new ones are frequent.
+                int idx = rnd.nextBoolean() ? rnd.nextInt(max / 2) : rnd.nextInt(keysCnt);
+
+                MockEntry e = entries.get(idx);
+
+                // Evicted entry is reloaded to the cache.
+                if (e.isEvicted()) {
+                    MockEntry e0 = new MockEntry(e.getKey(), e.getValue());
+
+                    e = entries.compareAndSet(idx, e, e0) ? e0 : entries.get(idx);
+                }
+
+                p.onEntryAccessed(rnd.nextInt(100) == 0, e);
+            }
+        }, 16, "tiny-lfu-access");
+
+        try {
+            U.sleep(3_000);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        fut.get(10_000);
+
+        Collection<EvictableEntry<String, String>> queue = p.queue();
+
+        assertEquals(p.getCurrentSize(), queue.size());
+        assertEquals(queue.size(), new HashSet<>(queue).size());
+        assertTrue("Unexpected size: " + queue.size(), queue.size() <= max + p.getBatchSize());
+
+        info(p);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void doTestPolicy() throws Exception {
+        startGrid();
+
+        try {
+            MockEntry e1 = new MockEntry("1", "1");
+            MockEntry e2 = new MockEntry("2", "2");
+            MockEntry e3 = new MockEntry("3", "3");
+            MockEntry e4 = new MockEntry("4", "4");
+            MockEntry e5 = new MockEntry("5", "5");
+
+            TinyLfuEvictionPolicy<String, String> p = policy();
+
+            p.onEntryAccessed(false, e1);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e1);
+
+            p.onEntryAccessed(false, e2);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e1, e2);
+
+            p.onEntryAccessed(false, e3);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e1, e2, e3);
+
+            p.onEntryAccessed(false, e1);
+            p.onEntryAccessed(false, e1);
+            p.onEntryAccessed(false, e1);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e2, e3, e1);
+
+            assertFalse(e1.isEvicted());
+            assertFalse(e2.isEvicted());
+            assertFalse(e3.isEvicted());
+
+            // Frequently used e1 is admitted to the main space instead of e2.
+            p.onEntryAccessed(false, e4);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e4, e3, e1);
+
+            assertTrue(e2.isEvicted());
+            assertFalse(e1.isEvicted());
+            assertFalse(e3.isEvicted());
+            assertFalse(e4.isEvicted());
+
+            assertEquals(1, p.getAdmittedCount());
+            assertEquals(0, p.getRejectedCount());
+
+            // Once used e4 is not admitted to the main space.
+            p.onEntryAccessed(false, e5);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e3, e1);
+
+            assertTrue(e4.isEvicted());
+            assertFalse(e1.isEvicted());
+            assertFalse(e3.isEvicted());
+            assertFalse(e5.isEvicted());
+
+            assertEquals(1, p.getAdmittedCount());
+            assertEquals(1, p.getRejectedCount());
+
+            // Promotion to the protected segment.
+            p.onEntryAccessed(false, e3);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e1, e3);
+
+            // Protected segment overflow demotes e3 back to the probationary segment.
+            p.onEntryAccessed(false, e1);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e3, e1);
+
+            assertEquals(3, p.getCurrentSize());
+
+            p.onEntryAccessed(true, e5);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e3, e1);
+
+            assertFalse(e5.isEvicted());
+
+            p.onEntryAccessed(true, e1);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e3);
+
+            assertFalse(e1.isEvicted());
+
+            p.onEntryAccessed(true, e3);
+
+            check(MockEntry.ENTRY_SIZE, p.queue());
+
+            assertFalse(e3.isEvicted());
+
+            info(p);
+        }
+        finally {
+            stopGrid();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void doTestPolicyWithBatch() throws Exception {
+        startGrid();
+
+        try {
+            MockEntry e1 = new MockEntry("1", "1");
+            MockEntry e2 = new MockEntry("2", "2");
+            MockEntry e3 = new MockEntry("3", "3");
+            MockEntry e4 = new MockEntry("4", "4");
+            MockEntry e5 = new MockEntry("5", "5");
+
+            TinyLfuEvictionPolicy<String, String> p = policy();
+
+            p.onEntryAccessed(false, e1);
+            p.onEntryAccessed(false, e2);
+            p.onEntryAccessed(false, e3);
+            p.onEntryAccessed(false, e4);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e1, e2, e3, e4);
+
+            assertFalse(e1.isEvicted());
+            assertFalse(e2.isEvicted());
+            assertFalse(e3.isEvicted());
+            assertFalse(e4.isEvicted());
+
+            p.onEntryAccessed(false, e5);
+
+            // Batch evicted: e1 and e2 fill the main space, e3 and e4 are not admitted.
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e1, e2);
+
+            assertFalse(e1.isEvicted());
+            assertFalse(e2.isEvicted());
+            assertTrue(e3.isEvicted());
+            assertTrue(e4.isEvicted());
+            assertFalse(e5.isEvicted());
+
+            assertEquals(0, p.getAdmittedCount());
+            assertEquals(2, p.getRejectedCount());
+
+            p.onEntryAccessed(false, e3 = new MockEntry("3", "3"));
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e3, e1, e2);
+
+            p.onEntryAccessed(false, e1);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e3, e2, e1);
+
+            p.onEntryAccessed(true, e1);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e3, e2);
+
+            p.onEntryAccessed(true, e2);
+
+            check(MockEntry.ENTRY_SIZE, p.queue(), e5, e3);
+
+            p.onEntryAccessed(true, e3);
+            p.onEntryAccessed(true, e5);
+
+            check(MockEntry.ENTRY_SIZE, p.queue());
+
+            assertFalse(e1.isEvicted());
+            assertFalse(e2.isEvicted());
+            assertFalse(e3.isEvicted());
+            assertFalse(e5.isEvicted());
+
+            info(p);
+        }
+        finally {
+            stopGrid();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected TinyLfuEvictionPolicy<String, String> createPolicy(int plcMax) {
+        TinyLfuEvictionPolicy<String, String> plc = new TinyLfuEvictionPolicy<>();
+
+        plc.setMaxSize(this.plcMax);
+        plc.setBatchSize(this.plcBatchSize);
+        plc.setMaxMemorySize(this.plcMaxMemSize);
+
+        return plc;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected TinyLfuEvictionPolicy<String, String> createNearPolicy(int nearMax) {
+        TinyLfuEvictionPolicy<String, String> plc = new TinyLfuEvictionPolicy<>();
+
+        plc.setMaxSize(nearMax);
+        plc.setBatchSize(plcBatchSize);
+
+        return plc;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void checkNearPolicies(int endNearPlcSize) {
+        for (int i = 0; i < gridCnt; i++)
+            for (EvictableEntry<String, String> e : nearPolicy(i).queue())
+                assert !e.isCached() : "Invalid near policy size: " + nearPolicy(i).queue();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void checkPolicies() {
+        for (int i = 0; i < gridCnt; i++) {
+            if (plcMaxMemSize > 0) {
+                int size = 0;
+
+                for (EvictableEntry<String, String> entry : policy(i).queue())
+                    size += ((CacheEvictableEntryImpl)entry).size();
+
+                assertEquals(size, ((TinyLfuEvictionPolicy)policy(i)).getCurrentMemorySize());
+            }
+            else
+                assertTrue(policy(i).queue().size() <= plcMax + plcBatchSize);
+        }
+    }
+}
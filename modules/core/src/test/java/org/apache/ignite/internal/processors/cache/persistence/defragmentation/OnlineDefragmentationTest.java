@@ -0,0 +1,278 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.defragmentation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_ONLINE_DEFRAGMENTATION_RATE;
+import static org.apache.ignite.cluster.ClusterState.ACTIVE;
+
+/**
+ * Tests online defragmentation of persistent partitions.
+ */
+@WithSystemProperty(key = "DEFAULT_TOMBSTONE_TTL", value = "500") // Tombstones are not moved, let them expire.
+public class OnlineDefragmentationTest extends GridCommonAbstractTest {
+    /** Keys count. */
+    private static final int KEYS = 21_000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setWalSegmentSize(4 * 1024 * 1024)
+            .setDefaultDataRegionConfiguration(
+                new DataRegionConfiguration().setMaxSize(100L * 1024 * 1024).setPersistenceEnabled(true)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, 16)));
+
+        return cfg;
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSparsePagesCompacted() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = fillAndThinOut(ig);
+
+        IgniteDefragmentation defrag = ig.context().defragmentation();
+
+        defrag.startOnline(Collections.emptyList()).get(getTestTimeout());
+
+        OnlineDefragmentation online = defrag.onlineDefragmentation();
+
+        assertNotNull(online);
+        assertFalse(online.inProgress());
+        assertEquals(online.totalPartitions(), online.processedPartitions());
+        assertTrue(online.sparsePages() > 0);
+        assertTrue(online.movedRows() > 0);
+
+        checkData(cache);
+
+        forceCheckpoint(ig);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = fillAndThinOut(ig);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = GridTestUtils.runAsync(() -> {
+            while (!stop.get()) {
+                int key = ThreadLocalRandom.current().nextInt(KEYS / 3) * 3;
+
+                cache.put(key, value(key));
+            }
+        });
+
+        try {
+            ig.context().defragmentation().startOnline(Collections.singletonList(DEFAULT_CACHE_NAME))
+                .get(getTestTimeout());
+        }
+        finally {
+            stop.set(true);
+        }
+
+        loadFut.get();
+
+        assertTrue(ig.context().defragmentation().onlineDefragmentation().movedRows() > 0);
+
+        checkData(cache);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStartTwice() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ACTIVE);
+
+        fillAndThinOut(ig);
+
+        System.setProperty(IGNITE_ONLINE_DEFRAGMENTATION_RATE, "100");
+
+        IgniteDefragmentation defrag = ig.context().defragmentation();
+
+        try {
+            IgniteInternalFuture<Void> fut = defrag.startOnline(Collections.emptyList());
+
+            GridTestUtils.assertThrows(log, () -> defrag.startOnline(Collections.emptyList()),
+                IgniteCheckedException.class, "already in progress");
+
+            assertTrue(defrag.cancelOnline());
+
+            fut.get(getTestTimeout());
+        }
+        finally {
+            System.clearProperty(IGNITE_ONLINE_DEFRAGMENTATION_RATE);
+        }
+
+        assertFalse(defrag.cancelOnline());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_ONLINE_DEFRAGMENTATION_RATE, value = "100")
+    @WithSystemProperty(key = IGNITE_ONLINE_DEFRAGMENTATION_CHECKPOINT_SHARE, value = "0.000001")
+    public void testRatePacedByCheckpoints() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = fillAndThinOut(ig);
+
+        IgniteDefragmentation defrag = ig.context().defragmentation();
+
+        IgniteInternalFuture<Void> fut = defrag.startOnline(Collections.emptyList());
+
+        OnlineDefragmentation online = defrag.onlineDefragmentation();
+
+        try {
+            assertEquals(100.0, online.rate());
+
+            for (int i = 0; i < KEYS; i += 3)
+                cache.put(i, value(i));
+
+            forceCheckpoint(ig);
+
+            // Rate is a tiny share of checkpoint write speed, but at least one row per second.
+            assertTrue("Unexpected rate: " + online.rate(), online.rate() < 100.0);
+        }
+        finally {
+            defrag.cancelOnline();
+        }
+
+        fut.get(getTestTimeout());
+
+        checkData(cache);
+    }
+
+    /**
+     * Puts values and removes two of every three of them, so most of data pages become sparse.
+     *
+     * @param ig Ignite.
+     * @return Cache.
+     */
+    private IgniteCache<Integer, byte[]> fillAndThinOut(IgniteEx ig) throws Exception {
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 3 != 0)
+                cache.remove(i);
+        }
+
+        CacheGroupContext grp = ig.cachex(DEFAULT_CACHE_NAME).context().group();
+
+        assertTrue(GridTestUtils.waitForCondition(() -> grp.topology().localPartitions().stream()
+            .allMatch(part -> part.dataStore().tombstonesCount() == 0), getTestTimeout()));
+
+        forceCheckpoint(ig);
+
+        return cache;
+    }
+
+    /**
+     * @param cache Cache.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache) {
+        assertEquals(KEYS / 3, cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 3 == 0)
+                assertTrue(Arrays.equals(value(i), cache.get(i)));
+            else
+                assertNull(cache.get(i));
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @return Value.
+     */
+    private static byte[] value(int key) {
+        byte[] val = new byte[200 + key % 100];
+
+        for (int i = 0; i < val.length; i++)
+            val[i] = (byte)(key + i);
+
+        return val;
+    }
+}
@@ -32,6 +32,7 @@ import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
 import org.apache.ignite.failure.NoOpFailureHandler;
 import org.apache.ignite.internal.IgniteFutureTimeoutCheckedException;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.managers.encryption.GridEncryptionManager;
 import org.apache.ignite.internal.managers.eventstorage.GridEventStorageManager;
 import org.apache.ignite.internal.managers.systemview.GridSystemViewManager;
@@ -40,6 +41,7 @@ import org.apache.ignite.internal.mem.DirectMemoryProvider;
 import org.apache.ignite.internal.mem.IgniteOutOfMemoryException;
 import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
 import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.PageUtils;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
 import org.apache.ignite.internal.pagemem.store.PageStore;
@@ -68,12 +70,15 @@ import org.apache.ignite.spi.eventstorage.NoopEventStorageSpi;
 import org.apache.ignite.spi.metric.noop.NoopMetricExporterSpi;
 import org.apache.ignite.testframework.GridTestUtils;
 import org.apache.ignite.testframework.junits.GridTestKernalContext;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.apache.ignite.testframework.junits.logger.GridTestLog4jLogger;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_PREFETCH_THREADS;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_DATA;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_IDX;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.CHECKPOINT_POOL_OVERFLOW_ERROR_MSG;
@@ -187,6 +192,15 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
         testCheckpointBufferCantOverflowWithThrottlingMixedLoad(PageMemoryImpl.ThrottlingPolicy.TARGET_RATIO_BASED);
     }
 
+    /**
+     * Tests that checkpoint buffer won't be overflowed with enabled FEEDBACK_BASED throttling.
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCheckpointBufferCantOverflowMixedLoadFeedbackBased() throws Exception {
+        testCheckpointBufferCantOverflowWithThrottlingMixedLoad(PageMemoryImpl.ThrottlingPolicy.FEEDBACK_BASED);
+    }
+
     /**
      * Tests that with throttling enabled emptify cp buffer primarily with enabled CHECKPOINT_BUFFER_ONLY throttling.
      * @throws Exception If failed.
@@ -214,6 +228,15 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
         runThrottlingEmptifyCpBufFirst(PageMemoryImpl.ThrottlingPolicy.TARGET_RATIO_BASED);
     }
 
+    /**
+     * Tests that with throttling enabled emptify cp buffer primarily with enabled FEEDBACK_BASED throttling.
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testThrottlingEmptifyCpBufFirstFeedbackBased() throws Exception {
+        runThrottlingEmptifyCpBufFirst(PageMemoryImpl.ThrottlingPolicy.FEEDBACK_BASED);
+    }
+
     /**
      * @throws Exception if failed.
      */
@@ -417,6 +440,156 @@ public class PageMemoryImplTest extends GridCommonAbstractTest {
             }, null);
     }
 
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_PAGE_PREFETCH_THREADS, value = "2")
+    public void testPrefetchPages() throws Exception {
+        PageMemoryImpl memory = createPageMemory(PageMemoryImpl.ThrottlingPolicy.DISABLED, null);
+
+        assertTrue(memory.prefetchEnabled());
+
+        memory.metrics().enableMetrics();
+
+        int grpId = 1;
+
+        long[] pageIds = new long[64];
+
+        for (int i = 0; i < pageIds.length; i++)
+            pageIds[i] = PageIdUtils.pageId(i % 2, FLAG_DATA, i + 1);
+
+        memory.prefetchPages(grpId, pageIds, pageIds.length);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            for (long pageId : pageIds) {
+                if (!memory.hasLoadedPage(new FullPageId(pageId, grpId)))
+                    return false;
+            }
+
+            return true;
+        }, 10_000));
+
+        LongAdderMetric prefetched = GridTestUtils.getFieldValue(memory.metrics(), "prefetchedPages");
+        LongAdderMetric hits = GridTestUtils.getFieldValue(memory.metrics(), "prefetchHits");
+
+        assertTrue(GridTestUtils.waitForCondition(() -> prefetched.value() == pageIds.length, 10_000));
+
+        // Every prefetched page is counted as a hit only once.
+        for (int i = 0; i < 2; i++) {
+            for (long pageId : pageIds) {
+                long page = memory.acquirePage(grpId, pageId);
+
+                memory.releasePage(grpId, pageId, page);
+            }
+        }
+
+        assertEquals(pageIds.length, hits.value());
+
+        // Already loaded pages are not prefetched again.
+        memory.prefetchPages(grpId, pageIds, pageIds.length);
+
+        assertEquals(pageIds.length, prefetched.value());
+    }
+
+    /**
+     * Checks that pages resolved without the segment lock are never confused with pages which are concurrently
+     * replaced and that pin counters stay consistent.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOptimisticLookupConcurrentAcquireAndReplace() throws Exception {
+        // Clean pages only are replaced during the test, so nothing is written by the replacement.
+        PageMemoryImpl memory = createPageMemory(
+            1,
+            PageMemoryImpl.ThrottlingPolicy.DISABLED,
+            new NoOpPageStoreManager(),
+            (fullPageId, byteBuf, tag) -> {
+                assert false : "Dirty page is replaced: " + fullPageId;
+            },
+            null);
+
+        int grpId = 1;
+
+        // Hot pages are mostly pinned by some threads, cold pages are mostly not pinned, both are resolved by readers
+        // without the lock while they are loaded.
+        long[] hotPageIds = new long[16];
+
+        for (int i = 0; i < hotPageIds.length; i++)
+            hotPageIds[i] = PageIdUtils.pageId(0, FLAG_DATA, i + 1);
+
+        // Cold pages don't fit the memory, so pages are replaced all the time.
+        int coldPagesCnt = 4096;
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> holders = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                long pageId = hotPageIds[rnd.nextInt(hotPageIds.length)];
+
+                long page = memory.acquirePage(grpId, pageId);
+
+                try {
+                    assertEquals(new FullPageId(pageId, grpId), PageHeader.fullPageId(page));
+
+                    U.sleep(1);
+                }
+                finally {
+                    memory.releasePage(grpId, pageId, page);
+                }
+            }
+
+            return null;
+        }, 4, "hot-page-holder");
+
+        IgniteInternalFuture<?> readers = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                long pageId = rnd.nextBoolean() ?
+                    hotPageIds[rnd.nextInt(hotPageIds.length)] :
+                    PageIdUtils.pageId(1, FLAG_DATA, rnd.nextInt(coldPagesCnt) + 1);
+
+                long page = memory.acquirePage(grpId, pageId);
+
+                try {
+                    assertEquals(new FullPageId(pageId, grpId), PageHeader.fullPageId(page));
+                }
+                finally {
+                    memory.releasePage(grpId, pageId, page);
+                }
+            }
+
+            return null;
+        }, 16, "page-reader");
+
+        try {
+            U.sleep(5_000);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        holders.get(10_000);
+        readers.get(10_000);
+
+        assertEquals(0, memory.acquiredPages());
+
+        // Pin counter of a page is neither lost nor left behind.
+        for (long pageId : hotPageIds) {
+            long page = memory.acquirePage(grpId, pageId);
+
+            assertTrue(PageHeader.isAcquired(page));
+
+            memory.releasePage(grpId, pageId, page);
+
+            assertFalse(PageHeader.isAcquired(page));
+        }
+    }
+
     /**
      * @param mem Page memory.
      * @param fullPageId Full page ID to write.
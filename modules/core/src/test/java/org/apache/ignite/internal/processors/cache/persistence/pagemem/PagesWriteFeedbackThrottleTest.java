@@ -0,0 +1,237 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HitRateMetric;
+import org.apache.ignite.logger.NullLogger;
+import org.apache.ignite.spi.metric.noop.NoopMetricExporterSpi;
+import org.apache.ignite.testframework.junits.GridTestKernalContext;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.apache.ignite.testframework.junits.logger.GridTestLog4jLogger;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteFeedbackThrottle.MAX_DIRTY_RATIO;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PidThrottlingStrategy.MAX_INTEGRAL;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PidThrottlingStrategy.MAX_OUTPUT;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PidThrottlingStrategy.SETPOINT;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link PagesWriteFeedbackThrottle} and {@link PidThrottlingStrategy}.
+ */
+public class PagesWriteFeedbackThrottleTest extends GridCommonAbstractTest {
+    /** Total pages. */
+    private static final long TOTAL_PAGES = 1024 * 1024;
+
+    /** Controller update interval, seconds. */
+    private static final double DT = 0.1;
+
+    /** Page memory. */
+    private final PageMemoryImpl pageMem = mock(PageMemoryImpl.class);
+
+    /** Metric registry. */
+    private final MetricRegistry mreg = new MetricRegistry("test", "test", name -> null, name -> null, null);
+
+    {
+        when(pageMem.totalPages()).thenReturn(TOTAL_PAGES);
+
+        IgniteConfiguration cfg = new IgniteConfiguration().setMetricExporterSpi(new NoopMetricExporterSpi());
+
+        DataRegionMetricsImpl metrics = new DataRegionMetricsImpl(
+            new DataRegionConfiguration(),
+            new GridTestKernalContext(new GridTestLog4jLogger(), cfg));
+
+        when(pageMem.metrics()).thenReturn(metrics);
+    }
+
+    /**
+     * @return Throttle.
+     */
+    private PagesWriteFeedbackThrottle throttle() {
+        return new PagesWriteFeedbackThrottle(pageMem, null, () -> true, () -> 0, new NullLogger(), mreg);
+    }
+
+    /** */
+    @Test
+    public void testNoThrottlingUnderLowPressure() {
+        PagesWriteFeedbackThrottle throttle = throttle();
+
+        throttle.onWritten(10_000);
+
+        for (int i = 0; i < 100; i++)
+            throttle.update(DT, 5_000, 0.2, 0.1, 10_000, TOTAL_PAGES);
+
+        assertEquals(0, throttle.allowedRate());
+    }
+
+    /** */
+    @Test
+    public void testRateAtSetpointMatchesWriteBandwidth() {
+        PagesWriteFeedbackThrottle throttle = throttle();
+
+        throttle.onWritten(10_000);
+
+        throttle.update(DT, 0, SETPOINT * MAX_DIRTY_RATIO, 0, 0, TOTAL_PAGES);
+
+        assertEquals(10_000, throttle.allowedRate(), 10);
+    }
+
+    /** */
+    @Test
+    public void testRateDecreasesSmoothlyUnderHighPressure() {
+        PagesWriteFeedbackThrottle throttle = throttle();
+
+        throttle.onWritten(10_000);
+
+        long prevRate = Long.MAX_VALUE;
+
+        for (int i = 0; i < 20; i++) {
+            throttle.update(DT, 10_000, 0.65, 0, 0, TOTAL_PAGES);
+
+            long rate = throttle.allowedRate();
+
+            assertTrue("rate=" + rate, rate > 0 && rate < 10_000);
+            assertTrue("rate=" + rate + ", prevRate=" + prevRate, rate <= prevRate);
+
+            // No abrupt stall on a single update.
+            if (prevRate != Long.MAX_VALUE)
+                assertTrue("rate=" + rate + ", prevRate=" + prevRate, rate >= prevRate / 2);
+
+            prevRate = rate;
+        }
+    }
+
+    /** */
+    @Test
+    public void testProjectedDirtyPagesRaisePressure() {
+        PagesWriteFeedbackThrottle throttle = throttle();
+
+        throttle.onWritten(10_000);
+
+        // Writers dirty pages 4 times faster than the checkpoint writes the remaining 200K pages.
+        throttle.update(DT, 40_000, 0.3, 0, 200_000, TOTAL_PAGES);
+
+        assertTrue(throttle.pressure() > 1);
+        assertTrue(throttle.allowedRate() > 0 && throttle.allowedRate() < 10_000);
+
+        throttle.update(DT, 40_000, 0.3, 0, 0, TOTAL_PAGES);
+
+        assertEquals(0.3 / MAX_DIRTY_RATIO, throttle.pressure(), 1e-6);
+    }
+
+    /** */
+    @Test
+    public void testCheckpointBufferUsageRaisesPressure() {
+        PagesWriteFeedbackThrottle throttle = throttle();
+
+        throttle.onWritten(10_000);
+
+        throttle.update(DT, 10_000, 0.1, 0.9, 0, TOTAL_PAGES);
+
+        assertEquals(0.9, throttle.pressure(), 1e-6);
+        assertTrue(throttle.allowedRate() > 0 && throttle.allowedRate() < 10_000);
+    }
+
+    /** */
+    @Test
+    public void testFsyncLatencyGrowthLowersRate() {
+        PagesWriteFeedbackThrottle throttle = throttle();
+
+        throttle.onWritten(10_000);
+
+        throttle.updateFsyncFactor(TimeUnit.MILLISECONDS.toNanos(1));
+
+        assertEquals(1.0, throttle.fsyncFactor(), 1e-6);
+
+        throttle.update(DT, 0, SETPOINT * MAX_DIRTY_RATIO, 0, 0, TOTAL_PAGES);
+
+        long rate = throttle.allowedRate();
+
+        throttle.updateFsyncFactor(TimeUnit.MILLISECONDS.toNanos(2));
+
+        assertTrue(throttle.fsyncFactor() < 0.6);
+
+        throttle.update(DT, 0, SETPOINT * MAX_DIRTY_RATIO, 0, 0, TOTAL_PAGES);
+
+        assertTrue(throttle.allowedRate() < rate * 0.6);
+
+        throttle.updateFsyncFactor(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertEquals(PagesWriteFeedbackThrottle.MIN_FSYNC_FACTOR, throttle.fsyncFactor(), 1e-6);
+    }
+
+    /** */
+    @Test
+    public void testWritersArePaced() {
+        when(pageMem.getDirtyPagesRatio()).thenReturn(0.7);
+
+        PagesWriteFeedbackThrottle throttle = throttle();
+
+        throttle.onWritten(1_000);
+
+        throttle.update(DT, 1_000, 0.7, 0, 0, TOTAL_PAGES);
+
+        long rate = throttle.allowedRate();
+
+        assertTrue("rate=" + rate, rate > 0 && rate < 1_000);
+
+        int pages = 50;
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < pages; i++)
+            throttle.onMarkDirty(false);
+
+        long elapsed = System.nanoTime() - start;
+
+        // The first pages may pass without delay as a burst.
+        assertTrue("elapsed=" + elapsed, elapsed >= TimeUnit.SECONDS.toNanos(pages - 10) / rate);
+
+        HitRateMetric delay = mreg.findMetric("ThrottlingDelay");
+
+        assertTrue(delay.value() > 0);
+    }
+
+    /** */
+    @Test
+    public void testControllerIntegralIsBounded() {
+        PidThrottlingStrategy controller = new PidThrottlingStrategy();
+
+        for (int i = 0; i < 10_000; i++)
+            assertTrue(controller.update(2, DT));
+
+        // The integral doesn't wind up while the output is saturated.
+        assertEquals(MAX_OUTPUT, controller.output(), 1e-6);
+        assertTrue(controller.integral() < MAX_INTEGRAL);
+
+        // Recovers in a bounded number of updates once the pressure is low.
+        int updates = 0;
+
+        while (controller.update(0.3, DT)) {
+            assertTrue(++updates < 1000);
+        }
+
+        assertEquals(0, controller.output(), 0);
+    }
+}
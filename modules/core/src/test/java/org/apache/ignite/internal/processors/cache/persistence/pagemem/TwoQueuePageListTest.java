@@ -0,0 +1,449 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.IN;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.MAIN;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.TwoQueuePageList.NULL_IDX;
+
+/**
+ * Test 2Q lists implementation.
+ */
+public class TwoQueuePageListTest extends GridCommonAbstractTest {
+    /** Max pages count. */
+    private static final int MAX_PAGES_CNT = 20;
+
+    /** Memory provider. */
+    private static DirectMemoryProvider provider;
+
+    /** Memory region. */
+    private static DirectMemoryRegion region;
+
+    /** 2Q lists. */
+    private TwoQueuePageList queues;
+
+    /** */
+    @BeforeClass
+    public static void setUp() {
+        provider = new UnsafeMemoryProvider(log);
+        provider.initialize(new long[] {TwoQueuePageList.requiredMemory(MAX_PAGES_CNT)});
+
+        region = provider.nextRegion();
+    }
+
+    /** */
+    @AfterClass
+    public static void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /** */
+    @Test
+    public void testAddAndTouch() {
+        queues = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        assertEquals(5, queues.inLimit());
+        assertEquals(10, queues.ghostCapacity());
+
+        for (int i = 0; i < 4; i++)
+            assertFalse(queues.add(i, fingerprint(i)));
+
+        assertQueue(IN, 0, 1, 2, 3);
+        assertQueue(MAIN);
+
+        // Correlated references don't promote pages of A1in.
+        queues.touch(1);
+        queues.touch(0);
+
+        assertQueue(IN, 0, 1, 2, 3);
+
+        replace(queues.poll(), 100);
+        replace(queues.poll(), 101);
+
+        assertQueue(IN, 2, 3);
+        assertEquals(2, queues.ghostSize());
+
+        // Pages remembered in A1out go to Am.
+        assertTrue(queues.add(1, fingerprint(101)));
+        assertTrue(queues.add(0, fingerprint(100)));
+        assertFalse(queues.add(4, fingerprint(100)));
+
+        assertQueue(IN, 2, 3, 4);
+        assertQueue(MAIN, 1, 0);
+        assertEquals(0, queues.ghostSize());
+
+        queues.touch(1);
+
+        assertQueue(MAIN, 0, 1);
+
+        queues.touch(1);
+
+        assertQueue(MAIN, 0, 1);
+    }
+
+    /** */
+    @Test
+    public void testRemove() {
+        queues = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        queues.add(0, fingerprint(0));
+        queues.add(1, fingerprint(1));
+        queues.add(2, fingerprint(2));
+
+        replace(queues.poll(), 0);
+        replace(queues.poll(), 1);
+
+        queues.add(0, fingerprint(0));
+        queues.add(1, fingerprint(1));
+        queues.add(3, fingerprint(3));
+
+        assertQueue(IN, 2, 3);
+        assertQueue(MAIN, 0, 1);
+
+        queues.remove(3);
+        queues.remove(0);
+
+        assertQueue(IN, 2);
+        assertQueue(MAIN, 1);
+
+        queues.remove(2);
+        queues.remove(1);
+
+        assertQueue(IN);
+        assertQueue(MAIN);
+
+        // Removal of a page which is not in the queues is ignored.
+        queues.remove(5);
+
+        assertQueue(IN);
+        assertQueue(MAIN);
+    }
+
+    /** */
+    @Test
+    public void testPoll() {
+        queues = new TwoQueuePageList(8, region.address());
+
+        assertEquals(2, queues.inLimit());
+        assertEquals(NULL_IDX, queues.poll());
+
+        for (int i = 0; i < 3; i++) {
+            queues.add(i, fingerprint(i));
+
+            replace(queues.poll(), i);
+        }
+
+        for (int i = 0; i < 3; i++)
+            assertTrue(queues.add(i, fingerprint(i)));
+
+        for (int i = 3; i < 6; i++)
+            queues.add(i, fingerprint(i));
+
+        assertQueue(IN, 3, 4, 5);
+        assertQueue(MAIN, 0, 1, 2);
+
+        // A1in is over the limit.
+        assertEquals(3, queues.poll());
+
+        // A1in is within the limit.
+        int idx = queues.poll();
+
+        assertEquals(0, idx);
+
+        // Polled page is not affected by hits.
+        queues.touch(idx);
+
+        assertQueue(MAIN, 1, 2);
+
+        // Not replaced page is returned to its queue.
+        queues.addBack(idx);
+
+        assertQueue(IN, 4, 5);
+        assertQueue(MAIN, 1, 2, 0);
+
+        replace(queues.poll(), 1);
+
+        // Pages replaced from Am are not remembered.
+        assertFalse(queues.add(1, fingerprint(1)));
+
+        assertQueue(IN, 4, 5, 1);
+        assertQueue(MAIN, 2, 0);
+    }
+
+    /** */
+    @Test
+    public void testGhostQueueOverflow() {
+        queues = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        int cap = queues.ghostCapacity();
+
+        for (int i = 0; i < cap * 3; i++) {
+            queues.add(0, fingerprint(i));
+
+            replace(queues.poll(), i);
+
+            assertEquals(Math.min(i + 1, cap), queues.ghostSize());
+        }
+
+        // Only the latest fingerprints are remembered.
+        for (int i = cap * 3 - 1; i >= 0; i--) {
+            assertEquals(i >= cap * 2, queues.add(0, fingerprint(i)));
+
+            queues.remove(0);
+        }
+
+        assertEquals(0, queues.ghostSize());
+    }
+
+    /** */
+    @Test
+    public void testRandomOperations() {
+        int pagesCnt = MAX_PAGES_CNT;
+
+        queues = new TwoQueuePageList(pagesCnt, region.address());
+
+        Random rnd = new Random();
+
+        long seed = rnd.nextLong();
+
+        rnd.setSeed(seed);
+
+        log.info("Seed: " + seed);
+
+        // Reference model.
+        Deque<Integer> in = new ArrayDeque<>();
+        Deque<Integer> main = new ArrayDeque<>();
+        List<Long> ghost = new ArrayList<>(Collections.nCopies(queues.ghostCapacity(), 0L));
+        Map<Integer, Long> pages = new HashMap<>();
+        Set<Integer> free = new HashSet<>();
+        int ghostPos = 0;
+
+        for (int i = 0; i < pagesCnt; i++)
+            free.add(i);
+
+        for (int i = 0; i < 100_000; i++) {
+            if (!free.isEmpty() && rnd.nextInt(4) != 0) {
+                int idx = free.iterator().next();
+                long fp = fingerprint(rnd.nextInt(pagesCnt * 2));
+
+                if (pages.containsValue(fp))
+                    continue;
+
+                free.remove(idx);
+                pages.put(idx, fp);
+
+                int ghostIdx = ghost.indexOf(fp);
+                boolean expMain = ghostIdx >= 0;
+
+                if (expMain)
+                    ghost.set(ghostIdx, 0L);
+
+                assertEquals(expMain, queues.add(idx, fp));
+
+                (expMain ? main : in).addLast(idx);
+            }
+            else if (!pages.isEmpty() && rnd.nextInt(3) == 0) {
+                List<Integer> loaded = new ArrayList<>(pages.keySet());
+
+                int idx = loaded.get(rnd.nextInt(loaded.size()));
+
+                queues.touch(idx);
+
+                if (main.remove(idx))
+                    main.addLast(idx);
+            }
+            else if (!pages.isEmpty()) {
+                boolean fromIn = in.size() > queues.inLimit() || main.isEmpty();
+
+                int idx = queues.poll();
+
+                assertEquals((fromIn ? in : main).pollFirst(), (Integer)idx);
+
+                long fp = pages.remove(idx);
+
+                queues.onReplaced(idx, fp);
+
+                if (fromIn) {
+                    // A1out is a ring, the oldest position is overwritten.
+                    ghost.set(ghostPos, fp);
+
+                    ghostPos = (ghostPos + 1) % ghost.size();
+                }
+
+                free.add(idx);
+            }
+
+            assertQueue(IN, in.stream().mapToInt(Integer::intValue).toArray());
+            assertQueue(MAIN, main.stream().mapToInt(Integer::intValue).toArray());
+            assertEquals(ghost.stream().filter(fp -> fp != 0L).count(), queues.ghostSize());
+        }
+    }
+
+    /**
+     * Touches pages from several threads while another thread replaces them, like readers which find pages
+     * by the optimistic lookup do.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentTouchAndReplace() throws Exception {
+        queues = new TwoQueuePageList(MAX_PAGES_CNT, region.address());
+
+        int mainCnt = MAX_PAGES_CNT / 2;
+
+        // Half of the pages go to Am through A1out.
+        for (int i = 0; i < mainCnt; i++)
+            assertFalse(queues.add(i, fingerprint(i)));
+
+        for (int i = 0; i < mainCnt; i++)
+            replace(queues.poll(), i);
+
+        for (int i = 0; i < MAX_PAGES_CNT; i++)
+            assertEquals(i < mainCnt, queues.add(i, fingerprint(i)));
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> replaceFut = GridTestUtils.runAsync(() -> {
+            Random rnd = new Random();
+
+            while (!stop.get()) {
+                int idx = queues.poll();
+
+                // Page is pinned by a reader and can't be replaced.
+                if (rnd.nextBoolean())
+                    queues.addBack(idx);
+                else {
+                    replace(idx, idx);
+
+                    queues.add(idx, fingerprint(idx));
+                }
+            }
+        });
+
+        try {
+            GridTestUtils.runMultiThreaded(() -> {
+                Random rnd = new Random();
+
+                for (int i = 0; i < 200_000; i++)
+                    queues.touch(rnd.nextInt(MAX_PAGES_CNT));
+            }, 4, "touch");
+        }
+        finally {
+            stop.set(true);
+        }
+
+        replaceFut.get();
+
+        assertEquals(MAX_PAGES_CNT, queues.size(IN) + queues.size(MAIN));
+
+        assertLinks(IN);
+        assertLinks(MAIN);
+    }
+
+    /**
+     * @param pageIdx Polled page index.
+     * @param pageNum Page number to compute fingerprint.
+     */
+    private void replace(int pageIdx, long pageNum) {
+        assertTrue(pageIdx != NULL_IDX);
+
+        queues.onReplaced(pageIdx, fingerprint(pageNum));
+    }
+
+    /**
+     * @param pageNum Page number.
+     */
+    private static long fingerprint(long pageNum) {
+        return TwoQueuePageList.fingerprint(1, pageNum);
+    }
+
+    /**
+     * Checks links of the queue without knowing its content.
+     *
+     * @param q Queue.
+     */
+    private void assertLinks(int q) {
+        int prev = NULL_IDX;
+        int cnt = 0;
+
+        for (int pageIdx = queues.headIdx(q); pageIdx != NULL_IDX; pageIdx = queues.next(pageIdx)) {
+            assertEquals(prev, queues.prev(pageIdx));
+            assertEquals(q == MAIN, queues.mainPage(pageIdx));
+
+            prev = pageIdx;
+            cnt++;
+        }
+
+        assertEquals(prev, queues.tailIdx(q));
+        assertEquals(queues.size(q), cnt);
+    }
+
+    /**
+     * Checks queue content and links.
+     *
+     * @param q Queue.
+     * @param pageIdxs Expected page indexes from head to tail.
+     */
+    private void assertQueue(int q, int... pageIdxs) {
+        assertEquals(pageIdxs.length, queues.size(q));
+
+        if (pageIdxs.length == 0) {
+            assertEquals(NULL_IDX, queues.headIdx(q));
+            assertEquals(NULL_IDX, queues.tailIdx(q));
+
+            return;
+        }
+
+        assertEquals(pageIdxs[0], queues.headIdx(q));
+        assertEquals(pageIdxs[pageIdxs.length - 1], queues.tailIdx(q));
+
+        int prev = NULL_IDX;
+
+        for (int pageIdx : pageIdxs) {
+            assertEquals(prev, queues.prev(pageIdx));
+            assertEquals(q == MAIN, queues.mainPage(pageIdx));
+
+            if (prev != NULL_IDX)
+                assertEquals(pageIdx, queues.next(prev));
+
+            prev = pageIdx;
+        }
+
+        assertEquals(NULL_IDX, queues.next(prev));
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.query;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.cache.Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cache.query.PartitionQueryCursor;
+import org.apache.ignite.cache.query.PartitionedQueryCursor;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.lang.IgniteBiPredicate;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests scan queries which scan local partitions in parallel and scan queries consumed partition by partition.
+ */
+public class CacheParallelScanQueryTest extends GridCommonAbstractTest {
+    /** */
+    private static final int NODES = 3;
+
+    /** */
+    private static final int PARTS = 64;
+
+    /** */
+    private static final int KEYS = 10_000;
+
+    /** Threads which applied the filter. */
+    private static final Set<String> FILTER_THREADS = ConcurrentHashMap.newKeySet();
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGridsMultiThreaded(NODES);
+
+        startClientGrid(NODES);
+
+        IgniteCache<Integer, Integer> cache = grid(0).createCache(new CacheConfiguration<Integer, Integer>(
+            DEFAULT_CACHE_NAME)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+
+        try (IgniteDataStreamer<Integer, Integer> streamer = grid(0).dataStreamer(cache.getName())) {
+            for (int i = 0; i < KEYS; i++)
+                streamer.addData(i, i);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        FILTER_THREADS.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testParallelScan() throws Exception {
+        for (Ignite ignite : G.allGrids()) {
+            IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+            checkKeys(cache.query(new ScanQuery<Integer, Integer>().setParallelism(4).setPageSize(100)), 0, KEYS);
+
+            // Filter and transformer.
+            List<Integer> vals = cache.query(
+                new ScanQuery<Integer, Integer>((k, v) -> k % 2 == 0).setParallelism(8).setPageSize(10),
+                Cache.Entry::getValue).getAll();
+
+            assertEquals(KEYS / 2, vals.size());
+            assertEquals(KEYS / 2, new HashSet<>(vals).size());
+
+            for (Integer val : vals)
+                assertEquals(0, val % 2);
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLocalParallelScan() throws Exception {
+        Set<Integer> keys = new HashSet<>();
+
+        for (int i = 0; i < NODES; i++) {
+            IgniteEx ignite = grid(i);
+
+            Affinity<Integer> aff = ignite.affinity(DEFAULT_CACHE_NAME);
+
+            ScanQuery<Integer, Integer> qry = new ScanQuery<>(new ThreadRecordingFilter());
+
+            List<Cache.Entry<Integer, Integer>> entries = ignite.cache(DEFAULT_CACHE_NAME).query(qry
+                .setParallelism(4)
+                .setPageSize(50)
+                .setLocal(true)).getAll();
+
+            for (Cache.Entry<Integer, Integer> e : entries) {
+                assertTrue(aff.isPrimary(ignite.localNode(), e.getKey()));
+                assertTrue(keys.add(e.getKey()));
+            }
+        }
+
+        assertEquals(KEYS, keys.size());
+
+        assertTrue("Partitions were not scanned in parallel: " + FILTER_THREADS, FILTER_THREADS.size() > 1);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemoteParallelScan() throws Exception {
+        checkKeys(grid(NODES).cache(DEFAULT_CACHE_NAME).query(new ScanQuery<>(new ThreadRecordingFilter())
+            .setParallelism(4)
+            .setPageSize(50)), 0, KEYS);
+
+        assertTrue("Partitions were not scanned in parallel: " + FILTER_THREADS, FILTER_THREADS.size() > 1);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testParallelScanClose() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(NODES).cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < 10; i++) {
+            try (QueryCursor<Cache.Entry<Integer, Integer>> cur =
+                     cache.query(new ScanQuery<Integer, Integer>().setParallelism(4).setPageSize(10))) {
+                int cnt = 0;
+
+                for (Cache.Entry<Integer, Integer> ignored : cur) {
+                    if (++cnt == 100)
+                        break;
+                }
+            }
+        }
+
+        checkKeys(cache.query(new ScanQuery<Integer, Integer>().setParallelism(4)), 0, KEYS);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testParallelScanFilterError() throws Exception {
+        for (Ignite ignite : G.allGrids()) {
+            IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+            GridTestUtils.assertThrowsWithCause(() -> cache.query(new ScanQuery<Integer, Integer>((k, v) -> {
+                if (k == KEYS / 2)
+                    throw new IllegalStateException("Test");
+
+                return true;
+            }).setParallelism(4).setPageSize(10)).getAll(), IllegalStateException.class);
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPartitionCursors() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(NODES).cache(DEFAULT_CACHE_NAME);
+
+        Affinity<Integer> aff = grid(NODES).affinity(DEFAULT_CACHE_NAME);
+
+        Set<Integer> keys = ConcurrentHashMap.newKeySet();
+        Set<Integer> parts = ConcurrentHashMap.newKeySet();
+
+        AtomicInteger dups = new AtomicInteger();
+
+        try (PartitionedQueryCursor<Cache.Entry<Integer, Integer>> cur = (PartitionedQueryCursor<Cache.Entry<Integer,
+            Integer>>)cache.query(new ScanQuery<Integer, Integer>().setPartitionCursors(true).setPageSize(10))) {
+            GridTestUtils.runMultiThreaded(() -> {
+                PartitionQueryCursor<Cache.Entry<Integer, Integer>> partCur;
+
+                while ((partCur = cur.nextPartition()) != null) {
+                    try (PartitionQueryCursor<Cache.Entry<Integer, Integer>> c = partCur) {
+                        if (!parts.add(c.partition()))
+                            dups.incrementAndGet();
+
+                        for (Cache.Entry<Integer, Integer> e : c) {
+                            assertEquals(c.partition(), aff.partition(e.getKey()));
+
+                            if (!keys.add(e.getKey()))
+                                dups.incrementAndGet();
+                        }
+                    }
+                }
+            }, 4, "part-consumer");
+        }
+
+        assertEquals(0, dups.get());
+        assertEquals(PARTS, parts.size());
+        assertEquals(KEYS, keys.size());
+
+        // Iteration over the cursor takes remaining partitions.
+        try (PartitionedQueryCursor<Cache.Entry<Integer, Integer>> cur = (PartitionedQueryCursor<Cache.Entry<Integer,
+            Integer>>)cache.query(new ScanQuery<Integer, Integer>((k, v) -> k < 100).setPartitionCursors(true))) {
+            PartitionQueryCursor<Cache.Entry<Integer, Integer>> first = cur.nextPartition();
+
+            assertNotNull(first);
+
+            int firstCnt = first.getAll().size();
+
+            List<Cache.Entry<Integer, Integer>> rest = cur.getAll();
+
+            assertEquals(100, firstCnt + rest.size());
+
+            for (Cache.Entry<Integer, Integer> e : rest)
+                assertFalse(aff.partition(e.getKey()) == first.partition());
+
+            assertNull(cur.nextPartition());
+        }
+    }
+
+    /**
+     * @param cur Cursor.
+     * @param from First expected key.
+     * @param to Last expected key, exclusive.
+     */
+    private void checkKeys(QueryCursor<Cache.Entry<Integer, Integer>> cur, int from, int to) {
+        Collection<Cache.Entry<Integer, Integer>> entries = cur.getAll();
+
+        Set<Integer> keys = new HashSet<>();
+
+        for (Cache.Entry<Integer, Integer> e : entries) {
+            assertEquals(e.getKey(), e.getValue());
+            assertTrue("Duplicate key: " + e.getKey(), keys.add(e.getKey()));
+        }
+
+        assertEquals(to - from, keys.size());
+
+        for (int i = from; i < to; i++)
+            assertTrue(keys.contains(i));
+    }
+
+    /**
+     * Filter which records threads it is applied by.
+     */
+    private static class ThreadRecordingFilter implements IgniteBiPredicate<Integer, Integer> {
+        /** {@inheritDoc} */
+        @Override public boolean apply(Integer k, Integer v) {
+            FILTER_THREADS.add(Thread.currentThread().getName());
+
+            if (k % 1000 == 0)
+                doSleep(10);
+
+            return true;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.TreeMap;
@@ -122,6 +123,31 @@ public class IndexingSpiQuerySelfTest extends GridCommonAbstractTest {
             System.out.println(entry);
     }
 
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemove() throws Exception {
+        indexingSpi = new MyIndexingSpi();
+
+        Ignite ignite = startGrid(0);
+
+        CacheConfiguration<Integer, Integer> ccfg = cacheConfiguration(DEFAULT_CACHE_NAME);
+
+        IgniteCache<Integer, Integer> cache = ignite.createCache(ccfg);
+
+        for (int i = 0; i < 10; i++)
+            cache.put(i, i);
+
+        cache.remove(3);
+
+        List<Cache.Entry<Integer, Integer>> res = cache.query(new SpiQuery<Integer, Integer>().setArgs(2, 5)).getAll();
+
+        assertEquals(2, res.size());
+        assertEquals(2, (int)res.get(0).getKey());
+        assertEquals(4, (int)res.get(1).getKey());
+    }
+
     /**
      * @throws Exception If failed.
      */
@@ -277,7 +303,7 @@ public class IndexingSpiQuerySelfTest extends GridCommonAbstractTest {
 
         /** {@inheritDoc} */
         @Override public void remove(@Nullable String cacheName, Object key) throws IgniteSpiException {
-            // No-op.
+            idx.remove(key);
         }
     }
 
@@ -0,0 +1,517 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import javax.cache.Cache;
+import javax.cache.configuration.FactoryBuilder;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cache.store.AsyncCacheStore;
+import org.apache.ignite.cache.store.CacheStoreAdapter;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.CacheEntryImpl;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.HistogramMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Tests for {@link GridCacheAsyncWriteBehindStore}.
+ */
+public class GridCacheAsyncWriteBehindStoreSelfTest extends GridCommonAbstractTest {
+    /** Number of partitions. */
+    private static final int PARTS = 32;
+
+    /** Underlying store. */
+    private TestAsyncStore delegate;
+
+    /** Metric registry. */
+    private MetricRegistry mreg;
+
+    /** Tested store. */
+    private GridCacheAsyncWriteBehindStore<Integer, Integer> store;
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        if (store != null)
+            store.stop();
+
+        if (delegate != null)
+            delegate.exec.shutdownNow();
+
+        store = null;
+        delegate = null;
+
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @param coalescing Write coalescing flag.
+     * @param flushThreadCnt Maximum number of concurrent batches.
+     */
+    private void initStore(boolean coalescing, int flushThreadCnt) {
+        delegate = new TestAsyncStore();
+
+        mreg = new MetricRegistry("cache", "test", name -> null, name -> null, log);
+
+        store = new GridCacheAsyncWriteBehindStore<>(null, "", "", log, delegate,
+            new RendezvousAffinityFunction(false, PARTS), mreg);
+
+        store.setFlushFrequency(100);
+        store.setFlushSize(1024);
+        store.setBatchSize(64);
+        store.setWriteCoalescing(coalescing);
+        store.setFlushThreadCount(flushThreadCnt);
+
+        store.start();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOrderPerKeyWithCoalescing() throws Exception {
+        checkOrderPerKey(true);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testOrderPerKeyWithoutCoalescing() throws Exception {
+        checkOrderPerKey(false);
+    }
+
+    /**
+     * Updates keys concurrently and checks that the store sees updates of each key in the order they were made
+     * while batches complete in random order.
+     *
+     * @param coalescing Write coalescing flag.
+     * @throws Exception If failed.
+     */
+    private void checkOrderPerKey(boolean coalescing) throws Exception {
+        initStore(coalescing, 4);
+
+        delegate.maxDelay = 20;
+
+        int threads = 4;
+        int keysPerThread = 100;
+        int updates = 50;
+
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        multithreaded(() -> {
+            int base = threadIdx.getAndIncrement() * keysPerThread;
+
+            for (int i = 1; i <= updates; i++) {
+                for (int k = base; k < base + keysPerThread; k++) {
+                    if (isDelete(i))
+                        store.delete(k);
+                    else
+                        store.write(new CacheEntryImpl<>(k, i));
+                }
+            }
+
+            return null;
+        }, threads);
+
+        store.stop();
+
+        assertEquals(0, store.getWriteBehindBufferSize());
+        assertTrue(delegate.maxConcurrentBatches.get() > 1);
+
+        List<Integer> expHistory = new ArrayList<>();
+
+        for (int i = 1; i <= updates; i++)
+            expHistory.add(isDelete(i) ? null : i);
+
+        for (int k = 0; k < threads * keysPerThread; k++) {
+            assertEquals(Integer.valueOf(updates), delegate.map.get(k));
+
+            List<Integer> history = delegate.history.get(k);
+
+            if (coalescing) {
+                int prev = 0;
+
+                for (Integer val : history) {
+                    if (val == null)
+                        continue;
+
+                    assertTrue("Reordered update [key=" + k + ", history=" + history + ']', val > prev);
+
+                    prev = val;
+                }
+            }
+            else
+                assertEquals(expHistory, history);
+        }
+    }
+
+    /**
+     * @param upd Update number.
+     * @return {@code True} if the update deletes the key.
+     */
+    private static boolean isDelete(int upd) {
+        return upd % 10 == 5;
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLoadBufferedValues() throws Exception {
+        initStore(true, 2);
+
+        delegate.map.put(1, 1);
+        delegate.map.put(2, 2);
+
+        delegate.blocked = true;
+
+        store.write(new CacheEntryImpl<>(1, 10));
+        store.delete(2);
+        store.write(new CacheEntryImpl<>(3, 30));
+
+        store.forceFlush();
+
+        assertTrue(waitForCondition(() -> delegate.pending.size() > 0, 5_000));
+
+        // Some of the values are being written, the rest are queued.
+        assertEquals(Integer.valueOf(10), store.load(1));
+        assertNull(store.load(2));
+        assertEquals(Integer.valueOf(30), store.load(3));
+
+        Map<Integer, Integer> loaded = store.loadAll(Arrays.asList(1, 2, 3, 4));
+
+        assertEquals(2, loaded.size());
+        assertEquals(Integer.valueOf(10), loaded.get(1));
+        assertEquals(Integer.valueOf(30), loaded.get(3));
+
+        delegate.blocked = false;
+        delegate.releasePending();
+
+        store.stop();
+
+        assertEquals(Integer.valueOf(10), delegate.map.get(1));
+        assertFalse(delegate.map.containsKey(2));
+        assertEquals(Integer.valueOf(30), delegate.map.get(3));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentBatchesLimit() throws Exception {
+        initStore(false, 3);
+
+        delegate.blocked = true;
+
+        for (int k = 0; k < 1000; k++)
+            store.write(new CacheEntryImpl<>(k, k));
+
+        store.forceFlush();
+
+        assertTrue(waitForCondition(() -> delegate.pending.size() == 3, 5_000));
+
+        doSleep(200);
+
+        assertEquals(3, delegate.pending.size());
+        assertEquals(1000, store.getWriteBehindBufferSize());
+
+        delegate.blocked = false;
+        delegate.releasePending();
+
+        store.stop();
+
+        assertEquals(1000, delegate.map.size());
+        assertTrue(delegate.maxConcurrentBatches.get() <= 3);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRetryFailedBatches() throws Exception {
+        initStore(true, 2);
+
+        delegate.failures.set(Integer.MAX_VALUE);
+
+        for (int k = 0; k < 100; k++)
+            store.write(new CacheEntryImpl<>(k, k));
+
+        assertTrue(waitForCondition(() -> store.getWriteBehindErrorRetryCount() == 100, 5_000));
+
+        assertTrue(delegate.map.isEmpty());
+        assertEquals(100, store.getWriteBehindBufferSize());
+
+        delegate.failures.set(0);
+
+        assertTrue(waitForCondition(() -> store.getWriteBehindBufferSize() == 0, 5_000));
+
+        assertEquals(100, delegate.map.size());
+        assertEquals(0, store.getWriteBehindErrorRetryCount());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testAdaptiveBatchSize() throws Exception {
+        initStore(true, 2);
+
+        store.setTargetBatchLatency(10);
+
+        // Store takes a millisecond per entry, so batches should shrink to about 10 entries.
+        delegate.entryDelay = 1;
+
+        for (int k = 0; k < 2000; k++)
+            store.write(new CacheEntryImpl<>(k, k));
+
+        store.forceFlush();
+
+        assertTrue(waitForCondition(() -> store.currentBatchSize() < 32, 10_000));
+
+        store.stop();
+
+        assertEquals(2000, delegate.map.size());
+
+        HistogramMetric batchSizes = mreg.findMetric("WriteBehindBatchSize");
+        HistogramMetric queueAge = mreg.findMetric("WriteBehindQueueAge");
+        HistogramMetric batchLatency = mreg.findMetric("WriteBehindBatchLatency");
+
+        assertEquals(2000, total(queueAge));
+        assertEquals(total(batchSizes), total(batchLatency));
+        assertTrue(total(batchSizes) > 2000 / 64);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCache() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        CacheConfiguration<Integer, Integer> ccfg = new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+            .setCacheStoreFactory(FactoryBuilder.factoryOf(TestAsyncStore.class))
+            .setWriteThrough(true)
+            .setReadThrough(true)
+            .setWriteBehindEnabled(true)
+            .setWriteBehindFlushFrequency(60_000);
+
+        IgniteCache<Integer, Integer> cache = ignite.createCache(ccfg);
+
+        CacheStoreManager storeMgr = ignite.cachex(DEFAULT_CACHE_NAME).context().store();
+
+        assertTrue(storeMgr.store() instanceof GridCacheAsyncWriteBehindStore);
+
+        GridCacheWriteBehindStore<?, ?> wbStore = (GridCacheWriteBehindStore<?, ?>)storeMgr.store();
+
+        for (int k = 0; k < 100; k++)
+            cache.put(k, k);
+
+        cache.remove(0);
+
+        assertEquals(100, wbStore.getWriteBehindBufferSize());
+
+        storeMgr.forceFlush();
+
+        assertTrue(waitForCondition(() -> wbStore.getWriteBehindBufferSize() == 0, 5_000));
+
+        MetricRegistry cacheReg = ignite.context().metric().registry(cacheMetricsRegistryName(DEFAULT_CACHE_NAME,
+            false));
+
+        HistogramMetric batchSizes = cacheReg.findMetric("WriteBehindBatchSize");
+
+        assertNotNull(batchSizes);
+        assertTrue(total(batchSizes) > 0);
+    }
+
+    /**
+     * @param hist Histogram.
+     * @return Total number of measurements.
+     */
+    private static long total(HistogramMetric hist) {
+        long total = 0;
+
+        for (long cnt : hist.value())
+            total += cnt;
+
+        return total;
+    }
+
+    /**
+     * Asynchronous store completing batches in a thread pool.
+     */
+    public static class TestAsyncStore extends CacheStoreAdapter<Integer, Integer>
+        implements AsyncCacheStore<Integer, Integer> {
+        /** Executor. */
+        private final ExecutorService exec = Executors.newFixedThreadPool(8, r -> {
+            Thread t = new Thread(r, "test-async-store");
+
+            t.setDaemon(true);
+
+            return t;
+        });
+
+        /** Stored values. */
+        private final Map<Integer, Integer> map = new ConcurrentHashMap<>();
+
+        /** Written values of each key, deletes are recorded as {@code null}. */
+        private final Map<Integer, List<Integer>> history = new ConcurrentHashMap<>();
+
+        /** Batches waiting to be released. */
+        private final ConcurrentLinkedQueue<Runnable> pending = new ConcurrentLinkedQueue<>();
+
+        /** Number of batches being written. */
+        private final AtomicInteger concurrentBatches = new AtomicInteger();
+
+        /** Maximum number of batches written concurrently. */
+        private final AtomicInteger maxConcurrentBatches = new AtomicInteger();
+
+        /** Number of calls to fail. */
+        private final AtomicInteger failures = new AtomicInteger();
+
+        /** Whether batches are held until released. */
+        private volatile boolean blocked;
+
+        /** Maximum random delay of a batch in milliseconds. */
+        private volatile int maxDelay;
+
+        /** Delay per entry in milliseconds. */
+        private volatile int entryDelay;
+
+        /** {@inheritDoc} */
+        @Override public Integer load(Integer key) {
+            return map.get(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void write(Cache.Entry<? extends Integer, ? extends Integer> entry) {
+            map.put(entry.getKey(), entry.getValue());
+        }
+
+        /** {@inheritDoc} */
+        @Override public void delete(Object key) {
+            map.remove(key);
+        }
+
+        /** {@inheritDoc} */
+        @Override public CompletionStage<Void> writeAllAsync(
+            Collection<Cache.Entry<? extends Integer, ? extends Integer>> entries) {
+            return submit(entries.size(), () -> {
+                for (Cache.Entry<? extends Integer, ? extends Integer> e : entries) {
+                    map.put(e.getKey(), e.getValue());
+
+                    history(e.getKey()).add(e.getValue());
+                }
+            });
+        }
+
+        /** {@inheritDoc} */
+        @Override public CompletionStage<Void> deleteAllAsync(Collection<?> keys) {
+            return submit(keys.size(), () -> {
+                for (Object key : keys) {
+                    map.remove(key);
+
+                    history((Integer)key).add(null);
+                }
+            });
+        }
+
+        /**
+         * @param key Key.
+         * @return Written values of the key.
+         */
+        private List<Integer> history(Integer key) {
+            return history.computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()));
+        }
+
+        /**
+         * @param size Batch size.
+         * @param apply Applies the batch.
+         * @return Completion stage.
+         */
+        private CompletionStage<Void> submit(int size, Runnable apply) {
+            CompletableFuture<Void> fut = new CompletableFuture<>();
+
+            int cnt = concurrentBatches.incrementAndGet();
+
+            maxConcurrentBatches.accumulateAndGet(cnt, Math::max);
+
+            Consumer<Void> finish = ignored -> {
+                try {
+                    int delay = (maxDelay > 0 ? ThreadLocalRandom.current().nextInt(maxDelay) : 0) +
+                        entryDelay * size;
+
+                    if (delay > 0)
+                        TimeUnit.MILLISECONDS.sleep(delay);
+
+                    concurrentBatches.decrementAndGet();
+
+                    if (failures.getAndUpdate(f -> Math.max(f - 1, 0)) > 0)
+                        fut.completeExceptionally(new IllegalStateException("Test failure."));
+                    else {
+                        apply.run();
+
+                        fut.complete(null);
+                    }
+                }
+                catch (Throwable e) {
+                    fut.completeExceptionally(e);
+                }
+            };
+
+            if (blocked)
+                pending.add(() -> exec.execute(() -> finish.accept(null)));
+            else
+                exec.execute(() -> finish.accept(null));
+
+            return fut;
+        }
+
+        /**
+         * Releases held batches.
+         */
+        private void releasePending() {
+            Runnable r;
+
+            while ((r = pending.poll()) != null)
+                r.run();
+        }
+    }
+}
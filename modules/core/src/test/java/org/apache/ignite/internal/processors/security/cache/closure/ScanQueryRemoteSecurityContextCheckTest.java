@@ -21,6 +21,7 @@ import java.util.Collections;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.processors.security.AbstractCacheOperationRemoteSecurityContextCheckTest;
 import org.apache.ignite.internal.util.typedef.G;
 import org.apache.ignite.lang.IgniteRunnable;
@@ -39,6 +40,9 @@ import static org.apache.ignite.Ignition.localIgnite;
  */
 @RunWith(JUnit4.class)
 public class ScanQueryRemoteSecurityContextCheckTest extends AbstractCacheOperationRemoteSecurityContextCheckTest {
+    /** Number of entries on the 'check' node, several of them are scanned by the query pool in parallel scans. */
+    private static final int KEYS = 16;
+
     /** {@inheritDoc} */
     @Override protected void beforeTestsStarted() throws Exception {
         startGridAllowAll(SRV_INITIATOR);
@@ -63,16 +67,18 @@ public class ScanQueryRemoteSecurityContextCheckTest extends AbstractCacheOperat
         verifier
             .expect(SRV_RUN, 1)
             .expect(CLNT_RUN, 1)
-            .expect(SRV_CHECK, 2)
-            .expect(SRV_ENDPOINT, 2)
-            .expect(CLNT_ENDPOINT, 2);
+            .expect(SRV_CHECK, 2 * KEYS)
+            .expect(SRV_ENDPOINT, 2 * KEYS)
+            .expect(CLNT_ENDPOINT, 2 * KEYS);
     }
 
     /** */
     @Test
     public void test() throws Exception {
-        grid(SRV_INITIATOR).cache(CACHE_NAME)
-            .put(prmKey(grid(SRV_CHECK)), 1);
+        IgniteEx check = grid(SRV_CHECK);
+
+        for (Integer key : findKeys(check.localNode(), check.cache(CACHE_NAME), KEYS, 0, 0))
+            grid(SRV_INITIATOR).cache(CACHE_NAME).put(key, 1);
 
         awaitPartitionMapExchange();
 
@@ -102,6 +108,21 @@ public class ScanQueryRemoteSecurityContextCheckTest extends AbstractCacheOperat
                     new ScanQuery<>((k, v) -> true),
                     createRunner(SRV_CHECK)
                 ).getAll();
+            },
+            // Partitions are scanned by the query pool threads.
+            () -> {
+                VERIFIER.register();
+
+                localIgnite().cache(CACHE_NAME).query(new ScanQuery<>(createRunner(SRV_CHECK)).setParallelism(4))
+                    .getAll();
+            },
+            () -> {
+                VERIFIER.register();
+
+                localIgnite().cache(CACHE_NAME).query(
+                    new ScanQuery<>((k, v) -> true).setParallelism(4),
+                    createRunner(SRV_CHECK)
+                ).getAll();
             }
         );
     }
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.GridJobExecuteRequest;
+import org.apache.ignite.internal.TestRecordingCommunicationSpi;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.services.Service;
+import org.apache.ignite.services.ServiceContext;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_EVENT_DRIVEN_SERVICE_PROCESSOR_ENABLED;
+
+/**
+ * Tests direct calls of remote services.
+ */
+@RunWith(Parameterized.class)
+public class ServiceDirectCallTest extends GridCommonAbstractTest {
+    /** Service name. */
+    private static final String SVC_NAME = "test-svc";
+
+    /** Nodes count. */
+    private static final int NODES_CNT = 3;
+
+    /** Number of concurrent asynchronous calls. */
+    private static final int CALLS_CNT = 4;
+
+    /** Latch awaited by the concurrent calls. */
+    private static volatile CountDownLatch callsLatch;
+
+    /** Whether the event-driven service processor is used. */
+    @Parameterized.Parameter
+    public boolean evtDriven;
+
+    /** @return Test parameters. */
+    @Parameterized.Parameters(name = "eventDriven={0}")
+    public static Collection<?> parameters() {
+        return Arrays.asList(false, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setCommunicationSpi(new TestRecordingCommunicationSpi());
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        System.setProperty(IGNITE_EVENT_DRIVEN_SERVICE_PROCESSOR_ENABLED, String.valueOf(evtDriven));
+
+        startGrids(NODES_CNT);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        System.clearProperty(IGNITE_EVENT_DRIVEN_SERVICE_PROCESSOR_ENABLED);
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that remote calls are sent as service call messages and the method is identified by its ID after
+     * the first call.
+     */
+    @Test
+    public void testDirectCall() {
+        Ignite ignite = grid(0);
+
+        deployOnNode(1);
+
+        TestService svc = ignite.services().serviceProxy(SVC_NAME, TestService.class, false);
+
+        TestRecordingCommunicationSpi spi = TestRecordingCommunicationSpi.spi(ignite);
+
+        spi.record(ServiceCallRequest.class, GridJobExecuteRequest.class);
+
+        for (int i = 0; i < 10; i++)
+            assertEquals(i + 1, svc.add(i, 1));
+
+        assertEquals(getTestIgniteInstanceName(1), svc.nodeName());
+
+        List<ServiceCallRequest> reqs = new ArrayList<>();
+
+        for (Object msg : spi.recordedMessages(true)) {
+            if (msg instanceof ServiceCallRequest)
+                reqs.add((ServiceCallRequest)msg);
+            else {
+                // The cache based service processor gets service topology with a compute job.
+                assertFalse("Unexpected compute job: " + msg, evtDriven);
+            }
+        }
+
+        assertEquals(11, reqs.size());
+
+        for (int i = 0; i < reqs.size(); i++) {
+            ServiceCallRequest req = reqs.get(i);
+
+            if (i == 0 || i == 10) {
+                assertEquals(-1, req.methodId());
+                assertNotNull(req.methodName());
+                assertNotNull(req.argumentTypesBytes());
+            }
+            else {
+                assertTrue(req.methodId() >= 0);
+                assertNull(req.methodName());
+                assertNull(req.argumentTypesBytes());
+            }
+        }
+    }
+
+    /**
+     * Checks that asynchronous calls to the same node are executed concurrently.
+     */
+    @Test
+    public void testAsyncCalls() {
+        Ignite ignite = grid(0);
+
+        deployOnNode(1);
+
+        TestServiceAsync svc = ignite.services().serviceProxy(SVC_NAME, TestServiceAsync.class, false);
+
+        callsLatch = new CountDownLatch(CALLS_CNT);
+
+        List<IgniteFuture<Integer>> futs = new ArrayList<>();
+
+        // Every call waits until all calls are started.
+        for (int i = 0; i < CALLS_CNT; i++)
+            futs.add(svc.awaitAll(i));
+
+        for (int i = 0; i < CALLS_CNT; i++)
+            assertEquals(i, (int)futs.get(i).get(getTestTimeout()));
+
+        assertEquals(3, (int)svc.add(1, 2).get());
+
+        // Local service is called through the asynchronous interface too.
+        TestServiceAsync locSvc = grid(1).services().serviceProxy(SVC_NAME, TestServiceAsync.class, false);
+
+        assertEquals(getTestIgniteInstanceName(1), locSvc.nodeName().get());
+    }
+
+    /**
+     * Checks that exceptions of service methods are propagated to the caller.
+     */
+    @Test
+    public void testServiceException() {
+        Ignite ignite = grid(0);
+
+        deployOnNode(1);
+
+        TestService svc = ignite.services().serviceProxy(SVC_NAME, TestService.class, false);
+
+        GridTestUtils.assertThrows(log, () -> {
+            svc.fail();
+
+            return null;
+        }, TestServiceException.class, "Test exception");
+
+        TestServiceAsync asyncSvc = ignite.services().serviceProxy(SVC_NAME, TestServiceAsync.class, false);
+
+        IgniteFuture<Void> fut = asyncSvc.fail();
+
+        try {
+            fut.get();
+
+            fail("Exception is expected.");
+        }
+        catch (IgniteException e) {
+            assertTrue(X.hasCause(e, "Test exception", TestServiceException.class));
+        }
+    }
+
+    /**
+     * Checks that a call is retried on another node if the node executing the call leaves the cluster.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testNodeLeft() throws Exception {
+        Ignite ignite = grid(0);
+
+        ignite.services(ignite.cluster().forRemotes()).deployNodeSingleton(SVC_NAME, new TestServiceImpl());
+
+        TestServiceAsync svc = ignite.services().serviceProxy(SVC_NAME, TestServiceAsync.class, true);
+
+        String nodeName = svc.nodeName().get();
+
+        int idx = getTestIgniteInstanceIndex(nodeName);
+
+        // The response is lost, the call is completed when the node leaves the cluster.
+        TestRecordingCommunicationSpi.spi(grid(idx)).blockMessages(ServiceCallResponse.class, ignite.name());
+
+        IgniteFuture<String> fut = svc.nodeName();
+
+        TestRecordingCommunicationSpi.spi(grid(idx)).waitForBlocked();
+
+        stopGrid(idx);
+
+        assertEquals(getTestIgniteInstanceName(idx == 1 ? 2 : 1), fut.get(getTestTimeout()));
+    }
+
+    /**
+     * @param idx Index of the node to deploy the test service on.
+     */
+    private void deployOnNode(int idx) {
+        grid(0).services(grid(0).cluster().forNode(grid(idx).localNode()))
+            .deployNodeSingleton(SVC_NAME, new TestServiceImpl());
+    }
+
+    /**
+     * Test service.
+     */
+    public interface TestService {
+        /**
+         * @param a First value.
+         * @param b Second value.
+         * @return Sum.
+         */
+        public int add(int a, int b);
+
+        /**
+         * @return Name of the node executing the call.
+         */
+        public String nodeName();
+
+        /**
+         * Throws {@link TestServiceException}.
+         */
+        public void fail();
+
+        /**
+         * Waits until {@link #CALLS_CNT} calls of the method are started.
+         *
+         * @param i Value.
+         * @return Passed value.
+         */
+        public int awaitAll(int i);
+    }
+
+    /**
+     * Asynchronous interface of the test service.
+     */
+    public interface TestServiceAsync {
+        /**
+         * @param a First value.
+         * @param b Second value.
+         * @return Future completed with the sum.
+         */
+        public IgniteFuture<Integer> add(int a, int b);
+
+        /**
+         * @return Future completed with the name of the node executing the call.
+         */
+        public IgniteFuture<String> nodeName();
+
+        /**
+         * @return Future completed with {@link TestServiceException}.
+         */
+        public IgniteFuture<Void> fail();
+
+        /**
+         * @param i Value.
+         * @return Future completed with the passed value.
+         */
+        public IgniteFuture<Integer> awaitAll(int i);
+    }
+
+    /**
+     * Test service implementation.
+     */
+    private static class TestServiceImpl implements TestService, Service {
+        /** */
+        @IgniteInstanceResource
+        private Ignite ignite;
+
+        /** {@inheritDoc} */
+        @Override public void cancel(ServiceContext ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void init(ServiceContext ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void execute(ServiceContext ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public int add(int a, int b) {
+            return a + b;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String nodeName() {
+            return ignite.name();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void fail() {
+            throw new TestServiceException("Test exception");
+        }
+
+        /** {@inheritDoc} */
+        @Override public int awaitAll(int i) {
+            callsLatch.countDown();
+
+            try {
+                if (!callsLatch.await(10, TimeUnit.SECONDS))
+                    throw new IllegalStateException("Calls are not executed concurrently.");
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteException(e);
+            }
+
+            return i;
+        }
+    }
+
+    /**
+     * Test service exception.
+     */
+    private static class TestServiceException extends RuntimeException {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * @param msg Message.
+         */
+        TestServiceException(String msg) {
+            super(msg);
+        }
+    }
+}
@@ -52,6 +52,7 @@ import org.apache.ignite.internal.processors.cache.distributed.replicated.GridCa
 import org.apache.ignite.internal.processors.cache.distributed.replicated.GridCacheReplicatedTxMultiThreadedSelfTest;
 import org.apache.ignite.internal.processors.cache.distributed.replicated.GridCacheReplicatedTxSingleThreadedSelfTest;
 import org.apache.ignite.internal.processors.cache.distributed.replicated.GridCacheReplicatedTxTimeoutSelfTest;
+import org.apache.ignite.internal.processors.cache.store.GridCacheAsyncWriteBehindStoreSelfTest;
 import org.apache.ignite.internal.processors.cache.store.GridCacheWriteBehindStoreMultithreadedSelfTest;
 import org.apache.ignite.internal.processors.cache.store.GridCacheWriteBehindStoreSelfTest;
 import org.apache.ignite.internal.processors.cache.store.IgnteCacheClientWriteBehindStoreAtomicTest;
@@ -112,6 +113,7 @@ public class IgniteCacheMvccTestSuite3 {
         // Other non-tx tests
         ignoredTests.add(GridCacheWriteBehindStoreSelfTest.class);
         ignoredTests.add(GridCacheWriteBehindStoreMultithreadedSelfTest.class);
+        ignoredTests.add(GridCacheAsyncWriteBehindStoreSelfTest.class);
 
         ignoredTests.add(GridCacheVersionSelfTest.class);
         ignoredTests.add(GridCacheMixedModeSelfTest.class);
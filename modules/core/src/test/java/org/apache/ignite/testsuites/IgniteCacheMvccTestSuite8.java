@@ -53,6 +53,7 @@ import org.apache.ignite.internal.processors.cache.eviction.paged.RandomLruPageE
 import org.apache.ignite.internal.processors.cache.eviction.paged.RandomLruPageEvictionWithRebalanceTest;
 import org.apache.ignite.internal.processors.cache.eviction.sorted.SortedEvictionPolicyFactorySelfTest;
 import org.apache.ignite.internal.processors.cache.eviction.sorted.SortedEvictionPolicySelfTest;
+import org.apache.ignite.internal.processors.cache.eviction.tinylfu.TinyLfuEvictionPolicySelfTest;
 import org.apache.ignite.internal.processors.cache.local.GridCacheAtomicLocalMetricsNoStoreSelfTest;
 import org.apache.ignite.internal.processors.cache.local.GridCacheAtomicLocalMetricsSelfTest;
 import org.apache.ignite.internal.processors.cache.local.GridCacheAtomicLocalTckMetricsSelfTestImpl;
@@ -109,6 +110,7 @@ public class IgniteCacheMvccTestSuite8 {
         ignoredTests.add(FifoEvictionPolicySelfTest.class);
         ignoredTests.add(SortedEvictionPolicySelfTest.class);
         ignoredTests.add(LruEvictionPolicySelfTest.class);
+        ignoredTests.add(TinyLfuEvictionPolicySelfTest.class);
         ignoredTests.add(FifoEvictionPolicyFactorySelfTest.class);
         ignoredTests.add(SortedEvictionPolicyFactorySelfTest.class);
         ignoredTests.add(LruEvictionPolicyFactorySelfTest.class);
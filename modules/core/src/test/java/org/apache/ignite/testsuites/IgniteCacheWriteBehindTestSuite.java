@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import org.apache.ignite.internal.processors.cache.GridCachePartitionedWritesTest;
+import org.apache.ignite.internal.processors.cache.store.GridCacheAsyncWriteBehindStoreSelfTest;
 import org.apache.ignite.internal.processors.cache.store.GridCacheWriteBehindStoreLocalTest;
 import org.apache.ignite.internal.processors.cache.store.GridCacheWriteBehindStoreMultithreadedSelfTest;
 import org.apache.ignite.internal.processors.cache.store.GridCacheWriteBehindStorePartitionedMultiNodeSelfTest;
@@ -63,6 +64,7 @@ public class IgniteCacheWriteBehindTestSuite {
         GridTestUtils.addTestIfNeeded(suite, IgnteCacheClientWriteBehindStoreAtomicTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, IgnteCacheClientWriteBehindStoreTxTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, IgnteCacheClientWriteBehindStoreNonCoalescingTest.class, ignoredTests);
+        GridTestUtils.addTestIfNeeded(suite, GridCacheAsyncWriteBehindStoreSelfTest.class, ignoredTests);
 
         return suite;
     }
@@ -26,6 +26,7 @@ import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsDefragme
 import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsDefragmentationTest;
 import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsTaskCancelingTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IgnitePdsPartitionPreloadTest;
+import org.apache.ignite.internal.processors.cache.persistence.defragmentation.OnlineDefragmentationTest;
 import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManagerTest;
 import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.SharedPageLockTrackerTest;
 import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.dumpprocessors.ToFileDumpProcessorTest;
@@ -76,6 +77,7 @@ public class IgnitePdsMvccTestSuite4 {
         ignoredTests.add(IgnitePdsDefragmentationTest.class);
         ignoredTests.add(IgnitePdsDefragmentationRandomLruEvictionTest.class);
         ignoredTests.add(IgnitePdsDefragmentationEncryptionTest.class);
+        ignoredTests.add(OnlineDefragmentationTest.class);
 
         return IgnitePdsTestSuite4.suite(ignoredTests);
     }
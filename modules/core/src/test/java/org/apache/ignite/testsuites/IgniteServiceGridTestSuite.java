@@ -52,6 +52,7 @@ import org.apache.ignite.internal.processors.service.ServiceDeploymentOnActivati
 import org.apache.ignite.internal.processors.service.ServiceDeploymentOnClientDisconnectTest;
 import org.apache.ignite.internal.processors.service.ServiceDeploymentOutsideBaselineTest;
 import org.apache.ignite.internal.processors.service.ServiceDeploymentProcessIdSelfTest;
+import org.apache.ignite.internal.processors.service.ServiceDirectCallTest;
 import org.apache.ignite.internal.processors.service.ServiceDeploymentProcessingOnCoordinatorFailTest;
 import org.apache.ignite.internal.processors.service.ServiceDeploymentProcessingOnCoordinatorLeftTest;
 import org.apache.ignite.internal.processors.service.ServiceDeploymentProcessingOnNodesFailTest;
@@ -120,6 +121,7 @@ import org.junit.runners.Suite;
     GridServiceDeployClusterReadOnlyModeTest.class,
     GridServiceClusterReadOnlyModeTest.class,
     IgniteServiceCallContextTest.class,
+    ServiceDirectCallTest.class,
 })
 public class IgniteServiceGridTestSuite {
     /** Old service grid property. */
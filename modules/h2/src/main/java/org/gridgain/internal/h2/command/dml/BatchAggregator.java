@@ -0,0 +1,723 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.gridgain.internal.h2.command.dml;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import org.gridgain.internal.h2.api.ErrorCode;
+import org.gridgain.internal.h2.engine.Session;
+import org.gridgain.internal.h2.expression.Expression;
+import org.gridgain.internal.h2.expression.ExpressionColumn;
+import org.gridgain.internal.h2.expression.Parameter;
+import org.gridgain.internal.h2.expression.ValueExpression;
+import org.gridgain.internal.h2.expression.aggregate.Aggregate;
+import org.gridgain.internal.h2.expression.aggregate.AggregateData;
+import org.gridgain.internal.h2.expression.aggregate.AggregateDataCount;
+import org.gridgain.internal.h2.expression.aggregate.AggregateDataDefault;
+import org.gridgain.internal.h2.expression.aggregate.AggregateType;
+import org.gridgain.internal.h2.expression.condition.Comparison;
+import org.gridgain.internal.h2.expression.condition.ConditionAndOr;
+import org.gridgain.internal.h2.message.DbException;
+import org.gridgain.internal.h2.table.Column;
+import org.gridgain.internal.h2.table.TableFilter;
+import org.gridgain.internal.h2.value.DataType;
+import org.gridgain.internal.h2.value.Value;
+import org.gridgain.internal.h2.value.ValueDecimal;
+import org.gridgain.internal.h2.value.ValueDouble;
+import org.gridgain.internal.h2.value.ValueLong;
+import org.gridgain.internal.h2.value.ValueNull;
+
+/**
+ * Evaluates simple aggregate queries over batches of primitive column values.
+ * <p>
+ * Applicable to single table queries without GROUP BY, HAVING and window functions, where every select
+ * expression is COUNT(*) or a plain COUNT, SUM, AVG, MIN or MAX over a numeric column and the condition is
+ * a conjunction of comparisons of numeric columns with constants or parameters. Rows are read from the table
+ * filter into column vectors, the condition is evaluated into a selection vector and aggregates are accumulated
+ * in primitives, so no expression tree is evaluated and no intermediate values are allocated per row.
+ * <p>
+ * Accumulated results are merged into the aggregate data of the select, the values are the same as
+ * the ones produced by the row by row evaluation.
+ */
+final class BatchAggregator {
+    /** Number of rows read into vectors at once. */
+    static final int BATCH_SIZE = 1024;
+
+    /** Table filter. */
+    private final TableFilter filter;
+
+    /** Columns read into vectors. */
+    private final ArrayList<Column> cols = new ArrayList<>();
+
+    /** Whether the column at the same position is read into a double vector. */
+    private boolean[] floating;
+
+    /** Condition conjuncts. */
+    private final ArrayList<Predicate> preds = new ArrayList<>();
+
+    /** Aggregates. */
+    private final ArrayList<Accumulator> accs = new ArrayList<>();
+
+    /**
+     * @param filter Table filter.
+     */
+    private BatchAggregator(TableFilter filter) {
+        this.filter = filter;
+    }
+
+    /**
+     * Creates batch aggregator for the select if it is applicable.
+     *
+     * @param filter The only table filter of the select.
+     * @param expressions Select expressions.
+     * @param condition Condition or {@code null}.
+     * @return Batch aggregator or {@code null} if the query is not supported.
+     */
+    static BatchAggregator create(TableFilter filter, ArrayList<Expression> expressions, Expression condition) {
+        if (filter.getJoin() != null || filter.getNestedJoin() != null)
+            return null;
+
+        BatchAggregator agg = new BatchAggregator(filter);
+
+        for (Expression expr : expressions) {
+            if (!agg.addAggregate(expr.getNonAliasExpression()))
+                return null;
+        }
+
+        if (condition != null && !agg.addCondition(condition))
+            return null;
+
+        agg.floating = new boolean[agg.cols.size()];
+
+        for (int i = 0; i < agg.floating.length; i++)
+            agg.floating[i] = isFloating(agg.cols.get(i).getType().getValueType());
+
+        return agg;
+    }
+
+    /**
+     * @param expr Select expression.
+     * @return {@code true} if the expression is supported.
+     */
+    private boolean addAggregate(Expression expr) {
+        if (!(expr instanceof Aggregate))
+            return false;
+
+        Aggregate agg = (Aggregate)expr;
+
+        AggregateType type = agg.getAggregateType();
+
+        if (type == AggregateType.COUNT_ALL) {
+            accs.add(new Accumulator(agg, type, -1));
+
+            return true;
+        }
+
+        if (type != AggregateType.COUNT && type != AggregateType.SUM && type != AggregateType.AVG &&
+            type != AggregateType.MIN && type != AggregateType.MAX)
+            return false;
+
+        int col = columnIndex(agg.getPlainArgument());
+
+        if (col < 0)
+            return false;
+
+        accs.add(new Accumulator(agg, type, col));
+
+        return true;
+    }
+
+    /**
+     * @param cond Condition.
+     * @return {@code true} if the condition is supported.
+     */
+    private boolean addCondition(Expression cond) {
+        if (cond instanceof ConditionAndOr) {
+            ConditionAndOr and = (ConditionAndOr)cond;
+
+            return and.getAndOrType() == ConditionAndOr.AND && addCondition(and.getSubexpression(0)) &&
+                addCondition(and.getSubexpression(1));
+        }
+
+        if (!(cond instanceof Comparison))
+            return false;
+
+        Comparison cmp = (Comparison)cond;
+
+        int cmpType = cmp.getCompareType();
+
+        if (cmpType == Comparison.IS_NULL || cmpType == Comparison.IS_NOT_NULL) {
+            int col = columnIndex(cmp.getSubexpression(0));
+
+            if (col < 0)
+                return false;
+
+            preds.add(new Predicate(col, cmpType, null));
+
+            return true;
+        }
+
+        if (cmpType != Comparison.EQUAL && cmpType != Comparison.NOT_EQUAL && cmpType != Comparison.BIGGER &&
+            cmpType != Comparison.BIGGER_EQUAL && cmpType != Comparison.SMALLER &&
+            cmpType != Comparison.SMALLER_EQUAL)
+            return false;
+
+        Expression left = cmp.getSubexpression(0);
+        Expression right = cmp.getSubexpression(1);
+
+        if (isConstant(left)) {
+            Expression tmp = left;
+
+            left = right;
+            right = tmp;
+
+            cmpType = reverse(cmpType);
+        }
+
+        int col = columnIndex(left);
+
+        if (col < 0 || !isConstant(right))
+            return false;
+
+        preds.add(new Predicate(col, cmpType, right));
+
+        return true;
+    }
+
+    /**
+     * @param expr Expression.
+     * @return Index of the vector for the column expression or {@code -1} if the expression is not a supported
+     *      column of the table filter.
+     */
+    private int columnIndex(Expression expr) {
+        if (!(expr instanceof ExpressionColumn))
+            return -1;
+
+        ExpressionColumn exprCol = (ExpressionColumn)expr;
+
+        Column col = exprCol.getColumn();
+
+        if (exprCol.getTableFilter() != filter || col.getColumnId() < 0 || col.getType().getExtTypeInfo() != null)
+            return -1;
+
+        int type = col.getType().getValueType();
+
+        if (!isIntegral(type) && !isFloating(type))
+            return -1;
+
+        int idx = cols.indexOf(col);
+
+        if (idx < 0) {
+            idx = cols.size();
+
+            cols.add(col);
+        }
+
+        return idx;
+    }
+
+    /**
+     * Scans the table filter and updates the aggregates of the current group.
+     *
+     * @param ses Session.
+     * @param groupData Group data of the select.
+     * @return {@code false} if parameters of the query are not supported and the query must be evaluated row
+     *      by row, in this case no rows are read.
+     */
+    boolean aggregate(Session ses, SelectGroups groupData) {
+        for (Predicate pred : preds) {
+            if (!pred.bind(ses, cols.get(pred.col).getType().getValueType()))
+                return false;
+        }
+
+        for (Accumulator acc : accs)
+            acc.reset();
+
+        int colCnt = cols.size();
+
+        long[][] longs = new long[colCnt][];
+        double[][] doubles = new double[colCnt][];
+        boolean[][] nulls = new boolean[colCnt][];
+
+        for (int i = 0; i < colCnt; i++) {
+            if (floating[i])
+                doubles[i] = new double[BATCH_SIZE];
+            else
+                longs[i] = new long[BATCH_SIZE];
+
+            nulls[i] = new boolean[BATCH_SIZE];
+        }
+
+        int[] sel = new int[BATCH_SIZE];
+
+        long rows = 0;
+
+        boolean hasNext = true;
+
+        while (hasNext) {
+            int n = 0;
+
+            while (n < BATCH_SIZE && (hasNext = filter.next())) {
+                for (int i = 0; i < colCnt; i++) {
+                    Value v = filter.getValue(cols.get(i));
+
+                    if (v == ValueNull.INSTANCE)
+                        nulls[i][n] = true;
+                    else {
+                        nulls[i][n] = false;
+
+                        if (floating[i])
+                            doubles[i][n] = v.getDouble();
+                        else
+                            longs[i][n] = v.getLong();
+                    }
+                }
+
+                n++;
+            }
+
+            if (n == 0)
+                break;
+
+            for (int i = 0; i < n; i++)
+                sel[i] = i;
+
+            for (int i = 0; i < preds.size() && n > 0; i++) {
+                Predicate pred = preds.get(i);
+
+                n = pred.apply(longs[pred.col], doubles[pred.col], nulls[pred.col], sel, n);
+            }
+
+            for (Accumulator acc : accs) {
+                if (acc.col < 0)
+                    acc.cnt += n;
+                else
+                    acc.accumulate(longs[acc.col], doubles[acc.col], nulls[acc.col], sel, n);
+            }
+
+            rows += n;
+        }
+
+        if (rows > 0) {
+            groupData.nextSource();
+
+            for (Accumulator acc : accs)
+                acc.merge(ses);
+
+            groupData.onRowProcessed();
+        }
+
+        groupData.done();
+
+        return true;
+    }
+
+    /**
+     * @param expr Expression.
+     * @return {@code true} if the expression is a constant or a parameter.
+     */
+    private static boolean isConstant(Expression expr) {
+        return expr instanceof ValueExpression || expr instanceof Parameter;
+    }
+
+    /**
+     * @param type Value type.
+     * @return {@code true} if values of the type are read into long vectors.
+     */
+    private static boolean isIntegral(int type) {
+        return type == Value.BYTE || type == Value.SHORT || type == Value.INT || type == Value.LONG;
+    }
+
+    /**
+     * @param type Value type.
+     * @return {@code true} if values of the type are read into double vectors.
+     */
+    private static boolean isFloating(int type) {
+        return type == Value.FLOAT || type == Value.DOUBLE;
+    }
+
+    /**
+     * @param cmpType Comparison type.
+     * @return Comparison type with swapped operands.
+     */
+    private static int reverse(int cmpType) {
+        switch (cmpType) {
+            case Comparison.BIGGER:
+                return Comparison.SMALLER;
+
+            case Comparison.BIGGER_EQUAL:
+                return Comparison.SMALLER_EQUAL;
+
+            case Comparison.SMALLER:
+                return Comparison.BIGGER;
+
+            case Comparison.SMALLER_EQUAL:
+                return Comparison.BIGGER_EQUAL;
+
+            default:
+                return cmpType;
+        }
+    }
+
+    /**
+     * Comparison of a column with a constant.
+     */
+    private static final class Predicate {
+        /** Column vector index. */
+        private final int col;
+
+        /** Comparison type. */
+        private final int cmpType;
+
+        /** Constant or parameter, {@code null} for IS [NOT] NULL. */
+        private final Expression right;
+
+        /**
+         * Bit mask of accepted signs of comparison of the column value with the constant:
+         * {@code 1} for less, {@code 2} for equal and {@code 4} for greater.
+         */
+        private final int mask;
+
+        /** Bound constant for long vectors. */
+        private long longVal;
+
+        /** Bound constant for double vectors. */
+        private double doubleVal;
+
+        /**
+         * @param col Column vector index.
+         * @param cmpType Comparison type.
+         * @param right Constant or parameter.
+         */
+        Predicate(int col, int cmpType, Expression right) {
+            this.col = col;
+            this.cmpType = cmpType;
+            this.right = right;
+
+            switch (cmpType) {
+                case Comparison.EQUAL:
+                    mask = 0b010;
+
+                    break;
+
+                case Comparison.NOT_EQUAL:
+                    mask = 0b101;
+
+                    break;
+
+                case Comparison.BIGGER:
+                    mask = 0b100;
+
+                    break;
+
+                case Comparison.BIGGER_EQUAL:
+                    mask = 0b110;
+
+                    break;
+
+                case Comparison.SMALLER:
+                    mask = 0b001;
+
+                    break;
+
+                case Comparison.SMALLER_EQUAL:
+                    mask = 0b011;
+
+                    break;
+
+                default:
+                    mask = 0;
+            }
+        }
+
+        /**
+         * Evaluates the constant and converts it to the type the comparison is performed in.
+         *
+         * @param ses Session.
+         * @param colType Column type.
+         * @return {@code false} if the constant can't be compared with vector values the same way
+         *      as {@link Comparison} compares values.
+         */
+        boolean bind(Session ses, int colType) {
+            if (right == null)
+                return true;
+
+            Value v = right.getValue(ses);
+
+            int type = v.getValueType();
+
+            if (isIntegral(colType)) {
+                if (!isIntegral(type))
+                    return false;
+
+                longVal = v.getLong();
+            }
+            else {
+                if (!isIntegral(type) && !isFloating(type))
+                    return false;
+
+                doubleVal = v.convertTo(Value.getHigherOrder(colType, type)).getDouble();
+            }
+
+            return true;
+        }
+
+        /**
+         * Filters the selection vector.
+         *
+         * @param longs Long vector.
+         * @param doubles Double vector.
+         * @param nulls Null flags.
+         * @param sel Selection vector.
+         * @param n Number of selected rows.
+         * @return New number of selected rows.
+         */
+        int apply(long[] longs, double[] doubles, boolean[] nulls, int[] sel, int n) {
+            int m = 0;
+
+            if (cmpType == Comparison.IS_NULL || cmpType == Comparison.IS_NOT_NULL) {
+                boolean isNull = cmpType == Comparison.IS_NULL;
+
+                for (int i = 0; i < n; i++) {
+                    int r = sel[i];
+
+                    if (nulls[r] == isNull)
+                        sel[m++] = r;
+                }
+            }
+            else if (longs != null) {
+                long c = longVal;
+
+                for (int i = 0; i < n; i++) {
+                    int r = sel[i];
+
+                    if (!nulls[r] && (mask & (1 << (Long.compare(longs[r], c) + 1))) != 0)
+                        sel[m++] = r;
+                }
+            }
+            else {
+                double c = doubleVal;
+
+                for (int i = 0; i < n; i++) {
+                    int r = sel[i];
+
+                    if (!nulls[r] && (mask & (1 << (Integer.signum(Double.compare(doubles[r], c)) + 1))) != 0)
+                        sel[m++] = r;
+                }
+            }
+
+            return m;
+        }
+    }
+
+    /**
+     * Accumulator of a single aggregate.
+     */
+    private static final class Accumulator {
+        /** Aggregate expression. */
+        private final Aggregate agg;
+
+        /** Aggregate type. */
+        private final AggregateType type;
+
+        /** Column vector index, {@code -1} for COUNT(*). */
+        private final int col;
+
+        /** Number of accumulated non-null values (or rows for COUNT(*)). */
+        private long cnt;
+
+        /** Sum, minimum or maximum for long vectors. */
+        private long longVal;
+
+        /** Overflowed part of the sum of long values. */
+        private BigDecimal overflow;
+
+        /** Sum, minimum or maximum for double vectors. */
+        private double doubleVal;
+
+        /**
+         * @param agg Aggregate expression.
+         * @param type Aggregate type.
+         * @param col Column vector index.
+         */
+        Accumulator(Aggregate agg, AggregateType type, int col) {
+            this.agg = agg;
+            this.type = type;
+            this.col = col;
+        }
+
+        /** */
+        void reset() {
+            cnt = 0;
+            longVal = 0;
+            overflow = null;
+            doubleVal = 0;
+        }
+
+        /**
+         * @param longs Long vector.
+         * @param doubles Double vector.
+         * @param nulls Null flags.
+         * @param sel Selection vector.
+         * @param n Number of selected rows.
+         */
+        void accumulate(long[] longs, double[] doubles, boolean[] nulls, int[] sel, int n) {
+            switch (type) {
+                case COUNT:
+                    for (int i = 0; i < n; i++) {
+                        if (!nulls[sel[i]])
+                            cnt++;
+                    }
+
+                    break;
+
+                case SUM:
+                case AVG:
+                    if (longs != null)
+                        sumLongs(longs, nulls, sel, n);
+                    else {
+                        double sum = doubleVal;
+
+                        for (int i = 0; i < n; i++) {
+                            int r = sel[i];
+
+                            if (!nulls[r]) {
+                                sum += doubles[r];
+
+                                cnt++;
+                            }
+                        }
+
+                        doubleVal = sum;
+                    }
+
+                    break;
+
+                case MIN:
+                case MAX:
+                    boolean min = type == AggregateType.MIN;
+
+                    for (int i = 0; i < n; i++) {
+                        int r = sel[i];
+
+                        if (nulls[r])
+                            continue;
+
+                        if (longs != null) {
+                            long v = longs[r];
+
+                            if (cnt == 0 || (min ? v < longVal : v > longVal))
+                                longVal = v;
+                        }
+                        else {
+                            double v = doubles[r];
+
+                            if (cnt == 0 || (min ? Double.compare(v, doubleVal) < 0 : Double.compare(v, doubleVal) > 0))
+                                doubleVal = v;
+                        }
+
+                        cnt++;
+                    }
+
+                    break;
+
+                default:
+                    throw DbException.throwInternalError("type=" + type);
+            }
+        }
+
+        /**
+         * @param longs Long vector.
+         * @param nulls Null flags.
+         * @param sel Selection vector.
+         * @param n Number of selected rows.
+         */
+        private void sumLongs(long[] longs, boolean[] nulls, int[] sel, int n) {
+            long sum = longVal;
+
+            for (int i = 0; i < n; i++) {
+                int r = sel[i];
+
+                if (nulls[r])
+                    continue;
+
+                long v = longs[r];
+                long res = sum + v;
+
+                // Signs of both summands are different from the sign of the sum on overflow.
+                if (((sum ^ res) & (v ^ res)) < 0) {
+                    if (DataType.getAddProofType(agg.getPlainArgument().getType().getValueType()) != Value.DECIMAL)
+                        throw DbException.get(ErrorCode.NUMERIC_VALUE_OUT_OF_RANGE_1, Long.toString(sum));
+
+                    BigDecimal part = BigDecimal.valueOf(sum);
+
+                    overflow = overflow == null ? part : overflow.add(part);
+
+                    res = v;
+                }
+
+                sum = res;
+
+                cnt++;
+            }
+
+            longVal = sum;
+        }
+
+        /**
+         * Merges accumulated value into the aggregate data of the current group.
+         *
+         * @param ses Session.
+         */
+        void merge(Session ses) {
+            AggregateData data;
+
+            int dataType = agg.getType().getValueType();
+
+            switch (type) {
+                case COUNT_ALL:
+                    data = AggregateDataCount.from(true, cnt);
+
+                    break;
+
+                case COUNT:
+                    data = AggregateDataCount.from(false, cnt);
+
+                    break;
+
+                default:
+                    if (cnt == 0)
+                        return;
+
+                    Value v;
+
+                    if (isFloating(agg.getPlainArgument().getType().getValueType()))
+                        v = ValueDouble.get(doubleVal);
+                    else if (overflow != null)
+                        v = ValueDecimal.get(overflow.add(BigDecimal.valueOf(longVal)));
+                    else
+                        v = ValueLong.get(longVal);
+
+                    if (type == AggregateType.MIN || type == AggregateType.MAX)
+                        v = v.convertTo(dataType);
+
+                    data = AggregateDataDefault.from(type, dataType, cnt, 0, 0, v);
+            }
+
+            agg.mergeGroupAggregate(ses, data);
+        }
+    }
+}
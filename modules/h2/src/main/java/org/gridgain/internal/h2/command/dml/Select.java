@@ -152,6 +152,11 @@ public class Select extends Query {
 
     private boolean isGroupWindowStage2;
 
+    /**
+     * Batch evaluator of simple aggregates, or null if the query is evaluated row by row.
+     */
+    private BatchAggregator batchAggregator;
+
     private HashMap<String, Window> windows;
 
     public Select(Session session, Select parentSelect) {
@@ -500,7 +505,10 @@ public class Select extends Query {
     private void queryGroup(int columnCount, LocalResult result, long offset, boolean quickOffset) {
         initGroupData(columnCount);
         try {
-            gatherGroup(columnCount, DataAnalysisOperation.STAGE_GROUP);
+            if (batchAggregator == null || getSampleSizeValue(session) > 0
+                    || !batchAggregator.aggregate(session, groupData)) {
+                gatherGroup(columnCount, DataAnalysisOperation.STAGE_GROUP);
+            }
             processGroupResult(columnCount, result, offset, quickOffset, true);
         } finally {
             groupData.reset();
@@ -867,6 +875,12 @@ public class Select extends Query {
             if (!lazy && (limitRows >= 0 || offset > 0)) {
                 result = createLocalResult(result);
             }
+            if (sort != null && !sortUsingIndex && !isAnyDistinct() && !isWindowQuery && limitRows > 0
+                    && !fetchPercent && !withTies && offset + limitRows <= Integer.MAX_VALUE
+                    && session.getDatabase().getSettings().optimizeTopN) {
+                // Keep only first rows instead of sorting all of them.
+                result.setTopN((int) (offset + limitRows));
+            }
             topTableFilter.startQuery(session);
             topTableFilter.reset();
             boolean exclusive = isForUpdate && !isForUpdateMvcc;
@@ -1300,6 +1314,11 @@ public class Select extends Query {
             isQuickAggregateQuery = isEverything(ExpressionVisitor.getOptimizableVisitor(filters.get(0).getTable()));
         }
         cost = preparePlan(session.isParsingCreateView());
+        if (isGroupQuery && !isQuickAggregateQuery && groupIndex == null && havingIndex < 0 && qualifyIndex < 0
+                && !isWindowQuery && !isForUpdate && filters.size() == 1
+                && session.getDatabase().getSettings().optimizeBatchAggregate) {
+            batchAggregator = BatchAggregator.create(topTableFilter, expressions, condition);
+        }
         if (distinct && session.getDatabase().getSettings().optimizeDistinct &&
                 !isGroupQuery && filters.size() == 1 &&
                 expressions.size() == 1 && condition == null) {
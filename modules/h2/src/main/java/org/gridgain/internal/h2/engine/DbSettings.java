@@ -175,6 +175,15 @@ public class DbSettings extends SettingsBase {
      */
     public final int maxQueryTimeout = get("MAX_QUERY_TIMEOUT", 0);
 
+    /**
+     * Database setting <code>OPTIMIZE_BATCH_AGGREGATE</code> (default: true).<br />
+     * Evaluate simple single table aggregate queries without GROUP BY (COUNT,
+     * SUM, AVG, MIN and MAX over numeric columns with a conjunction of
+     * comparisons as a condition) over batches of primitive column values
+     * instead of row by row.
+     */
+    public final boolean optimizeBatchAggregate = get("OPTIMIZE_BATCH_AGGREGATE", true);
+
     /**
      * Database setting <code>OPTIMIZE_DISTINCT</code> (default: true).<br />
      * Improve the performance of simple DISTINCT queries if an index is
@@ -226,6 +235,14 @@ public class DbSettings extends SettingsBase {
      */
     public final boolean optimizeOr = get("OPTIMIZE_OR", true);
 
+    /**
+     * Database setting <code>OPTIMIZE_TOP_N</code> (default: true).<br />
+     * Keep only first OFFSET + LIMIT rows in a bounded heap when the result of
+     * a query with ORDER BY and LIMIT is sorted, instead of collecting and
+     * sorting all rows.
+     */
+    public final boolean optimizeTopN = get("OPTIMIZE_TOP_N", true);
+
     /**
      * Database setting <code>OPTIMIZE_TWO_EQUALS</code> (default: true).<br />
      * Optimize expressions of the form A=B AND B=1. In this case, AND A=1 is
@@ -16,6 +16,7 @@ import java.util.TreeMap;
 import org.gridgain.internal.h2.api.ErrorCode;
 import org.gridgain.internal.h2.command.dml.Select;
 import org.gridgain.internal.h2.command.dml.SelectOrderBy;
+import org.gridgain.internal.h2.command.dml.SelectGroups;
 import org.gridgain.internal.h2.engine.Database;
 import org.gridgain.internal.h2.engine.Mode;
 import org.gridgain.internal.h2.engine.Session;
@@ -166,6 +167,34 @@ public class Aggregate extends AbstractAggregate {
         return aggregateType;
     }
 
+    /**
+     * Returns the argument of this aggregate if it is a plain single-argument
+     * aggregate without DISTINCT, FILTER, ORDER BY and OVER clauses.
+     *
+     * @return the argument, or null if there are no arguments or the aggregate
+     *         is not plain
+     */
+    public Expression getPlainArgument() {
+        if (distinct || filterCondition != null || orderByList != null || over != null || args.length != 1) {
+            return null;
+        }
+        return args[0];
+    }
+
+    /**
+     * Merges aggregate data computed outside of this expression into the data
+     * of the current group.
+     *
+     * @param session
+     *            the session
+     * @param partial
+     *            the partial aggregate data of the same type
+     */
+    public void mergeGroupAggregate(Session session, AggregateData partial) {
+        SelectGroups groupData = select.getGroupDataIfCurrent(false);
+        ((AggregateData) getGroupData(groupData, false)).mergeAggregate(session, partial);
+    }
+
     private void sortWithOrderBy(Value[] array) {
         final SortOrder sortOrder = orderBySort;
         if (sortOrder != null) {
@@ -130,6 +130,15 @@ public class Comparison extends Condition {
         this.compareType = compareType;
     }
 
+    /**
+     * Get the comparison type.
+     *
+     * @return the comparison type
+     */
+    public int getCompareType() {
+        return compareType;
+    }
+
     @Override
     public StringBuilder getSQL(StringBuilder builder, boolean alwaysQuote) {
         boolean encloseRight = false;
@@ -43,6 +43,15 @@ public class ConditionAndOr extends Condition {
         }
     }
 
+    /**
+     * Get the condition type.
+     *
+     * @return {@link #AND} or {@link #OR}
+     */
+    public int getAndOrType() {
+        return andOrType;
+    }
+
     @Override
     public StringBuilder getSQL(StringBuilder builder, boolean alwaysQuote) {
         builder.append('(');
@@ -100,4 +100,14 @@ public interface LocalResult extends ResultInterface, ResultTarget {
      * @param offset the offset
      */
     public void setOffset(int offset);
+
+    /**
+     * Notifies the sorted result that only the specified number of first rows
+     * (offset and limit together) will be returned, so other rows may be
+     * discarded while they are added. Must be called before the first row is
+     * added; implementations are free to ignore it.
+     *
+     * @param maxRows the number of first rows in the sort order to keep
+     */
+    public void setTopN(int maxRows);
 }
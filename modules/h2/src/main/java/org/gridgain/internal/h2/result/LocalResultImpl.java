@@ -7,6 +7,8 @@ package org.gridgain.internal.h2.result;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.PriorityQueue;
 import java.util.TreeMap;
 import org.gridgain.internal.h2.expression.Expression;
 import org.gridgain.internal.h2.message.DbException;
@@ -49,6 +51,8 @@ public class LocalResultImpl implements LocalResult {
     private boolean closed;
     private boolean containsLobs;
     private Boolean containsNull;
+    private PriorityQueue<Value[]> topRows;
+    private int topRowsLimit;
 
     /**
      * Construct a local result object.
@@ -329,6 +333,8 @@ public class LocalResultImpl implements LocalResult {
             } else {
                 rowCount = external.addRow(values);
             }
+        } else if (topRows != null) {
+            addTopRow(values);
         } else {
             rows.add(values);
             rowCount++;
@@ -338,6 +344,21 @@ public class LocalResultImpl implements LocalResult {
         }
     }
 
+    /**
+     * Keeps the row if it is among the first rows in the sort order. The
+     * greatest kept row is at the head of the heap, so it is the first one to
+     * be replaced.
+     */
+    private void addTopRow(Value[] values) {
+        if (topRows.size() < topRowsLimit) {
+            topRows.add(values);
+        } else if (sort.compare(values, topRows.peek()) < 0) {
+            topRows.poll();
+            topRows.add(values);
+        }
+        rowCount = topRows.size();
+    }
+
     private void addRowsToDisk() {
         if (external == null) {
             createExternalResult();
@@ -356,6 +377,10 @@ public class LocalResultImpl implements LocalResult {
      */
     @Override
     public void done() {
+        if (topRows != null) {
+            rows = new ArrayList<>(topRows);
+            topRows = null;
+        }
         if (external != null) {
             addRowsToDisk();
         } else {
@@ -559,6 +584,14 @@ public class LocalResultImpl implements LocalResult {
         this.offset = offset;
     }
 
+    @Override
+    public void setTopN(int maxRows) {
+        if (sort != null && !isAnyDistinct() && maxRows > 0 && maxRows <= maxMemoryRows && rowCount == 0) {
+            topRowsLimit = maxRows;
+            topRows = new PriorityQueue<>(Math.min(maxRows, 1024), Collections.reverseOrder(sort));
+        }
+    }
+
     @Override
     public String toString() {
         return super.toString() + " columns: " + visibleColumnCount +
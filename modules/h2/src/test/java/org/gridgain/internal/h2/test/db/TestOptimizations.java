@@ -81,6 +81,8 @@ public class TestOptimizations extends TestDb {
         testIn();
         testMinMaxCountOptimization(true);
         testMinMaxCountOptimization(false);
+        testBatchAggregate();
+        testTopN();
         testOrderedIndexes();
         testIndexUseDespiteNullsFirst();
         testConvertOrToIn();
@@ -862,6 +864,87 @@ public class TestOptimizations extends TestDb {
         conn.close();
     }
 
+    private void testBatchAggregate() throws SQLException {
+        deleteDb("optimizations");
+        deleteDb("optimizationsNoBatch");
+        Connection conn = getConnection("optimizations");
+        Connection connNoBatch = getConnection("optimizationsNoBatch;OPTIMIZE_BATCH_AGGREGATE=FALSE");
+        String create = "create table test(id int primary key, i int, l bigint, s smallint, d double, f real) " +
+                "as select x, case when mod(x, 7) = 0 then null else x - 1000 end, " +
+                "case when mod(x, 5) = 0 then null else x * 1000000000000000 end, mod(x, 100), " +
+                "case when mod(x, 3) = 0 then null else x / 7.0 end, x / 3.0 from system_range(1, 5000)";
+        conn.createStatement().execute(create);
+        connNoBatch.createStatement().execute(create);
+        String[] aggregates = {
+                "count(*)", "count(i), sum(i), avg(i), min(i), max(i)", "count(l), sum(l), avg(l), min(l), max(l)",
+                "sum(s), min(s), max(s)", "count(d), sum(d), avg(d), min(d), max(d)", "sum(f), min(f), max(f)"
+        };
+        String[] conditions = {
+                "", "where i > 100", "where 100 < i", "where i between -50 and 50", "where i is null",
+                "where l is not null and s <> 5", "where d < 10.5", "where f >= 3", "where i = -100000",
+                "where s = 1.5", "where id > ? and id <= ?"
+        };
+        for (String aggregate : aggregates) {
+            for (String condition : conditions) {
+                String sql = "select " + aggregate + " from test " + condition;
+                PreparedStatement prep = conn.prepareStatement(sql);
+                PreparedStatement prepNoBatch = connNoBatch.prepareStatement(sql);
+                if (condition.contains("?")) {
+                    prep.setInt(1, 10);
+                    prep.setInt(2, 3000);
+                    prepNoBatch.setInt(1, 10);
+                    prepNoBatch.setInt(2, 3000);
+                }
+                ResultSet rs = prep.executeQuery();
+                ResultSet rsNoBatch = prepNoBatch.executeQuery();
+                assertTrue(rs.next());
+                assertTrue(rsNoBatch.next());
+                int columns = rs.getMetaData().getColumnCount();
+                for (int i = 1; i <= columns; i++) {
+                    assertEquals(sql, rsNoBatch.getString(i), rs.getString(i));
+                }
+                assertFalse(rs.next());
+            }
+        }
+        conn.close();
+        connNoBatch.close();
+        deleteDb("optimizationsNoBatch");
+    }
+
+    private void testTopN() throws SQLException {
+        deleteDb("optimizations");
+        deleteDb("optimizationsNoTopN");
+        Connection conn = getConnection("optimizations");
+        Connection connNoTopN = getConnection("optimizationsNoTopN;OPTIMIZE_TOP_N=FALSE");
+        String create = "create table test(id int primary key, v int, name varchar) " +
+                "as select x, mod(x * 7919, 101), 'n' || x from system_range(1, 5000)";
+        conn.createStatement().execute(create);
+        connNoTopN.createStatement().execute(create);
+        String[] queries = {
+                "select id, v from test order by v, id limit 10",
+                "select id, v from test order by v desc, id desc limit 7 offset 100",
+                "select name from test where v < 50 order by v, name limit 15",
+                "select v, count(*) c from test group by v order by c desc, v limit 3",
+                "select id, v from test order by v fetch first 3 rows with ties",
+                "select id, v from test order by v, id limit 10000"
+        };
+        for (String sql : queries) {
+            ResultSet rs = conn.createStatement().executeQuery(sql);
+            ResultSet rsNoTopN = connNoTopN.createStatement().executeQuery(sql);
+            int columns = rs.getMetaData().getColumnCount();
+            while (rsNoTopN.next()) {
+                assertTrue(sql, rs.next());
+                for (int i = 1; i <= columns; i++) {
+                    assertEquals(sql, rsNoTopN.getString(i), rs.getString(i));
+                }
+            }
+            assertFalse(sql, rs.next());
+        }
+        conn.close();
+        connNoTopN.close();
+        deleteDb("optimizationsNoTopN");
+    }
+
     private void testMinMaxCountOptimization(boolean memory)
             throws SQLException {
         deleteDb("optimizations");
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.internal.managers.systemview.walker;
+
+import org.apache.ignite.spi.systemview.view.SqlParserCacheView;
+import org.apache.ignite.spi.systemview.view.SystemViewRowAttributeWalker;
+
+/**
+ * Generated by {@code org.apache.ignite.codegen.SystemViewRowAttributeWalkerGenerator}.
+ * {@link SqlParserCacheView} attributes walker.
+ * 
+ * @see SqlParserCacheView
+ */
+public class SqlParserCacheViewWalker implements SystemViewRowAttributeWalker<SqlParserCacheView> {
+    /** {@inheritDoc} */
+    @Override public void visitAll(AttributeVisitor v) {
+        v.accept(0, "schemaName", String.class);
+        v.accept(1, "sql", String.class);
+        v.accept(2, "type", String.class);
+        v.accept(3, "hits", long.class);
+        v.accept(4, "collocated", boolean.class);
+        v.accept(5, "distributedJoins", boolean.class);
+        v.accept(6, "enforceJoinOrder", boolean.class);
+        v.accept(7, "local", boolean.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void visitAll(SqlParserCacheView row, AttributeWithValueVisitor v) {
+        v.accept(0, "schemaName", String.class, row.schemaName());
+        v.accept(1, "sql", String.class, row.sql());
+        v.accept(2, "type", String.class, row.type());
+        v.acceptLong(3, "hits", row.hits());
+        v.acceptBoolean(4, "collocated", row.collocated());
+        v.acceptBoolean(5, "distributedJoins", row.distributedJoins());
+        v.acceptBoolean(6, "enforceJoinOrder", row.enforceJoinOrder());
+        v.acceptBoolean(7, "local", row.local());
+    }
+
+    /** {@inheritDoc} */
+    @Override public int count() {
+        return 8;
+    }
+}
@@ -101,6 +101,9 @@ public class ConnectionManager {
     /** Busy lock. */
     private final GridBusyLock busyLock = new GridBusyLock();
 
+    /** Plan cache shared by the connections. */
+    private final H2PlanCache planCache;
+
     /**
      * Constructor.
      *
@@ -131,6 +134,15 @@ public class ConnectionManager {
         }
 
         stmtCleanupTask = ctx.timeout().schedule(this::cleanupStatements, stmtCleanupPeriod, stmtCleanupPeriod);
+
+        planCache = new H2PlanCache(ctx);
+    }
+
+    /**
+     * @return Plan cache shared by the connections.
+     */
+    public H2PlanCache planCache() {
+        return planCache;
     }
 
     /**
@@ -65,6 +65,9 @@ public class DistributedSqlConfiguration {
     /** Default value of the query timeout. */
     public static final int DFLT_QRY_TIMEOUT = 0;
 
+    /** Default map query parallelism, map queries are not split into partition subqueries. */
+    public static final int DFLT_MAP_QRY_PARALLELISM = 1;
+
     /** Disabled SQL functions. */
     private final SimpleDistributedProperty<HashSet<String>> disabledSqlFuncs = new SimpleDistributedProperty<>(
         "sql.disabledFunctions",
@@ -82,6 +85,15 @@ public class DistributedSqlConfiguration {
         SimpleDistributedProperty::parseNonNegativeInteger
     );
 
+    /**
+     * Maximum number of subqueries over disjoint sets of partitions a map query segment is split into
+     * to be executed in parallel on a node.
+     */
+    private final SimpleDistributedProperty<Integer> mapQryParallelism = new SimpleDistributedProperty<>(
+        "sql.mapQueryParallelism",
+        SimpleDistributedProperty::parseNonNegativeInteger
+    );
+
     /**
      * Disable creation Lucene index for String value type by default.
      * See: 'H2TableDescriptor#luceneIdx'.
@@ -107,13 +119,14 @@ public class DistributedSqlConfiguration {
                 @Override public void onReadyToRegister(DistributedPropertyDispatcher dispatcher) {
                     disabledSqlFuncs.addListener(makeUpdateListener(PROPERTY_UPDATE_MESSAGE, log));
                     dfltQueryTimeout.addListener(makeUpdateListener(PROPERTY_UPDATE_MESSAGE, log));
+                    mapQryParallelism.addListener(makeUpdateListener(PROPERTY_UPDATE_MESSAGE, log));
 
                     timeZone.addListener((name, oldTz, newTz) -> {
                         if (!Objects.equals(oldTz, newTz))
                             DateTimeUtils.setTimeZone(newTz);
                     });
 
-                    dispatcher.registerProperties(disabledSqlFuncs, timeZone, dfltQueryTimeout);
+                    dispatcher.registerProperties(disabledSqlFuncs, timeZone, dfltQueryTimeout, mapQryParallelism);
                     dispatcher.registerProperties(disableCreateLuceneIndexForStringValueType);
                 }
 
@@ -243,6 +256,26 @@ public class DistributedSqlConfiguration {
         dfltQueryTimeout.addListener(lsnr);
     }
 
+    /**
+     * @return Maximum number of partition subqueries a map query segment is split into.
+     */
+    public int mapQueryParallelism() {
+        Integer p = mapQryParallelism.get();
+
+        return p != null && p > 0 ? p : DFLT_MAP_QRY_PARALLELISM;
+    }
+
+    /**
+     * @param parallelism Maximum number of partition subqueries a map query segment is split into,
+     *      {@code 1} disables splitting.
+     * @throws IgniteCheckedException if failed.
+     */
+    public GridFutureAdapter<?> mapQueryParallelism(int parallelism) throws IgniteCheckedException {
+        A.ensure(parallelism > 0, "map query parallelism must be positive.");
+
+        return mapQryParallelism.propagateAsync(parallelism);
+    }
+
     /** */
     public boolean isDisableCreateLuceneIndexForStringValueType() {
         Boolean ret = disableCreateLuceneIndexForStringValueType.get();
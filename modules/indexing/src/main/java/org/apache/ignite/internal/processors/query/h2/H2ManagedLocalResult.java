@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.TreeMap;
 
 import org.apache.ignite.IgniteSystemProperties;
@@ -109,6 +110,12 @@ public class H2ManagedLocalResult implements LocalResult {
     /** Reserved memory. */
     private long memReserved;
 
+    /** First rows of the sorted result, the greatest one is at the head. */
+    private PriorityQueue<Value[]> topRows;
+
+    /** Maximum number of rows to keep in {@link #topRows}. */
+    private int topRowsLimit;
+
     /**
      * Construct a local result object.
      */
@@ -394,7 +401,9 @@ public class H2ManagedLocalResult implements LocalResult {
             } else {
                 rowCount = external.addRow(values);
             }
-        } else {
+        } else if (topRows != null)
+            addTopRow(values);
+        else {
             rowCount++;
             if (external == null) {
                 rows.add(values);
@@ -407,6 +416,36 @@ public class H2ManagedLocalResult implements LocalResult {
         }
     }
 
+    /**
+     * Keeps the row if it is among the first rows in the sort order. If memory quota is exceeded,
+     * falls back to collecting all rows with offloading to disk.
+     *
+     * @param values Row.
+     */
+    private void addTopRow(Value[] values) {
+        Value[] evicted = null;
+
+        if (topRows.size() < topRowsLimit)
+            topRows.add(values);
+        else if (sort.compare(values, topRows.peek()) < 0) {
+            evicted = topRows.poll();
+
+            topRows.add(values);
+        }
+        else
+            return;
+
+        rowCount = topRows.size();
+
+        if (!hasAvailableMemory(null, evicted, values)) {
+            rows.addAll(topRows);
+
+            topRows = null;
+
+            addRowsToDisk(false);
+        }
+    }
+
     /**
      * Adds rows to disk.
      * @param forcePlainResult Whether to force creation of not sorted result.
@@ -437,6 +476,12 @@ public class H2ManagedLocalResult implements LocalResult {
 
     /** {@inheritDoc} */
     @Override public void done() {
+        if (topRows != null) {
+            rows = new ArrayList<>(topRows);
+
+            topRows = null;
+        }
+
         if (external != null)
             addRowsToDisk(false);
 
@@ -578,6 +623,14 @@ public class H2ManagedLocalResult implements LocalResult {
         this.fetchPercent = fetchPercent;
     }
 
+    /** {@inheritDoc} */
+    @Override public void setTopN(int maxRows) {
+        if (sort != null && !isAnyDistinct() && maxRows > 0 && rowCount == 0) {
+            topRowsLimit = maxRows;
+            topRows = new PriorityQueue<>(Math.min(maxRows, 1024), (r1, r2) -> sort.compare(r2, r1));
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void setWithTies(SortOrder withTiesSortOrder) {
         assert sort == null || sort == withTiesSortOrder;
@@ -681,6 +734,7 @@ public class H2ManagedLocalResult implements LocalResult {
         // Allow results to be collected by GC before mark memory released.
         distinctRows = null;
         rows = null;
+        topRows = null;
 
         if (memReserved > 0) {
             H2MemoryTracker tracker = session.memoryTracker();
@@ -0,0 +1,391 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import javax.cache.CacheException;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.managers.systemview.walker.SqlPlanCacheViewWalker;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlias;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlJoin;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSelect;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlStatement;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSubquery;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlTable;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.systemview.view.SqlPlanCacheView;
+import org.gridgain.internal.h2.command.Prepared;
+import org.gridgain.internal.h2.command.dml.Select;
+import org.gridgain.internal.h2.index.HashJoinIndex;
+import org.gridgain.internal.h2.index.Index;
+import org.gridgain.internal.h2.table.TableFilter;
+import org.gridgain.internal.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_PLAN_CACHE_ENABLED;
+import static org.apache.ignite.IgniteSystemProperties.getBoolean;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Node-wide cache of query plans shared by all connections of the connection pool.
+ * <p>
+ * H2 chooses indexes and join order when a statement is prepared and prepared statements are bound to a connection,
+ * so each pooled connection optimizes the same query on its own and the plan never depends on parameter values.
+ * This cache keeps the chosen plan as the query text with the join order fixed and an index hint for every table.
+ * Such a query is prepared by any connection without searching for the best plan. A separate plan variant is kept
+ * for each combination of parameter selectivities estimated by the column statistics, the variant is planned with
+ * the parameter values taken into account. Plans are invalidated once the schema or the statistics of any table
+ * of the query change.
+ */
+public class H2PlanCache {
+    /** Name of the system view with cached query plans. */
+    public static final String SQL_PLAN_CACHE_VIEW = metricName("sql", "plan", "cache");
+
+    /** Description of the system view with cached query plans. */
+    public static final String SQL_PLAN_CACHE_VIEW_DESC = "Cached query plans";
+
+    /** */
+    private static final int CACHE_SIZE = 1024;
+
+    /** Values of the parameters of the query planned by the current thread. */
+    private static final ThreadLocal<Value[]> PLANNING_PARAMS = new ThreadLocal<>();
+
+    /** Marker of a query which plan can't be cached. */
+    private static final H2PlanCacheEntry NOT_CACHEABLE =
+        new H2PlanCacheEntry(null, null, Collections.emptyList(), null);
+
+    /** Whether the cache is enabled. */
+    private final boolean enabled = getBoolean(IGNITE_SQL_PLAN_CACHE_ENABLED, true);
+
+    /** Cached plans. */
+    private final GridBoundedConcurrentLinkedHashMap<H2CachedStatementKey, H2PlanCacheEntry> cache =
+        new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /**
+     * @param ctx Kernal context.
+     */
+    H2PlanCache(GridKernalContext ctx) {
+        log = ctx.log(H2PlanCache.class);
+
+        ctx.systemView().registerInnerCollectionView(SQL_PLAN_CACHE_VIEW, SQL_PLAN_CACHE_VIEW_DESC,
+            new SqlPlanCacheViewWalker(),
+            cache.values(),
+            H2PlanCacheEntry::variants,
+            SqlPlanCacheView::new);
+    }
+
+    /**
+     * Gets the value of the query parameter known to the planner. Parameter values are known only while a plan
+     * variant is being built, otherwise plans don't depend on parameter values.
+     *
+     * @param idx Zero based parameter index.
+     * @return Parameter value or {@code null} if it's unknown.
+     */
+    @Nullable public static Value planningParameter(int idx) {
+        Value[] vals = PLANNING_PARAMS.get();
+
+        return vals == null || idx >= vals.length ? null : vals[idx];
+    }
+
+    /**
+     * Gets the plan of the query for the given parameters, plans the query if there is no plan for them yet.
+     *
+     * @param conn Connection.
+     * @param sql Query text.
+     * @param qryFlags Query flags.
+     * @param params Query parameters.
+     * @return Query text with the chosen join order and indexes or {@code null} if the plan can't be cached.
+     * @throws IgniteCheckedException If failed to prepare the query.
+     */
+    @Nullable String plan(H2PooledConnection conn, String sql, byte qryFlags, @Nullable Collection<Object> params)
+        throws IgniteCheckedException {
+        // Distributed joins are planned along with the data collocation, such plans aren't shared.
+        if (!enabled || H2StatementCache.distributedJoins(qryFlags))
+            return null;
+
+        H2CachedStatementKey key = new H2CachedStatementKey(conn.schema(), sql, qryFlags);
+
+        H2PlanCacheEntry entry = cache.get(key);
+
+        if (entry == NOT_CACHEABLE)
+            return null;
+
+        Value[] vals = planningValues(params);
+
+        if (entry != null) {
+            if (entry.isValid()) {
+                H2PlanCacheVariant variant = entry.variant(entry.selectivity(vals));
+
+                if (variant != null) {
+                    variant.onHit();
+
+                    return variant.plan();
+                }
+
+                if (!entry.canAddVariant())
+                    return null;
+            }
+            else {
+                cache.remove(key, entry);
+
+                entry = null;
+            }
+        }
+
+        return plan(conn, key, sql, entry, vals);
+    }
+
+    /**
+     * Plans the query for the given parameter values and caches the plan.
+     *
+     * @param conn Connection.
+     * @param key Cache key.
+     * @param sql Query text.
+     * @param entry Cache entry or {@code null} if the query isn't cached yet.
+     * @param vals Parameter values.
+     * @return Query text with the chosen join order and indexes or {@code null} if the plan can't be cached.
+     * @throws IgniteCheckedException If failed to prepare the query.
+     */
+    @Nullable private String plan(
+        H2PooledConnection conn,
+        H2CachedStatementKey key,
+        String sql,
+        @Nullable H2PlanCacheEntry entry,
+        @Nullable Value[] vals
+    ) throws IgniteCheckedException {
+        PreparedStatement stmt;
+
+        PLANNING_PARAMS.set(vals);
+
+        try {
+            stmt = conn.prepareStatementNoCache(sql);
+        }
+        finally {
+            PLANNING_PARAMS.remove();
+        }
+
+        try {
+            Prepared prepared = GridSqlQueryParser.prepared(stmt);
+
+            GridSqlSelect select = cacheableSelect(prepared);
+
+            List<GridH2Table> tbls = select == null ? null : hintIndexes(conn, select, (Select)prepared);
+
+            if (tbls == null) {
+                if (entry == null)
+                    cache.put(key, NOT_CACHEABLE);
+
+                return null;
+            }
+
+            if (entry == null) {
+                entry = new H2PlanCacheEntry(conn.schema(), sql, tbls, select);
+
+                // Schema or statistics changed while the query was planned.
+                if (prepared.needRecompile())
+                    return null;
+
+                H2PlanCacheEntry old = cache.putIfAbsent(key, entry);
+
+                if (old != null)
+                    entry = old;
+            }
+
+            return entry.addVariant(entry.selectivity(vals), select.getSQL()).plan();
+        }
+        finally {
+            U.closeQuiet(stmt);
+        }
+    }
+
+    /**
+     * Clears the cache.
+     */
+    public void clear() {
+        // Bounded map doesn't support clear(), entries are removed one by one to keep the map the view is built on.
+        for (H2CachedStatementKey key : cache.keySet())
+            cache.remove(key);
+    }
+
+    /**
+     * Parses the query if its plan can be cached. Only plans of single selects without subqueries and nested joins
+     * are cached, tables of such selects are listed in the join order.
+     *
+     * @param prepared Prepared query.
+     * @return Parsed select or {@code null} if the plan of the query can't be cached.
+     */
+    @Nullable private GridSqlSelect cacheableSelect(Prepared prepared) {
+        if (!(prepared instanceof Select) || GridSqlQueryParser.isForUpdateQuery(prepared))
+            return null;
+
+        GridSqlStatement stmt;
+
+        try {
+            stmt = new GridSqlQueryParser(false, log).parse(prepared);
+        }
+        catch (IgniteSQLException | CacheException e) {
+            if (log.isDebugEnabled())
+                log.debug("Query plan isn't cached, failed to parse query: " + e.getMessage());
+
+            return null;
+        }
+
+        return stmt instanceof GridSqlSelect && !hasSubquery((GridSqlSelect)stmt) ? (GridSqlSelect)stmt : null;
+    }
+
+    /**
+     * Sets the index chosen by the planner as the index hint for every table of the select.
+     *
+     * @param conn Connection.
+     * @param select Parsed select.
+     * @param prepared Prepared select.
+     * @return Tables of the select or {@code null} if the plan can't be expressed by index hints.
+     */
+    @Nullable private static List<GridH2Table> hintIndexes(H2PooledConnection conn, GridSqlSelect select,
+        Select prepared) {
+        List<GridSqlTable> from = new ArrayList<>();
+
+        if (!collectTables(select.from(), from))
+            return null;
+
+        List<GridH2Table> tbls = new ArrayList<>(from.size());
+
+        TableFilter filter = prepared.getTopTableFilter();
+
+        for (GridSqlTable tbl : from) {
+            if (filter == null || filter.getNestedJoin() != null || filter.getTable() != tbl.dataTable())
+                return null;
+
+            GridH2Table dataTbl = tbl.dataTable();
+            Index idx = filter.getIndex();
+
+            if (idx == dataTbl.getScanIndex(H2Utils.session(conn)))
+                tbl.useIndexes(Collections.emptyList());
+            else if (HashJoinIndex.HASH_JOIN_IDX.equals(idx.getName()) || dataTbl.getIndexes().contains(idx))
+                tbl.useIndexes(Collections.singletonList(idx.getName()));
+            else
+                return null;
+
+            tbls.add(dataTbl);
+
+            filter = filter.getJoin();
+        }
+
+        return filter == null ? tbls : null;
+    }
+
+    /**
+     * Collects tables of the {@code FROM} clause in the join order.
+     *
+     * @param from {@code FROM} clause element.
+     * @param tbls Tables.
+     * @return {@code False} if there is an element which isn't a data table.
+     */
+    private static boolean collectTables(GridSqlAst from, List<GridSqlTable> tbls) {
+        if (from instanceof GridSqlJoin) {
+            GridSqlJoin join = (GridSqlJoin)from;
+
+            return collectTables(join.leftTable(), tbls) && collectTables(join.rightTable(), tbls);
+        }
+
+        GridSqlAst el = GridSqlAlias.unwrap(from);
+
+        if (!(el instanceof GridSqlTable) || ((GridSqlTable)el).dataTable() == null)
+            return false;
+
+        tbls.add((GridSqlTable)el);
+
+        return true;
+    }
+
+    /**
+     * @param el AST element.
+     * @return {@code True} if the element contains a subquery.
+     */
+    private static boolean hasSubquery(GridSqlAst el) {
+        if (el instanceof GridSqlSubquery)
+            return true;
+
+        for (int i = 0; i < el.size(); i++) {
+            GridSqlAst child = el.child(i);
+
+            if (child != null && hasSubquery(child))
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Converts query parameters to the values known to the planner.
+     *
+     * @param params Query parameters.
+     * @return Parameter values, {@code null} values stand for the parameters which aren't taken into account.
+     */
+    @Nullable private static Value[] planningValues(@Nullable Collection<Object> params) {
+        if (F.isEmpty(params))
+            return null;
+
+        Value[] vals = new Value[params.size()];
+
+        int i = 0;
+
+        for (Object param : params)
+            vals[i++] = planningValue(param);
+
+        return vals;
+    }
+
+    /**
+     * @param param Query parameter.
+     * @return Parameter value or {@code null} if the parameter isn't a plain value.
+     */
+    @Nullable private static Value planningValue(@Nullable Object param) {
+        if (param == null || param instanceof CacheObject)
+            return null;
+
+        int type = H2Utils.getTypeFromClass(param.getClass());
+
+        if (type == Value.JAVA_OBJECT || type == Value.ARRAY || type == Value.GEOMETRY)
+            return null;
+
+        try {
+            // Plain values don't need the cache object context.
+            return H2Utils.wrap(null, param, type);
+        }
+        catch (IgniteCheckedException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlColumn;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlJoin;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperation;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlOperationType;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlParameter;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSelect;
+import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
+import org.apache.ignite.internal.processors.query.stat.ObjectStatisticsImpl;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.gridgain.internal.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.query.h2.opt.H2IndexCostedBase.comparableValue;
+
+/**
+ * Plans of a query cached by {@link H2PlanCache}, one plan variant for each combination of parameter selectivities.
+ */
+public class H2PlanCacheEntry {
+    /** Maximum number of plan variants of a query. */
+    static final int MAX_VARIANTS = 16;
+
+    /** Selectivity of each parameter takes this number of bits of the selectivity key. */
+    private static final int SELECTIVITY_BITS = 3;
+
+    /** Maximum number of parameter conditions taken into account. */
+    private static final int MAX_CONDITIONS = Long.SIZE / SELECTIVITY_BITS;
+
+    /** Selectivity of the parameter is unknown. */
+    private static final int UNKNOWN = 0;
+
+    /** Equality to a value out of the column range. */
+    private static final int OUT_OF_RANGE = 5;
+
+    /** Equality to a value within the column range. */
+    private static final int IN_RANGE = 6;
+
+    /** Mask of the selectivity of a parameter. */
+    private static final int SELECTIVITY_MASK = (1 << SELECTIVITY_BITS) - 1;
+
+    /** Upper bounds of the fractions of rows selected by range conditions, range selectivities start with 1. */
+    private static final double[] RANGE_BOUNDS = {0.01, 0.1, 0.5};
+
+    /** Names of the selectivities. */
+    private static final String[] SELECTIVITY_NAMES = {
+        "UNKNOWN", "<=1%", "<=10%", "<=50%", ">50%", "OUT_OF_RANGE", "IN_RANGE"
+    };
+
+    /** Schema name. */
+    private final String schemaName;
+
+    /** Query text. */
+    private final String sql;
+
+    /** Tables of the query. */
+    private final List<GridH2Table> tbls;
+
+    /** Modification IDs of the tables at the time the query was planned. */
+    private final long[] modIds;
+
+    /** Comparisons of columns with parameters, which selectivity affects the plan. */
+    private final List<ParameterCondition> conds;
+
+    /** Plan variants by selectivity key. */
+    private final ConcurrentMap<Long, H2PlanCacheVariant> variants = new ConcurrentHashMap<>();
+
+    /**
+     * @param schemaName Schema name.
+     * @param sql Query text.
+     * @param tbls Tables of the query.
+     * @param select Parsed query or {@code null} if the plan of the query isn't cached.
+     */
+    H2PlanCacheEntry(
+        @Nullable String schemaName,
+        @Nullable String sql,
+        List<GridH2Table> tbls,
+        @Nullable GridSqlSelect select
+    ) {
+        this.schemaName = schemaName;
+        this.sql = sql;
+        this.tbls = tbls;
+
+        modIds = new long[tbls.size()];
+
+        for (int i = 0; i < modIds.length; i++)
+            modIds[i] = tbls.get(i).getModificationId();
+
+        conds = new ArrayList<>();
+
+        if (select != null) {
+            collectConditions(select.where());
+            collectConditions(select.from());
+        }
+    }
+
+    /**
+     * @return Schema name.
+     */
+    public String schemaName() {
+        return schemaName;
+    }
+
+    /**
+     * @return Query text.
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * @return Plan variants.
+     */
+    public Collection<H2PlanCacheVariant> variants() {
+        return variants.values();
+    }
+
+    /**
+     * @return {@code False} if the schema or the statistics of any table of the query changed since it was planned.
+     */
+    boolean isValid() {
+        for (int i = 0; i < modIds.length; i++) {
+            if (tbls.get(i).getModificationId() != modIds[i])
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param key Selectivity key.
+     * @return Plan variant or {@code null} if the query isn't planned for the selectivity yet.
+     */
+    @Nullable H2PlanCacheVariant variant(long key) {
+        return variants.get(key);
+    }
+
+    /**
+     * @return {@code True} if one more plan variant can be cached.
+     */
+    boolean canAddVariant() {
+        return variants.size() < MAX_VARIANTS;
+    }
+
+    /**
+     * @param key Selectivity key.
+     * @param plan Query text with the chosen join order and indexes.
+     * @return Cached plan variant.
+     */
+    H2PlanCacheVariant addVariant(long key, String plan) {
+        H2PlanCacheVariant variant = new H2PlanCacheVariant(selectivityDescription(key), plan);
+
+        H2PlanCacheVariant old = variants.putIfAbsent(key, variant);
+
+        return old == null ? variant : old;
+    }
+
+    /**
+     * Estimates the selectivity of each parameter condition by the column statistics.
+     *
+     * @param vals Parameter values, {@code null} if there are no parameters.
+     * @return Selectivity key.
+     */
+    long selectivity(@Nullable Value[] vals) {
+        if (vals == null)
+            return 0;
+
+        long key = 0;
+
+        for (ParameterCondition cond : conds)
+            key = (key << SELECTIVITY_BITS) | cond.selectivity(vals);
+
+        return key;
+    }
+
+    /**
+     * @param key Selectivity key.
+     * @return Human readable selectivity of the parameters.
+     */
+    private String selectivityDescription(long key) {
+        StringBuilder sb = new StringBuilder();
+
+        for (int i = 0; i < conds.size(); i++) {
+            int selectivity = (int)(key >>> (SELECTIVITY_BITS * (conds.size() - 1 - i))) & SELECTIVITY_MASK;
+
+            if (sb.length() > 0)
+                sb.append(", ");
+
+            sb.append(conds.get(i)).append(' ').append(SELECTIVITY_NAMES[selectivity]);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Collects comparisons of columns with parameters from the {@code AND} conditions.
+     *
+     * @param el Condition or {@code FROM} clause element.
+     */
+    private void collectConditions(@Nullable GridSqlAst el) {
+        if (el instanceof GridSqlJoin) {
+            GridSqlJoin join = (GridSqlJoin)el;
+
+            collectConditions(join.leftTable());
+            collectConditions(join.rightTable());
+
+            if (!join.isLeftOuter())
+                collectConditions(join.on());
+
+            return;
+        }
+
+        if (!(el instanceof GridSqlOperation) || conds.size() == MAX_CONDITIONS)
+            return;
+
+        GridSqlOperation op = (GridSqlOperation)el;
+
+        if (op.operationType() == GridSqlOperationType.AND) {
+            collectConditions(op.child(0));
+            collectConditions(op.child(1));
+
+            return;
+        }
+
+        GridSqlOperationType type = op.operationType();
+
+        if (op.size() != 2 || mirror(type) == null)
+            return;
+
+        GridSqlAst left = op.child(0);
+        GridSqlAst right = op.child(1);
+
+        if (left instanceof GridSqlParameter && right instanceof GridSqlColumn) {
+            GridSqlAst tmp = left;
+
+            left = right;
+            right = tmp;
+
+            type = mirror(type);
+        }
+
+        if (!(left instanceof GridSqlColumn) || !(right instanceof GridSqlParameter))
+            return;
+
+        GridSqlColumn col = (GridSqlColumn)left;
+
+        if (!(col.column().getTable() instanceof GridH2Table))
+            return;
+
+        conds.add(new ParameterCondition(((GridSqlParameter)right).index(), (GridH2Table)col.column().getTable(),
+            col.column().getName(), type));
+    }
+
+    /**
+     * @param type Comparison type.
+     * @return Comparison type with swapped operands or {@code null} if the selectivity of the comparison
+     *      isn't estimated.
+     */
+    @Nullable private static GridSqlOperationType mirror(GridSqlOperationType type) {
+        switch (type) {
+            case EQUAL:
+                return GridSqlOperationType.EQUAL;
+
+            case BIGGER:
+                return GridSqlOperationType.SMALLER;
+
+            case BIGGER_EQUAL:
+                return GridSqlOperationType.SMALLER_EQUAL;
+
+            case SMALLER:
+                return GridSqlOperationType.BIGGER;
+
+            case SMALLER_EQUAL:
+                return GridSqlOperationType.BIGGER_EQUAL;
+
+            default:
+                return null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(H2PlanCacheEntry.class, this);
+    }
+
+    /**
+     * Comparison of a column with a query parameter.
+     */
+    private static class ParameterCondition {
+        /** Zero based parameter index. */
+        private final int paramIdx;
+
+        /** Table. */
+        private final GridH2Table tbl;
+
+        /** Column name. */
+        private final String colName;
+
+        /** Comparison type. */
+        private final GridSqlOperationType type;
+
+        /**
+         * @param paramIdx Zero based parameter index.
+         * @param tbl Table.
+         * @param colName Column name.
+         * @param type Comparison type.
+         */
+        ParameterCondition(int paramIdx, GridH2Table tbl, String colName, GridSqlOperationType type) {
+            this.paramIdx = paramIdx;
+            this.tbl = tbl;
+            this.colName = colName;
+            this.type = type;
+        }
+
+        /**
+         * Estimates the fraction of rows selected by the condition with the column statistics.
+         *
+         * @param vals Parameter values.
+         * @return Selectivity.
+         */
+        int selectivity(Value[] vals) {
+            Value val = paramIdx < vals.length ? vals[paramIdx] : null;
+
+            if (val == null)
+                return UNKNOWN;
+
+            ObjectStatisticsImpl tblStats = (ObjectStatisticsImpl)tbl.tableStatistics();
+
+            ColumnStatistics colStats = tblStats == null ? null : tblStats.columnStatistics(colName);
+
+            if (colStats == null || colStats.min() == null || colStats.max() == null)
+                return UNKNOWN;
+
+            BigDecimal v = comparableValue(val);
+            BigDecimal min = comparableValue(colStats.min());
+            BigDecimal max = comparableValue(colStats.max());
+
+            if (v == null || min == null || max == null)
+                return UNKNOWN;
+
+            if (type == GridSqlOperationType.EQUAL)
+                return v.compareTo(min) < 0 || v.compareTo(max) > 0 ? OUT_OF_RANGE : IN_RANGE;
+
+            BigDecimal total = max.subtract(min);
+
+            if (total.signum() <= 0)
+                return UNKNOWN;
+
+            BigDecimal selected = type == GridSqlOperationType.BIGGER || type == GridSqlOperationType.BIGGER_EQUAL ?
+                max.subtract(v) : v.subtract(min);
+
+            double fraction = selected.divide(total, MathContext.DECIMAL64).doubleValue();
+
+            for (int i = 0; i < RANGE_BOUNDS.length; i++) {
+                if (fraction <= RANGE_BOUNDS[i])
+                    return i + 1;
+            }
+
+            return RANGE_BOUNDS.length + 1;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return colName + ' ' + type.name() + " ?" + (paramIdx + 1);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Plan of a query cached by {@link H2PlanCache} for a combination of parameter selectivities.
+ */
+public class H2PlanCacheVariant {
+    /** Selectivity of the parameters the plan is chosen for. */
+    private final String selectivity;
+
+    /** Query text with the chosen join order and indexes. */
+    private final String plan;
+
+    /** Number of times the plan was reused. */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * @param selectivity Selectivity of the parameters the plan is chosen for.
+     * @param plan Query text with the chosen join order and indexes.
+     */
+    H2PlanCacheVariant(String selectivity, String plan) {
+        this.selectivity = selectivity;
+        this.plan = plan;
+    }
+
+    /**
+     * @return Selectivity of the parameters the plan is chosen for.
+     */
+    public String selectivity() {
+        return selectivity;
+    }
+
+    /**
+     * @return Query text with the chosen join order and indexes.
+     */
+    public String plan() {
+        return plan;
+    }
+
+    /**
+     * @return Number of times the plan was reused.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Counts reuse of the plan.
+     */
+    void onHit() {
+        hits.increment();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(H2PlanCacheVariant.class, this);
+    }
+}
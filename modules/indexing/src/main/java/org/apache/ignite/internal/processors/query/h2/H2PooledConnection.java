@@ -18,9 +18,11 @@ package org.apache.ignite.internal.processors.query.h2;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.util.typedef.internal.S;
+import org.gridgain.internal.h2.engine.Session;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -84,6 +86,38 @@ public class H2PooledConnection implements AutoCloseable {
         return delegate.prepareStatement(sql, qryFlags);
     }
 
+    /**
+     * Prepare statement with the plan shared by all connections if the plan of the query can be cached. The plan is
+     * chosen for the selectivity of the given parameters.
+     *
+     * @param sql SQL.
+     * @param qryFlags Query flags.
+     * @param params Query parameters.
+     * @return Prepared statement.
+     * @throws IgniteCheckedException On error.
+     */
+    public PreparedStatement prepareStatement(String sql, byte qryFlags, @Nullable Collection<Object> params)
+        throws IgniteCheckedException {
+        String plan = connMgr.planCache().plan(this, sql, qryFlags, params);
+
+        if (plan == null)
+            return prepareStatement(sql, qryFlags);
+
+        Session ses = H2Utils.session(this);
+
+        boolean forceJoinOrder = ses.isForceJoinOrder();
+
+        // Tables of the plan are listed in the chosen join order.
+        ses.setForceJoinOrder(true);
+
+        try {
+            return delegate.prepareStatement(plan, qryFlags);
+        }
+        finally {
+            ses.setForceJoinOrder(forceJoinOrder);
+        }
+    }
+
     /**
      * Get prepared statement without caching.
      *
@@ -113,4 +113,12 @@ public final class H2StatementCache {
     public static byte queryFlags(boolean distributedJoins, boolean enforceJoinOrder) {
         return (byte)((distributedJoins ? 1 : 0) + (enforceJoinOrder ? 2 : 0));
     }
+
+    /**
+     * @param qryFlags Query flags.
+     * @return {@code True} if distributed joins are enabled.
+     */
+    public static boolean distributedJoins(byte qryFlags) {
+        return (qryFlags & 1) != 0;
+    }
 }
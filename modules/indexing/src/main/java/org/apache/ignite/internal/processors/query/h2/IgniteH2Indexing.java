@@ -625,14 +625,15 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
                         List<Object> args = F.asList(qryParams.arguments());
 
-                        PreparedStatement stmt = conn.prepareStatement(qry, H2StatementCache.queryFlags(qryDesc));
-
                         // Convert parameters into BinaryObjects.
                         Marshaller m = ctx.config().getMarshaller();
                         byte[] paramsBytes = U.marshal(m, args.toArray(new Object[0]));
                         final ClassLoader ldr = U.resolveClassLoader(ctx.config());
                         Object[] params = ((BinaryMarshaller)m).binaryMarshaller().unmarshal(paramsBytes, ldr);
 
+                        PreparedStatement stmt = conn.prepareStatement(qry, H2StatementCache.queryFlags(qryDesc),
+                            F.asList(params));
+
                         H2Utils.bindParameters(stmt, F.asList(params));
 
                         H2QueryInfo qryInfo = new H2QueryInfo(H2QueryInfo.QueryType.LOCAL, stmt, qry, ctx.discovery().localNode(), qryId);
@@ -1042,6 +1043,10 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         s.groupByDataFactory(memoryMgr);
         s.queryDescription(qryInfo::description);
 
+        // Tracker may be assigned in advance, e.g. to share the quota between partition subqueries of a map query.
+        if (s.memoryTracker() != null)
+            return;
+
         GridRunningQueryInfo runningQryInfo = null;
 
         if (qryInfo.runningQueryId() != null)
@@ -2765,10 +2770,12 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     }
 
     /**
-     * Remove all cached queries from cached two-steps queries.
+     * Remove all cached queries from cached two-steps queries and cached query plans.
      */
     private void clearPlanCache() {
         parser.clearCache();
+
+        connMgr.planCache().clear();
     }
 
     /** {@inheritDoc} */
@@ -30,6 +30,7 @@ import org.apache.ignite.cache.CacheAtomicityMode;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cache.query.exceptions.SqlCacheException;
 import org.apache.ignite.failure.FailureContext;
+import org.apache.ignite.internal.managers.systemview.walker.SqlParserCacheViewWalker;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContextInfo;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccUtils;
@@ -79,11 +80,13 @@ import org.apache.ignite.internal.sql.command.SqlSetStreamingCommand;
 import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.systemview.view.SqlParserCacheView;
 import org.gridgain.internal.h2.api.ErrorCode;
 import org.gridgain.internal.h2.command.Prepared;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlQuerySplitter.keyColumn;
 import static org.apache.ignite.internal.processors.tracing.SpanTags.SQL_PARSER_CACHE_HIT;
 import static org.apache.ignite.internal.processors.tracing.SpanType.SQL_QRY_PARSE;
@@ -95,6 +98,12 @@ public class QueryParser {
     /** */
     private static final int CACHE_SIZE = 1024;
 
+    /** Name of the system view with cached parsed queries. */
+    public static final String SQL_PARSER_CACHE_VIEW = metricName("sql", "parser", "cache");
+
+    /** Description of the system view with cached parsed queries. */
+    public static final String SQL_PARSER_CACHE_VIEW_DESC = "Cached parsed queries";
+
     /** A pattern for commands having internal implementation in Ignite. */
     private static final Pattern INTERNAL_CMD_RE = Pattern.compile(
         "^(create|drop)\\s+index|^analyze\\s|^refresh\\sstatistics|^drop\\sstatistics|^alter\\s+table|^copy|^set|^begin|^commit|^rollback|^(create|alter|drop)\\s+user" +
@@ -137,6 +146,11 @@ public class QueryParser {
     
         this.forceFillAbsentPKsWithDefaults = IgniteSystemProperties.getBoolean(
                 IgniteSystemProperties.IGNITE_SQL_FILL_ABSENT_PK_WITH_DEFAULTS, false);
+
+        idx.kernalContext().systemView().registerView(SQL_PARSER_CACHE_VIEW, SQL_PARSER_CACHE_VIEW_DESC,
+            new SqlParserCacheViewWalker(),
+            () -> cache.entrySet(),
+            e -> new SqlParserCacheView(e.getKey(), e.getValue()));
     }
 
     /**
@@ -218,6 +232,8 @@ public class QueryParser {
         if (cached != null) {
             metricsHolder.countCacheHit();
 
+            cached.onHit();
+
             MTC.span().addTag(SQL_PARSER_CACHE_HIT, () -> "true");
 
             return new QueryParserResult(
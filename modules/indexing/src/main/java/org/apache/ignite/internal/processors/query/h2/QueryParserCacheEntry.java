@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.query.h2;
 
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.ignite.internal.processors.odbc.jdbc.JdbcParameterMeta;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.jetbrains.annotations.Nullable;
@@ -37,6 +38,9 @@ public class QueryParserCacheEntry {
     /** Metadata for the positional query parameters ('?'). */
     private final List<JdbcParameterMeta> paramsMeta;
 
+    /** Number of times this entry was taken from the cache. */
+    private final LongAdder hits = new LongAdder();
+
     /**
      * Constructor.
      *
@@ -87,6 +91,20 @@ public class QueryParserCacheEntry {
         return paramsMeta;
     }
 
+    /**
+     * Registers cache hit of this entry.
+     */
+    public void onHit() {
+        hits.increment();
+    }
+
+    /**
+     * @return Number of times this entry was taken from the cache.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(QueryParserCacheEntry.class, this);
@@ -1756,6 +1756,14 @@ public class GridH2Table extends TableBase {
         return safeColumns;
     }
 
+    /**
+     * Forces recompilation of existing prepared statements after table statistics change,
+     * so the new plans take actual statistics into account.
+     */
+    public void onStatisticsChanged() {
+        setModified();
+    }
+
     /**
      * Increment modification counter to force recompilation of existing prepared statements.
      */
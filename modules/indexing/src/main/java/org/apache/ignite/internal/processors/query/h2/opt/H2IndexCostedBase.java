@@ -24,6 +24,7 @@ import java.util.Arrays;
 
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.processors.query.h2.H2PlanCache;
 import org.apache.ignite.internal.processors.query.stat.ColumnStatistics;
 import org.apache.ignite.internal.processors.query.stat.ObjectStatisticsImpl;
 import org.apache.ignite.internal.util.typedef.F;
@@ -32,6 +33,7 @@ import org.gridgain.internal.h2.command.dml.AllColumnsForPlan;
 import org.gridgain.internal.h2.engine.Constants;
 import org.gridgain.internal.h2.engine.Session;
 import org.gridgain.internal.h2.expression.Expression;
+import org.gridgain.internal.h2.expression.Parameter;
 import org.gridgain.internal.h2.expression.condition.Comparison;
 import org.gridgain.internal.h2.index.BaseIndex;
 import org.gridgain.internal.h2.index.IndexCondition;
@@ -885,9 +887,8 @@ public abstract class H2IndexCostedBase extends BaseIndex {
 
                 if (isByteFlag(cond.getCompareType(), Comparison.EQUAL) && cond.isEvaluatable()) {
 
-                    Expression expr = cond.getExpression();
-                    if (expr != null && expr.isConstant()) {
-                        Value curVal = cond.getCurrentValue(ses);
+                    Value curVal = conditionValue(ses, cond);
+                    if (curVal != null) {
                         if (null == maxValue || (curVal != null || filter.getTable().compareValues(curVal, maxValue) < 0))
                             maxValue = curVal;
                     }
@@ -916,9 +917,8 @@ public abstract class H2IndexCostedBase extends BaseIndex {
                         || isByteFlag(cond.getCompareType(), Comparison.BIGGER_EQUAL))
                         && cond.isEvaluatable()) {
 
-                    Expression expr = cond.getExpression();
-                    if (expr != null && expr.isConstant()) {
-                        Value curVal = cond.getCurrentValue(ses);
+                    Value curVal = conditionValue(ses, cond);
+                    if (curVal != null) {
                         if (null == maxValue || (curVal != null || filter.getTable().compareValues(curVal, maxValue) < 0))
                             maxValue = curVal;
                     }
@@ -946,9 +946,8 @@ public abstract class H2IndexCostedBase extends BaseIndex {
                 if ((isByteFlag(cond.getCompareType(), Comparison.SMALLER)
                         || isByteFlag(cond.getCompareType(), Comparison.SMALLER_EQUAL))
                         && cond.isEvaluatable()) {
-                    Expression expr = cond.getExpression();
-                    if (expr != null && expr.isConstant()) {
-                        Value curVal = cond.getCurrentValue(ses);
+                    Value curVal = conditionValue(ses, cond);
+                    if (curVal != null) {
                         if (null == minValue || (curVal != null || filter.getTable().compareValues(minValue, curVal) < 0))
                             minValue = curVal;
                     }
@@ -957,6 +956,26 @@ public abstract class H2IndexCostedBase extends BaseIndex {
             return minValue;
         }
 
+        /**
+         * Get value of the condition expression if it's a constant or a parameter with the value known at planning.
+         *
+         * @param ses Session.
+         * @param cond Index condition.
+         * @return Condition value or {@code null} if it's unknown.
+         * @see H2PlanCache#planningParameter(int)
+         */
+        private Value conditionValue(Session ses, IndexCondition cond) {
+            Expression expr = cond.getExpression();
+
+            if (expr == null)
+                return null;
+
+            if (expr.isConstant())
+                return cond.getCurrentValue(ses);
+
+            return expr instanceof Parameter ? H2PlanCache.planningParameter(((Parameter)expr).getIndex()) : null;
+        }
+
         /**
          * Check if specified filter compare specified column to not null.
          *
@@ -1023,14 +1042,14 @@ public abstract class H2IndexCostedBase extends BaseIndex {
                 // Fall back to previous behaviour without statistics, even without min/max testing
                 return estimatePercentFallback(min, max);
 
-            BigDecimal minValue = (min == null) ? null : getComparableValue(min);
-            BigDecimal maxValue = (max == null) ? null : getComparableValue(max);
+            BigDecimal minValue = (min == null) ? null : comparableValue(min);
+            BigDecimal maxValue = (max == null) ? null : comparableValue(max);
 
             if (minValue == null && maxValue == null)
                 return estimatePercentFallback(min, max);
 
-            BigDecimal minStat = getComparableValue(colStat.min());
-            BigDecimal maxStat = getComparableValue(colStat.max());
+            BigDecimal minStat = comparableValue(colStat.min());
+            BigDecimal maxStat = comparableValue(colStat.max());
 
             if (minStat == null || maxStat == null)
                 return estimatePercentFallback(min, max);
@@ -1071,72 +1090,6 @@ public abstract class H2IndexCostedBase extends BaseIndex {
             return (min == null || max == null) ? RANGE_OPEN_SELECTIVITY : RANGE_CLOSE_SELECTIVITY;
         }
 
-        /**
-         * Convert specified value into comparable type: BigDecimal,
-         *
-         * @param value Value to convert to comparable form.
-         * @return Comparable form of value.
-         */
-        private BigDecimal getComparableValue(Value value) {
-            switch (value.getValueType()) {
-                case Value.NULL:
-                    throw new IllegalArgumentException("Can't compare null values");
-
-                case Value.BOOLEAN:
-                    return new BigDecimal(value.getBoolean() ? 1 : 0);
-
-                case Value.BYTE:
-                    return new BigDecimal(value.getByte());
-
-                case Value.SHORT:
-                    return new BigDecimal(value.getShort());
-
-                case Value.INT:
-                    return new BigDecimal(value.getInt());
-
-                case Value.LONG:
-                    return new BigDecimal(value.getLong());
-
-                case Value.DECIMAL:
-                    return value.getBigDecimal();
-
-                case Value.DOUBLE:
-                    return new BigDecimal(value.getDouble());
-
-                case Value.FLOAT:
-                    return new BigDecimal(value.getFloat());
-
-                case Value.DATE:
-                    return new BigDecimal(value.getDate().getTime());
-
-                case Value.TIME:
-                    return new BigDecimal(value.getTime().getTime());
-
-                case Value.TIMESTAMP:
-                    return new BigDecimal(value.getTimestamp().getTime());
-
-                case Value.BYTES:
-                    BigInteger bigInteger = new BigInteger(1, value.getBytes());
-                    return new BigDecimal(bigInteger);
-
-                case Value.STRING:
-                case Value.STRING_FIXED:
-                case Value.STRING_IGNORECASE:
-                case Value.ROW: // Intentionally converts Value.ROW to GridH2Array to preserve compatibility
-                case Value.ARRAY:
-                case Value.JAVA_OBJECT:
-                case Value.GEOMETRY:
-                    return null;
-
-                case Value.UUID:
-                    BigInteger bigInt = new BigInteger(1, value.getBytes());
-                    return new BigDecimal(bigInt);
-
-                default:
-                    throw new IllegalStateException("Unsupported H2 type: " + value.getType());
-            }
-        }
-
         /**
          * Get column statistics.
          *
@@ -1333,4 +1286,70 @@ public abstract class H2IndexCostedBase extends BaseIndex {
             return rc;
         }
     }
+
+    /**
+     * Convert specified value into comparable type: BigDecimal,
+     *
+     * @param value Value to convert to comparable form.
+     * @return Comparable form of value.
+     */
+    public static BigDecimal comparableValue(Value value) {
+        switch (value.getValueType()) {
+            case Value.NULL:
+                throw new IllegalArgumentException("Can't compare null values");
+
+            case Value.BOOLEAN:
+                return new BigDecimal(value.getBoolean() ? 1 : 0);
+
+            case Value.BYTE:
+                return new BigDecimal(value.getByte());
+
+            case Value.SHORT:
+                return new BigDecimal(value.getShort());
+
+            case Value.INT:
+                return new BigDecimal(value.getInt());
+
+            case Value.LONG:
+                return new BigDecimal(value.getLong());
+
+            case Value.DECIMAL:
+                return value.getBigDecimal();
+
+            case Value.DOUBLE:
+                return new BigDecimal(value.getDouble());
+
+            case Value.FLOAT:
+                return new BigDecimal(value.getFloat());
+
+            case Value.DATE:
+                return new BigDecimal(value.getDate().getTime());
+
+            case Value.TIME:
+                return new BigDecimal(value.getTime().getTime());
+
+            case Value.TIMESTAMP:
+                return new BigDecimal(value.getTimestamp().getTime());
+
+            case Value.BYTES:
+                BigInteger bigInteger = new BigInteger(1, value.getBytes());
+                return new BigDecimal(bigInteger);
+
+            case Value.STRING:
+            case Value.STRING_FIXED:
+            case Value.STRING_IGNORECASE:
+            case Value.ROW: // Intentionally converts Value.ROW to GridH2Array to preserve compatibility
+            case Value.ARRAY:
+            case Value.JAVA_OBJECT:
+            case Value.GEOMETRY:
+                return null;
+
+            case Value.UUID:
+                BigInteger bigInt = new BigInteger(1, value.getBytes());
+                return new BigDecimal(bigInt);
+
+            default:
+                throw new IllegalStateException("Unsupported H2 type: " + value.getType());
+        }
+    }
 }
@@ -26,10 +26,14 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
@@ -49,6 +53,7 @@ import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.query.CacheQueryType;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
 import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
 import org.apache.ignite.internal.processors.query.h2.H2StatementCache;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
@@ -57,9 +62,11 @@ import org.apache.ignite.internal.processors.query.h2.MapH2QueryInfo;
 import org.apache.ignite.internal.processors.query.h2.QueryMemoryTracker;
 import org.apache.ignite.internal.processors.query.h2.UpdateResult;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2RetryException;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
 import org.apache.ignite.internal.processors.query.h2.opt.QueryContextRegistry;
 import org.apache.ignite.internal.processors.query.h2.opt.join.DistributedJoinContext;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryCancelRequest;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryFailResponse;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageRequest;
@@ -77,7 +84,10 @@ import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.spi.indexing.IndexingQueryFilter;
 import org.gridgain.internal.h2.api.ErrorCode;
+import org.gridgain.internal.h2.command.Prepared;
+import org.gridgain.internal.h2.command.dml.Query;
 import org.gridgain.internal.h2.jdbc.JdbcResultSet;
+import org.gridgain.internal.h2.table.Table;
 import org.gridgain.internal.h2.value.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -224,6 +234,9 @@ public class GridMapQueryExecutor {
             final int parallelism = explain || replicated || F.isEmpty(cacheIds) ? 1 :
                 CU.firstPartitioned(ctx.cache().context(), cacheIds).config().getQueryParallelism();
 
+            final int subQryParallelism = explain || replicated || lazy || distributedJoins ||
+                req.mvccSnapshot() != null || F.isEmpty(cacheIds) ? 1 : h2.distributedConfiguration().mapQueryParallelism();
+
             BitSet segments = new BitSet(parallelism);
 
             if (parts != null) {
@@ -259,6 +272,8 @@ public class GridMapQueryExecutor {
                                 req.topologyVersion(),
                                 partsMap,
                                 parts,
+                                parallelism,
+                                subQryParallelism,
                                 req.pageSize(),
                                 distributedJoins,
                                 enforceJoinOrder,
@@ -290,6 +305,8 @@ public class GridMapQueryExecutor {
                 req.topologyVersion(),
                 partsMap,
                 parts,
+                parallelism,
+                subQryParallelism,
                 req.pageSize(),
                 distributedJoins,
                 enforceJoinOrder,
@@ -319,6 +336,8 @@ public class GridMapQueryExecutor {
      * @param topVer Topology version.
      * @param partsMap Partitions map for unstable topology.
      * @param parts Explicit partitions for current node.
+     * @param parallelism Number of index segments.
+     * @param subQryParallelism Maximum number of partition subqueries a map query is split into.
      * @param pageSize Page size.
      * @param distributedJoins Query distributed join mode.
      * @param enforceJoinOrder Enforce join order H2 flag.
@@ -341,6 +360,8 @@ public class GridMapQueryExecutor {
         final AffinityTopologyVersion topVer,
         final Map<UUID, int[]> partsMap,
         final int[] parts,
+        final int parallelism,
+        final int subQryParallelism,
         final int pageSize,
         final boolean distributedJoins,
         final boolean enforceJoinOrder,
@@ -460,22 +481,59 @@ public class GridMapQueryExecutor {
 
                         PreparedStatement stmt = conn.prepareStatement(sql, H2StatementCache.queryFlags(
                             distributedJoins,
-                            enforceJoinOrder));
+                            enforceJoinOrder), params0);
 
                         H2Utils.bindParameters(stmt, params0);
 
-                        MapH2QueryInfo qryInfo = new MapH2QueryInfo(stmt, qry.query(), node, reqId, segmentId, runningQryId);
-
-                        ResultSet rs = h2.executeSqlQueryWithTimer(
-                            stmt,
-                            conn,
-                            sql,
-                            timeout,
-                            qryResults.queryCancel(qryIdx),
-                            dataPageScanEnabled,
-                            qryInfo,
-                            maxMem
-                        );
+                        int[][] partGrps = subQryParallelism > 1 && qry.node() == null &&
+                            isSplittable(stmt) ? subQueryPartitions(cacheIds, topVer, parts, parallelism, segmentId,
+                            subQryParallelism, treatReplicatedAsPartitioned) : null;
+
+                        List<ResultSet> rss = new ArrayList<>(partGrps == null ? 1 : partGrps.length);
+                        List<MapH2QueryInfo> qryInfos = new ArrayList<>(partGrps == null ? 1 : partGrps.length);
+                        List<H2PooledConnection> subConns = new ArrayList<>(partGrps == null ? 1 : partGrps.length);
+
+                        if (partGrps == null) {
+                            MapH2QueryInfo qryInfo = new MapH2QueryInfo(stmt, qry.query(), node, reqId, segmentId,
+                                runningQryId);
+
+                            qryInfos.add(qryInfo);
+
+                            rss.add(h2.executeSqlQueryWithTimer(
+                                stmt,
+                                conn,
+                                sql,
+                                timeout,
+                                qryResults.queryCancel(qryIdx),
+                                dataPageScanEnabled,
+                                qryInfo,
+                                maxMem
+                            ));
+                        }
+                        else {
+                            executeSubQueries(
+                                node,
+                                reqId,
+                                segmentId,
+                                schemaName,
+                                conn,
+                                stmt,
+                                sql,
+                                params0,
+                                partGrps,
+                                topVer,
+                                enforceJoinOrder,
+                                timeout,
+                                qryResults.queryCancel(qryIdx),
+                                dataPageScanEnabled,
+                                maxMem,
+                                runningQryId,
+                                treatReplicatedAsPartitioned,
+                                rss,
+                                qryInfos,
+                                subConns
+                            );
+                        }
 
                         if (evt) {
                             ctx.event().record(new CacheQueryExecutedEvent<>(
@@ -493,15 +551,18 @@ public class GridMapQueryExecutor {
                                 null));
                         }
 
-                        assert rs instanceof JdbcResultSet : rs.getClass();
+                        assert rss.stream().allMatch(rs -> rs instanceof JdbcResultSet) : rss;
 
                         if (qryResults.cancelled()) {
-                            rs.close();
+                            closeSubQueries(rss, subConns);
 
                             throw new QueryCancelledException();
                         }
 
-                        res.openResult(rs, qryInfo, ctx.tracing());
+                        if (partGrps == null)
+                            res.openResult(rss.get(0), qryInfos.get(0), ctx.tracing());
+                        else
+                            res.openResults(rss, qryInfos, subConns, ctx.tracing());
 
                         final GridQueryNextPageResponse msg = prepareNextPage(
                             nodeRess,
@@ -618,6 +679,291 @@ public class GridMapQueryExecutor {
         }
     }
 
+    /**
+     * Checks if the map query scans a partitioned table and its rows may be returned in any order, so the query
+     * can be split into subqueries over disjoint sets of partitions whose results are concatenated. The partitioned
+     * flag of the map query is not sent to remote nodes, so tables are checked on the statement. Queries over
+     * replicated tables only are not split, because each subquery would return all their rows.
+     *
+     * @param stmt Map query statement.
+     * @return {@code true} if the query can be split into partition subqueries.
+     */
+    private static boolean isSplittable(PreparedStatement stmt) {
+        Prepared prepared = GridSqlQueryParser.prepared(stmt);
+
+        if (!(prepared instanceof Query))
+            return false;
+
+        Query qry = (Query)prepared;
+
+        if (qry.hasOrder() || qry.getOffset() != null)
+            return false;
+
+        for (Table tbl : qry.getTables()) {
+            if (tbl instanceof GridH2Table && ((GridH2Table)tbl).isPartitioned())
+                return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Splits partitions scanned by the map query segment into groups to be scanned by parallel subqueries.
+     *
+     * @param cacheIds Caches which will be affected by the query.
+     * @param topVer Topology version.
+     * @param parts Explicit partitions for current node.
+     * @param parallelism Number of index segments.
+     * @param segmentId Index segment ID.
+     * @param subQryParallelism Maximum number of subqueries.
+     * @param treatReplicatedAsPartitioned Treat replicated caches as partitioned flag.
+     * @return Partition groups or {@code null} if the query should not be split.
+     */
+    @Nullable private int[][] subQueryPartitions(
+        List<Integer> cacheIds,
+        @Nullable AffinityTopologyVersion topVer,
+        @Nullable int[] parts,
+        int parallelism,
+        int segmentId,
+        int subQryParallelism,
+        boolean treatReplicatedAsPartitioned
+    ) {
+        if (topVer == null)
+            return null;
+
+        Collection<Integer> segParts;
+
+        if (parts != null) {
+            segParts = new ArrayList<>(parts.length);
+
+            for (int part : parts)
+                segParts.add(part);
+        }
+        else {
+            // Each cache is filtered by its own primary partitions, so they must be the same for all caches.
+            Set<Integer> primary = null;
+
+            for (Integer cacheId : cacheIds) {
+                GridCacheContext<?, ?> cctx = ctx.cache().context().cacheContext(cacheId);
+
+                if (cctx == null)
+                    return null;
+
+                if (cctx.isReplicated() && !treatReplicatedAsPartitioned)
+                    continue;
+
+                Set<Integer> cachePrimary = cctx.affinity().primaryPartitions(ctx.localNodeId(), topVer);
+
+                if (primary == null)
+                    primary = cachePrimary;
+                else if (!primary.equals(cachePrimary))
+                    return null;
+            }
+
+            if (primary == null)
+                return null;
+
+            segParts = primary;
+        }
+
+        List<Integer> grpParts = new ArrayList<>(segParts.size());
+
+        for (Integer part : segParts) {
+            if (parallelism == 1 || calculateSegment(parallelism, part) == segmentId)
+                grpParts.add(part);
+        }
+
+        int grps = Math.min(subQryParallelism, grpParts.size());
+
+        if (grps < 2)
+            return null;
+
+        Collections.sort(grpParts);
+
+        int[][] res = new int[grps][];
+
+        for (int i = 0; i < grps; i++)
+            res[i] = new int[(grpParts.size() - i + grps - 1) / grps];
+
+        for (int i = 0; i < grpParts.size(); i++)
+            res[i % grps][i / grps] = grpParts.get(i);
+
+        return res;
+    }
+
+    /**
+     * Executes map query as subqueries over disjoint groups of partitions in parallel. The first subquery
+     * is executed on the connection of the map query, other ones on detached connections. The calling thread
+     * takes part in the execution, so subqueries are never left waiting for a busy query pool.
+     *
+     * @param node Node authored request.
+     * @param reqId Request ID.
+     * @param segmentId Index segment ID.
+     * @param schemaName Schema name.
+     * @param conn Connection of the map query.
+     * @param stmt Prepared statement of the map query.
+     * @param sql Query text.
+     * @param params Query parameters.
+     * @param partGrps Partition groups.
+     * @param topVer Topology version.
+     * @param enforceJoinOrder Enforce join order H2 flag.
+     * @param timeout Query timeout.
+     * @param cancel Query cancel.
+     * @param dataPageScanEnabled If data page scan is enabled.
+     * @param maxMem Query memory limit, shared by the subqueries.
+     * @param runningQryId Running query id.
+     * @param treatReplicatedAsPartitioned Treat replicated caches as partitioned flag.
+     * @param rss Result sets of the subqueries.
+     * @param qryInfos Query infos of the subqueries.
+     * @param subConns Detached connections of the subqueries, {@code null} for the map query connection.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void executeSubQueries(
+        ClusterNode node,
+        long reqId,
+        int segmentId,
+        String schemaName,
+        H2PooledConnection conn,
+        PreparedStatement stmt,
+        String sql,
+        Collection<Object> params,
+        int[][] partGrps,
+        AffinityTopologyVersion topVer,
+        boolean enforceJoinOrder,
+        int timeout,
+        GridQueryCancel cancel,
+        Boolean dataPageScanEnabled,
+        long maxMem,
+        @Nullable Long runningQryId,
+        boolean treatReplicatedAsPartitioned,
+        List<ResultSet> rss,
+        List<MapH2QueryInfo> qryInfos,
+        List<H2PooledConnection> subConns
+    ) throws IgniteCheckedException {
+        int cnt = partGrps.length;
+
+        H2PooledConnection[] conns = new H2PooledConnection[cnt];
+        PreparedStatement[] stmts = new PreparedStatement[cnt];
+        MapH2QueryInfo[] infos = new MapH2QueryInfo[cnt];
+        ResultSet[] res = new ResultSet[cnt];
+
+        conns[0] = conn;
+        stmts[0] = stmt;
+
+        try {
+            for (int i = 0; i < cnt; i++) {
+                if (i > 0)
+                    conns[i] = h2.connections().connection(schemaName);
+
+                H2Utils.setupConnection(
+                    conns[i],
+                    new QueryContext(
+                        segmentId,
+                        h2.backupFilter(topVer, partGrps[i], treatReplicatedAsPartitioned),
+                        null,
+                        null,
+                        null,
+                        true),
+                    false,
+                    enforceJoinOrder,
+                    false
+                );
+
+                if (i > 0) {
+                    stmts[i] = conns[i].prepareStatement(sql, H2StatementCache.queryFlags(false, enforceJoinOrder),
+                        params);
+
+                    H2Utils.bindParameters(stmts[i], params);
+                }
+
+                infos[i] = new MapH2QueryInfo(stmts[i], sql, node, reqId, segmentId, runningQryId);
+
+                if (i == 0)
+                    h2.initSession(conn, infos[0], maxMem);
+                else {
+                    H2MemoryTracker tracker = H2Utils.session(conn).memoryTracker();
+
+                    if (tracker != null)
+                        H2Utils.session(conns[i]).memoryTracker(tracker.createChildTracker());
+                }
+            }
+
+            AtomicInteger nextIdx = new AtomicInteger();
+            CountDownLatch doneLatch = new CountDownLatch(cnt);
+            AtomicReference<Throwable> err = new AtomicReference<>();
+
+            Span span = MTC.span();
+
+            Runnable worker = () -> {
+                try (TraceSurroundings ignored = MTC.supportContinual(span)) {
+                    for (int i = nextIdx.getAndIncrement(); i < cnt; i = nextIdx.getAndIncrement()) {
+                        try {
+                            if (err.get() == null) {
+                                res[i] = h2.executeSqlQueryWithTimer(stmts[i], conns[i], sql, timeout, cancel,
+                                    dataPageScanEnabled, infos[i], maxMem);
+                            }
+                        }
+                        catch (Throwable e) {
+                            err.compareAndSet(null, e);
+                        }
+                        finally {
+                            doneLatch.countDown();
+                        }
+                    }
+                }
+            };
+
+            for (int i = 1; i < cnt; i++)
+                ctx.closure().runLocal(worker, QUERY_POOL);
+
+            worker.run();
+
+            U.await(doneLatch);
+
+            Throwable e = err.get();
+
+            if (e != null) {
+                if (e instanceof IgniteCheckedException)
+                    throw (IgniteCheckedException)e;
+
+                if (e instanceof RuntimeException)
+                    throw (RuntimeException)e;
+
+                if (e instanceof Error)
+                    throw (Error)e;
+
+                throw new IgniteCheckedException(e);
+            }
+        }
+        catch (Throwable e) {
+            closeSubQueries(Arrays.asList(res), Arrays.asList(conns).subList(1, cnt));
+
+            throw e;
+        }
+
+        for (int i = 0; i < cnt; i++) {
+            rss.add(res[i]);
+            qryInfos.add(infos[i]);
+            subConns.add(i == 0 ? null : conns[i]);
+        }
+    }
+
+    /**
+     * Closes result sets and detached connections of map query subqueries.
+     *
+     * @param rss Result sets.
+     * @param conns Connections.
+     */
+    private void closeSubQueries(List<ResultSet> rss, List<H2PooledConnection> conns) {
+        for (ResultSet rs : rss)
+            U.closeQuiet(rs);
+
+        for (H2PooledConnection c : conns) {
+            if (c != null)
+                c.close();
+        }
+    }
+
     /**
      * @param node Node.
      * @param req DML request.
@@ -20,7 +20,9 @@ import java.lang.reflect.Field;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.locks.ReentrantLock;
@@ -94,6 +96,9 @@ class MapQueryResult {
     /** */
     private volatile Result res;
 
+    /** Results of partition subqueries to be fetched after the current one. */
+    private final Deque<Result> nextRes = new ArrayDeque<>();
+
     /** */
     private final IgniteLogger log;
 
@@ -143,7 +148,26 @@ class MapQueryResult {
 
     /** */
     void openResult(@NotNull ResultSet rs, MapH2QueryInfo qryInfo, Tracing tracing) {
-        res = new Result(rs, qryInfo, tracing);
+        res = new Result(rs, qryInfo, tracing, null);
+    }
+
+    /**
+     * Opens result consisting of results of subqueries executed over disjoint sets of partitions.
+     * Rows of the subqueries are returned one result after another.
+     *
+     * @param rss Result sets.
+     * @param qryInfos Query infos.
+     * @param conns Connections of the subqueries, closed together with their results.
+     * @param tracing Tracing processor.
+     */
+    void openResults(List<ResultSet> rss, List<MapH2QueryInfo> qryInfos, List<H2PooledConnection> conns,
+        Tracing tracing) {
+        assert !rss.isEmpty();
+
+        for (int i = 0; i < rss.size(); i++)
+            nextRes.add(new Result(rss.get(i), qryInfos.get(i), tracing, conns.get(i)));
+
+        res = nextRes.poll();
     }
 
     /**
@@ -159,7 +183,16 @@ class MapQueryResult {
     int rowCount() {
         assert res != null;
 
-        return res.rowCnt;
+        int cnt = res.rowCnt;
+
+        for (Result next : nextRes) {
+            if (cnt < 0 || next.rowCnt < 0)
+                return -1;
+
+            cnt += next.rowCnt;
+        }
+
+        return cnt;
     }
 
     /**
@@ -200,8 +233,14 @@ class MapQueryResult {
 
         try {
             for (int i = 0; i < pageSize; i++) {
-                if (!res.res.next())
-                    return true;
+                if (!res.res.next()) {
+                    if (!nextResult())
+                        return true;
+
+                    i--;
+
+                    continue;
+                }
 
                 Value[] row = convertIntervalTypes(res.res.currentRow());
 
@@ -257,13 +296,36 @@ class MapQueryResult {
                 res.fetchSizeInterceptor.checkOnFetchNext();
             }
 
-            return !res.res.hasNext();
+            while (!res.res.hasNext()) {
+                if (!nextResult())
+                    return true;
+            }
+
+            return false;
         }
         finally {
             CacheDataTree.setDataPageScanEnabled(false);
         }
     }
 
+    /**
+     * Closes exhausted current result and switches to the next subquery result.
+     *
+     * @return {@code false} if there are no more results.
+     */
+    private boolean nextResult() {
+        Result next = nextRes.poll();
+
+        if (next == null)
+            return false;
+
+        res.close();
+
+        res = next;
+
+        return true;
+    }
+
     /**
      * @param row Values array row.
      * @return Objects list row.
@@ -301,6 +363,11 @@ class MapQueryResult {
         if (res != null)
             res.close();
 
+        for (Result next : nextRes)
+            next.close();
+
+        nextRes.clear();
+
         ses.setQueryContext(null);
 
         H2MemoryTracker tracker = ses.memoryTracker();
@@ -363,14 +430,24 @@ class MapQueryResult {
         /** */
         private final Tracing tracing;
 
+        /** Connection of a partition subquery, {@code null} if the result belongs to the main connection. */
+        private final H2PooledConnection conn;
+
+        /** */
+        private boolean closed;
+
         /**
          * Constructor.
          *
          * @param rs H2 result set.
+         * @param qryInfo Query info.
+         * @param tracing Tracing processor.
+         * @param conn Connection of a partition subquery.
          */
-        Result(@NotNull ResultSet rs, MapH2QueryInfo qryInfo, Tracing tracing) {
+        Result(@NotNull ResultSet rs, MapH2QueryInfo qryInfo, Tracing tracing, @Nullable H2PooledConnection conn) {
             this.rs = rs;
             this.tracing = tracing;
+            this.conn = conn;
 
             try {
                 res = (ResultInterface)RESULT_FIELD.get(rs);
@@ -406,6 +483,11 @@ class MapQueryResult {
 
         /** */
         void close() {
+            if (closed)
+                return;
+
+            closed = true;
+
             try (MTC.TraceSurroundings ignored =
                      MTC.support(tracing.create(SQL_QRY_MAP_END, MTC.span())
                          .addLog(this::planOrSql))
@@ -414,6 +496,10 @@ class MapQueryResult {
 
                 U.close(rs, log);
             }
+            finally {
+                if (conn != null)
+                    conn.close();
+            }
         }
     }
 }
@@ -182,6 +182,8 @@ public class IgniteStatisticsManagerImpl implements IgniteStatisticsManager {
 
         statsRepos = new IgniteStatisticsRepository(store, ctx.systemView(), helper, ctx::log);
 
+        statsRepos.registerLocalStatisticsChangeListener(this::onLocalStatisticsChanged);
+
         statProc = serverNode ? new StatisticsProcessor(
             statsRepos,
             gatherPool,
@@ -263,6 +265,18 @@ public class IgniteStatisticsManagerImpl implements IgniteStatisticsManager {
         started = false;
     }
 
+    /**
+     * Invalidates prepared statements over the table, so they are re-optimized using actual statistics.
+     *
+     * @param key Key of the changed statistics.
+     */
+    private void onLocalStatisticsChanged(StatisticsKey key) {
+        GridH2Table tbl = schemaMgr.dataTable(key.schema(), key.obj());
+
+        if (tbl != null)
+            tbl.onStatisticsChanged();
+    }
+
     /**
      * Check all preconditions and start if stopped and all preconditions pass.
      */
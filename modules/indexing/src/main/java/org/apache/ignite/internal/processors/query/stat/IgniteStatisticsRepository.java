@@ -22,6 +22,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import org.apache.ignite.IgniteLogger;
@@ -67,6 +69,9 @@ public class IgniteStatisticsRepository {
     /** Statistics helper (msg converter). */
     private final IgniteStatisticsHelper helper;
 
+    /** Listeners of local statistics changes. */
+    private final List<Consumer<StatisticsKey>> locStatsChangeLsnrs = new CopyOnWriteArrayList<>();
+
     /**
      * Constructor.
      *
@@ -180,6 +185,8 @@ public class IgniteStatisticsRepository {
      */
     public void saveLocalStatistics(StatisticsKey key, ObjectStatisticsImpl statistics) {
         locStats.put(key, statistics);
+
+        onLocalStatisticsChanged(key);
     }
 
     /**
@@ -192,8 +199,10 @@ public class IgniteStatisticsRepository {
         if (F.isEmpty(partsToRemove)) {
             store.clearLocalPartitionsStatistics(key);
             store.clearObsolescenceInfo(key, null);
-            locStats.remove(key);
             statObs.remove(key);
+
+            if (locStats.remove(key) != null)
+                onLocalStatisticsChanged(key);
         }
         else {
             store.clearLocalPartitionsStatistics(key, partsToRemove);
@@ -208,6 +217,25 @@ public class IgniteStatisticsRepository {
         }
     }
 
+    /**
+     * Registers listener to be notified when local statistics of some object is changed or removed.
+     *
+     * @param lsnr Listener.
+     */
+    public void registerLocalStatisticsChangeListener(Consumer<StatisticsKey> lsnr) {
+        locStatsChangeLsnrs.add(lsnr);
+    }
+
+    /**
+     * Notifies listeners about local statistics change.
+     *
+     * @param key Key of the changed statistics.
+     */
+    private void onLocalStatisticsChanged(StatisticsKey key) {
+        for (Consumer<StatisticsKey> lsnr : locStatsChangeLsnrs)
+            lsnr.accept(key);
+    }
+
     /**
      * Get local statistics.
      *
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.ignite.spi.systemview.view;
+
+import org.apache.ignite.internal.managers.systemview.walker.Order;
+import org.apache.ignite.internal.processors.query.h2.QueryDescriptor;
+import org.apache.ignite.internal.processors.query.h2.QueryParserCacheEntry;
+
+/**
+ * Sql parser cache entry system view representation.
+ * <p>
+ * The parser cache is shared by all connections of the node and keeps parsed and split queries, so a cache hit
+ * skips parsing and map/reduce splitting. Execution plans are cached separately, see {@link SqlPlanCacheView}.
+ */
+public class SqlParserCacheView {
+    /** Select query type. */
+    public static final String SELECT_TYPE = "SELECT";
+
+    /** DML query type. */
+    public static final String DML_TYPE = "DML";
+
+    /** Command query type. */
+    public static final String COMMAND_TYPE = "COMMAND";
+
+    /** Query descriptor. */
+    private final QueryDescriptor desc;
+
+    /** Cache entry. */
+    private final QueryParserCacheEntry entry;
+
+    /**
+     * @param desc Query descriptor.
+     * @param entry Cache entry.
+     */
+    public SqlParserCacheView(QueryDescriptor desc, QueryParserCacheEntry entry) {
+        this.desc = desc;
+        this.entry = entry;
+    }
+
+    /** @return Schema name. */
+    @Order
+    public String schemaName() {
+        return desc.schemaName();
+    }
+
+    /** @return Query text. */
+    @Order(1)
+    public String sql() {
+        return desc.sql();
+    }
+
+    /** @return Query type: {@code SELECT}, {@code DML} or {@code COMMAND}. */
+    @Order(2)
+    public String type() {
+        if (entry.select() != null)
+            return SELECT_TYPE;
+
+        return entry.dml() != null ? DML_TYPE : COMMAND_TYPE;
+    }
+
+    /** @return Number of times the cached entry was reused. */
+    @Order(3)
+    public long hits() {
+        return entry.hits();
+    }
+
+    /** @return {@code True} if query is local. */
+    public boolean local() {
+        return desc.local();
+    }
+
+    /** @return {@code True} if query is collocated. */
+    public boolean collocated() {
+        return desc.collocated();
+    }
+
+    /** @return {@code True} if distributed joins are enabled. */
+    public boolean distributedJoins() {
+        return desc.distributedJoins();
+    }
+
+    /** @return {@code True} if join order is enforced. */
+    public boolean enforceJoinOrder() {
+        return desc.enforceJoinOrder();
+    }
+}
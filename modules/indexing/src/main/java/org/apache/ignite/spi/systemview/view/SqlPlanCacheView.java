@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.systemview.view;
+
+import org.apache.ignite.internal.managers.systemview.walker.Order;
+import org.apache.ignite.internal.processors.query.h2.H2PlanCacheEntry;
+import org.apache.ignite.internal.processors.query.h2.H2PlanCacheVariant;
+
+/**
+ * Sql plan cache entry system view representation.
+ * <p>
+ * The plan cache is shared by all connections of the node. A query has a separate plan for each combination
+ * of selectivities of its parameters, the plan is the query text with the chosen join order and indexes.
+ */
+public class SqlPlanCacheView {
+    /** Cache entry. */
+    private final H2PlanCacheEntry entry;
+
+    /** Plan variant. */
+    private final H2PlanCacheVariant variant;
+
+    /**
+     * @param entry Cache entry.
+     * @param variant Plan variant.
+     */
+    public SqlPlanCacheView(H2PlanCacheEntry entry, H2PlanCacheVariant variant) {
+        this.entry = entry;
+        this.variant = variant;
+    }
+
+    /** @return Schema name. */
+    @Order
+    public String schemaName() {
+        return entry.schemaName();
+    }
+
+    /** @return Query text. */
+    @Order(1)
+    public String sql() {
+        return entry.sql();
+    }
+
+    /** @return Selectivity of the query parameters the plan is chosen for. */
+    @Order(2)
+    public String selectivity() {
+        return variant.selectivity();
+    }
+
+    /** @return Query text with the chosen join order and indexes. */
+    @Order(3)
+    public String plan() {
+        return variant.plan();
+    }
+
+    /** @return Number of times the plan was reused. */
+    @Order(4)
+    public long hits() {
+        return variant.hits();
+    }
+}
@@ -53,6 +53,7 @@ import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabase
 import org.apache.ignite.internal.processors.service.DummyService;
 import org.apache.ignite.internal.util.StripedExecutor;
 import org.apache.ignite.services.ServiceConfiguration;
+import org.apache.ignite.spi.systemview.view.SqlParserCacheView;
 import org.apache.ignite.spi.systemview.view.SqlSchemaView;
 import org.apache.ignite.spi.systemview.view.SystemView;
 import org.apache.ignite.testframework.GridTestUtils;
@@ -396,6 +397,8 @@ public class SqlViewExporterSpiTest extends AbstractExporterSpiTest {
             "INDEXES",
             "LOCAL_CACHE_GROUPS_IO",
             "SQL_QUERIES",
+            "SQL_PARSER_CACHE",
+            "SQL_PLAN_CACHE",
             "SCAN_QUERIES",
             "NODE_ATTRIBUTES",
             "TABLES",
@@ -471,6 +474,28 @@ public class SqlViewExporterSpiTest extends AbstractExporterSpiTest {
         assertTrue(execute(ignite0, "SELECT * FROM " + sysSchemaName() + ".TABLES").isEmpty());
     }
 
+    /** */
+    @Test
+    public void testParserCache() throws Exception {
+        execute(ignite0, "CREATE TABLE T1(ID LONG PRIMARY KEY, NAME VARCHAR)");
+
+        String sql = "SELECT NAME FROM T1 WHERE ID = ?";
+
+        for (long i = 0; i < 3; i++)
+            execute(ignite0, sql, i);
+
+        List<List<?>> res = execute(ignite0, "SELECT SCHEMA_NAME, TYPE, HITS, LOCAL FROM " + sysSchemaName() +
+            ".SQL_PARSER_CACHE WHERE SQL = ?", sql);
+
+        assertEquals(1, res.size());
+        assertEquals(asList(DFLT_SCHEMA, SqlParserCacheView.SELECT_TYPE, 2L, false), res.get(0));
+
+        execute(ignite0, "DROP TABLE T1");
+
+        assertTrue(execute(ignite0, "SELECT * FROM " + sysSchemaName() + ".SQL_PARSER_CACHE WHERE SQL = ?", sql)
+            .isEmpty());
+    }
+
     /** */
     @Test
     public void testTableColumns() throws Exception {
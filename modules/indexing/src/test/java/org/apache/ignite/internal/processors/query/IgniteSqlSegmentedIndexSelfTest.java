@@ -17,14 +17,19 @@
 package org.apache.ignite.internal.processors.query;
 
 import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.cache.Cache;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.cache.CacheAtomicityMode;
 import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cache.affinity.AffinityKeyMapped;
@@ -33,6 +38,12 @@ import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cache.query.annotations.QuerySqlField;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.processors.cache.index.AbstractIndexingCommonTest;
+import org.apache.ignite.internal.processors.query.h2.DistributedSqlConfiguration;
+import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
+import org.apache.ignite.internal.processors.query.h2.H2QueryInfo;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.MapH2QueryInfo;
+import org.jetbrains.annotations.Nullable;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -66,7 +77,12 @@ public class IgniteSqlSegmentedIndexSelfTest extends AbstractIndexingCommonTest
     /** {@inheritDoc} */
     @SuppressWarnings("deprecation")
     @Override protected void beforeTestsStarted() throws Exception {
-        startGrids(nodesCount());
+        // Indexing class is reset by every started node.
+        for (int i = 0; i < nodesCount(); i++) {
+            GridQueryProcessor.idxCls = CountingIndexing.class;
+
+            startGrid(i);
+        }
     }
 
     /** {@inheritDoc} */
@@ -189,6 +205,60 @@ public class IgniteSqlSegmentedIndexSelfTest extends AbstractIndexingCommonTest
         }
     }
 
+    /**
+     * Checks that map queries over a single index segment are split into parallel partition subqueries which return
+     * the same results.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testMapQueryParallelism() throws Exception {
+        IgniteCache<Object, Object> cache = ignite(0).createCache(
+            cacheConfig(ORG_CACHE_NAME, true, Integer.class, Organization.class).setQueryParallelism(1));
+
+        for (int i = 0; i < ORG_CACHE_SIZE; i++)
+            cache.put(i, new Organization("org-" + i % 10));
+
+        List<String> qrys = Arrays.asList(
+            "select _key, name from \"org\".Organization where _key > 10",
+            "select _key, name from \"org\".Organization order by _key",
+            "select count(*), min(_key), max(_key) from \"org\".Organization",
+            "select name, count(*) from \"org\".Organization group by name"
+        );
+
+        List<List<List<?>>> exp = new ArrayList<>();
+
+        for (String qry : qrys)
+            exp.add(cache.query(new SqlFieldsQuery(qry)).getAll());
+
+        DistributedSqlConfiguration cfg =
+            ((IgniteH2Indexing)ignite(0).context().query().getIndexing()).distributedConfiguration();
+
+        int subQrys = 4;
+
+        cfg.mapQueryParallelism(subQrys).get();
+
+        try {
+            for (int i = 0; i < qrys.size(); i++) {
+                CountingIndexing.mapQueries.set(0);
+
+                List<List<?>> res = cache.query(new SqlFieldsQuery(qrys.get(i))).getAll();
+
+                assertEquals(exp.get(i).size(), res.size());
+                assertEquals(new HashSet<>(exp.get(i)), new HashSet<>(res));
+
+                // Ordered map query results can't be concatenated, so the ordered query runs once per node.
+                if (qrys.get(i).contains("order by"))
+                    assertEquals(nodesCount(), CountingIndexing.mapQueries.get());
+                else
+                    assertEquals(subQrys * nodesCount(), CountingIndexing.mapQueries.get());
+            }
+        }
+        finally {
+            cfg.mapQueryParallelism(DistributedSqlConfiguration.DFLT_MAP_QRY_PARALLELISM).get();
+        }
+    }
+
     /**
      * Run tests on single-node grid.
      */
@@ -436,4 +506,30 @@ public class IgniteSqlSegmentedIndexSelfTest extends AbstractIndexingCommonTest
             this.name = name;
         }
     }
+
+    /**
+     * Indexing which counts executed map queries, every subquery of a split map query is counted separately.
+     */
+    public static class CountingIndexing extends IgniteH2Indexing {
+        /** Number of executed map queries. */
+        static final AtomicInteger mapQueries = new AtomicInteger();
+
+        /** {@inheritDoc} */
+        @Override public ResultSet executeSqlQueryWithTimer(
+            PreparedStatement stmt,
+            H2PooledConnection conn,
+            String sql,
+            int timeoutMillis,
+            @Nullable GridQueryCancel cancel,
+            Boolean dataPageScanEnabled,
+            H2QueryInfo qryInfo,
+            long maxMem
+        ) throws IgniteCheckedException {
+            if (qryInfo instanceof MapH2QueryInfo)
+                mapQueries.incrementAndGet();
+
+            return super.executeSqlQueryWithTimer(stmt, conn, sql, timeoutMillis, cancel, dataPageScanEnabled,
+                qryInfo, maxMem);
+        }
+    }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.query.stat;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Planner statistics usage test: check plan variants of parameterized queries shared by connections.
+ */
+public class PSUPlanCacheStatisticsUsageTest extends StatisticsAbstractTest {
+    /** Query with two range conditions, the more selective one decides the index. */
+    private static final String QRY = "select count(*) from plan_cache where col_a > ? and col_b > ?";
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrid(0).getOrCreateCache(DEFAULT_CACHE_NAME);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        sql("DROP TABLE IF EXISTS plan_cache");
+
+        sql("CREATE TABLE plan_cache (ID INT PRIMARY KEY, col_a int, col_b int)");
+
+        sql("CREATE INDEX plan_cache_col_a ON plan_cache(col_a)");
+        sql("CREATE INDEX plan_cache_col_b ON plan_cache(col_b)");
+
+        for (int i = 0; i < 100; i++)
+            sql(String.format("INSERT INTO plan_cache(id, col_a, col_b) VALUES(%d, %d, %d)", i, i, i));
+
+        collectStatistics("plan_cache");
+    }
+
+    /**
+     * Checks that the index is chosen by the selectivity of the parameters and each plan variant is cached.
+     */
+    @Test
+    public void testPlanVariantsBySelectivity() {
+        assertEquals(2L, query(97, 0));
+        assertEquals(2L, query(0, 97));
+
+        List<List<?>> plans = plans();
+
+        assertEquals(plans.toString(), 2, plans.size());
+
+        for (List<?> plan : plans) {
+            String selectivity = (String)plan.get(0);
+
+            String idx = selectivity.startsWith("COL_A BIGGER ?1 <=10%") ? "PLAN_CACHE_COL_A" : "PLAN_CACHE_COL_B";
+
+            assertTrue(plan.toString(), ((String)plan.get(1)).contains("USE INDEX (\"" + idx + "\")"));
+        }
+    }
+
+    /**
+     * Checks that the plan variant is reused by the connections of all threads.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPlanSharedByConnections() throws Exception {
+        assertEquals(2L, query(97, 0));
+
+        GridTestUtils.runMultiThreaded(() -> {
+            for (int i = 0; i < 5; i++)
+                assertEquals(3L, query(96, 1));
+        }, 4, "plan-cache-qry");
+
+        List<List<?>> plans = plans();
+
+        assertEquals(plans.toString(), 1, plans.size());
+        assertEquals(20L, plans.get(0).get(2));
+    }
+
+    /**
+     * Checks that plans are invalidated once the statistics change.
+     */
+    @Test
+    public void testPlanInvalidatedOnStatisticsChange() {
+        query(97, 0);
+        query(97, 0);
+
+        assertEquals(1L, plans().get(0).get(2));
+
+        sql("INSERT INTO plan_cache(id, col_a, col_b) VALUES(100, 1000, 1000)");
+
+        updateStatistics("plan_cache");
+
+        // The range of the column is wider, so the same bound selects a larger fraction of rows.
+        assertEquals(3L, query(97, 0));
+
+        List<List<?>> plans = plans();
+
+        assertEquals(plans.toString(), 1, plans.size());
+        assertEquals(0L, plans.get(0).get(2));
+    }
+
+    /**
+     * @param a Lower bound of the first column.
+     * @param b Lower bound of the second column.
+     * @return Number of rows.
+     */
+    private long query(int a, int b) {
+        return (Long)grid(0).cache(DEFAULT_CACHE_NAME).query(new SqlFieldsQuery(QRY).setArgs(a, b).setLocal(true))
+            .getAll().get(0).get(0);
+    }
+
+    /**
+     * @return Selectivity, plan and hits of the cached plan variants of the query.
+     */
+    private List<List<?>> plans() {
+        return grid(0).cache(DEFAULT_CACHE_NAME).query(new SqlFieldsQuery("select selectivity, plan, hits from " +
+            "SYS.SQL_PLAN_CACHE where upper(sql) like ?").setArgs("%PLAN_CACHE%COL_B%")).getAll();
+    }
+}
@@ -106,6 +106,7 @@ import org.apache.ignite.internal.processors.cache.index.StopNodeOnRebuildIndexF
 import org.apache.ignite.internal.processors.cache.local.IgniteCacheLocalAtomicQuerySelfTest;
 import org.apache.ignite.internal.processors.cache.local.IgniteCacheLocalQuerySelfTest;
 import org.apache.ignite.internal.processors.cache.query.CacheDataPageScanQueryTest;
+import org.apache.ignite.internal.processors.cache.query.CacheParallelScanQueryTest;
 import org.apache.ignite.internal.processors.cache.query.CacheScanQueryFailoverTest;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryTransformerSelfTest;
 import org.apache.ignite.internal.processors.cache.query.GridCircularQueueTest;
@@ -283,6 +284,7 @@ import org.junit.runners.Suite;
 
     IgniteCacheMultipleIndexedTypesTest.class,
     CacheDataPageScanQueryTest.class,
+    CacheParallelScanQueryTest.class,
     QueryDataPageScanTest.class,
 
     IgniteCacheQueryLargeRecordsOomTest.class,
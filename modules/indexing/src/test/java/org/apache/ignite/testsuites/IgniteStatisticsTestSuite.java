@@ -26,6 +26,7 @@ import org.apache.ignite.internal.processors.query.stat.IgniteStatisticsReposito
 import org.apache.ignite.internal.processors.query.stat.ManagerStatisticsTypesTest;
 import org.apache.ignite.internal.processors.query.stat.PSUBasicValueDistributionTableStatisticsUsageTest;
 import org.apache.ignite.internal.processors.query.stat.PSUCompositeIndexTableStatisticsUsageTest;
+import org.apache.ignite.internal.processors.query.stat.PSUPlanCacheStatisticsUsageTest;
 import org.apache.ignite.internal.processors.query.stat.PSUStatisticPartialGatheringTest;
 import org.apache.ignite.internal.processors.query.stat.PSUStatisticsStorageTest;
 import org.apache.ignite.internal.processors.query.stat.PSUStatisticsTypesTest;
@@ -72,6 +73,7 @@ import org.junit.runners.Suite;
     PSUBasicValueDistributionTableStatisticsUsageTest.class,
     PSUValueDistributionTableStatisticsUsageTest.class,
     PSUCompositeIndexTableStatisticsUsageTest.class,
+    PSUPlanCacheStatisticsUsageTest.class,
     PSUStatisticsStorageTest.class,
 
     // Statistics collection components tests
@@ -26,6 +26,7 @@ import org.apache.ignite.ml.dataset.PartitionDataBuilder;
 import org.apache.ignite.ml.dataset.UpstreamEntry;
 import org.apache.ignite.ml.dataset.primitive.context.EmptyContext;
 import org.apache.ignite.ml.environment.LearningEnvironment;
+import org.apache.ignite.ml.math.Blas;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
 import org.apache.ignite.ml.math.stat.MultivariateGaussianDistribution;
 import org.apache.ignite.ml.preprocessing.Preprocessor;
@@ -36,6 +37,9 @@ import org.apache.ignite.ml.structures.LabeledVector;
  * each cluster of gaussians mixture (see {@link #pcxi}) for each vector in dataset.
  */
 class GmmPartitionData implements AutoCloseable {
+    /** Number of vectors processed at once by blocked distance and probability computations. */
+    static final int BLOCK_SIZE = 256;
+
     /** Dataset vectors. */
     private List<LabeledVector<Double>> xs;
 
@@ -159,21 +163,32 @@ class GmmPartitionData implements AutoCloseable {
      * @param initMeans Initial means.
      */
     static void estimateLikelihoodClusters(GmmPartitionData data, Vector[] initMeans) {
-        for (int i = 0; i < data.size(); i++) {
-            int closestClusterId = -1;
-            double minSquaredDist = Double.MAX_VALUE;
-
-            Vector x = data.getX(i);
-            for (int c = 0; c < initMeans.length; c++) {
-                data.setPcxi(c, i, 0.0);
-                double distance = initMeans[c].getDistanceSquared(x);
-                if (distance < minSquaredDist) {
-                    closestClusterId = c;
-                    minSquaredDist = distance;
+        int k = initMeans.length;
+        double[] means = Blas.toColumnMajor(c -> initMeans[c], 0, k);
+        int d = k == 0 ? 0 : initMeans[0].size();
+        double[] dist = new double[BLOCK_SIZE * k];
+
+        for (int from = 0; from < data.size(); from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, data.size());
+            int n = to - from;
+
+            Blas.squaredDistances(Blas.toColumnMajor(data::getX, from, to), n, means, k, d, dist);
+
+            for (int i = 0; i < n; i++) {
+                int closestClusterId = -1;
+                double minSquaredDist = Double.MAX_VALUE;
+
+                for (int c = 0; c < k; c++) {
+                    data.setPcxi(c, from + i, 0.0);
+                    double distance = dist[c * n + i];
+                    if (distance < minSquaredDist) {
+                        closestClusterId = c;
+                        minSquaredDist = distance;
+                    }
                 }
-            }
 
-            data.setPcxi(closestClusterId, i, 1.);
+                data.setPcxi(closestClusterId, from + i, 1.);
+            }
         }
     }
 
@@ -193,21 +208,31 @@ class GmmPartitionData implements AutoCloseable {
     static double updatePcxi(GmmPartitionData data, Vector clusterProbs,
         List<MultivariateGaussianDistribution> components) {
 
-        GmmModel model = new GmmModel(clusterProbs, components);
+        int k = clusterProbs.size();
         double maxProb = Double.NEGATIVE_INFINITY;
+        double[][] probs = new double[k][BLOCK_SIZE];
+
+        for (int from = 0; from < data.size(); from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, data.size());
+            int n = to - from;
 
-        for (int i = 0; i < data.size(); i++) {
-            Vector x = data.getX(i);
-            double xProb = model.prob(x);
-            if (xProb > maxProb)
-                maxProb = xProb;
+            double[] x = Blas.toColumnMajor(data::getX, from, to);
 
-            double normalizer = 0.0;
-            for (int c = 0; c < clusterProbs.size(); c++)
-                normalizer += components.get(c).prob(x) * clusterProbs.get(c);
+            for (int c = 0; c < k; c++)
+                components.get(c).prob(x, n, probs[c]);
 
-            for (int c = 0; c < clusterProbs.size(); c++)
-                data.pcxi[i][c] = (components.get(c).prob(x) * clusterProbs.get(c)) / normalizer;
+            for (int i = 0; i < n; i++) {
+                double normalizer = 0.0;
+                for (int c = 0; c < k; c++)
+                    normalizer += probs[c][i] * clusterProbs.get(c);
+
+                // Normalizer is a probability of vector in terms of mixture.
+                if (normalizer > maxProb)
+                    maxProb = normalizer;
+
+                for (int c = 0; c < k; c++)
+                    data.pcxi[from + i][c] = (probs[c][i] * clusterProbs.get(c)) / normalizer;
+            }
         }
 
         return maxProb;
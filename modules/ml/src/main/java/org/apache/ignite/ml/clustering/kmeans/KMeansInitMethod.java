@@ -0,0 +1,33 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.clustering.kmeans;
+
+/**
+ * Method of initial cluster centers selection used by {@link KMeansTrainer}.
+ */
+public enum KMeansInitMethod {
+    /** Centers are picked randomly from the dataset. */
+    RANDOM,
+
+    /**
+     * Scalable k-means++ (k-means||). Candidate centers are oversampled in a few passes over the dataset with
+     * probabilities proportional to squared distances to already chosen candidates, then the candidates weighted
+     * by amounts of closest points are clustered into k centers locally.
+     */
+    K_MEANS_PARALLEL
+}
@@ -17,6 +17,7 @@
 package org.apache.ignite.ml.clustering.kmeans;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
@@ -30,25 +31,40 @@ import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.ml.dataset.Dataset;
 import org.apache.ignite.ml.dataset.DatasetBuilder;
 import org.apache.ignite.ml.dataset.PartitionDataBuilder;
+import org.apache.ignite.ml.dataset.primitive.builder.data.SimpleLabeledDatasetDataBuilder;
 import org.apache.ignite.ml.dataset.primitive.context.EmptyContext;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
+import org.apache.ignite.ml.dataset.primitive.data.SimpleLabeledDatasetData;
 import org.apache.ignite.ml.environment.LearningEnvironmentBuilder;
+import org.apache.ignite.ml.math.Blas;
 import org.apache.ignite.ml.math.distances.DistanceMeasure;
 import org.apache.ignite.ml.math.distances.EuclideanDistance;
-import org.apache.ignite.ml.math.functions.IgniteBiFunction;
+import org.apache.ignite.ml.math.functions.IgniteFunction;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
 import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
 import org.apache.ignite.ml.math.primitives.vector.impl.DenseVector;
 import org.apache.ignite.ml.math.util.MapUtil;
 import org.apache.ignite.ml.preprocessing.Preprocessor;
+import org.apache.ignite.ml.preprocessing.developer.PatchedPreprocessor;
 import org.apache.ignite.ml.structures.LabeledVector;
-import org.apache.ignite.ml.structures.LabeledVectorSet;
-import org.apache.ignite.ml.structures.partition.LabeledDatasetPartitionDataBuilderOnHeap;
 import org.apache.ignite.ml.trainers.SingleLabelDatasetTrainer;
 
 /**
  * The trainer for KMeans algorithm.
+ * <p>
+ * By default every iteration assigns all points of the dataset to the closest centers. In mini-batch mode (see
+ * {@link #withBatchSize(int)}) every iteration uses a small random sample of each partition and moves centers with
+ * per-center learning rates, that is much cheaper on large datasets. For the euclidean distance points are assigned
+ * to centers by blocks, distances between a block of points and all centers are computed by a single matrix-matrix
+ * multiplication.
  */
 public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
+    /** Number of points processed at once by blocked distance computations. */
+    private static final int BLOCK_SIZE = 256;
+
+    /** Amount of weighted Lloyd iterations over candidate centers chosen by k-means|| initialization. */
+    private static final int LOCAL_ITERATIONS = 30;
+
     /** Amount of clusters. */
     private int k = 2;
 
@@ -61,6 +77,18 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
     /** Distance measure. */
     private DistanceMeasure distance = new EuclideanDistance();
 
+    /** Amount of points sampled from each partition on every iteration, {@code 0} to use all points. */
+    private int batchSize;
+
+    /** Initialization method. */
+    private KMeansInitMethod initMethod = KMeansInitMethod.RANDOM;
+
+    /** Amount of oversampling rounds of k-means|| initialization. */
+    private int initRounds = 5;
+
+    /** Storage of partition features. */
+    private FeatureStorageMode featureStorageMode = FeatureStorageMode.ON_HEAP;
+
     /** {@inheritDoc} */
     @Override public <K, V> KMeansModel fitWithInitializedDeployingContext(DatasetBuilder<K, V> datasetBuilder,
         Preprocessor<K, V> preprocessor) {
@@ -77,18 +105,22 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
         Preprocessor<K, V> preprocessor) {
         assert datasetBuilder != null;
 
-        PartitionDataBuilder<K, V, EmptyContext, LabeledVectorSet<LabeledVector>> partDataBuilder =
-            new LabeledDatasetPartitionDataBuilderOnHeap<>(preprocessor);
+        // Labels are not used by the algorithm.
+        IgniteFunction<LabeledVector<Object>, LabeledVector<double[]>> func =
+            lv -> new LabeledVector<>(lv.features(), new double[0]);
+
+        PartitionDataBuilder<K, V, EmptyContext, SimpleLabeledDatasetData> partDataBuilder =
+            new SimpleLabeledDatasetDataBuilder<>(new PatchedPreprocessor<>(func, preprocessor), featureStorageMode);
 
         Vector[] centers;
 
-        try (Dataset<EmptyContext, LabeledVectorSet<LabeledVector>> dataset = datasetBuilder.build(
+        try (Dataset<EmptyContext, SimpleLabeledDatasetData> dataset = datasetBuilder.build(
             envBuilder,
             (env, upstream, upstreamSize) -> new EmptyContext(),
             partDataBuilder,
             learningEnvironment()
         )) {
-            final Integer cols = dataset.compute(org.apache.ignite.ml.structures.Dataset::colSize, (a, b) -> {
+            final Integer cols = dataset.compute(data -> data.getColumns() == 0 ? null : data.getColumns(), (a, b) -> {
                 if (a == null)
                     return b == null ? 0 : b;
                 if (b == null)
@@ -96,25 +128,40 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
                 return b;
             });
 
-            if (cols == null)
+            if (cols == null || cols == 0)
                 return getLastTrainedModelOrThrowEmptyDatasetException(mdl);
 
             centers = Optional.ofNullable(mdl)
                 .map(KMeansModel::getCenters)
-                .orElseGet(() -> initClusterCentersRandomly(dataset, k));
+                .orElseGet(() -> initMethod == KMeansInitMethod.K_MEANS_PARALLEL ?
+                    initClusterCentersParallel(dataset, k) : initClusterCentersRandomly(dataset, k));
 
             boolean converged = false;
             int iteration = 0;
 
+            // Amounts of points absorbed by each center in mini-batch mode.
+            long[] centerCounts = new long[centers.length];
+
             while (iteration < maxIterations && !converged) {
                 Vector[] newCentroids = new DenseVector[k];
 
-                TotalCostAndCounts totalRes = calcDataForNewCentroids(centers, dataset, cols);
+                TotalCostAndCounts totalRes = batchSize > 0 ?
+                    calcDataForMiniBatch(centers, dataset, cols) : calcDataForNewCentroids(centers, dataset, cols);
 
                 converged = true;
 
                 for (Integer ind : totalRes.sums.keySet()) {
-                    Vector massCenter = totalRes.sums.get(ind).times(1.0 / totalRes.counts.get(ind));
+                    Vector massCenter;
+
+                    if (batchSize > 0) {
+                        // Learning rate of the center is an inverse amount of points it has absorbed.
+                        centerCounts[ind] += totalRes.counts.get(ind);
+
+                        massCenter = centers[ind].times(1.0 - (double)totalRes.counts.get(ind) / centerCounts[ind])
+                            .plus(totalRes.sums.get(ind).times(1.0 / centerCounts[ind]));
+                    }
+                    else
+                        massCenter = totalRes.sums.get(ind).times(1.0 / totalRes.counts.get(ind));
 
                     if (converged && distance.compute(massCenter, centers[ind]) > epsilon * epsilon)
                         converged = false;
@@ -149,40 +196,200 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
      * @return Helper data to calculate the new centroids.
      */
     private TotalCostAndCounts calcDataForNewCentroids(Vector[] centers,
-        Dataset<EmptyContext, LabeledVectorSet<LabeledVector>> dataset, int cols) {
+        Dataset<EmptyContext, SimpleLabeledDatasetData> dataset, int cols) {
+        final Vector[] finalCenters = centers;
+        final double[] packedCenters = packCenters(centers);
+
+        return dataset.compute(
+            data -> calcStatistics(data, null, finalCenters, packedCenters, cols),
+            KMeansTrainer::mergeStatistics
+        );
+    }
+
+    /**
+     * Prepares the data to define new centroids on current iteration using random samples of partitions.
+     *
+     * @param centers Current centers on the current iteration.
+     * @param dataset Dataset.
+     * @param cols Amount of columns.
+     * @return Helper data to calculate the new centroids.
+     */
+    private TotalCostAndCounts calcDataForMiniBatch(Vector[] centers,
+        Dataset<EmptyContext, SimpleLabeledDatasetData> dataset, int cols) {
         final Vector[] finalCenters = centers;
+        final double[] packedCenters = packCenters(centers);
+        final int finalBatchSize = batchSize;
+
+        return dataset.compute((data, env) -> {
+            if (data.getRows() == 0)
+                return new TotalCostAndCounts();
+
+            Random rnd = env.randomNumbersGenerator();
+
+            int[] rows = new int[Math.min(finalBatchSize, data.getRows())];
+
+            for (int i = 0; i < rows.length; i++)
+                rows[i] = rnd.nextInt(data.getRows());
+
+            return calcStatistics(data, rows, finalCenters, packedCenters, cols);
+        }, KMeansTrainer::mergeStatistics);
+    }
 
-        return dataset.compute(data -> {
-            TotalCostAndCounts res = new TotalCostAndCounts();
+    /**
+     * Assigns points of partition to the closest centers and computes sums and counts of points per center.
+     *
+     * @param data Partition data.
+     * @param rows Indexes of rows to process or {@code null} to process all rows.
+     * @param centers Current centers.
+     * @param packedCenters Centers packed for blocked distance computations or {@code null}.
+     * @param cols Amount of columns.
+     * @return Statistics of partition.
+     */
+    private TotalCostAndCounts calcStatistics(SimpleLabeledDatasetData data, int[] rows, Vector[] centers,
+        double[] packedCenters, int cols) {
+        int size = rows == null ? data.getRows() : rows.length;
+
+        double[][] sums = new double[centers.length][cols];
+        int[] counts = new int[centers.length];
+
+        int[] closest = new int[BLOCK_SIZE];
+        double[] dists = new double[BLOCK_SIZE];
+
+        TotalCostAndCounts res = new TotalCostAndCounts();
 
-            for (int i = 0; i < data.rowSize(); i++) {
-                final IgniteBiTuple<Integer, Double> closestCentroid = findClosestCentroid(finalCenters, data.getRow(i));
+        for (int from = 0; from < size; from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, size);
+            int n = to - from;
 
-                int centroidIdx = closestCentroid.get1();
+            double[] block = block(data, rows, from, to);
 
-                data.setLabel(i, centroidIdx);
+            findClosestCentroids(centers, packedCenters, block, n, closest, dists);
 
-                res.totalCost += closestCentroid.get2();
-                res.sums.putIfAbsent(centroidIdx, VectorUtils.zeroes(cols));
+            for (int i = 0; i < n; i++) {
+                int centroidIdx = closest[i];
 
-                int finalI = i;
-                res.sums.compute(centroidIdx,
-                    (IgniteBiFunction<Integer, Vector, Vector>)(ind, v) -> {
-                        Vector features = data.getRow(finalI).features();
-                        return v == null ? features : v.plus(features);
-                    });
+                res.totalCost += dists[i];
+                counts[centroidIdx]++;
 
-                res.counts.merge(centroidIdx, 1,
-                    (IgniteBiFunction<Integer, Integer, Integer>)(i1, i2) -> i1 + i2);
+                double[] sum = sums[centroidIdx];
+
+                for (int j = 0; j < cols; j++)
+                    sum[j] += block[j * n + i];
             }
-            return res;
-        }, (a, b) -> {
-            if (a == null)
-                return b == null ? new TotalCostAndCounts() : b;
-            if (b == null)
-                return a;
-            return a.merge(b);
-        });
+        }
+
+        for (int c = 0; c < centers.length; c++) {
+            if (counts[c] > 0) {
+                res.sums.put(c, VectorUtils.of(sums[c]));
+                res.counts.put(c, counts[c]);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Merges statistics of partitions.
+     *
+     * @param a First statistics.
+     * @param b Second statistics.
+     * @return Merged statistics.
+     */
+    private static TotalCostAndCounts mergeStatistics(TotalCostAndCounts a, TotalCostAndCounts b) {
+        if (a == null)
+            return b == null ? new TotalCostAndCounts() : b;
+        if (b == null)
+            return a;
+        return a.merge(b);
+    }
+
+    /**
+     * Copies features of a block of points of partition.
+     *
+     * @param data Partition data.
+     * @param rows Indexes of rows or {@code null} if all rows are processed.
+     * @param from Index of the first point of the block (inclusive).
+     * @param to Index of the last point of the block (exclusive).
+     * @return Features of points in a dense flat column-major format.
+     */
+    private static double[] block(SimpleLabeledDatasetData data, int[] rows, int from, int to) {
+        int[] idxs = new int[to - from];
+
+        for (int i = 0; i < idxs.length; i++)
+            idxs[i] = rows == null ? from + i : rows[from + i];
+
+        return data.getFeatureRows(idxs);
+    }
+
+    /**
+     * Finds the closest cluster centers indexes and distances to them for a block of points.
+     *
+     * @param centers Centers to look in.
+     * @param packedCenters Centers packed for blocked distance computations or {@code null}.
+     * @param block Points in a dense flat column-major format.
+     * @param n Amount of points.
+     * @param closest Resulting indexes of the closest centers.
+     * @param dists Resulting distances to the closest centers.
+     */
+    private void findClosestCentroids(Vector[] centers, double[] packedCenters, double[] block, int n,
+        int[] closest, double[] dists) {
+        if (packedCenters != null) {
+            int k = centers.length;
+            double[] sqDists = new double[n * k];
+
+            Blas.squaredDistances(block, n, packedCenters, k, centers[0].size(), sqDists);
+
+            for (int i = 0; i < n; i++) {
+                double bestDistance = Double.POSITIVE_INFINITY;
+                int bestInd = 0;
+
+                for (int c = 0; c < k; c++) {
+                    if (sqDists[c * n + i] < bestDistance) {
+                        bestDistance = sqDists[c * n + i];
+                        bestInd = c;
+                    }
+                }
+
+                closest[i] = bestInd;
+                dists[i] = Math.sqrt(bestDistance);
+            }
+        }
+        else {
+            for (int i = 0; i < n; i++) {
+                IgniteBiTuple<Integer, Double> closestCentroid = findClosestCentroid(centers, row(block, n, i));
+
+                closest[i] = closestCentroid.get1();
+                dists[i] = closestCentroid.get2();
+            }
+        }
+    }
+
+    /**
+     * @param block Points in a dense flat column-major format.
+     * @param n Amount of points.
+     * @param i Index of point.
+     * @return Point.
+     */
+    private static Vector row(double[] block, int n, int i) {
+        double[] res = new double[block.length / n];
+
+        for (int j = 0; j < res.length; j++)
+            res[j] = block[j * n + i];
+
+        return VectorUtils.of(res);
+    }
+
+    /**
+     * Packs centers for blocked distance computations.
+     *
+     * @param centers Centers.
+     * @return Centers in a dense flat column-major format or {@code null} if the distance measure is not euclidean.
+     */
+    private double[] packCenters(Vector[] centers) {
+        if (distance.getClass() != EuclideanDistance.class)
+            return null;
+
+        return Blas.toColumnMajor(i -> centers[i], 0, centers.length);
     }
 
     /**
@@ -191,12 +398,12 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
      * @param centers Centers to look in.
      * @param pnt Point.
      */
-    private IgniteBiTuple<Integer, Double> findClosestCentroid(Vector[] centers, LabeledVector pnt) {
+    private IgniteBiTuple<Integer, Double> findClosestCentroid(Vector[] centers, Vector pnt) {
         double bestDistance = Double.POSITIVE_INFINITY;
         int bestInd = 0;
 
         for (int i = 0; i < centers.length; i++) {
-            double dist = distance.compute(centers[i], pnt.features());
+            double dist = distance.compute(centers[i], pnt);
             if (dist < bestDistance) {
                 bestDistance = dist;
                 bestInd = i;
@@ -205,6 +412,215 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
         return new IgniteBiTuple<>(bestInd, bestDistance);
     }
 
+    /**
+     * Computes distances from all points of partition to the closest centers.
+     *
+     * @param data Partition data.
+     * @param centers Centers.
+     * @param packedCenters Centers packed for blocked distance computations or {@code null}.
+     * @return Distances.
+     */
+    private double[] minDistances(SimpleLabeledDatasetData data, Vector[] centers, double[] packedCenters) {
+        double[] res = new double[data.getRows()];
+        int[] closest = new int[BLOCK_SIZE];
+        double[] dists = new double[BLOCK_SIZE];
+
+        for (int from = 0; from < data.getRows(); from += BLOCK_SIZE) {
+            int to = Math.min(from + BLOCK_SIZE, data.getRows());
+
+            findClosestCentroids(centers, packedCenters, block(data, null, from, to), to - from, closest, dists);
+
+            System.arraycopy(dists, 0, res, from, to - from);
+        }
+
+        return res;
+    }
+
+    /**
+     * K cluster centers are initialized by scalable k-means++ (k-means||). Candidates are oversampled in a few
+     * passes over the dataset, then they are weighted by amounts of the closest points and clustered locally.
+     *
+     * @param dataset The dataset to pick up centers.
+     * @param k Amount of clusters.
+     * @return K cluster centers.
+     */
+    private Vector[] initClusterCentersParallel(Dataset<EmptyContext, SimpleLabeledDatasetData> dataset,
+        int k) {
+        List<Vector> candidates = new ArrayList<>();
+
+        candidates.add(initClusterCentersRandomly(dataset, 1)[0]);
+
+        final double oversampling = 2.0 * k;
+
+        for (int round = 0; round < initRounds; round++) {
+            final Vector[] curr = candidates.toArray(new Vector[0]);
+            final double[] packed = packCenters(curr);
+
+            Double cost = dataset.compute(data -> {
+                double res = 0;
+
+                for (double dist : minDistances(data, curr, packed))
+                    res += dist * dist;
+
+                return res;
+            }, (a, b) -> a == null ? b : b == null ? a : a + b);
+
+            if (cost == null || cost == 0)
+                break;
+
+            List<Vector> sampled = dataset.compute((data, env) -> {
+                List<Vector> res = new ArrayList<>();
+                Random rnd = env.randomNumbersGenerator();
+
+                double[] dists = minDistances(data, curr, packed);
+
+                for (int i = 0; i < dists.length; i++) {
+                    if (rnd.nextDouble() < oversampling * dists[i] * dists[i] / cost)
+                        res.add(VectorUtils.of(data.getFeatureRows(new int[] {i})));
+                }
+
+                return res;
+            }, (a, b) -> {
+                if (a == null)
+                    return b == null ? new ArrayList<>() : b;
+                if (b == null)
+                    return a;
+                return Stream.concat(a.stream(), b.stream()).collect(Collectors.toList());
+            });
+
+            candidates.addAll(sampled);
+        }
+
+        if (candidates.size() < k)
+            return initClusterCentersRandomly(dataset, k);
+
+        final Vector[] cands = candidates.toArray(new Vector[0]);
+        final double[] packed = packCenters(cands);
+
+        long[] weights = dataset.compute(data -> {
+            long[] res = new long[cands.length];
+            int[] closest = new int[BLOCK_SIZE];
+            double[] dists = new double[BLOCK_SIZE];
+
+            for (int from = 0; from < data.getRows(); from += BLOCK_SIZE) {
+                int to = Math.min(from + BLOCK_SIZE, data.getRows());
+
+                findClosestCentroids(cands, packed, block(data, null, from, to), to - from, closest, dists);
+
+                for (int i = 0; i < to - from; i++)
+                    res[closest[i]]++;
+            }
+
+            return res;
+        }, (a, b) -> {
+            if (a == null)
+                return b;
+            if (b == null)
+                return a;
+            for (int i = 0; i < a.length; i++)
+                a[i] += b[i];
+            return a;
+        });
+
+        return clusterWeightedCandidates(cands, weights, k);
+    }
+
+    /**
+     * Clusters weighted candidates into k centers by k-means++ seeding followed by weighted Lloyd iterations.
+     *
+     * @param cands Candidates.
+     * @param weights Weights of candidates.
+     * @param k Amount of clusters.
+     * @return K cluster centers.
+     */
+    private Vector[] clusterWeightedCandidates(Vector[] cands, long[] weights, int k) {
+        Random rnd = environment.randomNumbersGenerator();
+
+        Vector[] centers = new Vector[k];
+        double[] probs = new double[cands.length];
+        double[] minSqDists = new double[cands.length];
+
+        for (int i = 0; i < cands.length; i++)
+            probs[i] = weights[i];
+
+        Arrays.fill(minSqDists, Double.POSITIVE_INFINITY);
+
+        centers[0] = cands[pickWeighted(rnd, probs)];
+
+        for (int c = 1; c < k; c++) {
+            double sum = 0;
+
+            for (int i = 0; i < cands.length; i++) {
+                double dist = distance.compute(cands[i], centers[c - 1]);
+
+                minSqDists[i] = Math.min(minSqDists[i], dist * dist);
+                probs[i] = minSqDists[i] * weights[i];
+                sum += probs[i];
+            }
+
+            // All candidates coincide with chosen centers, so the rest ones are picked by weights.
+            if (sum == 0) {
+                for (int i = 0; i < cands.length; i++)
+                    probs[i] = weights[i] + 1;
+            }
+
+            centers[c] = cands[pickWeighted(rnd, probs)];
+        }
+
+        for (int iter = 0; iter < LOCAL_ITERATIONS; iter++) {
+            Vector[] sums = new Vector[k];
+            long[] counts = new long[k];
+
+            for (int i = 0; i < cands.length; i++) {
+                if (weights[i] == 0)
+                    continue;
+
+                int c = findClosestCentroid(centers, cands[i]).get1();
+                Vector weighted = cands[i].times(weights[i]);
+
+                sums[c] = sums[c] == null ? weighted : sums[c].plus(weighted);
+                counts[c] += weights[i];
+            }
+
+            for (int c = 0; c < k; c++) {
+                if (counts[c] > 0)
+                    centers[c] = sums[c].times(1.0 / counts[c]);
+            }
+        }
+
+        return centers;
+    }
+
+    /**
+     * Picks an index with a probability proportional to its weight.
+     *
+     * @param rnd Random numbers generator.
+     * @param weights Non-negative weights, at least one of them is positive.
+     * @return Index.
+     */
+    private static int pickWeighted(Random rnd, double[] weights) {
+        double sum = 0;
+
+        for (double w : weights)
+            sum += w;
+
+        double r = rnd.nextDouble() * sum;
+        int last = 0;
+
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] <= 0)
+                continue;
+
+            last = i;
+            r -= weights[i];
+
+            if (r < 0)
+                return i;
+        }
+
+        return last;
+    }
+
     /**
      * K cluster centers are initialized randomly.
      *
@@ -212,37 +628,37 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
      * @param k Amount of clusters.
      * @return K cluster centers.
      */
-    private Vector[] initClusterCentersRandomly(Dataset<EmptyContext, LabeledVectorSet<LabeledVector>> dataset,
+    private Vector[] initClusterCentersRandomly(Dataset<EmptyContext, SimpleLabeledDatasetData> dataset,
         int k) {
         Vector[] initCenters = new DenseVector[k];
 
         // Gets k or less vectors from each partition.
-        List<LabeledVector> rndPnts = dataset.compute(data -> {
-            List<LabeledVector> rndPnt = new ArrayList<>();
+        List<Vector> rndPnts = dataset.compute(data -> {
+            List<Vector> rndPnt = new ArrayList<>();
 
-            if (data.rowSize() != 0) {
-                if (data.rowSize() > k) { // If it's enough rows in partition to pick k vectors.
+            if (data.getRows() != 0) {
+                if (data.getRows() > k) { // If it's enough rows in partition to pick k vectors.
                     final Random random = environment.randomNumbersGenerator();
 
                     for (int i = 0; i < k; i++) {
                         Set<Integer> uniqueIndices = new HashSet<>();
-                        int nextIdx = random.nextInt(data.rowSize());
+                        int nextIdx = random.nextInt(data.getRows());
                         int maxRandomSearch = k; // It required to make the next cycle is finite.
                         int cntr = 0;
 
                         // Repeat nextIdx generation if it was picked earlier.
                         while (uniqueIndices.contains(nextIdx) && cntr < maxRandomSearch) {
-                            nextIdx = random.nextInt(data.rowSize());
+                            nextIdx = random.nextInt(data.getRows());
                             cntr++;
                         }
                         uniqueIndices.add(nextIdx);
 
-                        rndPnt.add(data.getRow(nextIdx));
+                        rndPnt.add(VectorUtils.of(data.getFeatureRows(new int[] {nextIdx})));
                     }
                 }
                 else // If it's not enough vectors to pick k vectors.
-                    for (int i = 0; i < data.rowSize(); i++)
-                        rndPnt.add(data.getRow(i));
+                    for (int i = 0; i < data.getRows(); i++)
+                        rndPnt.add(VectorUtils.of(data.getFeatureRows(new int[] {i})));
             }
             return rndPnt;
         }, (a, b) -> {
@@ -259,9 +675,9 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
         // Pick k vectors randomly.
         if (rndPnts.size() >= k) {
             for (int i = 0; i < k; i++) {
-                final LabeledVector rndPnt = rndPnts.get(environment.randomNumbersGenerator().nextInt(rndPnts.size()));
+                final Vector rndPnt = rndPnts.get(environment.randomNumbersGenerator().nextInt(rndPnts.size()));
                 rndPnts.remove(rndPnt);
-                initCenters[i] = rndPnt.features();
+                initCenters[i] = rndPnt;
             }
         }
         else
@@ -290,7 +706,7 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
 
         /** Merge current */
         TotalCostAndCounts merge(TotalCostAndCounts other) {
-            this.totalCost += totalCost;
+            this.totalCost += other.totalCost;
             this.sums = MapUtil.mergeMaps(sums, other.sums, Vector::plus, ConcurrentHashMap::new);
             this.counts = MapUtil.mergeMaps(counts, other.counts, (i1, i2) -> i1 + i2, ConcurrentHashMap::new);
             this.centroidStat = MapUtil.mergeMaps(centroidStat, other.centroidStat, (m1, m2) ->
@@ -385,4 +801,85 @@ public class KMeansTrainer extends SingleLabelDatasetTrainer<KMeansModel> {
         this.distance = distance;
         return this;
     }
+
+    /**
+     * Gets the amount of points sampled from each partition on every iteration.
+     *
+     * @return The parameter value.
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Set up the amount of points sampled from each partition on every iteration. Positive value switches the
+     * trainer to mini-batch mode, {@code 0} means that all points are used on every iteration.
+     *
+     * @param batchSize The parameter value.
+     * @return Model with new batch size parameter value.
+     */
+    public KMeansTrainer withBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Gets the initialization method.
+     *
+     * @return The parameter value.
+     */
+    public KMeansInitMethod getInitMethod() {
+        return initMethod;
+    }
+
+    /**
+     * Set up the initialization method.
+     *
+     * @param initMethod The parameter value.
+     * @return Model with new initialization method parameter value.
+     */
+    public KMeansTrainer withInitMethod(KMeansInitMethod initMethod) {
+        this.initMethod = initMethod;
+        return this;
+    }
+
+    /**
+     * Gets the amount of oversampling rounds of k-means|| initialization.
+     *
+     * @return The parameter value.
+     */
+    public int getInitRounds() {
+        return initRounds;
+    }
+
+    /**
+     * Set up the amount of oversampling rounds of k-means|| initialization.
+     *
+     * @param initRounds The parameter value.
+     * @return Model with new amount of initialization rounds parameter value.
+     */
+    public KMeansTrainer withInitRounds(int initRounds) {
+        this.initRounds = initRounds;
+        return this;
+    }
+
+    /**
+     * Gets the storage of partition features.
+     *
+     * @return The property value.
+     */
+    public FeatureStorageMode getFeatureStorageMode() {
+        return featureStorageMode;
+    }
+
+    /**
+     * Set up the storage of partition features. Off-heap storage keeps large partitions out of the Java heap.
+     *
+     * @param featureStorageMode The parameter value.
+     * @return Model with the storage of partition features.
+     */
+    public KMeansTrainer withFeatureStorageMode(FeatureStorageMode featureStorageMode) {
+        this.featureStorageMode = featureStorageMode;
+        return this;
+    }
 }
@@ -119,6 +119,58 @@ public abstract class ConvergenceChecker<K, V> implements Serializable {
         return error < precision || error.isNaN();
     }
 
+    /**
+     * Checks convergency on errors of the current model which are computed on learning dataset by the caller, e.g.
+     * from model answers cached in partitions between boosting iterations.
+     *
+     * @param dataset Dataset.
+     * @param errors Function returning errors of the current model on rows of a partition.
+     * @param <D> Type of a partition data.
+     * @return True if GDB is converged.
+     */
+    public <D extends AutoCloseable> boolean isConverged(Dataset<EmptyContext, D> dataset,
+        IgniteFunction<D, double[]> errors) {
+        Double error = computeMeanError(dataset, errors);
+        return error < precision || error.isNaN();
+    }
+
+    /**
+     * Compute error on learning dataset from errors of rows computed by the caller. Mean of absolute values of errors
+     * is used by default.
+     *
+     * @param dataset Learning dataset.
+     * @param errors Function returning errors of the current model on rows of a partition.
+     * @param <D> Type of a partition data.
+     * @return Error mean value.
+     */
+    public <D extends AutoCloseable> Double computeMeanError(Dataset<EmptyContext, D> dataset,
+        IgniteFunction<D, double[]> errors) {
+        double[] sumAndCnt = dataset.compute(
+            part -> {
+                double[] partErrors = errors.apply(part);
+
+                double sum = 0.0;
+
+                for (double error : partErrors)
+                    sum += Math.abs(error);
+
+                return new double[] {sum, partErrors.length};
+            },
+            (left, right) -> {
+                if (left == null)
+                    return right;
+                if (right == null)
+                    return left;
+
+                return new double[] {left[0] + right[0], left[1] + right[1]};
+            }
+        );
+
+        if (sumAndCnt == null || sumAndCnt[1] == 0)
+            return Double.NaN;
+        return sumAndCnt[0] / sumAndCnt[1];
+    }
+
     /**
      * Compute error for given model on learning dataset.
      *
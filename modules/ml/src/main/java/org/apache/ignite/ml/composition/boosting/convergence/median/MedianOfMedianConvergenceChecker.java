@@ -70,6 +70,26 @@ public class MedianOfMedianConvergenceChecker<K, V> extends ConvergenceChecker<K
         return getMedian(medians);
     }
 
+    /** {@inheritDoc} */
+    @Override public <D extends AutoCloseable> Double computeMeanError(Dataset<EmptyContext, D> dataset,
+        IgniteFunction<D, double[]> errors) {
+
+        double[] medians = dataset.compute(
+            data -> {
+                double[] partErrors = errors.apply(data);
+                double[] absErrors = new double[partErrors.length];
+                for (int i = 0; i < absErrors.length; i++)
+                    absErrors[i] = Math.abs(partErrors[i]);
+                return new double[] {getMedian(absErrors)};
+            },
+            this::reduce
+        );
+
+        if (medians == null)
+            return Double.POSITIVE_INFINITY;
+        return getMedian(medians);
+    }
+
     /**
      * Compute median value on data partition.
      *
@@ -66,6 +66,12 @@ public class ConvergenceCheckerStub<K, V> extends ConvergenceChecker<K, V> {
         return false;
     }
 
+    /** {@inheritDoc} */
+    @Override public <D extends AutoCloseable> boolean isConverged(Dataset<EmptyContext, D> dataset,
+        IgniteFunction<D, double[]> errors) {
+        return false;
+    }
+
     /** {@inheritDoc} */
     @Override public Double computeMeanErrorOnDataset(
         Dataset<EmptyContext, ? extends FeatureMatrixWithLabelsOnHeapData> dataset,
@@ -23,6 +23,7 @@ import java.util.UUID;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.Ignition;
+import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.lang.IgniteBiPredicate;
 import org.apache.ignite.ml.dataset.Dataset;
 import org.apache.ignite.ml.dataset.DatasetBuilder;
@@ -135,7 +136,7 @@ public class CacheBasedDataset<K, V, C extends Serializable, D extends AutoClose
 
             C ctx = ComputeUtils.getContext(Ignition.localIgnite(), datasetCacheName, part);
 
-            D data = ComputeUtils.getData(
+            return ComputeUtils.computeWithData(
                 Ignition.localIgnite(),
                 upstreamCacheName,
                 filter,
@@ -144,19 +145,20 @@ public class CacheBasedDataset<K, V, C extends Serializable, D extends AutoClose
                 datasetId,
                 partDataBuilder,
                 env,
-                upstreamKeepBinary
-            );
-
-            if (data != null) {
-                R res = map.apply(ctx, data, env);
+                upstreamKeepBinary,
+                data -> {
+                    if (data != null) {
+                        R res = map.apply(ctx, data, env);
 
-                // Saves partition context after update.
-                ComputeUtils.saveContext(Ignition.localIgnite(), datasetCacheName, part, ctx);
+                        // Saves partition context after update.
+                        ComputeUtils.saveContext(Ignition.localIgnite(), datasetCacheName, part, ctx);
 
-                return res;
-            }
+                        return res;
+                    }
 
-            return null;
+                    return null;
+                }
+            );
         }, reduce, identity);
     }
 
@@ -168,7 +170,7 @@ public class CacheBasedDataset<K, V, C extends Serializable, D extends AutoClose
         return computeForAllPartitions(part -> {
             LearningEnvironment env = ComputeUtils.getLearningEnvironment(Ignition.localIgnite(), datasetId, part, envBuilder);
 
-            D data = ComputeUtils.getData(
+            return ComputeUtils.computeWithData(
                 Ignition.localIgnite(),
                 upstreamCacheName,
                 filter,
@@ -177,17 +179,30 @@ public class CacheBasedDataset<K, V, C extends Serializable, D extends AutoClose
                 datasetId,
                 partDataBuilder,
                 env,
-                upstreamKeepBinary
+                upstreamKeepBinary,
+                (D data) -> data != null ? map.apply(data, env) : null
             );
-            return data != null ? map.apply(data, env) : null;
         }, reduce, identity);
     }
 
     /** {@inheritDoc} */
     @Override public void close() {
+        // Partition data and learning environments are kept on the nodes where partitions are placed.
+        Collection<ClusterNode> nodes = ignite.cluster().forDataNodes(datasetCache.getName()).nodes();
+
         datasetCache.destroy();
-        ComputeUtils.removeData(ignite, datasetId);
-        ComputeUtils.removeLearningEnv(ignite, datasetId);
+
+        if (nodes.isEmpty())
+            return;
+
+        UUID datasetId = this.datasetId;
+
+        ignite.compute(ignite.cluster().forNodes(nodes)).broadcast(() -> {
+            Ignite locIgnite = Ignition.localIgnite();
+
+            ComputeUtils.removeData(locIgnite, datasetId);
+            ComputeUtils.removeLearningEnv(locIgnite, datasetId);
+        });
     }
 
     /**
@@ -170,8 +170,9 @@ public class ComputeUtils {
     }
 
     /**
-     * Extracts partition {@code data} from the local storage, if it's not found in local storage recovers this {@code
-     * data} from a partition {@code upstream} and {@code context}. Be aware that this method should be called from
+     * Applies the specified function to partition {@code data} extracted from the local storage, if it's not found in
+     * local storage recovers this {@code data} from a partition {@code upstream} and {@code context}. Partition
+     * {@code data} is not released until the function completes. Be aware that this method should be called from
      * the node where partition is placed.
      *
      * @param ignite Ignite instance.
@@ -182,20 +183,24 @@ public class ComputeUtils {
      * @param datasetId Dataset ID.
      * @param partDataBuilder Partition data builder.
      * @param env Learning environment.
+     * @param isKeepBinary Support of binary objects.
+     * @param fun Function applied to partition {@code data}, {@code data} is {@code null} if partition is empty.
      * @param <K> Type of a key in {@code upstream} data.
      * @param <V> Type of a value in {@code upstream} data.
      * @param <C> Type of a partition {@code context}.
      * @param <D> Type of a partition {@code data}.
-     * @return Partition {@code data}.
+     * @param <R> Type of a result.
+     * @return Result of the function.
      */
-    public static <K, V, C extends Serializable, D extends AutoCloseable> D getData(
+    public static <K, V, C extends Serializable, D extends AutoCloseable, R> R computeWithData(
         Ignite ignite,
         String upstreamCacheName, IgniteBiPredicate<K, V> filter,
         UpstreamTransformerBuilder transformerBuilder,
         String datasetCacheName, UUID datasetId,
         PartitionDataBuilder<K, V, C, D> partDataBuilder,
         LearningEnvironment env,
-        boolean isKeepBinary) {
+        boolean isKeepBinary,
+        IgniteFunction<D, R> fun) {
 
         PartitionDataStorage dataStorage = (PartitionDataStorage)ignite
             .cluster()
@@ -204,7 +209,7 @@ public class ComputeUtils {
 
         final int part = env.partition();
 
-        return dataStorage.computeDataIfAbsent(part, () -> {
+        return dataStorage.computeWithData(part, () -> {
             IgniteCache<Integer, C> learningCtxCache = ignite.cache(datasetCacheName);
             C ctx = learningCtxCache.get(part);
 
@@ -239,7 +244,7 @@ public class ComputeUtils {
             }
 
             return null;
-        });
+        }, fun);
     }
 
     /**
@@ -249,7 +254,12 @@ public class ComputeUtils {
      * @param datasetId Dataset ID.
      */
     public static void removeData(Ignite ignite, UUID datasetId) {
-        ignite.cluster().nodeLocalMap().remove(String.format(DATA_STORAGE_KEY_TEMPLATE, datasetId));
+        Object dataStorage = ignite.cluster().nodeLocalMap()
+            .remove(String.format(DATA_STORAGE_KEY_TEMPLATE, datasetId));
+
+        // Partition data may keep off-heap memory which is released on close.
+        if (dataStorage != null)
+            ((PartitionDataStorage)dataStorage).close();
     }
 
     /**
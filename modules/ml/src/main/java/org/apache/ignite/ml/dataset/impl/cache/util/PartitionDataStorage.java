@@ -26,7 +26,8 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 
 /**
- * Local storage used to keep partition {@code data}.
+ * Local storage used to keep partition {@code data}. Partition {@code data} is closed when it expires or the storage is
+ * closed, but not while it is used by {@link #computeWithData(int, Supplier, Function)}.
  */
 class PartitionDataStorage implements AutoCloseable {
     /** Storage of a partition {@code data} with usage stat. */
@@ -41,6 +42,9 @@ class PartitionDataStorage implements AutoCloseable {
     /** Time-to-live in milliseconds (-1 for an infinite lifetime). */
     private final long ttl;
 
+    /** Closed flag. */
+    private volatile boolean closed;
+
     /**
      * Constructs a new instance of partition data storage.
      *
@@ -51,45 +55,95 @@ class PartitionDataStorage implements AutoCloseable {
     }
 
     /**
-     * Retrieves partition {@code data} correspondent to specified partition index if it exists in local storage or
-     * loads it using the specified {@code supplier}. Unlike {@link ConcurrentMap#computeIfAbsent(Object, Function)},
-     * this method guarantees that function will be called only once.
+     * Applies the specified function to partition {@code data} correspondent to specified partition index if it exists
+     * in local storage or loads it using the specified {@code supplier}. Unlike
+     * {@link ConcurrentMap#computeIfAbsent(Object, Function)}, this method guarantees that supplier will be called only
+     * once. Partition {@code data} is not closed until the function completes.
      *
      * @param <D> Type of data.
+     * @param <R> Type of result.
      * @param part Partition index.
      * @param supplier Partition {@code data} supplier.
-     * @return Partition {@code data}.
+     * @param fun Function applied to partition {@code data}.
+     * @return Result of the function.
+     * @throws IllegalStateException If the storage is closed.
      */
-    <D> D computeDataIfAbsent(int part, Supplier<D> supplier) {
-        ObjectWithUsageStat objWithStat = storage.get(part);
-
-        if (objWithStat == null) {
-            Lock lock = locks.computeIfAbsent(part, p -> new ReentrantLock());
-
-            lock.lock();
-            try {
-                objWithStat = storage.get(part);
-                if (objWithStat == null) {
-                    objWithStat = new ObjectWithUsageStat(supplier.get());
-                    storage.put(part, objWithStat);
-                    if (ttl > -1)
-                        executor.schedule(new Cleaner(part), ttl, TimeUnit.MILLISECONDS);
-                }
-            }
-            finally {
-                lock.unlock();
-            }
+    <D, R> R computeWithData(int part, Supplier<D> supplier, Function<D, R> fun) {
+        ObjectWithUsageStat objWithStat = acquire(part, supplier);
+
+        try {
+            return fun.apply((D)objWithStat.data);
+        }
+        finally {
+            objWithStat.release();
         }
+    }
 
-        objWithStat.updateLastAccessTime();
+    /**
+     * Retrieves partition {@code data} and marks it as used.
+     *
+     * @param part Partition index.
+     * @param supplier Partition {@code data} supplier.
+     * @return Partition {@code data} with usage stat.
+     */
+    private ObjectWithUsageStat acquire(int part, Supplier<?> supplier) {
+        while (true) {
+            if (closed)
+                throw new IllegalStateException("Partition data storage is closed.");
+
+            ObjectWithUsageStat objWithStat = storage.get(part);
 
-        return (D)objWithStat.data;
+            if (objWithStat == null) {
+                Lock lock = locks.computeIfAbsent(part, p -> new ReentrantLock());
+
+                lock.lock();
+                try {
+                    objWithStat = storage.get(part);
+                    if (objWithStat == null) {
+                        objWithStat = new ObjectWithUsageStat(supplier.get());
+
+                        // The data is used before it's published, so the cleaner doesn't close it before the use.
+                        objWithStat.acquire();
+
+                        storage.put(part, objWithStat);
+
+                        // Storage could be closed before the data was put.
+                        if (closed) {
+                            storage.remove(part, objWithStat);
+                            objWithStat.remove();
+                            objWithStat.release();
+
+                            continue;
+                        }
+
+                        if (ttl > -1)
+                            executor.schedule(new Cleaner(part), ttl, TimeUnit.MILLISECONDS);
+
+                        return objWithStat;
+                    }
+                }
+                finally {
+                    lock.unlock();
+                }
+            }
+
+            // Data could be concurrently expired, then it's loaded again.
+            if (objWithStat.acquire())
+                return objWithStat;
+        }
     }
 
     /** {@inheritDoc} */
     @Override public void close() {
-        // We assume that after close all objects stored in this storage will be collected by GC.
+        closed = true;
+
         executor.shutdownNow();
+
+        for (ObjectWithUsageStat objWithStat : storage.values())
+            objWithStat.remove();
+
+        storage.clear();
+        locks.clear();
     }
 
     /**
@@ -112,9 +166,15 @@ class PartitionDataStorage implements AutoCloseable {
         @Override public void run() {
             ObjectWithUsageStat objWithStat = storage.get(part);
 
+            // Storage is closed.
+            if (objWithStat == null)
+                return;
+
             if (objWithStat.isExpired()) {
                 removeFromStorage();
-                objWithStat.close();
+
+                // Data is closed once it's not used.
+                objWithStat.remove();
             }
             else
                 reschedule(objWithStat.lastAccessTime);
@@ -142,16 +202,22 @@ class PartitionDataStorage implements AutoCloseable {
     }
 
     /**
-     * Util container that keeps an object and the last access time to it. Allows to check if the object is already
-     * expired and to clean it up.
+     * Util container that keeps an object, the last access time to it and the number of its users. Allows to check if
+     * the object is already expired and to clean it up once it's not used.
      */
-    private class ObjectWithUsageStat implements AutoCloseable {
+    private class ObjectWithUsageStat {
         /** Data object. */
         private final Object data;
 
         /** Last access time in milliseconds (see {@link System#currentTimeMillis()}). */
         private volatile long lastAccessTime;
 
+        /** Number of users of the object, guarded by this container. */
+        private int users;
+
+        /** Whether the object is removed from the storage, guarded by this container. */
+        private boolean removed;
+
         /**
          * Constructs a new instance of object with usage stat.
          *
@@ -162,24 +228,60 @@ class PartitionDataStorage implements AutoCloseable {
         }
 
         /**
-         * Updates last access time.
+         * Marks the object as used and updates last access time.
+         *
+         * @return {@code False} if the object is already removed from the storage.
          */
-        void updateLastAccessTime() {
+        synchronized boolean acquire() {
+            if (removed)
+                return false;
+
+            users++;
+
             lastAccessTime = System.currentTimeMillis();
+
+            return true;
         }
 
         /**
-         * Checks if the object is already expired. In ohter words, checks if the last access to the object occured more
-         * than {@link #ttl} milliseconds ago.
+         * Marks the object as not used by one of its users. Closes the object if it's removed from the storage.
+         */
+        synchronized void release() {
+            assert users > 0;
+
+            lastAccessTime = System.currentTimeMillis();
+
+            if (--users == 0 && removed)
+                close();
+        }
+
+        /**
+         * Marks the object as removed from the storage. Closes the object if it's not used.
+         */
+        synchronized void remove() {
+            if (removed)
+                return;
+
+            removed = true;
+
+            if (users == 0)
+                close();
+        }
+
+        /**
+         * Checks if the object is already expired. In ohter words, checks if the object is not used and the last access
+         * to the object occured more than {@link #ttl} milliseconds ago.
          *
          * @return {@code true} if object is already expired, otherwise {@code false}.
          */
-        boolean isExpired() {
-            return lastAccessTime + ttl <= System.currentTimeMillis();
+        synchronized boolean isExpired() {
+            return users == 0 && lastAccessTime + ttl <= System.currentTimeMillis();
         }
 
-        /** {@inheritDoc} */
-        @Override public void close() {
+        /**
+         * Closes the object.
+         */
+        private void close() {
             if (data instanceof AutoCloseable) {
                 AutoCloseable closeableData = (AutoCloseable)data;
                 try {
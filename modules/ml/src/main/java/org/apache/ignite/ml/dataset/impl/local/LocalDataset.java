@@ -88,7 +88,16 @@ public class LocalDataset<C extends Serializable, D extends AutoCloseable> imple
 
     /** {@inheritDoc} */
     @Override public void close() {
-        // Do nothing, GC will clean up.
+        for (D partData : data) {
+            if (partData != null) {
+                try {
+                    partData.close();
+                }
+                catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
     }
 
     /** */
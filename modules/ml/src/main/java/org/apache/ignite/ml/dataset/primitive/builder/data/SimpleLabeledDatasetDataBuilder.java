@@ -20,8 +20,10 @@ import java.io.Serializable;
 import java.util.Iterator;
 import org.apache.ignite.ml.dataset.PartitionDataBuilder;
 import org.apache.ignite.ml.dataset.UpstreamEntry;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
 import org.apache.ignite.ml.dataset.primitive.data.SimpleLabeledDatasetData;
 import org.apache.ignite.ml.environment.LearningEnvironment;
+import org.apache.ignite.ml.math.primitives.matrix.impl.OffHeapColumnMajorMatrix;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
 import org.apache.ignite.ml.preprocessing.Preprocessor;
 import org.apache.ignite.ml.structures.LabeledVector;
@@ -41,13 +43,27 @@ public class SimpleLabeledDatasetDataBuilder<K, V, C extends Serializable>
     /** Function that extracts labeled vectors from an {@code upstream} data. */
     private final Preprocessor<K, V> vectorizer;
 
+    /** Storage of a matrix of features. */
+    private final FeatureStorageMode storageMode;
+
     /**
      * Constructs a new instance of partition {@code data} builder that makes {@link SimpleLabeledDatasetData}.
      *
      * @param vectorizer Function that extracts labeled vectors from an {@code upstream} data.
      */
     public SimpleLabeledDatasetDataBuilder(Preprocessor<K, V> vectorizer) {
+        this(vectorizer, FeatureStorageMode.ON_HEAP);
+    }
+
+    /**
+     * Constructs a new instance of partition {@code data} builder that makes {@link SimpleLabeledDatasetData}.
+     *
+     * @param vectorizer Function that extracts labeled vectors from an {@code upstream} data.
+     * @param storageMode Storage of a matrix of features.
+     */
+    public SimpleLabeledDatasetDataBuilder(Preprocessor<K, V> vectorizer, FeatureStorageMode storageMode) {
         this.vectorizer = vectorizer;
+        this.storageMode = storageMode;
     }
 
     /** {@inheritDoc} */
@@ -59,41 +75,65 @@ public class SimpleLabeledDatasetDataBuilder<K, V, C extends Serializable>
         int featureCols = -1;
         int lbCols = -1;
         double[] features = null;
+        OffHeapColumnMajorMatrix offHeapFeatures = null;
         double[] labels = null;
 
-        int ptr = 0;
-        while (upstreamData.hasNext()) {
-            UpstreamEntry<K, V> entry = upstreamData.next();
-
-            LabeledVector<double[]> labeledVector = vectorizer.apply(entry.getKey(), entry.getValue());
-            Vector featureRow = labeledVector.features();
+        boolean offHeap = storageMode != FeatureStorageMode.ON_HEAP;
 
-            if (featureCols < 0) {
-                featureCols = featureRow.size();
-                features = new double[Math.toIntExact(upstreamDataSize * featureCols)];
-            }
-            else
-                assert featureRow.size() == featureCols : "Feature extractor must return exactly " + featureCols
-                    + " features";
-
-            for (int i = 0; i < featureCols; i++)
-                features[Math.toIntExact(i * upstreamDataSize) + ptr] = featureRow.get(i);
-
-            double[] lbRow = labeledVector.label();
-
-            if (lbCols < 0) {
-                lbCols = lbRow.length;
-                labels = new double[Math.toIntExact(upstreamDataSize * lbCols)];
+        int ptr = 0;
+        try {
+            while (upstreamData.hasNext()) {
+                UpstreamEntry<K, V> entry = upstreamData.next();
+
+                LabeledVector<double[]> labeledVector = vectorizer.apply(entry.getKey(), entry.getValue());
+                Vector featureRow = labeledVector.features();
+
+                if (featureCols < 0) {
+                    featureCols = featureRow.size();
+
+                    if (offHeap) {
+                        offHeapFeatures = new OffHeapColumnMajorMatrix(Math.toIntExact(upstreamDataSize), featureCols,
+                            storageMode == FeatureStorageMode.OFF_HEAP_FLOAT);
+                    }
+                    else
+                        features = new double[Math.toIntExact(upstreamDataSize * featureCols)];
+                }
+                else
+                    assert featureRow.size() == featureCols : "Feature extractor must return exactly " + featureCols
+                        + " features";
+
+                for (int i = 0; i < featureCols; i++) {
+                    if (offHeap)
+                        offHeapFeatures.setX(ptr, i, featureRow.get(i));
+                    else
+                        features[Math.toIntExact(i * upstreamDataSize) + ptr] = featureRow.get(i);
+                }
+
+                double[] lbRow = labeledVector.label();
+
+                if (lbCols < 0) {
+                    lbCols = lbRow.length;
+                    labels = new double[Math.toIntExact(upstreamDataSize * lbCols)];
+                }
+
+                assert lbRow.length == lbCols : "Label extractor must return exactly " + lbCols + " labels";
+
+                for (int i = 0; i < lbCols; i++)
+                    labels[Math.toIntExact(i * upstreamDataSize) + ptr] = lbRow[i];
+
+                ptr++;
             }
+        }
+        catch (RuntimeException | Error e) {
+            if (offHeapFeatures != null)
+                offHeapFeatures.destroy();
 
-            assert lbRow.length == lbCols : "Label extractor must return exactly " + lbCols + " labels";
-
-            for (int i = 0; i < lbCols; i++)
-                labels[Math.toIntExact(i * upstreamDataSize) + ptr] = lbRow[i];
-
-            ptr++;
+            throw e;
         }
 
+        if (offHeapFeatures != null)
+            return new SimpleLabeledDatasetData(offHeapFeatures, labels, Math.toIntExact(upstreamDataSize));
+
         return new SimpleLabeledDatasetData(features, labels, Math.toIntExact(upstreamDataSize));
     }
 }
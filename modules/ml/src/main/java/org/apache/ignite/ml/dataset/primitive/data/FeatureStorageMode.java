@@ -0,0 +1,35 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.dataset.primitive.data;
+
+/**
+ * Storage of a matrix of features of partition {@code data}.
+ */
+public enum FeatureStorageMode {
+    /** Features are stored in heap as {@code double} values. */
+    ON_HEAP,
+
+    /** Features are stored off-heap as {@code double} values. */
+    OFF_HEAP,
+
+    /**
+     * Features are stored off-heap as {@code float} values. Requires half of memory of {@link #OFF_HEAP} mode at
+     * the cost of precision of features.
+     */
+    OFF_HEAP_FLOAT
+}
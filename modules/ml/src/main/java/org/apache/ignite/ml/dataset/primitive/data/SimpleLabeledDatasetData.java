@@ -16,16 +16,25 @@
 
 package org.apache.ignite.ml.dataset.primitive.data;
 
+import com.github.fommil.netlib.BLAS;
 import org.apache.ignite.ml.dataset.primitive.SimpleLabeledDataset;
+import org.apache.ignite.ml.math.Blas;
+import org.apache.ignite.ml.math.StorageConstants;
+import org.apache.ignite.ml.math.primitives.matrix.Matrix;
+import org.apache.ignite.ml.math.primitives.matrix.impl.DenseMatrix;
+import org.apache.ignite.ml.math.primitives.matrix.impl.OffHeapColumnMajorMatrix;
 
 /**
  * A partition {@code data} of the {@link SimpleLabeledDataset} containing matrix of features in flat column-major
- * format stored in heap and vector of labels stored in heap as well.
+ * format stored in heap or off-heap and vector of labels stored in heap.
  */
 public class SimpleLabeledDatasetData implements AutoCloseable {
-    /** Matrix with features in a dense flat column-major format. */
+    /** Matrix with features in a dense flat column-major format, {@code null} if features are stored off-heap. */
     private final double[] features;
 
+    /** Matrix with features stored off-heap, {@code null} if features are stored in heap. */
+    private final OffHeapColumnMajorMatrix offHeapFeatures;
+
     /** Vector with labels. */
     private final double[] labels;
 
@@ -44,13 +53,97 @@ public class SimpleLabeledDatasetData implements AutoCloseable {
         this.features = features;
         this.labels = labels;
         this.rows = rows;
+
+        offHeapFeatures = null;
     }
 
-    /** */
+    /**
+     * Constructs a new instance of partition {@code data} of the {@link SimpleLabeledDataset} containing matrix of
+     * features stored off-heap and vector of labels stored in heap. Off-heap memory is released on {@link #close()}.
+     *
+     * @param features Matrix with features stored off-heap.
+     * @param labels Vector with labels.
+     * @param rows Number of rows.
+     */
+    public SimpleLabeledDatasetData(OffHeapColumnMajorMatrix features, double[] labels, int rows) {
+        this.offHeapFeatures = features;
+        this.labels = labels;
+        this.rows = rows;
+
+        this.features = null;
+    }
+
+    /**
+     * Gets matrix with features in a dense flat column-major format.
+     *
+     * @return Features or {@code null} if partition is empty or features are stored off-heap.
+     * @see #getFeatureMatrix()
+     */
     public double[] getFeatures() {
         return features;
     }
 
+    /**
+     * Gets matrix with features regardless of the way it is stored. The matrix reads features in place.
+     *
+     * @return Matrix with features or {@code null} if partition is empty.
+     */
+    public Matrix getFeatureMatrix() {
+        if (offHeapFeatures != null)
+            return offHeapFeatures;
+
+        return features == null ? null : new DenseMatrix(features, rows, StorageConstants.COLUMN_STORAGE_MODE);
+    }
+
+    /**
+     * @return Number of columns of matrix with features or {@code 0} if partition is empty.
+     */
+    public int getColumns() {
+        if (offHeapFeatures != null)
+            return offHeapFeatures.columnSize();
+
+        return features == null ? 0 : features.length / rows;
+    }
+
+    /**
+     * Copies features of rows into a dense flat column-major array.
+     *
+     * @param rowIdxs Indexes of rows.
+     * @return Features of rows in a dense flat column-major format.
+     */
+    public double[] getFeatureRows(int[] rowIdxs) {
+        if (offHeapFeatures != null)
+            return offHeapFeatures.storage().copyRows(rowIdxs);
+
+        int cols = getColumns();
+
+        double[] res = new double[cols * rowIdxs.length];
+
+        for (int i = 0; i < rowIdxs.length; i++)
+            for (int j = 0; j < cols; j++)
+                res[j * rowIdxs.length + i] = features[j * rows + rowIdxs[i]];
+
+        return res;
+    }
+
+    /**
+     * Computes y := alpha * A * x + beta * y or y := alpha * A^T * x + beta * y, where A is matrix with features.
+     *
+     * @param trans Whether matrix with features is transposed.
+     * @param alpha Alpha.
+     * @param x Vector x.
+     * @param beta Beta.
+     * @param y Vector y.
+     */
+    public void gemv(boolean trans, double alpha, double[] x, double beta, double[] y) {
+        if (offHeapFeatures != null)
+            Blas.gemv(trans, alpha, offHeapFeatures.storage(), x, beta, y);
+        else {
+            BLAS.getInstance().dgemv(trans ? "T" : "N", rows, getColumns(), alpha, features, Math.max(1, rows), x, 1,
+                beta, y, 1);
+        }
+    }
+
     /** */
     public int getRows() {
         return rows;
@@ -63,6 +156,7 @@ public class SimpleLabeledDatasetData implements AutoCloseable {
 
     /** {@inheritDoc} */
     @Override public void close() {
-        // Do nothing, GC will clean up.
+        if (offHeapFeatures != null)
+            offHeapFeatures.destroy();
     }
 }
@@ -0,0 +1,741 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.inference.builder;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteInterruptedException;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.managers.eventstorage.DiscoveryEventListener;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.ml.inference.Model;
+import org.apache.ignite.ml.inference.parser.ModelParser;
+import org.apache.ignite.ml.inference.reader.ModelReader;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.services.Service;
+import org.apache.ignite.services.ServiceContext;
+import org.apache.ignite.services.ServiceDescriptor;
+
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+import static org.apache.ignite.events.EventType.EVT_NODE_JOINED;
+import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Builder that allows to start Apache Ignite services for distributed inference and get a facade that allows to work
+ * with this distributed inference infrastructure as with a single inference model (see {@link Model}).
+ *
+ * Unlike {@link IgniteDistributedModelBuilder}, requests are not passed through Ignite queues. The facade invokes
+ * service instances directly through service proxies, so a prediction costs a single network round trip instead of
+ * several transactional cache operations. Requests are grouped into micro-batches: a batch is sent as soon as it
+ * reaches the maximum batch size or the maximum batch wait time expires, and one invocation makes predictions for the
+ * whole batch on the service side.
+ *
+ * Every service instance is served by a dedicated sender thread of the facade. Sender threads take requests from a
+ * shared queue, so an instance which answers faster gets more requests. Senders follow the service topology: they are
+ * started and stopped when nodes join or leave the cluster and when service instances are redeployed. A batch which
+ * fails is sent once again, possibly to another instance, before its requests fail. Request latency and batch size
+ * histograms are exposed as metrics of the node where the facade is created.
+ *
+ * Be aware that {@link Model#close()} method must be called to clear allocated resources and stop services.
+ */
+public class IgniteServiceModelBuilder implements AsyncModelBuilder {
+    /** Template of the inference service name. */
+    private static final String INFERENCE_SERVICE_NAME_PATTERN = "inference_batch_service_%s";
+
+    /** Name of the metric registry of the inference model. */
+    public static final String INFERENCE_METRICS = metricName("ml", "inference");
+
+    /** Default maximum batch size. */
+    public static final int DFLT_MAX_BATCH_SIZE = 64;
+
+    /** Default maximum batch wait time in milliseconds. */
+    public static final long DFLT_MAX_BATCH_WAIT = 0;
+
+    /** Bounds of request latency histogram in milliseconds. */
+    private static final long[] LATENCY_BOUNDS = new long[] {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+    /** Bounds of batch size histogram. */
+    private static final long[] BATCH_SIZE_BOUNDS = new long[] {1, 2, 4, 8, 16, 32, 64, 128, 256, 512};
+
+    /** Interval in milliseconds between checks of the service topology. */
+    private static final long TOPOLOGY_CHECK_INTERVAL = 1_000;
+
+    /** Ignite instance. */
+    private final Ignite ignite;
+
+    /** Number of service instances maintaining to make distributed inference. */
+    private final int instances;
+
+    /** Max per node number of instances. */
+    private final int maxPerNode;
+
+    /** Maximum batch size. */
+    private int maxBatchSize = DFLT_MAX_BATCH_SIZE;
+
+    /** Maximum time in milliseconds a request waits for other requests to be batched with. */
+    private long maxBatchWait = DFLT_MAX_BATCH_WAIT;
+
+    /**
+     * Constructs a new instance of Ignite service based inference model builder.
+     *
+     * @param ignite Ignite instance.
+     * @param instances Number of service instances maintaining to make distributed inference.
+     * @param maxPerNode Max per node number of instances.
+     */
+    public IgniteServiceModelBuilder(Ignite ignite, int instances, int maxPerNode) {
+        this.ignite = ignite;
+        this.instances = instances;
+        this.maxPerNode = maxPerNode;
+    }
+
+    /**
+     * Sets up the maximum number of requests sent to a service instance in one batch.
+     *
+     * @param maxBatchSize Maximum batch size.
+     * @return This builder.
+     */
+    public IgniteServiceModelBuilder withMaxBatchSize(int maxBatchSize) {
+        A.ensure(maxBatchSize > 0, "maxBatchSize > 0");
+
+        this.maxBatchSize = maxBatchSize;
+
+        return this;
+    }
+
+    /**
+     * Sets up the maximum time a request waits for other requests to be batched with. With zero wait time a batch
+     * contains requests accumulated while the previous batch was processed, so batches grow with the load only.
+     *
+     * @param maxBatchWait Maximum batch wait time in milliseconds.
+     * @return This builder.
+     */
+    public IgniteServiceModelBuilder withMaxBatchWait(long maxBatchWait) {
+        A.ensure(maxBatchWait >= 0, "maxBatchWait >= 0");
+
+        this.maxBatchWait = maxBatchWait;
+
+        return this;
+    }
+
+    /**
+     * Starts the specified in constructor number of service instances. The returned facade is represented by the
+     * {@link Model} and sends batches of requests to service instances, but hides these details behind
+     * {@link Model#predict(Object)} method of {@link Model}.
+     *
+     * Be aware that {@link Model#close()} method must be called to clear allocated resources and stop services.
+     *
+     * @param reader Inference model reader.
+     * @param parser Inference model parser.
+     * @param <I> Type of model input.
+     * @param <O> Type of model output.
+     * @return Facade represented by {@link Model}.
+     */
+    @Override public <I extends Serializable, O extends Serializable> Model<I, Future<O>> build(
+        ModelReader reader, ModelParser<I, O, ?> parser) {
+        return new BatchedInfModel<>(ignite, UUID.randomUUID().toString(), reader, parser, instances, maxPerNode,
+            maxBatchSize, maxBatchWait);
+    }
+
+    /**
+     * Service which makes predictions for batches of requests.
+     *
+     * @param <I> Type of model input.
+     * @param <O> Type of model output.
+     */
+    public interface BatchInferenceService<I extends Serializable, O extends Serializable> {
+        /**
+         * Makes predictions for a batch of requests.
+         *
+         * @param batch Batch of requests.
+         * @return Predictions in the order of requests.
+         */
+        public ArrayList<O> predict(ArrayList<I> batch);
+    }
+
+    /**
+     * Facade that sends batches of requests to service instances to make distributed inference, but hides these
+     * details behind {@link Model#predict(Object)} method of {@link Model}.
+     *
+     * @param <I> Type of model input.
+     * @param <O> Type of model output.
+     */
+    private static class BatchedInfModel<I extends Serializable, O extends Serializable>
+        implements Model<I, Future<O>> {
+        /** Ignite instance. */
+        private final Ignite ignite;
+
+        /** Service name. */
+        private final String srvcName;
+
+        /** Maximum batch size. */
+        private final int maxBatchSize;
+
+        /** Maximum batch wait time in milliseconds. */
+        private final long maxBatchWait;
+
+        /** Requests waiting to be sent. */
+        private final BlockingQueue<Request<I, O>> reqs = new LinkedBlockingQueue<>();
+
+        /** Sender threads, one per service instance. */
+        private final ExecutorService senders = Executors.newCachedThreadPool();
+
+        /** Senders of nodes hosting service instances, guarded by this model. */
+        private final Map<UUID, List<Sender>> nodeSenders = new HashMap<>();
+
+        /** Executor which checks the service topology. */
+        private final ScheduledExecutorService topWatcher = Executors.newSingleThreadScheduledExecutor();
+
+        /** Listener of discovery events which triggers the service topology check. */
+        private final DiscoveryEventListener discoLsnr = (evt, discoCache) -> checkTopology();
+
+        /** Metric registry name. */
+        private final String regName;
+
+        /** Request latency histogram. */
+        private final HistogramMetricImpl latency;
+
+        /** Batch size histogram. */
+        private final HistogramMetricImpl batchSize;
+
+        /** Flag identified that model is up and running. */
+        private final AtomicBoolean running = new AtomicBoolean(false);
+
+        /**
+         * Constructs a new instance of batched inference model.
+         *
+         * @param ignite Ignite instance.
+         * @param suffix Suffix that with correspondent template formats service name.
+         * @param reader Inference model reader.
+         * @param parser Inference model parser.
+         * @param instances Number of service instances maintaining to make distributed inference.
+         * @param maxPerNode Max per node number of instances.
+         * @param maxBatchSize Maximum batch size.
+         * @param maxBatchWait Maximum batch wait time in milliseconds.
+         */
+        BatchedInfModel(Ignite ignite, String suffix, ModelReader reader, ModelParser<I, O, ?> parser,
+            int instances, int maxPerNode, int maxBatchSize, long maxBatchWait) {
+            this.ignite = ignite;
+            this.maxBatchSize = maxBatchSize;
+            this.maxBatchWait = maxBatchWait;
+
+            srvcName = String.format(INFERENCE_SERVICE_NAME_PATTERN, suffix);
+
+            regName = metricName(INFERENCE_METRICS, srvcName);
+
+            MetricRegistry mreg = ((IgniteEx)ignite).context().metric().registry(regName);
+
+            latency = mreg.histogram("RequestLatency", LATENCY_BOUNDS, "Request latency in milliseconds.");
+            batchSize = mreg.histogram("BatchSize", BATCH_SIZE_BOUNDS, "Number of requests sent in one batch.");
+
+            ignite.services().deployMultiple(srvcName, new IgniteBatchInfModelService<>(reader, parser), instances,
+                maxPerNode);
+
+            if (instanceTopology().isEmpty())
+                throw new IllegalStateException("Inference service is not deployed [name=" + srvcName + ']');
+
+            running.set(true);
+
+            updateSenders();
+
+            ((IgniteEx)ignite).context().event().addDiscoveryEventListener(discoLsnr, EVT_NODE_JOINED, EVT_NODE_LEFT,
+                EVT_NODE_FAILED);
+
+            // Service instances are redeployed asynchronously after topology changes.
+            topWatcher.scheduleWithFixedDelay(this::updateSendersQuietly, TOPOLOGY_CHECK_INTERVAL,
+                TOPOLOGY_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        }
+
+        /** {@inheritDoc} */
+        @Override public Future<O> predict(I input) {
+            if (!running.get())
+                throw new IllegalStateException("Inference model is not running");
+
+            Request<I, O> req = new Request<>(input);
+
+            reqs.add(req);
+
+            return req.fut;
+        }
+
+        /**
+         * @return Numbers of service instances hosted by alive nodes.
+         */
+        private Map<UUID, Integer> instanceTopology() {
+            Map<UUID, Integer> res = new HashMap<>();
+
+            for (ServiceDescriptor desc : ignite.services().serviceDescriptors()) {
+                if (srvcName.equals(desc.name())) {
+                    for (Map.Entry<UUID, Integer> e : desc.topologySnapshot().entrySet()) {
+                        if (e.getValue() > 0 && ignite.cluster().node(e.getKey()) != null)
+                            res.put(e.getKey(), e.getValue());
+                    }
+                }
+            }
+
+            return res;
+        }
+
+        /**
+         * Triggers the service topology check.
+         */
+        private void checkTopology() {
+            if (!running.get())
+                return;
+
+            try {
+                topWatcher.execute(this::updateSendersQuietly);
+            }
+            catch (RejectedExecutionException ignored) {
+                // Model is closed.
+            }
+        }
+
+        /**
+         * Updates senders to match the service topology, failures are logged.
+         */
+        private void updateSendersQuietly() {
+            try {
+                updateSenders();
+            }
+            catch (Exception e) {
+                ignite.log().warning("Failed to update senders of inference service [name=" + srvcName + ']', e);
+            }
+        }
+
+        /**
+         * Starts a sender per service instance and stops senders of instances which are not deployed anymore.
+         */
+        private synchronized void updateSenders() {
+            if (!running.get())
+                return;
+
+            Map<UUID, Integer> top = instanceTopology();
+
+            for (Iterator<Map.Entry<UUID, List<Sender>>> it = nodeSenders.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<UUID, List<Sender>> e = it.next();
+
+                if (!top.containsKey(e.getKey())) {
+                    for (Sender snd : e.getValue())
+                        snd.stop();
+
+                    it.remove();
+                }
+            }
+
+            for (Map.Entry<UUID, Integer> e : top.entrySet()) {
+                List<Sender> nodeSnds = nodeSenders.computeIfAbsent(e.getKey(), nodeId -> new ArrayList<>());
+
+                while (nodeSnds.size() > e.getValue())
+                    nodeSnds.remove(nodeSnds.size() - 1).stop();
+
+                if (nodeSnds.size() < e.getValue()) {
+                    BatchInferenceService<I, O> proxy = nodeSnds.isEmpty() ?
+                        ignite.services(ignite.cluster().forNodeId(e.getKey()))
+                            .serviceProxy(srvcName, BatchInferenceService.class, false) :
+                        nodeSnds.get(0).proxy;
+
+                    while (nodeSnds.size() < e.getValue()) {
+                        Sender snd = new Sender(e.getKey(), proxy);
+
+                        nodeSnds.add(snd);
+
+                        senders.execute(snd);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Takes batches of requests from the request queue and sends them to a service instance until the model is
+         * closed or the sender is stopped.
+         *
+         * @param snd Sender.
+         */
+        private void send(Sender snd) {
+            ArrayList<Request<I, O>> batch = new ArrayList<>(maxBatchSize);
+
+            try {
+                while (running.get() && !snd.stopped) {
+                    Request<I, O> first = reqs.poll(100, TimeUnit.MILLISECONDS);
+
+                    if (first == null)
+                        continue;
+
+                    batch.add(first);
+
+                    collect(batch);
+
+                    ArrayList<I> inputs = new ArrayList<>(batch.size());
+
+                    for (Request<I, O> req : batch)
+                        inputs.add(req.input);
+
+                    try {
+                        ArrayList<O> res = snd.proxy.predict(inputs);
+
+                        long now = System.nanoTime();
+
+                        for (int i = 0; i < batch.size(); i++) {
+                            Request<I, O> req = batch.get(i);
+
+                            latency.value(TimeUnit.NANOSECONDS.toMillis(now - req.startTs));
+
+                            req.fut.complete(res.get(i));
+                        }
+                    }
+                    catch (Exception e) {
+                        // Node hosting the service instance could leave, then the sender is not used anymore.
+                        if (ignite.cluster().node(snd.nodeId) == null)
+                            snd.stop();
+
+                        for (Request<I, O> req : batch) {
+                            if (req.resent)
+                                req.fut.completeExceptionally(e);
+                            else {
+                                req.resent = true;
+
+                                reqs.add(req);
+                            }
+                        }
+
+                        checkTopology();
+                    }
+
+                    batchSize.value(batch.size());
+
+                    batch.clear();
+                }
+            }
+            catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+            finally {
+                for (Request<I, O> req : batch)
+                    req.fut.cancel(true);
+
+                // Requests could be resent after the model was closed.
+                if (!running.get())
+                    cancelRequests();
+            }
+        }
+
+        /**
+         * Cancels requests waiting to be sent.
+         */
+        private void cancelRequests() {
+            Request<I, O> req;
+
+            while ((req = reqs.poll()) != null)
+                req.fut.cancel(true);
+        }
+
+        /**
+         * Adds requests to the batch until it's full or the maximum batch wait time expires.
+         *
+         * @param batch Batch with the first request.
+         * @throws InterruptedException If interrupted.
+         */
+        private void collect(List<Request<I, O>> batch) throws InterruptedException {
+            reqs.drainTo(batch, maxBatchSize - batch.size());
+
+            if (maxBatchWait == 0)
+                return;
+
+            long deadline = batch.get(0).startTs + TimeUnit.MILLISECONDS.toNanos(maxBatchWait);
+
+            while (batch.size() < maxBatchSize) {
+                long wait = deadline - System.nanoTime();
+
+                if (wait <= 0)
+                    return;
+
+                Request<I, O> req = reqs.poll(wait, TimeUnit.NANOSECONDS);
+
+                if (req == null)
+                    return;
+
+                batch.add(req);
+
+                reqs.drainTo(batch, maxBatchSize - batch.size());
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            boolean runningBefore = running.getAndSet(false);
+
+            if (runningBefore) {
+                ((IgniteEx)ignite).context().event().removeDiscoveryEventListener(discoLsnr, EVT_NODE_JOINED,
+                    EVT_NODE_LEFT, EVT_NODE_FAILED);
+
+                topWatcher.shutdownNow();
+
+                synchronized (this) {
+                    senders.shutdownNow();
+
+                    nodeSenders.clear();
+                }
+
+                ignite.services().cancel(srvcName);
+
+                ((IgniteEx)ignite).context().metric().remove(regName);
+
+                cancelRequests();
+            }
+        }
+
+        /**
+         * Sender which sends batches of requests to a service instance.
+         */
+        private class Sender implements Runnable {
+            /** Identifier of the node hosting the service instance. */
+            private final UUID nodeId;
+
+            /** Proxy of the service instances of the node. */
+            private final BatchInferenceService<I, O> proxy;
+
+            /** Flag identified that sender is stopped. */
+            private volatile boolean stopped;
+
+            /**
+             * @param nodeId Identifier of the node hosting the service instance.
+             * @param proxy Proxy of the service instances of the node.
+             */
+            Sender(UUID nodeId, BatchInferenceService<I, O> proxy) {
+                this.nodeId = nodeId;
+                this.proxy = proxy;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void run() {
+                send(this);
+            }
+
+            /**
+             * Stops the sender once the batch being sent is processed.
+             */
+            void stop() {
+                stopped = true;
+            }
+        }
+    }
+
+    /**
+     * Inference request.
+     *
+     * @param <I> Type of model input.
+     * @param <O> Type of model output.
+     */
+    private static class Request<I, O> {
+        /** Input. */
+        private final I input;
+
+        /** Future completed with the prediction. */
+        private final CompletableFuture<O> fut = new CompletableFuture<>();
+
+        /** Start timestamp in nanoseconds. */
+        private final long startTs = System.nanoTime();
+
+        /** Whether the request is already resent after a failure. */
+        private boolean resent;
+
+        /**
+         * @param input Input.
+         */
+        Request(I input) {
+            this.input = input;
+        }
+    }
+
+    /**
+     * Apache Ignite service that makes predictions for batches of requests. This service is assumed to be deployed in
+     * {@link #build(ModelReader, ModelParser)} method and cancelled in {@link Model#close()} method of the inference
+     * model.
+     *
+     * Service instances deployed on one node share a pool kept in the node local map, so a batch is processed by any
+     * free instance of the node regardless of the instance the invocation is routed to.
+     *
+     * @param <I> Type of model input.
+     * @param <O> Type of model output.
+     */
+    private static class IgniteBatchInfModelService<I extends Serializable, O extends Serializable>
+        implements Service, BatchInferenceService<I, O> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Inference model reader. */
+        private final ModelReader reader;
+
+        /** Inference model parser. */
+        private final ModelParser<I, O, ?> parser;
+
+        /** Inference model, is created in {@link #init(ServiceContext)} method. */
+        private transient Model<I, O> mdl;
+
+        /** Ignite instance. */
+        @IgniteInstanceResource
+        private transient Ignite ignite;
+
+        /** Service name, the key of the pool of instances in the node local map. */
+        private transient String name;
+
+        /** Pool of instances deployed on this node. */
+        private transient InstancePool<I, O> pool;
+
+        /** Whether the instance is cancelled, guarded by this instance. */
+        private transient boolean cancelled;
+
+        /**
+         * Constructs a new instance of Ignite batch inference model service.
+         *
+         * @param reader Inference model reader.
+         * @param parser Inference model parser.
+         */
+        IgniteBatchInfModelService(ModelReader reader, ModelParser<I, O, ?> parser) {
+            this.reader = reader;
+            this.parser = parser;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void init(ServiceContext ctx) {
+            mdl = parser.parse(reader.read());
+
+            name = ctx.name();
+
+            pool = pools().compute(name, (k, pool) -> {
+                if (pool == null)
+                    pool = new InstancePool<>();
+
+                pool.size++;
+                pool.free.add(this);
+
+                return pool;
+            });
+        }
+
+        /** {@inheritDoc} */
+        @Override public void execute(ServiceContext ctx) {
+            // No-op, requests are processed in the threads invoking the service.
+        }
+
+        /** {@inheritDoc} */
+        @Override public synchronized void cancel(ServiceContext ctx) {
+            cancelled = true;
+
+            pools().computeIfPresent(name, (k, pool) -> {
+                pool.free.remove(this);
+
+                return --pool.size == 0 ? null : pool;
+            });
+
+            mdl.close();
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * Batch is processed by a free instance of the service deployed on this node.
+         */
+        @Override public ArrayList<O> predict(ArrayList<I> batch) {
+            try {
+                while (true) {
+                    IgniteBatchInfModelService<I, O> srvc = pool.free.poll(100, TimeUnit.MILLISECONDS);
+
+                    if (srvc != null) {
+                        ArrayList<O> res = srvc.predictLocally(batch);
+
+                        if (res != null)
+                            return res;
+                    }
+                    else if (pool.size == 0)
+                        throw new IgniteException("Inference service is cancelled [name=" + name + ']');
+                }
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedException(e);
+            }
+        }
+
+        /**
+         * Makes predictions for a batch of requests using the model of this instance and returns this instance to the
+         * pool. Inference models are not required to be thread-safe, so batches are processed one by one.
+         *
+         * @param batch Batch of requests.
+         * @return Predictions in the order of requests or {@code null} if this instance is cancelled.
+         */
+        private synchronized ArrayList<O> predictLocally(ArrayList<I> batch) {
+            if (cancelled)
+                return null;
+
+            try {
+                ArrayList<O> res = new ArrayList<>(batch.size());
+
+                for (I input : batch)
+                    res.add(mdl.predict(input));
+
+                return res;
+            }
+            finally {
+                pool.free.add(this);
+            }
+        }
+
+        /**
+         * @return Pools of service instances deployed on this node.
+         */
+        private ConcurrentMap<String, InstancePool<I, O>> pools() {
+            return ignite.cluster().nodeLocalMap();
+        }
+    }
+
+    /**
+     * Pool of inference service instances deployed on one node.
+     *
+     * @param <I> Type of model input.
+     * @param <O> Type of model output.
+     */
+    private static class InstancePool<I extends Serializable, O extends Serializable> {
+        /** Instances which are not processing a batch. */
+        private final BlockingQueue<IgniteBatchInfModelService<I, O>> free = new LinkedBlockingQueue<>();
+
+        /** Number of instances which are not cancelled, is changed under the lock of the node local map entry. */
+        private volatile int size;
+    }
+}
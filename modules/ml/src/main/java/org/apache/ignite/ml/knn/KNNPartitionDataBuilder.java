@@ -25,6 +25,7 @@ import org.apache.ignite.ml.dataset.primitive.context.EmptyContext;
 import org.apache.ignite.ml.environment.LearningEnvironment;
 import org.apache.ignite.ml.knn.utils.indices.ArraySpatialIndex;
 import org.apache.ignite.ml.knn.utils.indices.BallTreeSpatialIndex;
+import org.apache.ignite.ml.knn.utils.indices.HNSWSpatialIndex;
 import org.apache.ignite.ml.knn.utils.indices.KDTreeSpatialIndex;
 import org.apache.ignite.ml.knn.utils.indices.SpatialIndex;
 import org.apache.ignite.ml.knn.utils.indices.SpatialIndexType;
@@ -83,6 +84,9 @@ public class KNNPartitionDataBuilder<K, V> implements PartitionDataBuilder<K, V,
             case BALL_TREE: {
                 return new BallTreeSpatialIndex<>(dataPnts, distanceMeasure);
             }
+            case HNSW: {
+                return new HNSWSpatialIndex<>(dataPnts, distanceMeasure);
+            }
             default:
                 throw new IllegalArgumentException("Unknown spatial index type [type=" + spatialIdxType + "]");
         }
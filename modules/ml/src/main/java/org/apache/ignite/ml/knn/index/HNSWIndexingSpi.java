@@ -0,0 +1,632 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.knn.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.CacheEntryImpl;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.GridCacheAdapter;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.util.lang.GridIterator;
+import org.apache.ignite.ml.knn.utils.PointWithDistance;
+import org.apache.ignite.ml.knn.utils.indices.HNSWSpatialIndex;
+import org.apache.ignite.ml.math.distances.DistanceMeasure;
+import org.apache.ignite.ml.math.distances.EuclideanDistance;
+import org.apache.ignite.ml.math.functions.IgniteFunction;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
+import org.apache.ignite.ml.structures.LabeledVector;
+import org.apache.ignite.spi.IgniteSpiAdapter;
+import org.apache.ignite.spi.IgniteSpiConfiguration;
+import org.apache.ignite.spi.IgniteSpiException;
+import org.apache.ignite.spi.IgniteSpiMultipleInstancesSupport;
+import org.apache.ignite.spi.indexing.IndexingQueryCacheFilter;
+import org.apache.ignite.spi.indexing.IndexingQueryFilter;
+import org.apache.ignite.spi.indexing.IndexingSpi;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Indexing SPI which maintains an approximate nearest neighbours index ({@link HNSWSpatialIndex}) over vectors
+ * stored in cache values. Every partition of an indexed cache has its own index which is updated as entries of the
+ * partition are put and removed, so a search touches only the partitions the node is primary for.
+ * <p>
+ * The index is searched by {@link org.apache.ignite.cache.query.SpiQuery} with two arguments: a query point
+ * ({@link Vector} or {@code double[]}) and a number of neighbours {@code k}. Every node returns its {@code k}
+ * closest entries, use {@link HNSWQuery} to get the {@code k} closest entries of the whole cache or
+ * {@link HNSWSqlFunctions} to do the same from SQL.
+ * <p>
+ * The index is kept in memory. The index of a partition is built from the partition data by the first query which
+ * searches the partition, so entries restored from a persistent storage on node start are found as well. Entries
+ * loaded by rebalancing and all later updates of the partition are indexed as they are written.
+ */
+@IgniteSpiMultipleInstancesSupport(true)
+public class HNSWIndexingSpi extends IgniteSpiAdapter implements IndexingSpi {
+    /** Minimal number of removed points which makes partition index to be rebuilt. */
+    private static final int REBUILD_THRESHOLD = 1024;
+
+    /** Names of indexed caches, all caches are indexed if empty. */
+    private Set<String> cacheNames = Collections.emptySet();
+
+    /** Extractor of a vector from a cache value. */
+    private IgniteFunction<Object, Vector> vectorExtractor = HNSWIndexingSpi::toVector;
+
+    /** Distance measure. */
+    private DistanceMeasure distanceMeasure = new EuclideanDistance();
+
+    /** Maximum number of connections of a node in upper layers. */
+    private int maxConnections = HNSWSpatialIndex.DFLT_MAX_CONNECTIONS;
+
+    /** Size of dynamic candidates list used on construction. */
+    private int efConstruction = HNSWSpatialIndex.DFLT_EF_CONSTRUCTION;
+
+    /** Size of dynamic candidates list used on search. */
+    private int efSearch = HNSWSpatialIndex.DFLT_EF_SEARCH;
+
+    /** Indices of caches. */
+    private final ConcurrentMap<String, CacheIndex> idxs = new ConcurrentHashMap<>();
+
+    /** {@inheritDoc} */
+    @Override public Iterator<Cache.Entry<?, ?>> query(@Nullable String cacheName, Collection<Object> params,
+        @Nullable IndexingQueryFilter filters) throws IgniteSpiException {
+        if (!isIndexed(cacheName))
+            throw new IgniteSpiException("Cache is not indexed [cacheName=" + cacheName + ']');
+
+        if (params == null || params.size() != 2)
+            throw new IgniteSpiException("Query point and number of neighbours are expected as query arguments.");
+
+        Iterator<Object> it = params.iterator();
+
+        Vector pnt = toVector(it.next());
+
+        int k = ((Number)it.next()).intValue();
+
+        if (k <= 0)
+            throw new IgniteSpiException("Number of neighbours should be positive.");
+
+        CacheIndex idx = cacheIndex(cacheName);
+
+        if (idx == null)
+            throw new IgniteSpiException("Cache doesn't exist [cacheName=" + cacheName + ']');
+
+        IndexingQueryCacheFilter filter = filters != null ? filters.forCache(cacheName) : null;
+
+        Queue<PointWithDistance<Object>> heap = new PriorityQueue<>(Collections.reverseOrder());
+
+        for (GridDhtLocalPartition locPart : idx.cctx.topology().localPartitions()) {
+            int part = locPart.id();
+
+            if (filter != null ? !filter.applyPartition(part) : locPart.state() != OWNING)
+                continue;
+
+            PartitionIndex partIdx = idx.partition(part);
+
+            if (!partIdx.built && !build(idx.cctx, locPart, partIdx))
+                throw new IgniteSpiException("Failed to build index of partition, it's being evicted " +
+                    "[cacheName=" + cacheName + ", part=" + part + ']');
+
+            for (LabeledVector<Object> lv : partIdx.findKClosest(k, pnt)) {
+                heap.add(new PointWithDistance<>(lv, distanceMeasure.compute(pnt, lv.features())));
+
+                if (heap.size() > k)
+                    heap.remove();
+            }
+        }
+
+        List<PointWithDistance<Object>> closest = new ArrayList<>(heap);
+
+        Collections.sort(closest);
+
+        IgniteCache<Object, Object> cache = ignite.cache(cacheName);
+
+        List<Cache.Entry<?, ?>> res = new ArrayList<>(closest.size());
+
+        for (PointWithDistance<Object> p : closest) {
+            Object key = p.getPnt().label();
+
+            Object val = cache.localPeek(key);
+
+            // Entry has been removed concurrently.
+            if (val != null)
+                res.add(new CacheEntryImpl<>(key, val));
+        }
+
+        return res.iterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void store(@Nullable String cacheName, Object key, Object val, long expirationTime)
+        throws IgniteSpiException {
+        if (!isIndexed(cacheName))
+            return;
+
+        CacheIndex idx = cacheIndex(cacheName);
+
+        if (idx == null)
+            return;
+
+        key = unwrap(key);
+
+        Vector vec = vectorExtractor.apply(unwrap(val));
+
+        PartitionIndex partIdx = idx.partition(idx.cctx.affinity().partition(key));
+
+        if (vec != null)
+            partIdx.put(key, vec);
+        else
+            partIdx.remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void remove(@Nullable String cacheName, Object key) throws IgniteSpiException {
+        if (!isIndexed(cacheName))
+            return;
+
+        CacheIndex idx = cacheIndex(cacheName);
+
+        if (idx == null)
+            return;
+
+        key = unwrap(key);
+
+        PartitionIndex partIdx = idx.parts.get(idx.cctx.affinity().partition(key));
+
+        if (partIdx != null)
+            partIdx.remove(key);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void spiStart(@Nullable String igniteInstanceName) throws IgniteSpiException {
+        assertParameter(maxConnections >= 2, "maxConnections >= 2");
+        assertParameter(efConstruction > 0, "efConstruction > 0");
+        assertParameter(efSearch > 0, "efSearch > 0");
+    }
+
+    /** {@inheritDoc} */
+    @Override public void spiStop() throws IgniteSpiException {
+        idxs.clear();
+    }
+
+    /**
+     * Gets number of points in the index of the given cache on this node.
+     *
+     * @param cacheName Cache name.
+     * @return Number of indexed points.
+     */
+    public int size(String cacheName) {
+        CacheIndex idx = cacheIndex(cacheName);
+
+        int size = 0;
+
+        if (idx != null) {
+            for (PartitionIndex partIdx : idx.parts.values())
+                size += partIdx.size();
+        }
+
+        return size;
+    }
+
+    /**
+     * Gets names of indexed caches.
+     *
+     * @return Names of indexed caches, all caches are indexed if empty.
+     */
+    public Set<String> getCacheNames() {
+        return cacheNames;
+    }
+
+    /**
+     * Sets names of indexed caches. All caches are indexed by default.
+     *
+     * @param cacheNames Names of indexed caches.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public HNSWIndexingSpi setCacheNames(String... cacheNames) {
+        this.cacheNames = new HashSet<>(Arrays.asList(cacheNames));
+
+        return this;
+    }
+
+    /**
+     * Gets extractor of a vector from a cache value.
+     *
+     * @return Vector extractor.
+     */
+    public IgniteFunction<Object, Vector> getVectorExtractor() {
+        return vectorExtractor;
+    }
+
+    /**
+     * Sets extractor of a vector from a cache value. The extractor gets deserialized values, values for which it
+     * returns {@code null} are not indexed. By default {@link Vector} and {@code double[]} values are indexed.
+     *
+     * @param vectorExtractor Vector extractor.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public HNSWIndexingSpi setVectorExtractor(IgniteFunction<Object, Vector> vectorExtractor) {
+        this.vectorExtractor = vectorExtractor;
+
+        return this;
+    }
+
+    /**
+     * Gets distance measure.
+     *
+     * @return Distance measure.
+     */
+    public DistanceMeasure getDistanceMeasure() {
+        return distanceMeasure;
+    }
+
+    /**
+     * Sets distance measure. {@link EuclideanDistance} is used by default.
+     *
+     * @param distanceMeasure Distance measure.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public HNSWIndexingSpi setDistanceMeasure(DistanceMeasure distanceMeasure) {
+        this.distanceMeasure = distanceMeasure;
+
+        return this;
+    }
+
+    /**
+     * Sets maximum number of connections of a node in upper layers of the index graph.
+     *
+     * @param maxConnections Maximum number of connections.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public HNSWIndexingSpi setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+
+        return this;
+    }
+
+    /**
+     * Sets size of dynamic candidates list used on construction.
+     *
+     * @param efConstruction Size of dynamic candidates list.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public HNSWIndexingSpi setEfConstruction(int efConstruction) {
+        this.efConstruction = efConstruction;
+
+        return this;
+    }
+
+    /**
+     * Sets size of dynamic candidates list used on search.
+     *
+     * @param efSearch Size of dynamic candidates list.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public HNSWIndexingSpi setEfSearch(int efSearch) {
+        this.efSearch = efSearch;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public HNSWIndexingSpi setName(String name) {
+        super.setName(name);
+
+        return this;
+    }
+
+    /**
+     * Computes distance between a cache value and a query point.
+     *
+     * @param val Cache value.
+     * @param pnt Query point.
+     * @return Distance or {@link Double#MAX_VALUE} if the value is not a vector.
+     */
+    double distance(Object val, Vector pnt) {
+        Vector vec = vectorExtractor.apply(unwrap(val));
+
+        return vec == null ? Double.MAX_VALUE : distanceMeasure.compute(pnt, vec);
+    }
+
+    /**
+     * Builds the index of the partition from the partition data.
+     *
+     * @param cctx Cache context.
+     * @param locPart Partition.
+     * @param partIdx Partition index.
+     * @return {@code False} if the partition is evicted and its data can't be read.
+     * @throws IgniteSpiException If failed to read the partition data.
+     */
+    private boolean build(GridCacheContext<Object, Object> cctx, GridDhtLocalPartition locPart,
+        PartitionIndex partIdx) throws IgniteSpiException {
+        if (!locPart.reserve())
+            return false;
+
+        try {
+            synchronized (partIdx.buildMux) {
+                if (partIdx.built)
+                    return true;
+
+                partIdx.onBuildStart();
+
+                CacheObjectContext coctx = cctx.cacheObjectContext();
+
+                GridIterator<CacheDataRow> rows = cctx.offheap().cachePartitionIterator(cctx.cacheId(), locPart.id(),
+                    null, null);
+
+                while (rows.hasNextX()) {
+                    CacheDataRow row = rows.nextX();
+
+                    Vector vec = vectorExtractor.apply(unwrap(row.value().value(coctx, false)));
+
+                    if (vec != null)
+                        partIdx.putIfAbsent(unwrap(row.key().value(coctx, false)), vec);
+                }
+
+                partIdx.onBuildFinish();
+
+                return true;
+            }
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteSpiException("Failed to build index of partition [cacheName=" + cctx.name() +
+                ", part=" + locPart.id() + ']', e);
+        }
+        finally {
+            locPart.release();
+        }
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @return {@code True} if the cache is indexed.
+     */
+    private boolean isIndexed(String cacheName) {
+        return cacheNames.isEmpty() || cacheNames.contains(cacheName);
+    }
+
+    /**
+     * Gets index of the cache. The index of a destroyed cache is replaced when a cache with the same name is started.
+     *
+     * @param cacheName Cache name.
+     * @return Cache index or {@code null} if the cache is not started.
+     */
+    @Nullable private CacheIndex cacheIndex(String cacheName) {
+        GridCacheAdapter<Object, Object> cache = ((IgniteEx)ignite).context().cache().internalCache(cacheName);
+
+        if (cache == null)
+            return null;
+
+        GridCacheContext<Object, Object> cctx = cache.context();
+
+        CacheIndex idx = idxs.get(cacheName);
+
+        if (idx == null || idx.cctx != cctx)
+            idx = idxs.compute(cacheName, (n, old) -> old != null && old.cctx == cctx ? old : new CacheIndex(cctx));
+
+        return idx;
+    }
+
+    /**
+     * Converts a value to a vector.
+     *
+     * @param val Value.
+     * @return Vector or {@code null} if the value is not a vector.
+     */
+    static Vector toVector(Object val) {
+        val = unwrap(val);
+
+        if (val instanceof Vector)
+            return (Vector)val;
+
+        if (val instanceof double[])
+            return VectorUtils.of((double[])val);
+
+        return null;
+    }
+
+    /**
+     * Deserializes a binary object, the indexing SPI gets keys and values in binary form.
+     *
+     * @param obj Object.
+     * @return Deserialized object.
+     */
+    private static Object unwrap(Object obj) {
+        return obj instanceof BinaryObject ? ((BinaryObject)obj).deserialize() : obj;
+    }
+
+    /**
+     * Index of a cache.
+     */
+    private class CacheIndex {
+        /** Cache context. */
+        private final GridCacheContext<Object, Object> cctx;
+
+        /** Partition indices. */
+        private final ConcurrentMap<Integer, PartitionIndex> parts = new ConcurrentHashMap<>();
+
+        /**
+         * @param cctx Cache context.
+         */
+        CacheIndex(GridCacheContext<Object, Object> cctx) {
+            this.cctx = cctx;
+        }
+
+        /**
+         * @param part Partition.
+         * @return Partition index.
+         */
+        PartitionIndex partition(int part) {
+            return parts.computeIfAbsent(part, p -> new PartitionIndex());
+        }
+    }
+
+    /**
+     * Index of a partition. Removed points are excluded from search results by the HNSW index, the index is rebuilt
+     * when the number of removed points exceeds the number of actual ones.
+     * <p>
+     * Updates are indexed while the index is built from the partition data, a point read from the partition data is
+     * skipped if its key was updated or removed after the build had started, since the read row may be outdated.
+     */
+    private class PartitionIndex {
+        /** Index. */
+        private volatile HNSWSpatialIndex<Object> idx = newIndex();
+
+        /** Whether the index is built from the partition data. */
+        private volatile boolean built;
+
+        /** Mutex which allows only one thread to build the index. */
+        private final Object buildMux = new Object();
+
+        /** Keys updated or removed since the build start, {@code null} if the index is not being built. */
+        private Set<Object> updatedKeys;
+
+        /** Identifiers of points in the index. */
+        private final Map<Object, Integer> ids = new HashMap<>();
+
+        /** Indexed points. */
+        private final Map<Object, LabeledVector<Object>> pnts = new HashMap<>();
+
+        /** Number of removed points in the index. */
+        private int removedCnt;
+
+        /**
+         * @param key Key.
+         * @param vec Vector.
+         */
+        synchronized void put(Object key, Vector vec) {
+            remove(key);
+
+            if (updatedKeys != null)
+                updatedKeys.add(key);
+
+            LabeledVector<Object> pnt = new LabeledVector<>(vec, key);
+
+            pnts.put(key, pnt);
+            ids.put(key, idx.add(pnt));
+        }
+
+        /**
+         * @param key Key.
+         */
+        synchronized void remove(Object key) {
+            if (updatedKeys != null)
+                updatedKeys.add(key);
+
+            Integer id = ids.remove(key);
+
+            if (id == null)
+                return;
+
+            pnts.remove(key);
+            idx.remove(id);
+
+            if (++removedCnt > Math.max(REBUILD_THRESHOLD, ids.size()))
+                rebuild();
+        }
+
+        /**
+         * Adds a point read from the partition data unless the key was updated or removed since the build start.
+         *
+         * @param key Key.
+         * @param vec Vector.
+         */
+        synchronized void putIfAbsent(Object key, Vector vec) {
+            if (ids.containsKey(key) || updatedKeys.contains(key))
+                return;
+
+            LabeledVector<Object> pnt = new LabeledVector<>(vec, key);
+
+            pnts.put(key, pnt);
+            ids.put(key, idx.add(pnt));
+        }
+
+        /** */
+        synchronized void onBuildStart() {
+            updatedKeys = new HashSet<>();
+        }
+
+        /** */
+        synchronized void onBuildFinish() {
+            updatedKeys = null;
+
+            built = true;
+        }
+
+        /**
+         * @param k Number of points.
+         * @param pnt Query point.
+         * @return Closest points.
+         */
+        List<LabeledVector<Object>> findKClosest(int k, Vector pnt) {
+            return idx.findKClosest(k, pnt);
+        }
+
+        /**
+         * @return Number of points.
+         */
+        int size() {
+            return idx.size();
+        }
+
+        /**
+         * Builds a new index of actual points, searches use the previous index until the new one is built.
+         */
+        private void rebuild() {
+            HNSWSpatialIndex<Object> newIdx = newIndex();
+
+            for (Map.Entry<Object, LabeledVector<Object>> e : pnts.entrySet())
+                ids.put(e.getKey(), newIdx.add(e.getValue()));
+
+            idx = newIdx;
+            removedCnt = 0;
+        }
+
+        /**
+         * @return Empty index.
+         */
+        private HNSWSpatialIndex<Object> newIndex() {
+            return new HNSWSpatialIndex<>(Collections.emptyList(), distanceMeasure, maxConnections, efConstruction,
+                efSearch, 0);
+        }
+    }
+}
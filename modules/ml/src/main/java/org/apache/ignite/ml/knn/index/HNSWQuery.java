@@ -0,0 +1,124 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.knn.index;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.cache.Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.SpiQuery;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.spi.indexing.IndexingSpi;
+
+/**
+ * Query which finds approximate {@code k} closest entries of a cache indexed by {@link HNSWIndexingSpi}. The search
+ * is sent to all data nodes of the cache, every node searches the indices of its primary partitions and the results
+ * of the nodes are merged into {@code k} closest entries.
+ *
+ * @param <K> Type of keys.
+ * @param <V> Type of values.
+ */
+public class HNSWQuery<K, V> {
+    /** Query point. */
+    private final Vector pnt;
+
+    /** Number of neighbours. */
+    private final int k;
+
+    /**
+     * Constructs a new instance of HNSW query.
+     *
+     * @param pnt Query point.
+     * @param k Number of neighbours.
+     */
+    public HNSWQuery(Vector pnt, int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException("Number of neighbours should be positive.");
+
+        this.pnt = pnt;
+        this.k = k;
+    }
+
+    /**
+     * Executes the query.
+     *
+     * @param cache Cache indexed by {@link HNSWIndexingSpi}.
+     * @return Entries ordered by distance to the query point, at most {@code k}.
+     */
+    public List<Cache.Entry<K, V>> execute(IgniteCache<K, V> cache) {
+        HNSWIndexingSpi spi = indexingSpi(cache.unwrap(Ignite.class));
+
+        SpiQuery<K, V> qry = new SpiQuery<K, V>().setArgs(pnt.asArray(), k);
+
+        List<IgniteBiTuple<Double, Cache.Entry<K, V>>> res = new ArrayList<>();
+
+        Set<K> keys = new HashSet<>();
+
+        try (QueryCursor<Cache.Entry<K, V>> cur = cache.query(qry)) {
+            // Nodes of a replicated cache return the same entries.
+            for (Cache.Entry<K, V> e : cur) {
+                if (keys.add(e.getKey()))
+                    res.add(new IgniteBiTuple<>(spi.distance(e.getValue(), pnt), e));
+            }
+        }
+
+        res.sort(Comparator.comparingDouble(IgniteBiTuple::get1));
+
+        List<Cache.Entry<K, V>> closest = new ArrayList<>(Math.min(k, res.size()));
+
+        for (int i = 0; i < k && i < res.size(); i++)
+            closest.add(res.get(i).get2());
+
+        return closest;
+    }
+
+    /**
+     * @return Query point.
+     */
+    public Vector point() {
+        return pnt;
+    }
+
+    /**
+     * @return Number of neighbours.
+     */
+    public int k() {
+        return k;
+    }
+
+    /**
+     * Gets HNSW indexing SPI of the node.
+     *
+     * @param ignite Ignite instance.
+     * @return Indexing SPI.
+     */
+    static HNSWIndexingSpi indexingSpi(Ignite ignite) {
+        IndexingSpi spi = ignite.configuration().getIndexingSpi();
+
+        if (!(spi instanceof HNSWIndexingSpi))
+            throw new IgniteException("Indexing SPI is not configured: " + HNSWIndexingSpi.class.getSimpleName());
+
+        return (HNSWIndexingSpi)spi;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.knn.index;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import javax.cache.Cache;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.query.annotations.QuerySqlFunction;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
+import org.gridgain.internal.h2.tools.SimpleResultSet;
+import org.gridgain.internal.h2.util.JdbcUtils;
+import org.gridgain.internal.h2.value.DataType;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * SQL functions over caches indexed by {@link HNSWIndexingSpi}. To be used the class should be registered with
+ * {@link org.apache.ignite.configuration.CacheConfiguration#setSqlFunctionClasses(Class[])}, for example:
+ * <pre name="code" class="sql">
+ * SELECT k.KEY, k.DISTANCE, p.NAME FROM KNN('items', '1.0,2.5,0.3', 10) k JOIN ITEM p ON p._KEY = k.KEY
+ * </pre>
+ */
+public class HNSWSqlFunctions {
+    /** URL of the connection H2 passes to table functions to get the column list only. */
+    private static final String COLUMN_LIST_URL = "jdbc:columnlist:connection";
+
+    /**
+     * Table function which finds approximate {@code k} closest entries of the cache to the given point. The function
+     * executes {@link HNSWQuery} and returns a table with {@code KEY} and {@code DISTANCE} columns ordered by distance.
+     * {@code KEY} column has SQL type of the cache key if the cache name is a literal, so that the table can be joined
+     * with the cache table, otherwise keys are returned as Java objects.
+     *
+     * @param conn Connection.
+     * @param cacheName Name of the cache indexed by {@link HNSWIndexingSpi}.
+     * @param pnt Query point as a comma separated list of coordinates.
+     * @param k Number of neighbours.
+     * @return Closest entries.
+     * @throws SQLException If failed.
+     */
+    @QuerySqlFunction(alias = "KNN")
+    public static ResultSet knn(Connection conn, String cacheName, String pnt, int k) throws SQLException {
+        Ignite ignite = ignite(conn);
+
+        int keyType = keyType(ignite, cacheName);
+
+        SimpleResultSet rs = new SimpleResultSet();
+
+        rs.addColumn("KEY", keyType, 0, 0);
+        rs.addColumn("DISTANCE", Types.DOUBLE, 0, 0);
+
+        if (COLUMN_LIST_URL.equals(conn.getMetaData().getURL()))
+            return rs;
+
+        IgniteCache<Object, Object> cache = ignite.cache(cacheName);
+
+        if (cache == null)
+            throw new SQLException("Cache doesn't exist: " + cacheName);
+
+        Vector vec = parseVector(pnt);
+
+        HNSWIndexingSpi spi = HNSWQuery.indexingSpi(ignite);
+
+        for (Cache.Entry<Object, Object> e : new HNSWQuery<>(vec, k).execute(cache)) {
+            Object key = keyType == Types.JAVA_OBJECT ? JdbcUtils.serialize(e.getKey(), null) : e.getKey();
+
+            rs.addRow(key, spi.distance(e.getValue(), vec));
+        }
+
+        return rs;
+    }
+
+    /**
+     * Finds the node which executes the query by its H2 database, the database is named after the local node ID.
+     *
+     * @param conn Connection.
+     * @return Ignite instance.
+     * @throws SQLException If failed.
+     */
+    private static Ignite ignite(Connection conn) throws SQLException {
+        String db = conn.getCatalog();
+
+        UUID nodeId;
+
+        try {
+            nodeId = UUID.fromString(db);
+        }
+        catch (IllegalArgumentException e) {
+            throw new SQLException("Failed to find local node of the database: " + db, e);
+        }
+
+        for (Ignite ignite : Ignition.allGrids()) {
+            if (nodeId.equals(ignite.cluster().localNode().id()))
+                return ignite;
+        }
+
+        throw new SQLException("Failed to find local node of the database: " + db);
+    }
+
+    /**
+     * Gets SQL type of keys of the cache.
+     *
+     * @param ignite Ignite instance.
+     * @param cacheName Cache name, {@code null} if it's not known yet.
+     * @return SQL type of keys or {@link Types#JAVA_OBJECT} if the type is unknown.
+     */
+    private static int keyType(Ignite ignite, @Nullable String cacheName) {
+        if (cacheName == null || ignite.cache(cacheName) == null)
+            return Types.JAVA_OBJECT;
+
+        Set<Class<?>> keyClasses = new HashSet<>();
+
+        for (GridQueryTypeDescriptor type : ((IgniteEx)ignite).context().query().types(cacheName))
+            keyClasses.add(type.keyClass());
+
+        if (keyClasses.size() != 1)
+            return Types.JAVA_OBJECT;
+
+        return DataType.convertTypeToSQLType(DataType.getTypeFromClass(keyClasses.iterator().next()));
+    }
+
+    /**
+     * @param pnt Comma separated list of coordinates.
+     * @return Vector.
+     * @throws SQLException If the list can't be parsed.
+     */
+    private static Vector parseVector(String pnt) throws SQLException {
+        String[] coords = pnt.split(",");
+
+        double[] res = new double[coords.length];
+
+        try {
+            for (int i = 0; i < coords.length; i++)
+                res[i] = Double.parseDouble(coords[i].trim());
+        }
+        catch (NumberFormatException e) {
+            throw new SQLException("Failed to parse query point: " + pnt, e);
+        }
+
+        return VectorUtils.of(res);
+    }
+}
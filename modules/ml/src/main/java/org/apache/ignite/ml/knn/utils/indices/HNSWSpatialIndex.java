@@ -0,0 +1,511 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.knn.utils.indices;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.ml.knn.utils.PointWithDistance;
+import org.apache.ignite.ml.math.distances.DistanceMeasure;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.structures.LabeledVector;
+
+import static org.apache.ignite.ml.knn.utils.PointWithDistanceUtil.transfomToListOrdered;
+import static org.apache.ignite.ml.knn.utils.PointWithDistanceUtil.tryToAddIntoHeap;
+
+/**
+ * Hierarchical navigable small world (HNSW) graph based implementation of {@link SpatialIndex}. Finds approximate
+ * {@code k} closest elements in {@code O(log(n))} distance computations and, unlike tree based indices, doesn't
+ * degrade on high dimensional data.
+ * <p>
+ * Every point is a node of a multi-layer proximity graph. The bottom layer contains all points, every next layer
+ * contains an exponentially decreasing random subset of points of the previous one. Search greedily descends from
+ * the top layer to the bottom one and then explores the bottom layer keeping {@code ef} best candidates, so bigger
+ * {@code ef} gives better recall at the cost of more distance computations.
+ * <p>
+ * Unlike other spatial indices, the index supports incremental updates: points can be added with {@link #add} and
+ * removed with {@link #remove} while the index is used for search, so it can be kept up to date with the data
+ * instead of being rebuilt. Removed points are marked as deleted and still used to navigate the graph.
+ *
+ * @param <L> Label type.
+ */
+public class HNSWSpatialIndex<L> implements SpatialIndex<L> {
+    /** Default maximum number of connections of a node in upper layers. */
+    public static final int DFLT_MAX_CONNECTIONS = 16;
+
+    /** Default size of dynamic candidates list used on construction. */
+    public static final int DFLT_EF_CONSTRUCTION = 200;
+
+    /** Default size of dynamic candidates list used on search. */
+    public static final int DFLT_EF_SEARCH = 64;
+
+    /** Distance measure. */
+    private final DistanceMeasure distanceMeasure;
+
+    /** Maximum number of connections of a node in upper layers, the bottom layer allows twice more. */
+    private final int maxConnections;
+
+    /** Size of dynamic candidates list used on construction. */
+    private final int efConstruction;
+
+    /** Size of dynamic candidates list used on search. */
+    private final int efSearch;
+
+    /** Normalization factor of random level generation. */
+    private final double levelMultiplier;
+
+    /** Random generator of node levels. */
+    private final Random rnd;
+
+    /** Nodes by identifiers. */
+    private final List<Node> nodes = new ArrayList<>();
+
+    /** Lock guarding graph structure. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Identifier of the entry point node, {@code -1} if index is empty. */
+    private int entryPnt = -1;
+
+    /** Number of removed nodes. */
+    private int removedCnt;
+
+    /**
+     * Constructs a new instance of HNSW spatial index with default parameters.
+     *
+     * @param data Data points.
+     * @param distanceMeasure Distance measure.
+     */
+    public HNSWSpatialIndex(List<LabeledVector<L>> data, DistanceMeasure distanceMeasure) {
+        this(data, distanceMeasure, DFLT_MAX_CONNECTIONS, DFLT_EF_CONSTRUCTION, DFLT_EF_SEARCH, 0);
+    }
+
+    /**
+     * Constructs a new instance of HNSW spatial index.
+     *
+     * @param data Data points.
+     * @param distanceMeasure Distance measure.
+     * @param maxConnections Maximum number of connections of a node in upper layers.
+     * @param efConstruction Size of dynamic candidates list used on construction.
+     * @param efSearch Size of dynamic candidates list used on search.
+     * @param seed Seed of random generator of node levels.
+     */
+    public HNSWSpatialIndex(List<LabeledVector<L>> data, DistanceMeasure distanceMeasure, int maxConnections,
+        int efConstruction, int efSearch, long seed) {
+        if (maxConnections < 2)
+            throw new IllegalArgumentException("Maximum number of connections should be at least 2.");
+
+        if (efConstruction <= 0 || efSearch <= 0)
+            throw new IllegalArgumentException("Size of dynamic candidates list should be positive.");
+
+        this.distanceMeasure = distanceMeasure;
+        this.maxConnections = maxConnections;
+        this.efConstruction = Math.max(efConstruction, maxConnections);
+        this.efSearch = efSearch;
+
+        levelMultiplier = 1 / Math.log(maxConnections);
+        rnd = new Random(seed);
+
+        data.forEach(this::add);
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<LabeledVector<L>> findKClosest(int k, Vector pnt) {
+        if (k <= 0)
+            throw new IllegalArgumentException("Number of neighbours should be positive.");
+
+        lock.readLock().lock();
+
+        try {
+            if (entryPnt == -1)
+                return Collections.emptyList();
+
+            int ep = greedyDescent(pnt, entryPnt, nodes.get(entryPnt).level(), 0);
+
+            Queue<Candidate> candidates = searchLayer(pnt, ep, Math.max(efSearch, k), 0, true);
+
+            Queue<PointWithDistance<L>> heap = new PriorityQueue<>(Collections.reverseOrder());
+
+            for (Candidate c : candidates)
+                tryToAddIntoHeap(heap, k, nodes.get(c.id).pnt, c.dist);
+
+            return transfomToListOrdered(heap);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a point into the index.
+     *
+     * @param pnt Point.
+     * @return Identifier of the point which can be used to remove it.
+     */
+    public int add(LabeledVector<L> pnt) {
+        lock.writeLock().lock();
+
+        try {
+            int lvl = (int)(-Math.log(1 - rnd.nextDouble()) * levelMultiplier);
+
+            int id = nodes.size();
+
+            Node node = new Node(pnt, lvl);
+
+            nodes.add(node);
+
+            if (entryPnt == -1) {
+                entryPnt = id;
+
+                return id;
+            }
+
+            int topLvl = nodes.get(entryPnt).level();
+
+            int ep = greedyDescent(pnt.features(), entryPnt, topLvl, lvl);
+
+            for (int l = Math.min(lvl, topLvl); l >= 0; l--) {
+                Queue<Candidate> candidates = searchLayer(pnt.features(), ep, efConstruction, l, false);
+
+                int[] neighbours = selectNeighbours(candidates, maxConnections);
+
+                for (int n : neighbours) {
+                    node.connect(l, n);
+
+                    connectAndShrink(n, id, l);
+                }
+
+                // The closest candidate is the entry point of the next layer.
+                double best = Double.MAX_VALUE;
+
+                for (Candidate c : candidates) {
+                    if (c.dist < best) {
+                        best = c.dist;
+                        ep = c.id;
+                    }
+                }
+            }
+
+            if (lvl > topLvl)
+                entryPnt = id;
+
+            return id;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a point from the index. The point is excluded from search results, but still used to navigate the graph.
+     *
+     * @param id Identifier of the point returned by {@link #add}.
+     * @return {@code True} if the point was removed, {@code false} if it was already removed.
+     */
+    public boolean remove(int id) {
+        lock.writeLock().lock();
+
+        try {
+            Node node = nodes.get(id);
+
+            if (node.removed)
+                return false;
+
+            node.removed = true;
+
+            removedCnt++;
+
+            return true;
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Number of points in the index excluding removed ones.
+     */
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return nodes.size() - removedCnt;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Greedily moves towards the point from the upper layer to the lower one keeping the only closest node.
+     *
+     * @param pnt Point.
+     * @param ep Entry point.
+     * @param fromLvl Layer to start from.
+     * @param toLvl Layer to stop at (exclusive).
+     * @return Closest node found at the layer {@code toLvl}.
+     */
+    private int greedyDescent(Vector pnt, int ep, int fromLvl, int toLvl) {
+        double dist = distance(pnt, ep);
+
+        for (int l = fromLvl; l > toLvl; l--) {
+            boolean changed = true;
+
+            while (changed) {
+                changed = false;
+
+                Node node = nodes.get(ep);
+
+                for (int i = 0; i < node.cnt[l]; i++) {
+                    int n = node.neighbours[l][i];
+
+                    double d = distance(pnt, n);
+
+                    if (d < dist) {
+                        dist = d;
+                        ep = n;
+                        changed = true;
+                    }
+                }
+            }
+        }
+
+        return ep;
+    }
+
+    /**
+     * Searches for {@code ef} closest nodes within a layer. Skipped removed nodes are still used to navigate the layer,
+     * so the search goes on through them until {@code ef} actual nodes are found.
+     *
+     * @param pnt Point.
+     * @param ep Entry point.
+     * @param ef Size of dynamic candidates list.
+     * @param lvl Layer.
+     * @param skipRemoved Whether removed nodes should be excluded from the result.
+     * @return Closest nodes found, the most distant one is the head of the queue.
+     */
+    private Queue<Candidate> searchLayer(Vector pnt, int ep, int ef, int lvl, boolean skipRemoved) {
+        BitSet visited = new BitSet(nodes.size());
+
+        Queue<Candidate> candidates = new PriorityQueue<>();
+        Queue<Candidate> res = new PriorityQueue<>(Collections.reverseOrder());
+
+        Candidate start = new Candidate(ep, distance(pnt, ep));
+
+        visited.set(ep);
+        candidates.add(start);
+
+        if (!skipRemoved || !nodes.get(ep).removed)
+            res.add(start);
+
+        while (!candidates.isEmpty()) {
+            Candidate c = candidates.poll();
+
+            if (res.size() >= ef && c.dist > res.peek().dist)
+                break;
+
+            Node node = nodes.get(c.id);
+
+            for (int i = 0; i < node.cnt[lvl]; i++) {
+                int n = node.neighbours[lvl][i];
+
+                if (visited.get(n))
+                    continue;
+
+                visited.set(n);
+
+                double d = distance(pnt, n);
+
+                if (res.size() < ef || d < res.peek().dist) {
+                    Candidate nc = new Candidate(n, d);
+
+                    candidates.add(nc);
+
+                    if (!skipRemoved || !nodes.get(n).removed)
+                        res.add(nc);
+
+                    if (res.size() > ef)
+                        res.poll();
+                }
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Selects neighbours using the heuristic which prefers candidates closer to the base point than to already
+     * selected neighbours, so that neighbours are spread in different directions and the graph stays connected for
+     * clustered data.
+     *
+     * @param candidates Candidates with distances to the base point.
+     * @param m Maximum number of neighbours.
+     * @return Identifiers of selected neighbours.
+     */
+    private int[] selectNeighbours(Queue<Candidate> candidates, int m) {
+        Candidate[] sorted = candidates.toArray(new Candidate[0]);
+
+        Arrays.sort(sorted);
+
+        int[] res = new int[Math.min(m, sorted.length)];
+        int cnt = 0;
+
+        for (Candidate c : sorted) {
+            if (cnt == res.length)
+                break;
+
+            Vector features = nodes.get(c.id).pnt.features();
+
+            boolean good = true;
+
+            for (int i = 0; i < cnt && good; i++)
+                good = distance(features, res[i]) >= c.dist;
+
+            if (good)
+                res[cnt++] = c.id;
+        }
+
+        return cnt == res.length ? res : Arrays.copyOf(res, cnt);
+    }
+
+    /**
+     * Connects node {@code id} to node {@code n} and shrinks connections of {@code id} if they exceed the maximum.
+     *
+     * @param id Node to add connection to.
+     * @param n Node to be connected.
+     * @param lvl Layer.
+     */
+    private void connectAndShrink(int id, int n, int lvl) {
+        Node node = nodes.get(id);
+
+        int max = lvl == 0 ? maxConnections * 2 : maxConnections;
+
+        if (node.cnt[lvl] < max) {
+            node.connect(lvl, n);
+
+            return;
+        }
+
+        Vector features = node.pnt.features();
+
+        Queue<Candidate> candidates = new PriorityQueue<>(Collections.reverseOrder());
+
+        candidates.add(new Candidate(n, distance(features, n)));
+
+        for (int i = 0; i < node.cnt[lvl]; i++) {
+            int nb = node.neighbours[lvl][i];
+
+            candidates.add(new Candidate(nb, distance(features, nb)));
+        }
+
+        int[] selected = selectNeighbours(candidates, max);
+
+        System.arraycopy(selected, 0, node.neighbours[lvl], 0, selected.length);
+
+        node.cnt[lvl] = selected.length;
+    }
+
+    /**
+     * @param pnt Point.
+     * @param id Node identifier.
+     * @return Distance from the point to the node.
+     */
+    private double distance(Vector pnt, int id) {
+        return distanceMeasure.compute(pnt, nodes.get(id).pnt.features());
+    }
+
+    /**
+     * Node of the graph.
+     */
+    private final class Node {
+        /** Point. */
+        private final LabeledVector<L> pnt;
+
+        /** Neighbours by layers. */
+        private final int[][] neighbours;
+
+        /** Number of neighbours by layers. */
+        private final int[] cnt;
+
+        /** Removed flag. */
+        private boolean removed;
+
+        /**
+         * Constructs a new instance of graph node.
+         *
+         * @param pnt Point.
+         * @param lvl Top layer of the node.
+         */
+        Node(LabeledVector<L> pnt, int lvl) {
+            this.pnt = pnt;
+
+            neighbours = new int[lvl + 1][];
+            cnt = new int[lvl + 1];
+
+            for (int l = 0; l <= lvl; l++)
+                neighbours[l] = new int[l == 0 ? maxConnections * 2 : maxConnections];
+        }
+
+        /**
+         * @return Top layer of the node.
+         */
+        int level() {
+            return cnt.length - 1;
+        }
+
+        /**
+         * Adds a connection, the caller guarantees that the number of connections doesn't exceed the maximum.
+         *
+         * @param lvl Layer.
+         * @param n Node to be connected.
+         */
+        void connect(int lvl, int n) {
+            neighbours[lvl][cnt[lvl]++] = n;
+        }
+    }
+
+    /**
+     * Node identifier with distance to the point of search.
+     */
+    private static final class Candidate implements Comparable<Candidate> {
+        /** Node identifier. */
+        private final int id;
+
+        /** Distance. */
+        private final double dist;
+
+        /**
+         * @param id Node identifier.
+         * @param dist Distance.
+         */
+        Candidate(int id, double dist) {
+            this.id = id;
+            this.dist = dist;
+        }
+
+        /** {@inheritDoc} */
+        @Override public int compareTo(Candidate o) {
+            return Double.compare(dist, o.dist);
+        }
+    }
+}
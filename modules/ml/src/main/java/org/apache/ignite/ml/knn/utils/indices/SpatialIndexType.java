@@ -27,5 +27,8 @@ public enum SpatialIndexType {
     KD_TREE,
 
     /** Ball tree based spatial index (see {@link BallTreeSpatialIndex}). */
-    BALL_TREE
+    BALL_TREE,
+
+    /** HNSW graph based approximate spatial index (see {@link HNSWSpatialIndex}). */
+    HNSW
 }
@@ -18,13 +18,17 @@ package org.apache.ignite.ml.math;
 
 import com.github.fommil.netlib.BLAS;
 import com.github.fommil.netlib.F2jBLAS;
+import java.util.Arrays;
 import java.util.Set;
+import java.util.function.IntFunction;
+import org.apache.ignite.internal.util.GridUnsafe;
 import org.apache.ignite.ml.math.exceptions.CardinalityException;
 import org.apache.ignite.ml.math.exceptions.MathIllegalArgumentException;
 import org.apache.ignite.ml.math.exceptions.NonSquareMatrixException;
 import org.apache.ignite.ml.math.primitives.matrix.Matrix;
 import org.apache.ignite.ml.math.primitives.matrix.impl.DenseMatrix;
 import org.apache.ignite.ml.math.primitives.matrix.impl.SparseMatrix;
+import org.apache.ignite.ml.math.primitives.matrix.storage.OffHeapColumnMajorMatrixStorage;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
 import org.apache.ignite.ml.math.primitives.vector.impl.DenseVector;
 import org.apache.ignite.ml.math.primitives.vector.impl.SparseVector;
@@ -282,16 +286,174 @@ public class Blas {
             return;
         }
 
-        double[] fA = a.getStorage().data();
         double[] fX = x.getStorage().data();
         double[] fY = y.getStorage().data();
 
-        nativeBlas.dgemv("N", a.rowSize(), a.columnSize(), alpha, fA, a.rowSize(), fX, 1, beta, fY, 1);
+        if (a.getStorage() instanceof OffHeapColumnMajorMatrixStorage)
+            gemv(false, alpha, (OffHeapColumnMajorMatrixStorage)a.getStorage(), fX, beta, fY);
+        else {
+            double[] fA = a.getStorage().data();
+
+            nativeBlas.dgemv("N", a.rowSize(), a.columnSize(), alpha, fA, a.rowSize(), fX, 1, beta, fY, 1);
+        }
 
         if (y instanceof SparseVector)
             y.assign(fY);
     }
 
+    /**
+     * y := alpha * A * x + beta * y or y := alpha * A^T * x + beta * y for matrix A stored off-heap. Columns of
+     * A are read sequentially in place, without copying the matrix to heap.
+     *
+     * @param trans Whether A is transposed.
+     * @param alpha Alpha.
+     * @param a Matrix A.
+     * @param x Vector x.
+     * @param beta Beta.
+     * @param y Vector y.
+     */
+    public static void gemv(boolean trans, double alpha, OffHeapColumnMajorMatrixStorage a, double[] x, double beta,
+        double[] y) {
+        int rows = a.rowSize();
+        int cols = a.columnSize();
+
+        if (x.length != (trans ? rows : cols))
+            throw new CardinalityException(trans ? rows : cols, x.length);
+
+        if (y.length != (trans ? cols : rows))
+            throw new CardinalityException(trans ? cols : rows, y.length);
+
+        long ptr = a.address();
+        boolean floatPrecision = a.isFloatPrecision();
+        long colSize = (long)rows * a.elementSize();
+
+        if (trans) {
+            for (int j = 0; j < cols; j++) {
+                long colPtr = ptr + j * colSize;
+
+                double dot = 0;
+
+                if (floatPrecision) {
+                    for (int i = 0; i < rows; i++)
+                        dot += GridUnsafe.getFloat(colPtr + ((long)i << 2)) * x[i];
+                }
+                else {
+                    for (int i = 0; i < rows; i++)
+                        dot += GridUnsafe.getDouble(colPtr + ((long)i << 3)) * x[i];
+                }
+
+                y[j] = beta == 0.0 ? alpha * dot : alpha * dot + beta * y[j];
+            }
+        }
+        else {
+            if (beta == 0.0)
+                Arrays.fill(y, 0.0);
+            else if (beta != 1.0) {
+                for (int i = 0; i < rows; i++)
+                    y[i] *= beta;
+            }
+
+            for (int j = 0; j < cols; j++) {
+                double mult = alpha * x[j];
+
+                if (mult == 0.0)
+                    continue;
+
+                long colPtr = ptr + j * colSize;
+
+                if (floatPrecision) {
+                    for (int i = 0; i < rows; i++)
+                        y[i] += mult * GridUnsafe.getFloat(colPtr + ((long)i << 2));
+                }
+                else {
+                    for (int i = 0; i < rows; i++)
+                        y[i] += mult * GridUnsafe.getDouble(colPtr + ((long)i << 3));
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes squared euclidean distances between every point of a block and every center at once. Distances are
+     * computed as {@code |x|^2 - 2 * x * c + |c|^2}, where products of points and centers are computed by a single
+     * matrix-matrix multiplication, so a block of points is processed much faster than point by point.
+     *
+     * @param x Block of points as a {@code n x d} matrix in a dense flat column-major format.
+     * @param n Number of points.
+     * @param c Centers as a {@code k x d} matrix in a dense flat column-major format.
+     * @param k Number of centers.
+     * @param d Dimension of points and centers.
+     * @param res Result as a {@code n x k} matrix in a dense flat column-major format.
+     */
+    public static void squaredDistances(double[] x, int n, double[] c, int k, int d, double[] res) {
+        if (x.length < n * d)
+            throw new CardinalityException(n * d, x.length);
+
+        if (c.length < k * d)
+            throw new CardinalityException(k * d, c.length);
+
+        if (res.length < n * k)
+            throw new CardinalityException(n * k, res.length);
+
+        if (n == 0 || k == 0)
+            return;
+
+        nativeBlas.dgemm("N", "T", n, k, d, -2.0, x, n, c, k, 0.0, res, n);
+
+        double[] xNorms = new double[n];
+
+        for (int j = 0; j < d; j++) {
+            int off = j * n;
+
+            for (int i = 0; i < n; i++)
+                xNorms[i] += x[off + i] * x[off + i];
+        }
+
+        for (int l = 0; l < k; l++) {
+            double cNorm = 0;
+
+            for (int j = 0; j < d; j++)
+                cNorm += c[j * k + l] * c[j * k + l];
+
+            int off = l * n;
+
+            // Rounding errors may give small negative values for coincident points.
+            for (int i = 0; i < n; i++)
+                res[off + i] = Math.max(0, res[off + i] + xNorms[i] + cNorm);
+        }
+    }
+
+    /**
+     * Copies vectors into a matrix in a dense flat column-major format, one vector per row.
+     *
+     * @param rows Vectors of the same size by indexes.
+     * @param from Index of the first vector (inclusive).
+     * @param to Index of the last vector (exclusive).
+     * @return Matrix in a dense flat column-major format.
+     */
+    public static double[] toColumnMajor(IntFunction<Vector> rows, int from, int to) {
+        int n = to - from;
+
+        if (n == 0)
+            return new double[0];
+
+        int d = rows.apply(from).size();
+
+        double[] res = new double[n * d];
+
+        for (int i = 0; i < n; i++) {
+            Vector row = rows.apply(from + i);
+
+            if (row.size() != d)
+                throw new CardinalityException(d, row.size());
+
+            for (int j = 0; j < d; j++)
+                res[j * n + i] = row.get(j);
+        }
+
+        return res;
+    }
+
     /**
      * M := alpha * M.
      *
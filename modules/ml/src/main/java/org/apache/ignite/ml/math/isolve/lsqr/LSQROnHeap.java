@@ -63,12 +63,10 @@ public class LSQROnHeap<K, V> extends AbstractLSQR implements AutoCloseable {
     /** {@inheritDoc} */
     @Override protected double beta(double[] x, double alfa, double beta) {
         return dataset.computeWithCtx((ctx, data) -> {
-            if (data.getFeatures() == null)
+            if (data.getColumns() == 0)
                 return null;
 
-            int cols = data.getFeatures().length / data.getRows();
-            BLAS.getInstance().dgemv("N", data.getRows(), cols, alfa, data.getFeatures(),
-                Math.max(1, data.getRows()), x, 1, beta, ctx.getU(), 1);
+            data.gemv(false, alfa, x, beta, ctx.getU());
 
             return BLAS.getInstance().dnrm2(ctx.getU().length, ctx.getU(), 1);
         }, (a, b) -> a == null ? b : b == null ? a : Math.sqrt(a * a + b * b));
@@ -77,14 +75,12 @@ public class LSQROnHeap<K, V> extends AbstractLSQR implements AutoCloseable {
     /** {@inheritDoc} */
     @Override protected double[] iter(double bnorm, double[] target) {
         double[] res = dataset.computeWithCtx((ctx, data) -> {
-            if (data.getFeatures() == null)
+            if (data.getColumns() == 0)
                 return null;
 
-            int cols = data.getFeatures().length / data.getRows();
             BLAS.getInstance().dscal(ctx.getU().length, 1 / bnorm, ctx.getU(), 1);
-            double[] v = new double[cols];
-            BLAS.getInstance().dgemv("T", data.getRows(), cols, 1.0, data.getFeatures(),
-                Math.max(1, data.getRows()), ctx.getU(), 1, 0, v, 1);
+            double[] v = new double[data.getColumns()];
+            data.gemv(true, 1.0, ctx.getU(), 0, v);
 
             return v;
         }, (a, b) -> {
@@ -108,7 +104,7 @@ public class LSQROnHeap<K, V> extends AbstractLSQR implements AutoCloseable {
      */
     @Override protected Integer getColumns() {
         return dataset.compute(
-            data -> data.getFeatures() == null ? null : data.getFeatures().length / data.getRows(),
+            data -> data.getColumns() == 0 ? null : data.getColumns(),
             (a, b) -> {
                 if (a == null)
                     return b == null ? 0 : b;
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.math.primitives.matrix.impl;
+
+import org.apache.ignite.ml.math.StorageConstants;
+import org.apache.ignite.ml.math.primitives.matrix.AbstractMatrix;
+import org.apache.ignite.ml.math.primitives.matrix.Matrix;
+import org.apache.ignite.ml.math.primitives.matrix.storage.OffHeapColumnMajorMatrixStorage;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.math.primitives.vector.impl.DenseVector;
+
+/**
+ * Dense matrix stored off-heap in a column-major format, see {@link OffHeapColumnMajorMatrixStorage}. Row and
+ * column views read elements in place. Matrices and vectors created by {@link #like(int, int)},
+ * {@link #likeVector(int)} and {@link #copy()} are stored in heap, so only explicitly created off-heap matrices
+ * have to be destroyed.
+ */
+public class OffHeapColumnMajorMatrix extends AbstractMatrix {
+    /**
+     *
+     */
+    public OffHeapColumnMajorMatrix() {
+        // No-op.
+    }
+
+    /**
+     * @param rows Amount of rows in the matrix.
+     * @param cols Amount of columns in the matrix.
+     * @param floatPrecision Whether elements are stored as {@code float} values.
+     */
+    public OffHeapColumnMajorMatrix(int rows, int cols, boolean floatPrecision) {
+        super(new OffHeapColumnMajorMatrixStorage(rows, cols, floatPrecision));
+    }
+
+    /**
+     * @return Off-heap storage.
+     */
+    public OffHeapColumnMajorMatrixStorage storage() {
+        return (OffHeapColumnMajorMatrixStorage)getStorage();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Matrix copy() {
+        return new DenseMatrix(getStorage().data(), rowSize(), StorageConstants.COLUMN_STORAGE_MODE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Matrix like(int rows, int cols) {
+        return new DenseMatrix(rows, cols, StorageConstants.COLUMN_STORAGE_MODE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Vector likeVector(int crd) {
+        return new DenseVector(crd);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.math.primitives.matrix.storage;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.internal.util.GridCleaner;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.ml.math.StorageConstants;
+import org.apache.ignite.ml.math.primitives.matrix.MatrixStorage;
+
+/**
+ * {@link MatrixStorage} implementation keeping elements off-heap in a dense column-major format as {@code double}
+ * or {@code float} values. Memory is allocated on creation (or deserialization) and is released by
+ * {@link #destroy()}, any access to the storage after that fails with {@link IllegalStateException}. Memory of a
+ * storage which is not destroyed explicitly is released once the storage becomes unreachable.
+ */
+public class OffHeapColumnMajorMatrixStorage implements MatrixStorage {
+    /** Address of off-heap memory, {@code 0} if memory is not allocated or released. */
+    private long ptr;
+
+    /** Deallocator of off-heap memory. */
+    private Deallocator deallocator;
+
+    /** Amount of rows in the matrix. */
+    private int rows;
+
+    /** Amount of columns in the matrix. */
+    private int cols;
+
+    /** Whether elements are stored as {@code float} values. */
+    private boolean floatPrecision;
+
+    /**
+     *
+     */
+    public OffHeapColumnMajorMatrixStorage() {
+        // No-op.
+    }
+
+    /**
+     * @param rows Amount of rows in the matrix.
+     * @param cols Amount of columns in the matrix.
+     * @param floatPrecision Whether elements are stored as {@code float} values.
+     */
+    public OffHeapColumnMajorMatrixStorage(int rows, int cols, boolean floatPrecision) {
+        assert rows > 0;
+        assert cols > 0;
+
+        this.rows = rows;
+        this.cols = cols;
+        this.floatPrecision = floatPrecision;
+
+        allocate();
+    }
+
+    /**
+     * Allocates off-heap memory for the current dimensions.
+     */
+    private void allocate() {
+        ptr = GridUnsafe.allocateMemory((long)rows * cols * elementSize());
+
+        deallocator = new Deallocator(ptr);
+
+        GridCleaner.create(this, deallocator);
+    }
+
+    /**
+     * @return Address of off-heap memory.
+     * @throws IllegalStateException If the storage is destroyed.
+     */
+    private long pointer() {
+        long ptr = this.ptr;
+
+        if (ptr == 0)
+            throw new IllegalStateException("Off-heap matrix storage is destroyed.");
+
+        return ptr;
+    }
+
+    /**
+     * @return Address of off-heap memory.
+     */
+    public long address() {
+        return pointer();
+    }
+
+    /**
+     * @return Whether elements are stored as {@code float} values.
+     */
+    public boolean isFloatPrecision() {
+        return floatPrecision;
+    }
+
+    /**
+     * @return Size of element in bytes.
+     */
+    public int elementSize() {
+        return floatPrecision ? Float.BYTES : Double.BYTES;
+    }
+
+    /** {@inheritDoc} */
+    @Override public double get(int x, int y) {
+        long ptr = pointer();
+        long idx = (long)y * rows + x;
+
+        return floatPrecision ? GridUnsafe.getFloat(ptr + (idx << 2)) : GridUnsafe.getDouble(ptr + (idx << 3));
+    }
+
+    /** {@inheritDoc} */
+    @Override public void set(int x, int y, double v) {
+        long ptr = pointer();
+        long idx = (long)y * rows + x;
+
+        if (floatPrecision)
+            GridUnsafe.putFloat(ptr + (idx << 2), (float)v);
+        else
+            GridUnsafe.putDouble(ptr + (idx << 3), v);
+    }
+
+    /**
+     * Copies rows into a dense column-major array.
+     *
+     * @param rowIdxs Indexes of rows to copy.
+     * @return Dense column-major array with {@code rowIdxs.length} rows.
+     */
+    public double[] copyRows(int[] rowIdxs) {
+        pointer();
+
+        double[] res = new double[cols * rowIdxs.length];
+
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rowIdxs.length; i++)
+                res[j * rowIdxs.length + i] = get(rowIdxs[i], j);
+        }
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int columnSize() {
+        return cols;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int rowSize() {
+        return rows;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int storageMode() {
+        return StorageConstants.COLUMN_STORAGE_MODE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int accessMode() {
+        return StorageConstants.RANDOM_ACCESS_MODE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isDense() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isArrayBased() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isDistributed() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public double[] data() {
+        pointer();
+
+        double[] res = new double[rows * cols];
+
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rows; i++)
+                res[j * rows + i] = get(i, j);
+        }
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void destroy() {
+        if (ptr != 0) {
+            ptr = 0;
+
+            deallocator.run();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeExternal(ObjectOutput out) throws IOException {
+        out.writeInt(rows);
+        out.writeInt(cols);
+        out.writeBoolean(floatPrecision);
+
+        pointer();
+
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rows; i++)
+                out.writeDouble(get(i, j));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void readExternal(ObjectInput in) throws IOException {
+        rows = in.readInt();
+        cols = in.readInt();
+        floatPrecision = in.readBoolean();
+
+        destroy();
+
+        allocate();
+
+        for (int j = 0; j < cols; j++) {
+            for (int i = 0; i < rows; i++)
+                set(i, j, in.readDouble());
+        }
+    }
+
+    /**
+     * Releases off-heap memory at most once. Must not reference the storage, otherwise it never becomes unreachable.
+     */
+    private static class Deallocator implements Runnable {
+        /** Address of off-heap memory, {@code 0} once released. */
+        private final AtomicLong ptr;
+
+        /**
+         * @param ptr Address of off-heap memory.
+         */
+        Deallocator(long ptr) {
+            this.ptr = new AtomicLong(ptr);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            long ptr = this.ptr.getAndSet(0);
+
+            if (ptr != 0)
+                GridUnsafe.freeMemory(ptr);
+        }
+    }
+}
@@ -16,6 +16,8 @@
 
 package org.apache.ignite.ml.math.stat;
 
+import com.github.fommil.netlib.BLAS;
+import java.util.Arrays;
 import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.ml.math.primitives.matrix.Matrix;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
@@ -36,6 +38,9 @@ public class MultivariateGaussianDistribution implements Distribution {
     /** Covariance. */
     private Matrix covariance;
 
+    /** Covariance^-1 in a dense flat column-major format, is built on first block computation. */
+    private transient double[] invCovarianceArr;
+
     /**
      * Constructs an instance of MultivariateGaussianDistribution.
      *
@@ -67,6 +72,59 @@ public class MultivariateGaussianDistribution implements Distribution {
         return Math.pow(Math.E, ePower.get(0, 0)) / normalizer;
     }
 
+    /**
+     * Computes probability densities for a block of points at once. Quadratic forms of all points of the block are
+     * computed with a single matrix-matrix multiplication.
+     *
+     * @param x Block of points as a {@code n x d} matrix in a dense flat column-major format.
+     * @param n Number of points.
+     * @param res Probability densities of points.
+     */
+    public void prob(double[] x, int n, double[] res) {
+        int d = mean.size();
+
+        A.ensure(x.length >= n * d, "x.length >= n * d");
+        A.ensure(res.length >= n, "res.length >= n");
+
+        if (n == 0)
+            return;
+
+        double[] invCov = invCovarianceArr;
+
+        if (invCov == null) {
+            invCov = new double[d * d];
+
+            for (int i = 0; i < d; i++)
+                for (int j = 0; j < d; j++)
+                    invCov[j * d + i] = invCovariance.get(i, j);
+
+            invCovarianceArr = invCov;
+        }
+
+        double[] delta = new double[n * d];
+
+        for (int j = 0; j < d; j++) {
+            double m = mean.get(j);
+
+            for (int i = 0; i < n; i++)
+                delta[j * n + i] = x[j * n + i] - m;
+        }
+
+        double[] y = new double[n * d];
+
+        BLAS.getInstance().dgemm("N", "N", n, d, d, 1.0, delta, n, invCov, d, 0.0, y, n);
+
+        Arrays.fill(res, 0, n, 0.0);
+
+        for (int j = 0; j < d; j++) {
+            for (int i = 0; i < n; i++)
+                res[i] += y[j * n + i] * delta[j * n + i];
+        }
+
+        for (int i = 0; i < n; i++)
+            res[i] = Math.exp(-0.5 * res[i]) / normalizer;
+    }
+
     /** {@inheritDoc} */
     @Override public int dimension() {
         return mean.size();
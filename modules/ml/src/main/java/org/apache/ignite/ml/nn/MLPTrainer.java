@@ -25,6 +25,7 @@ import org.apache.ignite.ml.dataset.DatasetBuilder;
 import org.apache.ignite.ml.dataset.primitive.builder.context.EmptyContextBuilder;
 import org.apache.ignite.ml.dataset.primitive.builder.data.SimpleLabeledDatasetDataBuilder;
 import org.apache.ignite.ml.dataset.primitive.context.EmptyContext;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
 import org.apache.ignite.ml.dataset.primitive.data.SimpleLabeledDatasetData;
 import org.apache.ignite.ml.environment.LearningEnvironmentBuilder;
 import org.apache.ignite.ml.math.functions.IgniteDifferentiableVectorToDoubleFunction;
@@ -66,6 +67,9 @@ public class MLPTrainer<P extends Serializable> extends MultiLabelDatasetTrainer
     /** Multilayer perceptron model initializer. */
     private long seed = 1234L;
 
+    /** Storage of partition features. */
+    private FeatureStorageMode featureStorageMode = FeatureStorageMode.ON_HEAP;
+
     /**
      * Constructs a new instance of multilayer perceptron trainer.
      *
@@ -125,7 +129,7 @@ public class MLPTrainer<P extends Serializable> extends MultiLabelDatasetTrainer
         try (Dataset<EmptyContext, SimpleLabeledDatasetData> dataset = datasetBuilder.build(
             envBuilder,
             new EmptyContextBuilder<>(),
-            new SimpleLabeledDatasetDataBuilder<>(extractor),
+            new SimpleLabeledDatasetDataBuilder<>(extractor, featureStorageMode),
             learningEnvironment()
         )) {
             MultilayerPerceptron mdl;
@@ -148,7 +152,7 @@ public class MLPTrainer<P extends Serializable> extends MultiLabelDatasetTrainer
 
                         MultilayerPerceptron mlp = Utils.copy(finalMdl);
 
-                        if (data.getFeatures() != null) {
+                        if (data.getColumns() != 0) {
                             List<P> updates = new ArrayList<>();
 
                             for (int locStep = 0; locStep < locIterations; locStep++) {
@@ -158,7 +162,7 @@ public class MLPTrainer<P extends Serializable> extends MultiLabelDatasetTrainer
                                     new Random(seed ^ (finalI * locStep))
                                 );
 
-                                double[] inputsBatch = batch(data.getFeatures(), rows, data.getRows());
+                                double[] inputsBatch = data.getFeatureRows(rows);
                                 double[] groundTruthBatch = batch(data.getLabels(), rows, data.getRows());
 
                                 Matrix inputs = new DenseMatrix(inputsBatch, rows.length, 0);
@@ -353,6 +357,26 @@ public class MLPTrainer<P extends Serializable> extends MultiLabelDatasetTrainer
         return this;
     }
 
+    /**
+     * Get the storage of partition features.
+     *
+     * @return The property value.
+     */
+    public FeatureStorageMode getFeatureStorageMode() {
+        return featureStorageMode;
+    }
+
+    /**
+     * Set up the storage of partition features. Off-heap storage keeps large partitions out of the Java heap.
+     *
+     * @param featureStorageMode The parameter value.
+     * @return Model with the storage of partition features.
+     */
+    public MLPTrainer<P> withFeatureStorageMode(FeatureStorageMode featureStorageMode) {
+        this.featureStorageMode = featureStorageMode;
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public boolean isUpdateable(MultilayerPerceptron mdl) {
         return true;
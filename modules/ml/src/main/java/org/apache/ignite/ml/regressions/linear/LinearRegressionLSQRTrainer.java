@@ -19,6 +19,7 @@ package org.apache.ignite.ml.regressions.linear;
 import java.util.Arrays;
 import org.apache.ignite.ml.dataset.DatasetBuilder;
 import org.apache.ignite.ml.dataset.primitive.builder.data.SimpleLabeledDatasetDataBuilder;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
 import org.apache.ignite.ml.math.isolve.lsqr.AbstractLSQR;
 import org.apache.ignite.ml.math.isolve.lsqr.LSQROnHeap;
 import org.apache.ignite.ml.math.isolve.lsqr.LSQRResult;
@@ -36,6 +37,9 @@ import org.apache.ignite.ml.trainers.SingleLabelDatasetTrainer;
  * @see AbstractLSQR
  */
 public class LinearRegressionLSQRTrainer extends SingleLabelDatasetTrainer<LinearRegressionModel> {
+    /** Storage of partition features. */
+    private FeatureStorageMode featureStorageMode = FeatureStorageMode.ON_HEAP;
+
     /** {@inheritDoc} */
     @Override public <K, V> LinearRegressionModel fitWithInitializedDeployingContext(DatasetBuilder<K, V> datasetBuilder,
                                                       Preprocessor<K, V> extractor) {
@@ -66,7 +70,7 @@ public class LinearRegressionLSQRTrainer extends SingleLabelDatasetTrainer<Linea
 
         try (LSQROnHeap<K, V> lsqr = new LSQROnHeap<>(
             datasetBuilder, envBuilder,
-            new SimpleLabeledDatasetDataBuilder<>(patchedPreprocessor),
+            new SimpleLabeledDatasetDataBuilder<>(patchedPreprocessor, featureStorageMode),
             learningEnvironment())) {
 
             double[] x0 = null;
@@ -95,4 +99,24 @@ public class LinearRegressionLSQRTrainer extends SingleLabelDatasetTrainer<Linea
     @Override public boolean isUpdateable(LinearRegressionModel mdl) {
         return true;
     }
+
+    /**
+     * Set up the storage of partition features. Off-heap storage keeps large partitions out of the Java heap.
+     *
+     * @param featureStorageMode Storage of partition features.
+     * @return Trainer with new storage of partition features.
+     */
+    public LinearRegressionLSQRTrainer withFeatureStorageMode(FeatureStorageMode featureStorageMode) {
+        this.featureStorageMode = featureStorageMode;
+        return this;
+    }
+
+    /**
+     * Get the storage of partition features.
+     *
+     * @return The property value.
+     */
+    public FeatureStorageMode getFeatureStorageMode() {
+        return featureStorageMode;
+    }
 }
@@ -22,6 +22,7 @@ import java.util.Optional;
 import org.apache.ignite.ml.dataset.Dataset;
 import org.apache.ignite.ml.dataset.DatasetBuilder;
 import org.apache.ignite.ml.dataset.primitive.context.EmptyContext;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
 import org.apache.ignite.ml.dataset.primitive.data.SimpleLabeledDatasetData;
 import org.apache.ignite.ml.math.functions.IgniteFunction;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
@@ -57,6 +58,9 @@ public class LinearRegressionSGDTrainer<P extends Serializable> extends SingleLa
     /** Seed for random generator. */
     private long seed = 1234L;
 
+    /** Storage of partition features. */
+    private FeatureStorageMode featureStorageMode = FeatureStorageMode.ON_HEAP;
+
     /**
      * Constructs a new instance of linear regression SGD trainer.
      *
@@ -98,9 +102,9 @@ public class LinearRegressionSGDTrainer<P extends Serializable> extends SingleLa
         IgniteFunction<Dataset<EmptyContext, SimpleLabeledDatasetData>, MLPArchitecture> archSupplier = dataset -> {
 
             int cols = dataset.compute(data -> {
-                if (data.getFeatures() == null)
+                if (data.getColumns() == 0)
                     return null;
-                return data.getFeatures().length / data.getRows();
+                return data.getColumns();
             }, (a, b) -> {
                 if (a == null)
                     return b == null ? 0 : b;
@@ -123,7 +127,7 @@ public class LinearRegressionSGDTrainer<P extends Serializable> extends SingleLa
             batchSize,
             locIterations,
             seed
-        );
+        ).withFeatureStorageMode(featureStorageMode);
 
         IgniteFunction<LabeledVector<Double>, LabeledVector<double[]>> func = lv -> new LabeledVector<>(lv.features(), new double[] { lv.label()});
 
@@ -210,6 +214,17 @@ public class LinearRegressionSGDTrainer<P extends Serializable> extends SingleLa
         return this;
     }
 
+    /**
+     * Set up the storage of partition features.
+     *
+     * @param featureStorageMode Storage of partition features.
+     * @return Trainer with new storage of partition features.
+     */
+    public LinearRegressionSGDTrainer<P> withFeatureStorageMode(FeatureStorageMode featureStorageMode) {
+        this.featureStorageMode = featureStorageMode;
+        return this;
+    }
+
     /**
      * Get the update strategy.
      *
@@ -254,4 +269,13 @@ public class LinearRegressionSGDTrainer<P extends Serializable> extends SingleLa
     public long getSeed() {
         return seed;
     }
+
+    /**
+     * Get the storage of partition features.
+     *
+     * @return The property value.
+     */
+    public FeatureStorageMode getFeatureStorageMode() {
+        return featureStorageMode;
+    }
 }
@@ -20,6 +20,7 @@ import java.util.Arrays;
 import org.apache.ignite.ml.dataset.Dataset;
 import org.apache.ignite.ml.dataset.DatasetBuilder;
 import org.apache.ignite.ml.dataset.primitive.context.EmptyContext;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
 import org.apache.ignite.ml.dataset.primitive.data.SimpleLabeledDatasetData;
 import org.apache.ignite.ml.math.functions.IgniteFunction;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
@@ -61,6 +62,9 @@ public class LogisticRegressionSGDTrainer extends SingleLabelDatasetTrainer<Logi
     /** Seed for random generator. */
     private long seed = 1234L;
 
+    /** Storage of partition features. */
+    private FeatureStorageMode featureStorageMode = FeatureStorageMode.ON_HEAP;
+
     /** {@inheritDoc} */
     @Override public <K, V> LogisticRegressionModel fitWithInitializedDeployingContext(DatasetBuilder<K, V> datasetBuilder,
         Preprocessor<K, V> extractor) {
@@ -75,9 +79,9 @@ public class LogisticRegressionSGDTrainer extends SingleLabelDatasetTrainer<Logi
 
         IgniteFunction<Dataset<EmptyContext, SimpleLabeledDatasetData>, MLPArchitecture> archSupplier = dataset -> {
             Integer cols = dataset.compute(data -> {
-                if (data.getFeatures() == null)
+                if (data.getColumns() == 0)
                     return null;
-                return data.getFeatures().length / data.getRows();
+                return data.getColumns();
             }, (a, b) -> {
                 // If both are null then zero will be propagated, no good.
                 if (a == null)
@@ -102,7 +106,7 @@ public class LogisticRegressionSGDTrainer extends SingleLabelDatasetTrainer<Logi
             batchSize,
             locIterations,
             seed
-        ).withEnvironmentBuilder(envBuilder);
+        ).withFeatureStorageMode(featureStorageMode).withEnvironmentBuilder(envBuilder);
 
         MultilayerPerceptron mlp;
 
@@ -195,6 +199,17 @@ public class LogisticRegressionSGDTrainer extends SingleLabelDatasetTrainer<Logi
         return this;
     }
 
+    /**
+     * Set up the storage of partition features.
+     *
+     * @param featureStorageMode Storage of partition features.
+     * @return Trainer with new storage of partition features.
+     */
+    public LogisticRegressionSGDTrainer withFeatureStorageMode(FeatureStorageMode featureStorageMode) {
+        this.featureStorageMode = featureStorageMode;
+        return this;
+    }
+
     /**
      * Set up the regularization parameter.
      *
@@ -250,4 +265,13 @@ public class LogisticRegressionSGDTrainer extends SingleLabelDatasetTrainer<Logi
     public long getSeed() {
         return seed;
     }
+
+    /**
+     * Get the storage of partition features.
+     *
+     * @return The property value.
+     */
+    public FeatureStorageMode getFeatureStorageMode() {
+        return featureStorageMode;
+    }
 }
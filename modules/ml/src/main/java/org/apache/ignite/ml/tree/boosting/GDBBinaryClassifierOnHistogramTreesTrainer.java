@@ -0,0 +1,167 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.tree.boosting;
+
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.ml.composition.boosting.GDBBinaryClassifierTrainer;
+import org.apache.ignite.ml.composition.boosting.GDBLearningStrategy;
+import org.apache.ignite.ml.environment.LearningEnvironmentBuilder;
+import org.apache.ignite.ml.tree.DecisionTreeRegressionTrainer;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Implementation of histogram-based Gradient Boosting Classifier Trainer on trees. Features are quantized into at most
+ * {@link #getMaxBins()} bins and trees are grown leaf-wise up to {@link #getMaxLeaves()} leaves, see
+ * {@link GDBOnHistogramTreesLearningStrategy}.
+ */
+public class GDBBinaryClassifierOnHistogramTreesTrainer extends GDBBinaryClassifierTrainer {
+    /** Default max number of bins per feature. */
+    public static final int DFLT_MAX_BINS = 256;
+
+    /** Default max number of leaves. */
+    public static final int DFLT_MAX_LEAVES = 31;
+
+    /** Max depth. */
+    private int maxDepth;
+
+    /** Min impurity decrease. */
+    private double minImpurityDecrease;
+
+    /** Max number of bins per feature. */
+    private int maxBins = DFLT_MAX_BINS;
+
+    /** Max number of leaves. */
+    private int maxLeaves = DFLT_MAX_LEAVES;
+
+    /**
+     * Constructs instance of GDBBinaryClassifierOnHistogramTreesTrainer.
+     *
+     * @param gradStepSize Gradient step size.
+     * @param cntOfIterations Count of iterations.
+     * @param maxDepth Max depth.
+     * @param minImpurityDecrease Min decrease of sum of squared residuals required to split a leaf.
+     */
+    public GDBBinaryClassifierOnHistogramTreesTrainer(double gradStepSize, Integer cntOfIterations,
+        int maxDepth, double minImpurityDecrease) {
+
+        super(gradStepSize, cntOfIterations);
+        this.maxDepth = maxDepth;
+        this.minImpurityDecrease = minImpurityDecrease;
+    }
+
+    /** {@inheritDoc} */
+    @NotNull @Override protected DecisionTreeRegressionTrainer buildBaseModelTrainer() {
+        return new DecisionTreeRegressionTrainer(maxDepth, minImpurityDecrease);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected GDBLearningStrategy getLearningStrategy() {
+        return new GDBOnHistogramTreesLearningStrategy(maxBins, maxDepth, maxLeaves, minImpurityDecrease);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GDBBinaryClassifierOnHistogramTreesTrainer withEnvironmentBuilder(
+        LearningEnvironmentBuilder envBuilder) {
+        return (GDBBinaryClassifierOnHistogramTreesTrainer)super.withEnvironmentBuilder(envBuilder);
+    }
+
+    /**
+     * Get the max depth.
+     *
+     * @return The property value.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Set up the max depth.
+     *
+     * @param maxDepth The parameter value.
+     * @return Trainer.
+     */
+    public GDBBinaryClassifierOnHistogramTreesTrainer setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+        return this;
+    }
+
+    /**
+     * Get the min impurity decrease.
+     *
+     * @return The property value.
+     */
+    public double getMinImpurityDecrease() {
+        return minImpurityDecrease;
+    }
+
+    /**
+     * Set up the min impurity decrease.
+     *
+     * @param minImpurityDecrease The parameter value.
+     * @return Trainer.
+     */
+    public GDBBinaryClassifierOnHistogramTreesTrainer setMinImpurityDecrease(double minImpurityDecrease) {
+        this.minImpurityDecrease = minImpurityDecrease;
+        return this;
+    }
+
+    /**
+     * Get the max number of bins per feature.
+     *
+     * @return The property value.
+     */
+    public int getMaxBins() {
+        return maxBins;
+    }
+
+    /**
+     * Set up the max number of bins per feature. Bins are stored as {@code byte} values if there are at most 256 bins
+     * and as {@code short} values otherwise.
+     *
+     * @param maxBins The parameter value.
+     * @return Trainer.
+     */
+    public GDBBinaryClassifierOnHistogramTreesTrainer withMaxBins(int maxBins) {
+        A.ensure(maxBins >= 2 && maxBins <= 1 << Short.SIZE, "maxBins must be in range [2, 65536]");
+
+        this.maxBins = maxBins;
+        return this;
+    }
+
+    /**
+     * Get the max number of leaves.
+     *
+     * @return The property value.
+     */
+    public int getMaxLeaves() {
+        return maxLeaves;
+    }
+
+    /**
+     * Set up the max number of leaves.
+     *
+     * @param maxLeaves The parameter value.
+     * @return Trainer.
+     */
+    public GDBBinaryClassifierOnHistogramTreesTrainer withMaxLeaves(int maxLeaves) {
+        A.ensure(maxLeaves >= 1, "maxLeaves must be positive");
+
+        this.maxLeaves = maxLeaves;
+        return this;
+    }
+}
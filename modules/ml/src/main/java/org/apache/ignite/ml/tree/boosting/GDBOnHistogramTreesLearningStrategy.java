@@ -0,0 +1,405 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.tree.boosting;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.apache.ignite.ml.IgniteModel;
+import org.apache.ignite.ml.composition.ModelsComposition;
+import org.apache.ignite.ml.composition.boosting.GDBLearningStrategy;
+import org.apache.ignite.ml.composition.boosting.GDBTrainer;
+import org.apache.ignite.ml.composition.boosting.convergence.ConvergenceChecker;
+import org.apache.ignite.ml.composition.boosting.loss.Loss;
+import org.apache.ignite.ml.composition.predictionsaggregator.WeightedPredictionsAggregator;
+import org.apache.ignite.ml.dataset.Dataset;
+import org.apache.ignite.ml.dataset.DatasetBuilder;
+import org.apache.ignite.ml.dataset.primitive.builder.context.EmptyContextBuilder;
+import org.apache.ignite.ml.dataset.primitive.context.EmptyContext;
+import org.apache.ignite.ml.environment.LearningEnvironment;
+import org.apache.ignite.ml.environment.logging.MLLogger;
+import org.apache.ignite.ml.math.functions.IgniteFunction;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.preprocessing.Preprocessor;
+import org.apache.ignite.ml.tree.DecisionTreeConditionalNode;
+import org.apache.ignite.ml.tree.DecisionTreeLeafNode;
+import org.apache.ignite.ml.tree.DecisionTreeNode;
+import org.apache.ignite.ml.tree.boosting.histogram.BinnedTreeData;
+import org.apache.ignite.ml.tree.boosting.histogram.BinnedTreeDataBuilder;
+import org.apache.ignite.ml.tree.boosting.histogram.FeatureBins;
+
+/**
+ * Histogram-based gradient boosting on trees learning strategy.
+ * <p>
+ * Features are quantized into bins once, before the first iteration, and answers of the composition are cached in
+ * partitions, so an iteration never predicts the whole composition. Trees are grown leaf-wise: the leaf with the
+ * best split gain is split first until the max number of leaves is reached. Split gains are found on histograms of
+ * sums of gradients and hessians per bin of every feature, which are built in partitions and are summed up by
+ * the dataset compute API. When a leaf is split, histograms are built only for its smaller child, histograms of
+ * the larger child are computed as difference of histograms of the leaf and the smaller child.
+ */
+public class GDBOnHistogramTreesLearningStrategy extends GDBLearningStrategy {
+    /** Max number of bins per feature. */
+    private final int maxBins;
+
+    /** Max depth. */
+    private final int maxDepth;
+
+    /** Max number of leaves. */
+    private final int maxLeaves;
+
+    /** Min decrease of sum of squared residuals required to split a leaf. */
+    private final double minImpurityDecrease;
+
+    /**
+     * Create an instance of learning strategy.
+     *
+     * @param maxBins Max number of bins per feature.
+     * @param maxDepth Max depth.
+     * @param maxLeaves Max number of leaves.
+     * @param minImpurityDecrease Min decrease of sum of squared residuals required to split a leaf.
+     */
+    public GDBOnHistogramTreesLearningStrategy(int maxBins, int maxDepth, int maxLeaves, double minImpurityDecrease) {
+        this.maxBins = maxBins;
+        this.maxDepth = maxDepth;
+        this.maxLeaves = maxLeaves;
+        this.minImpurityDecrease = minImpurityDecrease;
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> List<IgniteModel<Vector, Double>> update(GDBTrainer.GDBModel mdlToUpdate,
+        DatasetBuilder<K, V> datasetBuilder, Preprocessor<K, V> vectorizer) {
+
+        LearningEnvironment environment = envBuilder.buildForTrainer();
+        environment.initDeployingContext(vectorizer);
+
+        List<IgniteModel<Vector, Double>> models = initLearningState(mdlToUpdate);
+
+        ConvergenceChecker<K, V> convCheck = checkConvergenceStgyFactory.create(sampleSize,
+            externalLbToInternalMapping, loss, datasetBuilder, vectorizer);
+
+        ModelsComposition initComposition = new ModelsComposition(new ArrayList<>(models),
+            new WeightedPredictionsAggregator(Arrays.copyOf(compositionWeights, models.size()), meanLbVal));
+
+        IgniteFunction<Double, Double> lbMapping = externalLbToInternalMapping;
+        Loss loss = this.loss;
+        long sampleSize = this.sampleSize;
+        int maxBins = this.maxBins;
+
+        try (Dataset<EmptyContext, BinnedTreeData> dataset = datasetBuilder.build(
+            envBuilder,
+            new EmptyContextBuilder<>(),
+            new BinnedTreeDataBuilder<>(vectorizer),
+            environment
+        )) {
+            FeatureBins.Sample sample = dataset.compute(
+                part -> FeatureBins.sample(part.getFeatures(), maxBins),
+                FeatureBins.Sample::merge
+            );
+
+            if (sample == null)
+                return models;
+
+            FeatureBins bins = FeatureBins.fromSample(sample, maxBins);
+
+            dataset.compute(part -> part.initialize(bins, initComposition, lbMapping));
+
+            for (int i = 0; i < cntOfIterations; i++) {
+                dataset.compute(part -> part.computeResiduals(loss, sampleSize));
+
+                if (convCheck.isConverged(dataset, BinnedTreeData::getResiduals))
+                    break;
+
+                long startTs = System.currentTimeMillis();
+                models.add(fitTree(dataset, bins, compositionWeights[models.size()]));
+                double learningTime = (double)(System.currentTimeMillis() - startTs) / 1000.0;
+                trainerEnvironment.logger(getClass()).log(MLLogger.VerboseLevel.LOW,
+                    "One model training time was %.2fs", learningTime);
+            }
+        }
+        catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        compositionWeights = Arrays.copyOf(compositionWeights, models.size());
+        return models;
+    }
+
+    /**
+     * Grows a tree on pseudo-residuals of the current iteration and adds its weighted answers to cached answers of
+     * the composition.
+     *
+     * @param dataset Dataset.
+     * @param bins Feature bins.
+     * @param weight Weight of the tree in the composition.
+     * @return Tree.
+     */
+    private DecisionTreeNode fitTree(Dataset<EmptyContext, BinnedTreeData> dataset, FeatureBins bins, double weight) {
+        List<TreeNode> nodes = new ArrayList<>();
+
+        TreeNode root = new TreeNode(0, 0, dataset.compute(
+            part -> part.startTree(bins, 0),
+            GDBOnHistogramTreesLearningStrategy::sum
+        ));
+
+        nodes.add(root);
+
+        PriorityQueue<TreeNode> queue = new PriorityQueue<>((a, b) -> Double.compare(b.gain, a.gain));
+
+        offer(queue, root, bins);
+
+        int leaves = 1;
+
+        while (!queue.isEmpty() && leaves < maxLeaves) {
+            TreeNode node = queue.poll();
+
+            TreeNode left = new TreeNode(nodes.size(), node.depth + 1);
+            nodes.add(left);
+
+            TreeNode right = new TreeNode(nodes.size(), node.depth + 1);
+            nodes.add(right);
+
+            boolean buildLeft = node.leftHess <= node.hess - node.leftHess;
+
+            int nodeId = node.id;
+            int leftId = left.id;
+            int rightId = right.id;
+            int f = node.feature;
+            int splitBin = node.splitBin;
+
+            double[][] smallerHist = dataset.compute(
+                part -> part.split(bins, nodeId, f, splitBin, leftId, rightId, buildLeft),
+                GDBOnHistogramTreesLearningStrategy::sum
+            );
+
+            double[][] largerHist = subtract(node.hist, smallerHist);
+
+            left.setHistograms(buildLeft ? smallerHist : largerHist);
+            right.setHistograms(buildLeft ? largerHist : smallerHist);
+
+            node.hist = null;
+            node.left = left;
+            node.right = right;
+
+            leaves++;
+
+            offer(queue, left, bins);
+            offer(queue, right, bins);
+        }
+
+        double[] leafVals = new double[nodes.size()];
+
+        for (TreeNode node : nodes) {
+            if (node.left == null)
+                leafVals[node.id] = weight * node.value();
+        }
+
+        dataset.compute(part -> part.updatePredictions(leafVals));
+
+        return toDecisionTree(root, bins);
+    }
+
+    /**
+     * Finds the best split of a leaf by its histograms and adds the leaf to the queue of leaves to split if the split
+     * is good enough.
+     *
+     * @param queue Queue of leaves to split.
+     * @param node Leaf.
+     * @param bins Feature bins.
+     */
+    private void offer(PriorityQueue<TreeNode> queue, TreeNode node, FeatureBins bins) {
+        if (node.hist == null || node.depth >= maxDepth) {
+            node.hist = null;
+
+            return;
+        }
+
+        double parentScore = node.grad * node.grad / node.hess;
+
+        for (int f = 0; f < node.hist.length; f++) {
+            double[] hist = node.hist[f];
+
+            double leftGrad = 0;
+            double leftHess = 0;
+
+            for (int bin = 0; bin < bins.binsCount(f) - 1; bin++) {
+                leftGrad += hist[2 * bin];
+                leftHess += hist[2 * bin + 1];
+
+                double rightHess = node.hess - leftHess;
+
+                if (leftHess < 1 || rightHess < 1)
+                    continue;
+
+                double rightGrad = node.grad - leftGrad;
+
+                double gain = leftGrad * leftGrad / leftHess + rightGrad * rightGrad / rightHess - parentScore;
+
+                if (gain > node.gain) {
+                    node.gain = gain;
+                    node.feature = f;
+                    node.splitBin = bin;
+                    node.leftHess = leftHess;
+                }
+            }
+        }
+
+        if (node.feature >= 0 && node.gain > minImpurityDecrease)
+            queue.add(node);
+        else
+            node.hist = null;
+    }
+
+    /**
+     * @param node Node of the tree being built.
+     * @param bins Feature bins.
+     * @return Decision tree node.
+     */
+    private DecisionTreeNode toDecisionTree(TreeNode node, FeatureBins bins) {
+        if (node.left == null)
+            return new DecisionTreeLeafNode(node.value());
+
+        DecisionTreeNode thenNode = toDecisionTree(node.right, bins);
+
+        // Missing values fall into the last bin, that is into the right child.
+        return new DecisionTreeConditionalNode(node.feature, bins.threshold(node.feature, node.splitBin), thenNode,
+            toDecisionTree(node.left, bins), thenNode);
+    }
+
+    /**
+     * Sums histograms of partitions.
+     *
+     * @param left Left histograms.
+     * @param right Right histograms.
+     * @return Sum of histograms.
+     */
+    private static double[][] sum(double[][] left, double[][] right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+
+        for (int f = 0; f < left.length; f++) {
+            for (int i = 0; i < left[f].length; i++)
+                left[f][i] += right[f][i];
+        }
+
+        return left;
+    }
+
+    /**
+     * Subtracts histograms of a child from histograms of its parent.
+     *
+     * @param parent Histograms of parent.
+     * @param child Histograms of child.
+     * @return Histograms of sibling of the child.
+     */
+    private static double[][] subtract(double[][] parent, double[][] child) {
+        double[][] res = new double[parent.length][];
+
+        for (int f = 0; f < parent.length; f++) {
+            res[f] = new double[parent[f].length];
+
+            for (int i = 0; i < res[f].length; i++)
+                res[f][i] = parent[f][i] - child[f][i];
+        }
+
+        return res;
+    }
+
+    /**
+     * Node of the tree being built.
+     */
+    private static class TreeNode {
+        /** Node ID. */
+        private final int id;
+
+        /** Depth. */
+        private final int depth;
+
+        /** Histograms of the leaf, {@code null} if the leaf is not going to be split. */
+        private double[][] hist;
+
+        /** Sum of pseudo-residuals, that is negative gradients. */
+        private double grad;
+
+        /** Sum of hessians. */
+        private double hess;
+
+        /** Gain of the best split. */
+        private double gain;
+
+        /** Feature of the best split. */
+        private int feature = -1;
+
+        /** Bin of the best split. */
+        private int splitBin;
+
+        /** Sum of hessians of the left child of the best split. */
+        private double leftHess;
+
+        /** Left child. */
+        private TreeNode left;
+
+        /** Right child. */
+        private TreeNode right;
+
+        /**
+         * @param id Node ID.
+         * @param depth Depth.
+         */
+        TreeNode(int id, int depth) {
+            this.id = id;
+            this.depth = depth;
+        }
+
+        /**
+         * @param id Node ID.
+         * @param depth Depth.
+         * @param hist Histograms.
+         */
+        TreeNode(int id, int depth, double[][] hist) {
+            this(id, depth);
+
+            setHistograms(hist);
+        }
+
+        /**
+         * @param hist Histograms.
+         */
+        void setHistograms(double[][] hist) {
+            this.hist = hist;
+
+            if (hist == null || hist.length == 0)
+                return;
+
+            for (int i = 0; i < hist[0].length; i += 2) {
+                grad += hist[0][i];
+                hess += hist[0][i + 1];
+            }
+        }
+
+        /**
+         * @return Value of the leaf minimizing loss with respect to sums of gradients and hessians.
+         */
+        double value() {
+            return hess > 0 ? grad / hess : 0;
+        }
+    }
+}
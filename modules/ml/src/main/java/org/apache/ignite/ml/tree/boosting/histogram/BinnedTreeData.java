@@ -0,0 +1,284 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.tree.boosting.histogram;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.ignite.ml.IgniteModel;
+import org.apache.ignite.ml.composition.boosting.loss.Loss;
+import org.apache.ignite.ml.math.functions.IgniteFunction;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
+
+/**
+ * A partition {@code data} of histogram-based gradient boosting on trees. Features are quantized into bins once
+ * and stored column-wise as {@code byte} or {@code short} bin indexes, raw features are dropped after that. Answers
+ * of the composition are cached per row and are updated by every new tree, so pseudo-residuals of the next iteration
+ * are computed without predicting the whole composition again.
+ * <p>
+ * While a tree is built, rows are kept grouped by leaves of the tree in a permutation of row indexes, so a histogram
+ * of a leaf is built by a pass over rows of this leaf only.
+ */
+public class BinnedTreeData implements AutoCloseable {
+    /** Feature matrix, {@code null} after quantization. */
+    private double[][] features;
+
+    /** Labels. */
+    private final double[] labels;
+
+    /** Bins of features per column if number of bins fits {@code byte}. */
+    private byte[][] byteBins;
+
+    /** Bins of features per column if number of bins doesn't fit {@code byte}. */
+    private short[][] shortBins;
+
+    /** Cached answers of the composition. */
+    private final double[] preds;
+
+    /** Pseudo-residuals (negative gradients of loss) of the current iteration. */
+    private final double[] residuals;
+
+    /** Row indexes grouped by leaves of the tree being built. */
+    private final int[] rows;
+
+    /** Ranges of row indexes of leaves of the tree being built. */
+    private final Map<Integer, int[]> leafRanges = new HashMap<>();
+
+    /**
+     * Constructs a new instance of binned tree data.
+     *
+     * @param features Feature matrix.
+     * @param labels Labels.
+     */
+    public BinnedTreeData(double[][] features, double[] labels) {
+        this.features = features;
+        this.labels = labels;
+
+        preds = new double[labels.length];
+        residuals = new double[labels.length];
+        rows = new int[labels.length];
+    }
+
+    /**
+     * Caches answers of already learned models, maps labels to internal representation and quantizes features.
+     *
+     * @param bins Feature bins.
+     * @param mdl Already learned models.
+     * @param externalLbToInternal External label to internal mapping.
+     */
+    public void initialize(FeatureBins bins, IgniteModel<Vector, Double> mdl,
+        IgniteFunction<Double, Double> externalLbToInternal) {
+        int size = size();
+
+        for (int i = 0; i < size; i++) {
+            preds[i] = mdl.predict(VectorUtils.of(features[i]));
+            labels[i] = externalLbToInternal.apply(labels[i]);
+        }
+
+        int cols = bins.featuresCount();
+
+        if (bins.maxBinsCount() <= 1 << Byte.SIZE)
+            byteBins = new byte[cols][size];
+        else
+            shortBins = new short[cols][size];
+
+        for (int f = 0; f < cols; f++) {
+            for (int i = 0; i < size; i++) {
+                int bin = bins.bin(f, features[i][f]);
+
+                if (byteBins != null)
+                    byteBins[f][i] = (byte)bin;
+                else
+                    shortBins[f][i] = (short)bin;
+            }
+        }
+
+        features = null;
+    }
+
+    /**
+     * Computes pseudo-residuals of rows for cached answers of the composition.
+     *
+     * @param loss Loss function.
+     * @param sampleSize Sample size.
+     */
+    public void computeResiduals(Loss loss, long sampleSize) {
+        for (int i = 0; i < residuals.length; i++)
+            residuals[i] = -loss.gradient(sampleSize, labels[i], preds[i]);
+    }
+
+    /**
+     * Starts a new tree, all rows belong to its root.
+     *
+     * @param bins Feature bins.
+     * @param rootId Root node ID.
+     * @return Histograms of the root or {@code null} if partition is empty.
+     */
+    public double[][] startTree(FeatureBins bins, int rootId) {
+        leafRanges.clear();
+
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = i;
+
+        leafRanges.put(rootId, new int[] {0, rows.length});
+
+        return histograms(bins, 0, rows.length);
+    }
+
+    /**
+     * Splits rows of a leaf by bin of a feature, rows with bins not greater than the split bin go to the left child.
+     *
+     * @param bins Feature bins.
+     * @param nodeId Leaf node ID.
+     * @param f Feature index.
+     * @param splitBin Split bin.
+     * @param leftId Left child ID.
+     * @param rightId Right child ID.
+     * @param buildLeft Whether histograms are built for the left child or for the right one.
+     * @return Histograms of the child or {@code null} if partition is empty.
+     */
+    public double[][] split(FeatureBins bins, int nodeId, int f, int splitBin, int leftId, int rightId,
+        boolean buildLeft) {
+        int[] range = leafRanges.remove(nodeId);
+
+        if (range == null)
+            return null;
+
+        int from = range[0];
+        int to = range[1];
+
+        int i = from;
+        int j = to - 1;
+
+        while (i <= j) {
+            if (bin(f, rows[i]) <= splitBin)
+                i++;
+            else {
+                int tmp = rows[i];
+
+                rows[i] = rows[j];
+                rows[j--] = tmp;
+            }
+        }
+
+        leafRanges.put(leftId, new int[] {from, i});
+        leafRanges.put(rightId, new int[] {i, to});
+
+        return buildLeft ? histograms(bins, from, i) : histograms(bins, i, to);
+    }
+
+    /**
+     * Adds values of leaves of the built tree to cached answers of the composition.
+     *
+     * @param leafVals Weighted values of leaves by node ID.
+     */
+    public void updatePredictions(double[] leafVals) {
+        for (Map.Entry<Integer, int[]> e : leafRanges.entrySet()) {
+            double val = leafVals[e.getKey()];
+            int[] range = e.getValue();
+
+            for (int i = range[0]; i < range[1]; i++)
+                preds[rows[i]] += val;
+        }
+
+        leafRanges.clear();
+    }
+
+    /**
+     * Builds histograms of sums of gradients and hessians per bin of every feature. A histogram of a feature holds
+     * the sum of pseudo-residuals of rows of a bin at index {@code 2 * bin} and the sum of hessians at index
+     * {@code 2 * bin + 1}. Loss functions provide only the first derivative, so the hessian is taken constant and
+     * equal to one, that is the sum of hessians is the number of rows.
+     *
+     * @param bins Feature bins.
+     * @param from Start of range of row indexes (inclusive).
+     * @param to End of range of row indexes (exclusive).
+     * @return Histograms or {@code null} if partition is empty.
+     */
+    private double[][] histograms(FeatureBins bins, int from, int to) {
+        if (rows.length == 0)
+            return null;
+
+        double[][] res = new double[bins.featuresCount()][];
+
+        for (int f = 0; f < res.length; f++) {
+            double[] hist = new double[2 * bins.binsCount(f)];
+
+            if (byteBins != null) {
+                byte[] col = byteBins[f];
+
+                for (int i = from; i < to; i++) {
+                    int row = rows[i];
+                    int bin = (col[row] & 0xFF) << 1;
+
+                    hist[bin] += residuals[row];
+                    hist[bin + 1] += 1;
+                }
+            }
+            else {
+                short[] col = shortBins[f];
+
+                for (int i = from; i < to; i++) {
+                    int row = rows[i];
+                    int bin = (col[row] & 0xFFFF) << 1;
+
+                    hist[bin] += residuals[row];
+                    hist[bin + 1] += 1;
+                }
+            }
+
+            res[f] = hist;
+        }
+
+        return res;
+    }
+
+    /**
+     * @param f Feature index.
+     * @param row Row index.
+     * @return Bin of the feature value of the row.
+     */
+    private int bin(int f, int row) {
+        return byteBins != null ? byteBins[f][row] & 0xFF : shortBins[f][row] & 0xFFFF;
+    }
+
+    /** */
+    public double[][] getFeatures() {
+        return features;
+    }
+
+    /** */
+    public double[] getLabels() {
+        return labels;
+    }
+
+    /** */
+    public double[] getResiduals() {
+        return residuals;
+    }
+
+    /** */
+    public int size() {
+        return labels.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        // Do nothing, GC will clean up.
+    }
+}
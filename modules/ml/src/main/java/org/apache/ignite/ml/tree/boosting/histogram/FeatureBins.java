@@ -0,0 +1,257 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.tree.boosting.histogram;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Bins of feature values used by histogram-based gradient boosting on trees. Every feature has its own sorted array
+ * of thresholds {@code t}, a value {@code x} falls into the bin {@code i} if {@code t[i - 1] < x <= t[i]}, values
+ * greater than all thresholds fall into the last bin. Thresholds are chosen as approximate quantiles of feature
+ * values, so bins contain close numbers of rows.
+ */
+public class FeatureBins implements Serializable {
+    /** Serial version uid. */
+    private static final long serialVersionUID = -2356385712938847114L;
+
+    /** Number of values of a feature sampled from a partition per bin. */
+    private static final int SAMPLES_PER_BIN = 4;
+
+    /** Thresholds of bins per feature. */
+    private final double[][] thresholds;
+
+    /**
+     * Constructs a new instance of feature bins.
+     *
+     * @param thresholds Sorted thresholds of bins per feature.
+     */
+    public FeatureBins(double[][] thresholds) {
+        this.thresholds = thresholds;
+    }
+
+    /**
+     * Finds bins of features on sample of feature values collected from all partitions.
+     *
+     * @param sample Sample of feature values.
+     * @param maxBins Max number of bins per feature.
+     * @return Feature bins.
+     */
+    public static FeatureBins fromSample(Sample sample, int maxBins) {
+        double[][] thresholds = new double[sample.vals.length][];
+
+        for (int f = 0; f < thresholds.length; f++)
+            thresholds[f] = quantiles(sample.vals[f], sample.weights[f], maxBins);
+
+        return new FeatureBins(thresholds);
+    }
+
+    /**
+     * Collects sample of feature values of partition. Values are taken evenly from sorted values of every feature and
+     * are weighted by number of rows they stand for, so samples of partitions of different sizes can be merged.
+     *
+     * @param features Feature matrix of partition.
+     * @param maxBins Max number of bins per feature.
+     * @return Sample of feature values or {@code null} if partition is empty.
+     */
+    public static Sample sample(double[][] features, int maxBins) {
+        if (features == null || features.length == 0)
+            return null;
+
+        int rows = features.length;
+        int cols = features[0].length;
+        int size = Math.min(rows, maxBins * SAMPLES_PER_BIN);
+
+        double[][] vals = new double[cols][size];
+        double[][] weights = new double[cols][size];
+
+        double[] col = new double[rows];
+
+        for (int f = 0; f < cols; f++) {
+            for (int i = 0; i < rows; i++)
+                col[i] = features[i][f];
+
+            Arrays.sort(col);
+
+            for (int i = 0; i < size; i++) {
+                vals[f][i] = col[(int)((i + 0.5) * rows / size)];
+                weights[f][i] = (double)rows / size;
+            }
+        }
+
+        return new Sample(vals, weights);
+    }
+
+    /**
+     * Chooses thresholds of bins as weighted quantiles of values.
+     *
+     * @param vals Values.
+     * @param weights Weights of values.
+     * @param maxBins Max number of bins.
+     * @return Sorted distinct thresholds.
+     */
+    private static double[] quantiles(double[] vals, double[] weights, int maxBins) {
+        Integer[] order = new Integer[vals.length];
+
+        for (int i = 0; i < order.length; i++)
+            order[i] = i;
+
+        Arrays.sort(order, (a, b) -> Double.compare(vals[a], vals[b]));
+
+        double total = 0;
+
+        for (double w : weights)
+            total += w;
+
+        double max = vals.length == 0 ? Double.NaN : vals[order[order.length - 1]];
+
+        double[] res = new double[maxBins - 1];
+        int cnt = 0;
+
+        double cum = 0;
+        int nextBin = 1;
+
+        for (int i = 0; i < order.length && nextBin < maxBins; i++) {
+            double val = vals[order[i]];
+
+            cum += weights[order[i]];
+
+            if (cum < total * nextBin / maxBins || Double.isNaN(val) || val == max)
+                continue;
+
+            if (cnt == 0 || val > res[cnt - 1])
+                res[cnt++] = val;
+
+            while (nextBin < maxBins && cum >= total * nextBin / maxBins)
+                nextBin++;
+        }
+
+        return Arrays.copyOf(res, cnt);
+    }
+
+    /**
+     * @return Number of features.
+     */
+    public int featuresCount() {
+        return thresholds.length;
+    }
+
+    /**
+     * @param f Feature index.
+     * @return Number of bins of the feature.
+     */
+    public int binsCount(int f) {
+        return thresholds[f].length + 1;
+    }
+
+    /**
+     * @return Max number of bins among features.
+     */
+    public int maxBinsCount() {
+        int res = 1;
+
+        for (int f = 0; f < thresholds.length; f++)
+            res = Math.max(res, binsCount(f));
+
+        return res;
+    }
+
+    /**
+     * Finds bin of feature value. Missing values fall into the last bin.
+     *
+     * @param f Feature index.
+     * @param val Feature value.
+     * @return Bin index.
+     */
+    public int bin(int f, double val) {
+        int idx = Arrays.binarySearch(thresholds[f], val);
+
+        return idx >= 0 ? idx : -idx - 1;
+    }
+
+    /**
+     * @param f Feature index.
+     * @param bin Bin index.
+     * @return Max feature value of the bin.
+     */
+    public double threshold(int f, int bin) {
+        return thresholds[f][bin];
+    }
+
+    /**
+     * Weighted sample of feature values.
+     */
+    public static class Sample implements Serializable {
+        /** Serial version uid. */
+        private static final long serialVersionUID = 5148297450138466517L;
+
+        /** Values per feature. */
+        private final double[][] vals;
+
+        /** Weights of values per feature. */
+        private final double[][] weights;
+
+        /**
+         * Constructs a new instance of sample.
+         *
+         * @param vals Values per feature.
+         * @param weights Weights of values per feature.
+         */
+        public Sample(double[][] vals, double[][] weights) {
+            this.vals = vals;
+            this.weights = weights;
+        }
+
+        /**
+         * Merges samples of partitions.
+         *
+         * @param left Left sample.
+         * @param right Right sample.
+         * @return Merged sample.
+         */
+        public static Sample merge(Sample left, Sample right) {
+            if (left == null)
+                return right;
+            if (right == null)
+                return left;
+
+            double[][] vals = new double[left.vals.length][];
+            double[][] weights = new double[left.vals.length][];
+
+            for (int f = 0; f < vals.length; f++) {
+                vals[f] = concat(left.vals[f], right.vals[f]);
+                weights[f] = concat(left.weights[f], right.weights[f]);
+            }
+
+            return new Sample(vals, weights);
+        }
+
+        /**
+         * @param a First array.
+         * @param b Second array.
+         * @return Concatenation of arrays.
+         */
+        private static double[] concat(double[] a, double[] b) {
+            double[] res = Arrays.copyOf(a, a.length + b.length);
+
+            System.arraycopy(b, 0, res, a.length, b.length);
+
+            return res;
+        }
+    }
+}
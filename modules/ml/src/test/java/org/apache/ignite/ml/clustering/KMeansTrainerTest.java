@@ -18,13 +18,17 @@ package org.apache.ignite.ml.clustering;
 
 import java.util.HashMap;
 import java.util.Map;
+import org.apache.ignite.ml.clustering.kmeans.KMeansInitMethod;
 import org.apache.ignite.ml.clustering.kmeans.KMeansModel;
 import org.apache.ignite.ml.clustering.kmeans.KMeansTrainer;
 import org.apache.ignite.ml.common.TrainerTest;
 import org.apache.ignite.ml.dataset.feature.extractor.Vectorizer;
 import org.apache.ignite.ml.dataset.feature.extractor.impl.DoubleArrayVectorizer;
 import org.apache.ignite.ml.dataset.impl.local.LocalDatasetBuilder;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
+import org.apache.ignite.ml.math.distances.DistanceMeasure;
 import org.apache.ignite.ml.math.distances.EuclideanDistance;
+import org.apache.ignite.ml.math.distances.ManhattanDistance;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
 import org.apache.ignite.ml.math.primitives.vector.impl.DenseVector;
 import org.jetbrains.annotations.NotNull;
@@ -99,6 +103,87 @@ public class KMeansTrainerTest extends TrainerTest {
         assertEquals(originalMdl.predict(secondVector), updatedMdlOnEmptyDataset.predict(secondVector), PRECISION);
     }
 
+    /** */
+    @Test
+    public void testMiniBatch() {
+        KMeansTrainer trainer = new KMeansTrainer()
+            .withAmountOfClusters(2)
+            .withMaxIterations(50)
+            .withBatchSize(3)
+            .withInitMethod(KMeansInitMethod.K_MEANS_PARALLEL);
+
+        assertEquals(3, trainer.getBatchSize());
+
+        checkTwoClusters(trainer.fit(
+            new LocalDatasetBuilder<>(data, parts),
+            new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+        ));
+    }
+
+    /** */
+    @Test
+    public void testKMeansParallelInit() {
+        for (DistanceMeasure distance : new DistanceMeasure[] {new EuclideanDistance(), new ManhattanDistance()}) {
+            KMeansTrainer trainer = new KMeansTrainer()
+                .withDistance(distance)
+                .withAmountOfClusters(2)
+                .withInitMethod(KMeansInitMethod.K_MEANS_PARALLEL)
+                .withInitRounds(3);
+
+            assertEquals(KMeansInitMethod.K_MEANS_PARALLEL, trainer.getInitMethod());
+            assertEquals(3, trainer.getInitRounds());
+
+            KMeansModel mdl = trainer.fit(
+                new LocalDatasetBuilder<>(data, parts),
+                new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+            );
+
+            checkTwoClusters(mdl);
+
+            // Centers are means of the clusters.
+            for (Vector center : mdl.getCenters())
+                assertEquals(4.0 / 3, Math.abs(center.get(0)), PRECISION);
+        }
+    }
+
+    /** */
+    @Test
+    public void testOffHeapFeatureStorage() {
+        for (FeatureStorageMode mode : new FeatureStorageMode[] {FeatureStorageMode.OFF_HEAP,
+            FeatureStorageMode.OFF_HEAP_FLOAT}) {
+            KMeansTrainer trainer = new KMeansTrainer()
+                .withAmountOfClusters(2)
+                .withMaxIterations(50)
+                .withInitMethod(KMeansInitMethod.K_MEANS_PARALLEL)
+                .withFeatureStorageMode(mode);
+
+            assertEquals(mode, trainer.getFeatureStorageMode());
+
+            checkTwoClusters(trainer.fit(
+                new LocalDatasetBuilder<>(data, parts),
+                new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+            ));
+        }
+    }
+
+    /**
+     * Checks that points of each group of the data are assigned to their own cluster.
+     *
+     * @param mdl Model.
+     */
+    private void checkTwoClusters(KMeansModel mdl) {
+        double first = mdl.predict(new DenseVector(new double[] {1.5, 1.5}));
+        double second = mdl.predict(new DenseVector(new double[] {-1.5, -1.5}));
+
+        assertTrue(first != second);
+
+        for (double[] pnt : data.values()) {
+            Vector features = new DenseVector(new double[] {pnt[0], pnt[1]});
+
+            assertEquals(pnt[0] > 0 ? first : second, mdl.predict(features), 0.0);
+        }
+    }
+
     /** */
     @NotNull private KMeansTrainer createAndCheckTrainer() {
         KMeansTrainer trainer = new KMeansTrainer()
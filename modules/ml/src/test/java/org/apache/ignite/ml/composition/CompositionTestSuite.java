@@ -17,6 +17,7 @@
 package org.apache.ignite.ml.composition;
 
 import org.apache.ignite.ml.composition.bagging.BaggingTest;
+import org.apache.ignite.ml.composition.boosting.GDBOnHistogramTreesTrainerTest;
 import org.apache.ignite.ml.composition.boosting.GDBTrainerTest;
 import org.apache.ignite.ml.composition.predictionsaggregator.MeanValuePredictionsAggregatorTest;
 import org.apache.ignite.ml.composition.predictionsaggregator.OnMajorityPredictionsAggregatorTest;
@@ -30,6 +31,7 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
     GDBTrainerTest.class,
+    GDBOnHistogramTreesTrainerTest.class,
     MeanValuePredictionsAggregatorTest.class,
     OnMajorityPredictionsAggregatorTest.class,
     BaggingTest.class,
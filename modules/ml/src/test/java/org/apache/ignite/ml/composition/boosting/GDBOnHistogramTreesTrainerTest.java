@@ -0,0 +1,231 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.ml.composition.boosting;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.ignite.ml.IgniteModel;
+import org.apache.ignite.ml.common.TrainerTest;
+import org.apache.ignite.ml.composition.ModelsComposition;
+import org.apache.ignite.ml.composition.boosting.convergence.mean.MeanAbsValueConvergenceCheckerFactory;
+import org.apache.ignite.ml.composition.boosting.convergence.simple.ConvergenceCheckerStubFactory;
+import org.apache.ignite.ml.dataset.feature.extractor.Vectorizer;
+import org.apache.ignite.ml.dataset.feature.extractor.impl.DoubleArrayVectorizer;
+import org.apache.ignite.ml.dataset.impl.local.LocalDatasetBuilder;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
+import org.apache.ignite.ml.tree.DecisionTreeConditionalNode;
+import org.apache.ignite.ml.tree.DecisionTreeLeafNode;
+import org.apache.ignite.ml.tree.boosting.GDBBinaryClassifierOnHistogramTreesTrainer;
+import org.apache.ignite.ml.tree.boosting.GDBRegressionOnHistogramTreesTrainer;
+import org.apache.ignite.ml.tree.boosting.histogram.FeatureBins;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for histogram-based gradient boosting on trees.
+ */
+public class GDBOnHistogramTreesTrainerTest extends TrainerTest {
+    /** */
+    @Test
+    public void testFitRegression() {
+        Map<Integer, double[]> learningSample = regressionSample(100);
+
+        GDBTrainer trainer = new GDBRegressionOnHistogramTreesTrainer(1.0, 400, 3, 0.0)
+            .withCheckConvergenceStgyFactory(new ConvergenceCheckerStubFactory());
+
+        ModelsComposition mdl = trainer.fit(
+            new LocalDatasetBuilder<>(learningSample, parts),
+            new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+        );
+
+        assertEquals(0.0, mse(mdl, learningSample), 0.0001);
+
+        mdl.getModels().forEach(m -> assertTrue(m instanceof DecisionTreeConditionalNode));
+        assertEquals(400, mdl.getModels().size());
+
+        trainer = trainer.withCheckConvergenceStgyFactory(new MeanAbsValueConvergenceCheckerFactory(0.1));
+
+        assertTrue(trainer.fit(
+            new LocalDatasetBuilder<>(learningSample, parts),
+            new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+        ).getModels().size() < 400);
+    }
+
+    /** */
+    @Test
+    public void testFitRegressionWithFewBins() {
+        Map<Integer, double[]> learningSample = regressionSample(200);
+
+        GDBTrainer trainer = new GDBRegressionOnHistogramTreesTrainer(1.0, 400, 5, 0.0)
+            .withMaxBins(16)
+            .withCheckConvergenceStgyFactory(new ConvergenceCheckerStubFactory());
+
+        ModelsComposition mdl = trainer.fit(
+            new LocalDatasetBuilder<>(learningSample, parts),
+            new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+        );
+
+        // Every bin holds about 1/16 of range of labels [-10, 10].
+        double mse = mse(mdl, learningSample);
+
+        assertTrue("mse=" + mse, mse > 0.05 && mse < 0.5);
+    }
+
+    /** */
+    @Test
+    public void testMaxLeaves() {
+        Map<Integer, double[]> learningSample = regressionSample(100);
+
+        GDBTrainer trainer = new GDBRegressionOnHistogramTreesTrainer(1.0, 10, 10, 0.0)
+            .withMaxLeaves(2)
+            .withCheckConvergenceStgyFactory(new ConvergenceCheckerStubFactory());
+
+        ModelsComposition mdl = trainer.fit(
+            new LocalDatasetBuilder<>(learningSample, parts),
+            new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+        );
+
+        assertEquals(10, mdl.getModels().size());
+
+        for (IgniteModel<Vector, Double> m : mdl.getModels()) {
+            DecisionTreeConditionalNode node = (DecisionTreeConditionalNode)m;
+
+            assertTrue(node.getThenNode() instanceof DecisionTreeLeafNode);
+            assertTrue(node.getElseNode() instanceof DecisionTreeLeafNode);
+        }
+    }
+
+    /** */
+    @Test
+    public void testFitClassifier() {
+        int sampleSize = 100;
+
+        Map<Integer, double[]> learningSample = new HashMap<>();
+        for (int i = 0; i < sampleSize; i++)
+            learningSample.put(i, new double[] {i, ((i / 10) % 2) == 0 ? -1.0 : 1.0});
+
+        GDBTrainer trainer = new GDBBinaryClassifierOnHistogramTreesTrainer(0.3, 400, 3, 0.0)
+            .withCheckConvergenceStgyFactory(new MeanAbsValueConvergenceCheckerFactory(0.3));
+
+        ModelsComposition mdl = trainer.fit(
+            new LocalDatasetBuilder<>(learningSample, parts),
+            new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+        );
+
+        int errorsCnt = 0;
+        for (double[] row : learningSample.values()) {
+            if (mdl.predict(VectorUtils.of(row[0])) != row[1])
+                errorsCnt++;
+        }
+
+        assertEquals(0, errorsCnt);
+        assertTrue(mdl.getModels().size() < 400);
+    }
+
+    /** */
+    @Test
+    public void testUpdate() {
+        Map<Integer, double[]> learningSample = regressionSample(100);
+
+        GDBTrainer trainer = new GDBRegressionOnHistogramTreesTrainer(0.5, 5, 2, 0.0)
+            .withCheckConvergenceStgyFactory(new ConvergenceCheckerStubFactory());
+
+        Vectorizer<Integer, double[], Integer, Double> vectorizer = new DoubleArrayVectorizer<Integer>()
+            .labeled(Vectorizer.LabelCoordinate.LAST);
+
+        ModelsComposition originalMdl = trainer.fit(new LocalDatasetBuilder<>(learningSample, parts), vectorizer);
+        ModelsComposition updatedMdl = trainer.update(originalMdl, new LocalDatasetBuilder<>(learningSample, parts),
+            vectorizer);
+
+        assertEquals(5, originalMdl.getModels().size());
+        assertEquals(10, updatedMdl.getModels().size());
+
+        // Trees of update are learned on residuals of the original model answers cached in partitions.
+        assertTrue(mse(updatedMdl, learningSample) < mse(originalMdl, learningSample));
+    }
+
+    /** */
+    @Test
+    public void testFeatureBins() {
+        double[][] features = new double[1000][];
+
+        for (int i = 0; i < features.length; i++)
+            features[i] = new double[] {i, i % 2, 7};
+
+        FeatureBins.Sample sample = FeatureBins.Sample.merge(
+            FeatureBins.sample(Arrays.copyOfRange(features, 0, 300), 10),
+            FeatureBins.sample(Arrays.copyOfRange(features, 300, 1000), 10)
+        );
+
+        FeatureBins bins = FeatureBins.fromSample(sample, 10);
+
+        assertEquals(10, bins.binsCount(0));
+        assertEquals(2, bins.binsCount(1));
+        assertEquals(1, bins.binsCount(2));
+        assertEquals(10, bins.maxBinsCount());
+
+        int[] cnts = new int[bins.binsCount(0)];
+
+        for (double[] row : features)
+            cnts[bins.bin(0, row[0])]++;
+
+        // Bins of weighted quantiles hold close numbers of rows.
+        for (int cnt : cnts)
+            assertTrue("cnt=" + cnt, cnt >= 70 && cnt <= 130);
+
+        assertEquals(0, bins.bin(1, 0));
+        assertEquals(1, bins.bin(1, 1));
+        assertEquals(0.0, bins.threshold(1, 0), 0);
+    }
+
+    /**
+     * @param size Sample size.
+     * @return Sample of {@code y = 2x} on {@code [-5, 5)}.
+     */
+    private static Map<Integer, double[]> regressionSample(int size) {
+        double from = -5.0;
+        double step = 10.0 / size;
+
+        Map<Integer, double[]> learningSample = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            double x = from + step * i;
+
+            learningSample.put(i, new double[] {x, 2 * x});
+        }
+
+        return learningSample;
+    }
+
+    /**
+     * @param mdl Model.
+     * @param sample Sample.
+     * @return Mean squared error of model on sample.
+     */
+    private static double mse(IgniteModel<Vector, Double> mdl, Map<Integer, double[]> sample) {
+        double mse = 0.0;
+
+        for (double[] row : sample.values())
+            mse += Math.pow(row[1] - mdl.predict(VectorUtils.of(row[0])), 2);
+
+        return mse / sample.size();
+    }
+}
@@ -22,7 +22,6 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
-import java.util.concurrent.locks.LockSupport;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteAtomicLong;
 import org.apache.ignite.IgniteCache;
@@ -36,6 +35,7 @@ import org.apache.ignite.ml.TestUtils;
 import org.apache.ignite.ml.dataset.UpstreamEntry;
 import org.apache.ignite.ml.dataset.UpstreamTransformerBuilder;
 import org.apache.ignite.ml.environment.deploy.DeployingContext;
+import org.apache.ignite.testframework.GridTestUtils;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.junit.Test;
 
@@ -147,10 +147,10 @@ public class ComputeUtilsTest extends GridCommonAbstractTest {
     }
 
     /**
-     * Tests {@code getData()} method.
+     * Tests {@code computeWithData()} method.
      */
     @Test
-    public void testGetData() {
+    public void testComputeWithData() {
         ClusterNode node = grid(1).cluster().localNode();
 
         String upstreamCacheName = "CACHE_1_" + UUID.randomUUID();
@@ -172,12 +172,13 @@ public class ComputeUtilsTest extends GridCommonAbstractTest {
         UUID datasetId = UUID.randomUUID();
 
         IgniteAtomicLong cnt = ignite.atomicLong("CNT_" + datasetId, 0, true);
+        IgniteAtomicLong closeCnt = ignite.atomicLong("CLOSE_CNT_" + datasetId, 0, true);
 
         for (int i = 0; i < 10; i++) {
-            Collection<TestPartitionData> data = ComputeUtils.affinityCallWithRetries(
+            Collection<Integer> data = ComputeUtils.affinityCallWithRetries(
                 ignite,
                 Arrays.asList(datasetCacheName, upstreamCacheName),
-                part -> ComputeUtils.<Integer, Integer, Serializable, TestPartitionData>getData(
+                part -> ComputeUtils.<Integer, Integer, Serializable, TestPartitionData, Integer>computeWithData(
                     ignite,
                     upstreamCacheName,
                     (k, v) -> true,
@@ -190,29 +191,40 @@ public class ComputeUtilsTest extends GridCommonAbstractTest {
                         assertEquals(1, upstreamSize);
 
                         UpstreamEntry<Integer, Integer> e = upstream.next();
-                        return new TestPartitionData(e.getKey() + e.getValue());
+                        return new TestPartitionData(e.getKey() + e.getValue()) {
+                            /** */
+                            @Override public void close() {
+                                closeCnt.incrementAndGet();
+                            }
+                        };
                     },
                     TestUtils.testEnvBuilder().buildForWorker(part),
-                    false
+                    false,
+                    d -> d.val
                 ),
                 0,
                 DeployingContext.unitialized()
             );
 
             assertEquals(1, data.size());
-
-            TestPartitionData dataElement = data.iterator().next();
-            assertEquals(84, dataElement.val.intValue());
+            assertEquals(84, data.iterator().next().intValue());
         }
 
         assertEquals(1, cnt.get());
+
+        // Data is kept between computations, but is not used once they are completed, so it's closed on removal.
+        assertEquals(0, closeCnt.get());
+
+        ComputeUtils.removeData(grid(1), datasetId);
+
+        assertEquals(1, closeCnt.get());
     }
 
     /**
-     * Tests {@code getData()} method.
+     * Tests {@code computeWithData()} method with partition data time-to-live.
      */
     @Test
-    public void testGetDataWithTtl() {
+    public void testComputeWithDataWithTtl() throws Exception {
         ClusterNode node = grid(1).cluster().localNode();
 
         String upstreamCacheName = "CACHE_1_" + UUID.randomUUID();
@@ -237,10 +249,10 @@ public class ComputeUtilsTest extends GridCommonAbstractTest {
         IgniteAtomicLong closeCnt = ignite.atomicLong("CLOSE_CNT_" + datasetId, 0, true);
 
         for (int i = 0; i < 10; i++) {
-            Collection<TestPartitionData> data = ComputeUtils.affinityCallWithRetries(
+            Collection<Integer> data = ComputeUtils.affinityCallWithRetries(
                 ignite,
                 Arrays.asList(datasetCacheName, upstreamCacheName),
-                part -> ComputeUtils.<Integer, Integer, Serializable, TestPartitionData>getData(
+                part -> ComputeUtils.<Integer, Integer, Serializable, TestPartitionData, Integer>computeWithData(
                     ignite,
                     upstreamCacheName,
                     (k, v) -> true,
@@ -261,19 +273,21 @@ public class ComputeUtilsTest extends GridCommonAbstractTest {
                         };
                     },
                     TestUtils.testEnvBuilder().withDataTtl(0).buildForWorker(part),
-                    false
+                    false,
+                    d -> d.val
                 ),
                 0,
                 DeployingContext.unitialized()
             );
 
             assertEquals(1, data.size());
+            assertEquals(84, data.iterator().next().intValue());
 
-            TestPartitionData dataElement = data.iterator().next();
-            assertEquals(84, dataElement.val.intValue());
+            long expCloseCnt = i + 1;
 
-            while (closeCnt.get() != (i + 1))
-                LockSupport.parkNanos(1_000_000);
+            // Expired data is closed only if it's released by the computation.
+            assertTrue("Unexpected number of closed data objects: " + closeCnt.get(),
+                GridTestUtils.waitForCondition(() -> closeCnt.get() == expCloseCnt, 10_000));
         }
 
         assertEquals(10, cnt.get());
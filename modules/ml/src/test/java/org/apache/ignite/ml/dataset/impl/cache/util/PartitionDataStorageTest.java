@@ -16,10 +16,14 @@
 
 package org.apache.ignite.ml.dataset.impl.cache.util;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.testframework.GridTestUtils;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Tests for {@link PartitionDataStorage}.
@@ -28,21 +32,61 @@ public class PartitionDataStorageTest {
     /** Data storage. */
     private PartitionDataStorage dataStorage = new PartitionDataStorage(-1);
 
-    /** Tests {@code computeDataIfAbsent()} method. */
+    /** Tests {@code computeWithData()} method. */
     @Test
-    public void testComputeDataIfAbsent() {
+    public void testComputeWithData() {
         AtomicLong cnt = new AtomicLong();
 
         for (int i = 0; i < 10; i++) {
-            Integer res = (Integer) dataStorage.computeDataIfAbsent(0, () -> {
+            Integer res = dataStorage.computeWithData(0, () -> {
                 cnt.incrementAndGet();
 
                 return 42;
-            });
+            }, (Integer x) -> x);
 
             assertEquals(42, res.intValue());
         }
 
         assertEquals(1, cnt.intValue());
     }
+
+    /** Tests that expired partition data is not closed while it's used. */
+    @Test
+    public void testExpiredDataIsNotClosedWhileUsed() throws Exception {
+        AtomicInteger closed = new AtomicInteger();
+
+        try (PartitionDataStorage storage = new PartitionDataStorage(1)) {
+            AutoCloseable data = closed::incrementAndGet;
+
+            storage.computeWithData(0, () -> data, d -> {
+                try {
+                    Thread.sleep(2_000);
+                }
+                catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+
+                assertEquals(0, closed.get());
+
+                return null;
+            });
+
+            assertTrue(GridTestUtils.waitForCondition(() -> closed.get() == 1, 5_000));
+
+            // Expired data is loaded again.
+            AutoCloseable res = storage.computeWithData(0, () -> (AutoCloseable)closed::incrementAndGet, d -> d);
+
+            assertNotSame(data, res);
+        }
+
+        assertEquals(2, closed.get());
+    }
+
+    /** Tests that closed storage can't be used. */
+    @Test(expected = IllegalStateException.class)
+    public void testComputeWithDataOnClosedStorage() {
+        dataStorage.close();
+
+        dataStorage.computeWithData(0, () -> 42, x -> x);
+    }
 }
@@ -17,6 +17,7 @@
 package org.apache.ignite.ml.inference;
 
 import org.apache.ignite.ml.inference.builder.IgniteDistributedModelBuilderTest;
+import org.apache.ignite.ml.inference.builder.IgniteServiceModelBuilderTest;
 import org.apache.ignite.ml.inference.builder.SingleModelBuilderTest;
 import org.apache.ignite.ml.inference.builder.ThreadedModelBuilderTest;
 import org.apache.ignite.ml.inference.storage.model.DefaultModelStorageTest;
@@ -35,6 +36,7 @@ import org.junit.runners.Suite;
     DirectorySerializerTest.class,
     DefaultModelStorageTest.class,
     IgniteDistributedModelBuilderTest.class,
+    IgniteServiceModelBuilderTest.class,
     IgniteModelStorageUtilTest.class,
     ModelStorateThinClientProcessorTest.class
 })
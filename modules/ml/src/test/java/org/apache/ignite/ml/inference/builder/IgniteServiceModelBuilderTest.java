@@ -0,0 +1,151 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.inference.builder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.impl.HistogramMetricImpl;
+import org.apache.ignite.internal.util.IgniteUtils;
+import org.apache.ignite.ml.inference.Model;
+import org.apache.ignite.spi.metric.ReadOnlyMetricRegistry;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.ml.inference.builder.IgniteServiceModelBuilder.INFERENCE_METRICS;
+
+/**
+ * Tests for {@link IgniteServiceModelBuilder} class.
+ */
+public class IgniteServiceModelBuilderTest extends GridCommonAbstractTest {
+    /** Number of nodes in grid */
+    private static final int NODE_COUNT = 3;
+
+    /** Ignite instance. */
+    private IgniteEx ignite;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        for (int i = 1; i <= NODE_COUNT; i++)
+            startGrid(i);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() {
+        ignite = grid(NODE_COUNT);
+
+        IgniteUtils.setCurrentIgniteName(ignite.configuration().getIgniteInstanceName());
+    }
+
+    /** */
+    @Test
+    public void testPredict() throws Exception {
+        checkPredict(new IgniteServiceModelBuilder(ignite, 3, 1));
+    }
+
+    /** */
+    @Test
+    public void testPredictWithBatchWait() throws Exception {
+        checkPredict(new IgniteServiceModelBuilder(ignite, 2, 2).withMaxBatchSize(16).withMaxBatchWait(50));
+    }
+
+    /** */
+    @Test
+    public void testPredictWhenNodeLeaves() throws Exception {
+        startGrid(NODE_COUNT + 1);
+
+        try (Model<Integer, Future<Integer>> infMdl = new IgniteServiceModelBuilder(ignite, NODE_COUNT + 1, 1).build(
+            ModelBuilderTestUtil.getReader(),
+            ModelBuilderTestUtil.getParser()
+        )) {
+            assertEquals(Integer.valueOf(42), infMdl.predict(42).get());
+
+            List<Future<Integer>> futs = new ArrayList<>();
+
+            for (int i = 0; i < 1000; i++)
+                futs.add(infMdl.predict(i));
+
+            stopGrid(NODE_COUNT + 1);
+
+            for (int i = 0; i < 1000; i++)
+                futs.add(infMdl.predict(i));
+
+            for (int i = 0; i < futs.size(); i++)
+                assertEquals(Integer.valueOf(i % 1000), futs.get(i).get(getTestTimeout(), TimeUnit.MILLISECONDS));
+        }
+        finally {
+            stopGrid(NODE_COUNT + 1);
+        }
+    }
+
+    /**
+     * @param mdlBuilder Model builder.
+     * @throws Exception If failed.
+     */
+    private void checkPredict(IgniteServiceModelBuilder mdlBuilder) throws Exception {
+        List<Future<Integer>> futs = new ArrayList<>();
+
+        try (Model<Integer, Future<Integer>> infMdl = mdlBuilder.build(
+            ModelBuilderTestUtil.getReader(),
+            ModelBuilderTestUtil.getParser()
+        )) {
+            for (int i = 0; i < 1000; i++)
+                futs.add(infMdl.predict(i));
+
+            for (int i = 0; i < futs.size(); i++)
+                assertEquals(Integer.valueOf(i), futs.get(i).get());
+
+            ReadOnlyMetricRegistry mreg = metricRegistry();
+
+            assertNotNull(mreg);
+
+            long[] batchSizes = mreg.<HistogramMetricImpl>findMetric("BatchSize").value();
+            long[] latencies = mreg.<HistogramMetricImpl>findMetric("RequestLatency").value();
+
+            long batches = 0;
+
+            for (long cnt : batchSizes)
+                batches += cnt;
+
+            long reqs = 0;
+
+            for (long cnt : latencies)
+                reqs += cnt;
+
+            assertEquals(futs.size(), reqs);
+
+            // Requests sent at once are expected to be batched.
+            assertTrue("Too many batches: " + batches, batches < futs.size());
+        }
+
+        assertNull(metricRegistry());
+    }
+
+    /**
+     * @return Metric registry of the inference model or {@code null} if there is no one.
+     */
+    private ReadOnlyMetricRegistry metricRegistry() {
+        for (ReadOnlyMetricRegistry mreg : ignite.context().metric()) {
+            if (mreg.name().startsWith(INFERENCE_METRICS))
+                return mreg;
+        }
+
+        return null;
+    }
+}
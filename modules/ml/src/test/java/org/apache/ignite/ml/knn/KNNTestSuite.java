@@ -16,8 +16,11 @@
 
 package org.apache.ignite.ml.knn;
 
+import org.apache.ignite.ml.knn.index.HNSWIndexingSpiPersistenceTest;
+import org.apache.ignite.ml.knn.index.HNSWIndexingSpiTest;
 import org.apache.ignite.ml.knn.utils.ArraySpatialIndexTest;
 import org.apache.ignite.ml.knn.utils.BallTreeSpatialIndexTest;
+import org.apache.ignite.ml.knn.utils.HNSWSpatialIndexTest;
 import org.apache.ignite.ml.knn.utils.KDTreeSpatialIndexTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -32,7 +35,10 @@ import org.junit.runners.Suite;
     KNNRegressionTest.class,
     ArraySpatialIndexTest.class,
     BallTreeSpatialIndexTest.class,
-    KDTreeSpatialIndexTest.class
+    KDTreeSpatialIndexTest.class,
+    HNSWSpatialIndexTest.class,
+    HNSWIndexingSpiTest.class,
+    HNSWIndexingSpiPersistenceTest.class
 })
 public class KNNTestSuite {
 }
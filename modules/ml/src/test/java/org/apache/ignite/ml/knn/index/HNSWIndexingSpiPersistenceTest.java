@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.knn.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests that {@link HNSWIndexingSpi} finds entries restored from a persistent storage.
+ */
+public class HNSWIndexingSpiPersistenceTest extends GridCommonAbstractTest {
+    /** Number of nodes in grid. */
+    private static final int NODE_COUNT = 2;
+
+    /** Cache name. */
+    private static final String CACHE_NAME = "vectors";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setIndexingSpi(new HNSWIndexingSpi().setCacheNames(CACHE_NAME))
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRestart() throws Exception {
+        IgniteEx ignite = startGrids(NODE_COUNT);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, double[]> cache = ignite.createCache(new CacheConfiguration<Integer, double[]>(CACHE_NAME)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 8)));
+
+        for (int i = 0; i < 200; i++)
+            cache.put(i, new double[] {i, 0});
+
+        stopAllGrids();
+
+        ignite = startGrids(NODE_COUNT);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        cache = ignite.cache(CACHE_NAME);
+
+        assertEquals(Arrays.asList(50, 51, 49, 52, 48), closest(cache, 50.2, 5));
+        assertEquals(Arrays.asList(199, 198), closest(cache, 1000, 2));
+
+        // Indices of restored partitions are updated as usual.
+        cache.remove(50);
+        cache.put(1000, new double[] {50, 0});
+
+        assertEquals(Arrays.asList(1000, 51, 49), closest(cache, 50.2, 3));
+    }
+
+    /**
+     * @param cache Cache.
+     * @param x Abscissa of the query point.
+     * @param k Number of neighbours.
+     * @return Keys of the closest entries.
+     */
+    private List<Integer> closest(IgniteCache<Integer, double[]> cache, double x, int k) {
+        List<Integer> res = new ArrayList<>();
+
+        for (Cache.Entry<Integer, double[]> e : new HNSWQuery<Integer, double[]>(VectorUtils.of(x, 0), k).execute(cache))
+            res.add(e.getKey());
+
+        return res;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.knn.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cache.query.annotations.QuerySqlField;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link HNSWIndexingSpi}, {@link HNSWQuery} and {@link HNSWSqlFunctions}.
+ */
+public class HNSWIndexingSpiTest extends GridCommonAbstractTest {
+    /** Number of nodes in grid. */
+    private static final int NODE_COUNT = 3;
+
+    /** Cache name. */
+    private static final String CACHE_NAME = "items";
+
+    /** Cache. */
+    private IgniteCache<Integer, Item> cache;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setIndexingSpi(new HNSWIndexingSpi()
+                .setCacheNames(CACHE_NAME)
+                .setVectorExtractor(val -> val instanceof Item ? VectorUtils.of(((Item)val).vec) : null));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        startGrids(NODE_COUNT);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() {
+        stopAllGrids();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() {
+        cache = grid(0).createCache(new CacheConfiguration<Integer, Item>(CACHE_NAME)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, 4))
+            .setIndexedTypes(Integer.class, Item.class)
+            .setSqlFunctionClasses(HNSWSqlFunctions.class));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() {
+        grid(0).destroyCache(CACHE_NAME);
+    }
+
+    /** */
+    @Test
+    public void testQuery() {
+        fill(200);
+
+        assertEquals(Arrays.asList(50, 51, 49, 52, 48), closest(50.2, 5));
+        assertEquals(Arrays.asList(199, 198), closest(1000, 2));
+        assertEquals(Arrays.asList(0, 1, 2), closest(-1, 3));
+
+        assertEquals(400, indexSize());
+    }
+
+    /** */
+    @Test
+    public void testUpdateAndRemove() {
+        fill(200);
+
+        cache.put(50, new Item(1000, 0));
+        cache.remove(51);
+
+        assertEquals(Arrays.asList(49, 52, 48), closest(50.2, 3));
+        assertEquals(Arrays.asList(50, 199), closest(1000, 2));
+
+        assertEquals(398, indexSize());
+    }
+
+    /**
+     * Tests that partition indices are rebuilt after many removals.
+     */
+    @Test
+    public void testManyRemovals() {
+        fill(6000);
+
+        for (int i = 200; i < 6000; i++)
+            cache.remove(i);
+
+        assertEquals(Arrays.asList(199, 198, 197), closest(5000, 3));
+        assertEquals(Arrays.asList(50, 51, 49), closest(50.2, 3));
+
+        assertEquals(400, indexSize());
+    }
+
+    /**
+     * Tests that entries are found after rebalancing to a new node.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRebalance() throws Exception {
+        fill(200);
+
+        startGrid(NODE_COUNT);
+
+        try {
+            awaitPartitionMapExchange();
+
+            assertEquals(Arrays.asList(50, 51, 49, 52, 48), closest(50.2, 5));
+            assertEquals(Arrays.asList(199, 198), closest(1000, 2));
+        }
+        finally {
+            stopGrid(NODE_COUNT);
+
+            awaitPartitionMapExchange();
+        }
+    }
+
+    /** */
+    @Test
+    public void testSqlFunction() {
+        fill(200);
+
+        List<List<?>> rows = cache.query(new SqlFieldsQuery("SELECT k.KEY, k.DISTANCE, i.NAME " +
+            "FROM KNN('" + CACHE_NAME + "', '50.2,0', 3) k JOIN Item i ON i._KEY = k.KEY ORDER BY k.DISTANCE")
+        ).getAll();
+
+        assertEquals(3, rows.size());
+
+        assertEquals(50, rows.get(0).get(0));
+        assertEquals(0.2, (Double)rows.get(0).get(1), 1e-6);
+        assertEquals("item-50", rows.get(0).get(2));
+
+        assertEquals(51, rows.get(1).get(0));
+        assertEquals(49, rows.get(2).get(0));
+
+        rows = cache.query(new SqlFieldsQuery("SELECT KEY, DISTANCE FROM KNN(?, ?, ?)")
+            .setArgs(CACHE_NAME, "1000, 0", 2)).getAll();
+
+        assertEquals(2, rows.size());
+
+        assertEquals(199, rows.get(0).get(0));
+        assertEquals(801, (Double)rows.get(0).get(1), 1e-6);
+        assertEquals(198, rows.get(1).get(0));
+    }
+
+    /**
+     * Puts points {@code (i, 0)} into the cache.
+     *
+     * @param cnt Number of points.
+     */
+    private void fill(int cnt) {
+        for (int i = 0; i < cnt; i++)
+            cache.put(i, new Item(i, 0));
+    }
+
+    /**
+     * @param x Abscissa of the query point.
+     * @param k Number of neighbours.
+     * @return Keys of the closest entries.
+     */
+    private List<Integer> closest(double x, int k) {
+        List<Integer> res = new ArrayList<>();
+
+        for (Cache.Entry<Integer, Item> e : new HNSWQuery<Integer, Item>(VectorUtils.of(x, 0), k).execute(cache))
+            res.add(e.getKey());
+
+        return res;
+    }
+
+    /**
+     * @return Number of points in indices of all nodes.
+     */
+    private int indexSize() {
+        int size = 0;
+
+        for (int i = 0; i < NODE_COUNT; i++)
+            size += ((HNSWIndexingSpi)grid(i).configuration().getIndexingSpi()).size(CACHE_NAME);
+
+        return size;
+    }
+
+    /** */
+    private static class Item {
+        /** Name. */
+        @QuerySqlField
+        private final String name;
+
+        /** Vector. */
+        private final double[] vec;
+
+        /**
+         * @param x Abscissa.
+         * @param y Ordinate.
+         */
+        Item(double x, double y) {
+            name = "item-" + (int)x;
+            vec = new double[] {x, y};
+        }
+    }
+}
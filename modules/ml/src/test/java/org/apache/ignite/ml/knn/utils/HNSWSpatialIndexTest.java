@@ -0,0 +1,164 @@
+/*
+ * Copyright 2021 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.ml.knn.utils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.apache.ignite.ml.knn.utils.indices.ArraySpatialIndex;
+import org.apache.ignite.ml.knn.utils.indices.HNSWSpatialIndex;
+import org.apache.ignite.ml.math.distances.EuclideanDistance;
+import org.apache.ignite.ml.math.primitives.vector.Vector;
+import org.apache.ignite.ml.math.primitives.vector.VectorUtils;
+import org.apache.ignite.ml.structures.LabeledVector;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link HNSWSpatialIndex}.
+ */
+public class HNSWSpatialIndexTest extends SpatialIndexTest {
+    /**
+     * Constructs a new instance of HNSW spatial index test.
+     */
+    public HNSWSpatialIndexTest() {
+        super(HNSWSpatialIndex::new);
+    }
+
+    /** */
+    @Test
+    public void testRecallInHighDimensions() {
+        Random rnd = new Random(0);
+
+        List<LabeledVector<Integer>> dataset = new ArrayList<>();
+
+        for (int i = 0; i < 2000; i++)
+            dataset.add(randomVector(rnd, 32).labeled(i));
+
+        HNSWSpatialIndex<Integer> idx = new HNSWSpatialIndex<>(dataset, new EuclideanDistance());
+        ArraySpatialIndex<Integer> exactIdx = new ArraySpatialIndex<>(dataset, new EuclideanDistance());
+
+        int k = 10;
+        int found = 0;
+        int queries = 50;
+
+        for (int q = 0; q < queries; q++) {
+            Vector pnt = randomVector(rnd, 32);
+
+            Set<Integer> exp = labels(exactIdx.findKClosest(k, pnt));
+
+            List<LabeledVector<Integer>> res = idx.findKClosest(k, pnt);
+
+            assertEquals(k, res.size());
+
+            for (LabeledVector<Integer> v : res) {
+                if (exp.contains(v.label()))
+                    found++;
+            }
+        }
+
+        double recall = (double)found / (k * queries);
+
+        assertTrue("Recall is too low: " + recall, recall > 0.9);
+    }
+
+    /** */
+    @Test
+    public void testAddAndRemove() {
+        HNSWSpatialIndex<Integer> idx = new HNSWSpatialIndex<>(new ArrayList<>(), new EuclideanDistance());
+
+        assertTrue(idx.findKClosest(1, VectorUtils.of(0, 0)).isEmpty());
+
+        List<Integer> ids = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++)
+            ids.add(idx.add(VectorUtils.of(i, i).labeled(i)));
+
+        assertEquals(100, idx.size());
+        assertEquals(42, (int)idx.findKClosest(1, VectorUtils.of(42.1, 42.1)).get(0).label());
+
+        assertTrue(idx.remove(ids.get(42)));
+        assertFalse(idx.remove(ids.get(42)));
+
+        assertEquals(99, idx.size());
+
+        Set<Integer> res = labels(idx.findKClosest(2, VectorUtils.of(42.1, 42.1)));
+
+        assertEquals(2, res.size());
+        assertTrue(res.contains(41));
+        assertTrue(res.contains(43));
+
+        idx.add(VectorUtils.of(42, 42).labeled(1000));
+
+        assertEquals(1000, (int)idx.findKClosest(1, VectorUtils.of(42.1, 42.1)).get(0).label());
+    }
+
+    /**
+     * Tests that search goes on through removed points when all points around the query point are removed.
+     */
+    @Test
+    public void testSearchThroughRemovedPoints() {
+        HNSWSpatialIndex<Integer> idx = new HNSWSpatialIndex<>(new ArrayList<>(), new EuclideanDistance());
+
+        List<Integer> ids = new ArrayList<>();
+
+        for (int i = 0; i < 1000; i++)
+            ids.add(idx.add(VectorUtils.of(i, 0).labeled(i)));
+
+        for (int i = 10; i < 1000; i++)
+            idx.remove(ids.get(i));
+
+        Set<Integer> res = labels(idx.findKClosest(3, VectorUtils.of(900, 0)));
+
+        assertEquals(3, res.size());
+        assertTrue(res.contains(9));
+        assertTrue(res.contains(8));
+        assertTrue(res.contains(7));
+    }
+
+    /**
+     * @param rnd Random generator.
+     * @param size Vector size.
+     * @return Random vector.
+     */
+    private static Vector randomVector(Random rnd, int size) {
+        double[] arr = new double[size];
+
+        for (int i = 0; i < size; i++)
+            arr[i] = rnd.nextGaussian();
+
+        return VectorUtils.of(arr);
+    }
+
+    /**
+     * @param vectors Labeled vectors.
+     * @return Labels.
+     */
+    private static Set<Integer> labels(List<LabeledVector<Integer>> vectors) {
+        Set<Integer> res = new HashSet<>();
+
+        for (LabeledVector<Integer> v : vectors)
+            res.add(v.label());
+
+        return res;
+    }
+}
@@ -21,6 +21,7 @@ import java.util.function.BiPredicate;
 import org.apache.ignite.ml.math.exceptions.NonSquareMatrixException;
 import org.apache.ignite.ml.math.primitives.matrix.Matrix;
 import org.apache.ignite.ml.math.primitives.matrix.impl.DenseMatrix;
+import org.apache.ignite.ml.math.primitives.matrix.impl.OffHeapColumnMajorMatrix;
 import org.apache.ignite.ml.math.primitives.matrix.impl.SparseMatrix;
 import org.apache.ignite.ml.math.primitives.vector.Vector;
 import org.apache.ignite.ml.math.primitives.vector.impl.DenseVector;
@@ -282,6 +283,97 @@ public class BlasTest {
         Assert.assertEquals(exp, y);
     }
 
+    /** Tests 'gemv' operation for off-heap matrix A in double and float precision. */
+    @Test
+    public void testGemvOffHeap() {
+        double[][] arr = new double[][] {{10.0, 11.0, 0.5}, {0.0, 1.0, 2.0}, {-3.0, 4.0, 1.5}, {7.0, 0.0, -1.0}};
+
+        DenseMatrix a = new DenseMatrix(arr);
+
+        for (boolean floatPrecision : new boolean[] {false, true}) {
+            OffHeapColumnMajorMatrix offHeap = new OffHeapColumnMajorMatrix(4, 3, floatPrecision);
+
+            try {
+                offHeap.assign(arr);
+
+                // y := alpha * A * x + beta * y
+                double[] x = new double[] {1.0, 2.0, -1.0};
+                double[] y = new double[] {3.0, 4.0, 5.0, 6.0};
+
+                Vector exp = new DenseVector(y).times(2.0).plus(a.times(new DenseVector(x)).times(3.0));
+
+                Blas.gemv(false, 3.0, offHeap.storage(), x, 2.0, y);
+
+                Assert.assertArrayEquals(exp.asArray(), y, 1e-12);
+
+                // y := alpha * A^T * x + beta * y
+                x = new double[] {1.0, 2.0, -1.0, 0.5};
+                y = new double[] {3.0, 4.0, 5.0};
+
+                exp = new DenseVector(y).times(2.0).plus(a.transpose().times(new DenseVector(x)).times(3.0));
+
+                Blas.gemv(true, 3.0, offHeap.storage(), x, 2.0, y);
+
+                Assert.assertArrayEquals(exp.asArray(), y, 1e-12);
+
+                // Matrix-vector version dispatches to the off-heap kernel.
+                DenseVector vecY = new DenseVector(new double[] {3.0, 4.0, 5.0, 6.0});
+                DenseVector vecX = new DenseVector(new double[] {1.0, 2.0, -1.0});
+
+                exp = vecY.times(2.0).plus(a.times(vecX).times(3.0));
+
+                Blas.gemv(3.0, offHeap, vecX, 2.0, vecY);
+
+                Assert.assertArrayEquals(exp.asArray(), vecY.asArray(), 1e-12);
+
+                Assert.assertArrayEquals(new double[] {0.0, 7.0, 1.0, 0.0, 2.0, -1.0},
+                    offHeap.storage().copyRows(new int[] {1, 3}), 0.0);
+            }
+            finally {
+                offHeap.destroy();
+            }
+
+            try {
+                offHeap.storage().get(0, 0);
+
+                Assert.fail("Destroyed storage must not be accessed.");
+            }
+            catch (IllegalStateException ignored) {
+                // No-op.
+            }
+        }
+    }
+
+    /** Tests blocked squared distances computation. */
+    @Test
+    public void testSquaredDistances() {
+        Vector[] pnts = new Vector[] {
+            new DenseVector(new double[] {1.0, 2.0, 3.0}),
+            new DenseVector(new double[] {-1.0, 0.5, 0.0}),
+            new DenseVector(new double[] {4.0, 4.0, -2.0}),
+            new DenseVector(new double[] {0.0, 0.0, 0.0})
+        };
+
+        Vector[] centers = new Vector[] {
+            new DenseVector(new double[] {1.0, 2.0, 3.0}),
+            new DenseVector(new double[] {0.0, -1.0, 1.0})
+        };
+
+        double[] x = Blas.toColumnMajor(i -> pnts[i], 0, pnts.length);
+        double[] c = Blas.toColumnMajor(i -> centers[i], 0, centers.length);
+
+        Assert.assertArrayEquals(new double[] {1.0, -1.0, 4.0, 0.0, 2.0, 0.5, 4.0, 0.0, 3.0, 0.0, -2.0, 0.0}, x, 0.0);
+
+        double[] res = new double[pnts.length * centers.length];
+
+        Blas.squaredDistances(x, pnts.length, c, centers.length, 3, res);
+
+        for (int i = 0; i < pnts.length; i++) {
+            for (int j = 0; j < centers.length; j++)
+                Assert.assertEquals(pnts[i].getDistanceSquared(centers[j]), res[j * pnts.length + i], 1e-12);
+        }
+    }
+
     /** Tests 'syr' operation for non-square dense matrix A. */
     @Test(expected = NonSquareMatrixException.class)
     public void testSyrNonSquareMatrix() {
@@ -36,4 +36,23 @@ public class MultivariateGaussianDistributionTest {
         Assert.assertEquals(0.183, distribution.prob(VectorUtils.of(1, 2)), 0.01);
         Assert.assertEquals(0.094, distribution.prob(VectorUtils.of(0, 2)), 0.01);
     }
+
+    /** */
+    @Test
+    public void testBlockProb() {
+        MultivariateGaussianDistribution distribution = new MultivariateGaussianDistribution(
+            VectorUtils.of(1, 2),
+            new DenseMatrix(new double[][] {new double[] {1, -0.5}, new double[] {-0.5, 2}})
+        );
+
+        // Points (1, 2), (0, 2) and (3, -1) in column-major format.
+        double[] x = new double[] {1, 0, 3, 2, 2, -1};
+        double[] res = new double[3];
+
+        distribution.prob(x, 3, res);
+
+        Assert.assertEquals(distribution.prob(VectorUtils.of(1, 2)), res[0], 1e-12);
+        Assert.assertEquals(distribution.prob(VectorUtils.of(0, 2)), res[1], 1e-12);
+        Assert.assertEquals(distribution.prob(VectorUtils.of(3, -1)), res[2], 1e-12);
+    }
 }
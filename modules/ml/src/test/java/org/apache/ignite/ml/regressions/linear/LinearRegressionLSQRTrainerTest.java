@@ -22,8 +22,11 @@ import java.util.Random;
 import org.apache.ignite.ml.common.TrainerTest;
 import org.apache.ignite.ml.dataset.feature.extractor.Vectorizer;
 import org.apache.ignite.ml.dataset.feature.extractor.impl.DoubleArrayVectorizer;
+import org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode;
 import org.junit.Test;
 
+import static org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode.OFF_HEAP;
+import static org.apache.ignite.ml.dataset.primitive.data.FeatureStorageMode.OFF_HEAP_FLOAT;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
@@ -99,6 +102,48 @@ public class LinearRegressionLSQRTrainerTest extends TrainerTest {
         assertEquals(intercept, mdl.getIntercept(), 1e-6);
     }
 
+    /**
+     * Tests {@code fit()} method with features stored off-heap.
+     */
+    @Test
+    public void testOffHeapFit() {
+        Random rnd = new Random(0);
+        Map<Integer, double[]> data = new HashMap<>();
+        double[] coef = new double[16];
+        double intercept = rnd.nextDouble() * 10;
+
+        for (int i = 0; i < 1000; i++) {
+            double[] x = new double[coef.length + 1];
+
+            for (int j = 0; j < coef.length; j++) {
+                coef[j] = j;
+                x[j] = rnd.nextDouble() * 10;
+                x[coef.length] += coef[j] * x[j];
+            }
+
+            x[coef.length] += intercept;
+
+            data.put(i, x);
+        }
+
+        for (FeatureStorageMode mode : new FeatureStorageMode[] {OFF_HEAP, OFF_HEAP_FLOAT}) {
+            LinearRegressionLSQRTrainer trainer = new LinearRegressionLSQRTrainer().withFeatureStorageMode(mode);
+
+            LinearRegressionModel mdl = trainer.fit(
+                data,
+                parts,
+                new DoubleArrayVectorizer<Integer>().labeled(Vectorizer.LabelCoordinate.LAST)
+            );
+
+            // Features stored in single precision are rounded, so the fit is approximate.
+            double eps = mode == OFF_HEAP ? 1e-6 : 1e-2;
+
+            assertArrayEquals(coef, mdl.getWeights().getStorage().data(), eps);
+
+            assertEquals(intercept, mdl.getIntercept(), eps * 10);
+        }
+    }
+
     /** */
     @Test
     public void testUpdate() {